@@ -86,6 +86,11 @@ public class Datasource extends org.jooq.impl.TableImpl<org.constellation.databa
 	 */
 	public final org.jooq.TableField<org.constellation.database.api.jooq.tables.records.DatasourceRecord, java.lang.Boolean> PERMANENT = createField("permanent", org.jooq.impl.SQLDataType.BOOLEAN.nullable(false).defaulted(true), this, "");
 
+	/**
+	 * The column <code>admin.datasource.analysis_progress</code>.
+	 */
+	public final org.jooq.TableField<org.constellation.database.api.jooq.tables.records.DatasourceRecord, java.lang.Integer> ANALYSIS_PROGRESS = createField("analysis_progress", org.jooq.impl.SQLDataType.INTEGER, this, "");
+
 	/**
 	 * Create a <code>admin.datasource</code> table reference
 	 */
@@ -61,6 +61,11 @@ public class DatasourcePath extends org.jooq.impl.TableImpl<org.constellation.da
 	 */
 	public final org.jooq.TableField<org.constellation.database.api.jooq.tables.records.DatasourcePathRecord, java.lang.Integer> SIZE = createField("size", org.jooq.impl.SQLDataType.INTEGER.nullable(false), this, "");
 
+	/**
+	 * The column <code>admin.datasource_path.last_modified</code>.
+	 */
+	public final org.jooq.TableField<org.constellation.database.api.jooq.tables.records.DatasourcePathRecord, java.lang.Long> LAST_MODIFIED = createField("last_modified", org.jooq.impl.SQLDataType.BIGINT, this, "");
+
 	/**
 	 * Create a <code>admin.datasource_path</code> table reference
 	 */
@@ -151,6 +151,11 @@ public class Metadata extends org.jooq.impl.TableImpl<org.constellation.database
 	 */
 	public final org.jooq.TableField<org.constellation.database.api.jooq.tables.records.MetadataRecord, java.lang.Boolean> IS_HIDDEN = createField("is_hidden", org.jooq.impl.SQLDataType.BOOLEAN.nullable(false).defaulted(true), this, "");
 
+	/**
+	 * The column <code>admin.metadata.search_vector</code>.
+	 */
+	public final org.jooq.TableField<org.constellation.database.api.jooq.tables.records.MetadataRecord, java.lang.Object> SEARCH_VECTOR = createField("search_vector", org.jooq.impl.DefaultDataType.getDefaultDataType("tsvector"), this, "");
+
 	/**
 	 * Create a <code>admin.metadata</code> table reference
 	 */
@@ -121,4 +121,11 @@ public class DatasourceDao extends org.jooq.impl.DAOImpl<org.constellation.datab
 	public java.util.List<org.constellation.database.api.jooq.tables.pojos.Datasource> fetchByPermanent(java.lang.Boolean... values) {
 		return fetch(org.constellation.database.api.jooq.tables.Datasource.DATASOURCE.PERMANENT, values);
 	}
+
+	/**
+	 * Fetch records that have <code>analysis_progress IN (values)</code>
+	 */
+	public java.util.List<org.constellation.database.api.jooq.tables.pojos.Datasource> fetchByAnalysisProgress(java.lang.Integer... values) {
+		return fetch(org.constellation.database.api.jooq.tables.Datasource.DATASOURCE.ANALYSIS_PROGRESS, values);
+	}
 }
@@ -79,4 +79,11 @@ public class DatasourcePathDao extends org.jooq.impl.DAOImpl<org.constellation.d
 	public java.util.List<org.constellation.database.api.jooq.tables.pojos.DatasourcePath> fetchBySize(java.lang.Integer... values) {
 		return fetch(org.constellation.database.api.jooq.tables.DatasourcePath.DATASOURCE_PATH.SIZE, values);
 	}
+
+	/**
+	 * Fetch records that have <code>last_modified IN (values)</code>
+	 */
+	public java.util.List<org.constellation.database.api.jooq.tables.pojos.DatasourcePath> fetchByLastModified(java.lang.Long... values) {
+		return fetch(org.constellation.database.api.jooq.tables.DatasourcePath.DATASOURCE_PATH.LAST_MODIFIED, values);
+	}
 }
@@ -212,4 +212,11 @@ public class MetadataDao extends org.jooq.impl.DAOImpl<org.constellation.databas
 	public java.util.List<org.constellation.database.api.jooq.tables.pojos.Metadata> fetchByIsHidden(java.lang.Boolean... values) {
 		return fetch(org.constellation.database.api.jooq.tables.Metadata.METADATA.IS_HIDDEN, values);
 	}
+
+	/**
+	 * Fetch records that have <code>search_vector IN (values)</code>
+	 */
+	public java.util.List<org.constellation.database.api.jooq.tables.pojos.Metadata> fetchBySearchVector(java.lang.Object... values) {
+		return fetch(org.constellation.database.api.jooq.tables.Metadata.METADATA.SEARCH_VECTOR, values);
+	}
 }
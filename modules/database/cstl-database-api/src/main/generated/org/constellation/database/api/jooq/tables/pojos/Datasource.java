@@ -29,6 +29,7 @@ public class Datasource implements java.io.Serializable {
 	private java.lang.String  analysisState;
 	private java.lang.String  format;
 	private java.lang.Boolean permanent;
+	private java.lang.Integer analysisProgress;
 
 	public Datasource() {}
 
@@ -43,7 +44,8 @@ public class Datasource implements java.io.Serializable {
 		java.lang.Long    dateCreation,
 		java.lang.String  analysisState,
 		java.lang.String  format,
-		java.lang.Boolean permanent
+		java.lang.Boolean permanent,
+		java.lang.Integer analysisProgress
 	) {
 		this.id = id;
 		this.type = type;
@@ -56,6 +58,7 @@ public class Datasource implements java.io.Serializable {
 		this.analysisState = analysisState;
 		this.format = format;
 		this.permanent = permanent;
+		this.analysisProgress = analysisProgress;
 	}
 
 	@javax.validation.constraints.NotNull
@@ -167,4 +170,13 @@ public class Datasource implements java.io.Serializable {
 		this.permanent = permanent;
 		return this;
 	}
+
+	public java.lang.Integer getAnalysisProgress() {
+		return this.analysisProgress;
+	}
+
+	public Datasource setAnalysisProgress(java.lang.Integer analysisProgress) {
+		this.analysisProgress = analysisProgress;
+		return this;
+	}
 }
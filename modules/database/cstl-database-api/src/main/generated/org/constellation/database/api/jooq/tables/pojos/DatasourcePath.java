@@ -24,6 +24,7 @@ public class DatasourcePath implements java.io.Serializable {
 	private java.lang.Boolean folder;
 	private java.lang.String  parentPath;
 	private java.lang.Integer size;
+	private java.lang.Long    lastModified;
 
 	public DatasourcePath() {}
 
@@ -33,7 +34,8 @@ public class DatasourcePath implements java.io.Serializable {
 		java.lang.String  name,
 		java.lang.Boolean folder,
 		java.lang.String  parentPath,
-		java.lang.Integer size
+		java.lang.Integer size,
+		java.lang.Long    lastModified
 	) {
 		this.datasourceId = datasourceId;
 		this.path = path;
@@ -41,6 +43,7 @@ public class DatasourcePath implements java.io.Serializable {
 		this.folder = folder;
 		this.parentPath = parentPath;
 		this.size = size;
+		this.lastModified = lastModified;
 	}
 
 	@javax.validation.constraints.NotNull
@@ -101,4 +104,13 @@ public class DatasourcePath implements java.io.Serializable {
 		this.size = size;
 		return this;
 	}
+
+	public java.lang.Long getLastModified() {
+		return this.lastModified;
+	}
+
+	public DatasourcePath setLastModified(java.lang.Long lastModified) {
+		this.lastModified = lastModified;
+		return this;
+	}
 }
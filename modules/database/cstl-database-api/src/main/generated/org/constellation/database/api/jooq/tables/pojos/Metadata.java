@@ -42,6 +42,7 @@ public class Metadata implements java.io.Serializable {
 	private java.lang.String  type;
 	private java.lang.Boolean isShared;
 	private java.lang.Boolean isHidden;
+	private java.lang.Object  searchVector;
 
 	public Metadata() {}
 
@@ -69,7 +70,8 @@ public class Metadata implements java.io.Serializable {
 		java.lang.Integer mapContextId,
 		java.lang.String  type,
 		java.lang.Boolean isShared,
-		java.lang.Boolean isHidden
+		java.lang.Boolean isHidden,
+		java.lang.Object  searchVector
 	) {
 		this.id = id;
 		this.metadataId = metadataId;
@@ -95,6 +97,7 @@ public class Metadata implements java.io.Serializable {
 		this.type = type;
 		this.isShared = isShared;
 		this.isHidden = isHidden;
+		this.searchVector = searchVector;
 	}
 
 	@javax.validation.constraints.NotNull
@@ -328,4 +331,13 @@ public class Metadata implements java.io.Serializable {
 		this.isHidden = isHidden;
 		return this;
 	}
+
+	public java.lang.Object getSearchVector() {
+		return this.searchVector;
+	}
+
+	public Metadata setSearchVector(java.lang.Object searchVector) {
+		this.searchVector = searchVector;
+		return this;
+	}
 }
@@ -14,7 +14,7 @@ package org.constellation.database.api.jooq.tables.records;
 	comments = "This class is generated by jOOQ"
 )
 @java.lang.SuppressWarnings({ "all", "unchecked", "rawtypes" })
-public class DatasourcePathRecord extends org.jooq.impl.UpdatableRecordImpl<org.constellation.database.api.jooq.tables.records.DatasourcePathRecord> implements org.jooq.Record6<java.lang.Integer, java.lang.String, java.lang.String, java.lang.Boolean, java.lang.String, java.lang.Integer> {
+public class DatasourcePathRecord extends org.jooq.impl.UpdatableRecordImpl<org.constellation.database.api.jooq.tables.records.DatasourcePathRecord> implements org.jooq.Record7<java.lang.Integer, java.lang.String, java.lang.String, java.lang.Boolean, java.lang.String, java.lang.Integer, java.lang.Long> {
 
 	private static final long serialVersionUID = 135288526;
 
@@ -113,6 +113,21 @@ public class DatasourcePathRecord extends org.jooq.impl.UpdatableRecordImpl<org.
 		return (java.lang.Integer) getValue(5);
 	}
 
+	/**
+	 * Setter for <code>admin.datasource_path.last_modified</code>.
+	 */
+	public DatasourcePathRecord setLastModified(java.lang.Long value) {
+		setValue(6, value);
+		return this;
+	}
+
+	/**
+	 * Getter for <code>admin.datasource_path.last_modified</code>.
+	 */
+	public java.lang.Long getLastModified() {
+		return (java.lang.Long) getValue(6);
+	}
+
 	// -------------------------------------------------------------------------
 	// Primary key information
 	// -------------------------------------------------------------------------
@@ -126,23 +141,23 @@ public class DatasourcePathRecord extends org.jooq.impl.UpdatableRecordImpl<org.
 	}
 
 	// -------------------------------------------------------------------------
-	// Record6 type implementation
+	// Record7 type implementation
 	// -------------------------------------------------------------------------
 
 	/**
 	 * {@inheritDoc}
 	 */
 	@Override
-	public org.jooq.Row6<java.lang.Integer, java.lang.String, java.lang.String, java.lang.Boolean, java.lang.String, java.lang.Integer> fieldsRow() {
-		return (org.jooq.Row6) super.fieldsRow();
+	public org.jooq.Row7<java.lang.Integer, java.lang.String, java.lang.String, java.lang.Boolean, java.lang.String, java.lang.Integer, java.lang.Long> fieldsRow() {
+		return (org.jooq.Row7) super.fieldsRow();
 	}
 
 	/**
 	 * {@inheritDoc}
 	 */
 	@Override
-	public org.jooq.Row6<java.lang.Integer, java.lang.String, java.lang.String, java.lang.Boolean, java.lang.String, java.lang.Integer> valuesRow() {
-		return (org.jooq.Row6) super.valuesRow();
+	public org.jooq.Row7<java.lang.Integer, java.lang.String, java.lang.String, java.lang.Boolean, java.lang.String, java.lang.Integer, java.lang.Long> valuesRow() {
+		return (org.jooq.Row7) super.valuesRow();
 	}
 
 	/**
@@ -193,6 +208,14 @@ public class DatasourcePathRecord extends org.jooq.impl.UpdatableRecordImpl<org.
 		return org.constellation.database.api.jooq.tables.DatasourcePath.DATASOURCE_PATH.SIZE;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public org.jooq.Field<java.lang.Long> field7() {
+		return org.constellation.database.api.jooq.tables.DatasourcePath.DATASOURCE_PATH.LAST_MODIFIED;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -241,6 +264,14 @@ public class DatasourcePathRecord extends org.jooq.impl.UpdatableRecordImpl<org.
 		return getSize();
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public java.lang.Long value7() {
+		return getLastModified();
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -299,7 +330,16 @@ public class DatasourcePathRecord extends org.jooq.impl.UpdatableRecordImpl<org.
 	 * {@inheritDoc}
 	 */
 	@Override
-	public DatasourcePathRecord values(java.lang.Integer value1, java.lang.String value2, java.lang.String value3, java.lang.Boolean value4, java.lang.String value5, java.lang.Integer value6) {
+	public DatasourcePathRecord value7(java.lang.Long value) {
+		setLastModified(value);
+		return this;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public DatasourcePathRecord values(java.lang.Integer value1, java.lang.String value2, java.lang.String value3, java.lang.Boolean value4, java.lang.String value5, java.lang.Integer value6, java.lang.Long value7) {
 		return this;
 	}
 
@@ -317,7 +357,7 @@ public class DatasourcePathRecord extends org.jooq.impl.UpdatableRecordImpl<org.
 	/**
 	 * Create a detached, initialised DatasourcePathRecord
 	 */
-	public DatasourcePathRecord(java.lang.Integer datasourceId, java.lang.String path, java.lang.String name, java.lang.Boolean folder, java.lang.String parentPath, java.lang.Integer size) {
+	public DatasourcePathRecord(java.lang.Integer datasourceId, java.lang.String path, java.lang.String name, java.lang.Boolean folder, java.lang.String parentPath, java.lang.Integer size, java.lang.Long lastModified) {
 		super(org.constellation.database.api.jooq.tables.DatasourcePath.DATASOURCE_PATH);
 
 		setValue(0, datasourceId);
@@ -326,5 +366,6 @@ public class DatasourcePathRecord extends org.jooq.impl.UpdatableRecordImpl<org.
 		setValue(3, folder);
 		setValue(4, parentPath);
 		setValue(5, size);
+		setValue(6, lastModified);
 	}
 }
@@ -14,7 +14,7 @@ package org.constellation.database.api.jooq.tables.records;
 	comments = "This class is generated by jOOQ"
 )
 @java.lang.SuppressWarnings({ "all", "unchecked", "rawtypes" })
-public class DatasourceRecord extends org.jooq.impl.UpdatableRecordImpl<org.constellation.database.api.jooq.tables.records.DatasourceRecord> implements org.jooq.Record11<java.lang.Integer, java.lang.String, java.lang.String, java.lang.String, java.lang.String, java.lang.String, java.lang.Boolean, java.lang.Long, java.lang.String, java.lang.String, java.lang.Boolean> {
+public class DatasourceRecord extends org.jooq.impl.UpdatableRecordImpl<org.constellation.database.api.jooq.tables.records.DatasourceRecord> implements org.jooq.Record12<java.lang.Integer, java.lang.String, java.lang.String, java.lang.String, java.lang.String, java.lang.String, java.lang.Boolean, java.lang.Long, java.lang.String, java.lang.String, java.lang.Boolean, java.lang.Integer> {
 
 	private static final long serialVersionUID = 421760654;
 
@@ -194,6 +194,21 @@ public class DatasourceRecord extends org.jooq.impl.UpdatableRecordImpl<org.cons
 		return (java.lang.Boolean) getValue(10);
 	}
 
+	/**
+	 * Setter for <code>admin.datasource.analysis_progress</code>.
+	 */
+	public DatasourceRecord setAnalysisProgress(java.lang.Integer value) {
+		setValue(11, value);
+		return this;
+	}
+
+	/**
+	 * Getter for <code>admin.datasource.analysis_progress</code>.
+	 */
+	public java.lang.Integer getAnalysisProgress() {
+		return (java.lang.Integer) getValue(11);
+	}
+
 	// -------------------------------------------------------------------------
 	// Primary key information
 	// -------------------------------------------------------------------------
@@ -207,23 +222,23 @@ public class DatasourceRecord extends org.jooq.impl.UpdatableRecordImpl<org.cons
 	}
 
 	// -------------------------------------------------------------------------
-	// Record11 type implementation
+	// Record12 type implementation
 	// -------------------------------------------------------------------------
 
 	/**
 	 * {@inheritDoc}
 	 */
 	@Override
-	public org.jooq.Row11<java.lang.Integer, java.lang.String, java.lang.String, java.lang.String, java.lang.String, java.lang.String, java.lang.Boolean, java.lang.Long, java.lang.String, java.lang.String, java.lang.Boolean> fieldsRow() {
-		return (org.jooq.Row11) super.fieldsRow();
+	public org.jooq.Row12<java.lang.Integer, java.lang.String, java.lang.String, java.lang.String, java.lang.String, java.lang.String, java.lang.Boolean, java.lang.Long, java.lang.String, java.lang.String, java.lang.Boolean, java.lang.Integer> fieldsRow() {
+		return (org.jooq.Row12) super.fieldsRow();
 	}
 
 	/**
 	 * {@inheritDoc}
 	 */
 	@Override
-	public org.jooq.Row11<java.lang.Integer, java.lang.String, java.lang.String, java.lang.String, java.lang.String, java.lang.String, java.lang.Boolean, java.lang.Long, java.lang.String, java.lang.String, java.lang.Boolean> valuesRow() {
-		return (org.jooq.Row11) super.valuesRow();
+	public org.jooq.Row12<java.lang.Integer, java.lang.String, java.lang.String, java.lang.String, java.lang.String, java.lang.String, java.lang.Boolean, java.lang.Long, java.lang.String, java.lang.String, java.lang.Boolean, java.lang.Integer> valuesRow() {
+		return (org.jooq.Row12) super.valuesRow();
 	}
 
 	/**
@@ -314,6 +329,14 @@ public class DatasourceRecord extends org.jooq.impl.UpdatableRecordImpl<org.cons
 		return org.constellation.database.api.jooq.tables.Datasource.DATASOURCE.PERMANENT;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public org.jooq.Field<java.lang.Integer> field12() {
+		return org.constellation.database.api.jooq.tables.Datasource.DATASOURCE.ANALYSIS_PROGRESS;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -402,6 +425,14 @@ public class DatasourceRecord extends org.jooq.impl.UpdatableRecordImpl<org.cons
 		return getPermanent();
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public java.lang.Integer value12() {
+		return getAnalysisProgress();
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -505,7 +536,16 @@ public class DatasourceRecord extends org.jooq.impl.UpdatableRecordImpl<org.cons
 	 * {@inheritDoc}
 	 */
 	@Override
-	public DatasourceRecord values(java.lang.Integer value1, java.lang.String value2, java.lang.String value3, java.lang.String value4, java.lang.String value5, java.lang.String value6, java.lang.Boolean value7, java.lang.Long value8, java.lang.String value9, java.lang.String value10, java.lang.Boolean value11) {
+	public DatasourceRecord value12(java.lang.Integer value) {
+		setAnalysisProgress(value);
+		return this;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public DatasourceRecord values(java.lang.Integer value1, java.lang.String value2, java.lang.String value3, java.lang.String value4, java.lang.String value5, java.lang.String value6, java.lang.Boolean value7, java.lang.Long value8, java.lang.String value9, java.lang.String value10, java.lang.Boolean value11, java.lang.Integer value12) {
 		return this;
 	}
 
@@ -523,7 +563,7 @@ public class DatasourceRecord extends org.jooq.impl.UpdatableRecordImpl<org.cons
 	/**
 	 * Create a detached, initialised DatasourceRecord
 	 */
-	public DatasourceRecord(java.lang.Integer id, java.lang.String type, java.lang.String url, java.lang.String username, java.lang.String pwd, java.lang.String storeId, java.lang.Boolean readFromRemote, java.lang.Long dateCreation, java.lang.String analysisState, java.lang.String format, java.lang.Boolean permanent) {
+	public DatasourceRecord(java.lang.Integer id, java.lang.String type, java.lang.String url, java.lang.String username, java.lang.String pwd, java.lang.String storeId, java.lang.Boolean readFromRemote, java.lang.Long dateCreation, java.lang.String analysisState, java.lang.String format, java.lang.Boolean permanent, java.lang.Integer analysisProgress) {
 		super(org.constellation.database.api.jooq.tables.Datasource.DATASOURCE);
 
 		setValue(0, id);
@@ -537,5 +577,6 @@ public class DatasourceRecord extends org.jooq.impl.UpdatableRecordImpl<org.cons
 		setValue(8, analysisState);
 		setValue(9, format);
 		setValue(10, permanent);
+		setValue(11, analysisProgress);
 	}
 }
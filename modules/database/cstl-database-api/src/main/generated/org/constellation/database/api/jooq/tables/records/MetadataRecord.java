@@ -394,6 +394,21 @@ public class MetadataRecord extends org.jooq.impl.UpdatableRecordImpl<org.conste
 		return (java.lang.Boolean) getValue(23);
 	}
 
+	/**
+	 * Setter for <code>admin.metadata.search_vector</code>.
+	 */
+	public MetadataRecord setSearchVector(java.lang.Object value) {
+		setValue(24, value);
+		return this;
+	}
+
+	/**
+	 * Getter for <code>admin.metadata.search_vector</code>.
+	 */
+	public java.lang.Object getSearchVector() {
+		return (java.lang.Object) getValue(24);
+	}
+
 	// -------------------------------------------------------------------------
 	// Primary key information
 	// -------------------------------------------------------------------------
@@ -420,7 +435,7 @@ public class MetadataRecord extends org.jooq.impl.UpdatableRecordImpl<org.conste
 	/**
 	 * Create a detached, initialised MetadataRecord
 	 */
-	public MetadataRecord(java.lang.Integer id, java.lang.String metadataId, java.lang.Integer dataId, java.lang.Integer datasetId, java.lang.Integer serviceId, java.lang.Integer mdCompletion, java.lang.Integer owner, java.lang.Long datestamp, java.lang.Long dateCreation, java.lang.String title, java.lang.String profile, java.lang.Integer parentIdentifier, java.lang.Boolean isValidated, java.lang.Boolean isPublished, java.lang.String level, java.lang.String resume, java.lang.String validationRequired, java.lang.String validatedState, java.lang.String comment, java.lang.Integer providerId, java.lang.Integer mapContextId, java.lang.String type, java.lang.Boolean isShared, java.lang.Boolean isHidden) {
+	public MetadataRecord(java.lang.Integer id, java.lang.String metadataId, java.lang.Integer dataId, java.lang.Integer datasetId, java.lang.Integer serviceId, java.lang.Integer mdCompletion, java.lang.Integer owner, java.lang.Long datestamp, java.lang.Long dateCreation, java.lang.String title, java.lang.String profile, java.lang.Integer parentIdentifier, java.lang.Boolean isValidated, java.lang.Boolean isPublished, java.lang.String level, java.lang.String resume, java.lang.String validationRequired, java.lang.String validatedState, java.lang.String comment, java.lang.Integer providerId, java.lang.Integer mapContextId, java.lang.String type, java.lang.Boolean isShared, java.lang.Boolean isHidden, java.lang.Object searchVector) {
 		super(org.constellation.database.api.jooq.tables.Metadata.METADATA);
 
 		setValue(0, id);
@@ -447,5 +462,6 @@ public class MetadataRecord extends org.jooq.impl.UpdatableRecordImpl<org.conste
 		setValue(21, type);
 		setValue(22, isShared);
 		setValue(23, isHidden);
+		setValue(24, searchVector);
 	}
 }
@@ -0,0 +1,46 @@
+/*
+ *    Constellation - An open source and standard compliant SDI
+ *    http://www.constellation-sdi.org
+ *
+ * Copyright 2019 Geomatys.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.constellation.database.configuration;
+
+import org.constellation.monitoring.RequestMonitor;
+import org.jooq.ExecuteContext;
+import org.jooq.impl.DefaultExecuteListener;
+
+/**
+ * Record the database queries as a "db" phase of the request traced by the {@link RequestMonitor}.
+ */
+public class CstlMonitoringListener extends DefaultExecuteListener {
+
+    private static final long serialVersionUID = 4629373157498512017L;
+
+    private static final String PHASE_KEY = "cstl.monitoring.phase";
+
+    @Override
+    public void start(ExecuteContext ctx) {
+        ctx.data(PHASE_KEY, RequestMonitor.getInstance().phase("db"));
+    }
+
+    @Override
+    public void end(ExecuteContext ctx) {
+        final Object phase = ctx.data(PHASE_KEY);
+        if (phase instanceof RequestMonitor.Phase) {
+            ((RequestMonitor.Phase) phase).close();
+        }
+    }
+}
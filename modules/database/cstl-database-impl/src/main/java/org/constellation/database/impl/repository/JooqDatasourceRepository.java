@@ -19,6 +19,7 @@
 package org.constellation.database.impl.repository;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -189,6 +190,32 @@ public class JooqDatasourceRepository extends AbstractJooqRespository<Datasource
         return null;
     }
 
+    @Override
+    public Map<String, DataSourcePathComplete> getAnalyzedPaths(int dsId, Collection<String> paths) {
+        final Map<String, DataSourcePathComplete> results = new HashMap<>();
+        if (paths.isEmpty()) {
+            return results;
+        }
+        for (DatasourcePath dsP : dsl.select().from(DATASOURCE_PATH)
+                .where(DATASOURCE_PATH.DATASOURCE_ID.eq(dsId))
+                .and(DATASOURCE_PATH.PATH.in(paths))
+                .fetchInto(DatasourcePath.class)) {
+            final DataSourcePath dto = convertToDto(dsP);
+            results.put(dto.getPath(), new DataSourcePathComplete(dto, new HashMap<>()));
+        }
+        if (!results.isEmpty()) {
+            List<DatasourcePathStore> pathTypes = dsl.select()
+                                               .from(DATASOURCE_PATH_STORE)
+                                               .where(DATASOURCE_PATH_STORE.DATASOURCE_ID.eq(dsId))
+                                               .and(DATASOURCE_PATH_STORE.PATH.in(results.keySet()))
+                                               .fetchInto(DatasourcePathStore.class);
+            for (DatasourcePathStore pathType : pathTypes) {
+                results.get(pathType.getPath()).getTypes().put(pathType.getStore(), pathType.getType());
+            }
+        }
+        return results;
+    }
+
     @Override
     @Transactional(propagation = Propagation.MANDATORY)
     public void clearSelectedPath(int id) {
@@ -225,8 +252,10 @@ public class JooqDatasourceRepository extends AbstractJooqRespository<Datasource
                 .set(DATASOURCE_PATH.NAME, dsPath.getName())
                 .set(DATASOURCE_PATH.PARENT_PATH, dsPath.getParentPath())
                 .set(DATASOURCE_PATH.SIZE, dsPath.getSize())
+                .set(DATASOURCE_PATH.LAST_MODIFIED, dsPath.getLastModified())
                 .where(DATASOURCE_PATH.DATASOURCE_ID.eq(dsPath.getDatasourceId())
-                .and(DATASOURCE_PATH.PATH.eq(dsPath.getPath())));
+                .and(DATASOURCE_PATH.PATH.eq(dsPath.getPath())))
+                .execute();
 
         dsl.delete(DATASOURCE_PATH_STORE)
                .where(DATASOURCE_PATH_STORE.DATASOURCE_ID.eq(dsPath.getDatasourceId()))
@@ -264,6 +293,19 @@ public class JooqDatasourceRepository extends AbstractJooqRespository<Datasource
            .execute();
     }
 
+    @Override
+    public Integer getAnalysisProgress(int id) {
+        return dsl.select(DATASOURCE.ANALYSIS_PROGRESS).from(DATASOURCE).where(DATASOURCE.ID.eq(id)).fetchOneInto(Integer.class);
+    }
+
+    @Override
+    public void updateAnalysisProgress(int id, Integer analyzed) {
+        dsl.update(DATASOURCE)
+           .set(DATASOURCE.ANALYSIS_PROGRESS, analyzed)
+           .where(DATASOURCE.ID.eq(id))
+           .execute();
+    }
+
     @Override
     public Map<String, Set<String>> getDatasourceStores(int id) {
         List<DatasourceStore> storeTypes = dsl
@@ -391,6 +433,7 @@ public class JooqDatasourceRepository extends AbstractJooqRespository<Datasource
             dto.setName(dao.getName());
             dto.setSize(dao.getSize());
             dto.setParentPath(dao.getParentPath());
+            dto.setLastModified(dao.getLastModified());
             return dto;
         }
         return null;
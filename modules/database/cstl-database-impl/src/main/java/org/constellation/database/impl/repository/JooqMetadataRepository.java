@@ -27,14 +27,20 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
 import static org.constellation.database.api.jooq.Tables.SERVICE;
 
+import org.constellation.configuration.AppProperty;
+import org.constellation.configuration.Application;
 import org.constellation.dto.metadata.MetadataComplete;
 import org.constellation.dto.metadata.Metadata;
 import org.constellation.dto.metadata.MetadataBbox;
+import org.constellation.dto.metadata.MetadataStatistics;
+import org.constellation.dto.metadata.OwnerStatBrief;
 import org.constellation.database.api.jooq.tables.pojos.MetadataXCsw;
 import org.constellation.database.api.jooq.tables.records.MetadataBboxRecord;
 import org.constellation.database.api.jooq.tables.records.MetadataRecord;
@@ -45,10 +51,11 @@ import org.jooq.Condition;
 import org.jooq.Field;
 import org.jooq.Record;
 import org.jooq.Record1;
+import org.jooq.Result;
 import org.jooq.Select;
 import org.jooq.SelectConditionStep;
 import org.jooq.SelectJoinStep;
-import org.jooq.SelectLimitStep;
+import org.jooq.SelectWhereStep;
 import org.jooq.SortField;
 import org.jooq.UpdateSetFirstStep;
 import org.jooq.impl.DSL;
@@ -56,6 +63,8 @@ import org.springframework.context.annotation.DependsOn;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 /**
  *
@@ -65,6 +74,24 @@ import org.springframework.transaction.annotation.Transactional;
 @DependsOn("database-initer")
 public class JooqMetadataRepository extends AbstractJooqRespository<MetadataRecord, org.constellation.database.api.jooq.tables.pojos.Metadata> implements MetadataRepository {
 
+    private static final String SORT_KEY = "sort_key";
+
+    private static final int MAX_LISTINGS = 100;
+
+    /**
+     * Total count and page boundaries of the recent listings, by filter, sort and page size.
+     * This cache is local to the node: it is cleared by the modifications done through this repository, the
+     * modifications done by the other nodes of a cluster are seen after {@link AppProperty#EXA_METADATA_LISTING_CACHE_TTL}.
+     */
+    private final Map<String, Listing> listings = Collections.synchronizedMap(new LinkedHashMap<String, Listing>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<String, Listing> eldest) {
+            return size() > MAX_LISTINGS;
+        }
+    });
+
+    private final long listingTTL = Application.getLongProperty(AppProperty.EXA_METADATA_LISTING_CACHE_TTL, 30000L);
+
     public JooqMetadataRepository() {
         super(org.constellation.database.api.jooq.tables.pojos.Metadata.class, METADATA);
     }
@@ -103,13 +130,20 @@ public class JooqMetadataRepository extends AbstractJooqRespository<MetadataReco
         update.set(METADATA.PROFILE, metadata.getProfile());
         update.set(METADATA.TITLE, metadata.getTitle());
         update.set(METADATA.IS_SHARED, metadata.getIsShared());
+        update.set(METADATA.SEARCH_VECTOR, searchVector(metadata.getTitle(), metadata.getResume()));
         update.set(METADATA.RESUME, metadata.getResume()).where(METADATA.ID.eq(metadata.getId())).execute();
 
         updateBboxes(metadata.getId(), metadata.getBboxes());
+        clearListings();
 
         return metadata;
     }
 
+    private static Field<Object> searchVector(final String title, final String resume) {
+        return DSL.field("to_tsvector('simple', coalesce({0}, '') || ' ' || coalesce({1}, ''))", Object.class,
+                DSL.val(title, String.class), DSL.val(resume, String.class));
+    }
+
     private void updateBboxes(int metadataID, List<MetadataBbox> bboxes) {
         dsl.delete(METADATA_BBOX).where(METADATA_BBOX.METADATA_ID.eq(metadataID)).execute();
         for (MetadataBbox bbox : bboxes) {
@@ -158,8 +192,11 @@ public class JooqMetadataRepository extends AbstractJooqRespository<MetadataReco
 
         metadataRecord.setIsShared(metadata.getIsShared());
         metadataRecord.store();
+        dsl.update(METADATA).set(METADATA.SEARCH_VECTOR, searchVector(metadata.getTitle(), metadata.getResume()))
+           .where(METADATA.ID.eq(metadataRecord.getId())).execute();
 
         updateBboxes(metadataRecord.getId(), metadata.getBboxes());
+        clearListings();
 
         return metadataRecord.getId();
     }
@@ -543,51 +580,156 @@ public class JooqMetadataRepository extends AbstractJooqRespository<MetadataReco
             filterMap.put("hidden", false);
         }
 
-        Select query = null;
+        Condition where = DSL.trueCondition();
         for (final Map.Entry<String, Object> entry : filterMap.entrySet()) {
             final Condition cond = buidCondition(entry.getKey(), entry.getValue());
             if (cond != null) {
-                if (query == null) {
-                    query = dsl.select(fields).from(METADATA).where(cond);
-                } else {
-                    query = ((SelectConditionStep) query).and(cond);
-                }
+                where = where.and(cond);
+            }
+        }
+
+        final Field sortField;
+        final boolean asc = sortEntry == null || "ASC".equals(sortEntry.getValue());
+        if (sortEntry == null) {
+            sortField = METADATA.ID;
+        } else if ("title".equals(sortEntry.getKey())) {
+            sortField = METADATA.TITLE.lower();
+        } else if ("date_creation".equals(sortEntry.getKey())) {
+            sortField = METADATA.DATE_CREATION;
+        } else { //default sorting on date stamp
+            sortField = METADATA.DATESTAMP;
+        }
+        fields.add(sortField.as(SORT_KEY));
+
+        final Listing listing = getListing(where + " " + sortField + (asc ? " ASC " : " DESC ") + rowsPerPage, where);
+        final Object[] after = pageNumber > 1 ? getBoundary(listing, where, sortField, asc, rowsPerPage, pageNumber - 1) : null;
+        final Result<Record> records;
+        if (pageNumber > 1 && after == null) {
+            // the requested page is after the last row
+            records = dsl.newResult(fields.toArray(new Field[fields.size()]));
+        } else {
+            final SelectWhereStep<Record> select = dsl.select(fields).from(METADATA);
+            records = select.where(after == null ? where : where.and(after(sortField, asc, after)))
+                            .orderBy(orderBy(sortField, asc)).limit(rowsPerPage).fetch();
+        }
+
+        // remember where the next page starts
+        if (records.size() == rowsPerPage) {
+            final Record last = records.get(records.size() - 1);
+            listing.boundaries.put(pageNumber, new Object[]{last.getValue(SORT_KEY), last.getValue(METADATA.ID)});
+        }
+        return new AbstractMap.SimpleImmutableEntry<>(listing.count,
+                convertListToDto(records.into(org.constellation.database.api.jooq.tables.pojos.Metadata.class)));
+    }
+
+    /**
+     * Return the sort value and the identifier of the last row of the specified page.
+     * If it is not known yet, the page is reached from the nearest previous known boundary,
+     * reading the sort and identifier columns only.
+     *
+     * @return The page boundary, or {@code null} if the page is after the last row.
+     */
+    private Object[] getBoundary(final Listing listing, final Condition where, final Field sortField,
+            final boolean asc, final int rowsPerPage, final int page) {
+        Object[] boundary = listing.boundaries.get(page);
+        if (boundary == null) {
+            int from = page - 1;
+            Object[] after = null;
+            while (from > 0 && (after = listing.boundaries.get(from)) == null) {
+                from--;
+            }
+            final Record last = dsl.select(sortField, METADATA.ID).from(METADATA)
+                    .where(after == null ? where : where.and(after(sortField, asc, after)))
+                    .orderBy(orderBy(sortField, asc))
+                    .limit(1).offset((page - from) * rowsPerPage - 1).fetchOne();
+            if (last == null) {
+                return null;
             }
+            boundary = new Object[]{last.getValue(0), last.getValue(METADATA.ID)};
+            listing.boundaries.put(page, boundary);
+        }
+        return boundary;
+    }
+
+    /**
+     * The rows are sorted on the identifier after the sort column, the null values last in ascending order
+     * and first in descending order, so a page can start after the last row of the previous one.
+     */
+    private static SortField[] orderBy(final Field sortField, final boolean asc) {
+        if (asc) {
+            return new SortField[]{sortField.asc().nullsLast(), METADATA.ID.asc()};
         }
+        return new SortField[]{sortField.desc().nullsFirst(), METADATA.ID.desc()};
+    }
 
-        if(sortEntry != null) {
-            final SortField f;
-            if("title".equals(sortEntry.getKey())){
-                f = "ASC".equals(sortEntry.getValue()) ? METADATA.TITLE.lower().asc() : METADATA.TITLE.lower().desc();
-            }else if("date_creation".equals(sortEntry.getKey())){
-                f = "ASC".equals(sortEntry.getValue()) ? METADATA.DATE_CREATION.asc() : METADATA.DATE_CREATION.desc();
-            }else { //default sorting on date stamp
-                f = "ASC".equals(sortEntry.getValue()) ? METADATA.DATESTAMP.asc() : METADATA.DATESTAMP.desc();
+    /**
+     * Condition selecting the rows sorted after the specified boundary.
+     */
+    private static Condition after(final Field sortField, final boolean asc, final Object[] boundary) {
+        final Object value = boundary[0];
+        final Integer id = (Integer) boundary[1];
+        if (asc) {
+            if (value == null) {
+                return sortField.isNull().and(METADATA.ID.gt(id));
             }
-            if(query == null) {
-                query = dsl.select(fields).from(METADATA).orderBy(f);
-            }else {
-                query = ((SelectConditionStep)query).orderBy(f);
+            return DSL.row(sortField, METADATA.ID).gt(value, id).or(sortField.isNull());
+        } else {
+            if (value == null) {
+                return sortField.isNull().and(METADATA.ID.lt(id)).or(sortField.isNotNull());
             }
+            return DSL.row(sortField, METADATA.ID).lt(value, id);
         }
+    }
 
-        final Map.Entry<Integer,List<Metadata>> result;
-        if(query == null) { //means there are no sorting and no filters
-            final int count = dsl.selectCount().from(METADATA).fetchOne(0,int.class);
-            result = new AbstractMap.SimpleImmutableEntry<>(count,
-                    convertListToDto(dsl.select(fields)
-                                        .from(METADATA)
-                                        .limit(rowsPerPage).offset((pageNumber - 1) * rowsPerPage)
-                                        .fetchInto(org.constellation.database.api.jooq.tables.pojos.Metadata.class)));
-        }else {
-            final int count = dsl.fetchCount(query);
-            result = new AbstractMap.SimpleImmutableEntry<>(count,
-                    convertListToDto(((SelectLimitStep) query)
-                                       .limit(rowsPerPage)
-                                       .offset((pageNumber - 1) * rowsPerPage)
-                                       .fetchInto(org.constellation.database.api.jooq.tables.pojos.Metadata.class)));
+    /**
+     * Return the cached listing for the specified key, counting the matching rows if it is missing or expired.
+     */
+    private Listing getListing(final String key, final Condition where) {
+        Listing listing = listings.get(key);
+        if (listing == null || System.currentTimeMillis() - listing.creation > listingTTL) {
+            listing = new Listing(dsl.selectCount().from(METADATA).where(where).fetchOne(0, int.class));
+            listings.put(key, listing);
         }
-        return result;
+        return listing;
+    }
+
+    /**
+     * Remove the cached listings after a modification of the metadata table.
+     * The listings are also removed at the end of the current transaction, since the ones
+     * computed by the other transactions in the meantime do not see the modification yet.
+     */
+    private void clearListings() {
+        listings.clear();
+        if (TransactionSynchronizationManager.isSynchronizationActive()
+                && !TransactionSynchronizationManager.hasResource(listings)) {
+            TransactionSynchronizationManager.bindResource(listings, Boolean.TRUE);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(listings);
+                    listings.clear();
+                }
+            });
+        }
+    }
+
+    /**
+     * Build a prefix search on the text index from the user terms.
+     *
+     * @return The text query, or {@code null} if the terms contain no word.
+     */
+    private static String toPrefixQuery(final String terms) {
+        final StringBuilder query = new StringBuilder();
+        // remove the operators of the text query syntax
+        for (String term : terms.split("[\\s&|!():*<>'\\\\]+")) {
+            if (term.codePoints().anyMatch(Character::isLetterOrDigit)) {
+                if (query.length() > 0) {
+                    query.append(" & ");
+                }
+                query.append(term).append(":*");
+            }
+        }
+        return query.length() > 0 ? query.toString() : null;
     }
 
     public Condition buidCondition(String key, Object value) {
@@ -616,7 +758,11 @@ public class JooqMetadataRepository extends AbstractJooqRespository<MetadataReco
         } else if ("level".equals(key)) {
             return METADATA.LEVEL.equal((String) value);
         } else if ("term".equals(key)) {
-            return METADATA.TITLE.likeIgnoreCase("%" + value + "%").or(METADATA.RESUME.likeIgnoreCase("%" + value + "%"));
+            final String query = toPrefixQuery((String) value);
+            if (query == null) {
+                return METADATA.TITLE.likeIgnoreCase("%" + value + "%").or(METADATA.RESUME.likeIgnoreCase("%" + value + "%"));
+            }
+            return DSL.condition("{0} @@ to_tsquery('simple', {1})", METADATA.SEARCH_VECTOR, DSL.val(query));
         } else if ("period".equals(key)) {
             return METADATA.DATESTAMP.greaterOrEqual((Long) value);
         } else if ("type".equals(key)) {
@@ -663,13 +809,16 @@ public class JooqMetadataRepository extends AbstractJooqRespository<MetadataReco
     @Transactional(propagation = Propagation.MANDATORY)
     public int delete(final int id) {
         dsl.delete(METADATA_BBOX).where(METADATA_BBOX.METADATA_ID.eq(id)).execute();
-        return dsl.delete(METADATA).where(METADATA.ID.eq(id)).execute();
+        final int result = dsl.delete(METADATA).where(METADATA.ID.eq(id)).execute();
+        clearListings();
+        return result;
     }
 
     @Override
     @Transactional(propagation = Propagation.MANDATORY)
     public void deleteAll() {
         dsl.delete(METADATA).execute();
+        clearListings();
     }
 
     @Override
@@ -677,6 +826,7 @@ public class JooqMetadataRepository extends AbstractJooqRespository<MetadataReco
     public void changeOwner(final int id, final int owner) {
         UpdateSetFirstStep<MetadataRecord> update = dsl.update(METADATA);
         update.set(METADATA.OWNER, owner).where(METADATA.ID.eq(id)).execute();
+        clearListings();
     }
 
     @Override
@@ -684,6 +834,7 @@ public class JooqMetadataRepository extends AbstractJooqRespository<MetadataReco
     public void changeValidation(int id, boolean validated) {
         UpdateSetFirstStep<MetadataRecord> update = dsl.update(METADATA);
         update.set(METADATA.IS_VALIDATED, validated).where(METADATA.ID.eq(id)).execute();
+        clearListings();
     }
 
     @Override
@@ -691,6 +842,7 @@ public class JooqMetadataRepository extends AbstractJooqRespository<MetadataReco
     public void changePublication(int id, boolean published) {
         UpdateSetFirstStep<MetadataRecord> update = dsl.update(METADATA);
         update.set(METADATA.IS_PUBLISHED, published).where(METADATA.ID.eq(id)).execute();
+        clearListings();
     }
 
     @Override
@@ -698,6 +850,7 @@ public class JooqMetadataRepository extends AbstractJooqRespository<MetadataReco
     public void changeHidden(int id, boolean published) {
         UpdateSetFirstStep<MetadataRecord> update = dsl.update(METADATA);
         update.set(METADATA.IS_HIDDEN, published).where(METADATA.ID.eq(id)).execute();
+        clearListings();
     }
 
     @Override
@@ -705,6 +858,7 @@ public class JooqMetadataRepository extends AbstractJooqRespository<MetadataReco
     public void changeProfile(int id, String newProfile) {
         UpdateSetFirstStep<MetadataRecord> update = dsl.update(METADATA);
         update.set(METADATA.PROFILE, newProfile).where(METADATA.ID.eq(id)).execute();
+        clearListings();
     }
 
     @Override
@@ -712,6 +866,7 @@ public class JooqMetadataRepository extends AbstractJooqRespository<MetadataReco
     public void changeSharedProperty(int id, boolean shared) {
         UpdateSetFirstStep<MetadataRecord> update = dsl.update(METADATA);
         update.set(METADATA.IS_SHARED, shared).where(METADATA.ID.eq(id)).execute();
+        clearListings();
     }
 
     @Override
@@ -819,12 +974,113 @@ public class JooqMetadataRepository extends AbstractJooqRespository<MetadataReco
         return dsl.fetchCount(cond);
     }
 
+    @Override
+    public MetadataStatistics getStatistics(final Map<String,Object> filterMap) {
+        // the filters replaced by some of the counts are applied in the counts, the other ones in the where clause
+        Condition where              = DSL.trueCondition();
+        Condition owner              = DSL.trueCondition();
+        Condition validated          = DSL.trueCondition();
+        Condition validationRequired = DSL.trueCondition();
+        if (filterMap != null) {
+            for (final Map.Entry<String, Object> entry : filterMap.entrySet()) {
+                final Condition cond = buidCondition(entry.getKey(), entry.getValue());
+                if (cond == null) {
+                    continue;
+                }
+                switch (entry.getKey()) {
+                    case "owner":               owner = cond; break;
+                    case "validated":           validated = cond; break;
+                    case "validation_required": validationRequired = cond; break;
+                    default:                    where = where.and(cond);
+                }
+            }
+        }
+        final Condition filtered  = owner.and(validated).and(validationRequired);
+        final Condition toValidate = METADATA.IS_VALIDATED.eq(false).and(METADATA.VALIDATION_REQUIRED.eq("REQUIRED"));
+        final Condition toPublish  = METADATA.IS_PUBLISHED.eq(false).and(METADATA.IS_VALIDATED.eq(true));
+
+        final String[] names = {"total", "validated", "notValid", "waitingToValidate", "notPublish", "published", "waitingToPublish"};
+        final Condition[] generalConds = {
+            filtered,
+            METADATA.IS_VALIDATED.eq(true).and(filtered),
+            METADATA.IS_VALIDATED.eq(false).and(filtered),
+            toValidate.and(owner).and(validated),
+            METADATA.IS_PUBLISHED.eq(false).and(filtered),
+            METADATA.IS_PUBLISHED.eq(true).and(filtered),
+            toPublish.and(owner).and(validationRequired)
+        };
+        final List<Field<Integer>> general = new ArrayList<>();
+        for (int j = 0; j < names.length; j++) {
+            general.add(countIf(generalConds[j]).as(names[j]));
+        }
+        final Field<Integer> profileCount = DSL.count(DSL.decode().when(filtered, METADATA.PROFILE)).as("profileCount");
+        // by owner
+        final Field<Integer> ownerToValidate = countIf(toValidate.and(validated)).as("ownerToValidate");
+        final Field<Integer> ownerToPublish  = countIf(toPublish.and(validationRequired)).as("ownerToPublish");
+        final Field<Integer> ownerPublished  = countIf(METADATA.IS_PUBLISHED.eq(true).and(validated).and(validationRequired)).as("ownerPublished");
+        // by completion range: [0, 10], [11, 20], ... [91, 100]
+        final List<Field<Integer>> completion = new ArrayList<>();
+        for (int j = 0; j < 10; j++) {
+            completion.add(countIf(METADATA.MD_COMPLETION.between(j == 0 ? 0 : j * 10 + 1, (j + 1) * 10).and(filtered)).as("completion" + j));
+        }
+        final List<Field<?>> fields = new ArrayList<>();
+        fields.add(METADATA.PROFILE);
+        fields.add(METADATA.OWNER);
+        fields.addAll(general);
+        fields.add(profileCount);
+        fields.add(ownerToValidate);
+        fields.add(ownerToPublish);
+        fields.add(ownerPublished);
+        fields.addAll(completion);
+
+        final MetadataStatistics stats = new MetadataStatistics();
+        final int[] totals = new int[names.length];
+        final Map<String, int[]> profiles = new HashMap<>();
+        for (Record r : dsl.select(fields).from(METADATA).where(where).groupBy(METADATA.PROFILE, METADATA.OWNER).fetch()) {
+            for (int j = 0; j < names.length; j++) {
+                totals[j] += r.getValue(general.get(j));
+            }
+            final int[] profile = profiles.computeIfAbsent(r.getValue(METADATA.PROFILE), k -> new int[2]);
+            profile[0] += r.getValue(general.get(0));
+            profile[1] += r.getValue(profileCount);
+
+            final Integer ownerId = r.getValue(METADATA.OWNER);
+            if (ownerId != null) {
+                OwnerStatBrief brief = stats.getOwners().get(ownerId);
+                if (brief == null) {
+                    brief = new OwnerStatBrief(null, 0, 0, 0);
+                    stats.getOwners().put(ownerId, brief);
+                }
+                brief.setToValidate(brief.getToValidate() + r.getValue(ownerToValidate));
+                brief.setToPublish(brief.getToPublish() + r.getValue(ownerToPublish));
+                brief.setPublished(brief.getPublished() + r.getValue(ownerPublished));
+            }
+            for (int j = 0; j < 10; j++) {
+                stats.getCompletion()[j] += r.getValue(completion.get(j));
+            }
+        }
+        for (int j = 0; j < names.length; j++) {
+            stats.getGeneral().put(names[j], totals[j]);
+        }
+        // the profiles of the filtered metadata, by decreasing count
+        profiles.entrySet().stream()
+                .filter(e -> e.getValue()[0] > 0)
+                .sorted((e1, e2) -> Integer.compare(e2.getValue()[1], e1.getValue()[1]))
+                .forEachOrdered(e -> stats.getProfiles().put(e.getKey(), e.getValue()[1]));
+        return stats;
+    }
+
+    private static Field<Integer> countIf(final Condition cond) {
+        return DSL.count(DSL.decode().when(cond, DSL.inline(1)));
+    }
+
     @Override
     @Transactional
     public void setValidationRequired(int id, String state, String validationState) {
         UpdateSetFirstStep<MetadataRecord> update = dsl.update(METADATA);
         update.set(METADATA.VALIDATION_REQUIRED, state)
               .set(METADATA.VALIDATED_STATE, validationState).where(METADATA.ID.eq(id)).execute();
+        clearListings();
     }
 
     @Override
@@ -833,6 +1089,7 @@ public class JooqMetadataRepository extends AbstractJooqRespository<MetadataReco
         UpdateSetFirstStep<MetadataRecord> update = dsl.update(METADATA);
         update.set(METADATA.VALIDATION_REQUIRED, "REJECTED")
               .set(METADATA.COMMENT, comment).where(METADATA.ID.eq(id)).execute();
+        clearListings();
     }
 
     @Override
@@ -871,6 +1128,7 @@ public class JooqMetadataRepository extends AbstractJooqRespository<MetadataReco
     @Transactional(propagation = Propagation.MANDATORY)
     public void linkMetadataData(int metadataID, int dataId) {
         dsl.update(METADATA).set(METADATA.DATA_ID, dataId).where(METADATA.ID.eq(metadataID)).execute();
+        clearListings();
     }
 
     @Override
@@ -878,12 +1136,14 @@ public class JooqMetadataRepository extends AbstractJooqRespository<MetadataReco
     public void unlinkMetadataData(int metadataID) {
         Integer nullInt = null;
         dsl.update(METADATA).set(METADATA.DATA_ID, nullInt).where(METADATA.ID.eq(metadataID)).execute();
+        clearListings();
     }
 
     @Override
     @Transactional(propagation = Propagation.MANDATORY)
     public void linkMetadataMapContext(int metadataID, int contextId) {
         dsl.update(METADATA).set(METADATA.MAP_CONTEXT_ID, contextId).where(METADATA.ID.eq(metadataID)).execute();
+        clearListings();
     }
 
     @Override
@@ -891,12 +1151,14 @@ public class JooqMetadataRepository extends AbstractJooqRespository<MetadataReco
     public void unlinkMetadataMapContext(int metadataID) {
         Integer nullInt = null;
         dsl.update(METADATA).set(METADATA.MAP_CONTEXT_ID, nullInt).where(METADATA.ID.eq(metadataID)).execute();
+        clearListings();
     }
 
     @Override
     @Transactional(propagation = Propagation.MANDATORY)
     public void linkMetadataDataset(int metadataID, int datasetId) {
         dsl.update(METADATA).set(METADATA.DATASET_ID, datasetId).where(METADATA.ID.eq(metadataID)).execute();
+        clearListings();
     }
 
     @Override
@@ -904,6 +1166,7 @@ public class JooqMetadataRepository extends AbstractJooqRespository<MetadataReco
     public void unlinkMetadataDataset(int metadataID) {
         Integer nullInt = null;
         dsl.update(METADATA).set(METADATA.DATASET_ID, nullInt).where(METADATA.ID.eq(metadataID)).execute();
+        clearListings();
     }
 
     private Metadata convertToDto(org.constellation.database.api.jooq.tables.pojos.Metadata dao) {
@@ -962,4 +1225,17 @@ public class JooqMetadataRepository extends AbstractJooqRespository<MetadataReco
         }
         return results;
     }
+
+    /**
+     * Total count of a listing, and the sort value and identifier of the last row of its pages.
+     */
+    private static final class Listing {
+        private final long creation = System.currentTimeMillis();
+        private final int count;
+        private final Map<Integer, Object[]> boundaries = new ConcurrentHashMap<>();
+
+        private Listing(final int count) {
+            this.count = count;
+        }
+    }
 }
@@ -19,7 +19,30 @@
 package org.constellation.database.impl.repository;
 
 import com.examind.repository.MetadataRepositoryTest;
+import com.examind.repository.TestSamples;
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import org.constellation.dto.CstlUser;
+import org.constellation.dto.metadata.Metadata;
+import org.constellation.dto.metadata.MetadataComplete;
+import org.constellation.dto.metadata.MetadataStatistics;
+import org.constellation.dto.metadata.OwnerStatBrief;
+import org.constellation.repository.MetadataRepository;
+import org.constellation.repository.UserRepository;
+import org.jooq.DSLContext;
+import org.junit.Assert;
 import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -29,6 +52,17 @@ import org.springframework.transaction.annotation.Transactional;
 @Transactional
 public class JooqMetadataRepositoryTestCase extends MetadataRepositoryTest {
 
+    private static final String MIGRATION = "/org/constellation/database/model/migration/T1562000000__MetadataSearch.sql";
+
+    @Autowired
+    private MetadataRepository metadataRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private DSLContext dsl;
+
     @Test
     @Transactional()
     @Override
@@ -36,4 +70,275 @@ public class JooqMetadataRepositoryTestCase extends MetadataRepositoryTest {
 
         super.crude();
     }
+
+    @Test
+    @Transactional()
+    public void termSearch() {
+        metadataRepository.deleteAll();
+        final int owner = userRepository.create(TestSamples.newAdminUser()).getId();
+        final int sea  = create(owner, "meta-sea", "Temperature of the Sea", "Monthly salinity measures", 1L);
+        final int wind = create(owner, "meta-wind", "Wind speed", "Daily measures", 2L);
+
+        Assert.assertEquals(ids(sea), search("temp"));
+        Assert.assertEquals(ids(sea), search("SALIN"));
+        Assert.assertEquals(ids(sea, wind), search("measures"));
+        Assert.assertEquals(ids(sea), search("sea   temp"));
+        Assert.assertEquals(ids(), search("sea wind"));
+
+        // the operators of the text query syntax are ignored
+        Assert.assertEquals(ids(wind), search("wind & !(speed)"));
+        Assert.assertEquals(ids(), search("&|!"));
+
+        // the text index follows the updates
+        final MetadataComplete updated = new MetadataComplete(metadataRepository.findById(wind), new ArrayList<>());
+        updated.setTitle("Gust speed");
+        metadataRepository.update(updated);
+        Assert.assertEquals(ids(), search("wind"));
+        Assert.assertEquals(ids(wind), search("gust"));
+    }
+
+    /**
+     * Paging through the rows must return every row once, whatever the order in which the pages are
+     * requested, including the rows having the same or a null sort value.
+     */
+    @Test
+    @Transactional()
+    public void keysetPaging() {
+        metadataRepository.deleteAll();
+        final int owner = userRepository.create(TestSamples.newAdminUser()).getId();
+        final String[] titles = {"b", "A", "b", null, "a", "c", null};
+        final Long[] dates    = {3L,  1L,  3L,  null, 1L, 2L,  null};
+        final List<Metadata> all = new ArrayList<>();
+        for (int i = 0; i < titles.length; i++) {
+            all.add(metadataRepository.findById(create(owner, "meta-" + i, titles[i], null, dates[i])));
+        }
+
+        final Comparator<Metadata> byId = Comparator.comparing(Metadata::getId);
+        final Comparator<Metadata> byTitle = Comparator.comparing(
+                (Metadata m) -> m.getTitle() == null ? null : m.getTitle().toLowerCase(),
+                Comparator.nullsLast(Comparator.naturalOrder()));
+        final Comparator<Metadata> byDate = Comparator.comparing(Metadata::getDateCreation,
+                Comparator.nullsLast(Comparator.naturalOrder()));
+
+        assertPaging(all, null, byId);
+        assertPaging(all, new AbstractMap.SimpleEntry<>("title", "ASC"), byTitle.thenComparing(byId));
+        assertPaging(all, new AbstractMap.SimpleEntry<>("title", "DESC"), byTitle.thenComparing(byId).reversed());
+        assertPaging(all, new AbstractMap.SimpleEntry<>("date_creation", "ASC"), byDate.thenComparing(byId));
+        assertPaging(all, new AbstractMap.SimpleEntry<>("date_creation", "DESC"), byDate.thenComparing(byId).reversed());
+    }
+
+    private void assertPaging(final List<Metadata> all, final Map.Entry<String,String> sort, final Comparator<Metadata> order) {
+        final List<Integer> expected = new ArrayList<>();
+        all.stream().sorted(order).forEachOrdered(m -> expected.add(m.getId()));
+
+        for (int[] pages : new int[][]{{1, 2, 3, 4, 5}, {4, 2, 5, 1, 3}, {3, 1, 2, 4, 5}}) {
+            final Map<Integer, List<Integer>> results = new HashMap<>();
+            for (int page : pages) {
+                final Map.Entry<Integer, List<Metadata>> result = metadataRepository.filterAndGet(new HashMap<>(), sort, page, 2);
+                Assert.assertEquals(Integer.valueOf(all.size()), result.getKey());
+                final List<Integer> ids = new ArrayList<>();
+                result.getValue().forEach(m -> ids.add(m.getId()));
+                results.put(page, ids);
+            }
+            final List<Integer> paged = new ArrayList<>();
+            for (int page = 1; page <= 4; page++) {
+                paged.addAll(results.get(page));
+            }
+            Assert.assertEquals(sort + " " + Arrays.toString(pages), expected, paged);
+            Assert.assertTrue(results.get(5).isEmpty());
+            // a new ordering of the pages starts from an empty cache
+            metadataRepository.changeSharedProperty(all.get(0).getId(), false);
+        }
+    }
+
+    /**
+     * The cached counts and page boundaries do not survive a modification.
+     */
+    @Test
+    @Transactional()
+    public void listingInvalidation() {
+        metadataRepository.deleteAll();
+        final int owner = userRepository.create(TestSamples.newAdminUser()).getId();
+        final int mid1 = create(owner, "meta-1", "first", null, 1L);
+        final int mid2 = create(owner, "meta-2", "second", null, 2L);
+
+        final Map<String,Object> filter = new HashMap<>();
+        filter.put("validated", true);
+        Assert.assertEquals(Integer.valueOf(2), metadataRepository.filterAndGet(new HashMap<>(filter), null, 1, 1).getKey());
+
+        metadataRepository.changeValidation(mid1, false);
+        Map.Entry<Integer, List<Metadata>> result = metadataRepository.filterAndGet(new HashMap<>(filter), null, 1, 1);
+        Assert.assertEquals(Integer.valueOf(1), result.getKey());
+        Assert.assertEquals(mid2, (int) result.getValue().get(0).getId());
+        Assert.assertTrue(metadataRepository.filterAndGet(new HashMap<>(filter), null, 2, 1).getValue().isEmpty());
+
+        filter.put("published", true);
+        Assert.assertEquals(Integer.valueOf(1), metadataRepository.filterAndGet(new HashMap<>(filter), null, 1, 1).getKey());
+        metadataRepository.changePublication(mid2, false);
+        Assert.assertEquals(Integer.valueOf(0), metadataRepository.filterAndGet(new HashMap<>(filter), null, 1, 1).getKey());
+
+        filter.clear();
+        filter.put("owner", owner);
+        Assert.assertEquals(Integer.valueOf(2), metadataRepository.filterAndGet(new HashMap<>(filter), null, 1, 1).getKey());
+        metadataRepository.changeHidden(mid1, true);
+        Assert.assertEquals(Integer.valueOf(1), metadataRepository.filterAndGet(new HashMap<>(filter), null, 1, 1).getKey());
+
+        filter.put("profile", "profile_import");
+        Assert.assertEquals(Integer.valueOf(1), metadataRepository.filterAndGet(new HashMap<>(filter), null, 1, 1).getKey());
+        metadataRepository.changeProfile(mid2, "other_profile");
+        Assert.assertEquals(Integer.valueOf(0), metadataRepository.filterAndGet(new HashMap<>(filter), null, 1, 1).getKey());
+    }
+
+    /**
+     * The migration adds the text index column, filled for the existing rows, and the sort indexes.
+     */
+    @Test
+    @Transactional()
+    public void searchMigration() throws Exception {
+        metadataRepository.deleteAll();
+        final int owner = userRepository.create(TestSamples.newAdminUser()).getId();
+        final int mid = create(owner, "meta-old", "Ocean color", "Chlorophyll concentration", 1L);
+
+        Assert.assertEquals(1, dsl.fetchCount(dsl.selectOne().from("information_schema.columns")
+                .where("table_name = 'metadata' and column_name = 'search_vector' and data_type = 'tsvector'")));
+        Assert.assertEquals(4, dsl.fetchCount(dsl.selectOne().from("pg_indexes")
+                .where("tablename = 'metadata' and indexname in ('metadata_search_idx', 'metadata_datestamp_idx', 'metadata_date_creation_idx', 'metadata_title_idx')")));
+
+        // a row inserted before the migration
+        dsl.execute("UPDATE admin.metadata SET search_vector = NULL WHERE id = " + mid);
+        Assert.assertEquals(ids(), search("ocean"));
+        try (InputStream in = JooqMetadataRepositoryTestCase.class.getResourceAsStream(MIGRATION)) {
+            Assert.assertNotNull("missing migration " + MIGRATION, in);
+            final BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+            String line;
+            while ((line = reader.readLine()) != null) {
+                // the schema is only set for the current transaction
+                if (line.startsWith("SET ")) {
+                    dsl.execute(line.replace("SET ", "SET LOCAL "));
+                } else if (line.startsWith("UPDATE ")) {
+                    dsl.execute(line);
+                }
+            }
+        }
+        Assert.assertEquals(ids(mid), search("ocean"));
+        Assert.assertEquals(ids(mid), search("chloro"));
+    }
+
+    /**
+     * The statistics computed in one query are the same as the ones of the separated count queries.
+     */
+    @Test
+    @Transactional()
+    public void statistics() {
+        metadataRepository.deleteAll();
+        final int owner1 = userRepository.create(TestSamples.newAdminUser()).getId();
+        final CstlUser user2 = TestSamples.newAdminUser();
+        user2.setLogin("pedro");
+        user2.setEmail("pedro@examind.com");
+        final int owner2 = userRepository.create(user2).getId();
+
+        // owner, validated, published, validation required, profile, completion
+        final Object[][] rows = {
+            {owner1, true,  true,  "NONE",     "p1", 0},
+            {owner1, false, false, "REQUIRED", "p1", 10},
+            {owner1, false, false, "REQUIRED", "p2", 11},
+            {owner1, true,  false, "NONE",     "p2", 55},
+            {owner1, false, false, "REJECTED", "p1", 100},
+            {owner2, true,  true,  "REQUIRED", "p2", 20},
+            {owner2, false, false, "REQUIRED", "p1", 21},
+            {owner2, true,  false, "NONE",     "p1", 90},
+            {owner2, false, true,  "NONE",     "p3", 91}
+        };
+        for (int i = 0; i < rows.length; i++) {
+            final MetadataComplete metadata = TestSamples.newMetadata((Integer) rows[i][0], "meta-" + i, null, null, null);
+            metadata.setIsValidated((Boolean) rows[i][1]);
+            metadata.setIsPublished((Boolean) rows[i][2]);
+            metadata.setValidationRequired((String) rows[i][3]);
+            metadata.setProfile((String) rows[i][4]);
+            metadata.setMdCompletion((Integer) rows[i][5]);
+            metadataRepository.create(metadata);
+        }
+
+        final List<Map<String,Object>> filters = new ArrayList<>();
+        filters.add(new HashMap<>());
+        filters.add(filter("owner", owner1));
+        filters.add(filter("validated", true));
+        filters.add(filter("validated", false));
+        filters.add(filter("validation_required", "REQUIRED"));
+        filters.add(filter("owner", owner2, "validated", false, "validation_required", "REQUIRED"));
+        filters.add(filter("owner", owner1, "profile", "p1", "validation_required", "NONE"));
+        filters.add(filter("published", false, "validated", true));
+        for (Map<String,Object> filter : filters) {
+            final MetadataStatistics stats = metadataRepository.getStatistics(new HashMap<>(filter));
+            final String msg = filter.toString();
+
+            final Map<String,Integer> general = new HashMap<>();
+            general.put("total",             metadataRepository.countTotalMetadata(new HashMap<>(filter)));
+            general.put("validated",         metadataRepository.countValidated(true, new HashMap<>(filter)));
+            general.put("notValid",          metadataRepository.countValidated(false, new HashMap<>(filter)));
+            general.put("waitingToValidate", metadataRepository.countValidated(false, with(filter, "validation_required", "REQUIRED")));
+            general.put("notPublish",        metadataRepository.countPublished(false, new HashMap<>(filter)));
+            general.put("published",         metadataRepository.countPublished(true, new HashMap<>(filter)));
+            general.put("waitingToPublish",  metadataRepository.countPublished(false, with(filter, "validated", true)));
+            Assert.assertEquals(msg, general, stats.getGeneral());
+
+            final int[] completion = new int[10];
+            for (int i = 0; i < 10; i++) {
+                completion[i] = metadataRepository.countInCompletionRange(new HashMap<>(filter), i == 0 ? 0 : i * 10 + 1, (i + 1) * 10);
+            }
+            Assert.assertArrayEquals(msg, completion, stats.getCompletion());
+
+            Assert.assertEquals(msg, metadataRepository.getProfilesCount(new HashMap<>(filter)), stats.getProfiles());
+            Integer previous = Integer.MAX_VALUE;
+            for (Integer count : stats.getProfiles().values()) {
+                Assert.assertTrue(msg, count <= previous);
+                previous = count;
+            }
+
+            for (int owner : new int[]{owner1, owner2}) {
+                final Map<String,Object> ownerFilter = with(filter, "owner", owner);
+                final int toValidate = metadataRepository.countValidated(false, with(ownerFilter, "validation_required", "REQUIRED"));
+                final int toPublish  = metadataRepository.countPublished(false, with(ownerFilter, "validated", true));
+                final int published  = metadataRepository.countPublished(true, new HashMap<>(ownerFilter));
+                final OwnerStatBrief brief = stats.getOwners().get(owner);
+                Assert.assertEquals(msg + " owner " + owner, toValidate, brief != null ? brief.getToValidate() : 0);
+                Assert.assertEquals(msg + " owner " + owner, toPublish,  brief != null ? brief.getToPublish()  : 0);
+                Assert.assertEquals(msg + " owner " + owner, published,  brief != null ? brief.getPublished()  : 0);
+            }
+        }
+    }
+
+    private static Map<String,Object> filter(final Object... keyValues) {
+        final Map<String,Object> filter = new HashMap<>();
+        for (int i = 0; i < keyValues.length; i += 2) {
+            filter.put((String) keyValues[i], keyValues[i + 1]);
+        }
+        return filter;
+    }
+
+    private static Map<String,Object> with(final Map<String,Object> filter, final String key, final Object value) {
+        final Map<String,Object> result = new HashMap<>(filter);
+        result.put(key, value);
+        return result;
+    }
+
+    private int create(final int owner, final String identifier, final String title, final String resume, final Long date) {
+        final MetadataComplete metadata = TestSamples.newMetadata(owner, identifier, null, null, null);
+        metadata.setTitle(title);
+        metadata.setResume(resume);
+        metadata.setDateCreation(date);
+        return metadataRepository.create(metadata);
+    }
+
+    private HashSet<Integer> search(final String term) {
+        final Map<String,Object> filter = new HashMap<>();
+        filter.put("term", term);
+        final HashSet<Integer> results = new HashSet<>();
+        metadataRepository.filterAndGet(filter, null, 1, 10).getValue().forEach(m -> results.add(m.getId()));
+        return results;
+    }
+
+    private static HashSet<Integer> ids(final Integer... ids) {
+        return new HashSet<>(Arrays.asList(ids));
+    }
 }
@@ -0,0 +1,7 @@
+SET search_path = admin, pg_catalog;
+ALTER TABLE metadata ADD COLUMN search_vector tsvector;
+UPDATE metadata SET search_vector = to_tsvector('simple', coalesce(title, '') || ' ' || coalesce(resume, ''));
+CREATE INDEX metadata_search_idx ON metadata USING gin (search_vector);
+CREATE INDEX metadata_datestamp_idx ON metadata USING btree (datestamp, id);
+CREATE INDEX metadata_date_creation_idx ON metadata USING btree (date_creation, id);
+CREATE INDEX metadata_title_idx ON metadata USING btree (lower(title), id);
@@ -0,0 +1,2 @@
+ALTER TABLE "admin"."datasource_path" ADD COLUMN "last_modified" bigint;
+ALTER TABLE "admin"."datasource" ADD COLUMN "analysis_progress" integer;
@@ -0,0 +1,141 @@
+/*
+ *    Constellation - An open source and standard compliant SDI
+ *    http://www.constellation-sdi.org
+ *
+ * Copyright 2019 Geomatys.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.examind.repository.filesystem;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import org.constellation.dto.Data;
+
+/**
+ * Explicit binary encoding of {@link Data}, field by field, each field preceded by a presence flag.
+ *
+ * Version 1 fields order : id, name, namespace, providerId, type, subtype, included, sensorable, date, ownerId,
+ * metadata, datasetId, statsResult, rendered, statsState, hidden.
+ */
+public class DataJournalCodec implements JournalCodec<Data> {
+
+    static final int VERSION_1 = 1;
+
+    @Override
+    public int getFormatVersion() {
+        return VERSION_1;
+    }
+
+    @Override
+    public void write(final Data data, final DataOutput out) throws IOException {
+        writeInteger(out, data.getId());
+        writeString(out, data.getName());
+        writeString(out, data.getNamespace());
+        writeInteger(out, data.getProviderId());
+        writeString(out, data.getType());
+        writeString(out, data.getSubtype());
+        writeBoolean(out, data.getIncluded());
+        writeBoolean(out, data.getSensorable());
+        writeDate(out, data.getDate());
+        writeInteger(out, data.getOwnerId());
+        writeString(out, data.getMetadata());
+        writeInteger(out, data.getDatasetId());
+        writeString(out, data.getStatsResult());
+        writeBoolean(out, data.getRendered());
+        writeString(out, data.getStatsState());
+        writeBoolean(out, data.getHidden());
+    }
+
+    @Override
+    public Data read(final DataInput in, final int formatVersion) throws IOException {
+        if (formatVersion != VERSION_1) {
+            throw new IOException("Unsupported data record format version: " + formatVersion);
+        }
+        final Data data = new Data();
+        data.setId(readInteger(in));
+        data.setName(readString(in));
+        data.setNamespace(readString(in));
+        data.setProviderId(readInteger(in));
+        data.setType(readString(in));
+        data.setSubtype(readString(in));
+        data.setIncluded(readBoolean(in));
+        data.setSensorable(readBoolean(in));
+        data.setDate(readDate(in));
+        data.setOwnerId(readInteger(in));
+        data.setMetadata(readString(in));
+        data.setDatasetId(readInteger(in));
+        data.setStatsResult(readString(in));
+        data.setRendered(readBoolean(in));
+        data.setStatsState(readString(in));
+        data.setHidden(readBoolean(in));
+        return data;
+    }
+
+    private static void writeInteger(final DataOutput out, final Integer value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeInt(value);
+        }
+    }
+
+    private static Integer readInteger(final DataInput in) throws IOException {
+        return in.readBoolean() ? in.readInt() : null;
+    }
+
+    private static void writeBoolean(final DataOutput out, final Boolean value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeBoolean(value);
+        }
+    }
+
+    private static Boolean readBoolean(final DataInput in) throws IOException {
+        return in.readBoolean() ? in.readBoolean() : null;
+    }
+
+    private static void writeDate(final DataOutput out, final Date value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value.getTime());
+        }
+    }
+
+    private static Date readDate(final DataInput in) throws IOException {
+        return in.readBoolean() ? new Date(in.readLong()) : null;
+    }
+
+    /**
+     * The metadata and statistics can exceed the 64KB limit of {@link DataOutput#writeUTF(String)}.
+     */
+    private static void writeString(final DataOutput out, final String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    private static String readString(final DataInput in) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        final byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
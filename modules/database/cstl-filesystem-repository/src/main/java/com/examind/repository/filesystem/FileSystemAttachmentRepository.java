@@ -78,25 +78,25 @@ public class FileSystemAttachmentRepository extends AbstractFileSystemRepository
     }
 
     @Override
-    public Attachment findById(int id) {
+    public synchronized Attachment findById(int id) {
         return byId.get(id);
     }
 
     @Override
-    public boolean existsById(int id) {
+    public synchronized boolean existsById(int id) {
         return byId.containsKey(id);
     }
 
     @Override
-    public List<Attachment> findByFileName(String fileName) {
+    public synchronized List<Attachment> findByFileName(String fileName) {
         if (byFileName.containsKey(fileName)) {
-            return byFileName.get(fileName);
+            return new ArrayList<>(byFileName.get(fileName));
         }
         return new ArrayList<>();
     }
 
     @Override
-    public List<Attachment> findAll() {
+    public synchronized List<Attachment> findAll() {
         return new ArrayList<>(byId.values());
     }
 
@@ -105,7 +105,7 @@ public class FileSystemAttachmentRepository extends AbstractFileSystemRepository
     ////--------------------------------------------------------------------///
 
     @Override
-    public int create(Attachment att) {
+    public synchronized int create(Attachment att) {
         if (att != null) {
             att.setId(currentId);
 
@@ -132,7 +132,7 @@ public class FileSystemAttachmentRepository extends AbstractFileSystemRepository
     }
 
     @Override
-    public void update(Attachment att) {
+    public synchronized void update(Attachment att) {
         if (byId.containsKey(att.getId())) {
 
             Attachment previous = byId.get(att.getId());
@@ -164,7 +164,7 @@ public class FileSystemAttachmentRepository extends AbstractFileSystemRepository
     }
 
     @Override
-    public int delete(int id) {
+    public synchronized int delete(int id) {
         if (byId.containsKey(id)) {
 
             Attachment att = byId.get(id);
@@ -192,22 +192,22 @@ public class FileSystemAttachmentRepository extends AbstractFileSystemRepository
     ////--------------------------------------------------------------------///
 
     @Override
-    public List<Attachment> getLinkedAttachment(int metadataID) {
+    public synchronized List<Attachment> getLinkedAttachment(int metadataID) {
         throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
     }
 
     @Override
-    public void deleteForMetadata(int metadataId) {
+    public synchronized void deleteForMetadata(int metadataId) {
         throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
     }
 
     @Override
-    public void linkMetadataAndAttachment(int metadataID, int attId) {
+    public synchronized void linkMetadataAndAttachment(int metadataID, int attId) {
         throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
     }
 
     @Override
-    public void unlinkMetadataAndAttachment(int metadataID, int attId) {
+    public synchronized void unlinkMetadataAndAttachment(int metadataID, int attId) {
         throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
     }
 
@@ -78,12 +78,12 @@ public class FileSystemChainProcessRepository extends AbstractFileSystemReposito
 
 
     @Override
-    public List<ChainProcess> findAll() {
+    public synchronized List<ChainProcess> findAll() {
         return new ArrayList<>(byId.values());
     }
 
     @Override
-    public ChainProcess findOne(String auth, String code) {
+    public synchronized ChainProcess findOne(String auth, String code) {
         if (byAuthCode.containsKey(auth)) {
             return byAuthCode.get(auth).get(code);
         }
@@ -91,7 +91,7 @@ public class FileSystemChainProcessRepository extends AbstractFileSystemReposito
     }
 
     @Override
-    public Integer findId(String auth, String code) {
+    public synchronized Integer findId(String auth, String code) {
         if (byAuthCode.containsKey(auth)) {
             if (byAuthCode.get(auth).containsKey(code)) {
                 return byAuthCode.get(auth).get(code).getId();
@@ -105,7 +105,7 @@ public class FileSystemChainProcessRepository extends AbstractFileSystemReposito
     ////--------------------------------------------------------------------///
 
     @Override
-    public Integer create(ChainProcess chain) {
+    public synchronized Integer create(ChainProcess chain) {
         if (chain != null) {
             chain.setId(currentId);
 
@@ -129,7 +129,7 @@ public class FileSystemChainProcessRepository extends AbstractFileSystemReposito
     }
 
     @Override
-    public int delete(int id) {
+    public synchronized int delete(int id) {
         if (byId.containsKey(id)) {
 
             ChainProcess chain = byId.get(id);
@@ -153,7 +153,7 @@ public class FileSystemChainProcessRepository extends AbstractFileSystemReposito
     }
 
     @Override
-    public int delete(String auth, String code) {
+    public synchronized int delete(String auth, String code) {
         ChainProcess chain = findOne(auth, code);
         if (chain != null) {
 
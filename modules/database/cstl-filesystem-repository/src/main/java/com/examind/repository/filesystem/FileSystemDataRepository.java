@@ -28,12 +28,17 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.logging.Level;
 import javax.xml.bind.JAXBException;
 import org.constellation.dto.Data;
 import org.constellation.dto.Layer;
 import org.constellation.dto.NameInProvider;
 import org.constellation.dto.ProviderBrief;
+import org.constellation.configuration.ConfigDirectory;
 import org.constellation.dto.StringList;
 import org.constellation.exception.ConstellationPersistenceException;
 import org.constellation.repository.DataRepository;
@@ -45,23 +50,43 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 /**
+ * Data repository persisted in an append-only journal ({@link FileSystemJournal}).
+ *
+ * The indexes are concurrent maps of copy-on-write lists: the read operations never lock,
+ * the write operations are serialized on the repository. The journal is compacted in background.
  *
  * @author Guilhem Legal (Geomatys)
  */
 @Component
 public class FileSystemDataRepository extends AbstractFileSystemRepository implements DataRepository {
 
-    private final Map<Integer, Data> byId = new HashMap<>();
-    private final Map<NameInProvider, Data> byFullName = new HashMap<>();
-    private final Map<Integer, List<Data>> byProvider = new HashMap<>();
-    private final Map<Integer, List<Data>> byDataset = new HashMap<>();
+    private final Map<Integer, Data> byId = new ConcurrentHashMap<>();
+    private final Map<NameInProvider, Data> byFullName = new ConcurrentHashMap<>();
+    private final Map<Integer, List<Data>> byProvider = new ConcurrentHashMap<>();
+    private final Map<Integer, List<Data>> byDataset = new ConcurrentHashMap<>();
+
+    private final Map<Integer, List<Data>> linkedData = new ConcurrentHashMap<>();
+
+    private final Map<Integer, Data> visibleData = new ConcurrentHashMap<>();
+    private final Map<Integer, Data> invisibleData = new ConcurrentHashMap<>();
+
+    private final Map<Integer, String> providerMapping = new ConcurrentHashMap<>();
 
-    private final Map<Integer, List<Data>> linkedData = new HashMap<>();
+    private final FileSystemJournal<Data> journal;
 
-    private final Map<Integer, Data> visibleData = new HashMap<>();
-    private final Map<Integer, Data> invisibleData = new HashMap<>();
+    /**
+     * Write the snapshots of the journal, one at a time, out of the repository lock.
+     */
+    private final ExecutorService compactionExecutor = Executors.newSingleThreadExecutor(r -> {
+        final Thread t = new Thread(r, "Data journal compaction");
+        t.setDaemon(true);
+        return t;
+    });
 
-    private final Map<Integer, String> providerMapping = new HashMap<>();
+    /**
+     * {@code true} while a snapshot is written.
+     */
+    private boolean compacting;
 
     @Autowired
     private StyleRepository styleRepository;
@@ -71,6 +96,7 @@ public class FileSystemDataRepository extends AbstractFileSystemRepository imple
 
     public FileSystemDataRepository() {
         super(ProviderBrief.class, Data.class);
+        journal = new FileSystemJournal<>(ConfigDirectory.getConfigDirectory().resolve(DATA_JOURNAL_DIR), new DataJournalCodec());
         load();
     }
 
@@ -85,38 +111,17 @@ public class FileSystemDataRepository extends AbstractFileSystemRepository imple
                 }
             }
 
-            Path dataDir = getDirectory(DATA_DIR);
-            try (DirectoryStream<Path> directoryStream = Files.newDirectoryStream(dataDir)) {
-                for (Path dataFile : directoryStream) {
-                    Data data = (Data) getObjectFromPath(dataFile, pool);
-                    byId.put(data.getId(), data);
-                    byFullName.put(new NameInProvider(NamesExt.create(data.getNamespace(), data.getName()), providerMapping.get(data.getProviderId())), data);
-
-                    if (!byProvider.containsKey(data.getProviderId())) {
-                        List<Data> datas = new ArrayList<>();
-                        datas.add(data);
-                        byProvider.put(data.getProviderId(), datas);
-                    } else {
-                        byProvider.get(data.getProviderId()).add(data);
-                    }
-
-                    if (!byDataset.containsKey(data.getDatasetId())) {
-                        List<Data> datas = new ArrayList<>();
-                        datas.add(data);
-                        byDataset.put(data.getDatasetId(), datas);
-                    } else {
-                        byDataset.get(data.getDatasetId()).add(data);
-                    }
-
-                    if (data.getHidden() != null && data.getHidden()) {
-                        invisibleData.put(data.getId(), data);
-                    } else {
-                        visibleData.put(data.getId(), data);
-                    }
-
-                    if (data.getId() >= currentId) {
-                        currentId = data.getId() +1;
-                    }
+            final Map<Integer, Data> datas;
+            if (journal.exists()) {
+                datas = journal.load();
+            } else {
+                // first start on the XML files : import them in the journal
+                datas = journal.importLegacy(getDirectory(DATA_DIR), this::readLegacyData, Data::getId);
+            }
+            for (Data data : datas.values()) {
+                index(data);
+                if (data.getId() >= currentId) {
+                    currentId = data.getId() +1;
                 }
             }
 
@@ -126,7 +131,7 @@ public class FileSystemDataRepository extends AbstractFileSystemRepository imple
                     StringList dataList = (StringList) getObjectFromPath(DataDataFile, pool);
                     String fileName = DataDataFile.getFileName().toString();
                     Integer dataId = Integer.parseInt(fileName.substring(0, fileName.length() - 4));
-                    List<Data> linked = new ArrayList<>();
+                    List<Data> linked = new CopyOnWriteArrayList<>();
                     for (Integer linkedDataId : getIntegerList(dataList)) {
                         linked.add(byId.get(linkedDataId));
                     }
@@ -140,6 +145,78 @@ public class FileSystemDataRepository extends AbstractFileSystemRepository imple
         }
     }
 
+    private Data readLegacyData(Path dataFile) {
+        try {
+            return (Data) getObjectFromPath(dataFile, pool);
+        } catch (JAXBException ex) {
+            LOGGER.log(Level.WARNING, "Unable to read data file " + dataFile, ex);
+            return null;
+        }
+    }
+
+    private void index(Data data) {
+        byId.put(data.getId(), data);
+
+        String providerIdentifier = getProviderIdentifier(data.getProviderId());
+        final NameInProvider nim = new NameInProvider(NamesExt.create(data.getNamespace(), data.getName()), providerIdentifier);
+        byFullName.put(nim, data);
+
+        if (data.getProviderId() != null) {
+            byProvider.computeIfAbsent(data.getProviderId(), k -> new CopyOnWriteArrayList<>()).add(data);
+        }
+        if (data.getDatasetId() != null) {
+            byDataset.computeIfAbsent(data.getDatasetId(), k -> new CopyOnWriteArrayList<>()).add(data);
+        }
+
+        if (data.getHidden() != null && data.getHidden()) {
+            invisibleData.put(data.getId(), data);
+        } else {
+            visibleData.put(data.getId(), data);
+        }
+    }
+
+    private void unindex(Data data) {
+        byId.remove(data.getId());
+        String providerIdentifier = getProviderIdentifier(data.getProviderId());
+        final NameInProvider nim = new NameInProvider(NamesExt.create(data.getNamespace(), data.getName()), providerIdentifier);
+        byFullName.remove(nim);
+        if (data.getProviderId() != null && byProvider.containsKey(data.getProviderId())) {
+            byProvider.get(data.getProviderId()).remove(data);
+        }
+        if (data.getDatasetId() != null && byDataset.containsKey(data.getDatasetId())) {
+            byDataset.get(data.getDatasetId()).remove(data);
+        }
+        invisibleData.remove(data.getId());
+        visibleData.remove(data.getId());
+    }
+
+    private String getProviderIdentifier(Integer providerId) {
+        return providerId != null ? providerMapping.get(providerId) : null;
+    }
+
+    /**
+     * Start the writing of a new snapshot when the journal becomes too long.
+     * Must be called by a write operation, the state copied at the journal rotation is written in background.
+     */
+    private void compactIfNeeded() {
+        if (!compacting && journal.needCompaction()) {
+            compacting = true;
+            final long next = journal.rotate();
+            final Map<Integer, Data> state = new HashMap<>(byId);
+            compactionExecutor.execute(() -> {
+                try {
+                    journal.writeSnapshot(next, state);
+                } catch (ConstellationPersistenceException ex) {
+                    LOGGER.log(Level.WARNING, "Error while compacting the data journal, the journals are kept.", ex);
+                } finally {
+                    synchronized (FileSystemDataRepository.this) {
+                        compacting = false;
+                    }
+                }
+            });
+        }
+    }
+
     @Override
     public List<Data> findAll() {
         return new ArrayList<>(byId.values());
@@ -157,7 +234,7 @@ public class FileSystemDataRepository extends AbstractFileSystemRepository imple
 
     @Override
     public Data findByNameAndNamespaceAndProviderId(String localPart, String namespaceURI, Integer providerId) {
-        String providerIdentifier = providerMapping.get(providerId);
+        String providerIdentifier = getProviderIdentifier(providerId);
         final NameInProvider nim = new NameInProvider(NamesExt.create(namespaceURI, localPart), providerIdentifier);
         return byFullName.get(nim);
     }
@@ -184,7 +261,7 @@ public class FileSystemDataRepository extends AbstractFileSystemRepository imple
 
     @Override
     public List<Data> findByProviderId(Integer providerId) {
-        if (byProvider.containsKey(providerId)) {
+        if (providerId != null && byProvider.containsKey(providerId)) {
             return new ArrayList<>(byProvider.get(providerId));
         }
         return new ArrayList<>();
@@ -193,7 +270,7 @@ public class FileSystemDataRepository extends AbstractFileSystemRepository imple
     @Override
     public List<Integer> findIdsByProviderId(Integer providerId) {
         List<Integer> results = new ArrayList<>();
-        if (byProvider.containsKey(providerId)) {
+        if (providerId != null && byProvider.containsKey(providerId)) {
             for (Data d : byProvider.get(providerId)) {
                 results.add(d.getId());
             }
@@ -204,7 +281,7 @@ public class FileSystemDataRepository extends AbstractFileSystemRepository imple
     @Override
     public List<Data> findByProviderId(Integer providerId, String dataType, boolean included, boolean hidden) {
         List<Data> results = new ArrayList<>();
-        if (byProvider.containsKey(providerId)) {
+        if (providerId != null && byProvider.containsKey(providerId)) {
             for (Data d : byProvider.get(providerId)) {
                 if (d.getIncluded().equals(included) &&
                     d.getHidden().equals(hidden)     &&
@@ -219,7 +296,7 @@ public class FileSystemDataRepository extends AbstractFileSystemRepository imple
     @Override
     public List<Integer> findIdsByProviderId(Integer providerId, String dataType, boolean included, boolean hidden) {
         List<Integer> results = new ArrayList<>();
-        if (byProvider.containsKey(providerId)) {
+        if (providerId != null && byProvider.containsKey(providerId)) {
             for (Data d : byProvider.get(providerId)) {
                 if (d.getIncluded().equals(included) &&
                     d.getHidden().equals(hidden)     &&
@@ -234,7 +311,7 @@ public class FileSystemDataRepository extends AbstractFileSystemRepository imple
     @Override
     public List<Data> findByDatasetId(Integer id) {
         List<Data> results = new ArrayList<>();
-        if (byDataset.containsKey(id)) {
+        if (id != null && byDataset.containsKey(id)) {
             List<Data> datas = byDataset.get(id);
             for (Data data : datas) {
                 if (data.getIncluded() && !data.getHidden()) {
@@ -248,7 +325,7 @@ public class FileSystemDataRepository extends AbstractFileSystemRepository imple
     @Override
     public List<Data> findByDatasetId(Integer datasetId, boolean included, boolean hidden) {
         List<Data> results = new ArrayList<>();
-        if (byDataset.containsKey(datasetId)) {
+        if (datasetId != null && byDataset.containsKey(datasetId)) {
             List<Data> datas = byDataset.get(datasetId);
             for (Data data : datas) {
                 if ((data.getIncluded() != null && data.getIncluded().equals(included)) &&
@@ -262,7 +339,7 @@ public class FileSystemDataRepository extends AbstractFileSystemRepository imple
 
     @Override
     public List<Data> findAllByDatasetId(Integer id) {
-        if (byDataset.containsKey(id)) {
+        if (id != null && byDataset.containsKey(id)) {
             return new ArrayList<>(byDataset.get(id));
         }
         return new ArrayList<>();
@@ -345,41 +422,12 @@ public class FileSystemDataRepository extends AbstractFileSystemRepository imple
     ////--------------------------------------------------------------------///
 
     @Override
-    public Integer create(Data data) {
+    public synchronized Integer create(Data data) {
         if (data != null) {
             data.setId(currentId);
-
-            Path dataDir = getDirectory(DATA_DIR);
-            Path dataFile = dataDir.resolve(currentId + ".xml");
-            writeObjectInPath(data, dataFile, pool);
-
-            byId.put(data.getId(), data);
-
-            String providerIdentifier = providerMapping.get(data.getProviderId());
-            final NameInProvider nim = new NameInProvider(NamesExt.create(data.getNamespace(), data.getName()), providerIdentifier);
-            byFullName.put(nim, data);
-
-            if (!byProvider.containsKey(data.getProviderId())) {
-                List<Data> datas = new ArrayList<>();
-                datas.add(data);
-                byProvider.put(data.getProviderId(), datas);
-            } else {
-                byProvider.get(data.getProviderId()).add(data);
-            }
-
-            if (!byDataset.containsKey(data.getDatasetId())) {
-                List<Data> datas = new ArrayList<>();
-                datas.add(data);
-                byDataset.put(data.getDatasetId(), datas);
-            } else {
-                byDataset.get(data.getDatasetId()).add(data);
-            }
-
-            if (data.getHidden()) {
-                invisibleData.put(data.getId(), data);
-            } else {
-                visibleData.put(data.getId(), data);
-            }
+            journal.put(data.getId(), data);
+            index(data);
+            compactIfNeeded();
 
             currentId++;
             return data.getId();
@@ -388,72 +436,25 @@ public class FileSystemDataRepository extends AbstractFileSystemRepository imple
     }
 
     @Override
-    public void update(Data data) {
-        if (byId.containsKey(data.getId())) {
-
-            delete(data.getId());
-
-            Path dataDir = getDirectory(DATA_DIR);
-            Path dataFile = dataDir.resolve(data.getId() + ".xml");
-            writeObjectInPath(data, dataFile, pool);
-
-            byId.put(data.getId(), data);
-
-            String providerIdentifier = providerMapping.get(data.getProviderId());
-            final NameInProvider nim = new NameInProvider(NamesExt.create(data.getNamespace(), data.getName()), providerIdentifier);
-            byFullName.put(nim, data);
-
-            if (!byProvider.containsKey(data.getProviderId())) {
-                List<Data> datas = new ArrayList<>();
-                datas.add(data);
-                byProvider.put(data.getProviderId(), datas);
-            } else {
-                byProvider.get(data.getProviderId()).add(data);
-            }
-
-            if (!byDataset.containsKey(data.getDatasetId())) {
-                List<Data> datas = new ArrayList<>();
-                datas.add(data);
-                byDataset.put(data.getDatasetId(), datas);
-            } else {
-                byDataset.get(data.getDatasetId()).add(data);
-            }
-
-            if (data.getHidden()) {
-                invisibleData.put(data.getId(), data);
-            } else {
-                visibleData.put(data.getId(), data);
-            }
+    public synchronized void update(Data data) {
+        final Data previous = byId.get(data.getId());
+        if (previous != null) {
+            journal.put(data.getId(), data);
+            unindex(previous);
+            index(data);
+            compactIfNeeded();
         }
     }
 
     @Override
-    public int delete(int id) {
+    public synchronized int delete(int id) {
         if (byId.containsKey(id)) {
 
             Data data = byId.get(id);
 
-            Path dataDir = getDirectory(DATA_DIR);
-            Path dataFile = dataDir.resolve(data.getId() + ".xml");
-            try {
-                Files.delete(dataFile);
-            } catch (IOException ex) {
-                throw new ConstellationPersistenceException(ex);
-            }
-
-            byId.remove(data.getId());
-            String providerIdentifier = providerMapping.get(data.getProviderId());
-            final NameInProvider nim = new NameInProvider(NamesExt.create(data.getNamespace(), data.getName()), providerIdentifier);
-            byFullName.remove(nim);
-            if (byProvider.containsKey(data.getProviderId())) {
-                byProvider.get(data.getProviderId()).remove(data);
-            }
-
-            if (byDataset.containsKey(data.getDatasetId())) {
-                byDataset.get(data.getDatasetId()).remove(data);
-            }
-            invisibleData.remove(id);
-            visibleData.remove(id);
+            journal.delete(id);
+            unindex(data);
+            compactIfNeeded();
 
             removeLinkedData(id);
 
@@ -481,7 +482,7 @@ public class FileSystemDataRepository extends AbstractFileSystemRepository imple
 
     @Override
     public int delete(String namespaceURI, String localPart, int providerId) {
-        String providerIdentifier = providerMapping.get(providerId);
+        String providerIdentifier = getProviderIdentifier(providerId);
         final NameInProvider nim = new NameInProvider(NamesExt.create(namespaceURI, localPart), providerIdentifier);
         if (byFullName.containsKey(nim)) {
             return delete(byFullName.get(nim).getId());
@@ -543,7 +544,7 @@ public class FileSystemDataRepository extends AbstractFileSystemRepository imple
     }
 
     @Override
-    public void linkDataToData(int dataId, int childId) {
+    public synchronized void linkDataToData(int dataId, int childId) {
         Path dataDataDir = getDirectory(DATA_X_DATA_DIR);
         boolean found = false;
         try (DirectoryStream<Path> directoryStream = Files.newDirectoryStream(dataDataDir)) {
@@ -577,7 +578,7 @@ public class FileSystemDataRepository extends AbstractFileSystemRepository imple
                 writeObjectInPath(dataList, dataDataFile, pool);
 
                 // update memory
-                List<Data> datas = new ArrayList<>();
+                List<Data> datas = new CopyOnWriteArrayList<>();
                 datas.add(byId.get(childId));
                 linkedData.put(dataId, datas);
             }
@@ -588,7 +589,7 @@ public class FileSystemDataRepository extends AbstractFileSystemRepository imple
         }
     }
 
-    public void unlinkDataToData(int dataId, int childId) {
+    public synchronized void unlinkDataToData(int dataId, int childId) {
 
         Path dataDataDir = getDirectory(DATA_X_DATA_DIR);
         try (DirectoryStream<Path> directoryStream = Files.newDirectoryStream(dataDataDir)) {
@@ -619,7 +620,7 @@ public class FileSystemDataRepository extends AbstractFileSystemRepository imple
     }
 
     @Override
-    public void removeLinkedData(int dataId) {
+    public synchronized void removeLinkedData(int dataId) {
         Path DataDataDir = getDirectory(DATA_X_DATA_DIR);
         try (DirectoryStream<Path> directoryStream = Files.newDirectoryStream(DataDataDir)) {
             for (Path dataDataFile : directoryStream) {
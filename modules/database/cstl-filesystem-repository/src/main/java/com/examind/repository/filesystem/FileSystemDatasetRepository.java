@@ -75,22 +75,22 @@ public class FileSystemDatasetRepository extends AbstractFileSystemRepository  i
     }
 
     @Override
-    public List<DataSet> findAll() {
+    public synchronized List<DataSet> findAll() {
         return new ArrayList<>(byId.values());
     }
 
     @Override
-    public DataSet findById(int datasetId) {
+    public synchronized DataSet findById(int datasetId) {
         return byId.get(datasetId);
     }
 
     @Override
-    public DataSet findByIdentifier(String datasetIdentifier) {
+    public synchronized DataSet findByIdentifier(String datasetIdentifier) {
         return byName.get(datasetIdentifier);
     }
 
     @Override
-    public Integer findIdForIdentifier(String datasetIdentifier) {
+    public synchronized Integer findIdForIdentifier(String datasetIdentifier) {
         if (byName.containsKey(datasetIdentifier)) {
             return byName.get(datasetIdentifier).getId();
         }
@@ -98,32 +98,32 @@ public class FileSystemDatasetRepository extends AbstractFileSystemRepository  i
     }
 
     @Override
-    public List<Integer> getAllIds() {
+    public synchronized List<Integer> getAllIds() {
         return new ArrayList<>(byId.keySet());
     }
 
     @Override
-    public Integer getDataCount(int datasetId) {
+    public synchronized Integer getDataCount(int datasetId) {
         return dataRepository.findByDatasetId(datasetId).size();
     }
 
     @Override
-    public boolean existsById(int datasetId) {
+    public synchronized boolean existsById(int datasetId) {
         return byId.containsKey(datasetId);
     }
 
     @Override
-    public boolean existsByName(String datasetName) {
+    public synchronized boolean existsByName(String datasetName) {
         return byName.containsKey(datasetName);
     }
 
     @Override
-    public DataSet findByIdentifierWithEmptyMetadata(String datasetIdentifier) {
+    public synchronized DataSet findByIdentifierWithEmptyMetadata(String datasetIdentifier) {
         throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
     }
 
     @Override
-    public DataSet findByMetadataId(String metadataId) {
+    public synchronized DataSet findByMetadataId(String metadataId) {
         throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
     }
 
@@ -132,7 +132,7 @@ public class FileSystemDatasetRepository extends AbstractFileSystemRepository  i
     ////--------------------------------------------------------------------///
 
     @Override
-    public Integer create(DataSet dataset) {
+    public synchronized Integer create(DataSet dataset) {
         if (dataset != null) {
             dataset.setId(currentId);
 
@@ -150,7 +150,7 @@ public class FileSystemDatasetRepository extends AbstractFileSystemRepository  i
     }
 
     @Override
-    public int update(DataSet dataset) {
+    public synchronized int update(DataSet dataset) {
          if (byId.containsKey(dataset.getId())) {
 
             Path dataDir = getDirectory(DATASET_DIR);
@@ -165,7 +165,7 @@ public class FileSystemDatasetRepository extends AbstractFileSystemRepository  i
     }
 
     @Override
-    public void delete(int id) {
+    public synchronized void delete(int id) {
         if (byId.containsKey(id)) {
 
             DataSet dataset = byId.get(id);
@@ -188,22 +188,22 @@ public class FileSystemDatasetRepository extends AbstractFileSystemRepository  i
     ////--------------------------------------------------------------------///
 
     @Override
-    public List<DataSet> getCswLinkedDataset(int cswId) {
+    public synchronized List<DataSet> getCswLinkedDataset(int cswId) {
         throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
     }
 
     @Override
-    public void addDatasetToCSW(int serviceID, int datasetID) {
+    public synchronized void addDatasetToCSW(int serviceID, int datasetID) {
         throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
     }
 
     @Override
-    public void removeDatasetFromCSW(int serviceID, int datasetID) {
+    public synchronized void removeDatasetFromCSW(int serviceID, int datasetID) {
         throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
     }
 
     @Override
-    public void removeAllDatasetFromCSW(int serviceID) {
+    public synchronized void removeAllDatasetFromCSW(int serviceID) {
         throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
     }
 
@@ -212,7 +212,7 @@ public class FileSystemDatasetRepository extends AbstractFileSystemRepository  i
     ////--------------------------------------------------------------------///
 
     @Override
-    public Map.Entry<Integer, List<DataSet>> filterAndGet(Map<String, Object> filterMap, Map.Entry<String, String> sortEntry, int pageNumber, int rowsPerPage) {
+    public synchronized Map.Entry<Integer, List<DataSet>> filterAndGet(Map<String, Object> filterMap, Map.Entry<String, String> sortEntry, int pageNumber, int rowsPerPage) {
         throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
     }
 }
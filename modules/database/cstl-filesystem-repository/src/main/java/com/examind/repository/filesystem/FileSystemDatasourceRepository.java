@@ -26,6 +26,7 @@ import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -99,22 +100,22 @@ public class FileSystemDatasourceRepository extends AbstractFileSystemRepository
     }
 
     @Override
-    public DataSource findById(int id) {
+    public synchronized DataSource findById(int id) {
         return byId.get(id);
     }
 
     @Override
-    public DataSource findByUrl(String url) {
+    public synchronized DataSource findByUrl(String url) {
         return byUrl.get(url);
     }
 
     @Override
-    public List<DataSource> findAll() {
+    public synchronized List<DataSource> findAll() {
         return new ArrayList<>(byId.values());
     }
 
     @Override
-    public String getAnalysisState(int id) {
+    public synchronized String getAnalysisState(int id) {
         if (byId.containsKey(id)) {
             return byId.get(id).getAnalysisState();
         }
@@ -122,7 +123,7 @@ public class FileSystemDatasourceRepository extends AbstractFileSystemRepository
     }
 
     @Override
-    public boolean hasSelectedPath(int id) {
+    public synchronized boolean hasSelectedPath(int id) {
         if (selectedPathsById.containsKey(id)) {
             return !selectedPathsById.get(id).isEmpty();
         }
@@ -130,7 +131,7 @@ public class FileSystemDatasourceRepository extends AbstractFileSystemRepository
     }
 
     @Override
-    public List<DataSourceSelectedPath> getSelectedPath(int id, Integer limit) {
+    public synchronized List<DataSourceSelectedPath> getSelectedPath(int id, Integer limit) {
         if (selectedPathsById.containsKey(id)) {
             return new ArrayList<>(selectedPathsById.get(id));
         }
@@ -138,7 +139,7 @@ public class FileSystemDatasourceRepository extends AbstractFileSystemRepository
     }
 
     @Override
-    public DataSourcePathComplete getAnalyzedPath(int id, String path) {
+    public synchronized DataSourcePathComplete getAnalyzedPath(int id, String path) {
         if (completePathsById.containsKey(id)) {
             List<DataSourcePathComplete> completePaths = completePathsById.get(id);
             for (DataSourcePathComplete completePath : completePaths) {
@@ -151,7 +152,21 @@ public class FileSystemDatasourceRepository extends AbstractFileSystemRepository
     }
 
     @Override
-    public Map<String, Set<String>> getDatasourceStores(int id) {
+    public synchronized Map<String, DataSourcePathComplete> getAnalyzedPaths(int id, Collection<String> paths) {
+        Map<String, DataSourcePathComplete> results = new HashMap<>();
+        if (completePathsById.containsKey(id)) {
+            Set<String> searched = new HashSet<>(paths);
+            for (DataSourcePathComplete completePath : completePathsById.get(id)) {
+                if (searched.contains(completePath.getPath())) {
+                    results.put(completePath.getPath(), completePath);
+                }
+            }
+        }
+        return results;
+    }
+
+    @Override
+    public synchronized Map<String, Set<String>> getDatasourceStores(int id) {
         Map<String, Set<String>> results = new HashMap<>();
         if (completePathsById.containsKey(id)) {
             List<DataSourcePathComplete> completePaths = completePathsById.get(id);
@@ -171,7 +186,7 @@ public class FileSystemDatasourceRepository extends AbstractFileSystemRepository
     }
 
     @Override
-    public List<String> getPathByStore(int id, String storeId, Integer limit) {
+    public synchronized List<String> getPathByStore(int id, String storeId, Integer limit) {
         List<String> results = new ArrayList<>();
         if (completePathsById.containsKey(id)) {
             List<DataSourcePathComplete> completePaths = completePathsById.get(id);
@@ -185,7 +200,7 @@ public class FileSystemDatasourceRepository extends AbstractFileSystemRepository
     }
 
     @Override
-    public List<String> getPathByStoreAndFormat(int id, String storeId, String format, Integer limit) {
+    public synchronized List<String> getPathByStoreAndFormat(int id, String storeId, String format, Integer limit) {
         List<String> results = new ArrayList<>();
         if (completePathsById.containsKey(id)) {
             List<DataSourcePathComplete> completePaths = completePathsById.get(id);
@@ -200,7 +215,7 @@ public class FileSystemDatasourceRepository extends AbstractFileSystemRepository
     }
 
     @Override
-    public boolean existSelectedPath(int dsId, String subPath) {
+    public synchronized boolean existSelectedPath(int dsId, String subPath) {
         if (selectedPathsById.containsKey(dsId)) {
             for (DataSourceSelectedPath d : selectedPathsById.get(dsId)) {
                 if (d.getPath().equals(subPath)) {
@@ -212,7 +227,7 @@ public class FileSystemDatasourceRepository extends AbstractFileSystemRepository
     }
 
     @Override
-    public DataSourceSelectedPath getSelectedPath(int dsId, String path) {
+    public synchronized DataSourceSelectedPath getSelectedPath(int dsId, String path) {
         if (selectedPathsById.containsKey(dsId)) {
             for (DataSourceSelectedPath d : selectedPathsById.get(dsId)) {
                 if (d.getPath().equals(path)) {
@@ -224,7 +239,7 @@ public class FileSystemDatasourceRepository extends AbstractFileSystemRepository
     }
 
     @Override
-    public void deletePath(int id, String path) {
+    public synchronized void deletePath(int id, String path) {
         throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
     }
 
@@ -233,7 +248,7 @@ public class FileSystemDatasourceRepository extends AbstractFileSystemRepository
     ////--------------------------------------------------------------------///
 
     @Override
-    public int create(DataSource ds) {
+    public synchronized int create(DataSource ds) {
         if (ds != null) {
             ds.setId(currentId);
 
@@ -312,7 +327,7 @@ public class FileSystemDatasourceRepository extends AbstractFileSystemRepository
      }
 
      @Override
-    public void updateAnalysisState(int id, String state) {
+    public synchronized void updateAnalysisState(int id, String state) {
         if (byId.containsKey(id)) {
             DataSource ds = byId.get(id);
             ds.setAnalysisState(state);
@@ -321,7 +336,24 @@ public class FileSystemDatasourceRepository extends AbstractFileSystemRepository
      }
 
      @Override
-    public void clearSelectedPath(int id) {
+    public synchronized Integer getAnalysisProgress(int id) {
+        if (byId.containsKey(id)) {
+            return byId.get(id).getAnalysisProgress();
+        }
+        return null;
+     }
+
+     @Override
+    public synchronized void updateAnalysisProgress(int id, Integer analyzed) {
+        if (byId.containsKey(id)) {
+            DataSource ds = byId.get(id);
+            ds.setAnalysisProgress(analyzed);
+            update(ds);
+        }
+     }
+
+     @Override
+    public synchronized void clearSelectedPath(int id) {
         if (selectedPathsById.containsKey(id)) {
             selectedPathsById.get(id).clear();
             updateSelectedPath(id);
@@ -329,7 +361,7 @@ public class FileSystemDatasourceRepository extends AbstractFileSystemRepository
      }
 
      @Override
-    public void updatePathStatus(int id, String path, String newStatus) {
+    public synchronized void updatePathStatus(int id, String path, String newStatus) {
         if (selectedPathsById.containsKey(id)) {
             List<DataSourceSelectedPath> selectedPaths = selectedPathsById.get(id);
             for (DataSourceSelectedPath selectedPath : selectedPaths) {
@@ -343,7 +375,7 @@ public class FileSystemDatasourceRepository extends AbstractFileSystemRepository
      }
 
      @Override
-    public void updatePathProvider(int id, String path, int providerId) {
+    public synchronized void updatePathProvider(int id, String path, int providerId) {
         if (selectedPathsById.containsKey(id)) {
             List<DataSourceSelectedPath> selectedPaths = selectedPathsById.get(id);
             for (DataSourceSelectedPath selectedPath : selectedPaths) {
@@ -357,12 +389,12 @@ public class FileSystemDatasourceRepository extends AbstractFileSystemRepository
      }
 
      @Override
-    public void addDataSourceStore(int dsId, String storeId, String format) {
+    public synchronized void addDataSourceStore(int dsId, String storeId, String format) {
         throw new UnsupportedOperationException("Not supported yet.");
      }
 
      @Override
-    public void addSelectedPath(int id, String subPath) {
+    public synchronized void addSelectedPath(int id, String subPath) {
         DataSourceSelectedPath path = new DataSourceSelectedPath(id, subPath, "PENDING", -1);
         if (selectedPathsById.containsKey(id)) {
             selectedPathsById.get(id).add(path);
@@ -375,12 +407,15 @@ public class FileSystemDatasourceRepository extends AbstractFileSystemRepository
      }
 
      @Override
-    public void updateAnalyzedPath(DataSourcePath dsPath, Map<String, String> types) {
+    public synchronized void updateAnalyzedPath(DataSourcePath dsPath, Map<String, String> types) {
         if (completePathsById.containsKey(dsPath.getDatasourceId())) {
             List<DataSourcePathComplete> completePaths = completePathsById.get(dsPath.getDatasourceId());
             for (DataSourcePathComplete completePath : completePaths) {
                 if (completePath.getPath().equals(dsPath.getPath())) {
                     completePath.setTypes(types);
+                    completePath.setFolder(dsPath.getFolder());
+                    completePath.setSize(dsPath.getSize());
+                    completePath.setLastModified(dsPath.getLastModified());
                 }
             }
         }
@@ -388,7 +423,7 @@ public class FileSystemDatasourceRepository extends AbstractFileSystemRepository
      }
 
      @Override
-    public void addAnalyzedPath(DataSourcePath dsPath, Map<String, String> types) {
+    public synchronized void addAnalyzedPath(DataSourcePath dsPath, Map<String, String> types) {
         DataSourcePathComplete path = new DataSourcePathComplete(dsPath, types);
         if (completePathsById.containsKey(dsPath.getDatasourceId())) {
             completePathsById.get(dsPath.getDatasourceId()).add(path);
@@ -401,13 +436,13 @@ public class FileSystemDatasourceRepository extends AbstractFileSystemRepository
         updateCompletePath(dsPath.getDatasourceId());
     }
 
-    public void updateSelectedPath(int id) {
+    public synchronized void updateSelectedPath(int id) {
         Path dsDir = getDirectory(DATASOURCE_SELECTED_PATH_DIR);
         Path dsFile = dsDir.resolve(id + ".xml");
         writeObjectInPath(new DatasourceSelectedPathList(id, selectedPathsById.get(id)), dsFile, pool);
      }
 
-    public void updateCompletePath(int id) {
+    public synchronized void updateCompletePath(int id) {
         Path dsDir = getDirectory(DATASOURCE_COMPLETE_PATH_DIR);
         Path dsFile = dsDir.resolve(id + ".xml");
         writeObjectInPath(new DatasourcePathCompleteList(id, completePathsById.get(id)), dsFile, pool);
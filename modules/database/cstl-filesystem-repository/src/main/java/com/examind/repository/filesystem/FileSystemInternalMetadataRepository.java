@@ -70,17 +70,17 @@ public class FileSystemInternalMetadataRepository extends AbstractFileSystemRepo
     }
 
     @Override
-    public InternalMetadata findByMetadataId(String metadataId) {
+    public synchronized InternalMetadata findByMetadataId(String metadataId) {
         return byMetadataId.get(metadataId);
     }
 
     @Override
-    public List<String> getMetadataIds() {
+    public synchronized List<String> getMetadataIds() {
         return new ArrayList<>(byMetadataId.keySet());
     }
 
     @Override
-    public int countMetadata() {
+    public synchronized int countMetadata() {
         return byMetadataId.size();
     }
 
@@ -89,7 +89,7 @@ public class FileSystemInternalMetadataRepository extends AbstractFileSystemRepo
     ////--------------------------------------------------------------------///
 
     @Override
-    public int create(InternalMetadata metadata) {
+    public synchronized int create(InternalMetadata metadata) {
         if (metadata != null) {
             metadata.setId(currentId);
 
@@ -107,7 +107,7 @@ public class FileSystemInternalMetadataRepository extends AbstractFileSystemRepo
     }
 
     @Override
-    public InternalMetadata update(InternalMetadata metadata) {
+    public synchronized InternalMetadata update(InternalMetadata metadata) {
         if (byId.containsKey(metadata.getId())) {
 
             Path metadataDir = getDirectory(INTERNAL_META_DIR);
@@ -122,7 +122,7 @@ public class FileSystemInternalMetadataRepository extends AbstractFileSystemRepo
     }
 
     @Override
-    public int delete(int id) {
+    public synchronized int delete(int id) {
         if (byId.containsKey(id)) {
 
             InternalMetadata metadata = byId.get(id);
@@ -144,7 +144,7 @@ public class FileSystemInternalMetadataRepository extends AbstractFileSystemRepo
     }
 
     @Override
-    public int delete(String metadataId) {
+    public synchronized int delete(String metadataId) {
         if (byMetadataId.containsKey(metadataId)) {
 
             InternalMetadata metadata = byMetadataId.get(metadataId);
@@ -166,7 +166,7 @@ public class FileSystemInternalMetadataRepository extends AbstractFileSystemRepo
     }
 
     @Override
-    public void deleteAll() {
+    public synchronized void deleteAll() {
         for (Integer id : byId.keySet()) {
             delete(id);
         }
@@ -70,17 +70,17 @@ public class FileSystemInternalSensorRepository extends AbstractFileSystemReposi
     }
 
     @Override
-    public InternalSensor findBySensorId(String sensorId) {
+    public synchronized InternalSensor findBySensorId(String sensorId) {
         return bySensorId.get(sensorId);
     }
 
     @Override
-    public List<String> getSensorIds() {
+    public synchronized List<String> getSensorIds() {
         return new ArrayList<>(bySensorId.keySet());
     }
 
     @Override
-    public int countSensors() {
+    public synchronized int countSensors() {
         return byId.size();
     }
 
@@ -89,7 +89,7 @@ public class FileSystemInternalSensorRepository extends AbstractFileSystemReposi
     ////--------------------------------------------------------------------///
 
     @Override
-    public int create(InternalSensor metadata) {
+    public synchronized int create(InternalSensor metadata) {
         if (metadata != null) {
             metadata.setId(currentId);
 
@@ -107,7 +107,7 @@ public class FileSystemInternalSensorRepository extends AbstractFileSystemReposi
     }
 
     @Override
-    public InternalSensor update(InternalSensor metadata) {
+    public synchronized InternalSensor update(InternalSensor metadata) {
         if (byId.containsKey(metadata.getId())) {
 
             Path sensorDir = getDirectory(INTERNAL_SENSOR_DIR);
@@ -122,7 +122,7 @@ public class FileSystemInternalSensorRepository extends AbstractFileSystemReposi
     }
 
     @Override
-    public int delete(int id) {
+    public synchronized int delete(int id) {
         if (byId.containsKey(id)) {
 
             InternalSensor metadata = byId.get(id);
@@ -144,7 +144,7 @@ public class FileSystemInternalSensorRepository extends AbstractFileSystemReposi
     }
 
     @Override
-    public void deleteAll() {
+    public synchronized void deleteAll() {
         for (Integer id : byId.keySet()) {
             delete(id);
         }
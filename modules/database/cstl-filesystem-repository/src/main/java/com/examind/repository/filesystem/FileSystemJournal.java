@@ -0,0 +1,522 @@
+/*
+ *    Constellation - An open source and standard compliant SDI
+ *    http://www.constellation-sdi.org
+ *
+ * Copyright 2019 Geomatys.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.examind.repository.filesystem;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.apache.sis.util.logging.Logging;
+import org.constellation.exception.ConstellationPersistenceException;
+
+/**
+ * Append-only journal storing the entities of a file system repository, with periodic compacted snapshots.
+ *
+ * The directory contains one generation of files:
+ * <ul>
+ *   <li>{@code CURRENT} : the number of the current generation.</li>
+ *   <li>{@code snapshot-<generation>/segment-<n>.bin} : the compacted state, split in {@link #SEGMENTS} segments loaded in parallel.</li>
+ *   <li>{@code journal-<generation>.log} : the modifications made after this snapshot.</li>
+ * </ul>
+ *
+ * Each file starts with a magic number and the format version of the {@link JournalCodec}.
+ * Each record is an operation code, the entity identifier and the entity encoded by the codec.
+ * A truncated record at the end of the journal (crash during a write) is ignored at loading.
+ *
+ * A compaction first rotates the journal : the next records are appended to the journal of the next generation.
+ * The snapshot of the next generation is then written beside the current one, without blocking the writers, and the
+ * {@code CURRENT} file is switched with an atomic move. A crash before the move leaves the previous generation in use,
+ * the journals of the next generations are replayed after its own journal and the incomplete snapshot is removed.
+ *
+ * The write operations are serialized by this object, the readers must work on their own copy of the state.
+ * At most one snapshot is written at a time.
+ *
+ * @param <T> The journaled entity type.
+ */
+public class FileSystemJournal<T> implements AutoCloseable {
+
+    private static final Logger LOGGER = Logging.getLogger("com.examind.repository.filesystem");
+
+    /**
+     * Number of snapshot files, loaded in parallel at startup.
+     */
+    static final int SEGMENTS = 8;
+
+    /**
+     * Number of journal records after which the journal is compacted in a new snapshot.
+     */
+    static final int DEFAULT_COMPACTION_THRESHOLD = 10_000;
+
+    private static final int MAGIC = 0x4558464A; // "EXFJ"
+
+    /**
+     * Size of the file header : magic number and format version.
+     */
+    private static final int HEADER_LENGTH = 8;
+
+    private static final byte PUT    = 1;
+    private static final byte DELETE = 2;
+
+    private static final String CURRENT_FILE = "CURRENT";
+
+    private static final Pattern GENERATION_FILE = Pattern.compile("(?:snapshot-(\\d+)|journal-(\\d+)\\.log)");
+
+    private final Path directory;
+
+    private final JournalCodec<T> codec;
+
+    private final int compactionThreshold;
+
+    private long generation;
+
+    private DataOutputStream journal;
+
+    private int journalRecords;
+
+    public FileSystemJournal(final Path directory, final JournalCodec<T> codec) {
+        this(directory, codec, DEFAULT_COMPACTION_THRESHOLD);
+    }
+
+    public FileSystemJournal(final Path directory, final JournalCodec<T> codec, final int compactionThreshold) {
+        this.directory           = directory;
+        this.codec               = codec;
+        this.compactionThreshold = compactionThreshold;
+    }
+
+    /**
+     * @return {@code true} if the journal directory has already been initialized.
+     */
+    public boolean exists() {
+        return Files.isRegularFile(directory.resolve(CURRENT_FILE));
+    }
+
+    /**
+     * Load the entities from the snapshot and replay the journal.
+     *
+     * @return The current entities by identifier.
+     */
+    public synchronized Map<Integer, T> load() {
+        final Map<Integer, T> result = new ConcurrentHashMap<>();
+        if (!exists()) {
+            compact(result);
+            return result;
+        }
+        generation = readGeneration();
+        removeIncompleteGenerations();
+        final Path snapshot = snapshotDirectory(generation);
+        IntStream.range(0, SEGMENTS).parallel().forEach(i -> readSegment(snapshot.resolve(segmentName(i)), result));
+        journalRecords = replay(journalFile(generation), result);
+        boolean interrupted = false;
+        while (Files.isRegularFile(journalFile(generation + 1))) {
+            // compaction interrupted before the switch, the records appended after the rotation are not in the snapshot
+            generation++;
+            journalRecords += replay(journalFile(generation), result);
+            interrupted = true;
+        }
+        openJournal();
+        if (interrupted) {
+            compact(result);
+        }
+        return result;
+    }
+
+    /**
+     * Initialize the journal from the legacy XML files (one file by entity), read in parallel.
+     * The legacy files are left untouched.
+     *
+     * @param legacyDirectory The directory of the XML files.
+     * @param reader Read an entity from a file.
+     * @param idGetter Return the entity identifier.
+     *
+     * @return The entities by identifier.
+     */
+    public synchronized Map<Integer, T> importLegacy(final Path legacyDirectory, final Function<Path, T> reader, final Function<T, Integer> idGetter) {
+        final Map<Integer, T> result;
+        try (Stream<Path> files = Files.list(legacyDirectory)) {
+            final List<Path> paths = files.collect(Collectors.toList());
+            result = paths.parallelStream()
+                          .map(reader)
+                          .filter(e -> e != null)
+                          .collect(Collectors.toConcurrentMap(idGetter, e -> e, (a, b) -> b));
+        } catch (IOException ex) {
+            throw new ConstellationPersistenceException(ex);
+        }
+        compact(result);
+        LOGGER.log(Level.INFO, "{0} entities imported from {1} into journal {2}", new Object[]{result.size(), legacyDirectory, directory});
+        return result;
+    }
+
+    /**
+     * Append an insertion or an update of the specified entity.
+     */
+    public synchronized void put(final int id, final T entity) {
+        append(PUT, id, encode(entity));
+    }
+
+    /**
+     * Append the deletion of the specified entity.
+     */
+    public synchronized void delete(final int id) {
+        append(DELETE, id, new byte[0]);
+    }
+
+    /**
+     * Return {@code true} if the journal has grown enough to be compacted.
+     */
+    public synchronized boolean needCompaction() {
+        return journalRecords >= compactionThreshold;
+    }
+
+    /**
+     * Write a new generation from the specified state, switch to it and remove the previous ones.
+     *
+     * @param state The current state of all the entities. It must not be modified during the call.
+     */
+    public synchronized void compact(final Map<Integer, T> state) {
+        writeSnapshot(rotate(), state);
+    }
+
+    /**
+     * Append the next records to the journal of a new generation.
+     * The state of the entities at the time of the rotation must then be given to {@link #writeSnapshot(long, Map)}.
+     *
+     * @return The new generation.
+     */
+    public synchronized long rotate() {
+        if (journal == null && exists()) {
+            generation = readGeneration();
+        }
+        closeJournal();
+        final long next = exists() ? generation + 1 : generation;
+        // files left by a compaction interrupted before the rotation
+        removeGeneration(next);
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException ex) {
+            throw new ConstellationPersistenceException(ex);
+        }
+        generation = next;
+        journalRecords = 0;
+        openJournal();
+        return next;
+    }
+
+    /**
+     * Write the snapshot of a generation started by {@link #rotate()}, switch to it and remove the previous ones.
+     * The records are still appended during the call : the new generation is used only after the atomic move of the
+     * {@code CURRENT} file, so a crash during the compaction leaves the previous snapshot and journals usable.
+     *
+     * @param next The generation returned by {@link #rotate()}.
+     * @param state The state of all the entities at the rotation. It must not be modified during the call.
+     */
+    public void writeSnapshot(final long next, final Map<Integer, T> state) {
+        try {
+            final Path snapshot = Files.createDirectories(snapshotDirectory(next));
+            final List<List<Map.Entry<Integer, T>>> segments = new ArrayList<>();
+            for (int i = 0; i < SEGMENTS; i++) {
+                segments.add(new ArrayList<>());
+            }
+            for (Map.Entry<Integer, T> entry : state.entrySet()) {
+                segments.get(Math.floorMod(entry.getKey(), SEGMENTS)).add(entry);
+            }
+            IntStream.range(0, SEGMENTS).parallel().forEach(i -> writeSegment(snapshot.resolve(segmentName(i)), segments.get(i)));
+
+            // switch to the new generation
+            final Path tmp = directory.resolve(CURRENT_FILE + ".tmp");
+            try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                channel.write(StandardCharsets.US_ASCII.encode(Long.toString(next)));
+                channel.force(true);
+            }
+            Files.move(tmp, directory.resolve(CURRENT_FILE), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ex) {
+            throw new ConstellationPersistenceException(ex);
+        }
+        removeGenerationsBefore(next);
+    }
+
+    @Override
+    public synchronized void close() {
+        closeJournal();
+    }
+
+    private void append(final byte operation, final int id, final byte[] payload) {
+        if (journal == null) {
+            if (exists()) {
+                generation = readGeneration();
+                openJournal();
+            } else {
+                compact(new ConcurrentHashMap<>());
+            }
+        }
+        try {
+            journal.writeByte(operation);
+            journal.writeInt(id);
+            journal.writeInt(payload.length);
+            journal.write(payload);
+            journal.flush();
+            journalRecords++;
+        } catch (IOException ex) {
+            throw new ConstellationPersistenceException(ex);
+        }
+    }
+
+    private void openJournal() {
+        try {
+            final Path file = journalFile(generation);
+            final boolean created = !Files.isRegularFile(file) || Files.size(file) < HEADER_LENGTH;
+            final OutputStream out = Files.newOutputStream(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            journal = new DataOutputStream(new BufferedOutputStream(out));
+            if (created) {
+                writeHeader(journal);
+                journal.flush();
+            }
+        } catch (IOException ex) {
+            throw new ConstellationPersistenceException(ex);
+        }
+    }
+
+    private void closeJournal() {
+        if (journal != null) {
+            try {
+                journal.close();
+            } catch (IOException ex) {
+                LOGGER.log(Level.WARNING, "Error while closing journal " + directory, ex);
+            }
+            journal = null;
+        }
+    }
+
+    private void writeHeader(final DataOutputStream out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(codec.getFormatVersion());
+    }
+
+    /**
+     * Read the file header and return the format version of its records.
+     */
+    private static int readHeader(final DataInputStream in, final Path file) throws IOException {
+        if (in.readInt() != MAGIC) {
+            throw new ConstellationPersistenceException("Invalid journal file: " + file);
+        }
+        return in.readInt();
+    }
+
+    private void writeSegment(final Path segment, final List<Map.Entry<Integer, T>> entries) {
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+            writeHeader(out);
+            out.writeInt(entries.size());
+            for (Map.Entry<Integer, T> entry : entries) {
+                final byte[] payload = encode(entry.getValue());
+                out.writeInt(entry.getKey());
+                out.writeInt(payload.length);
+                out.write(payload);
+            }
+            out.flush();
+            channel.force(true);
+        } catch (IOException ex) {
+            throw new ConstellationPersistenceException(ex);
+        }
+    }
+
+    private void readSegment(final Path segment, final Map<Integer, T> result) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(segment)))) {
+            final int version = readHeader(in, segment);
+            final int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                final int id = in.readInt();
+                final byte[] payload = new byte[in.readInt()];
+                in.readFully(payload);
+                result.put(id, decode(payload, version));
+            }
+        } catch (IOException ex) {
+            throw new ConstellationPersistenceException(ex);
+        }
+    }
+
+    private int replay(final Path journalFile, final Map<Integer, T> result) {
+        int records = 0;
+        if (!Files.isRegularFile(journalFile)) {
+            return records;
+        }
+        long validLength = HEADER_LENGTH;
+        boolean truncated = false;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(journalFile)))) {
+            final int version = readHeader(in, journalFile);
+            while (true) {
+                final int operation = in.read();
+                if (operation == -1) {
+                    break;
+                }
+                final int id = in.readInt();
+                final byte[] payload = new byte[in.readInt()];
+                in.readFully(payload);
+                if (operation == PUT) {
+                    result.put(id, decode(payload, version));
+                } else if (operation == DELETE) {
+                    result.remove(id);
+                } else {
+                    throw new ConstellationPersistenceException("Invalid journal record in " + journalFile);
+                }
+                validLength += 9 + payload.length;
+                records++;
+            }
+        } catch (EOFException ex) {
+            truncated = true;
+        } catch (IOException ex) {
+            throw new ConstellationPersistenceException(ex);
+        }
+        if (truncated) {
+            // remove the partial record, the next records would be unreadable otherwise.
+            LOGGER.log(Level.WARNING, "Truncated record at the end of journal {0}, ignored.", journalFile);
+            try (FileChannel channel = FileChannel.open(journalFile, StandardOpenOption.WRITE)) {
+                channel.truncate(validLength);
+            } catch (IOException ex) {
+                throw new ConstellationPersistenceException(ex);
+            }
+        }
+        return records;
+    }
+
+    private long readGeneration() {
+        try {
+            return Long.parseLong(new String(Files.readAllBytes(directory.resolve(CURRENT_FILE)), StandardCharsets.US_ASCII).trim());
+        } catch (IOException | NumberFormatException ex) {
+            throw new ConstellationPersistenceException(ex);
+        }
+    }
+
+    /**
+     * Remove the snapshot of an interrupted compaction, and the files of a previous generation not removed before a crash.
+     * The journals of the next generations are kept, they hold the records appended after the interrupted rotations.
+     */
+    private void removeIncompleteGenerations() {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.collect(Collectors.toList())) {
+                final Matcher m = GENERATION_FILE.matcher(file.getFileName().toString());
+                if (m.matches()) {
+                    if (m.group(1) != null) {
+                        final long g = Long.parseLong(m.group(1));
+                        if (g != generation) {
+                            removeSnapshot(g);
+                        }
+                    } else if (Long.parseLong(m.group(2)) < generation) {
+                        Files.deleteIfExists(file);
+                    }
+                }
+            }
+        } catch (IOException ex) {
+            throw new ConstellationPersistenceException(ex);
+        }
+    }
+
+    /**
+     * Remove the generations replaced by the snapshot of the specified one.
+     */
+    private void removeGenerationsBefore(final long next) {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.collect(Collectors.toList())) {
+                final Matcher m = GENERATION_FILE.matcher(file.getFileName().toString());
+                if (m.matches()) {
+                    final long g = Long.parseLong(m.group(1) != null ? m.group(1) : m.group(2));
+                    if (g < next) {
+                        removeGeneration(g);
+                    }
+                }
+            }
+        } catch (IOException ex) {
+            LOGGER.log(Level.WARNING, "Unable to list the generations of journal " + directory, ex);
+        }
+    }
+
+    private void removeGeneration(final long g) {
+        try {
+            removeSnapshot(g);
+            Files.deleteIfExists(journalFile(g));
+        } catch (IOException ex) {
+            LOGGER.log(Level.WARNING, "Unable to remove the generation " + g + " of journal " + directory, ex);
+        }
+    }
+
+    private void removeSnapshot(final long g) throws IOException {
+        final Path snapshot = snapshotDirectory(g);
+        if (Files.isDirectory(snapshot)) {
+            try (Stream<Path> files = Files.list(snapshot)) {
+                for (Path file : files.collect(Collectors.toList())) {
+                    Files.delete(file);
+                }
+            }
+            Files.delete(snapshot);
+        }
+    }
+
+    private Path snapshotDirectory(final long g) {
+        return directory.resolve("snapshot-" + g);
+    }
+
+    private Path journalFile(final long g) {
+        return directory.resolve("journal-" + g + ".log");
+    }
+
+    private static String segmentName(final int index) {
+        return "segment-" + index + ".bin";
+    }
+
+    private byte[] encode(final T entity) {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream(512);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            codec.write(entity, out);
+        } catch (IOException ex) {
+            throw new ConstellationPersistenceException(ex);
+        }
+        return bytes.toByteArray();
+    }
+
+    private T decode(final byte[] payload, final int version) {
+        try {
+            return codec.read(new DataInputStream(new ByteArrayInputStream(payload)), version);
+        } catch (IOException ex) {
+            throw new ConstellationPersistenceException(ex);
+        }
+    }
+}
@@ -120,17 +120,17 @@ public class FileSystemLayerRepository extends AbstractFileSystemRepository impl
     }
 
     @Override
-    public List<Layer> findAll() {
+    public synchronized List<Layer> findAll() {
         return new ArrayList<>(byId.values());
     }
 
     @Override
-    public Layer findById(Integer layerId) {
+    public synchronized Layer findById(Integer layerId) {
         return byId.get(layerId);
     }
 
     @Override
-    public List<Layer> findByServiceId(int serviceId) {
+    public synchronized List<Layer> findByServiceId(int serviceId) {
         if (byService.containsKey(serviceId)) {
             return new ArrayList<>(byService.get(serviceId));
         }
@@ -138,7 +138,7 @@ public class FileSystemLayerRepository extends AbstractFileSystemRepository impl
     }
 
     @Override
-    public List<Integer> findIdByServiceId(int serviceId) {
+    public synchronized List<Integer> findIdByServiceId(int serviceId) {
         List<Integer> results = new ArrayList<>();
         if (byService.containsKey(serviceId)) {
             for (Layer l : byService.get(serviceId)) {
@@ -149,7 +149,7 @@ public class FileSystemLayerRepository extends AbstractFileSystemRepository impl
     }
 
     @Override
-    public List<QName> findNameByServiceId(int serviceId) {
+    public synchronized List<QName> findNameByServiceId(int serviceId) {
         if (byServiceName.containsKey(serviceId)) {
             return new ArrayList<>(byServiceName.get(serviceId));
         }
@@ -157,7 +157,7 @@ public class FileSystemLayerRepository extends AbstractFileSystemRepository impl
     }
 
     @Override
-    public List<Integer> findByDataId(int dataId) {
+    public synchronized List<Integer> findByDataId(int dataId) {
         List<Integer> ids = new ArrayList<>();
         if (byData.containsKey(dataId)) {
             for (Layer l : byData.get(dataId)) {
@@ -168,12 +168,12 @@ public class FileSystemLayerRepository extends AbstractFileSystemRepository impl
     }
 
      @Override
-    public Layer findByServiceIdAndLayerName(int serviceId, String layerName) {
+    public synchronized Layer findByServiceIdAndLayerName(int serviceId, String layerName) {
         return byServiceIdLayerName.get(serviceId + '-' + layerName);
     }
 
     @Override
-    public Integer findIdByServiceIdAndLayerName(int serviceId, String layerName) {
+    public synchronized Integer findIdByServiceIdAndLayerName(int serviceId, String layerName) {
         if (byServiceIdLayerName.containsKey(serviceId + '-' + layerName)) {
             return byServiceIdLayerName.get(serviceId + '-' + layerName).getId();
         }
@@ -181,22 +181,22 @@ public class FileSystemLayerRepository extends AbstractFileSystemRepository impl
     }
 
     @Override
-    public Layer findByServiceIdAndLayerName(int serviceId, String layerName, String namespace) {
+    public synchronized Layer findByServiceIdAndLayerName(int serviceId, String layerName, String namespace) {
         return byServiceIdLayerNameNmsp.get(serviceId + '-' + layerName + '-' + namespace);
     }
 
     @Override
-    public Layer findByServiceIdAndAlias(int serviceId, String alias) {
+    public synchronized Layer findByServiceIdAndAlias(int serviceId, String alias) {
         return byServiceIdAlias.get(serviceId + '-' + alias);
     }
 
     @Override
-    public Layer findByServiceIdAndDataId(int serviceId, int dataId) {
+    public synchronized Layer findByServiceIdAndDataId(int serviceId, int dataId) {
         return byServiceIdDataId.get(serviceId + "-" + dataId);
     }
 
     @Override
-    public List<Layer> getLayersByLinkedStyle(int styleId) {
+    public synchronized List<Layer> getLayersByLinkedStyle(int styleId) {
         List<Layer> results = new ArrayList<>();
         for (Layer l : byId.values()) {
             for (Style s : styleRepository.findByLayer(l.getId())) {
@@ -210,7 +210,7 @@ public class FileSystemLayerRepository extends AbstractFileSystemRepository impl
      }
 
     @Override
-    public List<Layer> getLayersRefsByLinkedStyle(int styleId) {
+    public synchronized List<Layer> getLayersRefsByLinkedStyle(int styleId) {
         return getLayersByLinkedStyle(styleId);
      }
 
@@ -219,7 +219,7 @@ public class FileSystemLayerRepository extends AbstractFileSystemRepository impl
     ////--------------------------------------------------------------------///
 
     @Override
-    public Integer create(Layer layer) {
+    public synchronized Integer create(Layer layer) {
         if (layer != null) {
             layer.setId(currentId);
 
@@ -271,7 +271,7 @@ public class FileSystemLayerRepository extends AbstractFileSystemRepository impl
     }
 
     @Override
-    public void update(Layer layer) {
+    public synchronized void update(Layer layer) {
         if (byId.containsKey(layer.getId())) {
 
             delete(layer.getId());
@@ -320,7 +320,7 @@ public class FileSystemLayerRepository extends AbstractFileSystemRepository impl
     }
 
     @Override
-    public void delete(int id) {
+    public synchronized void delete(int id) {
         if (byId.containsKey(id)) {
 
             Layer layer = byId.get(id);
@@ -363,7 +363,7 @@ public class FileSystemLayerRepository extends AbstractFileSystemRepository impl
     }
 
     @Override
-    public void updateLayerTitle(int layerID, String newTitle) {
+    public synchronized void updateLayerTitle(int layerID, String newTitle) {
         if (byId.containsKey(layerID)) {
             Layer layer = byId.get(layerID);
             layer.setTitle(newTitle);
@@ -372,7 +372,7 @@ public class FileSystemLayerRepository extends AbstractFileSystemRepository impl
     }
 
     @Override
-    public int deleteServiceLayer(Integer service) {
+    public synchronized int deleteServiceLayer(Integer service) {
         int i = 0;
         if (byService.containsKey(service)) {
             for (Layer l : byService.get(service)) {
@@ -70,22 +70,22 @@ public class FileSystemMapContextRepository extends AbstractFileSystemRepository
 
 
     @Override
-    public MapContextDTO findById(int id) {
+    public synchronized MapContextDTO findById(int id) {
         return byId.get(id);
     }
 
     @Override
-    public List<MapContextDTO> findAll() {
+    public synchronized List<MapContextDTO> findAll() {
         return new ArrayList<>(byId.values());
     }
 
     @Override
-    public List<Integer> findAllId() {
+    public synchronized List<Integer> findAllId() {
         return new ArrayList<>(byId.keySet());
     }
 
     @Override
-    public List<MapContextStyledLayerDTO> getLinkedLayers(int mapContextId) {
+    public synchronized List<MapContextStyledLayerDTO> getLinkedLayers(int mapContextId) {
         throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
     }
 
@@ -94,7 +94,7 @@ public class FileSystemMapContextRepository extends AbstractFileSystemRepository
     ////--------------------------------------------------------------------///
 
     @Override
-    public Integer create(MapContextDTO mapContext) {
+    public synchronized Integer create(MapContextDTO mapContext) {
         if (mapContext != null) {
             mapContext.setId(currentId);
 
@@ -111,7 +111,7 @@ public class FileSystemMapContextRepository extends AbstractFileSystemRepository
     }
 
     @Override
-    public int update(MapContextDTO mapContext) {
+    public synchronized int update(MapContextDTO mapContext) {
         if (byId.containsKey(mapContext.getId())) {
 
             Path mcDir = getDirectory(MAPCONTEXT_DIR);
@@ -125,7 +125,7 @@ public class FileSystemMapContextRepository extends AbstractFileSystemRepository
     }
 
     @Override
-    public int delete(int id) {
+    public synchronized int delete(int id) {
         if (byId.containsKey(id)) {
 
             MapContextDTO mapContext = byId.get(id);
@@ -146,7 +146,7 @@ public class FileSystemMapContextRepository extends AbstractFileSystemRepository
     }
 
     @Override
-    public int deleteAll() {
+    public synchronized int deleteAll() {
         int i = 0;
         for (Integer id : byId.keySet()) {
             i = i + delete(id);
@@ -155,7 +155,7 @@ public class FileSystemMapContextRepository extends AbstractFileSystemRepository
     }
 
     @Override
-    public void updateOwner(Integer contextId, int newOwner) {
+    public synchronized void updateOwner(Integer contextId, int newOwner) {
         if (byId.containsKey(contextId)) {
             MapContextDTO mc = byId.get(contextId);
             mc.setOwner(newOwner);
@@ -164,7 +164,7 @@ public class FileSystemMapContextRepository extends AbstractFileSystemRepository
     }
 
     @Override
-    public void setLinkedLayers(int mapContextId, List<MapContextStyledLayerDTO> layers) {
+    public synchronized void setLinkedLayers(int mapContextId, List<MapContextStyledLayerDTO> layers) {
         throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
     }
 
@@ -173,7 +173,7 @@ public class FileSystemMapContextRepository extends AbstractFileSystemRepository
     ////--------------------------------------------------------------------///
 
     @Override
-    public Map.Entry<Integer, List<MapContextDTO>> filterAndGet(Map<String, Object> filterMap, Map.Entry<String, String> sortEntry, int pageNumber, int rowsPerPage) {
+    public synchronized Map.Entry<Integer, List<MapContextDTO>> filterAndGet(Map<String, Object> filterMap, Map.Entry<String, String> sortEntry, int pageNumber, int rowsPerPage) {
         throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
     }
 
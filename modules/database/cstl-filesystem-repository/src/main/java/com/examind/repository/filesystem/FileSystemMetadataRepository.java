@@ -32,6 +32,7 @@ import javax.xml.bind.JAXBException;
 import org.constellation.dto.metadata.Metadata;
 import org.constellation.dto.metadata.MetadataBbox;
 import org.constellation.dto.metadata.MetadataComplete;
+import org.constellation.dto.metadata.MetadataStatistics;
 import org.constellation.exception.ConstellationPersistenceException;
 import org.constellation.repository.MetadataRepository;
 import org.springframework.stereotype.Component;
@@ -107,12 +108,12 @@ public class FileSystemMetadataRepository extends AbstractFileSystemRepository i
 
 
     @Override
-    public List<Metadata> findAll() {
+    public synchronized List<Metadata> findAll() {
         return new ArrayList<>(byId.values());
     }
 
     @Override
-    public List<Metadata> findByDataId(int dataId) {
+    public synchronized List<Metadata> findByDataId(int dataId) {
         List<Metadata> results = new ArrayList<>();
         if (byData.containsKey(dataId)) {
             for (MetadataComplete m : byData.get(dataId)) {
@@ -123,32 +124,32 @@ public class FileSystemMetadataRepository extends AbstractFileSystemRepository i
     }
 
     @Override
-    public Metadata findByDatasetId(int id) {
+    public synchronized Metadata findByDatasetId(int id) {
         return byDataset.get(id);
     }
 
     @Override
-    public Metadata findByServiceId(int serviceId) {
+    public synchronized Metadata findByServiceId(int serviceId) {
         return byService.get(serviceId);
     }
 
     @Override
-    public Metadata findByMapContextId(int mapContextId) {
+    public synchronized Metadata findByMapContextId(int mapContextId) {
         return byMapContext.get(mapContextId);
     }
 
     @Override
-    public Metadata findByMetadataId(String metadataId) {
+    public synchronized Metadata findByMetadataId(String metadataId) {
         return byMetadataId.get(metadataId);
     }
 
     @Override
-    public Metadata findById(int id) {
+    public synchronized Metadata findById(int id) {
         return byId.get(id);
     }
 
     @Override
-    public List<Metadata> findByProviderId(Integer providerId, String type) {
+    public synchronized List<Metadata> findByProviderId(Integer providerId, String type) {
         List<Metadata> results = new ArrayList<>();
         if (byProvider.containsKey(providerId)) {
             for (MetadataComplete m : byProvider.get(providerId)) {
@@ -161,7 +162,7 @@ public class FileSystemMetadataRepository extends AbstractFileSystemRepository i
     }
 
     @Override
-    public List<Metadata> findAll(boolean includeService, boolean onlyPublished) {
+    public synchronized List<Metadata> findAll(boolean includeService, boolean onlyPublished) {
         List<Metadata> results = new ArrayList<>();
         for (MetadataComplete m : byId.values()) {
             if (includeService || m.getServiceId() == null) {
@@ -174,7 +175,7 @@ public class FileSystemMetadataRepository extends AbstractFileSystemRepository i
     }
 
     @Override
-    public List<Integer> findAllIds() {
+    public synchronized List<Integer> findAllIds() {
         List<Integer> results = new ArrayList<>();
         for (MetadataComplete m : byId.values()) {
             results.add(m.getId());
@@ -183,7 +184,7 @@ public class FileSystemMetadataRepository extends AbstractFileSystemRepository i
     }
 
     @Override
-    public List<MetadataBbox> getBboxes(int id) {
+    public synchronized List<MetadataBbox> getBboxes(int id) {
         if (byId.containsKey(id)) {
             return new ArrayList<>(byId.get(id).getBboxes());
         }
@@ -191,7 +192,7 @@ public class FileSystemMetadataRepository extends AbstractFileSystemRepository i
     }
 
     @Override
-    public int countMetadata(boolean includeService, boolean onlyPublished, Integer providerId, String type) {
+    public synchronized int countMetadata(boolean includeService, boolean onlyPublished, Integer providerId, String type) {
         int i = 0;
         for (MetadataComplete m : byId.values()) {
             if (includeService || m.getServiceId() == null) {
@@ -208,7 +209,7 @@ public class FileSystemMetadataRepository extends AbstractFileSystemRepository i
     }
 
     @Override
-    public int countMetadataByProviderId(Integer id, boolean includeService, boolean onlyPublished, String type, Boolean hidden) {
+    public synchronized int countMetadataByProviderId(Integer id, boolean includeService, boolean onlyPublished, String type, Boolean hidden) {
         int i = 0;
         for (MetadataComplete m : byId.values()) {
             if (includeService || m.getServiceId() == null) {
@@ -227,7 +228,7 @@ public class FileSystemMetadataRepository extends AbstractFileSystemRepository i
     }
 
     @Override
-    public List<String> findMetadataID(boolean includeService, boolean onlyPublished, Integer providerId, String type) {
+    public synchronized List<String> findMetadataID(boolean includeService, boolean onlyPublished, Integer providerId, String type) {
         List<String> results = new ArrayList<>();
         for (MetadataComplete m : byId.values()) {
             if (includeService || m.getServiceId() == null) {
@@ -244,7 +245,7 @@ public class FileSystemMetadataRepository extends AbstractFileSystemRepository i
     }
 
     @Override
-    public List<String> findMetadataIDByProviderId(Integer providerId, boolean includeService, boolean onlyPublished, String type, Boolean hidden) {
+    public synchronized List<String> findMetadataIDByProviderId(Integer providerId, boolean includeService, boolean onlyPublished, String type, Boolean hidden) {
         List<String> results = new ArrayList<>();
         for (MetadataComplete m : byId.values()) {
             if (includeService || m.getServiceId() == null) {
@@ -263,7 +264,7 @@ public class FileSystemMetadataRepository extends AbstractFileSystemRepository i
     }
 
     @Override
-    public boolean existInternalMetadata(String metadataID, boolean includeService, boolean onlyPublished, Integer providerID) {
+    public synchronized boolean existInternalMetadata(String metadataID, boolean includeService, boolean onlyPublished, Integer providerID) {
         MetadataComplete m = byMetadataId.get(metadataID);
         if (includeService || m.getServiceId() == null) {
             if (!onlyPublished || m.getIsPublished()) {
@@ -276,7 +277,7 @@ public class FileSystemMetadataRepository extends AbstractFileSystemRepository i
     }
 
     @Override
-    public boolean existMetadataTitle(String title) {
+    public synchronized boolean existMetadataTitle(String title) {
         return titles.values().contains(title);
     }
 
@@ -285,7 +286,7 @@ public class FileSystemMetadataRepository extends AbstractFileSystemRepository i
     ////--------------------------------------------------------------------///
 
     @Override
-    public int create(MetadataComplete metadata) {
+    public synchronized int create(MetadataComplete metadata) {
         if (metadata != null) {
             metadata.setId(currentId);
 
@@ -331,7 +332,7 @@ public class FileSystemMetadataRepository extends AbstractFileSystemRepository i
     }
 
     @Override
-    public Metadata update(MetadataComplete metadata) {
+    public synchronized Metadata update(MetadataComplete metadata) {
         if (metadata != null && byId.containsKey(metadata.getId())) {
 
             delete(metadata.getId());
@@ -375,7 +376,7 @@ public class FileSystemMetadataRepository extends AbstractFileSystemRepository i
     }
 
     @Override
-    public int delete(int id) {
+    public synchronized int delete(int id) {
         if (byId.containsKey(id)) {
             MetadataComplete metadata = byId.get(id);
             Path metadataDir = getDirectory(METADATA_DIR);
@@ -409,14 +410,14 @@ public class FileSystemMetadataRepository extends AbstractFileSystemRepository i
     }
 
     @Override
-    public void deleteAll() {
+    public synchronized void deleteAll() {
         for (Integer id : byId.keySet()) {
             delete(id);
         }
     }
 
     @Override
-    public void changeOwner(int id, int owner) {
+    public synchronized void changeOwner(int id, int owner) {
         if (byId.containsKey(id)) {
             MetadataComplete metadata = byId.get(id);
             metadata.setOwner(owner);
@@ -425,7 +426,7 @@ public class FileSystemMetadataRepository extends AbstractFileSystemRepository i
     }
 
     @Override
-    public void changeValidation(int id, boolean validated) {
+    public synchronized void changeValidation(int id, boolean validated) {
         if (byId.containsKey(id)) {
             MetadataComplete metadata = byId.get(id);
             metadata.setIsValidated(validated);
@@ -434,7 +435,7 @@ public class FileSystemMetadataRepository extends AbstractFileSystemRepository i
     }
 
     @Override
-    public void changePublication(int id, boolean published) {
+    public synchronized void changePublication(int id, boolean published) {
         if (byId.containsKey(id)) {
             MetadataComplete metadata = byId.get(id);
             metadata.setIsPublished(published);
@@ -443,7 +444,7 @@ public class FileSystemMetadataRepository extends AbstractFileSystemRepository i
     }
 
     @Override
-    public void changeHidden(int id, boolean hidden) {
+    public synchronized void changeHidden(int id, boolean hidden) {
         if (byId.containsKey(id)) {
             MetadataComplete metadata = byId.get(id);
             metadata.setIsHidden(hidden);
@@ -452,7 +453,7 @@ public class FileSystemMetadataRepository extends AbstractFileSystemRepository i
     }
 
     @Override
-    public void changeSharedProperty(int id, boolean shared) {
+    public synchronized void changeSharedProperty(int id, boolean shared) {
         if (byId.containsKey(id)) {
             MetadataComplete metadata = byId.get(id);
             metadata.setIsShared(shared);
@@ -461,7 +462,7 @@ public class FileSystemMetadataRepository extends AbstractFileSystemRepository i
     }
 
     @Override
-    public void changeProfile(int id, String newProfile) {
+    public synchronized void changeProfile(int id, String newProfile) {
         if (byId.containsKey(id)) {
             MetadataComplete metadata = byId.get(id);
             metadata.setProfile(newProfile);
@@ -470,7 +471,7 @@ public class FileSystemMetadataRepository extends AbstractFileSystemRepository i
     }
 
     @Override
-    public void setValidationRequired(int id, String state, String validationState) {
+    public synchronized void setValidationRequired(int id, String state, String validationState) {
         if (byId.containsKey(id)) {
             MetadataComplete metadata = byId.get(id);
             metadata.setValidatedState(validationState);
@@ -480,7 +481,7 @@ public class FileSystemMetadataRepository extends AbstractFileSystemRepository i
     }
 
     @Override
-    public void denyValidation(int id, String comment) {
+    public synchronized void denyValidation(int id, String comment) {
         if (byId.containsKey(id)) {
             MetadataComplete metadata = byId.get(id);
             metadata.setComment(comment);
@@ -490,7 +491,7 @@ public class FileSystemMetadataRepository extends AbstractFileSystemRepository i
     }
 
     @Override
-    public void linkMetadataMapContext(int metadataID, int contextId) {
+    public synchronized void linkMetadataMapContext(int metadataID, int contextId) {
         if (byId.containsKey(metadataID)) {
             MetadataComplete metadata = byId.get(metadataID);
             metadata.setMapContextId(contextId);
@@ -499,7 +500,7 @@ public class FileSystemMetadataRepository extends AbstractFileSystemRepository i
     }
 
     @Override
-    public void unlinkMetadataMapContext(int metadataID) {
+    public synchronized void unlinkMetadataMapContext(int metadataID) {
         if (byId.containsKey(metadataID)) {
             MetadataComplete metadata = byId.get(metadataID);
             metadata.setMapContextId(null);
@@ -508,7 +509,7 @@ public class FileSystemMetadataRepository extends AbstractFileSystemRepository i
     }
 
     @Override
-    public void linkMetadataDataset(int metadataID, int datasetId) {
+    public synchronized void linkMetadataDataset(int metadataID, int datasetId) {
         if (byId.containsKey(metadataID)) {
             MetadataComplete metadata = byId.get(metadataID);
             metadata.setDatasetId(datasetId);
@@ -517,7 +518,7 @@ public class FileSystemMetadataRepository extends AbstractFileSystemRepository i
     }
 
     @Override
-    public void unlinkMetadataDataset(int metadataID) {
+    public synchronized void unlinkMetadataDataset(int metadataID) {
         if (byId.containsKey(metadataID)) {
             MetadataComplete metadata = byId.get(metadataID);
             metadata.setDatasetId(null);
@@ -526,7 +527,7 @@ public class FileSystemMetadataRepository extends AbstractFileSystemRepository i
     }
 
     @Override
-    public void linkMetadataData(int metadataID, int dataId) {
+    public synchronized void linkMetadataData(int metadataID, int dataId) {
         if (byId.containsKey(metadataID)) {
             MetadataComplete metadata = byId.get(metadataID);
             metadata.setDataId(dataId);
@@ -535,7 +536,7 @@ public class FileSystemMetadataRepository extends AbstractFileSystemRepository i
     }
 
     @Override
-    public void unlinkMetadataData(int metadataID) {
+    public synchronized void unlinkMetadataData(int metadataID) {
         if (byId.containsKey(metadataID)) {
             MetadataComplete metadata = byId.get(metadataID);
             metadata.setDataId(null);
@@ -549,47 +550,47 @@ public class FileSystemMetadataRepository extends AbstractFileSystemRepository i
     ////--------------------------------------------------------------------///
 
     @Override
-    public List<Metadata> findByCswId(Integer id) {
+    public synchronized List<Metadata> findByCswId(Integer id) {
         throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
     }
 
     @Override
-    public List<String> findMetadataIDByCswId(Integer id, boolean includeService, boolean onlyPublished, String type, Boolean hidden) {
+    public synchronized List<String> findMetadataIDByCswId(Integer id, boolean includeService, boolean onlyPublished, String type, Boolean hidden) {
         throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
     }
 
     @Override
-    public int countMetadataByCswId(Integer id, boolean includeService, boolean onlyPublished, String type, Boolean hidden) {
+    public synchronized int countMetadataByCswId(Integer id, boolean includeService, boolean onlyPublished, String type, Boolean hidden) {
         throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
     }
 
     @Override
-    public boolean isLinkedMetadata(Integer metadataID, Integer cswID) {
+    public synchronized boolean isLinkedMetadata(Integer metadataID, Integer cswID) {
         throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
     }
 
     @Override
-    public boolean isLinkedMetadata(String metadataID, String cswID) {
+    public synchronized boolean isLinkedMetadata(String metadataID, String cswID) {
         throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
     }
 
     @Override
-    public boolean isLinkedMetadata(String metadataID, String cswID, boolean includeService, boolean onlyPublished) {
+    public synchronized boolean isLinkedMetadata(String metadataID, String cswID, boolean includeService, boolean onlyPublished) {
         throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
     }
 
     @Override
-    public boolean isLinkedMetadata(String metadataID, int providerID, boolean includeService, boolean onlyPublished) {
+    public synchronized boolean isLinkedMetadata(String metadataID, int providerID, boolean includeService, boolean onlyPublished) {
         throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
     }
 
     @Override
-    public void addMetadataToCSW(String metadataID, int cswID) {
+    public synchronized void addMetadataToCSW(String metadataID, int cswID) {
         throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
     }
 
     @Override
-    public void removeDataFromCSW(String metadataID, int cswID) {
+    public synchronized void removeDataFromCSW(String metadataID, int cswID) {
         throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
     }
 
@@ -598,39 +599,44 @@ public class FileSystemMetadataRepository extends AbstractFileSystemRepository i
     ////--------------------------------------------------------------------///
 
     @Override
-    public List<Map<String, Object>> filterAndGetWithoutPagination(Map<String, Object> filterMap) {
+    public synchronized List<Map<String, Object>> filterAndGetWithoutPagination(Map<String, Object> filterMap) {
         throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
     }
 
 
     @Override
-    public Map.Entry<Integer, List<Metadata>> filterAndGet(Map<String, Object> filterMap, Map.Entry<String, String> sortEntry, int pageNumber, int rowsPerPage) {
+    public synchronized Map.Entry<Integer, List<Metadata>> filterAndGet(Map<String, Object> filterMap, Map.Entry<String, String> sortEntry, int pageNumber, int rowsPerPage) {
         throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
     }
 
     @Override
-    public Map<String, Integer> getProfilesCount(Map<String, Object> filterMap) {
+    public synchronized Map<String, Integer> getProfilesCount(Map<String, Object> filterMap) {
         throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
     }
 
     @Override
-    public int countTotalMetadata(Map<String, Object> filterMap) {
+    public synchronized int countTotalMetadata(Map<String, Object> filterMap) {
         throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
     }
 
     @Override
-    public int countValidated(boolean status, Map<String, Object> filterMap) {
+    public synchronized int countValidated(boolean status, Map<String, Object> filterMap) {
         throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
     }
 
     @Override
-    public int countPublished(boolean status, Map<String, Object> filterMap) {
+    public synchronized int countPublished(boolean status, Map<String, Object> filterMap) {
         throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
     }
 
     @Override
-    public int countInCompletionRange(Map<String, Object> filterMap, int minCompletion, int maxCompletion) {
+    public synchronized int countInCompletionRange(Map<String, Object> filterMap, int minCompletion, int maxCompletion) {
         throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
     }
 
+    @Override
+    public synchronized MetadataStatistics getStatistics(Map<String, Object> filterMap) {
+        throw new UnsupportedOperationException("Not supported yet.");
+    }
+
 }
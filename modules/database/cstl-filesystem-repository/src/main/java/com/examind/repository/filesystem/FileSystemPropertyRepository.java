@@ -61,7 +61,7 @@ public class FileSystemPropertyRepository implements PropertyRepository {
         }
     }
     @Override
-    public Map.Entry<String, String> findOne(String key) {
+    public synchronized Map.Entry<String, String> findOne(String key) {
         String value = properties.getProperty(key);
         if (value != null) {
             return new AbstractMap.SimpleEntry<>(key, value);
@@ -70,7 +70,7 @@ public class FileSystemPropertyRepository implements PropertyRepository {
     }
 
     @Override
-    public Map<String, String> findIn(List<String> keys) {
+    public synchronized Map<String, String> findIn(List<String> keys) {
         Map<String, String> results = new HashMap<>();
         for (String propName : keys) {
             if (properties.containsKey(propName)) {
@@ -81,7 +81,7 @@ public class FileSystemPropertyRepository implements PropertyRepository {
     }
 
     @Override
-    public Map<String, String> startWith(String st) {
+    public synchronized Map<String, String> startWith(String st) {
         Map<String, String> results = new HashMap<>();
         for (String propName : properties.stringPropertyNames()) {
             if (propName.startsWith(st)) {
@@ -92,12 +92,12 @@ public class FileSystemPropertyRepository implements PropertyRepository {
     }
 
     @Override
-    public Map<String, String> findAll() {
+    public synchronized Map<String, String> findAll() {
         return (Map) properties;
     }
 
     @Override
-    public String getValue(String key, String defaultValue) {
+    public synchronized String getValue(String key, String defaultValue) {
         return properties.getProperty(key, defaultValue);
     }
 
@@ -106,7 +106,7 @@ public class FileSystemPropertyRepository implements PropertyRepository {
     ////--------------------------------------------------------------------///
 
     @Override
-    public void update(String key, String value) {
+    public synchronized void update(String key, String value) {
         properties.setProperty(key, value);
 
         Path configDir = ConfigDirectory.getConfigDirectory();
@@ -119,7 +119,7 @@ public class FileSystemPropertyRepository implements PropertyRepository {
     }
 
     @Override
-    public void delete(String key) {
+    public synchronized void delete(String key) {
         properties.remove(key);
 
         Path configDir = ConfigDirectory.getConfigDirectory();
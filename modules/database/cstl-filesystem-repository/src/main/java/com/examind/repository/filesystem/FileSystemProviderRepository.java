@@ -88,12 +88,12 @@ public class FileSystemProviderRepository extends AbstractFileSystemRepository i
 
 
     @Override
-    public List<Integer> getAllIds() {
+    public synchronized List<Integer> getAllIds() {
         return new ArrayList<>(byId.keySet());
     }
 
     @Override
-    public List<Integer> getAllIdsWithNoParent() {
+    public synchronized List<Integer> getAllIdsWithNoParent() {
         List<Integer> results = new ArrayList<>();
         for (ProviderBrief p : byId.values()) {
             if (p.getParent() == null) {
@@ -104,22 +104,22 @@ public class FileSystemProviderRepository extends AbstractFileSystemRepository i
     }
 
     @Override
-    public List<ProviderBrief> findAll() {
+    public synchronized List<ProviderBrief> findAll() {
         return new ArrayList<>(byId.values());
     }
 
     @Override
-    public ProviderBrief findOne(Integer id) {
+    public synchronized ProviderBrief findOne(Integer id) {
         return byId.get(id);
     }
 
     @Override
-    public boolean existById(Integer id) {
+    public synchronized boolean existById(Integer id) {
         return byId.containsKey(id);
     }
 
     @Override
-    public List<ProviderBrief> findByImpl(String impl) {
+    public synchronized List<ProviderBrief> findByImpl(String impl) {
         List<ProviderBrief> results = new ArrayList<>();
         for (ProviderBrief p : byId.values()) {
             if (p.getImpl().equals(impl)) {
@@ -130,12 +130,12 @@ public class FileSystemProviderRepository extends AbstractFileSystemRepository i
     }
 
     @Override
-    public List<String> getProviderIds() {
+    public synchronized List<String> getProviderIds() {
         return new ArrayList<>(byName.keySet());
     }
 
     @Override
-    public Integer findIdForIdentifier(String providerIdentifier) {
+    public synchronized Integer findIdForIdentifier(String providerIdentifier) {
         if (byName.containsKey(providerIdentifier)) {
             return byName.get(providerIdentifier).getId();
         }
@@ -143,12 +143,12 @@ public class FileSystemProviderRepository extends AbstractFileSystemRepository i
     }
 
     @Override
-    public ProviderBrief findByIdentifier(String providerIdentifier) {
+    public synchronized ProviderBrief findByIdentifier(String providerIdentifier) {
         return byName.get(providerIdentifier);
     }
 
     @Override
-    public List<ProviderBrief> findChildren(String id) {
+    public synchronized List<ProviderBrief> findChildren(String id) {
         if (byParent.containsKey(id)) {
             return new ArrayList<>(byParent.get(id));
         }
@@ -161,7 +161,7 @@ public class FileSystemProviderRepository extends AbstractFileSystemRepository i
     ////--------------------------------------------------------------------///
 
     @Override
-    public Integer create(ProviderBrief provider) {
+    public synchronized Integer create(ProviderBrief provider) {
         if (provider != null) {
             provider.setId(currentId);
 
@@ -187,7 +187,7 @@ public class FileSystemProviderRepository extends AbstractFileSystemRepository i
     }
 
     @Override
-    public int update(ProviderBrief provider) {
+    public synchronized int update(ProviderBrief provider) {
         if (byId.containsKey(provider.getId())) {
 
             Path providerDir = getDirectory(PROVIDER_DIR);
@@ -212,7 +212,7 @@ public class FileSystemProviderRepository extends AbstractFileSystemRepository i
     }
 
     @Override
-    public int delete(int id) {
+    public synchronized int delete(int id) {
         if (byId.containsKey(id)) {
 
             ProviderBrief provider = byId.get(id);
@@ -237,7 +237,7 @@ public class FileSystemProviderRepository extends AbstractFileSystemRepository i
     }
 
     @Override
-    public int deleteByIdentifier(String providerID) {
+    public synchronized int deleteByIdentifier(String providerID) {
         if (byName.containsKey(providerID)) {
 
             ProviderBrief provider = byName.get(providerID);
@@ -266,7 +266,7 @@ public class FileSystemProviderRepository extends AbstractFileSystemRepository i
     ////--------------------------------------------------------------------///
 
     @Override
-    public ProviderBrief findForData(Integer dataId) {
+    public synchronized ProviderBrief findForData(Integer dataId) {
         Data d = dataRepository.findById(dataId);
         if (d != null) {
             if (byId.containsKey(d.getProviderId())) {
@@ -277,7 +277,7 @@ public class FileSystemProviderRepository extends AbstractFileSystemRepository i
     }
 
     @Override
-    public int removeLinkedServices(int providerID) {
+    public synchronized int removeLinkedServices(int providerID) {
         throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
     }
 
@@ -108,12 +108,12 @@ public class FileSystemSensorRepository extends AbstractFileSystemRepository imp
 
 
     @Override
-    public Sensor findByIdentifier(String identifier) {
+    public synchronized Sensor findByIdentifier(String identifier) {
         return byIdentifier.get(identifier);
     }
 
     @Override
-    public Integer findIdByIdentifier(String identifier) {
+    public synchronized Integer findIdByIdentifier(String identifier) {
         if (byIdentifier.containsKey(identifier)) {
             return byIdentifier.get(identifier).getId();
         }
@@ -121,38 +121,38 @@ public class FileSystemSensorRepository extends AbstractFileSystemRepository imp
     }
 
     @Override
-    public Sensor findById(Integer id) {
+    public synchronized Sensor findById(Integer id) {
         return byId.get(id);
     }
 
     @Override
-    public List<Sensor> getChildren(String parent) {
+    public synchronized List<Sensor> getChildren(String parent) {
         if (byParent.containsKey(parent)) {
-            return byParent.get(parent);
+            return new ArrayList<>(byParent.get(parent));
         }
         return new ArrayList<>();
     }
 
     @Override
-    public List<Sensor> findAll() {
+    public synchronized List<Sensor> findAll() {
         return new ArrayList<>(byId.values());
     }
 
     @Override
-    public List<Sensor> findByProviderId(int providerId) {
+    public synchronized List<Sensor> findByProviderId(int providerId) {
         if (byProvider.containsKey(providerId)) {
-            return byProvider.get(providerId);
+            return new ArrayList<>(byProvider.get(providerId));
         }
         return new ArrayList<>();
     }
 
     @Override
-    public boolean existsById(int sensorId) {
+    public synchronized boolean existsById(int sensorId) {
         return byId.containsKey(sensorId);
     }
 
     @Override
-    public boolean existsByIdentifier(String sensorIdentifier) {
+    public synchronized boolean existsByIdentifier(String sensorIdentifier) {
         return byIdentifier.containsKey(sensorIdentifier);
     }
 
@@ -161,7 +161,7 @@ public class FileSystemSensorRepository extends AbstractFileSystemRepository imp
     ////--------------------------------------------------------------------///
 
     @Override
-    public Integer create(Sensor sensor) {
+    public synchronized Integer create(Sensor sensor) {
         if (sensor != null) {
             sensor.setId(currentId);
 
@@ -195,7 +195,7 @@ public class FileSystemSensorRepository extends AbstractFileSystemRepository imp
     }
 
     @Override
-    public void update(Sensor sensor) {
+    public synchronized void update(Sensor sensor) {
         if (byId.containsKey(sensor.getId())) {
 
             Path sensorDir = getDirectory(SENSOR_DIR);
@@ -224,7 +224,7 @@ public class FileSystemSensorRepository extends AbstractFileSystemRepository imp
     }
 
     @Override
-    public void delete(String identifier) {
+    public synchronized void delete(String identifier) {
         if (byIdentifier.containsKey(identifier)) {
 
             Sensor sensor = byIdentifier.get(identifier);
@@ -250,19 +250,19 @@ public class FileSystemSensorRepository extends AbstractFileSystemRepository imp
     }
 
     @Override
-    public void deleteAll() {
+    public synchronized void deleteAll() {
         for (String sensorId : byIdentifier.keySet()) {
             delete(sensorId);
         }
     }
 
     @Override
-    public void delete(String sensorid, Integer providerId) {
+    public synchronized void delete(String sensorid, Integer providerId) {
         delete(sensorid);
     }
 
     @Override
-    public void deleteFromProvider(Integer providerId) {
+    public synchronized void deleteFromProvider(Integer providerId) {
         if (byProvider.containsKey(providerId)) {
             List<Sensor> sensors = byProvider.get(providerId);
             for (Sensor s : sensors) {
@@ -276,12 +276,12 @@ public class FileSystemSensorRepository extends AbstractFileSystemRepository imp
     ////--------------------------------------------------------------------///
 
     @Override
-    public List<Sensor> findByServiceId(Integer id) {
+    public synchronized List<Sensor> findByServiceId(Integer id) {
         throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
     }
 
     @Override
-    public void linkDataToSensor(Integer dataId, Integer sensorId) {
+    public synchronized void linkDataToSensor(Integer dataId, Integer sensorId) {
         Path sensorDataDir = getDirectory(SENSOR_X_DATA_DIR);
         boolean found = false;
         try (DirectoryStream<Path> directoryStream = Files.newDirectoryStream(sensorDataDir)) {
@@ -326,7 +326,7 @@ public class FileSystemSensorRepository extends AbstractFileSystemRepository imp
     }
 
     @Override
-    public void unlinkDataToSensor(Integer dataId, Integer sensorId) {
+    public synchronized void unlinkDataToSensor(Integer dataId, Integer sensorId) {
         Path sensorDataDir = getDirectory(SENSOR_X_DATA_DIR);
         try (DirectoryStream<Path> directoryStream = Files.newDirectoryStream(sensorDataDir)) {
             for (Path sensorDataFile : directoryStream) {
@@ -356,7 +356,7 @@ public class FileSystemSensorRepository extends AbstractFileSystemRepository imp
     }
 
     @Override
-    public List<SensorReference> fetchByDataId(int dataId) {
+    public synchronized List<SensorReference> fetchByDataId(int dataId) {
         List<SensorReference> results = new ArrayList<>();
         if (byData.containsKey(dataId)) {
             for (Sensor s: byData.get(dataId)) {
@@ -367,32 +367,32 @@ public class FileSystemSensorRepository extends AbstractFileSystemRepository imp
     }
 
     @Override
-    public void linkSensorToSOS(int sensorID, int sosID) {
+    public synchronized void linkSensorToSOS(int sensorID, int sosID) {
         throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
     }
 
     @Override
-    public void unlinkSensorFromSOS(int sensorID, int sosID) {
+    public synchronized void unlinkSensorFromSOS(int sensorID, int sosID) {
         throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
     }
 
     @Override
-    public boolean isLinkedSensorToSOS(int sensorID, int sosID) {
+    public synchronized boolean isLinkedSensorToSOS(int sensorID, int sosID) {
         throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
     }
 
     @Override
-    public int getLinkedSensorCount(int serviceId) {
+    public synchronized int getLinkedSensorCount(int serviceId) {
         throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
     }
 
     @Override
-    public List<String> getLinkedSensorIdentifiers(int serviceId, String sensorType) {
+    public synchronized List<String> getLinkedSensorIdentifiers(int serviceId, String sensorType) {
         throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
     }
 
     @Override
-    public List<String> getLinkedSensors(Integer dataId) {
+    public synchronized List<String> getLinkedSensors(Integer dataId) {
         List<String> results = new ArrayList<>();
         if (byData.containsKey(dataId)) {
             for (Sensor s: byData.get(dataId)) {
@@ -403,17 +403,17 @@ public class FileSystemSensorRepository extends AbstractFileSystemRepository imp
      }
 
     @Override
-    public List<Integer> getLinkedDatas(Integer sensorID) {
+    public synchronized List<Integer> getLinkedDatas(Integer sensorID) {
         throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
     }
 
     @Override
-    public List<Integer> getLinkedDataProviders(Integer sensorID) {
+    public synchronized List<Integer> getLinkedDataProviders(Integer sensorID) {
         throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
     }
 
     @Override
-    public List<Integer> getLinkedServices(Integer sensorID) {
+    public synchronized List<Integer> getLinkedServices(Integer sensorID) {
         throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
     }
 
@@ -123,17 +123,17 @@ public class FileSystemServiceRepository extends AbstractFileSystemRepository im
     }
 
     @Override
-    public List<Service> findAll() {
+    public synchronized List<Service> findAll() {
         return new ArrayList<>(byId.values());
     }
 
     @Override
-    public Service findById(int id) {
+    public synchronized Service findById(int id) {
         return byId.get(id);
     }
 
     @Override
-    public List<Service> findByType(String type) {
+    public synchronized List<Service> findByType(String type) {
         Map<String, Service>  services = byTypeNameService.get(type.toLowerCase());
         if (services != null) {
             return new ArrayList(services.values());
@@ -142,7 +142,7 @@ public class FileSystemServiceRepository extends AbstractFileSystemRepository im
     }
 
     @Override
-    public Service findByIdentifierAndType(String id, String type) {
+    public synchronized Service findByIdentifierAndType(String id, String type) {
         Map<String, Service>  services = byTypeNameService.get(type.toLowerCase());
         if (services != null) {
             return services.get(id);
@@ -151,7 +151,7 @@ public class FileSystemServiceRepository extends AbstractFileSystemRepository im
     }
 
     @Override
-    public Integer findIdByIdentifierAndType(String id, String type) {
+    public synchronized Integer findIdByIdentifierAndType(String id, String type) {
         Map<String, Service>  services = byTypeNameService.get(type.toLowerCase());
         if (services != null && services.get(id) != null) {
             return services.get(id).getId();
@@ -160,7 +160,7 @@ public class FileSystemServiceRepository extends AbstractFileSystemRepository im
     }
 
     @Override
-    public List<String> findIdentifiersByType(String type) {
+    public synchronized List<String> findIdentifiersByType(String type) {
         List<String> identifiers = new ArrayList<>();
         Map<String, Service>  services = byTypeNameService.get(type.toLowerCase());
         if (services != null) {
@@ -172,7 +172,7 @@ public class FileSystemServiceRepository extends AbstractFileSystemRepository im
     }
 
     @Override
-    public String getServiceDetailsForDefaultLang(int serviceId) {
+    public synchronized String getServiceDetailsForDefaultLang(int serviceId) {
         Map<String, String> details = loadedServiceDetails.get(serviceId);
         if (details != null && !details.values().isEmpty()) {
             return details.values().iterator().next();
@@ -181,7 +181,7 @@ public class FileSystemServiceRepository extends AbstractFileSystemRepository im
     }
 
     @Override
-    public String getServiceDetails(int serviceId, String language) {
+    public synchronized String getServiceDetails(int serviceId, String language) {
         Map<String, String> details = loadedServiceDetails.get(serviceId);
         if (details != null) {
             return details.get(language);
@@ -190,17 +190,17 @@ public class FileSystemServiceRepository extends AbstractFileSystemRepository im
     }
 
     @Override
-    public Service findByMetadataId(String metadataId) {
+    public synchronized Service findByMetadataId(String metadataId) {
         return byMetadataService.get(metadataId);
     }
 
     @Override
-    public Map<String, String> getExtraConfig(int id) {
+    public synchronized Map<String, String> getExtraConfig(int id) {
         return new HashMap<>(extraConfigs.get(id));
     }
 
     @Override
-    public String getExtraConfig(int id, String filename) {
+    public synchronized String getExtraConfig(int id, String filename) {
         Map<String, String> configs = extraConfigs.get(id);
         if (configs != null) {
             return configs.get(filename);
@@ -209,7 +209,7 @@ public class FileSystemServiceRepository extends AbstractFileSystemRepository im
     }
 
     @Override
-    public boolean exist(Integer id) {
+    public synchronized boolean exist(Integer id) {
         return byId.containsKey(id);
     }
 
@@ -219,7 +219,7 @@ public class FileSystemServiceRepository extends AbstractFileSystemRepository im
     ////--------------------------------------------------------------------///
 
     @Override
-    public int create(Service service) {
+    public synchronized int create(Service service) {
         service.setId(currentId);
         currentId++;
 
@@ -240,7 +240,7 @@ public class FileSystemServiceRepository extends AbstractFileSystemRepository im
     }
 
     @Override
-    public void delete(Integer id) {
+    public synchronized void delete(Integer id) {
         Service service = byId.get(id);
         if (service != null) {
             Path servDir = ConfigDirectory.getInstanceDirectory(service.getType(), service.getIdentifier());
@@ -260,7 +260,7 @@ public class FileSystemServiceRepository extends AbstractFileSystemRepository im
     }
 
     @Override
-    public void createOrUpdateServiceDetails(Integer id, String lang, String content, Boolean defaultLang) {
+    public synchronized void createOrUpdateServiceDetails(Integer id, String lang, String content, Boolean defaultLang) {
         if (byId.containsKey(id)) {
             Service service = byId.get(id);
 
@@ -287,7 +287,7 @@ public class FileSystemServiceRepository extends AbstractFileSystemRepository im
     }
 
     @Override
-    public Service update(Service service) {
+    public synchronized Service update(Service service) {
         if (byId.containsKey(service.getId())) {
             Path servDir = ConfigDirectory.getInstanceDirectory(service.getType(), service.getIdentifier());
             Path servFile = servDir.resolve("service.xml");
@@ -306,7 +306,7 @@ public class FileSystemServiceRepository extends AbstractFileSystemRepository im
     }
 
     @Override
-    public void updateStatus(int id, String status) {
+    public synchronized void updateStatus(int id, String status) {
         if (byId.containsKey(id)) {
             Service service = byId.get(id);
             service.setStatus(status);
@@ -327,7 +327,7 @@ public class FileSystemServiceRepository extends AbstractFileSystemRepository im
     }
 
     @Override
-    public void updateExtraFile(Integer serviceID, String fileName, String config) {
+    public synchronized void updateExtraFile(Integer serviceID, String fileName, String config) {
         if (byId.containsKey(serviceID)) {
             Service service = byId.get(serviceID);
 
@@ -355,7 +355,7 @@ public class FileSystemServiceRepository extends AbstractFileSystemRepository im
     ////--------------------------------------------------------------------///
 
     @Override
-    public List<Service> findByDataId(int dataId) {
+    public synchronized List<Service> findByDataId(int dataId) {
         List<Service> results = new ArrayList<>();
         List<Integer> layerIds = layerRepository.findByDataId(dataId);
         for (Integer layerId : layerIds) {
@@ -366,7 +366,7 @@ public class FileSystemServiceRepository extends AbstractFileSystemRepository im
     }
 
     @Override
-    public List<ServiceReference> fetchByDataId(int dataId) {
+    public synchronized List<ServiceReference> fetchByDataId(int dataId) {
         List<ServiceReference> results = new ArrayList<>();
         List<Integer> layerIds = layerRepository.findByDataId(dataId);
         for (Integer layerId : layerIds) {
@@ -382,27 +382,27 @@ public class FileSystemServiceRepository extends AbstractFileSystemRepository im
     ////--------------------------------------------------------------------///
 
     @Override
-    public List<Integer> getLinkedSensorProviders(int serviceId) {
+    public synchronized List<Integer> getLinkedSensorProviders(int serviceId) {
         throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
     }
 
     @Override
-    public List<Service> getLinkedSOSServices(int providerId) {
+    public synchronized List<Service> getLinkedSOSServices(int providerId) {
         throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
     }
 
     @Override
-    public void linkSensorProvider(int serviceId, int providerID, boolean allSensor) {
+    public synchronized void linkSensorProvider(int serviceId, int providerID, boolean allSensor) {
         throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
     }
 
     @Override
-    public void removelinkedSensorProviders(int serviceId) {
+    public synchronized void removelinkedSensorProviders(int serviceId) {
         throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
     }
 
     @Override
-    public void removelinkedSensors(int serviceId) {
+    public synchronized void removelinkedSensors(int serviceId) {
         throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
     }
 
@@ -411,37 +411,37 @@ public class FileSystemServiceRepository extends AbstractFileSystemRepository im
     ////--------------------------------------------------------------------///
 
     @Override
-    public Integer getLinkedMetadataProvider(int serviceId) {
+    public synchronized Integer getLinkedMetadataProvider(int serviceId) {
         throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
     }
 
     @Override
-    public void linkMetadataProvider(int serviceId, int providerID, boolean allMetadata) {
+    public synchronized void linkMetadataProvider(int serviceId, int providerID, boolean allMetadata) {
         throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
     }
 
     @Override
-    public Service getLinkedMetadataService(int providerId) {
+    public synchronized Service getLinkedMetadataService(int providerId) {
         throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
     }
 
     @Override
-    public void removelinkedMetadataProvider(int serviceId) {
+    public synchronized void removelinkedMetadataProvider(int serviceId) {
         throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
     }
 
     @Override
-    public boolean isLinkedMetadataProviderAndService(int serviceId, int providerID) {
+    public synchronized boolean isLinkedMetadataProviderAndService(int serviceId, int providerID) {
         throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
     }
 
     @Override
-    public List<Service> getSensorLinkedServices(int sensorId) {
+    public synchronized List<Service> getSensorLinkedServices(int sensorId) {
         throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
     }
 
     @Override
-    public List<String> getServiceDefinedLanguage(int serviceId) {
+    public synchronized List<String> getServiceDefinedLanguage(int serviceId) {
         throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
     }
 }
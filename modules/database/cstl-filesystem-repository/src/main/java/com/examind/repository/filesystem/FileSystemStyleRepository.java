@@ -130,12 +130,12 @@ public class FileSystemStyleRepository extends AbstractFileSystemRepository impl
     }
 
     @Override
-    public List<Style> findAll() {
+    public synchronized List<Style> findAll() {
         return new ArrayList<>(byId.values());
     }
 
     @Override
-    public List<Style> findByType(String type) {
+    public synchronized List<Style> findByType(String type) {
         if (byType.containsKey(type)) {
             return new ArrayList<>(byType.get(type));
         }
@@ -143,7 +143,7 @@ public class FileSystemStyleRepository extends AbstractFileSystemRepository impl
     }
 
     @Override
-    public List<Style> findByTypeAndProvider(int providerId, String type) {
+    public synchronized List<Style> findByTypeAndProvider(int providerId, String type) {
         List<Style> results = new ArrayList<>();
         if (byProvider.containsKey(providerId)) {
             for (Style s : byProvider.get(providerId)) {
@@ -156,7 +156,7 @@ public class FileSystemStyleRepository extends AbstractFileSystemRepository impl
     }
 
     @Override
-    public List<Style> findByProvider(int providerId) {
+    public synchronized List<Style> findByProvider(int providerId) {
         if (byProvider.containsKey(providerId)) {
             return new ArrayList<>(byProvider.get(providerId));
         }
@@ -164,7 +164,7 @@ public class FileSystemStyleRepository extends AbstractFileSystemRepository impl
     }
 
     @Override
-    public Style findByNameAndProvider(int providerId, String name) {
+    public synchronized Style findByNameAndProvider(int providerId, String name) {
         if (byProvider.containsKey(providerId)) {
             for (Style s : byProvider.get(providerId)) {
                 if (s.getName().equals(name)) {
@@ -176,12 +176,12 @@ public class FileSystemStyleRepository extends AbstractFileSystemRepository impl
     }
 
     @Override
-    public Style findById(int id) {
+    public synchronized Style findById(int id) {
         return byId.get(id);
     }
 
     @Override
-    public List<Style> findByName(String name) {
+    public synchronized List<Style> findByName(String name) {
         if (byName.containsKey(name)) {
             return new ArrayList<>(byName.get(name));
         }
@@ -189,7 +189,7 @@ public class FileSystemStyleRepository extends AbstractFileSystemRepository impl
     }
 
     @Override
-    public boolean existsById(int styleId) {
+    public synchronized boolean existsById(int styleId) {
         return byId.containsKey(styleId);
     }
 
@@ -198,7 +198,7 @@ public class FileSystemStyleRepository extends AbstractFileSystemRepository impl
     ////--------------------------------------------------------------------///
 
     @Override
-    public int create(Style style) {
+    public synchronized int create(Style style) {
         if (style != null) {
             style.setId(currentId);
 
@@ -238,7 +238,7 @@ public class FileSystemStyleRepository extends AbstractFileSystemRepository impl
     }
 
     @Override
-    public void update(Style style) {
+    public synchronized void update(Style style) {
         if (byId.containsKey(style.getId())) {
 
             Path styleDir = getDirectory(STYLE_DIR);
@@ -273,7 +273,7 @@ public class FileSystemStyleRepository extends AbstractFileSystemRepository impl
     }
 
     @Override
-    public void delete(int id) {
+    public synchronized void delete(int id) {
         if (byId.containsKey(id)) {
 
             Style style = byId.get(id);
@@ -329,7 +329,7 @@ public class FileSystemStyleRepository extends AbstractFileSystemRepository impl
     }
 
     @Override
-    public void delete(int providerId, String name) {
+    public synchronized void delete(int providerId, String name) {
         Style s = findByNameAndProvider(providerId, name);
         if (s != null) {
             delete(s.getId());
@@ -337,7 +337,7 @@ public class FileSystemStyleRepository extends AbstractFileSystemRepository impl
     }
 
     @Override
-    public void changeSharedProperty(int id, boolean shared) {
+    public synchronized void changeSharedProperty(int id, boolean shared) {
         if (byId.containsKey(id)) {
             Style s = byId.get(id);
             s.setIsShared(shared);
@@ -350,7 +350,7 @@ public class FileSystemStyleRepository extends AbstractFileSystemRepository impl
     ////--------------------------------------------------------------------///
 
     @Override
-    public List<Style> findByData(Integer dataId) {
+    public synchronized List<Style> findByData(Integer dataId) {
         if (byData.containsKey(dataId)) {
             return new ArrayList<>(byData.get(dataId));
         }
@@ -358,7 +358,7 @@ public class FileSystemStyleRepository extends AbstractFileSystemRepository impl
     }
 
     @Override
-    public List<Integer> getStyleIdsForData(int dataId) {
+    public synchronized List<Integer> getStyleIdsForData(int dataId) {
         List<Integer> results = new ArrayList<>();
         if (byData.containsKey(dataId)) {
             for (Style s : byData.get(dataId)) {
@@ -369,7 +369,7 @@ public class FileSystemStyleRepository extends AbstractFileSystemRepository impl
     }
 
     @Override
-    public List<StyleReference> fetchByDataId(int dataId) {
+    public synchronized List<StyleReference> fetchByDataId(int dataId) {
         List<StyleReference> results = new ArrayList<>();
         if (byData.containsKey(dataId)) {
             for (Style s : byData.get(dataId)) {
@@ -383,7 +383,7 @@ public class FileSystemStyleRepository extends AbstractFileSystemRepository impl
     }
 
     @Override
-    public void linkStyleToData(int styleId, int dataId) {
+    public synchronized void linkStyleToData(int styleId, int dataId) {
         Path styleDataDir = getDirectory(STYLE_X_DATA_DIR);
         boolean found = false;
         try (DirectoryStream<Path> directoryStream = Files.newDirectoryStream(styleDataDir)) {
@@ -428,7 +428,7 @@ public class FileSystemStyleRepository extends AbstractFileSystemRepository impl
     }
 
     @Override
-    public void unlinkStyleToData(int styleId, int dataId) {
+    public synchronized void unlinkStyleToData(int styleId, int dataId) {
 
         Path styleDataDir = getDirectory(STYLE_X_DATA_DIR);
         try (DirectoryStream<Path> directoryStream = Files.newDirectoryStream(styleDataDir)) {
@@ -459,7 +459,7 @@ public class FileSystemStyleRepository extends AbstractFileSystemRepository impl
     }
 
     @Override
-    public void unlinkAllStylesFromData(int dataId) {
+    public synchronized void unlinkAllStylesFromData(int dataId) {
         Path styleDataDir = getDirectory(STYLE_X_DATA_DIR);
         try (DirectoryStream<Path> directoryStream = Files.newDirectoryStream(styleDataDir)) {
             for (Path styleDataFile : directoryStream) {
@@ -485,7 +485,7 @@ public class FileSystemStyleRepository extends AbstractFileSystemRepository impl
 
 
     @Override
-    public List<Style> findByLayer(Integer layerId) {
+    public synchronized List<Style> findByLayer(Integer layerId) {
         if (byLayer.containsKey(layerId)) {
             return new ArrayList<>(byLayer.get(layerId));
         }
@@ -493,7 +493,7 @@ public class FileSystemStyleRepository extends AbstractFileSystemRepository impl
     }
 
     @Override
-    public void linkStyleToLayer(int styleId, int layerId) {
+    public synchronized void linkStyleToLayer(int styleId, int layerId) {
         Path styleLayerDir = getDirectory(STYLE_X_LAYER_DIR);
         boolean found = false;
         try (DirectoryStream<Path> directoryStream = Files.newDirectoryStream(styleLayerDir)) {
@@ -538,7 +538,7 @@ public class FileSystemStyleRepository extends AbstractFileSystemRepository impl
     }
 
     @Override
-    public void unlinkStyleToLayer(int styleId, int layerId) {
+    public synchronized void unlinkStyleToLayer(int styleId, int layerId) {
         Path styleLayerDir = getDirectory(STYLE_X_LAYER_DIR);
         try (DirectoryStream<Path> directoryStream = Files.newDirectoryStream(styleLayerDir)) {
             for (Path styleLayerFile : directoryStream) {
@@ -573,7 +573,7 @@ public class FileSystemStyleRepository extends AbstractFileSystemRepository impl
     ////--------------------------------------------------------------------///
 
     @Override
-    public Map.Entry<Integer, List<Style>> filterAndGet(Map<String, Object> filterMap, Map.Entry<String, String> sortEntry, int pageNumber, int rowsPerPage) {
+    public synchronized Map.Entry<Integer, List<Style>> filterAndGet(Map<String, Object> filterMap, Map.Entry<String, String> sortEntry, int pageNumber, int rowsPerPage) {
         throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
     }
 
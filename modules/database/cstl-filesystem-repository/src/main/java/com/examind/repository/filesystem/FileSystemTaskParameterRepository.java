@@ -113,18 +113,18 @@ public class FileSystemTaskParameterRepository extends AbstractFileSystemReposit
     }
 
     @Override
-    public TaskParameter get(Integer uuid) {
+    public synchronized TaskParameter get(Integer uuid) {
         return byId.get(uuid);
     }
 
 
     @Override
-    public List<? extends TaskParameter> findAll() {
+    public synchronized List<? extends TaskParameter> findAll() {
         return new ArrayList<>(byId.values());
     }
 
     @Override
-    public List<? extends TaskParameter> findAllByType(String type) {
+    public synchronized List<? extends TaskParameter> findAllByType(String type) {
         if (byType.containsKey(type)) {
             return new ArrayList<>(byType.get(type));
         }
@@ -132,7 +132,7 @@ public class FileSystemTaskParameterRepository extends AbstractFileSystemReposit
     }
 
     @Override
-    public List<? extends TaskParameter> findAllByNameAndProcess(String name, String authority, String code) {
+    public synchronized List<? extends TaskParameter> findAllByNameAndProcess(String name, String authority, String code) {
         if (byAuthCodeName.containsKey(authority)) {
             if (byAuthCodeName.get(authority).containsKey(code)) {
                 return new ArrayList<>(byAuthCodeName.get(authority).get(code).get(name));
@@ -142,7 +142,7 @@ public class FileSystemTaskParameterRepository extends AbstractFileSystemReposit
     }
 
     @Override
-    public List<? extends TaskParameter> findProgrammedTasks() {
+    public synchronized List<? extends TaskParameter> findProgrammedTasks() {
         return programmedTask;
     }
 
@@ -152,7 +152,7 @@ public class FileSystemTaskParameterRepository extends AbstractFileSystemReposit
     ////--------------------------------------------------------------------///
 
     @Override
-    public Integer create(TaskParameter task) {
+    public synchronized Integer create(TaskParameter task) {
         if (task != null) {
             TaskParameterWithOwnerName taskParam = new TaskParameterWithOwnerName(task, null);
             taskParam.setId(currentId);
@@ -211,7 +211,7 @@ public class FileSystemTaskParameterRepository extends AbstractFileSystemReposit
     }
 
     @Override
-    public void update(TaskParameter task) {
+    public synchronized void update(TaskParameter task) {
         if (byId.containsKey(task.getId())) {
 
             TaskParameterWithOwnerName taskParam = new TaskParameterWithOwnerName(task, null);
@@ -262,7 +262,7 @@ public class FileSystemTaskParameterRepository extends AbstractFileSystemReposit
     }
 
     @Override
-    public void delete(Integer taskId) {
+    public synchronized void delete(Integer taskId) {
         if (byId.containsKey(taskId)) {
 
             TaskParameterWithOwnerName taskParam = byId.get(taskId);
@@ -293,7 +293,7 @@ public class FileSystemTaskParameterRepository extends AbstractFileSystemReposit
     }
 
     @Override
-    public void deleteAll() {
+    public synchronized void deleteAll() {
         for (Integer id : byId.keySet()) {
             delete(id);
         }
@@ -72,17 +72,17 @@ public class FileSystemTaskRepository  extends AbstractFileSystemRepository impl
     }
 
     @Override
-    public Task get(String uuid) {
+    public synchronized Task get(String uuid) {
         return byId.get(uuid);
     }
 
     @Override
-    public List<? extends Task> findAll() {
+    public synchronized List<? extends Task> findAll() {
         return new ArrayList<>(byId.values());
     }
 
     @Override
-    public List<Task> findRunningTasks() {
+    public synchronized List<Task> findRunningTasks() {
         List<Task> results = new ArrayList<>();
         for (Task task : byId.values()) {
             if (task.getDateEnd() == null) {
@@ -97,7 +97,7 @@ public class FileSystemTaskRepository  extends AbstractFileSystemRepository impl
     ////--------------------------------------------------------------------///
 
     @Override
-    public String create(Task task) {
+    public synchronized String create(Task task) {
         if (task != null) {
             Path taskDir = getDirectory(TASK_DIR);
             Path taskFile = taskDir.resolve(task.getIdentifier() + ".xml");
@@ -109,7 +109,7 @@ public class FileSystemTaskRepository  extends AbstractFileSystemRepository impl
     }
 
     @Override
-    public void update(Task task) {
+    public synchronized void update(Task task) {
         if (byId.containsKey(task.getIdentifier())) {
 
             Task old = byId.get(task.getIdentifier());
@@ -139,7 +139,7 @@ public class FileSystemTaskRepository  extends AbstractFileSystemRepository impl
     ////--------------------------------------------------------------------///
 
     @Override
-    public List<Task> findRunningTasks(Integer tpid, Integer offset, Integer limit) {
+    public synchronized List<Task> findRunningTasks(Integer tpid, Integer offset, Integer limit) {
         List<Task> results = new ArrayList<>();
         if (byTaskParameter.containsKey(tpid)) {
             List<Task> tasks = new ArrayList<>();
@@ -158,7 +158,7 @@ public class FileSystemTaskRepository  extends AbstractFileSystemRepository impl
     }
 
     @Override
-    public List<Task> taskHistory(Integer tpid, Integer offset, Integer limit) {
+    public synchronized List<Task> taskHistory(Integer tpid, Integer offset, Integer limit) {
         List<Task> results = new ArrayList<>();
         if (byTaskParameter.containsKey(tpid)) {
             List<Task> tasks = byTaskParameter.get(tpid);
@@ -172,7 +172,7 @@ public class FileSystemTaskRepository  extends AbstractFileSystemRepository impl
     }
 
     @Override
-    public void delete(String uuid) {
+    public synchronized void delete(String uuid) {
         if (byId.containsKey(uuid)) {
 
             Task t = byId.get(uuid);
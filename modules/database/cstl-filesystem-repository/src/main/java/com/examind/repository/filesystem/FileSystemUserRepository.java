@@ -86,42 +86,42 @@ public class FileSystemUserRepository extends AbstractFileSystemRepository imple
 
 
     @Override
-    public Optional<CstlUser> findOne(String login) {
+    public synchronized Optional<CstlUser> findOne(String login) {
         return Optional.ofNullable(bylogin.get(login));
     }
 
     @Override
-    public Optional<CstlUser> findById(Integer id) {
+    public synchronized Optional<CstlUser> findById(Integer id) {
         return Optional.ofNullable(byId.get(id));
     }
 
     @Override
-    public Optional<CstlUser> findByEmail(String email) {
+    public synchronized Optional<CstlUser> findByEmail(String email) {
         return Optional.ofNullable(byEmail.get(email));
     }
 
     @Override
-    public Optional<CstlUser> findByForgotPasswordUuid(String uuid) {
+    public synchronized Optional<CstlUser> findByForgotPasswordUuid(String uuid) {
         return Optional.ofNullable(byForgotPwd.get(uuid));
     }
 
     @Override
-    public List<CstlUser> findAll() {
+    public synchronized List<CstlUser> findAll() {
         return new ArrayList<>(byId.values());
     }
 
     @Override
-    public Optional<UserWithRole> findOneWithRole(Integer id) {
+    public synchronized Optional<UserWithRole> findOneWithRole(Integer id) {
         return Optional.ofNullable(byId.get(id));
     }
 
     @Override
-    public Optional<UserWithRole> findOneWithRole(String login) {
+    public synchronized Optional<UserWithRole> findOneWithRole(String login) {
         return Optional.ofNullable(bylogin.get(login));
     }
 
     @Override
-    public List<String> getRoles(int userId) {
+    public synchronized List<String> getRoles(int userId) {
         UserWithRole u = byId.get(userId);
         if (u != null) {
             return u.getRoles();
@@ -130,22 +130,22 @@ public class FileSystemUserRepository extends AbstractFileSystemRepository imple
     }
 
     @Override
-    public int countUser() {
+    public synchronized int countUser() {
         return byId.size();
     }
 
     @Override
-    public boolean loginAvailable(String login) {
+    public synchronized boolean loginAvailable(String login) {
         return !bylogin.containsKey(login);
     }
 
     @Override
-    public List<UserWithRole> findActivesWithRole() {
+    public synchronized List<UserWithRole> findActivesWithRole() {
         return new ArrayList<>(activeById.values());
     }
 
     @Override
-    public boolean isLastAdmin(int userId) {
+    public synchronized boolean isLastAdmin(int userId) {
         for (UserWithRole u : byId.values()) {
             if (!u.getId().equals(userId) &&
                  u.getRoles().contains("cstl-admin")) {
@@ -161,7 +161,7 @@ public class FileSystemUserRepository extends AbstractFileSystemRepository imple
     ////--------------------------------------------------------------------///
 
     @Override
-    public CstlUser create(CstlUser user) {
+    public synchronized CstlUser create(CstlUser user) {
         UserWithRole userR = new UserWithRole(user, new ArrayList<>());
         userR.setId(currentId);
 
@@ -182,7 +182,7 @@ public class FileSystemUserRepository extends AbstractFileSystemRepository imple
     }
 
     @Override
-    public CstlUser update(CstlUser user) {
+    public synchronized CstlUser update(CstlUser user) {
         if (byId.containsKey(user.getId())) {
 
             UserWithRole userR = new UserWithRole(user, byId.get(user.getId()).getRoles());
@@ -203,7 +203,7 @@ public class FileSystemUserRepository extends AbstractFileSystemRepository imple
     }
 
     @Override
-    public void addUserToRole(Integer userId, String roleName) {
+    public synchronized void addUserToRole(Integer userId, String roleName) {
         if (byId.containsKey(userId)) {
             UserWithRole userR = byId.get(userId);
             if (!userR.getRoles().contains(roleName)) {
@@ -214,7 +214,7 @@ public class FileSystemUserRepository extends AbstractFileSystemRepository imple
     }
 
     @Override
-    public int delete(int userId) {
+    public synchronized int delete(int userId) {
         if (byId.containsKey(userId)) {
 
             UserWithRole userR = byId.get(userId);
@@ -240,7 +240,7 @@ public class FileSystemUserRepository extends AbstractFileSystemRepository imple
     }
 
     @Override
-    public int desactivate(int userId) {
+    public synchronized int desactivate(int userId) {
         if (byId.containsKey(userId)) {
             UserWithRole userR = byId.get(userId);
             if (userR.getActive()) {
@@ -253,7 +253,7 @@ public class FileSystemUserRepository extends AbstractFileSystemRepository imple
     }
 
     @Override
-    public int activate(int userId) {
+    public synchronized int activate(int userId) {
         if (byId.containsKey(userId)) {
             UserWithRole userR = byId.get(userId);
             if (!userR.getActive()) {
@@ -271,12 +271,12 @@ public class FileSystemUserRepository extends AbstractFileSystemRepository imple
     ////--------------------------------------------------------------------///
 
     @Override
-    public List<UserWithRole> search(String search, int size, int page, String sortFieldName, String order) {
+    public synchronized List<UserWithRole> search(String search, int size, int page, String sortFieldName, String order) {
         throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
     }
 
     @Override
-    public long searchCount(String search) {
+    public synchronized long searchCount(String search) {
         throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
     }
 }
@@ -39,6 +39,7 @@ public class FileSystemUtilities {
 
     public static final String ATTACHMENT_DIR = "attachments";
     public static final String DATA_DIR = "datas";
+    public static final String DATA_JOURNAL_DIR = "datas_journal";
     public static final String DATASET_DIR = "datasets";
     public static final String DATASOURCE_DIR = "datasources";
     public static final String DATASOURCE_SELECTED_PATH_DIR = "datasources_selected_paths";
@@ -73,22 +73,22 @@ public class FilesystemThesaurusRepository extends AbstractFileSystemRepository
 
 
     @Override
-    public List<Thesaurus> getAll() {
+    public synchronized List<Thesaurus> getAll() {
         return new ArrayList<>(byId.values());
     }
 
     @Override
-    public Thesaurus getByUri(String uri) {
+    public synchronized Thesaurus getByUri(String uri) {
         return byUri.get(uri);
     }
 
     @Override
-    public Thesaurus getByName(String name) {
+    public synchronized Thesaurus getByName(String name) {
         return byName.get(name);
     }
 
     @Override
-    public Thesaurus get(int id) {
+    public synchronized Thesaurus get(int id) {
         return byId.get(id);
     }
 
@@ -97,7 +97,7 @@ public class FilesystemThesaurusRepository extends AbstractFileSystemRepository
     ////--------------------------------------------------------------------///
 
     @Override
-    public Integer create(Thesaurus thesaurus) {
+    public synchronized Integer create(Thesaurus thesaurus) {
         if (thesaurus != null) {
             thesaurus.setId(currentId);
 
@@ -116,7 +116,7 @@ public class FilesystemThesaurusRepository extends AbstractFileSystemRepository
     }
 
     @Override
-    public void update(Thesaurus thesaurus) {
+    public synchronized void update(Thesaurus thesaurus) {
         if (byId.containsKey(thesaurus.getId())) {
 
             Path thesaurusDir = getDirectory(THESAURUS_DIR);
@@ -130,7 +130,7 @@ public class FilesystemThesaurusRepository extends AbstractFileSystemRepository
     }
 
     @Override
-    public int delete(int id) {
+    public synchronized int delete(int id) {
         if (byId.containsKey(id)) {
 
             Thesaurus thesaurus = byId.get(id);
@@ -157,12 +157,12 @@ public class FilesystemThesaurusRepository extends AbstractFileSystemRepository
     ////--------------------------------------------------------------------///
 
     @Override
-    public List<Thesaurus> getLinkedThesaurus(int serviceId) {
+    public synchronized List<Thesaurus> getLinkedThesaurus(int serviceId) {
         throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
     }
 
     @Override
-    public List<String> getLinkedThesaurusUri(int serviceId) {
+    public synchronized List<String> getLinkedThesaurusUri(int serviceId) {
         throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
     }
 
@@ -0,0 +1,49 @@
+/*
+ *    Constellation - An open source and standard compliant SDI
+ *    http://www.constellation-sdi.org
+ *
+ * Copyright 2019 Geomatys.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.examind.repository.filesystem;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Binary encoding of the entities stored in a {@link FileSystemJournal}.
+ *
+ * The format version is written in the header of each journal and snapshot file. When the encoding of an entity
+ * changes, the version must be incremented and {@link #read(DataInput, int)} must still decode the previous versions.
+ *
+ * @param <T> The journaled entity type.
+ */
+public interface JournalCodec<T> {
+
+    /**
+     * @return The format version written by {@link #write(Object, DataOutput)}.
+     */
+    int getFormatVersion();
+
+    /**
+     * Write the fields of the entity.
+     */
+    void write(T entity, DataOutput out) throws IOException;
+
+    /**
+     * Read an entity written in the specified format version.
+     */
+    T read(DataInput in, int formatVersion) throws IOException;
+}
@@ -0,0 +1,303 @@
+/*
+ *    Constellation - An open source and standard compliant SDI
+ *    http://www.constellation-sdi.org
+ *
+ * Copyright 2019 Geomatys.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.examind.respository.filesystem;
+
+import com.examind.repository.filesystem.DataJournalCodec;
+import com.examind.repository.filesystem.FileSystemJournal;
+import com.examind.repository.filesystem.JournalCodec;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.constellation.dto.Data;
+import org.constellation.exception.ConstellationPersistenceException;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class FileSystemJournalTest {
+
+    private static final JournalCodec<String> STRING_CODEC = new JournalCodec<String>() {
+        @Override
+        public int getFormatVersion() {
+            return 1;
+        }
+
+        @Override
+        public void write(final String entity, final DataOutput out) throws IOException {
+            out.writeUTF(entity);
+        }
+
+        @Override
+        public String read(final DataInput in, final int formatVersion) throws IOException {
+            return in.readUTF();
+        }
+    };
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static List<String> listFiles(final Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.map(p -> p.getFileName().toString()).sorted().collect(Collectors.toList());
+        }
+    }
+
+    @Test
+    public void replayTest() throws Exception {
+        final Path dir = folder.getRoot().toPath().resolve("journal");
+        try (FileSystemJournal<String> journal = new FileSystemJournal<>(dir, STRING_CODEC)) {
+            Assert.assertFalse(journal.exists());
+            Assert.assertTrue(journal.load().isEmpty());
+            journal.put(1, "one");
+            journal.put(2, "two");
+            journal.put(1, "one bis");
+            journal.delete(2);
+            journal.put(3, "three");
+        }
+
+        try (FileSystemJournal<String> journal = new FileSystemJournal<>(dir, STRING_CODEC)) {
+            Assert.assertTrue(journal.exists());
+            final Map<Integer, String> result = journal.load();
+            Assert.assertEquals(2, result.size());
+            Assert.assertEquals("one bis", result.get(1));
+            Assert.assertEquals("three", result.get(3));
+        }
+    }
+
+    @Test
+    public void compactionTest() throws Exception {
+        final Path dir = folder.getRoot().toPath().resolve("journal");
+        try (FileSystemJournal<String> journal = new FileSystemJournal<>(dir, STRING_CODEC, 10)) {
+            Map<Integer, String> state = journal.load();
+            for (int i = 0; i < 100; i++) {
+                journal.put(i, "value " + i);
+                state.put(i, "value " + i);
+                if (journal.needCompaction()) {
+                    journal.compact(state);
+                }
+            }
+            journal.delete(5);
+            Assert.assertFalse(journal.needCompaction());
+        }
+
+        try (FileSystemJournal<String> journal = new FileSystemJournal<>(dir, STRING_CODEC, 10)) {
+            final Map<Integer, String> result = journal.load();
+            Assert.assertEquals(99, result.size());
+            Assert.assertNull(result.get(5));
+            Assert.assertEquals("value 99", result.get(99));
+        }
+    }
+
+    @Test
+    public void compactionSwitchTest() throws Exception {
+        final Path dir = folder.getRoot().toPath().resolve("journal");
+        try (FileSystemJournal<String> journal = new FileSystemJournal<>(dir, STRING_CODEC, 10)) {
+            Map<Integer, String> state = journal.load();
+            Assert.assertEquals("0", new String(Files.readAllBytes(dir.resolve("CURRENT")), StandardCharsets.US_ASCII));
+            journal.put(1, "one");
+            state.put(1, "one");
+            journal.compact(state);
+        }
+        // only the new generation is kept
+        Assert.assertEquals("1", new String(Files.readAllBytes(dir.resolve("CURRENT")), StandardCharsets.US_ASCII));
+        Assert.assertEquals(Arrays.asList("CURRENT", "journal-1.log", "snapshot-1"), listFiles(dir));
+
+        // simulate a crash during the writing of the generation 2, after the rotation and before the switch
+        try (FileSystemJournal<String> journal = new FileSystemJournal<>(dir, STRING_CODEC, 10)) {
+            journal.load();
+            Assert.assertEquals(2, journal.rotate());
+            journal.put(2, "two");
+        }
+        Files.createDirectories(dir.resolve("snapshot-2"));
+        Files.write(dir.resolve("snapshot-2").resolve("segment-0.bin"), new byte[3]);
+        Assert.assertEquals("1", new String(Files.readAllBytes(dir.resolve("CURRENT")), StandardCharsets.US_ASCII));
+
+        try (FileSystemJournal<String> journal = new FileSystemJournal<>(dir, STRING_CODEC, 10)) {
+            // the records appended after the rotation are replayed, then compacted in a new generation
+            final Map<Integer, String> result = journal.load();
+            Assert.assertEquals(2, result.size());
+            Assert.assertEquals("one", result.get(1));
+            Assert.assertEquals("two", result.get(2));
+            Assert.assertEquals(Arrays.asList("CURRENT", "journal-3.log", "snapshot-3"), listFiles(dir));
+        }
+    }
+
+    @Test
+    public void backgroundCompactionTest() throws Exception {
+        final Path dir = folder.getRoot().toPath().resolve("journal");
+        try (FileSystemJournal<String> journal = new FileSystemJournal<>(dir, STRING_CODEC, 2)) {
+            final Map<Integer, String> state = journal.load();
+            journal.put(1, "one");
+            journal.put(2, "two");
+            state.put(1, "one");
+            state.put(2, "two");
+            Assert.assertTrue(journal.needCompaction());
+
+            final long next = journal.rotate();
+            Assert.assertFalse(journal.needCompaction());
+            final Map<Integer, String> snapshot = new HashMap<>(state);
+
+            // records appended while the snapshot is written
+            journal.put(3, "three");
+            journal.delete(1);
+            journal.writeSnapshot(next, snapshot);
+            Assert.assertEquals(Arrays.asList("CURRENT", "journal-" + next + ".log", "snapshot-" + next), listFiles(dir));
+        }
+        try (FileSystemJournal<String> journal = new FileSystemJournal<>(dir, STRING_CODEC, 2)) {
+            final Map<Integer, String> result = journal.load();
+            Assert.assertEquals(2, result.size());
+            Assert.assertEquals("two", result.get(2));
+            Assert.assertEquals("three", result.get(3));
+        }
+    }
+
+    @Test
+    public void invalidFormatTest() throws Exception {
+        final Path dir = folder.getRoot().toPath().resolve("journal");
+        try (FileSystemJournal<String> journal = new FileSystemJournal<>(dir, STRING_CODEC)) {
+            journal.load();
+            journal.put(1, "one");
+        }
+        // a file not written by the journal (for example the former java serialization output)
+        Files.write(dir.resolve("journal-0.log"), new byte[]{(byte) 0xAC, (byte) 0xED, 0, 5, 0, 0, 0, 0});
+        try (FileSystemJournal<String> journal = new FileSystemJournal<>(dir, STRING_CODEC)) {
+            journal.load();
+            Assert.fail("an invalid header must be rejected");
+        } catch (ConstellationPersistenceException ex) {
+            // expected
+        }
+    }
+
+    @Test
+    public void dataCodecTest() throws Exception {
+        final DataJournalCodec codec = new DataJournalCodec();
+        final Data data = new Data();
+        data.setId(12);
+        data.setName("data");
+        data.setNamespace(null);
+        data.setProviderId(3);
+        data.setType("VECTOR");
+        data.setIncluded(true);
+        data.setSensorable(false);
+        data.setDate(new Date(1546300800000L));
+        data.setOwnerId(null);
+        final StringBuilder metadata = new StringBuilder();
+        for (int i = 0; i < 20_000; i++) {
+            metadata.append("métadonnée");
+        }
+        data.setMetadata(metadata.toString());
+        data.setHidden(false);
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            codec.write(data, out);
+        }
+        final Data result = codec.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())), codec.getFormatVersion());
+        Assert.assertEquals(data.getId(), result.getId());
+        Assert.assertEquals(data.getName(), result.getName());
+        Assert.assertNull(result.getNamespace());
+        Assert.assertEquals(data.getProviderId(), result.getProviderId());
+        Assert.assertEquals(data.getType(), result.getType());
+        Assert.assertNull(result.getSubtype());
+        Assert.assertEquals(Boolean.TRUE, result.getIncluded());
+        Assert.assertEquals(Boolean.FALSE, result.getSensorable());
+        Assert.assertEquals(data.getDate(), result.getDate());
+        Assert.assertNull(result.getOwnerId());
+        Assert.assertEquals(data.getMetadata(), result.getMetadata());
+        Assert.assertNull(result.getDatasetId());
+        Assert.assertNull(result.getRendered());
+        Assert.assertEquals(Boolean.FALSE, result.getHidden());
+    }
+
+    @Test
+    public void truncatedJournalTest() throws Exception {
+        final Path dir = folder.getRoot().toPath().resolve("journal");
+        try (FileSystemJournal<String> journal = new FileSystemJournal<>(dir, STRING_CODEC)) {
+            journal.load();
+            journal.put(1, "one");
+            journal.put(2, "two");
+        }
+
+        // simulate a crash in the middle of the last record
+        final Path journalFile = dir.resolve("journal-0.log");
+        try (FileChannel channel = FileChannel.open(journalFile, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+
+        try (FileSystemJournal<String> journal = new FileSystemJournal<>(dir, STRING_CODEC)) {
+            Map<Integer, String> result = journal.load();
+            Assert.assertEquals(1, result.size());
+            Assert.assertEquals("one", result.get(1));
+
+            // the next records must still be readable
+            journal.put(3, "three");
+        }
+
+        try (FileSystemJournal<String> journal = new FileSystemJournal<>(dir, STRING_CODEC)) {
+            Map<Integer, String> result = journal.load();
+            Assert.assertEquals(2, result.size());
+            Assert.assertEquals("three", result.get(3));
+        }
+    }
+
+    @Test
+    public void importLegacyTest() throws Exception {
+        final Path legacy = folder.newFolder("legacy").toPath();
+        for (int i = 0; i < 20; i++) {
+            Files.write(legacy.resolve(i + ".txt"), ("value " + i).getBytes(StandardCharsets.UTF_8));
+        }
+        final Path dir = folder.getRoot().toPath().resolve("journal");
+        try (FileSystemJournal<String> journal = new FileSystemJournal<>(dir, STRING_CODEC)) {
+            Map<Integer, String> result = journal.importLegacy(legacy,
+                    p -> {
+                        try {
+                            return new String(Files.readAllBytes(p), StandardCharsets.UTF_8);
+                        } catch (java.io.IOException ex) {
+                            return null;
+                        }
+                    },
+                    s -> Integer.parseInt(s.substring(6)));
+            Assert.assertEquals(20, result.size());
+            Assert.assertTrue(journal.exists());
+        }
+
+        try (FileSystemJournal<String> journal = new FileSystemJournal<>(dir, STRING_CODEC)) {
+            Map<Integer, String> result = journal.load();
+            Assert.assertEquals(20, result.size());
+            Assert.assertEquals("value 12", result.get(12));
+        }
+    }
+}
@@ -37,6 +37,7 @@ public class DataSource implements Serializable {
     private Boolean readFromRemote;
     private Long    dateCreation;
     private String  analysisState;
+    private Integer analysisProgress;
     private String  format;
     private Boolean permanent;
 
@@ -185,6 +186,20 @@ public class DataSource implements Serializable {
         this.analysisState = analysisState;
     }
 
+    /**
+     * @return the number of paths already analyzed by the running analysis.
+     */
+    public Integer getAnalysisProgress() {
+        return analysisProgress;
+    }
+
+    /**
+     * @param analysisProgress the number of paths already analyzed by the running analysis.
+     */
+    public void setAnalysisProgress(Integer analysisProgress) {
+        this.analysisProgress = analysisProgress;
+    }
+
     /**
      * @return the format
      */
@@ -30,6 +30,7 @@ public class DataSourcePath {
     private Boolean folder;
     private String parentPath;
     private Integer size;
+    private Long lastModified;
 
     public DataSourcePath() {
     }
@@ -44,6 +45,12 @@ public class DataSourcePath {
         this.size = size;
     }
 
+    public DataSourcePath(Integer datasourceId, String path, String name,
+            Boolean folder, String parentPath, Integer size, Long lastModified) {
+        this(datasourceId, path, name, folder, parentPath, size);
+        this.lastModified = lastModified;
+    }
+
     /**
      * @return the datasourceId
      */
@@ -127,4 +134,18 @@ public class DataSourcePath {
     public void setSize(Integer size) {
         this.size = size;
     }
+
+    /**
+     * @return the last modification time of the file in milliseconds.
+     */
+    public Long getLastModified() {
+        return lastModified;
+    }
+
+    /**
+     * @param lastModified the last modification time of the file in milliseconds.
+     */
+    public void setLastModified(Long lastModified) {
+        this.lastModified = lastModified;
+    }
 }
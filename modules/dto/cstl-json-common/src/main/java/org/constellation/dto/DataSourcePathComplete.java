@@ -33,7 +33,7 @@ public class DataSourcePathComplete extends DataSourcePath {
     }
 
     public DataSourcePathComplete(DataSourcePath dsPath, Map<String, String> types) {
-        super(dsPath.getDatasourceId(), dsPath.getPath(), dsPath.getName(), dsPath.getFolder(), dsPath.getParentPath(), dsPath.getSize());
+        super(dsPath.getDatasourceId(), dsPath.getPath(), dsPath.getName(), dsPath.getFolder(), dsPath.getParentPath(), dsPath.getSize(), dsPath.getLastModified());
         this.types = types;
     }
 
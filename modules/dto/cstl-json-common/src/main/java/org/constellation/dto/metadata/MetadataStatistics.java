@@ -0,0 +1,65 @@
+package org.constellation.dto.metadata;
+
+import java.io.Serializable;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Statistics of the metadata dashboard page, for a set of filters.
+ */
+public class MetadataStatistics implements Serializable {
+
+    /**
+     * Counts by state: total, validated, notValid, waitingToValidate, notPublish, published, waitingToPublish.
+     */
+    private Map<String, Integer> general = new LinkedHashMap<>();
+
+    /**
+     * Counts of metadata in 10 completion categories (10%, 20%, ... 100%).
+     */
+    private int[] completion = new int[10];
+
+    /**
+     * Counts by profile, in decreasing order.
+     */
+    private Map<String, Integer> profiles = new LinkedHashMap<>();
+
+    /**
+     * Counts by owner identifier.
+     */
+    private Map<Integer, OwnerStatBrief> owners = new LinkedHashMap<>();
+
+    public MetadataStatistics() {}
+
+    public Map<String, Integer> getGeneral() {
+        return general;
+    }
+
+    public void setGeneral(Map<String, Integer> general) {
+        this.general = general;
+    }
+
+    public int[] getCompletion() {
+        return completion;
+    }
+
+    public void setCompletion(int[] completion) {
+        this.completion = completion;
+    }
+
+    public Map<String, Integer> getProfiles() {
+        return profiles;
+    }
+
+    public void setProfiles(Map<String, Integer> profiles) {
+        this.profiles = profiles;
+    }
+
+    public Map<Integer, OwnerStatBrief> getOwners() {
+        return owners;
+    }
+
+    public void setOwners(Map<Integer, OwnerStatBrief> owners) {
+        this.owners = owners;
+    }
+}
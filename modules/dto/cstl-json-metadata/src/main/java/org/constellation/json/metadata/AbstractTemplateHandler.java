@@ -18,13 +18,17 @@
  */
 package org.constellation.json.metadata;
 
+import java.lang.reflect.Method;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Logger;
 import org.apache.sis.metadata.KeyNamePolicy;
 import org.apache.sis.metadata.MetadataStandard;
 import org.apache.sis.metadata.ValueExistencePolicy;
 import org.apache.sis.util.logging.Logging;
+import org.constellation.util.ReflectionUtilities;
 import org.opengis.metadata.citation.Responsibility;
 import org.opengis.metadata.citation.ResponsibleParty;
 import org.opengis.metadata.constraint.Constraints;
@@ -68,6 +72,24 @@ public class AbstractTemplateHandler {
         DEFAULT_SPECIALIZED = specialized;
     }
 
+    /**
+     * Getters and setters found by name, by metadata implementation class.
+     * The lookups are shared by all the readers and writers, a missing accessor is cached as an empty value.
+     * The methods reference their class, so only the classes which can not be unloaded before this class are cached.
+     */
+    private static final ClassValue<Map<String, Optional<Method>>> ACCESSORS = new ClassValue<Map<String, Optional<Method>>>() {
+        @Override
+        protected Map<String, Optional<Method>> computeValue(final Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    /**
+     * Classes of the template node types, by name. Only the classes visible from the class loader
+     * of this class are cached, the others are resolved at each call.
+     */
+    private static final Map<String, Class> TYPES = new ConcurrentHashMap<>();
+
     protected Map<Class<?>, Class<?>> specialized;
 
     public AbstractTemplateHandler(final MetadataStandard standard) {
@@ -89,12 +111,56 @@ public class AbstractTemplateHandler {
     }
 
     protected Class readType(ValueNode node) throws ParseException {
-        Class type;
-        try {
-            type = Class.forName(node.type);
-        } catch (ClassNotFoundException ex) {
-            throw new ParseException("Unable to find a class for type : " + node.type);
+        Class type = TYPES.get(node.type);
+        if (type == null) {
+            try {
+                type = Class.forName(node.type);
+            } catch (ClassNotFoundException ex) {
+                throw new ParseException("Unable to find a class for type : " + node.type);
+            }
+            if (isCacheable(type)) {
+                TYPES.put(node.type, type);
+            }
         }
         return type;
     }
+
+    /**
+     * Cached {@link ReflectionUtilities#getGetterFromName(String, Class)}, for the classes visible from this class.
+     */
+    protected static Method getGetter(final String propertyName, final Class<?> rootClass) {
+        if (!isCacheable(rootClass)) {
+            return ReflectionUtilities.getGetterFromName(propertyName, rootClass);
+        }
+        return ACCESSORS.get(rootClass).computeIfAbsent(propertyName,
+                k -> Optional.ofNullable(ReflectionUtilities.getGetterFromName(propertyName, rootClass))).orElse(null);
+    }
+
+    /**
+     * Cached {@link ReflectionUtilities#getSetterFromName(String, Class, Class)}, for the classes visible from this class.
+     */
+    protected static Method getSetter(final String propertyName, final Class<?> paramClass, final Class<?> rootClass) {
+        if (!isCacheable(rootClass) || !isCacheable(paramClass)) {
+            return ReflectionUtilities.getSetterFromName(propertyName, paramClass, rootClass);
+        }
+        return ACCESSORS.get(rootClass).computeIfAbsent("set:" + propertyName + ':' + paramClass.getName(),
+                k -> Optional.ofNullable(ReflectionUtilities.getSetterFromName(propertyName, paramClass, rootClass))).orElse(null);
+    }
+
+    /**
+     * Return {@code true} if the class is loaded by the class loader of this class or by one of its parents.
+     * Such a class can not be unloaded before this class, so caching it does not retain its class loader.
+     */
+    private static boolean isCacheable(final Class<?> type) {
+        final ClassLoader loader = type.getClassLoader();
+        if (loader == null) {
+            return true;
+        }
+        for (ClassLoader l = AbstractTemplateHandler.class.getClassLoader(); l != null; l = l.getParent()) {
+            if (l == loader) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
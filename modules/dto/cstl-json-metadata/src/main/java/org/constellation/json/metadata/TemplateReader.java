@@ -180,7 +180,7 @@ public class TemplateReader extends AbstractTemplateHandler {
         }
         // special types
         if (metadata instanceof ReferenceSystemMetadata || metadata instanceof Period || metadata instanceof AbstractTimePosition || metadata instanceof Instant || !(metadata instanceof AbstractMetadata)) {
-            final Method getter = ReflectionUtilities.getGetterFromName(node.name, metadata.getClass());
+            final Method getter = getGetter(node.name, metadata.getClass());
             return ReflectionUtilities.invokeMethod(metadata, getter);
 
         } else {
@@ -338,7 +338,7 @@ public class TemplateReader extends AbstractTemplateHandler {
                     } else {
                         attributeName = node.name;
                     }
-                    final Method setter = ReflectionUtilities.getSetterFromName(attributeName, value.getClass(), metadata.getClass());
+                    final Method setter = getSetter(attributeName, value.getClass(), metadata.getClass());
                     if (setter != null) {
                         if (setter.getParameterTypes()[0] == Collection.class) {
                             value = Arrays.asList(value);
@@ -384,7 +384,7 @@ public class TemplateReader extends AbstractTemplateHandler {
         }
         Class type;
         if (metadata instanceof ReferenceSystemMetadata || metadata instanceof Period || metadata instanceof AbstractTimePosition || metadata instanceof Instant || !(metadata instanceof AbstractMetadata)) {
-            final Method getter = ReflectionUtilities.getGetterFromName(node.name, metadata.getClass());
+            final Method getter = getGetter(node.name, metadata.getClass());
             if (getter != null) {
                 type = getter.getReturnType();
 
@@ -19,6 +19,7 @@
 package org.constellation.json.metadata;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -49,19 +50,61 @@ public class TemplateTree {
 
     private final List<ValueNode> nodes = new ArrayList<>();
 
-    public ValueNode getNodeByPath(String path) {
-        for (ValueNode node : nodes) {
-            if (node.path.equals(path)) {
-                return node;
+    /**
+     * Nodes by path and by block name, in the order of {@link #nodes}.
+     * The path and the block name of a node never change, unlike its numerated path,
+     * so a numerated path is looked up among the nodes sharing its path.
+     */
+    private final Map<String, List<ValueNode>> nodesByPath = new HashMap<>();
+    private final Map<String, List<ValueNode>> nodesByBlockName = new HashMap<>();
+
+    /**
+     * The first node without parent, returned by {@link #getRoot()}. A node never loses its parent, so the nodes
+     * before the root keep their parent and this node stays the root until it gets a parent or is removed.
+     */
+    private ValueNode root;
+
+    private void add(final ValueNode node) {
+        nodes.add(node);
+        nodesByPath.computeIfAbsent(node.path, k -> new ArrayList<>()).add(node);
+        if (node.blockName != null) {
+            nodesByBlockName.computeIfAbsent(node.blockName, k -> new ArrayList<>()).add(node);
+        }
+    }
+
+    private void remove(final List<ValueNode> toRemove) {
+        nodes.removeAll(toRemove);
+        if (root != null && toRemove.contains(root)) {
+            root = null;
+        }
+        for (ValueNode node : toRemove) {
+            final List<ValueNode> samePath = nodesByPath.get(node.path);
+            if (samePath != null) {
+                samePath.removeAll(toRemove);
+            }
+            if (node.blockName != null) {
+                final List<ValueNode> sameBlock = nodesByBlockName.get(node.blockName);
+                if (sameBlock != null) {
+                    sameBlock.removeAll(toRemove);
+                }
             }
         }
-        return null;
+    }
+
+    private static List<ValueNode> indexed(final Map<String, List<ValueNode>> index, final String key) {
+        final List<ValueNode> results = index.get(key);
+        return results != null ? results : Collections.emptyList();
+    }
+
+    public ValueNode getNodeByPath(String path) {
+        final List<ValueNode> candidates = indexed(nodesByPath, path);
+        return candidates.isEmpty() ? null : candidates.get(0);
     }
 
     public ValueNode getNodeByNumeratedPath(String numeratedPath, String blockName) {
-        for (ValueNode node : nodes) {
-            if (node.getNumeratedPath().equals(numeratedPath)
-             && Objects.equals(node.blockName, blockName)) {
+        for (ValueNode node : indexed(nodesByPath, JsonMetadataConstants.cleanNumeratedPath(numeratedPath))) {
+            if (Objects.equals(node.blockName, blockName)
+             && node.getNumeratedPath().equals(numeratedPath)) {
                 return node;
             }
         }
@@ -69,7 +112,7 @@ public class TemplateTree {
     }
 
     public ValueNode getNodeByNumeratedPath(String numeratedPath) {
-        for (ValueNode node : nodes) {
+        for (ValueNode node : indexed(nodesByPath, JsonMetadataConstants.cleanNumeratedPath(numeratedPath))) {
             if (node.getNumeratedPath().equals(numeratedPath)) {
                 return node;
             }
@@ -78,19 +121,13 @@ public class TemplateTree {
     }
 
     public List<ValueNode> getNodesByPath(String path) {
-        final List<ValueNode> results = new ArrayList<>();
-        for (ValueNode node : nodes) {
-            if (node.path.equals(path)) {
-                results.add(node);
-            }
-        }
-        return results;
+        return new ArrayList<>(indexed(nodesByPath, path));
     }
 
     public List<ValueNode> getNodesByPathAndType(String path, String type) {
         final List<ValueNode> results = new ArrayList<>();
-        for (ValueNode node : nodes) {
-            if (node.path.equals(path) && Objects.equals(node.type, type)) {
+        for (ValueNode node : indexed(nodesByPath, path)) {
+            if (Objects.equals(node.type, type)) {
                 results.add(node);
             }
         }
@@ -98,23 +135,13 @@ public class TemplateTree {
     }
 
     public List<ValueNode> getNodesByBlockName(String blockName) {
-        final List<ValueNode> results = new ArrayList<>();
-        for (ValueNode node : nodes) {
-            if (blockName.equals(node.blockName)) {
-                results.add(node);
-            }
-        }
-        return results;
+        return new ArrayList<>(indexed(nodesByBlockName, blockName));
     }
 
     public List<ValueNode> getNodesForBlock(Block block) {
         final List<ValueNode> results = new ArrayList<>();
         if (block.getPath() != null) {
-            for (ValueNode node : nodes) {
-                if (block.getName().equals(node.blockName)) {
-                    results.add(node);
-                }
-            }
+            results.addAll(indexed(nodesByBlockName, block.getName()));
             return results;
         } else {
             results.add(null);
@@ -124,12 +151,16 @@ public class TemplateTree {
 
 
     public ValueNode getRoot() {
-        for (ValueNode node : nodes) {
-            if (node.parent == null) {
-                return node;
+        if (root == null || root.parent != null) {
+            root = null;
+            for (ValueNode node : nodes) {
+                if (node.parent == null) {
+                    root = node;
+                    break;
+                }
             }
         }
-        return null;
+        return root;
     }
 
 
@@ -152,7 +183,7 @@ public class TemplateTree {
                 n = tmp;
             }
             exist = new ValueNode(node, node.parent, i);
-            nodes.add(exist);
+            add(exist);
             for (ValueNode child : node.children) {
                 duplicateNode(child, exist);
 
@@ -163,7 +194,7 @@ public class TemplateTree {
 
     private void duplicateNode(ValueNode node, ValueNode parent) {
         ValueNode newNode = new ValueNode(node, parent, node.ordinal);
-        nodes.add(newNode);
+        add(newNode);
         for (ValueNode child : node.children) {
             duplicateNode(child, newNode);
         }
@@ -171,14 +202,28 @@ public class TemplateTree {
 
     public List<ValueNode> getNodesByFieldAndParent(String fieldName, ValueNode parent) {
         final List<ValueNode> results = new ArrayList<>();
-        for (ValueNode node : nodes) {
-            if (node.blockName != null && node.blockName.equals(fieldName) && (parent == null || node.hashParent(parent))) {
+        final String parentPath = parent != null ? parent.getNumeratedPath() : null;
+        for (ValueNode node : indexed(nodesByBlockName, fieldName)) {
+            if (parent == null || hasAncestor(node, parent.path, parentPath)) {
                 results.add(node);
             }
         }
         return results;
     }
 
+    /**
+     * Same test than {@link ValueNode#hashParent(ValueNode)}, but the numerated path
+     * of an ancestor is only built when its path matches.
+     */
+    private static boolean hasAncestor(final ValueNode node, final String path, final String numeratedPath) {
+        for (ValueNode p = node.parent; p != null; p = p.parent) {
+            if (p.path.equals(path) && p.getNumeratedPath().equals(numeratedPath)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private String updateLastOrdinal(final String numeratedPath, int ordinal) {
         int i = numeratedPath.lastIndexOf('[');
         if (i != -1) {
@@ -188,7 +233,7 @@ public class TemplateTree {
     }
 
     private void addNode(ValueNode node, ValueNode ancestor, final RootObj template, String numPath) {
-        nodes.add(node);
+        add(node);
 
         // for a new Node to add, we create all the missing parent nodes
         ValueNode child = node;
@@ -210,7 +255,7 @@ public class TemplateTree {
             }
             if (parents.isEmpty()) {
                 ValueNode parent = new ValueNode(path, template.getTypeForPath(path), i, null, null, false);
-                nodes.add(parent);
+                add(parent);
                 parent.addChild(child);
                 child = parent;
             } else {
@@ -224,7 +269,7 @@ public class TemplateTree {
                 }
                 if (!found) {
                     ValueNode parent = new ValueNode(path, template.getTypeForPath(path), i, null, null,false);
-                    nodes.add(parent);
+                    add(parent);
                     parent.addChild(child);
                     child = parent;
                 } else {
@@ -415,7 +460,7 @@ public class TemplateTree {
         }
         if (!toRemove.isEmpty()) {
             node.children.removeAll(toRemove);
-            tree.nodes.removeAll(toRemove);
+            tree.remove(toRemove);
         }
     }
 }
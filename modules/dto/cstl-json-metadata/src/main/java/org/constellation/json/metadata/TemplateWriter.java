@@ -163,7 +163,7 @@ public class TemplateWriter extends AbstractTemplateHandler {
 
         } else if (metadata != null) {
             // TODO filter : type, default value, etc...
-            final Method getter = ReflectionUtilities.getGetterFromName(node.name, metadata.getClass());
+            final Method getter = getGetter(node.name, metadata.getClass());
             if (getter != null) {
                 return ReflectionUtilities.invokeMethod(metadata, getter);
             }
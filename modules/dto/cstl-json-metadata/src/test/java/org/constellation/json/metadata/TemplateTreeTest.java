@@ -603,4 +603,36 @@ public class TemplateTreeTest {
         System.out.println(result.treeRepresentation());
         // TODO
     }
+
+    @Test
+    public void testTreeLookups() throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper();
+        final InputStream stream = TemplateTreeTest.class.getResourceAsStream("result.json");
+        final RootObj root       =  objectMapper.readValue(stream, RootObj.class);
+        final TemplateTree tree  = TemplateTree.getTreeFromRootObj(root);
+
+        ValueNode keyword = tree.getNodeByNumeratedPath("metadata[0].identificationInfo[0].descriptiveKeywords[1].keyword[1]");
+        Assert.assertNotNull(keyword);
+        Assert.assertEquals("is", keyword.value);
+        Assert.assertEquals(4, tree.getNodesByBlockName("metadata.field.keyword").size());
+        Assert.assertEquals(2, tree.getNodesByFieldAndParent("metadata.field.keyword", keyword.parent).size());
+        Assert.assertEquals(2, tree.getNodesByPath("metadata.identificationInfo.descriptiveKeywords.thesaurusName.title").size());
+
+        // the numerated path follows the new ordinal of the node
+        keyword.updateOrdinal(2);
+        Assert.assertNull(tree.getNodeByNumeratedPath("metadata[0].identificationInfo[0].descriptiveKeywords[1].keyword[1]"));
+        Assert.assertSame(keyword, tree.getNodeByNumeratedPath("metadata[0].identificationInfo[0].descriptiveKeywords[1].keyword[2]"));
+
+        // the root is found once, and stays the same while nodes are removed
+        final ValueNode rootNode = tree.getRoot();
+        Assert.assertNull(rootNode.parent);
+        Assert.assertEquals("metadata", rootNode.path);
+        Assert.assertSame(rootNode, tree.getRoot());
+
+        // the empty fields are removed from the lookups
+        TemplateTree.pruneTree(tree, tree.getRoot());
+        Assert.assertTrue(tree.getNodesByPath("metadata.identificationInfo.descriptiveKeywords.thesaurusName.title").isEmpty());
+        Assert.assertEquals(4, tree.getNodesByBlockName("metadata.field.keyword").size());
+        Assert.assertSame(rootNode, tree.getRoot());
+    }
 }
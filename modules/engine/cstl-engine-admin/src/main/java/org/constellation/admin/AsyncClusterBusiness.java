@@ -0,0 +1,311 @@
+/*
+ *    Constellation - An open source and standard compliant SDI
+ *    http://www.constellation-sdi.org
+ *
+ * Copyright 2019 Geomatys.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.constellation.admin;
+
+import java.security.SecureRandom;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.annotation.PreDestroy;
+import org.apache.sis.util.ArgumentChecks;
+import org.apache.sis.util.logging.Logging;
+import org.constellation.business.ClusterMessage;
+import org.constellation.business.IClusterBusiness;
+import org.constellation.business.MessageListener;
+import org.constellation.business.MessageResponse;
+import org.constellation.configuration.AppProperty;
+import org.constellation.configuration.Application;
+import org.constellation.dto.cluster.Cluster;
+import static org.constellation.business.ClusterMessageConstant.KEY_IDENTIFIER;
+import static org.constellation.business.ClusterMessageConstant.SRV_KEY_TYPE;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Messaging business for a cluster of Examind instances, communicating through a {@link ClusterTransport}.
+ *
+ * The messages are delivered to the local listeners asynchronously, by a set of single thread executors.
+ * The messages having the same type, target type and identifier (for example the STOP and START of a service)
+ * are always delivered by the same thread, in the order they have been received from the transport.
+ * When the queue of a thread is full the transport is blocked, slowing down the publishers.
+ *
+ * The requests without response published inside a transaction are broadcasted after the commit,
+ * and dropped if the transaction is rolled back.
+ *
+ * The responses of a request are listened until the end of the response timeout.
+ */
+public class AsyncClusterBusiness implements IClusterBusiness, ClusterTransport.Member {
+
+    private static final Logger LOGGER = Logging.getLogger("org.constellation.admin");
+
+    private final String memberUID = UUID.randomUUID().toString();
+
+    /**
+     * The message identifiers must be unique in the whole cluster, the responses are matched on it.
+     * Each member starts its counter from a random high part.
+     */
+    private final AtomicLong messageInc = new AtomicLong(((long) new SecureRandom().nextInt()) << 32);
+    private final AtomicLong listenerInc = new AtomicLong();
+
+    private final Map<String,MessageListener> listeners = new ConcurrentHashMap<>();
+
+    private final ClusterTransport transport;
+
+    /**
+     * Single thread executors, each message being delivered by the one selected from its ordering key.
+     */
+    private final ThreadPoolExecutor[] executors;
+
+    private final ScheduledExecutorService responseTimeouts;
+
+    private final long responseTimeout;
+
+    public AsyncClusterBusiness(final ClusterTransport transport) {
+        this(transport,
+             Application.getIntegerProperty(AppProperty.CLUSTER_THREADS, 4),
+             Application.getIntegerProperty(AppProperty.CLUSTER_QUEUE_SIZE, 1000),
+             Application.getLongProperty(AppProperty.CLUSTER_RESPONSE_TIMEOUT, 60000));
+    }
+
+    /**
+     * @param transport communication layer between the members.
+     * @param nbThread number of threads delivering the messages to the listeners.
+     * @param queueSize maximum number of messages waiting for delivery in each thread.
+     * @param responseTimeout time in milliseconds during which the responses of a request are listened.
+     */
+    public AsyncClusterBusiness(final ClusterTransport transport, final int nbThread, final int queueSize, final long responseTimeout) {
+        ArgumentChecks.ensureNonNull("transport", transport);
+        ArgumentChecks.ensureStrictlyPositive("nbThread", nbThread);
+        ArgumentChecks.ensureStrictlyPositive("queueSize", queueSize);
+        this.transport       = transport;
+        this.responseTimeout = responseTimeout;
+        final DaemonThreadFactory factory = new DaemonThreadFactory("cluster-delivery");
+        this.executors = new ThreadPoolExecutor[nbThread];
+        for (int i = 0; i < nbThread; i++) {
+            executors[i] = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueSize), factory, AsyncClusterBusiness::waitForQueue);
+        }
+        this.responseTimeouts = Executors.newSingleThreadScheduledExecutor(new DaemonThreadFactory("cluster-response"));
+        transport.join(this);
+    }
+
+    @Override
+    public String getMemberUID() {
+        return memberUID;
+    }
+
+    @Override
+    public Lock acquireLock(String lockName) {
+        return transport.getLock(lockName);
+    }
+
+    @Override
+    public void publish(ClusterMessage message) {
+        ArgumentChecks.ensureNonNull("message", message);
+        /*
+         * The listeners must see the changes of the current transaction. The requests expecting a response
+         * are sent immediately, the caller may wait for the responses before the end of the transaction.
+         */
+        if (message.isRequest() && !message.expectResponse() && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    transport.broadcast(message);
+                }
+            });
+        } else {
+            transport.broadcast(message);
+        }
+    }
+
+    /**
+     * Called by the transport for each message, the listeners are notified in the delivery executor
+     * selected by the message ordering key.
+     */
+    @Override
+    public void deliver(final ClusterMessage message) {
+        final ThreadPoolExecutor executor = executors[Math.floorMod(orderingKey(message).hashCode(), executors.length)];
+        if (executor.isShutdown()) {
+            return;
+        }
+        if (Thread.currentThread() instanceof DeliveryThread && executor.getQueue().remainingCapacity() == 0) {
+            // a listener publishing in a full queue would wait for itself
+            dispatch(message);
+            return;
+        }
+        try {
+            executor.execute(() -> dispatch(message));
+        } catch (RejectedExecutionException ex) {
+            LOGGER.log(Level.FINE, "Cluster message dropped during shutdown", ex);
+        }
+    }
+
+    /**
+     * The messages acting on the same object must be delivered in their publication order.
+     */
+    static String orderingKey(final ClusterMessage message) {
+        return message.getTypeId() + '|' + Objects.toString(message.get(SRV_KEY_TYPE), "") + '|' + Objects.toString(message.get(KEY_IDENTIFIER), "");
+    }
+
+    /**
+     * Block the transport until the delivery queue has a free slot, keeping the delivery order.
+     */
+    private static void waitForQueue(final Runnable task, final ThreadPoolExecutor executor) {
+        if (executor.isShutdown()) {
+            throw new RejectedExecutionException("Cluster delivery stopped");
+        }
+        try {
+            executor.getQueue().put(task);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException(ex);
+        }
+    }
+
+    private void dispatch(final ClusterMessage message) {
+        for (MessageListener listener : listeners.values()) {
+            try {
+                listener.receive(message);
+            } catch(Exception ex) {
+                //we catch anything, the message must be send to all listeners
+                LOGGER.log(Level.WARNING, ex.getMessage(), ex);
+            }
+        }
+    }
+
+    @Override
+    public MessageResponse publish(ClusterMessage message, Consumer<ClusterMessage> callback) {
+        ArgumentChecks.ensureNonNull("message", message);
+        ArgumentChecks.ensureNonNull("callback", callback);
+        final MessageResponse response = new MessageResponse(this, message, callback);
+        // the scheduled task keeps the response listening until the timeout
+        responseTimeouts.schedule(response::release, responseTimeout, TimeUnit.MILLISECONDS);
+        return response;
+    }
+
+    @Override
+    public void publishAndWait(ClusterMessage message, long time, TimeUnit timeUnit, Consumer<ClusterMessage> callback) {
+        final MessageResponse response = publish(message, callback);
+        try {
+            response.await(time, timeUnit);
+        } catch (InterruptedException ex) {
+            LOGGER.log(Level.WARNING, ex.getMessage(), ex);
+            Thread.currentThread().interrupt();
+        }
+        response.release();
+    }
+
+    @Override
+    public Cluster clusterStatus() {
+        return LocalClusterBusiness.clusterStatus(this);
+    }
+
+    @Override
+    public int getMemberSize() {
+        return transport.getMemberUIDs().size();
+    }
+
+    @Override
+    public boolean removeMessageListener(String uuid) {
+        return listeners.remove(uuid) != null;
+    }
+
+    @Override
+    public String addMessageListener(MessageListener listener) {
+        ArgumentChecks.ensureNonNull("listener", listener);
+        final String uuid = Long.toString(listenerInc.incrementAndGet());
+        listeners.put(uuid, listener);
+        return uuid;
+    }
+
+    @Override
+    public ClusterMessage createRequest(String typeId, boolean expectResponse) {
+        return new AsyncClusterMessage(memberUID, messageInc.incrementAndGet(), typeId, expectResponse);
+    }
+
+    /**
+     * Leave the cluster and stop the message delivery.
+     */
+    @PreDestroy
+    public void close() {
+        transport.leave(this);
+        responseTimeouts.shutdownNow();
+        for (ThreadPoolExecutor executor : executors) {
+            executor.shutdown();
+        }
+        try {
+            for (ThreadPoolExecutor executor : executors) {
+                if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                    executor.shutdownNow();
+                }
+            }
+        } catch (InterruptedException ex) {
+            for (ThreadPoolExecutor executor : executors) {
+                executor.shutdownNow();
+            }
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Static class, the messages are serialized by the network transports.
+     */
+    private static class AsyncClusterMessage extends ClusterMessage {
+        private AsyncClusterMessage(String memberUID, long messageUID, String typeId, boolean expectResponse){
+            super(memberUID, typeId, (expectResponse?ClusterMessage.Type.REQUEST_WITH_RESPONSE:ClusterMessage.Type.REQUEST_NO_RESPONSE));
+            this.messageUID = messageUID;
+        }
+    }
+
+    private static class DeliveryThread extends Thread {
+        private DeliveryThread(final Runnable r, final String name) {
+            super(r, name);
+        }
+    }
+
+    private static class DaemonThreadFactory implements ThreadFactory {
+
+        private final String prefix;
+        private final AtomicInteger count = new AtomicInteger();
+
+        private DaemonThreadFactory(final String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public Thread newThread(final Runnable r) {
+            final Thread t = new DeliveryThread(r, prefix + '-' + count.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        }
+    }
+}
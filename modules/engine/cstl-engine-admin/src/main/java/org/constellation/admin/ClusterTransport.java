@@ -0,0 +1,65 @@
+/*
+ *    Constellation - An open source and standard compliant SDI
+ *    http://www.constellation-sdi.org
+ *
+ * Copyright 2019 Geomatys.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.constellation.admin;
+
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import org.constellation.business.ClusterMessage;
+
+/**
+ * Communication layer between the members of an Examind cluster, used by {@link AsyncClusterBusiness}.
+ *
+ * A transport keeps the membership, broadcasts the messages to all the members (including the sender)
+ * and provides the locks shared by all the members.
+ */
+public interface ClusterTransport {
+
+    /**
+     * A member of the cluster, receiving the broadcasted messages.
+     */
+    interface Member {
+
+        String getMemberUID();
+
+        /**
+         * Receive a broadcasted message. This method must return quickly, the message processing
+         * must be done asynchronously.
+         */
+        void deliver(ClusterMessage message);
+    }
+
+    void join(Member member);
+
+    void leave(Member member);
+
+    /**
+     * @return The identifiers of the current members.
+     */
+    List<String> getMemberUIDs();
+
+    /**
+     * Send a message to all the members.
+     */
+    void broadcast(ClusterMessage message);
+
+    /**
+     * Return a lock shared by all the members of the cluster.
+     */
+    Lock getLock(String lockName);
+}
@@ -27,6 +27,7 @@ import java.net.URL;
 import java.net.URLConnection;
 import java.nio.file.DirectoryStream;
 import java.nio.file.FileSystemException;
+import java.nio.file.FileSystems;
 import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -47,10 +48,16 @@ import java.util.Set;
 import java.util.StringJoiner;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 import org.apache.sis.internal.storage.ResourceOnFileSystem;
 import org.apache.sis.storage.DataStore;
@@ -117,7 +124,27 @@ public class DatasourceBusiness implements IDatasourceBusiness {
     @Inject
     protected IMetadataBusiness metadataBusiness;
 
-    private final Map<Integer, Thread> currentRunningAnalysis = new ConcurrentHashMap<>();
+    /**
+     * Number of analyzed paths recorded in the same transaction.
+     */
+    private static final int PATH_BATCH_SIZE = 500;
+
+    /**
+     * Number of asynchronous datasource analysis running at the same time.
+     */
+    private static final int MAX_RUNNING_ANALYSIS = 2;
+
+    /**
+     * Pool running the asynchronous datasource analysis.
+     */
+    private final ExecutorService analysisExecutor = Executors.newFixedThreadPool(MAX_RUNNING_ANALYSIS);
+
+    /**
+     * Pool probing the content of the datasource files located on the default file system.
+     */
+    private final ExecutorService probeExecutor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+
+    private final Map<Integer, Future<?>> currentRunningAnalysis = new ConcurrentHashMap<>();
 
     private final Cache<Integer, Object> datasourceLocks = new Cache<>(19, 0, false);
 
@@ -190,20 +217,9 @@ public class DatasourceBusiness implements IDatasourceBusiness {
         final Integer id = ds.getId();
 
         synchronized (datasourceLocks.computeIfAbsent(id, key -> key)) {
-            final Thread analysisThread = currentRunningAnalysis.remove(id);
-            if (analysisThread != null) {
-                // TODO: use futuretask and cancel API insted...
-                analysisThread.interrupt();
-                try {
-                    analysisThread.join(200);
-                } catch (InterruptedException e) {
-                    LOGGER.log(Level.FINE, "Interrupted while waiting for thread state", e);
-                    // TODO: should we propagate it ?
-                }
-
-                if (analysisThread.isAlive()) {
-                    analysisThread.stop();
-                }
+            final Future<?> analysis = currentRunningAnalysis.remove(id);
+            if (analysis != null) {
+                analysis.cancel(true);
             }
 
             if ("local_files".equals(ds.getType())) {
@@ -221,6 +237,12 @@ public class DatasourceBusiness implements IDatasourceBusiness {
         }
     }
 
+    @PreDestroy
+    public void destroy() {
+        analysisExecutor.shutdownNow();
+        probeExecutor.shutdownNow();
+    }
+
     @Override
     public DataSource getDatasource(int id) {
         return dsRepository.findById(id);
@@ -437,7 +459,7 @@ public class DatasourceBusiness implements IDatasourceBusiness {
                 DataSourcePathComplete dpc = dsRepository.getAnalyzedPath(dsId, childPath);
                 FileBean fb;
                 if (dpc == null) {
-                    dpc = analysePath(dsId, subPath, child, false, null);
+                    dpc = analysePath(dsId, subPath, child, null);
                 }
                 fb = new FileBean(dpc.getName(), dpc.getFolder(), childPath, dpc.getParentPath(), dpc.getSize(), dpc.getTypes());
 
@@ -606,10 +628,16 @@ public class DatasourceBusiness implements IDatasourceBusiness {
                 if (!async) {
                     return analyzeDataSource(ds, storeId, deep);
                 } else {
-                    // TODO: work with FutureTask instead, and use an executor service to avoid hard-coded thread creation
-                    final Thread t = new Thread(() -> analyzeDataSource(ds, storeId, deep));
-                    currentRunningAnalysis.put(id, t);
-                    t.start();
+                    final FutureTask<Map<String, Set<String>>> task = new FutureTask<Map<String, Set<String>>>(() -> analyzeDataSource(ds, storeId, deep)) {
+                        @Override
+                        protected void done() {
+                            // a new analysis may have been registered after the cancellation of this one.
+                            currentRunningAnalysis.remove(id, this);
+                        }
+                    };
+                    // registered before the execution, as the task remove itself when finished.
+                    currentRunningAnalysis.put(id, task);
+                    analysisExecutor.execute(task);
                     return Collections.EMPTY_MAP;
                 }
             } else {
@@ -622,7 +650,7 @@ public class DatasourceBusiness implements IDatasourceBusiness {
         final Map<String, Set<String>> results = new HashMap<>();
         try {
             long start = System.nanoTime();
-            computeDatasourceStores(source, results, null, "/", true, deep, storeId);
+            computeDatasourceStores(source, results, deep, storeId);
             updateDatasourceAnalysisState(source.getId(), AnalysisState.COMPLETED.name());
             LOGGER.fine("Analysis complete in " + ((System.nanoTime() - start) / 1e6) + " ms");
         } catch (Exception ex) {
@@ -632,13 +660,20 @@ public class DatasourceBusiness implements IDatasourceBusiness {
         return results;
     }
 
-    private void computeDatasourceStores(final DataSource ds, final Map<String, Set<String>> types, final String parentPath, String subPath, boolean root, boolean deep, String storeId) throws ConstellationException {
-        final Path path = getDataSourcePath(ds, subPath);
-        if (!Files.exists(path)) {
-            throw new ConstellationException("path does not exists:" + path.toString());
+    /**
+     * Analyze the datasource tree level by level (only the root and its children if deep is set to false).
+     *
+     * The directories are listed on the current thread, the files of each level are probed
+     * and recorded by batch of {@link #PATH_BATCH_SIZE} paths. The files of the default file system are
+     * probed in parallel by the {@link #probeExecutor}, the others (pooled remote clients like ftp) on the current thread.
+     */
+    private void computeDatasourceStores(final DataSource ds, final Map<String, Set<String>> types, boolean deep, String storeId) throws ConstellationException {
+        final Path rootPath = getDataSourcePath(ds, "/");
+        if (!Files.exists(rootPath)) {
+            throw new ConstellationException("path does not exists:" + rootPath.toString());
         }
         try {
-            if (root && hasS63File(path)) {
+            if (hasS63File(rootPath)) {
                 types.put("S63", Collections.singleton("application/x-iho-s63"));
                 dsRepository.addDataSourceStore(ds.getId(), "S63", "application/x-iho-s63");
                 return;
@@ -646,43 +681,190 @@ public class DatasourceBusiness implements IDatasourceBusiness {
         } catch (IOException e) {
             throw new ConstellationException("Error occurs dwhile looking for S63 file", e);
         }
-        DataSourcePathComplete dpc = dsRepository.getAnalyzedPath(ds.getId(), subPath);
-        if (dpc == null) {
-            dpc = analysePath(ds.getId(), parentPath, path, true, storeId);
-        }
-        Map<String, String> pathTypes = dpc.getTypes();
-        for (Entry<String, String> pathType : pathTypes.entrySet()) {
-            if (types.containsKey(pathType.getKey())) {
-                types.get(pathType.getKey()).add(pathType.getValue());
-            } else {
-                Set<String> s = new HashSet<>();
-                s.add(pathType.getValue());
-                types.put(pathType.getKey(), s);
+
+        final AnalysisProgress progress = new AnalysisProgress(rootPath.getFileSystem() == FileSystems.getDefault());
+        updateDatasourceAnalysisProgress(ds.getId(), 0);
+        List<AnalysisEntry> level = Collections.singletonList(new AnalysisEntry(null, "/", rootPath, Files.isDirectory(rootPath)));
+        boolean root = true;
+        while (!level.isEmpty()) {
+            for (DataSourcePathComplete dpc : analysePaths(ds.getId(), level, storeId, progress)) {
+                for (Entry<String, String> pathType : dpc.getTypes().entrySet()) {
+                    types.computeIfAbsent(pathType.getKey(), k -> new HashSet<>()).add(pathType.getValue());
+                }
             }
+            if (!root && !deep) {
+                break;
+            }
+            final List<AnalysisEntry> next = new ArrayList<>();
+            for (AnalysisEntry entry : level) {
+                if (entry.folder) {
+                    // do not keep opened the stream while listing the other directories
+                    // because it can induce problem withe pooled client FileSystem (like ftp for example).
+                    final List<Path> children = new ArrayList<>();
+                    try (DirectoryStream<Path> stream = Files.newDirectoryStream(entry.path, (Path e) -> !Files.isHidden(e))) {
+                        for (Path child : stream) {
+                            children.add(child);
+                        }
+                    } catch (IOException e) {
+                        throw new ConstellationException("Error occurs during directory browsing", e);
+                    }
+                    for (Path child : children) {
+                        final boolean folder = Files.isDirectory(child);
+                        String childPath = entry.localPath + child.getFileName().toString();
+                        if (folder) {
+                            childPath = childPath + '/';
+                        }
+                        next.add(new AnalysisEntry(entry.localPath, childPath, child, folder));
+                    }
+                }
+            }
+            level = next;
+            root = false;
         }
+        LOGGER.log(Level.INFO, "Datasource {0} analysis: {1} paths analyzed ({2} probed, {3} unchanged).",
+                new Object[]{ds.getId(), progress.analyzed, progress.probed, progress.analyzed - progress.probed});
+    }
 
-        if (root || deep) {
-            List<Path> children = new ArrayList<>();
-            // do not keep opened the stream while calling recursively the method
-            // because it can induce problem withe pooled client FileSystem (like ftp for example).
-            if (Files.isDirectory(path)) {
-                try (DirectoryStream<Path> stream = Files.newDirectoryStream(path, (Path entry) -> !Files.isHidden(entry))) {
-                    for (Path child : stream) {
-                        children.add(child);
-                    }
-                } catch (IOException e) {
-                    throw new ConstellationException("Error occurs during directory browsing", e);
+    /**
+     * Analyze a list of paths by batch of {@link #PATH_BATCH_SIZE}.
+     * The paths already recorded with an unchanged size and modification date are reused, the others are probed
+     * then recorded with the analysis progress in a single transaction for each batch.
+     */
+    private List<DataSourcePathComplete> analysePaths(final Integer dsId, final List<AnalysisEntry> entries, final String storeId,
+            final AnalysisProgress progress) throws ConstellationException {
+        final List<DataSourcePathComplete> results = new ArrayList<>(entries.size());
+        for (int i = 0; i < entries.size(); i += PATH_BATCH_SIZE) {
+            if (Thread.currentThread().isInterrupted()) {
+                throw new ConstellationException("Datasource analysis interrupted");
+            }
+            final List<AnalysisEntry> batch = entries.subList(i, Math.min(i + PATH_BATCH_SIZE, entries.size()));
+            final List<String> localPaths = new ArrayList<>(batch.size());
+            for (AnalysisEntry entry : batch) {
+                localPaths.add(entry.localPath);
+            }
+            final Map<String, DataSourcePathComplete> recorded = dsRepository.getAnalyzedPaths(dsId, localPaths);
+            final List<AnalysisEntry> toProbe = new ArrayList<>();
+            for (AnalysisEntry entry : batch) {
+                final DataSourcePathComplete dpc = recorded.get(entry.localPath);
+                if (dpc != null && isUnchanged(dpc, entry)) {
+                    results.add(dpc);
+                } else {
+                    toProbe.add(entry);
                 }
             }
-            for (Path child : children) {
-                String childFileName = child.getFileName().toString();
-                String childPath = subPath + childFileName;
+            final List<DataSourcePathComplete> probed = probe(dsId, toProbe, storeId, progress.parallel);
+            final int analyzed = progress.analyzed + batch.size();
+            SpringHelper.executeInTransaction(new TransactionCallbackWithoutResult() {
+                @Override
+                protected void doInTransactionWithoutResult(TransactionStatus arg0) {
+                    for (DataSourcePathComplete dpc : probed) {
+                        if (recorded.containsKey(dpc.getPath())) {
+                            dsRepository.updateAnalyzedPath(dpc, dpc.getTypes());
+                        } else {
+                            dsRepository.addAnalyzedPath(dpc, dpc.getTypes());
+                        }
+                    }
+                    dsRepository.updateAnalysisProgress(dsId, analyzed);
+                }
+            });
+            results.addAll(probed);
+            progress.analyzed = analyzed;
+            progress.probed  += probed.size();
+            LOGGER.log(Level.INFO, "Datasource {0} analysis: {1} paths analyzed.", new Object[]{dsId, progress.analyzed});
+        }
+        return results;
+    }
 
-                if (Files.isDirectory(child)) {
-                    childPath = childPath + '/';
+    /**
+     * Probe the content of the specified paths, in parallel if allowed by their file system.
+     */
+    private List<DataSourcePathComplete> probe(final Integer dsId, final List<AnalysisEntry> entries, final String storeId,
+            final boolean parallel) throws ConstellationException {
+        final List<DataSourcePathComplete> probed = new ArrayList<>(entries.size());
+        if (!parallel) {
+            for (AnalysisEntry entry : entries) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new ConstellationException("Datasource analysis interrupted");
                 }
-                computeDatasourceStores(ds, types, subPath, childPath, false, deep, storeId);
+                probed.add(analysePath(dsId, entry.parentPath, entry.path, storeId));
+            }
+            return probed;
+        }
+        final List<Future<DataSourcePathComplete>> probes = new ArrayList<>(entries.size());
+        for (AnalysisEntry entry : entries) {
+            probes.add(probeExecutor.submit(() -> analysePath(dsId, entry.parentPath, entry.path, storeId)));
+        }
+        try {
+            for (Future<DataSourcePathComplete> probe : probes) {
+                probed.add(probe.get());
             }
+        } catch (InterruptedException ex) {
+            probes.forEach(f -> f.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new ConstellationException("Datasource analysis interrupted", ex);
+        } catch (ExecutionException ex) {
+            probes.forEach(f -> f.cancel(true));
+            throw new ConstellationException("Error while probing datasource files", ex.getCause());
+        }
+        return probed;
+    }
+
+    /**
+     * Return {@code true} if the recorded path match the current file size and modification date.
+     * The paths recorded without modification date are considered as changed.
+     */
+    private static boolean isUnchanged(final DataSourcePathComplete dpc, final AnalysisEntry entry) {
+        if (!Boolean.valueOf(entry.folder).equals(dpc.getFolder())) {
+            return false;
+        }
+        if (entry.folder) {
+            return true;
+        }
+        if (dpc.getSize() == null || dpc.getLastModified() == null) {
+            return false;
+        }
+        try {
+            final BasicFileAttributes attributes = Files.readAttributes(entry.path, BasicFileAttributes.class);
+            return dpc.getSize().longValue() == attributes.size()
+                && dpc.getLastModified() == attributes.lastModifiedTime().toMillis();
+        } catch (IOException ex) {
+            LOGGER.log(Level.FINER, "Unable to read the attributes of " + entry.path, ex);
+            return false;
+        }
+    }
+
+    /**
+     * A path to analyze, with its location in the datasource.
+     */
+    private static class AnalysisEntry {
+
+        private final String parentPath;
+        private final String localPath;
+        private final Path path;
+        private final boolean folder;
+
+        private AnalysisEntry(String parentPath, String localPath, Path path, boolean folder) {
+            this.parentPath = parentPath;
+            this.localPath  = localPath;
+            this.path       = path;
+            this.folder     = folder;
+        }
+    }
+
+    /**
+     * Counters of a running datasource analysis.
+     */
+    private static class AnalysisProgress {
+
+        /**
+         * {@code true} if the files can be probed in parallel.
+         */
+        private final boolean parallel;
+        private int analyzed;
+        private int probed;
+
+        private AnalysisProgress(boolean parallel) {
+            this.parallel = parallel;
         }
     }
 
@@ -691,6 +873,20 @@ public class DatasourceBusiness implements IDatasourceBusiness {
         return dsRepository.getAnalysisState(id);
     }
 
+    @Override
+    public Integer getDatasourceAnalysisProgress(int id) {
+        return dsRepository.getAnalysisProgress(id);
+    }
+
+    private void updateDatasourceAnalysisProgress(int dsId, int analyzed) {
+        SpringHelper.executeInTransaction(new TransactionCallbackWithoutResult() {
+            @Override
+            protected void doInTransactionWithoutResult(TransactionStatus arg0) {
+                dsRepository.updateAnalysisProgress(dsId, analyzed);
+            }
+        });
+    }
+
     @Override
     public void updateDatasourceAnalysisState(int dsId, String state) {
         SpringHelper.executeInTransaction(new TransactionCallbackWithoutResult() {
@@ -701,7 +897,7 @@ public class DatasourceBusiness implements IDatasourceBusiness {
         });
     }
 
-    private DataSourcePathComplete analysePath(Integer dsId, String parentPath, Path path, boolean record, String storeId) {
+    private DataSourcePathComplete analysePath(Integer dsId, String parentPath, Path path, String storeId) {
         LOGGER.log(Level.FINER, "ANALYZING:{0}", path.toString());
         String fileName;
         boolean isDir = Files.isDirectory(path);
@@ -721,10 +917,13 @@ public class DatasourceBusiness implements IDatasourceBusiness {
             }
         }
         int size = 0;
+        Long lastModified = null;
         Map<String, String> types = new HashMap<>();
         if (!isDir) {
             try {
-                size = (int) Files.size(path);
+                final BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                size = (int) attributes.size();
+                lastModified = attributes.lastModifiedTime().toMillis();
                 if (storeId != null) {
                     types.putAll(DataProviders.probeContentForSpecificStore(path, storeId));
                 } else {
@@ -742,19 +941,9 @@ public class DatasourceBusiness implements IDatasourceBusiness {
                 LOGGER.log(Level.WARNING, "Error while trying to probe the content type of the file:" + fileName, ex);
             }
         }
-        final DataSourcePath dsPath = new DataSourcePath(dsId, localPath, fileName, isDir, parentPath, size);
+        final DataSourcePath dsPath = new DataSourcePath(dsId, localPath, fileName, isDir, parentPath, size, lastModified);
         LOGGER.log(Level.FINER, "ANALYZED:{0}", path.toString());
-        DataSourcePathComplete result = new DataSourcePathComplete(dsPath, types);
-        if (record) {
-            SpringHelper.executeInTransaction(new TransactionCallbackWithoutResult() {
-                @Override
-                protected void doInTransactionWithoutResult(TransactionStatus arg0) {
-                    dsRepository.addAnalyzedPath(dsPath, types);
-                }
-            });
-
-        }
-        return result;
+        return new DataSourcePathComplete(dsPath, types);
     }
 
     @Override
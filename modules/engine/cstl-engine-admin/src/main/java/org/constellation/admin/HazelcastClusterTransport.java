@@ -0,0 +1,160 @@
+/*
+ *    Constellation - An open source and standard compliant SDI
+ *    http://www.constellation-sdi.org
+ *
+ * Copyright 2019 Geomatys.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.constellation.admin;
+
+import com.hazelcast.config.ClasspathXmlConfig;
+import com.hazelcast.config.Config;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.core.ITopic;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import javax.annotation.PreDestroy;
+import org.apache.sis.util.ArgumentChecks;
+import org.apache.sis.util.logging.Logging;
+import org.constellation.business.ClusterMessage;
+
+/**
+ * Cluster transport between Examind instances running in separated JVMs, based on Hazelcast.
+ *
+ * The messages are broadcasted through a Hazelcast topic, delivered in the order they have been
+ * published by each instance. The membership is recorded in a distributed map, the entries of the
+ * instances leaving the Hazelcast cluster are ignored. The locks are Hazelcast distributed locks.
+ */
+public class HazelcastClusterTransport implements ClusterTransport {
+
+    private static final Logger LOGGER = Logging.getLogger("org.constellation.admin");
+
+    private static final String TOPIC_NAME = "examind-cluster";
+
+    private static final String MEMBERS_NAME = "examind-cluster-members";
+
+    private final HazelcastInstance hazelcast;
+
+    private final boolean ownInstance;
+
+    private final ITopic<ClusterMessage> topic;
+
+    /**
+     * Examind member UID to Hazelcast member UUID.
+     */
+    private final IMap<String,String> members;
+
+    /**
+     * Topic listener registration of each local member.
+     */
+    private final Map<String,String> registrations = new ConcurrentHashMap<>();
+
+    /**
+     * Start a Hazelcast instance, configured by the {@code hazelcast.xml} file of the classpath.
+     */
+    public HazelcastClusterTransport() {
+        this(new ClasspathXmlConfig("hazelcast.xml"));
+    }
+
+    /**
+     * Start a Hazelcast instance from the specified configuration, stopped by {@link #close()}.
+     */
+    public HazelcastClusterTransport(final Config config) {
+        this(Hazelcast.newHazelcastInstance(config), true);
+    }
+
+    /**
+     * Use an already started Hazelcast instance, not stopped by {@link #close()}.
+     */
+    public HazelcastClusterTransport(final HazelcastInstance hazelcast) {
+        this(hazelcast, false);
+    }
+
+    private HazelcastClusterTransport(final HazelcastInstance hazelcast, final boolean ownInstance) {
+        ArgumentChecks.ensureNonNull("hazelcast", hazelcast);
+        this.hazelcast   = hazelcast;
+        this.ownInstance = ownInstance;
+        this.topic       = hazelcast.getTopic(TOPIC_NAME);
+        this.members     = hazelcast.getMap(MEMBERS_NAME);
+    }
+
+    @Override
+    public void join(final Member member) {
+        ArgumentChecks.ensureNonNull("member", member);
+        final String registration = topic.addMessageListener(m -> {
+            try {
+                member.deliver(m.getMessageObject());
+            } catch (RuntimeException ex) {
+                LOGGER.log(Level.WARNING, "Unable to deliver message to member " + member.getMemberUID(), ex);
+            }
+        });
+        registrations.put(member.getMemberUID(), registration);
+        members.put(member.getMemberUID(), hazelcast.getCluster().getLocalMember().getUuid());
+    }
+
+    @Override
+    public void leave(final Member member) {
+        final String registration = registrations.remove(member.getMemberUID());
+        if (registration != null && hazelcast.getLifecycleService().isRunning()) {
+            topic.removeMessageListener(registration);
+            members.remove(member.getMemberUID());
+        }
+    }
+
+    /**
+     * @return The identifiers of the members hosted by a running Hazelcast instance.
+     */
+    @Override
+    public List<String> getMemberUIDs() {
+        final Set<String> running = hazelcast.getCluster().getMembers().stream()
+                .map(com.hazelcast.core.Member::getUuid)
+                .collect(Collectors.toSet());
+        final List<String> results = new ArrayList<>();
+        for (Map.Entry<String,String> entry : members.entrySet()) {
+            if (running.contains(entry.getValue())) {
+                results.add(entry.getKey());
+            }
+        }
+        return results;
+    }
+
+    @Override
+    public void broadcast(final ClusterMessage message) {
+        topic.publish(message);
+    }
+
+    @Override
+    public Lock getLock(final String lockName) {
+        return hazelcast.getLock(lockName);
+    }
+
+    /**
+     * Stop the Hazelcast instance, if it has been started by this transport.
+     */
+    @PreDestroy
+    public void close() {
+        if (ownInstance) {
+            hazelcast.shutdown();
+        }
+    }
+}
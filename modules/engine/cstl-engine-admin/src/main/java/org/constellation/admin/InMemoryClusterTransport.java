@@ -0,0 +1,86 @@
+/*
+ *    Constellation - An open source and standard compliant SDI
+ *    http://www.constellation-sdi.org
+ *
+ * Copyright 2019 Geomatys.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.constellation.admin;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import org.apache.sis.util.ArgumentChecks;
+import org.apache.sis.util.collection.WeakValueHashMap;
+import org.apache.sis.util.logging.Logging;
+import org.constellation.business.ClusterMessage;
+
+/**
+ * Cluster transport between members living in the same JVM.
+ *
+ * It is used by the tests running several members in one process, see {@link HazelcastClusterTransport}
+ * for members running in separated JVMs.
+ */
+public class InMemoryClusterTransport implements ClusterTransport {
+
+    private static final Logger LOGGER = Logging.getLogger("org.constellation.admin");
+
+    private final List<Member> members = new CopyOnWriteArrayList<>();
+
+    private final WeakValueHashMap<String,Lock> locks = new WeakValueHashMap<>(String.class);
+
+    @Override
+    public void join(final Member member) {
+        ArgumentChecks.ensureNonNull("member", member);
+        members.add(member);
+    }
+
+    @Override
+    public void leave(final Member member) {
+        members.remove(member);
+    }
+
+    @Override
+    public List<String> getMemberUIDs() {
+        return members.stream().map(Member::getMemberUID).collect(Collectors.toList());
+    }
+
+    @Override
+    public void broadcast(final ClusterMessage message) {
+        for (Member member : members) {
+            try {
+                member.deliver(message);
+            } catch (RuntimeException ex) {
+                //the message must be send to all members
+                LOGGER.log(Level.WARNING, "Unable to deliver message to member " + member.getMemberUID(), ex);
+            }
+        }
+    }
+
+    @Override
+    public Lock getLock(final String lockName) {
+        synchronized (locks) {
+            Lock lock = locks.get(lockName);
+            if (lock == null) {
+                lock = new ReentrantLock();
+                locks.put(lockName, lock);
+            }
+            return lock;
+        }
+    }
+}
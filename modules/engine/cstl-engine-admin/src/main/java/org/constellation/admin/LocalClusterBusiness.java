@@ -113,18 +113,30 @@ public class LocalClusterBusiness implements IClusterBusiness{
 
     @Override
     public Cluster clusterStatus() {
+        return clusterStatus(this);
+    }
+
+    /**
+     * Ask the service status to all the members of the cluster.
+     *
+     * @param business cluster business used to send the request.
+     * @return the members and their services.
+     */
+    static Cluster clusterStatus(final IClusterBusiness business) {
 
-        final ClusterMessage request = createRequest(SRV_MESSAGE_TYPE_ID,true);
+        final ClusterMessage request = business.createRequest(SRV_MESSAGE_TYPE_ID,true);
         request.put(KEY_ACTION, SRV_VALUE_ACTION_STATUS);
 
         final Cluster cluster = new Cluster();
 
-        publishAndWait(request, 10, TimeUnit.SECONDS, new Consumer<ClusterMessage>() {
+        business.publishAndWait(request, 10, TimeUnit.SECONDS, new Consumer<ClusterMessage>() {
             @Override
             public void accept(ClusterMessage message) {
                 final String who = message.getMemberUID();
                 final ClusterMember member = new ClusterMember();
-                cluster.getMembers().add(member);
+                synchronized (cluster) {
+                    cluster.getMembers().add(member);
+                }
                 member.setSocketAddress(who);
                 for(Map.Entry<String,Object> entry : message.entrySet()){
                     final String spec = entry.getKey();
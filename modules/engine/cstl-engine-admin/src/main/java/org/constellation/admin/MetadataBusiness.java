@@ -24,7 +24,6 @@ import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.logging.Level;
@@ -64,6 +63,7 @@ import java.util.AbstractMap;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.Locale;
 import java.util.Optional;
@@ -100,6 +100,7 @@ import org.constellation.repository.MapContextRepository;
 import org.constellation.dto.MapContextDTO;
 import org.constellation.dto.metadata.MetadataBrief;
 import org.constellation.dto.metadata.MetadataLightBrief;
+import org.constellation.dto.metadata.MetadataStatistics;
 import org.constellation.dto.metadata.RootObj;
 import org.constellation.exception.ConstellationException;
 import org.constellation.dto.service.config.generic.Automatic;
@@ -1264,13 +1265,8 @@ public class MetadataBusiness implements IMetadataBusiness {
 
     private Object unmarshallMetadata(final Node n) throws ConfigurationException {
         try {
-            // We would like to use um.unmarshal(metadataNode) directly, but it currently causes
-            // UnsupportedOperationException: Cannot create XMLEventReader from a DOMSource.
-            final Unmarshaller um = EBRIMMarshallerPool.getInstance().acquireUnmarshaller();
-            Object obj = um.unmarshal(new StringReader(NodeUtilities.getStringFromNode(n)));
-            EBRIMMarshallerPool.getInstance().recycle(um);
-            return obj;
-        } catch (JAXBException | TransformerException ex) {
+            return NodeUtilities.unmarshallNode(n, EBRIMMarshallerPool.getInstance());
+        } catch (JAXBException ex) {
             throw new ConfigurationException("Unable to unmarshall metadata", ex);
         }
     }
@@ -1387,18 +1383,7 @@ public class MetadataBusiness implements IMetadataBusiness {
 
     @Override
     public int[] countInCompletionRange(final Map<String,Object> filterMap) {
-        final int[] completionArray = new int[10];
-        completionArray[0] = metadataRepository.countInCompletionRange(filterMap, 0,  10);
-        completionArray[1] = metadataRepository.countInCompletionRange(filterMap, 11, 20);
-        completionArray[2] = metadataRepository.countInCompletionRange(filterMap, 21, 30);
-        completionArray[3] = metadataRepository.countInCompletionRange(filterMap, 31, 40);
-        completionArray[4] = metadataRepository.countInCompletionRange(filterMap, 41, 50);
-        completionArray[5] = metadataRepository.countInCompletionRange(filterMap, 51, 60);
-        completionArray[6] = metadataRepository.countInCompletionRange(filterMap, 61, 70);
-        completionArray[7] = metadataRepository.countInCompletionRange(filterMap, 71, 80);
-        completionArray[8] = metadataRepository.countInCompletionRange(filterMap, 81, 90);
-        completionArray[9] = metadataRepository.countInCompletionRange(filterMap, 91, 100);
-        return completionArray;
+        return metadataRepository.getStatistics(filterMap).getCompletion();
     }
 
     /**
@@ -1555,22 +1540,7 @@ public class MetadataBusiness implements IMetadataBusiness {
 
     @Override
     public List<OwnerStatBrief> getOwnerStatBriefs(final Map<String, Object> filter) {
-        final List<OwnerStatBrief> briefs = new ArrayList<>();
-        for (CstlUser user : userBusiness.findAll()) {
-            filter.put("owner", user.getId());
-            final Map<String,Object> reqFilter = new HashMap<>();
-            reqFilter.putAll(filter);
-            reqFilter.put("validation_required","REQUIRED");
-            final int toValidate = metadataRepository.countValidated(false, reqFilter);
-            final Map<String,Object> toPublishFilter = new HashMap<>();
-            toPublishFilter.putAll(filter);
-            toPublishFilter.put("validated",Boolean.TRUE);
-            final int toPublish  = metadataRepository.countPublished(false, toPublishFilter);
-            final int published  = metadataRepository.countPublished(true, filter);
-            final User userBrief = Util.copy(user, new User());
-            briefs.add(new OwnerStatBrief(userBrief, toValidate, toPublish, published));
-        }
-        return briefs;
+        return new ArrayList<>(getStatistics(filter).getOwners().values());
     }
 
     @Override
@@ -1934,31 +1904,23 @@ public class MetadataBusiness implements IMetadataBusiness {
 
     @Override
     public Map<String, Integer> getStats(Map<String, Object> filterMap) {
-        Map<String,Integer> general = new HashMap<>();
-
-        final int total             = countTotal(filterMap);
-        final int validated         = countValidated(true,filterMap);
-        final int notValid          = countValidated(false, filterMap);
-        final Map<String,Object> filter = new HashMap<>();
-        filter.putAll(filterMap);
-        filter.put("validation_required","REQUIRED");
-        final int waitingToValidate = countValidated(false, filter);
-        final int notPublish        = countPublished(false, filterMap);
-        final int published         = countPublished(true,filterMap);
-        final Map<String, Object> filter2 = new HashMap<>();
-        filter2.putAll(filterMap);
-        filter2.put("validated",Boolean.TRUE);
-        final int waitingToPublish  = countPublished(false,  filter2);
-
-        general.put("total", total);
-        general.put("validated", validated);
-        general.put("notValid", notValid);
-        general.put("waitingToValidate", waitingToValidate);
-        general.put("notPublish", notPublish);
-        general.put("published", published);
-        general.put("waitingToPublish", waitingToPublish);
-
-        return general;
+        return metadataRepository.getStatistics(filterMap).getGeneral();
+    }
+
+    @Override
+    public MetadataStatistics getStatistics(final Map<String,Object> filterMap) {
+        final MetadataStatistics stats = metadataRepository.getStatistics(filterMap);
+        final Map<Integer, OwnerStatBrief> owners = new LinkedHashMap<>();
+        for (CstlUser user : userBusiness.findAll()) {
+            OwnerStatBrief brief = stats.getOwners().get(user.getId());
+            if (brief == null) {
+                brief = new OwnerStatBrief(null, 0, 0, 0);
+            }
+            brief.setContributor(Util.copy(user, new User()));
+            owners.put(user.getId(), brief);
+        }
+        stats.setOwners(owners);
+        return stats;
     }
 
     @Override
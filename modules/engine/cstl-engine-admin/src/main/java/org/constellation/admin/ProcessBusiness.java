@@ -21,6 +21,7 @@ package org.constellation.admin;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.sis.parameter.ParameterBuilder;
+import org.apache.sis.parameter.Parameters;
 import org.constellation.exception.ConstellationException;
 import org.constellation.api.TaskState;
 import org.constellation.business.IProcessBusiness;
@@ -31,17 +32,19 @@ import org.constellation.dto.process.TaskParameter;
 import org.constellation.repository.ChainProcessRepository;
 import org.constellation.repository.TaskParameterRepository;
 import org.constellation.repository.TaskRepository;
+import org.constellation.configuration.AppProperty;
+import org.constellation.configuration.Application;
+import org.constellation.scheduler.FolderTaskTrigger;
 import org.constellation.scheduler.QuartzJobListener;
 import org.geotoolkit.nio.DirectoryWatcher;
 import org.geotoolkit.nio.IOUtilities;
-import org.geotoolkit.nio.PathChangeListener;
-import org.geotoolkit.nio.PathChangedEvent;
 import org.geotoolkit.process.ProcessDescriptor;
 import org.geotoolkit.process.ProcessFinder;
 import org.geotoolkit.process.ProcessingRegistry;
 import org.geotoolkit.wps.client.WebProcessingClient;
 import org.geotoolkit.xml.parameter.ParameterValueReader;
 import org.opengis.parameter.GeneralParameterDescriptor;
+import org.opengis.parameter.ParameterDescriptor;
 import org.opengis.parameter.ParameterDescriptorGroup;
 import org.opengis.parameter.ParameterValueGroup;
 import org.springframework.context.annotation.Primary;
@@ -64,8 +67,6 @@ import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.util.*;
 
-import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
-import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
 import org.geotoolkit.wps.client.process.WPSProcessingRegistry;
 import java.util.concurrent.Callable;
 import java.util.logging.Level;
@@ -121,6 +122,10 @@ public class ProcessBusiness implements IProcessBusiness {
 
     private DirectoryWatcher directoryWatcher;
 
+    private QuartzJobListener jobListener;
+
+    private FolderTaskTrigger folderTrigger;
+
     private final Map<Integer, Object> scheduledTasks = new HashMap<>();
 
     @PostConstruct
@@ -142,7 +147,8 @@ public class ProcessBusiness implements IProcessBusiness {
             quartzScheduler.start();
 
             //listen and attach a process on all geotk process tasks
-            quartzScheduler.addJobListener(new QuartzJobListener());
+            jobListener = new QuartzJobListener();
+            quartzScheduler.addJobListener(jobListener);
 
         } catch (ConstellationSchedulerException ex) {
             LOGGER.log(Level.SEVERE, "Failed to start quartz scheduler\n"+ex.getLocalizedMessage(), ex);
@@ -157,27 +163,9 @@ public class ProcessBusiness implements IProcessBusiness {
         try {
             directoryWatcher = new DirectoryWatcher(true);
 
-            final PathChangeListener pathListener = new PathChangeListener() {
-                @Override
-                public void pathChanged(PathChangedEvent event) {
-                    if (event.kind.equals(ENTRY_MODIFY) || event.kind.equals(ENTRY_CREATE)) {
-
-                        final Path target = event.target;
-                        for (Map.Entry<Integer, Object> sTask : scheduledTasks.entrySet()) {
-                            if (sTask.getValue() instanceof Path && target.startsWith((Path) sTask.getValue())) {
-                                final Integer taskId = sTask.getKey();
-                                final TaskParameter taskParameter = getTaskParameterById(taskId);
-                                try {
-                                    executeTaskParameter(taskParameter, null, taskParameter.getOwner());
-                                } catch (ConstellationException ex) {
-                                    LOGGER.log(Level.WARNING, ex.getMessage(), ex);
-                                }
-                            }
-                        }
-                    }
-                }
-            };
-            directoryWatcher.addPathChangeListener(pathListener);
+            folderTrigger = new FolderTaskTrigger(Application.getLongProperty(AppProperty.EXA_FOLDER_TRIGGER_QUIET_PERIOD, 5000L),
+                                                  this::executeFolderTaskParameter);
+            directoryWatcher.addPathChangeListener(folderTrigger);
             directoryWatcher.start();
 
         } catch (IOException ex) {
@@ -369,6 +357,14 @@ public class ProcessBusiness implements IProcessBusiness {
         taskRepository.update(task);
     }
 
+    @Override
+    @Transactional
+    public void updateTasks(Collection<Task> tasks) throws ConstellationException {
+        for (Task task : tasks) {
+            taskRepository.update(task);
+        }
+    }
+
     @Override
     public List<Task> listRunningTasks() {
         return taskRepository.findRunningTasks();
@@ -455,6 +451,52 @@ public class ProcessBusiness implements IProcessBusiness {
         quartzScheduler.scheduleJobNow(title, taskParameter.getId(), userId, taskParameter);
     }
 
+    /**
+     * Execute a task parameter triggered by the changes in its watched folder.
+     * The changed paths are set in the {@link FolderTaskTrigger#CHANGED_PATHS} input if the process declares it.
+     */
+    private void executeFolderTaskParameter(final Integer taskParameterId, final List<Path> changes, final Runnable onEnd)
+            throws ConstellationException {
+        final TaskParameter taskParameter = getTaskParameterById(taskParameterId);
+        if (taskParameter == null) {
+            throw new ConstellationException("No task parameter for id:" + taskParameterId);
+        }
+        final ProcessDescriptor processDesc = Util.getDescriptor(taskParameter.getProcessAuthority(), taskParameter.getProcessCode());
+        final ParameterValueGroup inputs = processDesc.getInputDescriptor().createValue();
+        Parameters.copy(Util.readTaskParametersFromJSON(taskParameter, processDesc), inputs);
+
+        for (GeneralParameterDescriptor desc : inputs.getDescriptor().descriptors()) {
+            if (FolderTaskTrigger.CHANGED_PATHS.equals(desc.getName().getCode()) && desc instanceof ParameterDescriptor) {
+                final Class<?> type = ((ParameterDescriptor) desc).getValueClass();
+                if (type.isAssignableFrom(Path[].class)) {
+                    inputs.parameter(FolderTaskTrigger.CHANGED_PATHS).setValue(changes.toArray(new Path[changes.size()]));
+                } else if (type.isAssignableFrom(String[].class)) {
+                    final String[] paths = new String[changes.size()];
+                    for (int i = 0; i < paths.length; i++) {
+                        paths[i] = changes.get(i).toString();
+                    }
+                    inputs.parameter(FolderTaskTrigger.CHANGED_PATHS).setValue(paths);
+                } else {
+                    LOGGER.log(Level.WARNING, "Unsupported type for the changed paths input: {0}", type.getName());
+                }
+            }
+        }
+
+        if (jobListener == null) {
+            throw new ConstellationException("The scheduler is not started");
+        }
+        // the end is reported by the job listener, also for the interrupted and vetoed jobs
+        final org.geotoolkit.process.Process process = processDesc.createProcess(inputs);
+        jobListener.addEndCallback(process, onEnd);
+        final String title = taskParameter.getName() + TASK_DATE.format(new Date());
+        try {
+            runProcess(title, process, taskParameterId, taskParameter.getOwner());
+        } catch (ConstellationException | RuntimeException ex) {
+            jobListener.removeEndCallback(process);
+            throw ex;
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -537,6 +579,7 @@ public class ProcessBusiness implements IProcessBusiness {
                     final Path folder = IOUtilities.toPath(trigger);
                     if (Files.isDirectory(folder)) {
                         scheduledTasks.put(task.getId(), folder);
+                        folderTrigger.register(task.getId(), folder);
                         directoryWatcher.register(folder);
                     } else {
                         throw new ConstellationException("Invalid folder trigger : " + trigger);
@@ -545,6 +588,7 @@ public class ProcessBusiness implements IProcessBusiness {
                     // remove task from scheduled list
                     if (scheduledTasks.containsKey(task.getId())) {
                         scheduledTasks.remove(task.getId());
+                        folderTrigger.unregister(task.getId());
                     }
                     throw new ConstellationException(e.getMessage(), e);
                 }
@@ -569,6 +613,7 @@ public class ProcessBusiness implements IProcessBusiness {
         } else if (obj instanceof Path) {
             //directory watched task
             directoryWatcher.unregister((Path) obj);
+            folderTrigger.unregister(taskParamId);
             scheduledTasks.remove(taskParamId);
         } else {
             throw new ConstellationException("Unable to stop scheduled task: " + taskParamId);
@@ -583,6 +628,9 @@ public class ProcessBusiness implements IProcessBusiness {
             LOGGER.info("=== Wait for job to stop ===");
             quartzScheduler.shutdown(false);
             quartzScheduler = null;
+            if (jobListener != null) {
+                jobListener.close();
+            }
         } catch (ConstellationSchedulerException ex) {
             LOGGER.log(Level.SEVERE, "=== Failed to stop quartz scheduler ===", ex);
         }
@@ -590,6 +638,9 @@ public class ProcessBusiness implements IProcessBusiness {
 
         LOGGER.info("=== Stopping directory watcher ===");
         try {
+            if (folderTrigger != null) {
+                folderTrigger.close();
+            }
             directoryWatcher.close();
         } catch (IOException ex) {
             LOGGER.log(Level.SEVERE, "=== Failed to stop directory watcher ===", ex);
@@ -360,6 +360,28 @@ public class SensorBusiness implements ISensorBusiness {
         return null;
     }
 
+    @Override
+    public Object getSensorMetadataCopy(String sensorID) throws ConfigurationException {
+        final Integer sensor = sensorRepository.findIdByIdentifier(sensorID);
+        if (sensor != null) {
+            return getSensorMetadataCopy(sensor);
+        }
+        return null;
+    }
+
+    @Override
+    public Object getSensorMetadataCopy(Integer sensorID) throws ConfigurationException {
+        final Object sml = getSensorMetadata(sensorID);
+        if (sml != null) {
+            try {
+                return unmarshallSensor(marshallSensor(sml));
+            } catch (JAXBException | IOException ex) {
+                throw new ConfigurationException(ex);
+            }
+        }
+        return null;
+    }
+
     @Override
     public void updateSensorMetadata(String sensorID, Object sensorMetadata) throws ConfigurationException {
         final Integer sensor = sensorRepository.findIdByIdentifier(sensorID);
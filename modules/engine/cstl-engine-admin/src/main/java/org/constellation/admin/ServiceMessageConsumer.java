@@ -81,6 +81,7 @@ public class ServiceMessageConsumer extends MessageListener{
         switch(action){
             case SRV_VALUE_ACTION_START : return start(message);
             case SRV_VALUE_ACTION_STOP : return stop(message);
+            case SRV_VALUE_ACTION_RESTART : return restart(message);
             case SRV_VALUE_ACTION_REFRESH : return refresh(message);
             case SRV_VALUE_ACTION_STATUS : return status(message);
             case SRV_VALUE_ACTION_CLEAR_CACHE : return clearCache(message);
@@ -112,6 +113,34 @@ public class ServiceMessageConsumer extends MessageListener{
         return null;
     }
 
+    /**
+     * Build the new worker first, then replace the running one (if any) which is destroyed afterward.
+     * The running worker keeps serving the requests while the new one is built, and is kept if the build fails.
+     */
+    private ClusterMessage restart(ClusterMessage message) throws ConfigurationException, MessageException {
+        final String serviceType = message.getString(SRV_KEY_TYPE,false);
+        final String serviceId = message.getString(KEY_IDENTIFIER,false);
+
+        if (serviceId == null || serviceId.isEmpty()) {
+            throw new ConfigurationException("Service instance identifier can't be null or empty.");
+        }
+        try {
+            final Worker worker = wsengine.buildWorker(serviceType, serviceId);
+            if (worker != null) {
+                wsengine.addServiceInstance(serviceType, serviceId, worker);
+                if (!worker.isStarted()) {
+                    throw new ConfigurationException("service "+serviceId+" start failed.");
+                }
+            } else {
+                throw new ConfigurationException("The instance " + serviceId + " can not be instanciated.");
+            }
+        } catch (IllegalArgumentException | ConstellationException ex) {
+            throw new ConfigurationException(ex.getMessage(), ex);
+        }
+
+        return null;
+    }
+
     private ClusterMessage stop(ClusterMessage message) throws ConfigurationException, MessageException {
         final String serviceType = message.getString(SRV_KEY_TYPE,false);
         final String serviceId = message.getString(KEY_IDENTIFIER,false);
@@ -184,6 +213,7 @@ public class ServiceMessageConsumer extends MessageListener{
         if (worker != null) {
             worker.refreshUpdateSequence();
             worker.clearCapabilitiesCache();
+            worker.clearLayerCaches();
         }
         return null;
     }
@@ -377,6 +377,7 @@ public class StyleBusiness implements IStyleBusiness {
             s.setBody(sw.toString());
             s.setType(getTypeFromMutableStyle((MutableStyle) style));
             styleRepository.update(s);
+            clearLinkedServiceCaches(id);
         } else {
             throw new TargetNotFoundException("Style with identifier \"" + id + "\" does not exist.");
         }
@@ -428,6 +429,7 @@ public class StyleBusiness implements IStyleBusiness {
             s.setBody(sw.toString());
             s.setType(getTypeFromMutableStyle(style));
             styleRepository.update(s);
+            clearLinkedServiceCaches(s.getId());
             return s;
         } else {
             Integer userId = userBusiness.findOne(securityManager.getCurrentUserLogin()).map((CstlUser input) -> input.getId()).orElse(null);
@@ -443,6 +445,29 @@ public class StyleBusiness implements IStyleBusiness {
         }
     }
 
+    /**
+     * Send a clear cache event to the services publishing a layer with the specified style,
+     * so their rendered images and legends are refreshed.
+     *
+     * @param styleId the updated style identifier
+     */
+    private void clearLinkedServiceCaches(final int styleId) {
+        final Set<Integer> serviceIds = new HashSet<>();
+        for (org.constellation.dto.Layer layer : layerRepository.getLayersByLinkedStyle(styleId)) {
+            serviceIds.add(layer.getService());
+        }
+        for (Integer serviceId : serviceIds) {
+            final org.constellation.dto.service.Service service = serviceRepository.findById(serviceId);
+            if (service != null) {
+                final ClusterMessage request = clusterBusiness.createRequest(SRV_MESSAGE_TYPE_ID,false);
+                request.put(KEY_ACTION, SRV_VALUE_ACTION_CLEAR_CACHE);
+                request.put(SRV_KEY_TYPE, service.getType());
+                request.put(KEY_IDENTIFIER, service.getIdentifier());
+                clusterBusiness.publish(request);
+            }
+        }
+    }
+
     @Override
     @Transactional
     public void linkToLayer(int styleId, int layerId) throws ConfigurationException {
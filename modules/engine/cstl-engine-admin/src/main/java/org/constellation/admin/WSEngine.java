@@ -21,7 +21,6 @@ package org.constellation.admin;
 import org.apache.sis.util.logging.Logging;
 
 import java.util.AbstractMap;
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -29,6 +28,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import javax.inject.Inject;
@@ -56,20 +57,27 @@ public class WSEngine implements IWSEngine {
 
     /**
      * A map of service worker.
+     *
+     * The request dispatch ({@link #getInstance(String, String)}) only reads these maps and never blocks.
+     * The workers are destroyed after being removed or replaced in the map, outside of any lock,
+     * so a slow destruction does not delay the other services.
+     *
+     * The maps of a specification are only created, filled or removed through the atomic operations of this map,
+     * so a worker added during {@link #destroyInstances(String)} is either destroyed with the others or kept in a new map.
      */
-    private final Map<String, Map<String, Worker>> WORKERS_MAP = new HashMap<>();
+    private final Map<String, Map<String, Worker>> WORKERS_MAP = new ConcurrentHashMap<>();
 
     /**
      * A map of the registred OGC services and their endpoint protocols (SOAP, REST).
      */
-    private final Map<String, List<String>> REGISTERED_SERVICE = new HashMap<>();
+    private final Map<String, CopyOnWriteArrayList<String>> REGISTERED_SERVICE = new ConcurrentHashMap<>();
 
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public synchronized Map<String, Worker> getWorkersMap(final String specification) {
+    public Map<String, Worker> getWorkersMap(final String specification) {
         final Map<String, Worker> result = WORKERS_MAP.get(specification.toLowerCase());
         if (result == null) {
             return new HashMap<>();
@@ -81,7 +89,7 @@ public class WSEngine implements IWSEngine {
      * {@inheritDoc}
      */
     @Override
-    public synchronized int getInstanceSize(final String specification) {
+    public int getInstanceSize(final String specification) {
         final Map<String, Worker> workersMap = WORKERS_MAP.get(specification.toLowerCase());
         if (workersMap != null) {
             return workersMap.size();
@@ -93,7 +101,7 @@ public class WSEngine implements IWSEngine {
      * {@inheritDoc}
      */
     @Override
-    public synchronized boolean serviceInstanceExist(final String specification, final String serviceID) {
+    public boolean serviceInstanceExist(final String specification, final String serviceID) {
         final Map<String, Worker> workersMap = WORKERS_MAP.get(specification.toLowerCase());
         if (workersMap != null) {
             return workersMap.containsKey(serviceID);
@@ -105,10 +113,10 @@ public class WSEngine implements IWSEngine {
      * {@inheritDoc}
      */
     @Override
-    public synchronized Set<String> getInstanceNames(final String specification) {
+    public Set<String> getInstanceNames(final String specification) {
         final Map<String, Worker> workersMap = WORKERS_MAP.get(specification.toLowerCase());
         if (workersMap != null) {
-            return workersMap.keySet();
+            return new HashSet<>(workersMap.keySet());
         }
         return Collections.EMPTY_SET;
     }
@@ -117,7 +125,7 @@ public class WSEngine implements IWSEngine {
      * {@inheritDoc}
      */
     @Override
-    public synchronized Worker getInstance(final String specification, final String serviceID) {
+    public Worker getInstance(final String specification, final String serviceID) {
         final Map<String, Worker> workersMap = WORKERS_MAP.get(specification.toLowerCase());
         if (workersMap != null) {
             return workersMap.get(serviceID);
@@ -129,7 +137,7 @@ public class WSEngine implements IWSEngine {
      * {@inheritDoc}
      */
     @Override
-    public synchronized void destroyInstances(final String specification) {
+    public void destroyInstances(final String specification) {
         final Map<String, Worker> workersMap = WORKERS_MAP.remove(specification.toLowerCase());
         if (workersMap != null) {
             for (final Worker worker : workersMap.values()) {
@@ -143,23 +151,29 @@ public class WSEngine implements IWSEngine {
      * {@inheritDoc}
      */
     @Override
-    public synchronized boolean isSetService(final String specification) {
+    public boolean isSetService(final String specification) {
         final Map<String, Worker> workersMap = WORKERS_MAP.get(specification.toLowerCase());
         return workersMap != null;
     }
 
     /**
      * {@inheritDoc}
+     *
+     * The new worker replaces the old one atomically, the old worker keep serving the requests
+     * until this point and is destroyed afterward.
      */
     @Override
-    public synchronized void addServiceInstance(final String specification, final String serviceID, final Worker instance) {
-        Map<String, Worker> workersMap = WORKERS_MAP.get(specification.toLowerCase());
-        if (workersMap == null) {
-            workersMap = new HashMap<>();
-            WORKERS_MAP.put(specification.toLowerCase(), workersMap);
-        }
-        final Worker oldWorker = workersMap.put(serviceID, instance);
-        if (oldWorker != null) {
+    public void addServiceInstance(final String specification, final String serviceID, final Worker instance) {
+        final Worker[] replaced = new Worker[1];
+        WORKERS_MAP.compute(specification.toLowerCase(), (k, workersMap) -> {
+            if (workersMap == null) {
+                workersMap = new ConcurrentHashMap<>();
+            }
+            replaced[0] = workersMap.put(serviceID, instance);
+            return workersMap;
+        });
+        final Worker oldWorker = replaced[0];
+        if (oldWorker != null && oldWorker != instance) {
             LOGGER.log(Level.INFO, "Destroying old worker: {0}({1})", new Object[]{specification.toLowerCase(), serviceID});
             oldWorker.destroy();
         }
@@ -169,7 +183,7 @@ public class WSEngine implements IWSEngine {
      * {@inheritDoc}
      */
     @Override
-    public synchronized Set<Entry<String, Boolean>> getEntriesStatus(final String specification) {
+    public Set<Entry<String, Boolean>> getEntriesStatus(final String specification) {
         final Set<Map.Entry<String, Boolean>> response = new HashSet<>();
         final Map<String, Worker> workersMap = WORKERS_MAP.get(specification.toLowerCase());
         if (workersMap != null) {
@@ -180,14 +194,15 @@ public class WSEngine implements IWSEngine {
         return response;
     }
 
-    public synchronized void shutdownInstance(final String specification, final String serviceID) {
-        final Map<String, Worker> workersMap = WORKERS_MAP.get(specification.toLowerCase());
-        if (workersMap != null) {
-            final Worker worker = workersMap.get(serviceID);
-            if (worker != null) {
-                worker.destroy();
-                workersMap.remove(serviceID);
-            }
+    public void shutdownInstance(final String specification, final String serviceID) {
+        final Worker[] removed = new Worker[1];
+        // removed before being destroyed, so the new requests do not reach a destroyed worker.
+        WORKERS_MAP.computeIfPresent(specification.toLowerCase(), (k, workersMap) -> {
+            removed[0] = workersMap.remove(serviceID);
+            return workersMap;
+        });
+        if (removed[0] != null) {
+            removed[0].destroy();
         }
     }
 
@@ -196,17 +211,7 @@ public class WSEngine implements IWSEngine {
      */
     @Override
     public void registerService(final String specification, final String protocol) {
-        if (REGISTERED_SERVICE.containsKey(specification.toLowerCase())) {
-            final List<String> protocols = REGISTERED_SERVICE.get(specification.toLowerCase());
-            if (!protocols.contains(protocol)) {
-                protocols.add(protocol);
-            }
-            REGISTERED_SERVICE.put(specification.toLowerCase(), protocols);
-        } else {
-            final List<String> protocols = new ArrayList<>();
-            protocols.add(protocol);
-            REGISTERED_SERVICE.put(specification.toLowerCase(), protocols);
-        }
+        REGISTERED_SERVICE.computeIfAbsent(specification.toLowerCase(), k -> new CopyOnWriteArrayList<>()).addIfAbsent(protocol);
     }
 
     /**
@@ -214,7 +219,7 @@ public class WSEngine implements IWSEngine {
      */
     @Override
     public Map<String, List<String>> getRegisteredServices() {
-        return new HashMap<>(REGISTERED_SERVICE);
+        return new HashMap<String, List<String>>(REGISTERED_SERVICE);
     }
 
     /**
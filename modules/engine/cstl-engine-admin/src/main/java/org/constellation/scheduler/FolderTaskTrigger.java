@@ -0,0 +1,234 @@
+/*
+ *    Constellation - An open source and standard compliant SDI
+ *    http://www.constellation-sdi.org
+ *
+ * Copyright 2019 Geomatys.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.constellation.scheduler;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.apache.sis.util.logging.Logging;
+import org.constellation.exception.ConstellationException;
+import org.geotoolkit.nio.PathChangeListener;
+import org.geotoolkit.nio.PathChangedEvent;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+
+/**
+ * Launch the task parameters triggered by the changes in watched folders.
+ *
+ * The changes are collected by task parameter, and the task is launched once no change occurred during
+ * the quiet period, with the collected paths. A task parameter has at most one running execution: the
+ * changes occurring meanwhile are collected for the next execution, launched when the current one ends.
+ */
+public class FolderTaskTrigger implements PathChangeListener {
+
+    private static final Logger LOGGER = Logging.getLogger("org.constellation.scheduler");
+
+    /**
+     * Name of the process input receiving the changed paths, if the process declares it.
+     */
+    public static final String CHANGED_PATHS = "changed_paths";
+
+    /**
+     * Launch a task parameter for a batch of changed paths.
+     */
+    public interface Launcher {
+
+        /**
+         * @param taskParameterId the task parameter to execute.
+         * @param changes the paths created or modified since the previous execution.
+         * @param onEnd to be called when the execution ends, whatever its result. Only the first call is considered.
+         */
+        void launch(Integer taskParameterId, List<Path> changes, Runnable onEnd) throws ConstellationException;
+    }
+
+    /**
+     * Task parameter identifiers by watched folder.
+     */
+    private final Map<Path, Set<Integer>> folders = new ConcurrentHashMap<>();
+
+    private final Map<Integer, TriggerState> states = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService executor;
+
+    private final long quietPeriod;
+
+    private final Launcher launcher;
+
+    /**
+     * @param quietPeriod delay in milliseconds without change before launching a task.
+     * @param launcher the task launcher.
+     */
+    public FolderTaskTrigger(final long quietPeriod, final Launcher launcher) {
+        this.quietPeriod = quietPeriod;
+        this.launcher    = launcher;
+        this.executor    = Executors.newSingleThreadScheduledExecutor(r -> {
+            final Thread t = new Thread(r, "folder-task-trigger");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Launch the task parameter on the changes in the specified folder and its sub-folders.
+     */
+    public void register(final Integer taskParameterId, final Path folder) {
+        folders.computeIfAbsent(folder, k -> ConcurrentHashMap.newKeySet()).add(taskParameterId);
+        states.putIfAbsent(taskParameterId, new TriggerState());
+    }
+
+    /**
+     * Stop watching the folder of the task parameter. The collected changes are discarded.
+     */
+    public void unregister(final Integer taskParameterId) {
+        for (Set<Integer> ids : folders.values()) {
+            ids.remove(taskParameterId);
+        }
+        folders.values().removeIf(Set::isEmpty);
+        final TriggerState state = states.remove(taskParameterId);
+        if (state != null) {
+            synchronized (state) {
+                state.changes.clear();
+                if (state.timer != null) {
+                    state.timer.cancel(false);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void pathChanged(final PathChangedEvent event) {
+        if (event.kind.equals(ENTRY_MODIFY) || event.kind.equals(ENTRY_CREATE)) {
+            changed(event.target);
+        }
+    }
+
+    /**
+     * Collect a created or modified path for the task parameters watching one of its parent folders.
+     */
+    void changed(final Path target) {
+        for (Path folder = target; folder != null; folder = folder.getParent()) {
+            final Set<Integer> ids = folders.get(folder);
+            if (ids != null) {
+                for (Integer id : ids) {
+                    changed(id, target);
+                }
+            }
+        }
+    }
+
+    /**
+     * Collect a change and restart the quiet period of the task parameter.
+     */
+    private void changed(final Integer taskParameterId, final Path target) {
+        final TriggerState state = states.get(taskParameterId);
+        if (state != null) {
+            synchronized (state) {
+                state.changes.add(target);
+                schedule(taskParameterId, state);
+            }
+        }
+    }
+
+    /**
+     * (Re)start the quiet period of a task parameter, must be called with the state lock.
+     */
+    private void schedule(final Integer taskParameterId, final TriggerState state) {
+        if (state.timer != null) {
+            state.timer.cancel(false);
+        }
+        state.timer = executor.schedule(() -> fire(taskParameterId), quietPeriod, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Launch the task parameter with the collected changes, unless it is already running.
+     */
+    private void fire(final Integer taskParameterId) {
+        final TriggerState state = states.get(taskParameterId);
+        if (state == null) {
+            return;
+        }
+        final List<Path> changes;
+        synchronized (state) {
+            state.timer = null;
+            // the changes stay pending until the end of the running execution
+            if (state.running || state.changes.isEmpty()) {
+                return;
+            }
+            changes = new ArrayList<>(state.changes);
+            state.changes.clear();
+            state.running = true;
+        }
+        LOGGER.log(Level.INFO, "Launch task parameter {0} for {1} changed path(s)", new Object[]{taskParameterId, changes.size()});
+        // the end may be reported more than once, it must not release a later execution
+        final AtomicBoolean released = new AtomicBoolean();
+        final Runnable onEnd = () -> {
+            if (released.compareAndSet(false, true)) {
+                ended(taskParameterId, state);
+            }
+        };
+        try {
+            launcher.launch(taskParameterId, changes, onEnd);
+        } catch (ConstellationException | RuntimeException ex) {
+            LOGGER.log(Level.WARNING, ex.getMessage(), ex);
+            onEnd.run();
+        }
+    }
+
+    /**
+     * Release the task parameter, and launch it again if changes occurred during the execution.
+     */
+    private void ended(final Integer taskParameterId, final TriggerState state) {
+        synchronized (state) {
+            state.running = false;
+            if (!state.changes.isEmpty() && state.timer == null && !executor.isShutdown()) {
+                schedule(taskParameterId, state);
+            }
+        }
+    }
+
+    /**
+     * Stop launching the tasks, the collected changes are discarded.
+     */
+    public void close() {
+        executor.shutdownNow();
+        folders.clear();
+        states.clear();
+    }
+
+    /**
+     * Changes and execution state of a task parameter.
+     */
+    private static final class TriggerState {
+        private final Set<Path> changes = new LinkedHashSet<>();
+        private ScheduledFuture<?> timer;
+        private boolean running;
+    }
+}
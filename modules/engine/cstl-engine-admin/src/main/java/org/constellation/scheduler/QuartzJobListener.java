@@ -24,6 +24,14 @@ import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -46,9 +54,12 @@ import org.quartz.JobListener;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import java.util.UUID;
 import org.constellation.api.CstlJobListener;
+import org.constellation.configuration.AppProperty;
+import org.constellation.configuration.Application;
 import org.constellation.exception.ConstellationException;
 import org.geotoolkit.processing.quartz.ProcessJob;
 import org.geotoolkit.processing.quartz.ProcessJobDetail;
+import static org.geotoolkit.processing.quartz.ProcessJob.KEY_PROCESS;
 import org.springframework.transaction.TransactionStatus;
 import org.springframework.transaction.support.TransactionCallback;
 
@@ -66,9 +77,55 @@ public class QuartzJobListener implements JobListener, CstlJobListener {
     public static final String PROPERTY_TASK = "task";
     private IProcessBusiness processBusiness;
 
+    private final TaskUpdater updater = new TaskUpdater(Application.getLongProperty(AppProperty.EXA_TASK_PROGRESS_RATE, 1000L));
+
+    /**
+     * Actions to run when the job executing a process ends, by process.
+     */
+    private final Map<org.geotoolkit.process.Process, Runnable> endCallbacks = new ConcurrentHashMap<>();
+
     public QuartzJobListener() {
     }
 
+    /**
+     * Run an action when the job executing the process ends, whatever its result: completed, failed,
+     * interrupted or vetoed. The jobs scheduled now are fired at once after a misfire, so they always end.
+     *
+     * @param process a process not yet scheduled.
+     * @param onEnd the action to run.
+     */
+    public void addEndCallback(final org.geotoolkit.process.Process process, final Runnable onEnd) {
+        endCallbacks.put(process, onEnd);
+    }
+
+    /**
+     * Discard the end action of a process, when its scheduling failed.
+     */
+    public void removeEndCallback(final org.geotoolkit.process.Process process) {
+        endCallbacks.remove(process);
+    }
+
+    private void jobEnded(final JobExecutionContext jec) {
+        final Object process = jec.getJobDetail().getJobDataMap().get(KEY_PROCESS);
+        if (process != null) {
+            final Runnable onEnd = endCallbacks.remove(process);
+            if (onEnd != null) {
+                try {
+                    onEnd.run();
+                } catch (RuntimeException ex) {
+                    LOGGER.log(Level.WARNING, "Error while ending job " + jec.getJobDetail().getKey(), ex);
+                }
+            }
+        }
+    }
+
+    /**
+     * Write the pending task progressions and stop the task updater.
+     */
+    public void close() {
+        updater.close();
+    }
+
     ////////////////////////////////////////////////////////////////////////////
     // Quartz listener /////////////////////////////////////////////////////////
     ////////////////////////////////////////////////////////////////////////////
@@ -106,7 +163,7 @@ public class QuartzJobListener implements JobListener, CstlJobListener {
                     LOGGER.log(Level.WARNING, ex.getMessage(), ex);
                 }
 
-                final ProcessListener listener = new StateListener(taskEntity.getIdentifier(), quartzTask.getTitle() );
+                final ProcessListener listener = new StateListener(taskEntity.getIdentifier(), quartzTask.getTitle(), updater);
                 pj.addListener(listener);
                 LOGGER.log(Level.INFO, "Run task "+taskEntity.getIdentifier());
                 return null;
@@ -116,13 +173,24 @@ public class QuartzJobListener implements JobListener, CstlJobListener {
 
     @Override
     public void jobExecutionVetoed(JobExecutionContext jec) {
-        System.out.println("veto");
+        LOGGER.log(Level.INFO, "Job execution vetoed: {0}", jec.getJobDetail().getKey());
+        jobEnded(jec);
     }
 
     @Override
     public void jobWasExecuted(JobExecutionContext jec, JobExecutionException jee) {
+       try {
+           taskExecuted(jec, jee);
+       } finally {
+           jobEnded(jec);
+       }
+    }
+
+    private void taskExecuted(JobExecutionContext jec, JobExecutionException jee) {
        if (jee != null) {
             LOGGER.warning("Error after job execution:" + jee.getMessage());
+            // write the buffered progressions before the failure
+            updater.flush();
             final ProcessJobDetail detail = (ProcessJobDetail) jec.getJobDetail();
             final ProcessJob pj = (ProcessJob) jec.getJobInstance();
             final QuartzTask quartzTask = (QuartzTask) detail.getJobDataMap().get(QuartzJobListener.PROPERTY_TASK);
@@ -181,131 +249,149 @@ public class QuartzJobListener implements JobListener, CstlJobListener {
 
         private final String title;
         private final Task taskEntity;
+        private final TaskUpdater updater;
         private IProcessBusiness processBusiness;
 
         /** Used to store eventual warnings process could send us. */
         private final ArrayList<ProcessEvent> warnings = new ArrayList<>();
 
-        public StateListener(String taskId, String title) {
+        /** Last output sent with a progression, serialized with the next state transition. */
+        private ParameterValueGroup output;
+
+        public StateListener(String taskId, String title, TaskUpdater updater) {
             if (processBusiness == null) {
                 this.processBusiness = SpringHelper.getBean(IProcessBusiness.class);
             }
             this.taskEntity = processBusiness.getTask(taskId);
             this.title = title;
+            this.updater = updater;
         }
 
         @Override
         public void started(ProcessEvent event) {
-            taskEntity.setState(TaskState.RUNNING.name());
-            taskEntity.setDateStart(System.currentTimeMillis());
-            taskEntity.setMessage(toString(event.getTask()));
-            roundProgression(event);
-            updateTask(taskEntity);
+            synchronized (this) {
+                taskEntity.setState(TaskState.RUNNING.name());
+                taskEntity.setDateStart(System.currentTimeMillis());
+                taskEntity.setMessage(toString(event.getTask()));
+                roundProgression(event);
+            }
+            updater.update(this);
         }
 
         @Override
         public void progressing(ProcessEvent event) {
-            taskEntity.setState(TaskState.RUNNING.name());
-            taskEntity.setMessage(toString(event.getTask()));
-            roundProgression(event);
+            synchronized (this) {
+                taskEntity.setState(TaskState.RUNNING.name());
+                taskEntity.setMessage(toString(event.getTask()));
+                roundProgression(event);
 
-            ParameterValueGroup output = event.getOutput();
-            if (output != null) {
-                try {
-                    taskEntity.setTaskOutput(ParamUtilities.writeParameterJSON(output));
-                } catch (JsonProcessingException e) {
-                    LOGGER.log(Level.WARNING, "Process output serialization failed", e);
+                if (event.getOutput() != null) {
+                    output = event.getOutput();
                 }
-            }
 
-            if (event.getException() != null) {
-                warnings.add(event);
+                if (event.getException() != null) {
+                    warnings.add(event);
+                }
             }
-
-            updateTask(taskEntity);
+            updater.progressed(this);
         }
 
         @Override
         public void paused(ProcessEvent event) {
-            taskEntity.setState(TaskState.PAUSED.name());
-            taskEntity.setMessage(toString(event.getTask()));
-            roundProgression(event);
-            updateTask(taskEntity);
+            synchronized (this) {
+                taskEntity.setState(TaskState.PAUSED.name());
+                taskEntity.setMessage(toString(event.getTask()));
+                roundProgression(event);
+                writeOutput();
+            }
+            updater.update(this);
         }
 
         @Override
         public void resumed(ProcessEvent event) {
-            taskEntity.setState(TaskState.RUNNING.name());
-            taskEntity.setMessage(toString(event.getTask()));
-            roundProgression(event);
-            updateTask(taskEntity);
+            synchronized (this) {
+                taskEntity.setState(TaskState.RUNNING.name());
+                taskEntity.setMessage(toString(event.getTask()));
+                roundProgression(event);
+            }
+            updater.update(this);
         }
 
         @Override
         public void completed(ProcessEvent event) {
-            taskEntity.setDateEnd(System.currentTimeMillis());
-            taskEntity.setMessage(toString(event.getTask()));
-            roundProgression(event);
+            synchronized (this) {
+                taskEntity.setDateEnd(System.currentTimeMillis());
+                taskEntity.setMessage(toString(event.getTask()));
+                roundProgression(event);
 
-            ParameterValueGroup output = event.getOutput();
-            if (output != null) {
-                try {
-                    taskEntity.setTaskOutput(ParamUtilities.writeParameterJSON(output));
-                } catch (JsonProcessingException e) {
-                    LOGGER.log(Level.WARNING, "Process output serialization failed", e);
+                if (event.getOutput() != null) {
+                    output = event.getOutput();
+                }
+                writeOutput();
+
+                // If a warning occurred, send exception to the user.
+                if (!warnings.isEmpty()) {
+                    taskEntity.setState(TaskState.WARNING.name());
+                    taskEntity.setMessage(processWarningMessage());
+                } else {
+                    taskEntity.setState(TaskState.SUCCEED.name());
                 }
             }
-
-            // If a warning occurred, send exception to the user.
-            if (!warnings.isEmpty()) {
-                taskEntity.setState(TaskState.WARNING.name());
-                taskEntity.setMessage(processWarningMessage());
-            } else {
-                taskEntity.setState(TaskState.SUCCEED.name());
-            }
-
-            updateTask(taskEntity);
+            updater.update(this);
         }
 
 
         @Override
         public void failed(ProcessEvent event) {
-            taskEntity.setState(TaskState.FAILED.name());
-            taskEntity.setDateEnd(System.currentTimeMillis());
-
-            final Exception exception = event.getException();
-            final String exceptionStr = printException(exception);
-            taskEntity.setMessage(toString(event.getTask()) + " cause : " + exceptionStr);
-            //taskEntity.setProgress((double) event.getProgress());
-            updateTask(taskEntity);
+            synchronized (this) {
+                taskEntity.setState(TaskState.FAILED.name());
+                taskEntity.setDateEnd(System.currentTimeMillis());
+
+                final Exception exception = event.getException();
+                final String exceptionStr = printException(exception);
+                taskEntity.setMessage(toString(event.getTask()) + " cause : " + exceptionStr);
+                //taskEntity.setProgress((double) event.getProgress());
+                writeOutput();
+            }
+            updater.update(this);
         }
 
         @Override
         public void dismissed(ProcessEvent event) {
-            taskEntity.setState(TaskState.CANCELLED.name());
-            taskEntity.setDateEnd(System.currentTimeMillis());
-
-            final Exception exception = event.getException();
-            final String exceptionStr = printException(exception);
-            taskEntity.setMessage(toString(event.getTask()) + " cause : " + exceptionStr);
-            //taskEntity.setProgress((double) event.getProgress());
-            updateTask(taskEntity);
+            synchronized (this) {
+                taskEntity.setState(TaskState.CANCELLED.name());
+                taskEntity.setDateEnd(System.currentTimeMillis());
+
+                final Exception exception = event.getException();
+                final String exceptionStr = printException(exception);
+                taskEntity.setMessage(toString(event.getTask()) + " cause : " + exceptionStr);
+                //taskEntity.setProgress((double) event.getProgress());
+                writeOutput();
+            }
+            updater.update(this);
         }
 
-        private void updateTask(Task taskEntity) {
-            if (processBusiness == null) {
-                this.processBusiness = SpringHelper.getBean(IProcessBusiness.class);
-            }
-            try {
-                //update in database
-                processBusiness.updateTask(taskEntity);
-            } catch (ConstellationException ex) {
-                LOGGER.log(Level.WARNING, ex.getMessage(), ex);
+        /**
+         * Serialize the last output received, if any.
+         */
+        private void writeOutput() {
+            if (output != null) {
+                try {
+                    taskEntity.setTaskOutput(ParamUtilities.writeParameterJSON(output));
+                } catch (JsonProcessingException e) {
+                    LOGGER.log(Level.WARNING, "Process output serialization failed", e);
+                }
+                output = null;
             }
+        }
 
-            //send event
-            final TaskStatus taskStatus = new TaskStatus(taskEntity, title);
-            SpringHelper.sendEvent(taskStatus);
+        /**
+         * @return A copy of the current state of the task, to be written in database.
+         */
+        private synchronized Task snapshot() {
+            return new Task(taskEntity.getIdentifier(), taskEntity.getState(), taskEntity.getType(), taskEntity.getDateStart(),
+                    taskEntity.getDateEnd(), taskEntity.getOwner(), taskEntity.getMessage(), taskEntity.getTaskParameterId(),
+                    taskEntity.getProgress(), taskEntity.getTaskOutput());
         }
 
         /**
@@ -352,4 +438,86 @@ public class QuartzJobListener implements JobListener, CstlJobListener {
         }
 
     }
+
+    /**
+     * Write the task updates in database and send the task events.
+     *
+     * The state transitions are written at once. The progressions are buffered, and the progressions
+     * of all the running tasks are written together in one transaction at a fixed rate.
+     */
+    private static final class TaskUpdater {
+
+        /** Tasks progressing since the last write. */
+        private final Set<StateListener> pending = ConcurrentHashMap.newKeySet();
+
+        private final ScheduledExecutorService executor;
+
+        private IProcessBusiness processBusiness;
+
+        private TaskUpdater(final long rate) {
+            executor = Executors.newSingleThreadScheduledExecutor(r -> {
+                final Thread t = new Thread(r, "task-progress-writer");
+                t.setDaemon(true);
+                return t;
+            });
+            executor.scheduleWithFixedDelay(this::flush, rate, rate, TimeUnit.MILLISECONDS);
+        }
+
+        private void progressed(final StateListener listener) {
+            pending.add(listener);
+        }
+
+        /**
+         * Write a state transition of a task, replacing its buffered progression.
+         */
+        private synchronized void update(final StateListener listener) {
+            pending.remove(listener);
+            write(Collections.singletonList(listener));
+        }
+
+        /**
+         * Write the buffered progressions.
+         */
+        private synchronized void flush() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            final List<StateListener> listeners = new ArrayList<>(pending);
+            pending.removeAll(listeners);
+            try {
+                write(listeners);
+            } catch (RuntimeException ex) {
+                LOGGER.log(Level.WARNING, "Error while writing the task progressions", ex);
+            }
+        }
+
+        private void write(final List<StateListener> listeners) {
+            if (processBusiness == null) {
+                processBusiness = SpringHelper.getBean(IProcessBusiness.class);
+            }
+            final List<Task> tasks = new ArrayList<>(listeners.size());
+            final List<TaskStatus> events = new ArrayList<>(listeners.size());
+            for (StateListener listener : listeners) {
+                final Task task = listener.snapshot();
+                tasks.add(task);
+                events.add(new TaskStatus(task, listener.title));
+            }
+            try {
+                //update in database
+                processBusiness.updateTasks(tasks);
+            } catch (ConstellationException ex) {
+                LOGGER.log(Level.WARNING, ex.getMessage(), ex);
+            }
+
+            //send events
+            for (TaskStatus taskStatus : events) {
+                SpringHelper.sendEvent(taskStatus);
+            }
+        }
+
+        private void close() {
+            executor.shutdown();
+            flush();
+        }
+    }
 }
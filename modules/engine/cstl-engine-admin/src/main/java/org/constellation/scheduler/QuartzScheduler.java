@@ -43,6 +43,7 @@ import org.quartz.JobKey;
 import org.quartz.JobListener;
 import org.quartz.Scheduler;
 import org.quartz.SchedulerException;
+import org.quartz.SimpleScheduleBuilder;
 import org.quartz.Trigger;
 import org.quartz.TriggerBuilder;
 import org.quartz.UnableToInterruptJobException;
@@ -111,10 +112,20 @@ public class QuartzScheduler implements CstlScheduler {
         }
     }
 
+    /**
+     * A trigger firing once, now. After a misfire the job is fired at once instead of being discarded,
+     * so the end of the job is always reported to the job listeners.
+     */
+    private static Trigger createNowTrigger() {
+        return TriggerBuilder.newTrigger()
+                .startNow()
+                .withSchedule(SimpleScheduleBuilder.simpleSchedule().withMisfireHandlingInstructionFireNow())
+                .build();
+    }
+
     @Override
     public void scheduleJobNow(String title, Integer taskParameterId, Integer userId, Callable<ParameterValueGroup> process) throws ConstellationSchedulerException {
-        final TriggerBuilder tb = TriggerBuilder.newTrigger();
-        final Trigger trigger = tb.startNow().build();
+        final Trigger trigger = createNowTrigger();
 
         final ProcessJobDetail detail = new QuartzProcessJobDetails((org.geotoolkit.process.Process) process);
 
@@ -141,8 +152,7 @@ public class QuartzScheduler implements CstlScheduler {
 
     @Override
     public void scheduleJobNow(String title, Integer taskParameterId, Integer userId, TaskParameter taskParameter) throws ConstellationSchedulerException {
-        final TriggerBuilder tb = TriggerBuilder.newTrigger();
-        final Trigger trigger = tb.startNow().build();
+        final Trigger trigger = createNowTrigger();
 
         final ProcessJobDetail detail = createJobDetailFromTaskParameter(taskParameter, true);
 
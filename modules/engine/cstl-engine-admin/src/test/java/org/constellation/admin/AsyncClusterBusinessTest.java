@@ -0,0 +1,230 @@
+/*
+ *    Constellation - An open source and standard compliant SDI
+ *    http://www.constellation-sdi.org
+ *
+ * Copyright 2019 Geomatys.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.constellation.admin;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Consumer;
+import org.constellation.business.ClusterMessage;
+import static org.constellation.business.ClusterMessageConstant.KEY_ACTION;
+import static org.constellation.business.ClusterMessageConstant.KEY_IDENTIFIER;
+import org.constellation.business.IClusterBusiness;
+import org.constellation.business.MessageListener;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Run several cluster members in the same JVM.
+ */
+public class AsyncClusterBusinessTest {
+
+    private static final String TYPE = "test";
+
+    private InMemoryClusterTransport transport;
+    private AsyncClusterBusiness node1;
+    private AsyncClusterBusiness node2;
+
+    @Before
+    public void setUp() {
+        transport = new InMemoryClusterTransport();
+        node1 = new AsyncClusterBusiness(transport, 2, 100, 1000);
+        node2 = new AsyncClusterBusiness(transport, 2, 100, 1000);
+    }
+
+    @After
+    public void tearDown() {
+        node1.close();
+        node2.close();
+    }
+
+    @Test
+    public void membershipTest() {
+        Assert.assertEquals(2, node1.getMemberSize());
+        Assert.assertEquals(2, node2.getMemberSize());
+        Assert.assertNotEquals(node1.getMemberUID(), node2.getMemberUID());
+
+        node2.close();
+        Assert.assertEquals(1, node1.getMemberSize());
+        Assert.assertEquals(1, transport.getMemberUIDs().size());
+    }
+
+    @Test
+    public void asyncDeliveryTest() throws Exception {
+        final CountDownLatch received = new CountDownLatch(2);
+        final CountDownLatch release  = new CountDownLatch(1);
+        node1.addMessageListener(new Listener(node1, m -> received.countDown()));
+        node2.addMessageListener(new Listener(node2, m -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            received.countDown();
+        }));
+
+        node1.publish(node1.createRequest(TYPE, false));
+
+        // the publisher is not blocked by the slow listener of the other member
+        Assert.assertTrue(received.getCount() > 0);
+        release.countDown();
+        Assert.assertTrue(received.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void requestResponseTest() {
+        node1.addMessageListener(new Listener(node1, m -> {}));
+        node2.addMessageListener(new Listener(node2, m -> {}));
+
+        final List<String> responders = new CopyOnWriteArrayList<>();
+        node1.publishAndWait(node1.createRequest(TYPE, true), 5, TimeUnit.SECONDS, m -> responders.add(m.getMemberUID()));
+
+        Assert.assertEquals(2, responders.size());
+        Assert.assertTrue(responders.contains(node1.getMemberUID()));
+        Assert.assertTrue(responders.contains(node2.getMemberUID()));
+    }
+
+    /**
+     * The messages on the same object are delivered in their publication order.
+     */
+    @Test
+    public void orderedDeliveryTest() throws Exception {
+        final int nbMessages = 200;
+        final CountDownLatch received = new CountDownLatch(nbMessages);
+        final List<Integer> order = new CopyOnWriteArrayList<>();
+        node2.addMessageListener(new Listener(node2, m -> {
+            if ("service1".equals(m.get(KEY_IDENTIFIER))) {
+                order.add((Integer) m.get(KEY_ACTION));
+                received.countDown();
+            }
+        }));
+        for (int i = 0; i < nbMessages; i++) {
+            final ClusterMessage message = node1.createRequest(TYPE, false);
+            message.put(KEY_IDENTIFIER, "service1");
+            message.put(KEY_ACTION, i);
+            node1.publish(message);
+            // other objects, delivered by the other threads
+            final ClusterMessage other = node1.createRequest(TYPE, false);
+            other.put(KEY_IDENTIFIER, "service" + (i + 2));
+            node1.publish(other);
+        }
+        Assert.assertTrue(received.await(10, TimeUnit.SECONDS));
+        final List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < nbMessages; i++) {
+            expected.add(i);
+        }
+        Assert.assertEquals(expected, order);
+    }
+
+    /**
+     * The messages published in a transaction are broadcasted after the commit only.
+     */
+    @Test
+    public void afterCommitTest() throws Exception {
+        final CountDownLatch received = new CountDownLatch(1);
+        node2.addMessageListener(new Listener(node2, m -> received.countDown()));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            node1.publish(node1.createRequest(TYPE, false));
+            Assert.assertFalse(received.await(200, TimeUnit.MILLISECONDS));
+
+            // rollback : the message is dropped
+            for (TransactionSynchronization sync : TransactionSynchronizationManager.getSynchronizations()) {
+                sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+            }
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        Assert.assertFalse(received.await(200, TimeUnit.MILLISECONDS));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            node1.publish(node1.createRequest(TYPE, false));
+            Assert.assertFalse(received.await(200, TimeUnit.MILLISECONDS));
+            for (TransactionSynchronization sync : TransactionSynchronizationManager.getSynchronizations()) {
+                sync.afterCommit();
+            }
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        Assert.assertTrue(received.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void uniqueMessageIdTest() {
+        Assert.assertNotEquals(node1.createRequest(TYPE, false).getMessageUID(), node2.createRequest(TYPE, false).getMessageUID());
+    }
+
+    @Test
+    public void sharedLockTest() throws Exception {
+        final Lock lock1 = node1.acquireLock("lock");
+        final Lock lock2 = node2.acquireLock("lock");
+        Assert.assertSame(lock1, lock2);
+
+        lock1.lock();
+        try {
+            final AtomicBoolean acquired = new AtomicBoolean(true);
+            final Thread other = new Thread(() -> acquired.set(lock2.tryLock()));
+            other.start();
+            other.join();
+            Assert.assertFalse(acquired.get());
+        } finally {
+            lock1.unlock();
+        }
+    }
+
+    /**
+     * Listener answering to the test requests.
+     */
+    private static class Listener extends MessageListener {
+
+        private final IClusterBusiness business;
+        private final Consumer<ClusterMessage> action;
+
+        private Listener(final IClusterBusiness business, final Consumer<ClusterMessage> action) {
+            this.business = business;
+            this.action   = action;
+        }
+
+        @Override
+        protected IClusterBusiness getClusterBusiness() {
+            return business;
+        }
+
+        @Override
+        protected boolean filter(ClusterMessage event) {
+            return event.isRequest() && TYPE.equals(event.getTypeId());
+        }
+
+        @Override
+        protected ClusterMessage process(ClusterMessage event) {
+            action.accept(event);
+            return event.expectResponse() ? event.createResponse(business) : null;
+        }
+    }
+}
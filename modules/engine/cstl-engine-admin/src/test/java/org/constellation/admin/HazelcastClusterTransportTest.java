@@ -0,0 +1,173 @@
+/*
+ *    Constellation - An open source and standard compliant SDI
+ *    http://www.constellation-sdi.org
+ *
+ * Copyright 2019 Geomatys.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.constellation.admin;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.JoinConfig;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Consumer;
+import org.constellation.business.ClusterMessage;
+import org.constellation.business.IClusterBusiness;
+import org.constellation.business.MessageListener;
+import static org.constellation.business.ClusterMessageConstant.KEY_ACTION;
+import static org.constellation.business.ClusterMessageConstant.KEY_IDENTIFIER;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Two cluster members communicating through two Hazelcast instances connected on the loopback interface.
+ */
+public class HazelcastClusterTransportTest {
+
+    private static final String TYPE = "test";
+
+    private HazelcastClusterTransport transport1;
+    private HazelcastClusterTransport transport2;
+    private AsyncClusterBusiness node1;
+    private AsyncClusterBusiness node2;
+
+    @Before
+    public void setUp() {
+        final String group = "examind-test-" + UUID.randomUUID();
+        transport1 = new HazelcastClusterTransport(createConfig(group));
+        transport2 = new HazelcastClusterTransport(createConfig(group));
+        node1 = new AsyncClusterBusiness(transport1, 2, 100, 5000);
+        node2 = new AsyncClusterBusiness(transport2, 2, 100, 5000);
+    }
+
+    private static Config createConfig(final String group) {
+        final Config config = new Config();
+        config.getGroupConfig().setName(group);
+        final JoinConfig join = config.getNetworkConfig().getJoin();
+        join.getMulticastConfig().setEnabled(false);
+        join.getTcpIpConfig().setEnabled(true).addMember("127.0.0.1");
+        return config;
+    }
+
+    @After
+    public void tearDown() {
+        node1.close();
+        node2.close();
+        transport1.close();
+        transport2.close();
+    }
+
+    @Test
+    public void membershipTest() {
+        Assert.assertEquals(2, node1.getMemberSize());
+        Assert.assertEquals(2, node2.getMemberSize());
+
+        node2.close();
+        Assert.assertEquals(1, node1.getMemberSize());
+    }
+
+    @Test
+    public void requestResponseTest() {
+        node1.addMessageListener(new Listener(node1, m -> {}));
+        node2.addMessageListener(new Listener(node2, m -> {}));
+
+        final List<String> responders = new CopyOnWriteArrayList<>();
+        node1.publishAndWait(node1.createRequest(TYPE, true), 10, TimeUnit.SECONDS, m -> responders.add(m.getMemberUID()));
+
+        Assert.assertEquals(2, responders.size());
+        Assert.assertTrue(responders.contains(node1.getMemberUID()));
+        Assert.assertTrue(responders.contains(node2.getMemberUID()));
+    }
+
+    /**
+     * The messages of a member on the same object reach the other member in their publication order.
+     */
+    @Test
+    public void orderedDeliveryTest() throws Exception {
+        final int nbMessages = 100;
+        final CountDownLatch received = new CountDownLatch(nbMessages);
+        final List<Integer> order = new CopyOnWriteArrayList<>();
+        node2.addMessageListener(new Listener(node2, m -> {
+            order.add((Integer) m.get(KEY_ACTION));
+            received.countDown();
+        }));
+        for (int i = 0; i < nbMessages; i++) {
+            final ClusterMessage message = node1.createRequest(TYPE, false);
+            message.put(KEY_IDENTIFIER, "service1");
+            message.put(KEY_ACTION, i);
+            node1.publish(message);
+        }
+        Assert.assertTrue(received.await(10, TimeUnit.SECONDS));
+        for (int i = 0; i < nbMessages; i++) {
+            Assert.assertEquals(Integer.valueOf(i), order.get(i));
+        }
+    }
+
+    @Test
+    public void sharedLockTest() throws Exception {
+        final Lock lock1 = node1.acquireLock("lock");
+        final Lock lock2 = node2.acquireLock("lock");
+
+        lock1.lock();
+        try {
+            final AtomicBoolean acquired = new AtomicBoolean(true);
+            final Thread other = new Thread(() -> acquired.set(lock2.tryLock()));
+            other.start();
+            other.join();
+            Assert.assertFalse(acquired.get());
+        } finally {
+            lock1.unlock();
+        }
+        Assert.assertTrue(lock2.tryLock());
+        lock2.unlock();
+    }
+
+    /**
+     * Listener answering to the test requests.
+     */
+    private static class Listener extends MessageListener {
+
+        private final IClusterBusiness business;
+        private final Consumer<ClusterMessage> action;
+
+        private Listener(final IClusterBusiness business, final Consumer<ClusterMessage> action) {
+            this.business = business;
+            this.action   = action;
+        }
+
+        @Override
+        protected IClusterBusiness getClusterBusiness() {
+            return business;
+        }
+
+        @Override
+        protected boolean filter(ClusterMessage event) {
+            return event.isRequest() && TYPE.equals(event.getTypeId());
+        }
+
+        @Override
+        protected ClusterMessage process(ClusterMessage event) {
+            action.accept(event);
+            return event.expectResponse() ? event.createResponse(business) : null;
+        }
+    }
+}
@@ -27,6 +27,7 @@ import org.apache.sis.util.logging.Logging;
 import org.constellation.business.ISensorBusiness;
 import org.constellation.configuration.ConfigDirectory;
 import org.constellation.dto.Sensor;
+import org.constellation.exception.ConfigurationException;
 import org.constellation.exception.ConstellationException;
 import org.constellation.test.utils.Order;
 import org.constellation.test.utils.SpringTestRunner;
@@ -122,6 +123,32 @@ public class SensorBusinessTest {
 
     @Test
     @Order(order=4)
+    public void getSensorMetadataCopyTest() throws Exception {
+        final Object shared = sensorBusiness.getSensorMetadata("sensor-2");
+        final Object copy   = sensorBusiness.getSensorMetadataCopy("sensor-2");
+        Assert.assertEquals(shared, copy);
+        Assert.assertNotSame(shared, copy);
+
+        // modification of the copy followed by a failed save
+        ComponentType other = new ComponentType();
+        other.setId("sensor-2-modified");
+        ((SensorML) copy).setMember(Arrays.asList(new Member(other)));
+        try {
+            sensorBusiness.updateSensorMetadata("sensor-2", "<not a sensorML");
+            Assert.fail("an invalid sensorML must not be saved");
+        } catch (ConfigurationException ex) {
+            // expected
+        }
+
+        SensorML expected = new SensorML();
+        ComponentType compo = new ComponentType();
+        compo.setId("sensor-2");
+        expected.setMember(Arrays.asList(new Member(compo)));
+        Assert.assertEquals(expected, sensorBusiness.getSensorMetadata("sensor-2"));
+    }
+
+    @Test
+    @Order(order=5)
     public void getChildrenTest() throws Exception {
         List<Sensor> children = sensorBusiness.getChildren("sensor-1");
         Assert.assertEquals(1, children.size());
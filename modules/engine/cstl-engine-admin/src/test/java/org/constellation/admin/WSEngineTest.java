@@ -0,0 +1,109 @@
+/*
+ *    Constellation - An open source and standard compliant SDI
+ *    http://www.constellation-sdi.org
+ *
+ * Copyright 2019 Geomatys.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.constellation.admin;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.constellation.ws.Worker;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class WSEngineTest {
+
+    @Test
+    public void replaceAndShutdownTest() {
+        final WSEngine engine = new WSEngine();
+        final AtomicBoolean firstDestroyed  = new AtomicBoolean();
+        final AtomicBoolean secondDestroyed = new AtomicBoolean();
+        final Worker first  = createWorker(firstDestroyed);
+        final Worker second = createWorker(secondDestroyed);
+
+        engine.addServiceInstance("WMS", "default", first);
+        Assert.assertTrue(engine.isSetService("wms"));
+        Assert.assertSame(first, engine.getInstance("wms", "default"));
+
+        // the old worker is destroyed only once replaced.
+        engine.addServiceInstance("wms", "default", second);
+        Assert.assertTrue(firstDestroyed.get());
+        Assert.assertFalse(secondDestroyed.get());
+        Assert.assertSame(second, engine.getInstance("WMS", "default"));
+        Assert.assertEquals(1, engine.getInstanceSize("wms"));
+
+        engine.shutdownInstance("wms", "default");
+        Assert.assertTrue(secondDestroyed.get());
+        Assert.assertNull(engine.getInstance("wms", "default"));
+        Assert.assertFalse(engine.serviceInstanceExist("wms", "default"));
+    }
+
+    /**
+     * A worker added while the instances are destroyed must be either destroyed or still registered.
+     */
+    @Test
+    public void destroyDuringAddTest() throws Exception {
+        final WSEngine engine = new WSEngine();
+        final List<AtomicBoolean> destroyed = new ArrayList<>();
+        final List<Worker> workers = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            final AtomicBoolean d = new AtomicBoolean();
+            destroyed.add(d);
+            workers.add(createWorker(d));
+        }
+        final Thread adder = new Thread(() -> {
+            for (int i = 0; i < workers.size(); i++) {
+                engine.addServiceInstance("wms", "service" + i, workers.get(i));
+            }
+        });
+        adder.start();
+        while (adder.isAlive()) {
+            engine.destroyInstances("wms");
+        }
+        adder.join();
+        for (int i = 0; i < workers.size(); i++) {
+            final boolean registered = engine.getInstance("wms", "service" + i) == workers.get(i);
+            Assert.assertTrue("worker " + i + " lost", registered ^ destroyed.get(i).get());
+        }
+    }
+
+    @Test
+    public void registerServiceTest() {
+        final WSEngine engine = new WSEngine();
+        engine.registerService("WMS", "REST");
+        engine.registerService("wms", "REST");
+        engine.registerService("wms", "SOAP");
+        Assert.assertEquals(2, engine.getRegisteredServices().get("wms").size());
+    }
+
+    /**
+     * Build a worker only able to report its destruction.
+     */
+    static Worker createWorker(final AtomicBoolean destroyed) {
+        return (Worker) Proxy.newProxyInstance(WSEngineTest.class.getClassLoader(), new Class[]{Worker.class}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "destroy":   destroyed.set(true); return null;
+                case "isStarted": return !destroyed.get();
+                case "hashCode":  return System.identityHashCode(proxy);
+                case "equals":    return proxy == args[0];
+                case "toString":  return "Worker@" + System.identityHashCode(proxy);
+                default: return null;
+            }
+        });
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ *    Constellation - An open source and standard compliant SDI
+ *    http://www.constellation-sdi.org
+ *
+ * Copyright 2019 Geomatys.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.constellation.scheduler;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.constellation.exception.ConstellationException;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class FolderTaskTriggerTest {
+
+    private static final long QUIET_PERIOD = 200;
+
+    private static final Path ROOT = Paths.get("/data/in");
+
+    private final BlockingQueue<Launch> launches = new LinkedBlockingQueue<>();
+
+    private FolderTaskTrigger trigger;
+
+    @Before
+    public void setUp() {
+        trigger = new FolderTaskTrigger(QUIET_PERIOD, (id, changes, onEnd) -> launches.add(new Launch(id, changes, onEnd)));
+    }
+
+    @After
+    public void tearDown() {
+        trigger.close();
+    }
+
+    /**
+     * The changes occurring during the quiet period are launched together.
+     */
+    @Test
+    public void debounceTest() throws Exception {
+        trigger.register(1, ROOT);
+        for (int i = 0; i < 5; i++) {
+            trigger.changed(ROOT.resolve("file" + i));
+            Thread.sleep(QUIET_PERIOD / 4);
+        }
+        final Launch launch = nextLaunch();
+        Assert.assertEquals(Integer.valueOf(1), launch.id);
+        Assert.assertEquals(5, launch.changes.size());
+        Assert.assertEquals(ROOT.resolve("file0"), launch.changes.get(0));
+        Assert.assertNull(launches.poll(QUIET_PERIOD * 2, TimeUnit.MILLISECONDS));
+
+        // the same path changed twice is launched once
+        trigger.changed(ROOT.resolve("file0"));
+        trigger.changed(ROOT.resolve("file0"));
+        launch.onEnd.run();
+        Assert.assertEquals(Arrays.asList(ROOT.resolve("file0")), nextLaunch().changes);
+    }
+
+    /**
+     * A task parameter has one running execution, the changes occurring meanwhile are launched at its end.
+     */
+    @Test
+    public void runningAndPendingTest() throws Exception {
+        trigger.register(1, ROOT);
+        trigger.changed(ROOT.resolve("a"));
+        final Launch first = nextLaunch();
+
+        trigger.changed(ROOT.resolve("b"));
+        Thread.sleep(QUIET_PERIOD * 2);
+        trigger.changed(ROOT.resolve("c"));
+        Assert.assertNull(launches.poll(QUIET_PERIOD * 2, TimeUnit.MILLISECONDS));
+
+        first.onEnd.run();
+        final Launch second = nextLaunch();
+        Assert.assertEquals(Arrays.asList(ROOT.resolve("b"), ROOT.resolve("c")), second.changes);
+
+        // the end of the first execution reported again does not release the second one
+        first.onEnd.run();
+        trigger.changed(ROOT.resolve("d"));
+        Assert.assertNull(launches.poll(QUIET_PERIOD * 2, TimeUnit.MILLISECONDS));
+
+        second.onEnd.run();
+        Assert.assertEquals(Arrays.asList(ROOT.resolve("d")), nextLaunch().changes);
+    }
+
+    /**
+     * A failed launch releases the task parameter.
+     */
+    @Test
+    public void launchFailureTest() throws Exception {
+        trigger.close();
+        final boolean[] fail = {true};
+        trigger = new FolderTaskTrigger(QUIET_PERIOD, (id, changes, onEnd) -> {
+            if (fail[0]) {
+                fail[0] = false;
+                throw new ConstellationException("launch failure");
+            }
+            launches.add(new Launch(id, changes, onEnd));
+        });
+        trigger.register(1, ROOT);
+        trigger.changed(ROOT.resolve("a"));
+        Assert.assertNull(launches.poll(QUIET_PERIOD * 2, TimeUnit.MILLISECONDS));
+
+        trigger.changed(ROOT.resolve("b"));
+        Assert.assertEquals(Arrays.asList(ROOT.resolve("b")), nextLaunch().changes);
+    }
+
+    /**
+     * A path triggers the task parameters watching one of its parent folders only.
+     */
+    @Test
+    public void folderLookupTest() throws Exception {
+        trigger.register(1, ROOT);
+        trigger.register(2, ROOT.resolve("sub"));
+        trigger.register(3, Paths.get("/data/other"));
+        trigger.register(4, Paths.get("/data/input"));
+
+        trigger.changed(ROOT.resolve("sub").resolve("file"));
+        final HashSet<Integer> ids = new HashSet<>();
+        ids.add(nextLaunch().id);
+        ids.add(nextLaunch().id);
+        Assert.assertEquals(new HashSet<>(Arrays.asList(1, 2)), ids);
+        Assert.assertNull(launches.poll(QUIET_PERIOD * 2, TimeUnit.MILLISECONDS));
+
+        // an unregistered task parameter is not launched anymore
+        trigger.unregister(4);
+        trigger.changed(Paths.get("/data/input/file"));
+        Assert.assertNull(launches.poll(QUIET_PERIOD * 2, TimeUnit.MILLISECONDS));
+    }
+
+    private Launch nextLaunch() throws InterruptedException {
+        final Launch launch = launches.poll(QUIET_PERIOD * 10, TimeUnit.MILLISECONDS);
+        Assert.assertNotNull("no task launched", launch);
+        return launch;
+    }
+
+    private static final class Launch {
+        private final Integer id;
+        private final List<Path> changes;
+        private final Runnable onEnd;
+
+        private Launch(final Integer id, final List<Path> changes, final Runnable onEnd) {
+            this.id      = id;
+            this.changes = changes;
+            this.onEnd   = onEnd;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ *    Constellation - An open source and standard compliant SDI
+ *    http://www.constellation-sdi.org
+ *
+ * Copyright 2019 Geomatys.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.examind.process.admin.renderedpyramid;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.apache.sis.util.logging.Logging;
+
+/**
+ * The tile ranges and mosaics already generated for a pyramid, from a given state of the source data.
+ *
+ * The file name is made of the pyramid key and of the source stamp. When the source data changes, the stamp
+ * changes too and the checkpoints of the previous source are deleted, so the whole pyramid is generated again.
+ */
+class PyramidCheckpoint {
+
+    private static final Logger LOGGER = Logging.getLogger("com.examind.process.admin.renderedpyramid");
+
+    private static final String EXTENSION = ".checkpoint";
+
+    private final Path file;
+
+    private final Set<String> completed;
+
+    /**
+     * Open the checkpoint of a pyramid, removing the ones recorded for another state of the source.
+     *
+     * @param directory The directory of the checkpoint files.
+     * @param pyramidKey The identity of the generated pyramid.
+     * @param sourceStamp The identity and modification stamp of the source data.
+     */
+    PyramidCheckpoint(final Path directory, final String pyramidKey, final String sourceStamp) {
+        final String prefix = sanitize(pyramidKey) + '-';
+        this.file = directory.resolve(prefix + sanitize(sourceStamp) + EXTENSION);
+        if (Files.isDirectory(directory)) {
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, prefix + '*' + EXTENSION)) {
+                for (Path candidate : stream) {
+                    if (!candidate.equals(file)) {
+                        LOGGER.log(Level.INFO, "The pyramid source has changed, removing the checkpoint {0}", candidate);
+                        Files.deleteIfExists(candidate);
+                    }
+                }
+            } catch (IOException ex) {
+                LOGGER.log(Level.WARNING, "Unable to remove the outdated pyramid checkpoints in " + directory, ex);
+            }
+        }
+        this.completed = read(file);
+    }
+
+    private static String sanitize(final String key) {
+        return key.replaceAll("[^\\w.]", "_");
+    }
+
+    private static Set<String> read(final Path checkpoint) {
+        final Set<String> results = Collections.synchronizedSet(new HashSet<>());
+        if (Files.isRegularFile(checkpoint)) {
+            try {
+                results.addAll(Files.readAllLines(checkpoint, StandardCharsets.UTF_8));
+            } catch (IOException ex) {
+                LOGGER.log(Level.WARNING, "Unable to read the pyramid checkpoint file " + checkpoint, ex);
+            }
+        }
+        return results;
+    }
+
+    Path getFile() {
+        return file;
+    }
+
+    /**
+     * @return The number of tile ranges and mosaics already generated.
+     */
+    int size() {
+        return completed.size();
+    }
+
+    boolean isCompleted(final String key) {
+        return completed.contains(key);
+    }
+
+    /**
+     * Record a generated tile range or mosaic.
+     */
+    synchronized void complete(final String key) {
+        completed.add(key);
+        try {
+            Files.createDirectories(file.getParent());
+            Files.write(file, Collections.singletonList(key), StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException ex) {
+            LOGGER.log(Level.WARNING, "Unable to write the pyramid checkpoint file " + file, ex);
+        }
+    }
+
+    /**
+     * Remove the checkpoint once the pyramid is complete.
+     */
+    void delete() {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ex) {
+            LOGGER.log(Level.WARNING, "Unable to remove the pyramid checkpoint file " + file, ex);
+        }
+    }
+}
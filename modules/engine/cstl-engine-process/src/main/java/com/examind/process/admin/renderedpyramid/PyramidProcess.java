@@ -2,13 +2,41 @@ package com.examind.process.admin.renderedpyramid;
 
 import com.examind.process.admin.AdminProcessDescriptor;
 import com.examind.process.admin.AdminProcessRegistry;
+import java.awt.Dimension;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.apache.sis.geometry.Envelopes;
+import org.apache.sis.geometry.GeneralEnvelope;
+import org.apache.sis.internal.storage.ResourceOnFileSystem;
+import org.apache.sis.measure.NumberRange;
 import org.apache.sis.parameter.ParameterBuilder;
 import org.apache.sis.storage.DataStoreException;
 import org.apache.sis.storage.GridCoverageResource;
 import org.apache.sis.storage.Resource;
 import org.apache.sis.util.iso.ResourceInternationalString;
+import org.apache.sis.util.logging.Logging;
+import org.constellation.configuration.ConfigDirectory;
+import org.geotoolkit.data.multires.Mosaic;
 import org.geotoolkit.data.multires.MultiResolutionResource;
 import org.geotoolkit.data.multires.Pyramid;
 import org.geotoolkit.data.multires.Pyramids;
@@ -20,8 +48,10 @@ import org.geotoolkit.map.MapLayer;
 import org.geotoolkit.process.ProcessException;
 import org.geotoolkit.processing.AbstractProcess;
 import org.geotoolkit.processing.AbstractProcessDescriptor;
-import org.geotoolkit.processing.ForwardProcessListener;
+import org.geotoolkit.processing.ProcessListenerAdapter;
 import org.geotoolkit.storage.coverage.CoverageTileGenerator;
+import org.opengis.geometry.DirectPosition;
+import org.opengis.geometry.Envelope;
 import org.opengis.parameter.ParameterDescriptor;
 import org.opengis.parameter.ParameterDescriptorGroup;
 import org.opengis.parameter.ParameterValueGroup;
@@ -34,11 +64,14 @@ import org.springframework.stereotype.Component;
 @Component
 public class PyramidProcess extends AbstractProcessDescriptor implements AdminProcessDescriptor {
 
+    private static final Logger LOGGER = Logging.getLogger("com.examind.process.admin.renderedpyramid");
+
     public static final String BUNDLE_LOCATION = "com/examind/process/admin/renderedpyramid/bundle";
     protected static final ParameterDescriptor<MapContext> MAPCONTEXT;
     protected static final ParameterDescriptor<MultiResolutionResource> RESOURCE;
     protected static final ParameterDescriptor<InterpolationCase> INTERPOLATION;
     protected static final ParameterDescriptor<String> MODE;
+    protected static final ParameterDescriptor<Integer> THREAD_COUNT;
 
 
     private static final ParameterDescriptorGroup INPUT;
@@ -65,8 +98,12 @@ public class PyramidProcess extends AbstractProcessDescriptor implements AdminPr
                 .setRequired(true)
                 .createEnumerated(String.class, new String[]{"data","rgb"},"data");
 
+        THREAD_COUNT = builder.addName("thread-count")
+                .setRequired(false)
+                .create(Integer.class, 4);
+
 
-        INPUT = builder.addName("input").createGroup(MAPCONTEXT, RESOURCE, INTERPOLATION, MODE);
+        INPUT = builder.addName("input").createGroup(MAPCONTEXT, RESOURCE, INTERPOLATION, MODE, THREAD_COUNT);
         OUTPUT = builder.addName("output").createGroup();
     }
 
@@ -95,9 +132,42 @@ public class PyramidProcess extends AbstractProcessDescriptor implements AdminPr
             final InterpolationCase interpolation = inputParameters.getMandatoryValue(INTERPOLATION);
             final String mode = inputParameters.getMandatoryValue(MODE);
 
-            final TileGenerator generator;
+            // the tile generators are not documented as thread safe, each thread use its own instance.
+            final ThreadLocal<TileGenerator> generators = new ThreadLocal<>();
+            final GeneratorFactory factory = () -> {
+                TileGenerator generator = generators.get();
+                if (generator == null) {
+                    generator = createGenerator(context, interpolation, mode);
+                    generators.set(generator);
+                }
+                return generator;
+            };
+
+            final Integer threadCount = inputParameters.getValue(THREAD_COUNT);
+            final int nbThread = threadCount != null && threadCount > 0 ? threadCount : 1;
+            final ExecutorService executor = Executors.newFixedThreadPool(nbThread);
+            try {
+                final String sourceStamp = getSourceStamp(context, mode, interpolation);
+                final Collection<? extends Pyramid> pyramids = Pyramids.getPyramids(resource);
+                int done = 0;
+                for (Pyramid pyramid : pyramids) {
+                    final float start = 1f + 98f * done / pyramids.size();
+                    final float width = 98f / pyramids.size();
+                    final PyramidCheckpoint checkpoint = new PyramidCheckpoint(getCheckpointDirectory(), getPyramidKey(resource, pyramid), sourceStamp);
+                    generate(factory, pyramid, getDataEnvelope(context, pyramid), checkpoint, executor, start, width);
+                    done++;
+                }
+            } catch (DataStoreException | InterruptedException ex) {
+                throw new ProcessException(ex.getMessage(), this, ex);
+            } finally {
+                executor.shutdownNow();
+            }
+            fireProgressing("Pyramid generation completed", 100f, false);
+        }
+
+        private TileGenerator createGenerator(final MapContext context, final InterpolationCase interpolation, final String mode) throws ProcessException {
             switch (mode) {
-                case "rgb" : generator = new MapContextTileGenerator(context, null); break;
+                case "rgb" : return new MapContextTileGenerator(context, null);
                 case "data" : {
                     final List<GridCoverageResource> resources = new ArrayList<>();
                     for (MapLayer layer : context.layers()) {
@@ -119,22 +189,252 @@ public class PyramidProcess extends AbstractProcessDescriptor implements AdminPr
                         throw new ProcessException(ex.getMessage(), this, ex);
                     }
                     ctg.setInterpolation(interpolation);
-                    generator = ctg;
-                } break;
+                    return ctg;
+                }
                 default : throw new ProcessException("Unexpected pyramid mode "+mode, this);
             }
+        }
 
-            try {
-                for (Pyramid pyramid : Pyramids.getPyramids(resource)) {
-                    final ForwardProcessListener fp = new ForwardProcessListener(this, 1, 99);
-                    generator.generate(pyramid, null, null, fp);
+        /**
+         * Generate the tiles of a pyramid, mosaic by mosaic.
+         *
+         * Each mosaic is split in blocks of columns generated in parallel, each thread with its own tile generator.
+         * The completed blocks are appended to the checkpoint, so an interrupted generation resumes with the
+         * remaining blocks, whatever the number of threads. The checkpoint is removed once the pyramid is complete.
+         * The cancellation is checked before the generation of each range and while waiting for them.
+         *
+         * @param dataEnv The envelope of the source data in the pyramid CRS, or {@code null} if unknown.
+         *                The tiles outside of it are not generated.
+         */
+        private void generate(final GeneratorFactory factory, final Pyramid pyramid, final Envelope dataEnv, final PyramidCheckpoint checkpoint,
+                final ExecutorService executor, final float start, final float width)
+                throws DataStoreException, InterruptedException, ProcessException {
+            if (checkpoint.size() > 0) {
+                LOGGER.log(Level.INFO, "Resuming pyramid {0} generation, {1} tile ranges already generated.", new Object[]{pyramid.getIdentifier(), checkpoint.size()});
+            }
+
+            final List<Mosaic> mosaics = new ArrayList<>(pyramid.getMosaics());
+            // lowest resolutions first, they are the fastest to generate
+            mosaics.sort((m1, m2) -> Double.compare(m2.getScale(), m1.getScale()));
+
+            int index = 0;
+            for (Mosaic mosaic : mosaics) {
+                final float progress = start + width * index++ / mosaics.size();
+                if (isCanceled()) {
+                    throw new ProcessException("Pyramid generation canceled", this);
+                }
+                if (checkpoint.isCompleted(mosaic.getIdentifier())) {
+                    continue;
+                }
+                fireProgressing("Generating pyramid " + pyramid.getIdentifier() + " at scale " + mosaic.getScale(), progress, false);
+                final long time = System.currentTimeMillis();
+                final NumberRange<Double> resolution = NumberRange.create(mosaic.getScale(), true, mosaic.getScale(), true);
+                final List<TileRange> ranges = split(mosaic, dataEnv, TILES_BY_BLOCK);
+
+                final Map<Future<?>, TileRange> futures = new LinkedHashMap<>();
+                for (TileRange range : ranges) {
+                    final String key = mosaic.getIdentifier() + ':' + range.startCol + '-' + range.endCol;
+                    if (!checkpoint.isCompleted(key)) {
+                        futures.put(executor.submit(() -> {
+                            if (isCanceled()) {
+                                return null;
+                            }
+                            factory.get().generate(pyramid, range.envelope, resolution, new ProcessListenerAdapter());
+                            checkpoint.complete(key);
+                            return null;
+                        }), range);
+                    }
+                }
+                long nbTiles = 0;
+                try {
+                    for (Entry<Future<?>, TileRange> entry : futures.entrySet()) {
+                        waitFor(entry.getKey());
+                        nbTiles += entry.getValue().nbTiles;
+                    }
+                } catch (ExecutionException ex) {
+                    futures.keySet().forEach(f -> f.cancel(true));
+                    final Throwable cause = ex.getCause();
+                    if (cause instanceof DataStoreException) {
+                        throw (DataStoreException) cause;
+                    }
+                    throw new ProcessException(cause.getMessage(), this, cause);
+                } catch (InterruptedException | ProcessException ex) {
+                    futures.keySet().forEach(f -> f.cancel(true));
+                    throw ex;
+                }
+                checkpoint.complete(mosaic.getIdentifier());
+
+                final double seconds = Math.max(1, System.currentTimeMillis() - time) / 1000.0;
+                fireProgressing(String.format("Pyramid %s, scale %s : %d tiles in %.1f s (%.1f tiles/s).",
+                        pyramid.getIdentifier(), mosaic.getScale(), nbTiles, seconds, nbTiles / seconds),
+                        start + width * index / mosaics.size(), false);
+            }
+            checkpoint.delete();
+        }
+
+        /**
+         * Wait for a tile range generation, checking the process cancellation periodically.
+         */
+        private void waitFor(final Future<?> future) throws ExecutionException, InterruptedException, ProcessException {
+            while (true) {
+                if (isCanceled()) {
+                    throw new ProcessException("Pyramid generation canceled", this);
+                }
+                try {
+                    future.get(CANCEL_CHECK_PERIOD, TimeUnit.MILLISECONDS);
+                    return;
+                } catch (TimeoutException ex) {
+                    // check the cancellation again
                 }
-            } catch (DataStoreException | InterruptedException ex) {
-                throw new ProcessException(ex.getMessage(), this, ex);
             }
+        }
+    }
+
+    /**
+     * Provide the tile generator of the current thread.
+     */
+    @FunctionalInterface
+    private interface GeneratorFactory {
+        TileGenerator get() throws ProcessException;
+    }
+
+    /**
+     * Period in milliseconds of the cancellation check while waiting for the tile generation.
+     */
+    private static final long CANCEL_CHECK_PERIOD = 500;
+
+    /**
+     * Approximative number of tiles in a block of columns, the unit of work of the threads and of the checkpoint.
+     */
+    private static final int TILES_BY_BLOCK = 256;
+
+    /**
+     * A range of tile columns of a mosaic.
+     */
+    static class TileRange {
 
+        final int startCol;
+        final int endCol;
+        final Envelope envelope;
+        final long nbTiles;
+
+        private TileRange(int startCol, int endCol, Envelope envelope, long nbTiles) {
+            this.startCol = startCol;
+            this.endCol   = endCol;
+            this.envelope = envelope;
+            this.nbTiles  = nbTiles;
         }
+    }
 
+    /**
+     * Split the tile columns of a mosaic intersecting the data in blocks of about {@code tilesByBlock} tiles.
+     * The block width only depends on the mosaic and the data envelope, and the blocks are aligned on multiples
+     * of this width, so the same blocks are found again when an interrupted generation is resumed.
+     * The range envelopes are slightly reduced, so the tiles on the borders are not generated twice.
+     *
+     * @return The ranges to generate, empty if the mosaic does not intersect the data.
+     */
+    static List<TileRange> split(final Mosaic mosaic, final Envelope dataEnv, final int tilesByBlock) {
+        final DirectPosition upperLeft = mosaic.getUpperLeftCorner();
+        final double spanX = mosaic.getScale() * mosaic.getTileSize().width;
+        final double spanY = mosaic.getScale() * mosaic.getTileSize().height;
+        final Dimension gridSize = mosaic.getGridSize();
+
+        int minCol = 0, maxCol = gridSize.width;
+        int minRow = 0, maxRow = gridSize.height;
+        if (dataEnv != null) {
+            minCol = Math.max(minCol, (int) Math.floor((dataEnv.getMinimum(0) - upperLeft.getOrdinate(0)) / spanX));
+            maxCol = Math.min(maxCol, (int) Math.ceil((dataEnv.getMaximum(0) - upperLeft.getOrdinate(0)) / spanX));
+            minRow = Math.max(minRow, (int) Math.floor((upperLeft.getOrdinate(1) - dataEnv.getMaximum(1)) / spanY));
+            maxRow = Math.min(maxRow, (int) Math.ceil((upperLeft.getOrdinate(1) - dataEnv.getMinimum(1)) / spanY));
+        }
+        final List<TileRange> ranges = new ArrayList<>();
+        if (minCol >= maxCol || minRow >= maxRow) {
+            return ranges;
+        }
+        final int step  = Math.max(1, tilesByBlock / (maxRow - minRow));
+        final double epsX = spanX * 1e-6;
+        final double epsY = spanY * 1e-6;
+        for (int col = minCol; col < maxCol; col = (col / step + 1) * step) {
+            final int end = Math.min((col / step + 1) * step, maxCol);
+            final GeneralEnvelope env = new GeneralEnvelope(mosaic.getEnvelope());
+            env.setRange(0, upperLeft.getOrdinate(0) + col * spanX + epsX, upperLeft.getOrdinate(0) + end * spanX - epsX);
+            env.setRange(1, upperLeft.getOrdinate(1) - maxRow * spanY + epsY, upperLeft.getOrdinate(1) - minRow * spanY - epsY);
+            ranges.add(new TileRange(col, end, env, (long) (end - col) * (maxRow - minRow)));
+        }
+        return ranges;
     }
 
+    /**
+     * Return the envelope of the map context layers in the pyramid CRS, or {@code null} if it can not be computed.
+     */
+    private static Envelope getDataEnvelope(final MapContext context, final Pyramid pyramid) {
+        GeneralEnvelope result = null;
+        try {
+            for (MapLayer layer : context.layers()) {
+                final Envelope layerEnv = layer.getBounds();
+                if (layerEnv == null) {
+                    return null;
+                }
+                final Envelope env = Envelopes.transform(layerEnv, pyramid.getCoordinateReferenceSystem());
+                if (result == null) {
+                    result = new GeneralEnvelope(env);
+                } else {
+                    result.add(env);
+                }
+            }
+        } catch (Exception ex) {
+            LOGGER.log(Level.FINE, "Unable to compute the data envelope, all the tiles will be generated.", ex);
+            return null;
+        }
+        return result;
+    }
+
+    private static Path getCheckpointDirectory() {
+        return ConfigDirectory.getConfigDirectory().resolve("pyramid");
+    }
+
+    /**
+     * Identity of a pyramid : the output resource, the pyramid identifier, its CRS and scales.
+     */
+    private static String getPyramidKey(final MultiResolutionResource resource, final Pyramid pyramid) {
+        final String resourceId = resource.getIdentifier().map(Object::toString).orElse("");
+        return pyramid.getIdentifier() + '-' + Integer.toHexString(Objects.hash(resourceId,
+                pyramid.getCoordinateReferenceSystem().getName().getCode(), Arrays.toString(pyramid.getScales())));
+    }
+
+    /**
+     * Identity and modification stamp of the pyramid source : the generation mode, the interpolation, and for each layer
+     * its resource identifier, style, bounds and the size and modification date of its files when known.
+     */
+    private static String getSourceStamp(final MapContext context, final String mode, final InterpolationCase interpolation) {
+        final StringBuilder sb = new StringBuilder(mode).append('|').append(interpolation);
+        for (MapLayer layer : context.layers()) {
+            final Resource res = layer.getResource();
+            sb.append('|').append(res.getClass().getName())
+              .append(';').append(res.getIdentifier().map(Object::toString).orElse(""))
+              .append(';').append(layer.getStyle() != null ? layer.getStyle().getName() : "")
+              .append(';').append(layer.getBounds());
+            if (res instanceof ResourceOnFileSystem) {
+                try {
+                    for (Path file : ((ResourceOnFileSystem) res).getComponentFiles()) {
+                        sb.append(';').append(file).append(':').append(Files.size(file))
+                          .append(':').append(Files.getLastModifiedTime(file).toMillis());
+                    }
+                } catch (DataStoreException | IOException ex) {
+                    LOGGER.log(Level.FINE, "Unable to read the files of the pyramid source, only its identity is checked.", ex);
+                }
+            }
+        }
+        try {
+            final byte[] digest = MessageDigest.getInstance("SHA-1").digest(sb.toString().getBytes(StandardCharsets.UTF_8));
+            final StringBuilder hex = new StringBuilder();
+            for (byte b : digest) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException ex) {
+            return Integer.toHexString(sb.toString().hashCode());
+        }
+    }
 }
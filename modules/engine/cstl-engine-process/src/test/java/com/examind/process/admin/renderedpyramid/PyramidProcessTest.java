@@ -0,0 +1,142 @@
+/*
+ *    Constellation - An open source and standard compliant SDI
+ *    http://www.constellation-sdi.org
+ *
+ * Copyright 2019 Geomatys.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.examind.process.admin.renderedpyramid;
+
+import java.awt.Dimension;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.apache.sis.geometry.GeneralDirectPosition;
+import org.apache.sis.geometry.GeneralEnvelope;
+import org.geotoolkit.data.multires.Mosaic;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tile ranges and checkpoints of the pyramid generation.
+ */
+public class PyramidProcessTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * A 10x4 grid of 256 pixels tiles, at scale 1, starting at (0, 1024).
+     */
+    private static Mosaic createMosaic() {
+        final GeneralEnvelope env = new GeneralEnvelope(2);
+        env.setRange(0, 0, 2560);
+        env.setRange(1, 0, 1024);
+        return (Mosaic) Proxy.newProxyInstance(PyramidProcessTest.class.getClassLoader(), new Class[]{Mosaic.class}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "getUpperLeftCorner": return new GeneralDirectPosition(0, 1024);
+                case "getScale":           return 1.0;
+                case "getTileSize":        return new Dimension(256, 256);
+                case "getGridSize":        return new Dimension(10, 4);
+                case "getEnvelope":        return env;
+                case "getIdentifier":      return "m1";
+                default: throw new UnsupportedOperationException(method.getName());
+            }
+        });
+    }
+
+    @Test
+    public void splitTest() {
+        // blocks of 3 columns of 4 rows
+        final List<PyramidProcess.TileRange> ranges = PyramidProcess.split(createMosaic(), null, 12);
+        assertEquals(4, ranges.size());
+        long nbTiles = 0;
+        int previousEnd = 0;
+        for (PyramidProcess.TileRange range : ranges) {
+            assertEquals(previousEnd, range.startCol);
+            previousEnd = range.endCol;
+            nbTiles += range.nbTiles;
+        }
+        assertEquals(10, previousEnd);
+        assertEquals(40, nbTiles);
+    }
+
+    @Test
+    public void splitDataEnvelopeTest() {
+        // data covering the columns 2 to 4 and the rows 1 to 2
+        final GeneralEnvelope data = new GeneralEnvelope(2);
+        data.setRange(0, 600, 1200);
+        data.setRange(1, 300, 700);
+        // blocks of 4 columns of 2 rows, aligned on the multiples of 4
+        final List<PyramidProcess.TileRange> ranges = PyramidProcess.split(createMosaic(), data, 8);
+        assertEquals(2, ranges.size());
+        assertEquals(2, ranges.get(0).startCol);
+        assertEquals(4, ranges.get(0).endCol);
+        assertEquals(4, ranges.get(1).startCol);
+        assertEquals(5, ranges.get(1).endCol);
+        assertEquals(4, ranges.get(0).nbTiles);
+
+        // the range envelope does not overlap the next tile column
+        assertTrue(ranges.get(0).envelope.getMaximum(0) < 1024);
+        assertTrue(ranges.get(0).envelope.getMinimum(1) > 256);
+
+        // no intersection with the data
+        data.setRange(0, 5000, 6000);
+        assertTrue(PyramidProcess.split(createMosaic(), data, 8).isEmpty());
+    }
+
+    @Test
+    public void checkpointResumeTest() throws Exception {
+        final Path dir = folder.getRoot().toPath();
+        PyramidCheckpoint checkpoint = new PyramidCheckpoint(dir, "pyramid-1", "stamp1");
+        assertEquals(0, checkpoint.size());
+        checkpoint.complete("m1:0-3");
+        checkpoint.complete("m1:3-6");
+
+        // same source : the completed ranges are resumed
+        checkpoint = new PyramidCheckpoint(dir, "pyramid-1", "stamp1");
+        assertEquals(2, checkpoint.size());
+        assertTrue(checkpoint.isCompleted("m1:0-3"));
+        assertFalse(checkpoint.isCompleted("m1:6-9"));
+
+        // another pyramid is not affected
+        final PyramidCheckpoint other = new PyramidCheckpoint(dir, "pyramid-10", "stamp1");
+        other.complete("m1:0-3");
+
+        checkpoint.delete();
+        assertFalse(Files.exists(checkpoint.getFile()));
+        assertTrue(Files.exists(other.getFile()));
+    }
+
+    @Test
+    public void checkpointSourceChangedTest() throws Exception {
+        final Path dir = folder.getRoot().toPath();
+        final PyramidCheckpoint previous = new PyramidCheckpoint(dir, "pyramid-1", "stamp1");
+        previous.complete("m1:0-3");
+        final PyramidCheckpoint other = new PyramidCheckpoint(dir, "pyramid-2", "stamp1");
+        other.complete("m1:0-3");
+
+        // the source changed : the previous checkpoint is deleted and everything is generated again
+        final PyramidCheckpoint checkpoint = new PyramidCheckpoint(dir, "pyramid-1", "stamp2");
+        assertEquals(0, checkpoint.size());
+        assertFalse(Files.exists(previous.getFile()));
+        assertTrue(Files.exists(other.getFile()));
+    }
+}
@@ -21,16 +21,17 @@ import static com.examind.process.sos.CsvObservationStoreUtils.buildFOI;
 import com.opencsv.CSVReader;
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.lang.ref.SoftReference;
 import java.net.MalformedURLException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.text.DateFormat;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.Date;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
@@ -98,6 +99,11 @@ public class CsvObservationStore extends CSVStore implements ObservationStore {
 
     private final String procedureId;
 
+    /**
+     * The last single pass read of the csv file.
+     */
+    private SoftReference<CsvScan> scanRef;
+
     /**
      *
      * @param observationFile path to the csv observation file
@@ -174,7 +180,101 @@ public class CsvObservationStore extends CSVStore implements ObservationStore {
             LOGGER.warning("CSVObservation store does not allow to override sensor ID");
         }
 
+        final CsvScan scan;
+        try {
+            scan = scan();
+        } catch (IOException ex) {
+            LOGGER.log(Level.WARNING, "problem reading csv file", ex);
+            throw new DataStoreException(ex);
+        }
+        if (scan.noHeaders) {
+            throw new DataStoreException("csv headers not found");
+        }
+
+        /*
+        1- set ordinary fields
+        =====================*/
+        final List<Field> fields = new ArrayList<>();
+        for (final String field : scan.measureFields) {
+            fields.add(new Field(field, 1, ""));
+        }
+
+        final ExtractionResult result = new ExtractionResult();
+        result.fields.addAll(scan.measureFields);
+
+        final AbstractDataRecord datarecord;
+        switch (observationType) {
+            case "Timeserie" : datarecord = OMUtils.getDataRecordTimeSeries("2.0.0", fields);break;
+            case "Trajectory": datarecord = OMUtils.getDataRecordTrajectory("2.0.0", fields);break;
+            case "Profile"   : datarecord = OMUtils.getDataRecordProfile("2.0.0", fields);   break;
+            default: throw new IllegalArgumentException("Unexpected observation type:" + observationType + ". Allowed values are Timeserie, Trajectory, Profile.");
+        }
+
+        Phenomenon phenomenon = OMUtils.getPhenomenon("2.0.0", fields, "", phenomenons);
+        result.phenomenons.add(phenomenon);
+
+        /*
+        2- build the observations from the measure blocks
+        ===============================================*/
+        final GeoSpatialBound globalSpaBound = new GeoSpatialBound();
+        globalSpaBound.merge(scan.globalSpaBound);
+        final String procedureID = getProcedureID();
+
         int obsCpt = 0;
+        for (final MeasureBlock block : scan.blocks) {
+            final String oid = dataFile.getFileName().toString() + '-' + obsCpt;
+            obsCpt++;
+
+            // sampling feature of interest
+            String foiID = "foi-" + oid;
+            if (block.foi != null) {
+                foiID = block.foi;
+            }
+            final SamplingFeature sp = buildFOI(foiID, block.positions, samplingFeatures);
+            result.addFeatureOfInterest(sp);
+            globalSpaBound.addGeometry((AbstractGeometry) sp.getGeometry());
+
+            result.observations.add(OMUtils.buildObservation(oid,                           // id
+                                                             sp,                            // foi
+                                                             phenomenon,                    // phenomenon
+                                                             procedureID,                   // procedure
+                                                             block.count,                   // count
+                                                             datarecord,                    // result structure
+                                                             block.msb,                     // measures
+                                                             block.spaBound.getTimeObject("2.0.0"))   // time
+            );
+        }
+
+        result.spatialBound.merge(globalSpaBound);
+
+        // build procedure tree
+        final ProcedureTree procedure = new ProcedureTree(procedureID, PROCEDURE_TREE_TYPE);
+        procedure.spatialBound.merge(globalSpaBound);
+        result.procedures.add(procedure);
+
+        return result;
+    }
+
+    /**
+     * Return the content of the csv file, read in a single pass.
+     * The scan is kept (softly) until the file is modified, so the different methods of the store
+     * called successively by the harvester do not parse the file again.
+     */
+    private synchronized CsvScan scan() throws IOException {
+        final BasicFileAttributes attributes = Files.readAttributes(dataFile, BasicFileAttributes.class);
+        CsvScan scan = (scanRef != null) ? scanRef.get() : null;
+        if (scan == null || !scan.isValid(attributes)) {
+            scan = readFile(attributes);
+            scanRef = new SoftReference<>(scan);
+        }
+        return scan;
+    }
+
+    /**
+     * Read the csv file and extract the headers, the bounds, and the measures blocks (one by feature of interest).
+     */
+    private CsvScan readFile(final BasicFileAttributes attributes) throws IOException {
+        final CsvScan scan = new CsvScan(attributes);
 
         // open csv file
         try (final CSVReader reader = new CSVReader(Files.newBufferedReader(dataFile))) {
@@ -182,282 +282,207 @@ public class CsvObservationStore extends CSVStore implements ObservationStore {
             final Iterator<String[]> it = reader.iterator();
 
             // at least one line is expected to contain headers information
-            if (it.hasNext()) {
+            if (!it.hasNext()) {
+                scan.noHeaders = true;
+                return scan;
+            }
 
-                /*
-                1- filter prepare spatial/time column indices from ordinary fields
-                  --  lat/lon fields are added only in measure for trajectory observation
-                ================================================================*/
-                int mainIndex = -1;
-                int dateIndex = -1;
-                int latitudeIndex = -1;
-                int longitudeIndex = -1;
-                int foiIndex = -1;
-
-                // read headers
-                final String[] headers = it.next();
-                final List<String> measureFields = new ArrayList<>();
-                final List<Integer> ignoredFields = new ArrayList<>();
-
-                for (int i = 0; i < headers.length; i++) {
-                    final String header = headers[i];
-
-                    if (header.equals(mainColumn)) {
-                        mainIndex = i;
-                        if (header.equals(dateColumn)) dateIndex = i;
-                    } else if (header.equals(foiColumn)) {
-                        foiIndex = i;
-                        ignoredFields.add(i);
-                    } else if (header.equals(dateColumn)) {
-                        dateIndex = i;
-                        if ("Profile".equals(observationType))  ignoredFields.add(dateIndex);
-                    } else if (header.equals(latitudeColumn)) {
-                        latitudeIndex = i;
-                        if (!"Trajectory".equals(observationType))  ignoredFields.add(latitudeIndex);
-                    } else if (header.equals(longitudeColumn)) {
-                        longitudeIndex = i;
-                        if (!"Trajectory".equals(observationType)) ignoredFields.add(longitudeIndex);
-                    } else if (measureColumns.contains(header)) {
-                        measureFields.add(header);
-                    } else {
-                        ignoredFields.add(i);
-                    }
+            /*
+            1- filter prepare spatial/time column indices from ordinary fields
+              --  lat/lon fields are added only in measure for trajectory observation
+            ================================================================*/
+            int mainIndex = -1;
+            int dateIndex = -1;
+            int latitudeIndex = -1;
+            int longitudeIndex = -1;
+            int foiIndex = -1;
+
+            // read headers
+            final String[] headers = it.next();
+            final List<Integer> ignoredFields = new ArrayList<>();
+
+            for (int i = 0; i < headers.length; i++) {
+                final String header = headers[i];
+
+                if (measureColumns.contains(header)) {
+                    scan.phenomenonNames.add(header);
+                }
+                if (!header.equals(dateColumn) && !header.equals(latitudeColumn) && !header.equals(longitudeColumn) && measureColumns.contains(header)) {
+                    scan.procedureFields.add(header);
                 }
 
-                // memorize indices to skip
-                final int[] skippedIndices = ArrayUtils.toPrimitive(ignoredFields.toArray(new Integer[ignoredFields.size()]));
-
-                /*
-                2- set ordinary fields
-                =====================*/
-                final List<Field> fields = new ArrayList<>();
-                for (final String field : measureFields) {
-                    fields.add(new Field(field, 1, ""));
+                if (header.equals(mainColumn)) {
+                    mainIndex = i;
+                    if (header.equals(dateColumn)) dateIndex = i;
+                } else if (header.equals(foiColumn)) {
+                    foiIndex = i;
+                    ignoredFields.add(i);
+                } else if (header.equals(dateColumn)) {
+                    dateIndex = i;
+                    if ("Profile".equals(observationType))  ignoredFields.add(dateIndex);
+                } else if (header.equals(latitudeColumn)) {
+                    latitudeIndex = i;
+                    if (!"Trajectory".equals(observationType))  ignoredFields.add(latitudeIndex);
+                } else if (header.equals(longitudeColumn)) {
+                    longitudeIndex = i;
+                    if (!"Trajectory".equals(observationType)) ignoredFields.add(longitudeIndex);
+                } else if (measureColumns.contains(header)) {
+                    scan.measureFields.add(header);
+                } else {
+                    ignoredFields.add(i);
                 }
+            }
 
-                final ExtractionResult result = new ExtractionResult();
-                result.fields.addAll(measureFields);
+            // memorize indices to skip
+            final int[] skippedIndices = ArrayUtils.toPrimitive(ignoredFields.toArray(new Integer[ignoredFields.size()]));
 
-                final AbstractDataRecord datarecord;
-                switch (observationType) {
-                    case "Timeserie" : datarecord = OMUtils.getDataRecordTimeSeries("2.0.0", fields);break;
-                    case "Trajectory": datarecord = OMUtils.getDataRecordTrajectory("2.0.0", fields);break;
-                    case "Profile"   : datarecord = OMUtils.getDataRecordProfile("2.0.0", fields);   break;
-                    default: throw new IllegalArgumentException("Unexpected observation type:" + observationType + ". Allowed values are Timeserie, Trajectory, Profile.");
-                }
+            /*
+            2- compute measures
+            =================*/
 
-                Phenomenon phenomenon = OMUtils.getPhenomenon("2.0.0", fields, "", phenomenons);
-                result.phenomenons.add(phenomenon);
+            // -- global variables --
+            int count = 0;
+            final DateFormat sdf = new SimpleDateFormat(this.dateFormat);
 
+            // -- single observation related variables --
+            MeasureBlock block = new MeasureBlock();
 
-                /*
-                3- compute measures
-                =================*/
-
-                // -- global variables --
-                int count = 0;
-
-                // spatial / temporal boundaries
-                final GeoSpatialBound globalSpaBound = new GeoSpatialBound();
-                final DateFormat sdf = new SimpleDateFormat(this.dateFormat);
-
-                // -- single observation related variables --
-                int currentCount                      = 0;
-                String currentFoi                     = null;
-                GeoSpatialBound currentSpaBound = new GeoSpatialBound();
-                // builder of measure string
-                MeasureStringBuilder msb = new MeasureStringBuilder();
-                // memorize positions to compute FOI
-                final List<DirectPosition> positions = new ArrayList<>();
-
-                // -- previous variables leading to new observations --
-                String previousFoi = null;
-
-                while (it.hasNext()) {
-                    count++;
-                    final String[] line = it.next();
-
-                    // verify that the line is not empty (meaning that not all of the measure value selected are empty)
-                    boolean empty = true;
-                    for (int i = 0; i < line.length; i++) {
-                        if(i != mainIndex && Arrays.binarySearch(skippedIndices, i) < 0) {
-                            try {
-                                Double.parseDouble(line[i]);
-                                empty = false;
-                                break;
-                            } catch (NumberFormatException ex) {
-                                if (!line[i].isEmpty()) {
-                                    LOGGER.warning(String.format("Problem parsing double value at line %d and column %d (value='%s')", count, i, line[i]));
-                                }
-                            }
-                        }
+            while (it.hasNext()) {
+                count++;
+                final String[] line = it.next();
+
+                // file bounds, computed on all the lines (even the ones without measure)
+                long millis = -1;
+                if (dateIndex != -1) {
+                    try {
+                        millis = sdf.parse(line[dateIndex]).getTime();
+                    } catch (ParseException ex) {
+                        LOGGER.warning(String.format("Problem parsing date for date field at line %d and column %d (value='%s'). skipping line...", count, dateIndex, line[dateIndex]));
+                        continue;
                     }
-
-                    if (empty) {
-                        LOGGER.info("skipping line due to none expected variable present.");
+                }
+                double longitude = Double.NaN;
+                double latitude  = Double.NaN;
+                if (latitudeIndex != -1 && longitudeIndex != -1) {
+                    try {
+                        longitude = Double.parseDouble(line[longitudeIndex]);
+                        latitude  = Double.parseDouble(line[latitudeIndex]);
+                    } catch (NumberFormatException ex) {
+                        LOGGER.warning(String.format("Problem parsing lat/lon field at line %d (values='%s', '%s'). skipping line...", count, line[latitudeIndex], line[longitudeIndex]));
                         continue;
                     }
+                    scan.fileBound.addXYCoordinate(longitude, latitude);
+                }
+                if (dateIndex != -1) {
+                    scan.fileBound.addDate(millis);
+                }
 
-                    // look for current foi
-                    if (foiIndex != -1) {
-                        currentFoi = line[foiIndex];
+                // verify that the line is not empty (meaning that not all of the measure value selected are empty)
+                boolean empty = true;
+                for (int i = 0; i < line.length; i++) {
+                    if(i != mainIndex && Arrays.binarySearch(skippedIndices, i) < 0) {
+                        try {
+                            Double.parseDouble(line[i]);
+                            empty = false;
+                            break;
+                        } catch (NumberFormatException ex) {
+                            if (!line[i].isEmpty()) {
+                                LOGGER.warning(String.format("Problem parsing double value at line %d and column %d (value='%s')", count, i, line[i]));
+                            }
+                        }
                     }
+                }
 
+                if (empty) {
+                    LOGGER.info("skipping line due to none expected variable present.");
+                    continue;
+                }
 
-                    // closing current observation and starting new one
-                    if (previousFoi != null && !previousFoi.equals(currentFoi)) {
-
-                        final String oid = dataFile.getFileName().toString() + '-' + obsCpt;
-                        obsCpt++;
-                        final String procedureID = getProcedureID();
+                // look for current foi
+                String currentFoi = null;
+                if (foiIndex != -1) {
+                    currentFoi = line[foiIndex];
+                }
 
-                        // sampling feature of interest
-                        String foiID = "foi-" + oid;
-                        if (previousFoi != null) {
-                            foiID = previousFoi;
-                        }
-                        final SamplingFeature sp = buildFOI(foiID, positions, samplingFeatures);
-                        result.addFeatureOfInterest(sp);
-                        globalSpaBound.addGeometry((AbstractGeometry) sp.getGeometry());
-
-                        result.observations.add(OMUtils.buildObservation(oid,                           // id
-                                                                         sp,                            // foi
-                                                                         phenomenon,                    // phenomenon
-                                                                         procedureID,                   // procedure
-                                                                         currentCount,                  // count
-                                                                         datarecord,                    // result structure
-                                                                         msb,                           // measures
-                                                                         currentSpaBound.getTimeObject("2.0.0"))   // time
-                        );
-
-                        // reset single observation related variables
-                        currentCount    = 0;
-                        currentSpaBound = new GeoSpatialBound();
-                        positions.clear();
-                        msb = new MeasureStringBuilder();
-                    }
+                // closing current observation and starting new one
+                if (block.foi != null && !block.foi.equals(currentFoi)) {
+                    scan.blocks.add(block);
+                    block = new MeasureBlock();
+                }
 
-                    previousFoi = currentFoi;
-                    currentCount++;
+                block.foi = currentFoi;
+                block.count++;
 
 
-                    /*
-                    a- build spatio-temporal information
-                    ==================================*/
+                /*
+                a- build spatio-temporal information
+                ==================================*/
 
-                    // update temporal interval
-                    if (dateIndex != -1) {
-                        try {
-                            final long millis = sdf.parse(line[dateIndex]).getTime();
-                            globalSpaBound.addDate(millis);
-                            currentSpaBound.addDate(millis);
-                        } catch (ParseException ex) {
-                            LOGGER.warning(String.format("Problem parsing date for date field at line %d and column %d (value='%s'). skipping line...", count, dateIndex, line[dateIndex]));
-                            continue;
-                        }
-                    }
+                // update temporal interval
+                if (dateIndex != -1) {
+                    scan.globalSpaBound.addDate(millis);
+                    block.spaBound.addDate(millis);
+                }
 
-                    // update spatial information
-                    if (latitudeIndex != -1 && longitudeIndex != -1) {
-                        final double longitude = Double.parseDouble(line[longitudeIndex]);
-                        final double latitude = Double.parseDouble(line[latitudeIndex]);
-                        DirectPosition pos = SOSXmlFactory.buildDirectPosition("2.0.0", "EPSG:4326", 2, Arrays.asList(latitude, longitude));
-                        if (!positions.contains(pos)) {
-                            positions.add(pos);
-                        }
-                        globalSpaBound.addXYCoordinate(longitude, latitude);
-                        currentSpaBound.addXYCoordinate(longitude, latitude);
+                // update spatial information
+                if (latitudeIndex != -1 && longitudeIndex != -1) {
+                    DirectPosition pos = SOSXmlFactory.buildDirectPosition("2.0.0", "EPSG:4326", 2, Arrays.asList(latitude, longitude));
+                    if (!block.positions.contains(pos)) {
+                        block.positions.add(pos);
                     }
+                    scan.globalSpaBound.addXYCoordinate(longitude, latitude);
+                    block.spaBound.addXYCoordinate(longitude, latitude);
+                }
 
 
-                    /*
-                    b- build measure string
-                    =====================*/
+                /*
+                b- build measure string
+                =====================*/
 
-                    // add main field
-                    if (mainIndex != -1) {
+                // add main field
+                if (mainIndex != -1) {
 
-                        // assume that for profile main field is a double
-                        if ("Profile".equals(observationType)) {
-                            try {
-                                msb.appendValue(Double.parseDouble(line[mainIndex]));
-                            } catch (NumberFormatException ex) {
-                                LOGGER.warning(String.format("Problem parsing double for main field at line %d and column %d (value='%s'). skipping line...", count, mainIndex, line[mainIndex]));
-                                continue;
-                            }
-                        // assume that is a date otherwise
-                        } else {
-                            try {
-                                final long millis = sdf.parse(line[mainIndex]).getTime();
-                                msb.appendDate(millis);
-                            } catch (ParseException ex) {
-                                LOGGER.warning(String.format("Problem parsing date for main field at line %d and column %d (value='%s'). skipping line...", count, mainIndex, line[mainIndex]));
-                                continue;
-                            }
+                    // assume that for profile main field is a double
+                    if ("Profile".equals(observationType)) {
+                        try {
+                            block.msb.appendValue(Double.parseDouble(line[mainIndex]));
+                        } catch (NumberFormatException ex) {
+                            LOGGER.warning(String.format("Problem parsing double for main field at line %d and column %d (value='%s'). skipping line...", count, mainIndex, line[mainIndex]));
+                            continue;
+                        }
+                    // assume that is a date otherwise
+                    } else {
+                        try {
+                            block.msb.appendDate(mainIndex == dateIndex ? millis : sdf.parse(line[mainIndex]).getTime());
+                        } catch (ParseException ex) {
+                            LOGGER.warning(String.format("Problem parsing date for main field at line %d and column %d (value='%s'). skipping line...", count, mainIndex, line[mainIndex]));
+                            continue;
                         }
                     }
+                }
 
-                    // loop over columns to build measure string
-                    for (int i = 0; i < line.length; i++) {
-                        if(i != mainIndex && Arrays.binarySearch(skippedIndices, i) < 0) {
-                            try {
-                                msb.appendValue(Double.parseDouble(line[i]));
-                            } catch (NumberFormatException ex) {
-                                if (!line[i].isEmpty()) {
-                                    LOGGER.warning(String.format("Problem parsing double value at line %d and column %d (value='%s')", count, i, line[i]));
-                                }
-                                msb.appendValue(Double.NaN);
+                // loop over columns to build measure string
+                for (int i = 0; i < line.length; i++) {
+                    if(i != mainIndex && Arrays.binarySearch(skippedIndices, i) < 0) {
+                        try {
+                            block.msb.appendValue(Double.parseDouble(line[i]));
+                        } catch (NumberFormatException ex) {
+                            if (!line[i].isEmpty()) {
+                                LOGGER.warning(String.format("Problem parsing double value at line %d and column %d (value='%s')", count, i, line[i]));
                             }
+                            block.msb.appendValue(Double.NaN);
                         }
                     }
-
-                    msb.closeBlock();
                 }
 
-
-                /*
-                3- build result
-                =============*/
-
-                final String oid = dataFile.getFileName().toString() + '-' + obsCpt;
-                obsCpt++;
-                final String procedureID = getProcedureID();
-
-                // sampling feature of interest
-                String foiID = "foi-" + oid;
-                if (previousFoi != null) {
-                    foiID = previousFoi;
-                }
-                final SamplingFeature sp = buildFOI(foiID, positions, samplingFeatures);
-                result.addFeatureOfInterest(sp);
-                globalSpaBound.addGeometry((AbstractGeometry) sp.getGeometry());
-
-                result.observations.add(OMUtils.buildObservation(oid,                           // id
-                                                                 sp,                            // foi
-                                                                 phenomenon,                    // phenomenon
-                                                                 procedureID,                   // procedure
-                                                                 count,                         // count
-                                                                 datarecord,                    // result structure
-                                                                 msb,                           // measures
-                                                                 currentSpaBound.getTimeObject("2.0.0"))   // time
-                );
-
-
-
-                result.spatialBound.merge(globalSpaBound);
-
-                // build procedure tree
-                final ProcedureTree procedure = new ProcedureTree(procedureID, PROCEDURE_TREE_TYPE);
-                procedure.spatialBound.merge(globalSpaBound);
-                result.procedures.add(procedure);
-
-                return result;
+                block.msb.closeBlock();
             }
-            throw new DataStoreException("csv headers not found");
-        } catch (IOException ex) {
-            LOGGER.log(Level.WARNING, "problem reading csv file", ex);
-            throw new DataStoreException(ex);
+
+            // the last observation count all the lines of the file
+            block.count = count;
+            scan.blocks.add(block);
         }
+        return scan;
     }
 
 
@@ -469,28 +494,8 @@ public class CsvObservationStore extends CSVStore implements ObservationStore {
 
     @Override
     public Set<String> getPhenomenonNames() {
-
-        // open csv file
-        try (final CSVReader reader = new CSVReader(Files.newBufferedReader(dataFile))) {
-
-            final Iterator<String[]> it = reader.iterator();
-
-            // at least one line is expected to contain headers information
-            if (it.hasNext()) {
-
-                // read headers
-                final String[] headers = it.next();
-                final Set<String> measureFields = new HashSet<>();
-                for (int i = 0; i < headers.length; i++) {
-                    final String header = headers[i];
-
-                    if (measureColumns.contains(header)) {
-                        measureFields.add(header);
-                    }
-                }
-                return measureFields;
-            }
-            return Collections.emptySet();
+        try {
+            return new HashSet<>(scan().phenomenonNames);
         } catch (IOException ex) {
             LOGGER.log(Level.WARNING, "problem reading csv file", ex);
             throw new UncheckedIOException(ex);
@@ -499,77 +504,19 @@ public class CsvObservationStore extends CSVStore implements ObservationStore {
 
     @Override
     public TemporalGeometricPrimitive getTemporalBounds() throws DataStoreException {
-
-        final GeoSpatialBound result = new GeoSpatialBound();
-        // open csv file
-        try (final CSVReader reader = new CSVReader(Files.newBufferedReader(dataFile))) {
-
-            final Iterator<String[]> it = reader.iterator();
-
-            // at least one line is expected to contain headers information
-            if (it.hasNext()) {
-
-                // prepare spatial/time column indices
-                int dateIndex = -1;
-                int latitudeIndex = -1;
-                int longitudeIndex = -1;
-
-                // read headers
-                final String[] headers = it.next();
-                for (int i = 0; i < headers.length; i++) {
-                    final String header = headers[i];
-
-                    if (dateColumn.equals(header)) {
-                        dateIndex = i;
-                    } else if (latitudeColumn.equals(header)) {
-                        latitudeIndex = i;
-                    } else if (longitudeColumn.equals(header)) {
-                        longitudeIndex = i;
-                    }
-                }
-
-                Date minDate = null;
-                Date maxDate = null;
-
-                while (it.hasNext()) {
-                    final String[] line = it.next();
-
-                    // update temporal information
-                    if (dateIndex != -1) {
-                        final Date dateParse = new SimpleDateFormat(this.dateFormat).parse(line[dateIndex]);
-                        if (minDate == null && maxDate == null) {
-                            minDate = dateParse;
-                            maxDate = dateParse;
-                        } else {
-                            if(minDate == null || minDate.compareTo(dateParse) > 0) {
-                                minDate = dateParse;
-                            } else if (maxDate == null || maxDate.compareTo(dateParse) < 0) {
-                                maxDate = dateParse;
-                            }
-                        }
-                    }
-
-                    // update spatial information
-                    if (latitudeIndex != -1 && longitudeIndex != -1) {
-                        result.addXYCoordinate(
-                                Double.parseDouble(line[longitudeIndex]),
-                                Double.parseDouble(line[latitudeIndex]));
-                    }
-                }
-
-                // set temporal interval
-                if (minDate != null && maxDate != null) {
-                    result.dateStart = minDate;
-                    result.dateEnd = maxDate;
-                }
-
-                return result.getTimeObject("2.0.0");
-            }
-            throw new DataStoreException("csv headers not found");
-        } catch (IOException | ParseException ex) {
+        final CsvScan scan;
+        try {
+            scan = scan();
+        } catch (IOException ex) {
             LOGGER.log(Level.WARNING, "problem reading csv file", ex);
             throw new DataStoreException(ex);
         }
+        if (scan.noHeaders) {
+            throw new DataStoreException("csv headers not found");
+        }
+        final GeoSpatialBound result = new GeoSpatialBound();
+        result.merge(scan.fileBound);
+        return result.getTimeObject("2.0.0");
     }
 
     /**
@@ -591,89 +538,21 @@ public class CsvObservationStore extends CSVStore implements ObservationStore {
 
     @Override
     public List<ExtractionResult.ProcedureTree> getProcedures() throws DataStoreException {
-
-
-        // open csv file
-        try (final CSVReader reader = new CSVReader(Files.newBufferedReader(dataFile))) {
-
-            final Iterator<String[]> it = reader.iterator();
-            int count = 0;
-
-            // at least one line is expected to contain headers information
-            if (it.hasNext()) {
-                count++;
-
-                // prepare spatial/time column indices
-                int dateIndex = -1;
-                int latitudeIndex = -1;
-                int longitudeIndex = -1;
-
-                // read headers
-                final String[] headers = it.next();
-                final List<String> measureFields = new ArrayList<>();
-                for (int i = 0; i < headers.length; i++) {
-                    final String header = headers[i];
-
-                    if (dateColumn.equals(header)) {
-                        dateIndex = i;
-                    } else if (latitudeColumn.equals(header)) {
-                        latitudeIndex = i;
-                    } else if (longitudeColumn.equals(header)) {
-                        longitudeIndex = i;
-                    } else if (measureColumns.contains(header)) {
-                        measureFields.add(header);
-                    }
-                }
-
-                // procedure tree instanciation
-                final ProcedureTree procedureTree = new ProcedureTree(getProcedureID(), PROCEDURE_TREE_TYPE, measureFields);
-
-                Date minDate = null;
-                Date maxDate = null;
-
-                while (it.hasNext()) {
-                    final String[] line = it.next();
-
-                    // update temporal interval
-                    if (dateIndex != -1) {
-                        try {
-                            final Date dateParse = new SimpleDateFormat(this.dateFormat).parse(line[dateIndex]);
-                            if (minDate == null && maxDate == null) {
-                                minDate = dateParse;
-                                maxDate = dateParse;
-                            } else {
-                                if(minDate.compareTo(dateParse) > 0) {
-                                    minDate = dateParse;
-                                } else if (maxDate.compareTo(dateParse) < 0) {
-                                    maxDate = dateParse;
-                                }
-                            }
-                        } catch (ParseException ex) {
-                            LOGGER.warning(String.format("Problem parsing date for main field at line %d and column %d (value='%s'). skipping line...", count, dateIndex, line[dateIndex]));
-                            continue;
-                        }
-                    }
-
-                    // update spatial information
-                    if (latitudeIndex != -1 && longitudeIndex != -1) {
-                        procedureTree.spatialBound.addXYCoordinate(
-                                Double.parseDouble(line[longitudeIndex]), Double.parseDouble(line[latitudeIndex]));
-                    }
-                }
-
-                // set temporal interval
-                if (minDate != null && maxDate != null) {
-                    procedureTree.spatialBound.dateStart = minDate;
-                    procedureTree.spatialBound.dateEnd = maxDate;
-                }
-
-                return Collections.singletonList(procedureTree);
-            }
-            throw new DataStoreException("csv headers not found");
+        final CsvScan scan;
+        try {
+            scan = scan();
         } catch (IOException ex) {
             LOGGER.log(Level.WARNING, "problem reading csv file", ex);
             throw new DataStoreException(ex);
         }
+        if (scan.noHeaders) {
+            throw new DataStoreException("csv headers not found");
+        }
+
+        // procedure tree instanciation
+        final ProcedureTree procedureTree = new ProcedureTree(getProcedureID(), PROCEDURE_TREE_TYPE, new ArrayList<>(scan.procedureFields));
+        procedureTree.spatialBound.merge(scan.fileBound);
+        return Collections.singletonList(procedureTree);
     }
 
     /**
@@ -700,4 +579,50 @@ public class CsvObservationStore extends CSVStore implements ObservationStore {
         throw new UnsupportedOperationException("Filtering is not supported on this observation store.");
     }
 
+
+    /**
+     * Content of the csv file extracted in a single pass.
+     */
+    private static final class CsvScan {
+
+        private final long modified;
+        private final long size;
+
+        private boolean noHeaders;
+
+        // headers matching a measure column
+        private final Set<String> phenomenonNames = new HashSet<>();
+        // measure fields of the procedure
+        private final List<String> procedureFields = new ArrayList<>();
+        // measure fields of the observations
+        private final List<String> measureFields = new ArrayList<>();
+
+        // spatial / temporal boundaries of the whole file
+        private final GeoSpatialBound fileBound = new GeoSpatialBound();
+        // spatial / temporal boundaries of the measures
+        private final GeoSpatialBound globalSpaBound = new GeoSpatialBound();
+
+        private final List<MeasureBlock> blocks = new ArrayList<>();
+
+        private CsvScan(final BasicFileAttributes attributes) {
+            this.modified = attributes.lastModifiedTime().toMillis();
+            this.size     = attributes.size();
+        }
+
+        private boolean isValid(final BasicFileAttributes attributes) {
+            return modified == attributes.lastModifiedTime().toMillis() && size == attributes.size();
+        }
+    }
+
+    /**
+     * Consecutive measures of a same feature of interest, giving one observation.
+     */
+    private static final class MeasureBlock {
+        private String foi;
+        private int count;
+        private final GeoSpatialBound spaBound = new GeoSpatialBound();
+        private final MeasureStringBuilder msb = new MeasureStringBuilder();
+        // memorize positions to compute FOI
+        private final List<DirectPosition> positions = new ArrayList<>();
+    }
 }
@@ -16,12 +16,28 @@
  */
 package com.examind.process.sos;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.FileSystemNotFoundException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.logging.Level;
 import org.apache.sis.storage.DataStoreException;
 import org.apache.sis.storage.DataStoreProvider;
@@ -30,6 +46,7 @@ import org.constellation.business.IDataBusiness;
 import org.constellation.business.IDatasetBusiness;
 import org.constellation.business.IDatasourceBusiness;
 import org.constellation.business.ISensorBusiness;
+import org.constellation.configuration.ConfigDirectory;
 import org.constellation.dto.DataBrief;
 import org.constellation.dto.DataCustomConfiguration;
 import org.constellation.dto.DataSource;
@@ -140,6 +157,7 @@ public class SosHarvesterProcess extends AbstractCstlProcess {
         final String latitudeColumn = inputParameters.getValue(LATITUDE_COLUMN);
         final String foiColumn = inputParameters.getValue(FOI_COLUMN);
         final String observationType = inputParameters.getValue(OBS_TYPE);
+        final Integer threadCount = inputParameters.getValue(THREAD_COUNT);
 
         // prepare the results
         int nbFileInserted = 0;
@@ -219,7 +237,8 @@ public class SosHarvesterProcess extends AbstractCstlProcess {
                 }
 
                 datasourceBusiness.clearSelectedPaths(dsId);
-            } catch (ConstellationException ex) {
+                Files.deleteIfExists(getChecksumFile(dsId));
+            } catch (ConstellationException | IOException ex) {
                 throw new ProcessException("Error while removing previous insertion.", this, ex);
             }
         }
@@ -246,132 +265,302 @@ public class SosHarvesterProcess extends AbstractCstlProcess {
         // http://localhost:8080/examind/API/internal/datas/store/observationFile
         final DataStoreProvider factory = DataStores.getProviderById(storeId);
         final List<Integer> dataToIntegrate = new ArrayList<>();
+        // checksums of the files whose observations are inserted (checksum -> path), persisted at the end
+        final Map<String, String> harvested = readChecksums(dsId);
+        // checksums of the files integrated by this execution, for the detection of duplicated files
+        final Map<String, String> checksums = new HashMap<>(harvested);
+        // checksum of the file of each integrated data
+        final Map<Integer, String> dataChecksums = new HashMap<>();
+        final ExecutorService executor = Executors.newFixedThreadPool(threadCount != null && threadCount > 0 ? threadCount : 1);
+        try {
+            if (factory != null) {
+                final DataCustomConfiguration.Type storeParams = buildDatastoreConfiguration(factory, "data-store", null);
+                storeParams.setSelected(true);
+
+
+                // http://localhost:8080/examind/API/datasources/106/analysisV3
+                final ProviderConfiguration provConfig = new ProviderConfiguration(storeParams.getCategory(), storeParams.getId());
+                storeParams.cleanupEmptyProperty();
+                storeParams.propertyToMap(provConfig.getParameters());
+
+                provConfig.getParameters().put(CSVProvider.SEPARATOR.getName().toString(), separator);
+                provConfig.getParameters().put(CsvObservationStoreFactory.MAIN_COLUMN.getName().toString(), mainColumn);
+                provConfig.getParameters().put(CsvObservationStoreFactory.DATE_COLUMN.getName().toString(), dateColumn);
+                provConfig.getParameters().put(CsvObservationStoreFactory.DATE_FORMAT.getName().toString(), dateFormat);
+                provConfig.getParameters().put(CsvObservationStoreFactory.LONGITUDE_COLUMN.getName().toString(), longitudeColumn);
+                provConfig.getParameters().put(CsvObservationStoreFactory.LATITUDE_COLUMN.getName().toString(), latitudeColumn);
+                provConfig.getParameters().put(CsvObservationStoreFactory.FOI_COLUMN.getName().toString(), foiColumn);
+                provConfig.getParameters().put(CsvObservationStoreFactory.MEASURE_COLUMNS_SEPARATOR.getName().toString(), ",");
+                provConfig.getParameters().put(CsvObservationStoreFactory.MEASURE_COLUMNS.getName().toString(), StringUtilities.toCommaSeparatedValues(measureColumns));
+                provConfig.getParameters().put(CsvObservationStoreFactory.OBSERVATION_TYPE.getName().toString(), observationType);
+                provConfig.getParameters().put(CsvObservationStoreFactory.PROCEDURE_ID.getName().toString(), procedureId);
+
+                try {
+                    datasourceBusiness.computeDatasourceStores(ds.getId(), false, storeId, true);
+
+
+//                    if (analyseDatasourceV3.getStores().isEmpty()) {
+//                        throw new ProcessException("No CSV files detected", this);
+//                    }
+
+                    Integer datasetId = datasetBusiness.getDatasetId(datasetIdentifier);
+                    if (datasetId == null)  {
+                        datasetId = datasetBusiness.createDataset(datasetIdentifier, null, null);
+                    }
 
-        if (factory != null) {
-            final DataCustomConfiguration.Type storeParams = buildDatastoreConfiguration(factory, "data-store", null);
-            storeParams.setSelected(true);
 
+                    List<DataSourceSelectedPath> paths = datasourceBusiness.getSelectedPath(ds, Integer.MAX_VALUE);
+
+                    // the checksums are computed in parallel, this is only file reading.
+                    final Map<String, Future<String>> pathChecksums = new HashMap<>();
+                    for (final DataSourceSelectedPath p : paths) {
+                        if (isPending(p)) {
+                            pathChecksums.put(p.getPath(), executor.submit(() -> checksum(dataUri, p.getPath())));
+                        }
+                    }
+
+                    // the integration is sequential, the datasource and provider business are not known to be thread-safe.
+                    for (final DataSourceSelectedPath p : paths) {
+                        final String checksum = pathChecksums.containsKey(p.getPath()) ? waitFor(pathChecksums.get(p.getPath())) : null;
+                        if (integratePath(p, ds, provConfig, datasetId, userId, checksum, checksums, harvested, dataChecksums, dataToIntegrate)) {
+                            nbFileInserted++;
+                        }
+                    }
 
-            // http://localhost:8080/examind/API/datasources/106/analysisV3
-            final ProviderConfiguration provConfig = new ProviderConfiguration(storeParams.getCategory(), storeParams.getId());
-            storeParams.cleanupEmptyProperty();
-            storeParams.propertyToMap(provConfig.getParameters());
+                } catch (ConstellationException ex) {
+                    LOGGER.warning(ex.getMessage());
+                    throw new ProcessException("Error while analysing the files", this, ex);
+                } finally {
+                    datasourceBusiness.close(dsId);
+                }
+            }
 
-            provConfig.getParameters().put(CSVProvider.SEPARATOR.getName().toString(), separator);
-            provConfig.getParameters().put(CsvObservationStoreFactory.MAIN_COLUMN.getName().toString(), mainColumn);
-            provConfig.getParameters().put(CsvObservationStoreFactory.DATE_COLUMN.getName().toString(), dateColumn);
-            provConfig.getParameters().put(CsvObservationStoreFactory.DATE_FORMAT.getName().toString(), dateFormat);
-            provConfig.getParameters().put(CsvObservationStoreFactory.LONGITUDE_COLUMN.getName().toString(), longitudeColumn);
-            provConfig.getParameters().put(CsvObservationStoreFactory.LATITUDE_COLUMN.getName().toString(), latitudeColumn);
-            provConfig.getParameters().put(CsvObservationStoreFactory.FOI_COLUMN.getName().toString(), foiColumn);
-            provConfig.getParameters().put(CsvObservationStoreFactory.MEASURE_COLUMNS_SEPARATOR.getName().toString(), ",");
-            provConfig.getParameters().put(CsvObservationStoreFactory.MEASURE_COLUMNS.getName().toString(), StringUtilities.toCommaSeparatedValues(measureColumns));
-            provConfig.getParameters().put(CsvObservationStoreFactory.OBSERVATION_TYPE.getName().toString(), observationType);
-            provConfig.getParameters().put(CsvObservationStoreFactory.PROCEDURE_ID.getName().toString(), procedureId);
+            /*
+            4- Publication des données correspondant à chaque SensorML sur le service SOS
+            ===========================================================================*/
 
             try {
-                datasourceBusiness.computeDatasourceStores(ds.getId(), false, storeId, true);
+                // read the files and extract their procedures in parallel, the result is kept for the sequential insertion below.
+                final Map<Integer, Future<List<ExtractionResult.ProcedureTree>>> dataProcedures = new HashMap<>();
+                for (final Integer dataId : dataToIntegrate) {
+                    dataProcedures.put(dataId, executor.submit(() -> {
+                        final ObservationStore store = SOSUtils.getObservationStore(DataProviders.getProvider(dataBusiness.getDataProvider(dataId)));
+                        if (store == null) {
+                            throw new ProcessException("none observation store found", this);
+                        }
+                        return store.getProcedures();
+                    }));
+                }
 
+                // the sensor and observation insertion is kept sequential, the files may share the same procedure.
+                final ObservationStore sosStore = getSOSObservationStore(sosServ.getName());
+                boolean reload = false;
+                for (final Integer dataId : dataToIntegrate) {
 
-//                if (analyseDatasourceV3.getStores().isEmpty()) {
-//                    throw new ProcessException("No CSV files detected", this);
-//                }
+                    List<String> ids = generateSensorML(dataId, waitFor(dataProcedures.get(dataId)));
 
-                Integer datasetId = datasetBusiness.getDatasetId(datasetIdentifier);
-                if (datasetId == null)  {
-                    datasetId = datasetBusiness.createDataset(datasetIdentifier, null, null);
+                    // ajout d'un capteur au SOS
+                    for (String sensorID : ids) {
+                        nbObsInserted = nbObsInserted + importSensor(sosServ.getName(), sensorID, dataId, configurer, sosStore);
+                        LOGGER.info(String.format("ajout du capteur %s au service %s", sosServ.getName(), sensorID));
+                        reload = true;
+                    }
+
+                    // the observations of the data are inserted
+                    final String checksum = dataChecksums.remove(dataId);
+                    if (checksum != null && !dataChecksums.containsValue(checksum)) {
+                        harvested.put(checksum, checksums.get(checksum));
+                    }
+                }
+                if (reload) {
+                    serviceBusiness.restart(sosServ.getId(), true);
                 }
 
+            } catch (ConstellationException | DataStoreException | SQLException ex) {
+                throw new ProcessException(ex.getMessage(), this ,ex);
+            }
+        } finally {
+            executor.shutdownNow();
+            writeChecksums(dsId, harvested);
+        }
 
-                List<DataSourceSelectedPath> paths = datasourceBusiness.getSelectedPath(ds, Integer.MAX_VALUE);
+        outputParameters.getOrCreate(SosHarvesterProcessDescriptor.OBSERVATION_INSERTED).setValue(nbObsInserted);
+        outputParameters.getOrCreate(SosHarvesterProcessDescriptor.FILE_INSERTED).setValue(nbFileInserted);
+    }
 
-                final boolean hidden = false; // true
-
-                for (final DataSourceSelectedPath p : paths) {
-
-                    switch (p.getStatus()) {
-                        case "NO_DATA":
-                        case "ERROR":
-                            LOGGER.log(Level.INFO, "No CSV / Error in file: {0}", p.getPath());
-                            break;
-                        case "INTEGRATED":
-                        case "COMPLETED":
-                            LOGGER.log(Level.INFO, "CSV already integrated for file: {0}", p.getPath());
-                            break;
-                        case "REMOVED":
-                            LOGGER.log(Level.INFO, "Removing CSV for file: {0}", p.getPath());
-                            providerBusiness.removeProvider(p.getProviderId());
-                            // TODO full removal
-                            datasourceBusiness.removePath(ds, p.getPath());
-                            break;
-                        default:
-                            LOGGER.log(Level.INFO, "Integrating CSV file: {0}", p.getPath());
-                            ResourceStoreAnalysisV3 store = datasourceBusiness.treatDataPath(p, ds, provConfig, true, datasetId, userId);
-                            for (ResourceAnalysisV3 resourceStore : store.getResources()) {
-                                final DataBrief acceptData = dataBusiness.acceptData(resourceStore.getId(), userId, hidden);
-                                dataBusiness.updateDataDataSetId(acceptData.getId(), datasetId);
-                                dataToIntegrate.add(acceptData.getId());
-                            }
-                            nbFileInserted++;
+    /**
+     * Return {@code true} if the datasource file has not been integrated yet.
+     */
+    private static boolean isPending(final DataSourceSelectedPath p) {
+        switch (p.getStatus()) {
+            case "NO_DATA":
+            case "ERROR":
+            case "INTEGRATED":
+            case "COMPLETED":
+            case "REMOVED":
+                return false;
+            default:
+                return true;
+        }
+    }
+
+    /**
+     * Integrate a datasource file according to its status.
+     *
+     * @param checksum The checksum of the file, or {@code null} if unknown.
+     * @param checksums The checksums of the files already integrated (checksum -> path), the checksum of the file is added.
+     * @param harvested The checksums of the files whose observations are inserted, the file is removed if its status is REMOVED.
+     * @param dataChecksums Receive the checksum of each integrated data.
+     *
+     * @return {@code true} if the file has been integrated.
+     */
+    private boolean integratePath(final DataSourceSelectedPath p, final DataSource ds, final ProviderConfiguration provConfig, final Integer datasetId,
+            final int userId, final String checksum, final Map<String, String> checksums, final Map<String, String> harvested,
+            final Map<Integer, String> dataChecksums, final List<Integer> dataToIntegrate) throws ConstellationException {
+        final boolean hidden = false; // true
+
+        switch (p.getStatus()) {
+            case "NO_DATA":
+            case "ERROR":
+                LOGGER.log(Level.INFO, "No CSV / Error in file: {0}", p.getPath());
+                return false;
+            case "INTEGRATED":
+            case "COMPLETED":
+                LOGGER.log(Level.INFO, "CSV already integrated for file: {0}", p.getPath());
+                return false;
+            case "REMOVED":
+                LOGGER.log(Level.INFO, "Removing CSV for file: {0}", p.getPath());
+                providerBusiness.removeProvider(p.getProviderId());
+                // TODO full removal
+                datasourceBusiness.removePath(ds, p.getPath());
+                checksums.values().removeIf(p.getPath()::equals);
+                harvested.values().removeIf(p.getPath()::equals);
+                return false;
+            default:
+                if (checksum != null) {
+                    final String previous = checksums.putIfAbsent(checksum, p.getPath());
+                    if (previous != null) {
+                        LOGGER.log(Level.INFO, "CSV file: {0} already harvested (same content as {1})", new Object[]{p.getPath(), previous});
+                        return false;
+                    }
+                }
+                LOGGER.log(Level.INFO, "Integrating CSV file: {0}", p.getPath());
+                try {
+                    ResourceStoreAnalysisV3 store = datasourceBusiness.treatDataPath(p, ds, provConfig, true, datasetId, userId);
+                    for (ResourceAnalysisV3 resourceStore : store.getResources()) {
+                        final DataBrief acceptData = dataBusiness.acceptData(resourceStore.getId(), userId, hidden);
+                        dataBusiness.updateDataDataSetId(acceptData.getId(), datasetId);
+                        dataToIntegrate.add(acceptData.getId());
+                        if (checksum != null) {
+                            dataChecksums.put(acceptData.getId(), checksum);
+                        }
+                    }
+                } catch (ConstellationException | RuntimeException ex) {
+                    if (checksum != null) {
+                        checksums.remove(checksum);
                     }
+                    throw ex;
                 }
+                return true;
+        }
+    }
 
-            } catch (ConstellationException ex) {
-                LOGGER.warning(ex.getMessage());
-                throw new ProcessException("Error while analysing the files", this, ex);
-            } finally {
-                datasourceBusiness.close(dsId);
+    /**
+     * Wait for the result of a submitted task.
+     */
+    private static <T> T waitFor(final Future<T> future) throws ConstellationException {
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ConstellationException(ex);
+        } catch (ExecutionException ex) {
+            final Throwable cause = ex.getCause();
+            if (cause instanceof ConstellationException) {
+                throw (ConstellationException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
             }
+            throw new ConstellationException(cause);
         }
+    }
 
-        /*
-        4- Publication des données correspondant à chaque SensorML sur le service SOS
-        ===========================================================================*/
-
+    /**
+     * Return the SHA-256 checksum of a datasource file, or {@code null} if the file is not reachable as a {@link Path}.
+     */
+    private static String checksum(final URI dataUri, final String subPath) {
+        final Path file;
         try {
-            final ObservationStore sosStore = getSOSObservationStore(sosServ.getName());
-            boolean reload = false;
-            for (final Integer dataId : dataToIntegrate) {
+            file = Paths.get(dataUri).resolve(subPath.startsWith("/") ? subPath.substring(1) : subPath);
+        } catch (FileSystemNotFoundException | IllegalArgumentException ex) {
+            return null;
+        }
+        try (InputStream in = new DigestInputStream(Files.newInputStream(file), MessageDigest.getInstance("SHA-256"))) {
+            final byte[] buffer = new byte[8192];
+            while (in.read(buffer) != -1) {
+                // digest computed while reading
+            }
+            final StringBuilder sb = new StringBuilder();
+            for (byte b : ((DigestInputStream) in).getMessageDigest().digest()) {
+                sb.append(String.format("%02x", b));
+            }
+            return sb.toString();
+        } catch (IOException | NoSuchAlgorithmException ex) {
+            LOGGER.log(Level.WARNING, "Unable to compute the checksum of " + file, ex);
+            return null;
+        }
+    }
 
-                List<String> ids = generateSensorML(dataId);
+    private static Path getChecksumFile(final int dsId) {
+        return ConfigDirectory.getConfigDirectory().resolve("harvester").resolve("datasource-" + dsId + ".checksums");
+    }
 
-                // ajout d'un capteur au SOS
-                for (String sensorID : ids) {
-                    nbObsInserted = nbObsInserted + importSensor(sosServ.getName(), sensorID, dataId, configurer, sosStore);
-                    LOGGER.info(String.format("ajout du capteur %s au service %s", sosServ.getName(), sensorID));
-                    reload = true;
-                }
+    /**
+     * Read the checksums of the files already harvested from the datasource (checksum -> path).
+     */
+    private static Map<String, String> readChecksums(final int dsId) {
+        final Map<String, String> results = new HashMap<>();
+        final Path file = getChecksumFile(dsId);
+        if (Files.isRegularFile(file)) {
+            final Properties prop = new Properties();
+            try (InputStream in = Files.newInputStream(file)) {
+                prop.load(in);
+            } catch (IOException ex) {
+                LOGGER.log(Level.WARNING, "Unable to read the harvested files checksums " + file, ex);
             }
-            if (reload) {
-                serviceBusiness.restart(sosServ.getId(), true);
+            for (String key : prop.stringPropertyNames()) {
+                results.put(key, prop.getProperty(key));
             }
-
-        } catch (ConfigurationException | DataStoreException | SQLException ex) {
-            throw new ProcessException(ex.getMessage(), this ,ex);
         }
-
-        outputParameters.getOrCreate(SosHarvesterProcessDescriptor.OBSERVATION_INSERTED).setValue(nbObsInserted);
-        outputParameters.getOrCreate(SosHarvesterProcessDescriptor.FILE_INSERTED).setValue(nbFileInserted);
+        return results;
     }
 
-    private List<String> generateSensorML(final int dataId) throws DataStoreException, ConfigurationException, SQLException, ProcessException {
+    private static void writeChecksums(final int dsId, final Map<String, String> checksums) {
+        final Path file = getChecksumFile(dsId);
+        final Properties prop = new Properties();
+        prop.putAll(checksums);
+        try {
+            Files.createDirectories(file.getParent());
+            try (OutputStream out = Files.newOutputStream(file)) {
+                prop.store(out, "harvested files checksums");
+            }
+        } catch (IOException ex) {
+            LOGGER.log(Level.WARNING, "Unable to write the harvested files checksums " + file, ex);
+        }
+    }
 
-        final Integer providerId = dataBusiness.getDataProvider(dataId);
-        final DataProvider provider = DataProviders.getProvider(providerId);
-        final List<ExtractionResult.ProcedureTree> procedures;
+    /**
+     * Generate the SensorML of the procedures extracted from a data.
+     *
+     * @param procedures The procedures of the data observation store.
+     */
+    private List<String> generateSensorML(final int dataId, final List<ExtractionResult.ProcedureTree> procedures) throws ConfigurationException, SQLException {
         final List<String> ids = new ArrayList<>();
 
-        final ObservationStore store = SOSUtils.getObservationStore(provider);
-        if (store != null) {
-            procedures = store.getProcedures();
-
-            // SensorML generation
-            for (final ExtractionResult.ProcedureTree process : procedures) {
-                generateSensorML(dataId, process, null);
-                ids.add(process.id);
-            }
-        } else {
-            throw new ProcessException("none observation store found", this);
+        // SensorML generation
+        for (final ExtractionResult.ProcedureTree process : procedures) {
+            generateSensorML(dataId, process, null);
+            ids.add(process.id);
         }
         return ids;
     }
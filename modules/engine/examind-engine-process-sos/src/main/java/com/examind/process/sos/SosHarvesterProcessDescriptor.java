@@ -172,9 +172,17 @@ public class SosHarvesterProcessDescriptor extends AbstractProcessDescriptor{
             .setRequired(false)
             .create(Boolean.class, false);
 
+    public static final String THREAD_COUNT_NAME = "thread count";
+    public static final String THREAD_COUNT_DESC = "Number of threads computing the checksums and reading the files in parallel";
+    public static final ParameterDescriptor<Integer> THREAD_COUNT = PARAM_BUILDER
+            .addName(THREAD_COUNT_NAME)
+            .setRemarks(THREAD_COUNT_DESC)
+            .setRequired(false)
+            .create(Integer.class, 4);
+
     public static final ParameterDescriptorGroup INPUT_DESC =
             PARAM_BUILDER.addName("InputParameters").createGroup(DATA_FOLDER, USER, PWD, SERVICE_ID, DATASET_IDENTIFIER, PROCEDURE_ID, OBS_TYPE,
-                    SEPARATOR, MAIN_COLUMN, DATE_COLUMN, DATE_FORMAT, LONGITUDE_COLUMN, LATITUDE_COLUMN, FOI_COLUMN, MEASURE_COLUMNS, REMOVE_PREVIOUS);
+                    SEPARATOR, MAIN_COLUMN, DATE_COLUMN, DATE_FORMAT, LONGITUDE_COLUMN, LATITUDE_COLUMN, FOI_COLUMN, MEASURE_COLUMNS, REMOVE_PREVIOUS, THREAD_COUNT);
 
     public static final String FILE_INSERTED_NAME = "Files inserted number";
     public static final String FILE_INSERTED_DESC = "Files inserted number";
@@ -0,0 +1,72 @@
+/*
+ *    Constellation - An open source and standard compliant SDI
+ *    http://www.constellation-sdi.org
+ *
+ * Copyright 2019 Geomatys.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.examind.process.sos;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.geotoolkit.data.csv.CSVProvider;
+import org.geotoolkit.sos.netcdf.ExtractionResult;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.opengis.parameter.ParameterValueGroup;
+
+public class CsvObservationStoreTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void invalidCoordinatesTest() throws Exception {
+        final Path file = folder.getRoot().toPath().resolve("traj.csv");
+        Files.write(file, ("DATE,LATITUDE,LONGITUDE,TEMP\n"
+                         + "2018-10-30T00:00:00Z,50.2,-4.1,14.5\n"
+                         + "2018-10-30T00:01:00Z,N/A,-10.0,14.6\n"
+                         + "2018-10-30T00:02:00Z,50.3,,14.7\n"
+                         + "2018-10-30T00:03:00Z,50.4,-4.2,14.8\n").getBytes(StandardCharsets.UTF_8));
+
+        final CsvObservationStoreFactory factory = new CsvObservationStoreFactory();
+        final ParameterValueGroup params = factory.getOpenParameters().createValue();
+        params.parameter(CSVProvider.PATH.getName().toString()).setValue(file.toUri());
+        params.parameter(CSVProvider.SEPARATOR.getName().toString()).setValue(',');
+        params.parameter(CsvObservationStoreFactory.MAIN_COLUMN.getName().toString()).setValue("DATE");
+        params.parameter(CsvObservationStoreFactory.DATE_COLUMN.getName().toString()).setValue("DATE");
+        params.parameter(CsvObservationStoreFactory.DATE_FORMAT.getName().toString()).setValue("yyyy-MM-dd'T'HH:mm:ss'Z'");
+        params.parameter(CsvObservationStoreFactory.LATITUDE_COLUMN.getName().toString()).setValue("LATITUDE");
+        params.parameter(CsvObservationStoreFactory.LONGITUDE_COLUMN.getName().toString()).setValue("LONGITUDE");
+        params.parameter(CsvObservationStoreFactory.MEASURE_COLUMNS.getName().toString()).setValue("TEMP");
+        params.parameter(CsvObservationStoreFactory.MEASURE_COLUMNS_SEPARATOR.getName().toString()).setValue(",");
+        params.parameter(CsvObservationStoreFactory.OBSERVATION_TYPE.getName().toString()).setValue("Trajectory");
+        params.parameter(CsvObservationStoreFactory.PROCEDURE_ID.getName().toString()).setValue("urn:sensor:csv");
+
+        final CsvObservationStore store = factory.open(params);
+
+        // the lines with an invalid latitude or longitude are skipped
+        final List<ExtractionResult.ProcedureTree> procedures = store.getProcedures();
+        Assert.assertEquals(1, procedures.size());
+        Assert.assertEquals(Double.valueOf(-4.2), procedures.get(0).spatialBound.minx);
+
+        final ExtractionResult result = store.getResults();
+        Assert.assertEquals(1, result.observations.size());
+        Assert.assertEquals(Double.valueOf(-4.2), result.spatialBound.minx);
+    }
+}
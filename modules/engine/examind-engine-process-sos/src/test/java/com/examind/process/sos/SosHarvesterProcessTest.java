@@ -22,9 +22,12 @@ import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.sql.Connection;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Properties;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import javax.annotation.PostConstruct;
@@ -38,6 +41,7 @@ import org.constellation.business.IProviderBusiness;
 import org.constellation.business.ISensorBusiness;
 import org.constellation.business.IServiceBusiness;
 import org.constellation.configuration.ConfigDirectory;
+import org.constellation.dto.DataSource;
 import org.constellation.dto.process.ServiceProcessReference;
 import org.constellation.dto.service.ServiceComplete;
 import org.constellation.dto.service.config.sos.SOSConfiguration;
@@ -551,6 +555,56 @@ public class SosHarvesterProcessTest {
 
     }
 
+    @Test
+    @Order(order = 5)
+    public void harvestDuplicatedFileTest() throws Exception {
+
+        ServiceComplete sc = serviceBusiness.getServiceByIdentifierAndType("sos", "default");
+        Assert.assertNotNull(sc);
+
+        // the checksums of the files inserted by harvestTrajTest are recorded
+        final DataSource source = datasourceBusiness.getByUrl(fmlwDirectory.toURI().toString());
+        Assert.assertNotNull(source);
+        final Path checksumFile = ConfigDirectory.getConfigDirectory().resolve("harvester").resolve("datasource-" + source.getId() + ".checksums");
+        Assert.assertTrue(Files.isRegularFile(checksumFile));
+        final Properties checksums = new Properties();
+        try (InputStream in = Files.newInputStream(checksumFile)) {
+            checksums.load(in);
+        }
+        Assert.assertEquals(3, checksums.size());
+        Assert.assertTrue(checksums.containsValue("/tsg-FMLW-1.csv"));
+
+        // a copy of an already harvested file is not integrated again
+        Files.copy(new File(fmlwDirectory, "tsg-FMLW-1.csv").toPath(), new File(fmlwDirectory, "tsg-FMLW-1-copy.csv").toPath());
+
+        final ProcessDescriptor desc = ProcessFinder.getProcessDescriptor(ExamindProcessFactory.NAME, SosHarvesterProcessDescriptor.NAME);
+
+        final ParameterValueGroup in = desc.getInputDescriptor().createValue();
+        in.parameter(SosHarvesterProcessDescriptor.DATASET_IDENTIFIER_NAME).setValue("SOS_DATA");
+        in.parameter(SosHarvesterProcessDescriptor.DATA_FOLDER_NAME).setValue(fmlwDirectory.toURI().toString());
+        in.parameter(SosHarvesterProcessDescriptor.DATE_COLUMN_NAME).setValue("DATE (yyyy-mm-ddThh:mi:ssZ)");
+        in.parameter(SosHarvesterProcessDescriptor.MAIN_COLUMN_NAME).setValue("DATE (yyyy-mm-ddThh:mi:ssZ)");
+        in.parameter(SosHarvesterProcessDescriptor.DATE_FORMAT_NAME).setValue("yyyy-MM-dd'T'hh:mm:ss'Z'");
+        in.parameter(SosHarvesterProcessDescriptor.LATITUDE_COLUMN_NAME).setValue("LATITUDE (degree_north)");
+        in.parameter(SosHarvesterProcessDescriptor.LONGITUDE_COLUMN_NAME).setValue("LONGITUDE (degree_east)");
+        in.parameter(SosHarvesterProcessDescriptor.MEASURE_COLUMNS_NAME).setValue("TEMP LEVEL1 (degree_Celsius)");
+        in.parameter(SosHarvesterProcessDescriptor.OBS_TYPE_NAME).setValue("Trajectory");
+        in.parameter(SosHarvesterProcessDescriptor.PROCEDURE_ID_NAME).setValue("urn:sensor:2");
+        in.parameter(SosHarvesterProcessDescriptor.REMOVE_PREVIOUS_NAME).setValue(false);
+        in.parameter(SosHarvesterProcessDescriptor.SERVICE_ID_NAME).setValue(new ServiceProcessReference(sc));
+
+        final ParameterValueGroup out = desc.createProcess(in).call();
+        Assert.assertEquals(0, out.parameter(SosHarvesterProcessDescriptor.FILE_INSERTED_NAME).intValue());
+        Assert.assertEquals(0, out.parameter(SosHarvesterProcessDescriptor.OBSERVATION_INSERTED_NAME).intValue());
+
+        checksums.clear();
+        try (InputStream in2 = Files.newInputStream(checksumFile)) {
+            checksums.load(in2);
+        }
+        Assert.assertEquals(3, checksums.size());
+        Assert.assertFalse(checksums.containsValue("/tsg-FMLW-1-copy.csv"));
+    }
+
     private static ObservationOffering getOffering(SOSworker worker, String sensorId) throws CstlServiceException {
         Capabilities capa        = worker.getCapabilities(new GetCapabilitiesType());
         Contents ct              = capa.getContents();
@@ -20,6 +20,7 @@ public class ClusterMessageConstant {
 
     public static final String SRV_VALUE_ACTION_START = "start";
     public static final String SRV_VALUE_ACTION_STOP = "stop";
+    public static final String SRV_VALUE_ACTION_RESTART = "restart";
     public static final String SRV_VALUE_ACTION_REFRESH = "refresh";
     public static final String SRV_VALUE_ACTION_STATUS = "status";
     public static final String SRV_VALUE_ACTION_CLEAR_CACHE = "clearCache";
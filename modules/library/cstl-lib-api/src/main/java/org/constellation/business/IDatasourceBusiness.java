@@ -217,7 +217,7 @@ public interface IDatasourceBusiness {
      * Then return a map of store / formats detected in the datasource.
      *
      * @param id The datasource identifier.
-     * @param async if true, and if the datasource is not yet analyzed, it will return an empty result and perform the analysis on a new Thread.
+     * @param async if true, and if the datasource is not yet analyzed, it will return an empty result and perform the analysis in background.
      * @param deep if false, it will only analyse the first level of tha datasource.
      *
      * @return A map of store / formats detected in the datasource.
@@ -231,7 +231,7 @@ public interface IDatasourceBusiness {
      * Then return a map of store / formats detected in the datasource.
      *
      * @param id The datasource identifier.
-     * @param async if true, and if the datasource is not yet analyzed, it will return an empty result and perform the analysis on a new Thread.
+     * @param async if true, and if the datasource is not yet analyzed, it will return an empty result and perform the analysis in background.
      * @param storeId Allow to analyse the file only against one store.
      * @param deep if false, it will only analyse the first level of tha datasource.
      *
@@ -249,6 +249,14 @@ public interface IDatasourceBusiness {
      */
     String getDatasourceAnalysisState(int id);
 
+    /**
+     * Return the number of paths already analyzed by the datasource analysis going on (or already finished).
+     *
+     * @param id The datasource identifier.
+     * @return the number of analyzed paths, or {@code null} if no analysis has been started.
+     */
+    Integer getDatasourceAnalysisProgress(int id);
+
     /**
      * Update the current state of the datasource analysis.
      * for the different possible vlues see {@link AnalysisState}
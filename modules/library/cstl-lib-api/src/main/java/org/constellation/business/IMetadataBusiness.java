@@ -33,6 +33,7 @@ import org.constellation.dto.metadata.MetadataWithState;
 import org.constellation.dto.metadata.Attachment;
 import org.constellation.dto.metadata.MetadataBrief;
 import org.constellation.dto.metadata.MetadataLightBrief;
+import org.constellation.dto.metadata.MetadataStatistics;
 import org.constellation.dto.metadata.RootObj;
 import org.constellation.exception.ConstellationException;
 import org.w3c.dom.Node;
@@ -749,6 +750,15 @@ public interface IMetadataBusiness {
 
     Map<String,Integer> getStats(Map<String, Object> filter);
 
+    /**
+     * Returns all the statistics of the metadata dashboard, computed in one query.
+     * The owner statistics are given for all the users, and ignore the owner filter.
+     *
+     * @param filterMap optional filters
+     * @return The counts by state, by completion range, by profile and by user.
+     */
+    MetadataStatistics getStatistics(final Map<String,Object> filterMap);
+
     void updateSharedProperty(final List<Integer> ids, final boolean shared) throws ConfigurationException;
 
     void updateSharedProperty(final int id, final boolean shared) throws ConfigurationException;
@@ -18,6 +18,7 @@
  */
 package org.constellation.business;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -81,6 +82,13 @@ public interface IProcessBusiness {
 
     void updateTask(Task task) throws ConstellationException;
 
+    /**
+     * Update several tasks in a single transaction.
+     *
+     * @param tasks the tasks to update.
+     */
+    void updateTasks(Collection<Task> tasks) throws ConstellationException;
+
     void cancelTask(final String taskId) throws ConstellationException;
 
     void cancelTaskForTaskParameter(final Integer taskparamId) throws ConstellationException;
@@ -76,6 +76,14 @@ public interface ISensorBusiness {
 
     Object getSensorMetadata(String sensorID, String serviceID) throws ConfigurationException;
 
+    /**
+     * Return a copy of the sensor metadata, that can be modified before an update.
+     * The objects returned by {@code getSensorMetadata} are shared by the sensor readers and must not be modified.
+     */
+    Object getSensorMetadataCopy(Integer sensorID) throws ConfigurationException;
+
+    Object getSensorMetadataCopy(String sensorID) throws ConfigurationException;
+
     void updateSensorMetadata(Integer sensorID, Object sensorMetadata) throws ConfigurationException;
 
     void updateSensorMetadata(String sensorID, Object sensorMetadata) throws ConfigurationException;
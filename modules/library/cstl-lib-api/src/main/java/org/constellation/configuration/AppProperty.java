@@ -107,6 +107,36 @@ public enum AppProperty {
 
     ES_MASTER_NAME("es.master.name"),
 
+    /**
+     * Maximum number of documents sent in a single ElasticSearch bulk request during an indexation (default is 1000).
+     */
+    ES_BULK_ACTIONS("es.bulk.actions"),
+
+    /**
+     * Maximum size in megabytes of a single ElasticSearch bulk request during an indexation (default is 5).
+     */
+    ES_BULK_SIZE("es.bulk.size"),
+
+    /**
+     * Number of ElasticSearch bulk requests sent concurrently during an indexation (default is 1).
+     */
+    ES_BULK_CONCURRENCY("es.bulk.concurrency"),
+
+    /**
+     * Number of threads delivering the cluster messages to the local listeners (default is 4).
+     */
+    CLUSTER_THREADS("cluster.threads"),
+
+    /**
+     * Maximum number of cluster messages waiting for delivery, the publishers are slowed down beyond (default is 1000).
+     */
+    CLUSTER_QUEUE_SIZE("cluster.queue.size"),
+
+    /**
+     * Time in milliseconds during which the responses of a cluster request are listened (default is 60000).
+     */
+    CLUSTER_RESPONSE_TIMEOUT("cluster.response.timeout"),
+
     /**
      * If set to true, a new metadata FC_FeatureCalogue wil be created at vector data import (default is false).
      */
@@ -166,7 +196,77 @@ public enum AppProperty {
     /**
      * Time in second for attchment cache.
      */
-    EXA_CACHE_CONTROL_ATTACHMENT_TIME("examind.cache.control.attachment.time");
+    EXA_CACHE_CONTROL_ATTACHMENT_TIME("examind.cache.control.attachment.time"),
+
+    /**
+     * Flag enabling the in-memory thesaurus index loaded at startup and used for the searches (default is true).
+     */
+    EXA_THESAURUS_INDEX("examind.thesaurus.index"),
+
+    /**
+     * Flag enabling the per-request timers and phase breakdown of the OGC services (default is true).
+     */
+    EXA_REQUEST_METRICS("examind.request.metrics"),
+
+    /**
+     * Duration in milliseconds above which a request trace is kept in the slow request log (default is 2000).
+     */
+    EXA_SLOW_REQUEST_THRESHOLD("examind.slow.request.threshold"),
+
+    /**
+     * Only one slow request trace out of N is kept in the slow request log (default is 1, every slow request).
+     */
+    EXA_SLOW_REQUEST_SAMPLING("examind.slow.request.sampling"),
+
+    /**
+     * Number of traces kept in the slow request log (default is 100).
+     */
+    EXA_SLOW_REQUEST_BUFFER("examind.slow.request.buffer"),
+
+    /**
+     * Maximum number of temporary GetObservation templates kept by a SOS service (default is 1000).
+     */
+    EXA_SOS_TEMPLATE_MAX("examind.sos.template.max"),
+
+    /**
+     * Delay in milliseconds before refreshing the SOS observation filter after an insertion, the insertions
+     * done during this delay share the same refresh (default is 1000). A request reading the observations
+     * refreshes the filter immediately if needed.
+     */
+    EXA_SOS_FILTER_REFRESH_DELAY("examind.sos.filter.refresh.delay"),
+
+    /**
+     * Validity in milliseconds of the SOS feature of interest index (default is 600000). The index is rebuilt
+     * after this delay, to include the modifications of the observation store done outside of Examind.
+     */
+    EXA_SOS_FOI_INDEX_TTL("examind.sos.foi.index.ttl"),
+
+    /**
+     * Minimal delay in milliseconds between two writes of the progression of a scheduled task (default is 1000).
+     * The state changes of the tasks are always written at once.
+     */
+    EXA_TASK_PROGRESS_RATE("examind.task.progress.rate"),
+
+    /**
+     * Delay in milliseconds without change in a watched folder before launching the triggered task (default is 5000).
+     */
+    EXA_FOLDER_TRIGGER_QUIET_PERIOD("examind.folder.trigger.quiet.period"),
+
+    /**
+     * Time to live in milliseconds of the total count and of the page boundaries of a metadata listing (default is 30000).
+     * The listings are cached by each node, this is the delay before a node sees the metadata modified by an other node.
+     */
+    EXA_METADATA_LISTING_CACHE_TTL("examind.metadata.listing.cache.ttl"),
+
+    /**
+     * Maximum number of parsed filters, and of search results, kept by each CSW index (default is 100, 0 disables these caches).
+     */
+    EXA_CSW_QUERY_CACHE_SIZE("examind.csw.query.cache.size"),
+
+    /**
+     * Maximum number of identifiers of a search result cached by a CSW index (default is 10000), the larger results are not cached.
+     */
+    EXA_CSW_QUERY_CACHE_MAX_RESULT("examind.csw.query.cache.max.result");
 
     private final String key;
 
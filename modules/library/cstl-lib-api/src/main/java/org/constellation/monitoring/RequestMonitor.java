@@ -0,0 +1,310 @@
+/*
+ *    Constellation - An open source and standard compliant SDI
+ *    http://www.constellation-sdi.org
+ *
+ * Copyright 2019 Geomatys.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.constellation.monitoring;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import org.constellation.configuration.AppProperty;
+import org.constellation.configuration.Application;
+
+/**
+ * Per-request instrumentation of the services.
+ *
+ * A request is traced between {@link #start(String, String)} and {@link #end()}, called by the thread
+ * treating it. During the request, the code can declare some phases (layer resolution, rendering,
+ * database queries, ...) with {@link #phase(String)}, which costs nothing when no request is traced :
+ * <pre>
+ * try (RequestMonitor.Phase phase = RequestMonitor.getInstance().phase("render")) {
+ *     ...
+ * }
+ * </pre>
+ *
+ * At the end of the request, the durations are accumulated in timers by service, operation, layer and phase.
+ * The requests slower than the configured threshold are kept in a ring buffer, with the detail of their phases.
+ */
+public final class RequestMonitor {
+
+    /**
+     * Maximum number of timers, to bound the memory used when a lot of layers are requested.
+     */
+    static final int MAX_TIMERS = 10000;
+
+    /**
+     * Maximum number of distinct operation names, the operation names come from the client requests.
+     */
+    static final int MAX_OPERATIONS = 100;
+
+    /**
+     * Key of the services and of the operations which are not found.
+     */
+    static final String UNKNOWN = "unknown";
+
+    private static final Phase NO_PHASE = () -> {};
+
+    private static final RequestMonitor INSTANCE = new RequestMonitor(
+            Application.getBooleanProperty(AppProperty.EXA_REQUEST_METRICS, true),
+            Application.getLongProperty(AppProperty.EXA_SLOW_REQUEST_THRESHOLD, 2000),
+            Application.getIntegerProperty(AppProperty.EXA_SLOW_REQUEST_SAMPLING, 1),
+            Application.getIntegerProperty(AppProperty.EXA_SLOW_REQUEST_BUFFER, 100));
+
+    private final ThreadLocal<RequestTrace> current = new ThreadLocal<>();
+
+    private final Map<String, RequestTimer> timers = new ConcurrentHashMap<>();
+
+    private final Set<String> operations = ConcurrentHashMap.newKeySet();
+
+    private final boolean enabled;
+
+    private final long thresholdNanos;
+
+    private final int sampling;
+
+    private final AtomicReferenceArray<SlowRequest> slowRequests;
+
+    private final AtomicLong slowCount = new AtomicLong();
+
+    private final AtomicLong slowIndex = new AtomicLong();
+
+    /**
+     * @param enabled if {@code false}, no request is traced.
+     * @param threshold duration in milliseconds above which a request is kept in the slow request log.
+     * @param sampling only one slow request out of {@code sampling} is kept.
+     * @param bufferSize number of slow requests kept.
+     */
+    public RequestMonitor(final boolean enabled, final long threshold, final int sampling, final int bufferSize) {
+        this.enabled        = enabled;
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(threshold);
+        this.sampling       = Math.max(1, sampling);
+        this.slowRequests   = new AtomicReferenceArray<>(Math.max(1, bufferSize));
+    }
+
+    public static RequestMonitor getInstance() {
+        return INSTANCE;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Start tracing a request in the current thread.
+     *
+     * @param service the service type (wms, csw, ...).
+     * @param serviceId the service identifier.
+     */
+    public void start(final String service, final String serviceId) {
+        if (enabled) {
+            current.set(new RequestTrace(service, serviceId));
+        }
+    }
+
+    /**
+     * Set the operation of the request traced in the current thread, if any, once its service has been found.
+     * The requests without operation are recorded under an unknown service.
+     */
+    public void setOperation(final String operation) {
+        final RequestTrace trace = current.get();
+        if (trace != null) {
+            trace.operation = operation;
+            trace.resolved  = true;
+        }
+    }
+
+    /**
+     * Record the request traced in the current thread, if any, under an unknown operation,
+     * when its operation is not supported by the service.
+     */
+    public void clearOperation() {
+        final RequestTrace trace = current.get();
+        if (trace != null) {
+            trace.operation = null;
+        }
+    }
+
+    /**
+     * Set the layers of the request traced in the current thread, if any.
+     */
+    public void setLayers(final Collection<?> layers) {
+        final RequestTrace trace = current.get();
+        if (trace != null) {
+            final List<String> names = new ArrayList<>(layers.size());
+            for (Object layer : layers) {
+                names.add(String.valueOf(layer));
+            }
+            trace.layers = names;
+        }
+    }
+
+    /**
+     * Start a phase of the request traced in the current thread.
+     * The phase must be closed by the same thread.
+     *
+     * @param name the phase name.
+     * @return the phase to close at its end, doing nothing if no request is traced.
+     */
+    public Phase phase(final String name) {
+        final RequestTrace trace = current.get();
+        if (trace == null) {
+            return NO_PHASE;
+        }
+        return new ActivePhase(trace, name);
+    }
+
+    /**
+     * End the request traced in the current thread, and record its durations.
+     */
+    public void end() {
+        final RequestTrace trace = current.get();
+        if (trace == null) {
+            return;
+        }
+        current.remove();
+        final long duration    = System.nanoTime() - trace.startNanos;
+        final String service   = trace.resolved ? trace.service   : UNKNOWN;
+        final String serviceId = trace.resolved ? trace.serviceId : UNKNOWN;
+        final String operation = getOperationKey(trace.operation);
+
+        record(service, serviceId, operation, null, null, duration);
+        for (String layer : trace.layers) {
+            record(service, serviceId, operation, layer, null, duration);
+        }
+        for (int i = 0, n = trace.phaseSize(); i < n; i++) {
+            record(service, serviceId, operation, null, trace.phaseName(i), trace.phaseTotal(i));
+        }
+
+        if (duration >= thresholdNanos && slowCount.getAndIncrement() % sampling == 0) {
+            final int index = (int) (slowIndex.getAndIncrement() % slowRequests.length());
+            slowRequests.set(index, trace.toSlowRequest(duration));
+        }
+    }
+
+    /**
+     * Return the operation name used in the timers, or {@link #UNKNOWN} if the operation is not set
+     * or if too many distinct operation names have been recorded.
+     */
+    private String getOperationKey(final String operation) {
+        if (operation == null) {
+            return UNKNOWN;
+        }
+        if (!operations.contains(operation)) {
+            if (operations.size() >= MAX_OPERATIONS) {
+                return UNKNOWN;
+            }
+            operations.add(operation);
+        }
+        return operation;
+    }
+
+    private void record(final String service, final String serviceId, final String operation, final String layer, final String phase, final long duration) {
+        final String key = service + '/' + serviceId + '/' + operation + '/' + layer + '/' + phase;
+        RequestTimer timer = timers.get(key);
+        if (timer == null) {
+            if (timers.size() >= MAX_TIMERS) {
+                return;
+            }
+            timer = timers.computeIfAbsent(key, k -> new RequestTimer(service, serviceId, operation, layer, phase));
+        }
+        timer.record(duration);
+    }
+
+    /**
+     * @return The statistics of all the timers, sorted by service, operation, layer and phase.
+     */
+    public List<RequestStatistics> getStatistics() {
+        final List<RequestStatistics> results = new ArrayList<>(timers.size());
+        for (RequestTimer timer : timers.values()) {
+            results.add(timer.snapshot());
+        }
+        results.sort(Comparator.comparing(RequestStatistics::getService, Comparator.nullsFirst(Comparator.naturalOrder()))
+                .thenComparing(RequestStatistics::getServiceId, Comparator.nullsFirst(Comparator.naturalOrder()))
+                .thenComparing(RequestStatistics::getOperation)
+                .thenComparing(RequestStatistics::getLayer, Comparator.nullsFirst(Comparator.naturalOrder()))
+                .thenComparing(RequestStatistics::getPhase, Comparator.nullsFirst(Comparator.naturalOrder())));
+        return results;
+    }
+
+    /**
+     * @return The slow requests kept in the ring buffer, the most recent first.
+     */
+    public List<SlowRequest> getSlowRequests() {
+        final List<SlowRequest> results = new ArrayList<>();
+        final int length = slowRequests.length();
+        final long last = slowIndex.get();
+        for (long i = last - 1; i >= 0 && i >= last - length; i--) {
+            final SlowRequest request = slowRequests.get((int) (i % length));
+            if (request != null) {
+                results.add(request);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Remove all the timers and the slow requests.
+     */
+    public void reset() {
+        timers.clear();
+        operations.clear();
+        for (int i = 0; i < slowRequests.length(); i++) {
+            slowRequests.set(i, null);
+        }
+    }
+
+    /**
+     * A phase of a request, to close at its end.
+     */
+    @FunctionalInterface
+    public interface Phase extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    private static final class ActivePhase implements Phase {
+
+        private final RequestTrace trace;
+        private final String name;
+        private final long start;
+        private final int depth;
+        private boolean closed;
+
+        private ActivePhase(final RequestTrace trace, final String name) {
+            this.trace = trace;
+            this.name  = name;
+            this.depth = trace.depth++;
+            this.start = System.nanoTime();
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                trace.depth--;
+                trace.record(name, start, System.nanoTime() - start, depth);
+            }
+        }
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ *    Constellation - An open source and standard compliant SDI
+ *    http://www.constellation-sdi.org
+ *
+ * Copyright 2019 Geomatys.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.constellation.monitoring;
+
+/**
+ * Snapshot of the durations recorded for a service operation, optionally restricted to a layer or a request phase.
+ * All the durations are expressed in milliseconds.
+ */
+public class RequestStatistics {
+
+    private final String service;
+    private final String serviceId;
+    private final String operation;
+    private final String layer;
+    private final String phase;
+    private final long count;
+    private final long totalNanos;
+    private final long maxNanos;
+    private final long[] histogram;
+
+    RequestStatistics(final String service, final String serviceId, final String operation, final String layer,
+            final String phase, final long count, final long totalNanos, final long maxNanos, final long[] histogram) {
+        this.service    = service;
+        this.serviceId  = serviceId;
+        this.operation  = operation;
+        this.layer      = layer;
+        this.phase      = phase;
+        this.count      = count;
+        this.totalNanos = totalNanos;
+        this.maxNanos   = maxNanos;
+        this.histogram  = histogram;
+    }
+
+    public String getService() {
+        return service;
+    }
+
+    public String getServiceId() {
+        return serviceId;
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    /**
+     * @return The layer name, or {@code null} for the statistics of the whole operation.
+     */
+    public String getLayer() {
+        return layer;
+    }
+
+    /**
+     * @return The phase name, or {@code null} for the statistics of the whole operation.
+     */
+    public String getPhase() {
+        return phase;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getTotal() {
+        return totalNanos / 1e6;
+    }
+
+    public double getMean() {
+        return count == 0 ? 0 : totalNanos / 1e6 / count;
+    }
+
+    public double getMax() {
+        return maxNanos / 1e6;
+    }
+
+    public double getP50() {
+        return percentile(0.50);
+    }
+
+    public double getP95() {
+        return percentile(0.95);
+    }
+
+    public double getP99() {
+        return percentile(0.99);
+    }
+
+    /**
+     * @return The number of durations in each bucket, the bucket {@code i} contains the durations
+     *         lower than 2<sup>i</sup> microseconds.
+     */
+    public long[] getHistogram() {
+        return histogram.clone();
+    }
+
+    /**
+     * Approximate a percentile by the upper bound of the histogram bucket containing it.
+     */
+    private double percentile(final double ratio) {
+        long total = 0;
+        for (long c : histogram) {
+            total += c;
+        }
+        if (total == 0) {
+            return 0;
+        }
+        final long rank = (long) Math.ceil(total * ratio);
+        long cumulated = 0;
+        for (int i = 0; i < histogram.length; i++) {
+            cumulated += histogram[i];
+            if (cumulated >= rank) {
+                return Math.min((1L << i) / 1e3, getMax());
+            }
+        }
+        return getMax();
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ *    Constellation - An open source and standard compliant SDI
+ *    http://www.constellation-sdi.org
+ *
+ * Copyright 2019 Geomatys.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.constellation.monitoring;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free accumulator of request durations.
+ *
+ * The durations are counted in a logarithmic histogram : the bucket {@code i} contains the durations
+ * lower than 2<sup>i</sup> microseconds (and greater or equal to the upper bound of the previous bucket).
+ */
+final class RequestTimer {
+
+    static final int BUCKETS = 32;
+
+    final String service;
+    final String serviceId;
+    final String operation;
+    final String layer;
+    final String phase;
+
+    private final LongAdder count = new LongAdder();
+    private final LongAdder total = new LongAdder();
+    private final AtomicLong max  = new AtomicLong();
+    private final AtomicLongArray histogram = new AtomicLongArray(BUCKETS);
+
+    RequestTimer(final String service, final String serviceId, final String operation, final String layer, final String phase) {
+        this.service   = service;
+        this.serviceId = serviceId;
+        this.operation = operation;
+        this.layer     = layer;
+        this.phase     = phase;
+    }
+
+    void record(final long nanos) {
+        count.increment();
+        total.add(nanos);
+        long current = max.get();
+        while (nanos > current && !max.compareAndSet(current, nanos)) {
+            current = max.get();
+        }
+        histogram.incrementAndGet(bucket(nanos));
+    }
+
+    static int bucket(final long nanos) {
+        final long micros = nanos / 1000;
+        return Math.min(64 - Long.numberOfLeadingZeros(micros), BUCKETS - 1);
+    }
+
+    RequestStatistics snapshot() {
+        final long[] buckets = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] = histogram.get(i);
+        }
+        return new RequestStatistics(service, serviceId, operation, layer, phase,
+                count.sum(), total.sum(), max.get(), buckets);
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ *    Constellation - An open source and standard compliant SDI
+ *    http://www.constellation-sdi.org
+ *
+ * Copyright 2019 Geomatys.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.constellation.monitoring;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The phases of a request in progress, only accessed by the thread treating the request.
+ *
+ * The phase durations are summed by name for the metrics, and the first {@link #MAX_EVENTS} phases
+ * are kept in order for the slow request log.
+ */
+final class RequestTrace {
+
+    static final int MAX_EVENTS = 128;
+
+    final String service;
+    final String serviceId;
+    final long startTime = System.currentTimeMillis();
+    final long startNanos = System.nanoTime();
+
+    String operation;
+    List<String> layers = Collections.emptyList();
+
+    /**
+     * {@code true} when the service of the request has been found.
+     */
+    boolean resolved;
+
+    /**
+     * Current depth of the phases, the phases can be nested (for example the database queries of a rendering).
+     */
+    int depth;
+
+    private String[] phaseNames = new String[8];
+    private long[] phaseTotals = new long[8];
+    private int[] phaseCounts = new int[8];
+    private int phaseSize;
+
+    private String[] eventNames = new String[16];
+    private long[] eventStarts = new long[16];
+    private long[] eventDurations = new long[16];
+    private int[] eventDepths = new int[16];
+    private int eventSize;
+    private int droppedEvents;
+
+    RequestTrace(final String service, final String serviceId) {
+        this.service   = service;
+        this.serviceId = serviceId;
+    }
+
+    void record(final String name, final long start, final long duration, final int eventDepth) {
+        int i = 0;
+        while (i < phaseSize && !phaseNames[i].equals(name)) i++;
+        if (i == phaseSize) {
+            if (phaseSize == phaseNames.length) {
+                phaseNames  = Arrays.copyOf(phaseNames, phaseSize * 2);
+                phaseTotals = Arrays.copyOf(phaseTotals, phaseSize * 2);
+                phaseCounts = Arrays.copyOf(phaseCounts, phaseSize * 2);
+            }
+            phaseNames[phaseSize++] = name;
+        }
+        phaseTotals[i] += duration;
+        phaseCounts[i]++;
+
+        if (eventSize == MAX_EVENTS) {
+            droppedEvents++;
+            return;
+        }
+        if (eventSize == eventNames.length) {
+            final int size = Math.min(eventSize * 2, MAX_EVENTS);
+            eventNames     = Arrays.copyOf(eventNames, size);
+            eventStarts    = Arrays.copyOf(eventStarts, size);
+            eventDurations = Arrays.copyOf(eventDurations, size);
+            eventDepths    = Arrays.copyOf(eventDepths, size);
+        }
+        eventNames[eventSize]     = name;
+        eventStarts[eventSize]    = start - startNanos;
+        eventDurations[eventSize] = duration;
+        eventDepths[eventSize]    = eventDepth;
+        eventSize++;
+    }
+
+    int phaseSize() {
+        return phaseSize;
+    }
+
+    String phaseName(final int i) {
+        return phaseNames[i];
+    }
+
+    long phaseTotal(final int i) {
+        return phaseTotals[i];
+    }
+
+    SlowRequest toSlowRequest(final long duration) {
+        final Map<String, Double> phases = new LinkedHashMap<>();
+        for (int i = 0; i < phaseSize; i++) {
+            phases.put(phaseNames[i] + " (" + phaseCounts[i] + ')', phaseTotals[i] / 1e6);
+        }
+        final List<SlowRequest.Event> events = new ArrayList<>(eventSize);
+        // the phases are recorded when they end, sort them by start time
+        final Integer[] order = new Integer[eventSize];
+        for (int i = 0; i < eventSize; i++) order[i] = i;
+        Arrays.sort(order, (a, b) -> Long.compare(eventStarts[a], eventStarts[b]));
+        for (int i : order) {
+            events.add(new SlowRequest.Event(eventNames[i], eventStarts[i] / 1e6, eventDurations[i] / 1e6, eventDepths[i]));
+        }
+        return new SlowRequest(startTime, service, serviceId, operation, layers, duration / 1e6, phases, events, droppedEvents);
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ *    Constellation - An open source and standard compliant SDI
+ *    http://www.constellation-sdi.org
+ *
+ * Copyright 2019 Geomatys.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.constellation.monitoring;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Trace of a request slower than the threshold of the {@link RequestMonitor}.
+ * All the durations are expressed in milliseconds.
+ */
+public class SlowRequest {
+
+    private final long date;
+    private final String service;
+    private final String serviceId;
+    private final String operation;
+    private final List<String> layers;
+    private final double duration;
+    private final Map<String, Double> phases;
+    private final List<Event> events;
+    private final int droppedEvents;
+
+    SlowRequest(final long date, final String service, final String serviceId, final String operation,
+            final List<String> layers, final double duration, final Map<String, Double> phases,
+            final List<Event> events, final int droppedEvents) {
+        this.date          = date;
+        this.service       = service;
+        this.serviceId     = serviceId;
+        this.operation     = operation;
+        this.layers        = layers;
+        this.duration      = duration;
+        this.phases        = phases;
+        this.events        = events;
+        this.droppedEvents = droppedEvents;
+    }
+
+    /**
+     * @return The request start time in milliseconds since the epoch.
+     */
+    public long getDate() {
+        return date;
+    }
+
+    public String getService() {
+        return service;
+    }
+
+    public String getServiceId() {
+        return serviceId;
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    public List<String> getLayers() {
+        return layers;
+    }
+
+    public double getDuration() {
+        return duration;
+    }
+
+    /**
+     * @return The total duration of each phase, the key contains the phase name and the number of occurrences.
+     */
+    public Map<String, Double> getPhases() {
+        return phases;
+    }
+
+    /**
+     * @return The phases ordered by start time.
+     */
+    public List<Event> getEvents() {
+        return events;
+    }
+
+    /**
+     * @return The number of phases not kept in the events.
+     */
+    public int getDroppedEvents() {
+        return droppedEvents;
+    }
+
+    /**
+     * An occurrence of a phase.
+     */
+    public static class Event {
+
+        private final String name;
+        private final double start;
+        private final double duration;
+        private final int depth;
+
+        Event(final String name, final double start, final double duration, final int depth) {
+            this.name     = name;
+            this.start    = start;
+            this.duration = duration;
+            this.depth    = depth;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return The start time, relative to the start of the request.
+         */
+        public double getStart() {
+            return start;
+        }
+
+        public double getDuration() {
+            return duration;
+        }
+
+        /**
+         * @return The nesting level, 0 for the phases directly done by the request.
+         */
+        public int getDepth() {
+            return depth;
+        }
+    }
+}
@@ -18,6 +18,7 @@
  */
 package org.constellation.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -66,10 +67,19 @@ public interface DatasourceRepository {
 
     DataSourcePathComplete getAnalyzedPath(int dsId, String path);
 
+    /**
+     * Return the recorded analysis of the specified paths, the paths not yet analyzed are absent from the map.
+     */
+    Map<String, DataSourcePathComplete> getAnalyzedPaths(int dsId, Collection<String> paths);
+
     String getAnalysisState(int id);
 
     void updateAnalysisState(int id, String state);
 
+    Integer getAnalysisProgress(int id);
+
+    void updateAnalysisProgress(int id, Integer analyzed);
+
     Map<String, Set<String>> getDatasourceStores(int id);
 
     List<String> getPathByStore(int id, String storeId, Integer limit);
@@ -24,6 +24,7 @@ import java.util.Map;
 import org.constellation.dto.metadata.MetadataComplete;
 import org.constellation.dto.metadata.Metadata;
 import org.constellation.dto.metadata.MetadataBbox;
+import org.constellation.dto.metadata.MetadataStatistics;
 
 /**
  *
@@ -113,6 +114,12 @@ public interface MetadataRepository {
 
     int countInCompletionRange(final Map<String,Object> filterMap, final int minCompletion, final int maxCompletion);
 
+    /**
+     * Compute in one query the counts by state, by completion range, by profile and by owner of the filtered metadata.
+     * The owner statistics ignore the owner filter, their contributor is not filled.
+     */
+    MetadataStatistics getStatistics(final Map<String,Object> filterMap);
+
     void setValidationRequired(final int id, final String state, final String validationState);
 
     void denyValidation(final int id, final String comment);
@@ -129,4 +129,9 @@ public interface Worker {
      * Reset work capabilities cache
      */
     void clearCapabilitiesCache();
+
+    /**
+     * Reset the caches depending on the layers data or styles (rendered images, legends, ...).
+     */
+    void clearLayerCaches();
 }
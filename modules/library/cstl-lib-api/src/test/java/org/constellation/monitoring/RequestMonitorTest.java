@@ -0,0 +1,148 @@
+/*
+ *    Constellation - An open source and standard compliant SDI
+ *    http://www.constellation-sdi.org
+ *
+ * Copyright 2019 Geomatys.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.constellation.monitoring;
+
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class RequestMonitorTest {
+
+    @Test
+    public void statisticsTest() {
+        final RequestMonitor monitor = new RequestMonitor(true, 10000, 1, 10);
+        for (int i = 0; i < 3; i++) {
+            monitor.start("wms", "default");
+            monitor.setOperation("GetMap");
+            monitor.setLayers(Arrays.asList("roads", "rivers"));
+            try (RequestMonitor.Phase render = monitor.phase("render")) {
+                try (RequestMonitor.Phase db = monitor.phase("db")) {}
+                try (RequestMonitor.Phase db = monitor.phase("db")) {}
+            }
+            monitor.end();
+        }
+
+        final List<RequestStatistics> stats = monitor.getStatistics();
+        // operation, 2 phases, 2 layers
+        Assert.assertEquals(5, stats.size());
+        final RequestStatistics operation = stats.get(0);
+        Assert.assertEquals("wms", operation.getService());
+        Assert.assertEquals("default", operation.getServiceId());
+        Assert.assertEquals("GetMap", operation.getOperation());
+        Assert.assertNull(operation.getLayer());
+        Assert.assertNull(operation.getPhase());
+        Assert.assertEquals(3, operation.getCount());
+        Assert.assertTrue(operation.getMax() >= operation.getMean());
+        Assert.assertTrue(operation.getP99() <= operation.getMax());
+        Assert.assertEquals(3, Arrays.stream(operation.getHistogram()).sum());
+
+        Assert.assertEquals("db", stats.get(1).getPhase());
+        Assert.assertEquals(3, stats.get(1).getCount());
+        Assert.assertEquals("render", stats.get(2).getPhase());
+        Assert.assertEquals("rivers", stats.get(3).getLayer());
+        Assert.assertEquals("roads", stats.get(4).getLayer());
+
+        // no slow request under the threshold
+        Assert.assertTrue(monitor.getSlowRequests().isEmpty());
+
+        monitor.reset();
+        Assert.assertTrue(monitor.getStatistics().isEmpty());
+    }
+
+    @Test
+    public void slowRequestTest() {
+        final RequestMonitor monitor = new RequestMonitor(true, 0, 1, 2);
+        for (int i = 0; i < 3; i++) {
+            monitor.start("csw", "csw" + i);
+            try (RequestMonitor.Phase parse = monitor.phase("parse")) {
+                try (RequestMonitor.Phase db = monitor.phase("db")) {}
+            }
+            monitor.end();
+        }
+        final List<SlowRequest> slows = monitor.getSlowRequests();
+        // ring buffer of 2 requests, the most recent first
+        Assert.assertEquals(2, slows.size());
+        Assert.assertEquals("csw2", slows.get(0).getServiceId());
+        Assert.assertEquals("csw1", slows.get(1).getServiceId());
+
+        final SlowRequest slow = slows.get(0);
+        Assert.assertEquals(2, slow.getPhases().size());
+        Assert.assertEquals(2, slow.getEvents().size());
+        // ordered by start time, with the nesting level
+        Assert.assertEquals("parse", slow.getEvents().get(0).getName());
+        Assert.assertEquals(0, slow.getEvents().get(0).getDepth());
+        Assert.assertEquals("db", slow.getEvents().get(1).getName());
+        Assert.assertEquals(1, slow.getEvents().get(1).getDepth());
+    }
+
+    @Test
+    public void samplingTest() {
+        final RequestMonitor monitor = new RequestMonitor(true, 0, 3, 10);
+        for (int i = 0; i < 7; i++) {
+            monitor.start("wfs", "default");
+            monitor.end();
+        }
+        Assert.assertEquals(3, monitor.getSlowRequests().size());
+    }
+
+    @Test
+    public void unknownTest() {
+        final RequestMonitor monitor = new RequestMonitor(true, 10000, 1, 10);
+        // service not found
+        monitor.start("wms", "missing");
+        monitor.end();
+        // operation not supported
+        monitor.start("wms", "default");
+        monitor.setOperation("NotAnOperation");
+        monitor.clearOperation();
+        monitor.end();
+
+        List<RequestStatistics> stats = monitor.getStatistics();
+        Assert.assertEquals(2, stats.size());
+        Assert.assertEquals(RequestMonitor.UNKNOWN, stats.get(0).getService());
+        Assert.assertEquals(RequestMonitor.UNKNOWN, stats.get(0).getServiceId());
+        Assert.assertEquals(RequestMonitor.UNKNOWN, stats.get(0).getOperation());
+        Assert.assertEquals("wms", stats.get(1).getService());
+        Assert.assertEquals("default", stats.get(1).getServiceId());
+        Assert.assertEquals(RequestMonitor.UNKNOWN, stats.get(1).getOperation());
+
+        // the distinct operation names are bounded
+        monitor.reset();
+        for (int i = 0; i <= RequestMonitor.MAX_OPERATIONS; i++) {
+            monitor.start("wms", "default");
+            monitor.setOperation("Operation" + i);
+            monitor.end();
+        }
+        stats = monitor.getStatistics();
+        Assert.assertEquals(RequestMonitor.MAX_OPERATIONS + 1, stats.size());
+        Assert.assertTrue(stats.stream().anyMatch(s -> RequestMonitor.UNKNOWN.equals(s.getOperation())));
+        Assert.assertTrue(stats.stream().noneMatch(s -> ("Operation" + RequestMonitor.MAX_OPERATIONS).equals(s.getOperation())));
+    }
+
+    @Test
+    public void disabledTest() {
+        final RequestMonitor monitor = new RequestMonitor(false, 0, 1, 10);
+        monitor.start("wms", "default");
+        try (RequestMonitor.Phase phase = monitor.phase("render")) {}
+        monitor.end();
+        Assert.assertTrue(monitor.getStatistics().isEmpty());
+        Assert.assertTrue(monitor.getSlowRequests().isEmpty());
+    }
+}
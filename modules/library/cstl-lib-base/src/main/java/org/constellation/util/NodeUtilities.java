@@ -19,6 +19,8 @@
 
 package org.constellation.util;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
@@ -37,10 +39,14 @@ import java.nio.file.Path;
 import java.text.ParseException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
 import java.util.TimeZone;
+import java.util.WeakHashMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import javax.xml.bind.JAXBElement;
@@ -661,11 +667,7 @@ public class NodeUtilities {
     }
 
     public static Node getNodeFromObject(final Object metadata, final MarshallerPool pool) throws JAXBException, ParserConfigurationException  {
-
-        final DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
-        dbf.setNamespaceAware(true);
-        final DocumentBuilder docBuilder = dbf.newDocumentBuilder();
-        final Document document = docBuilder.newDocument();
+        final Document document = newDocument();
         final Marshaller marshaller = pool.acquireMarshaller();
         final MarshallWarnings warnings = new MarshallWarnings();
         marshaller.setProperty(XML.CONVERTER, warnings);
@@ -678,29 +680,53 @@ public class NodeUtilities {
     }
 
     public static Node getNodeFromString(final String string) throws ParserConfigurationException, SAXException, IOException  {
-        final InputSource source = new InputSource(new StringReader(string));
-        final DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
-        dbf.setNamespaceAware(true);
-        final DocumentBuilder docBuilder = dbf.newDocumentBuilder();
-        final Document document = docBuilder.parse(source);
-        return document.getDocumentElement();
+        return parse(new InputSource(new StringReader(string))).getDocumentElement();
     }
 
     public static Object getMetadataFromNode(final Node metadataNode, final MarshallerPool pool) throws JAXBException {
+        Object obj = unmarshallNode(metadataNode, pool);
+        if (obj instanceof JAXBElement) {
+            obj = ((JAXBElement)obj).getValue();
+        }
+        return obj;
+    }
+
+    /**
+     * Unmarshall a DOM node with an unmarshaller of the specified pool.
+     *
+     * The node is unmarshalled directly when the pool allows it. The unmarshallers applying a namespace
+     * or version transformation cannot read a DOM source ("Cannot create XMLEventReader from a DOMSource"),
+     * in this case the node is serialized in a byte buffer and the pool is remembered to skip the direct attempt.
+     *
+     * @param node The node to unmarshall.
+     * @param pool The pool providing the unmarshaller.
+     * @return The unmarshalled object, eventually a {@link JAXBElement}.
+     * @throws JAXBException if the node can not be unmarshalled.
+     */
+    public static Object unmarshallNode(final Node node, final MarshallerPool pool) throws JAXBException {
         final Unmarshaller um = pool.acquireUnmarshaller();
-        Object obj;
         try {
-            // We would like to use um.unmarshal(metadataNode) directly, but it currently causes
-            // UnsupportedOperationException: Cannot create XMLEventReader from a DOMSource.
-            obj = um.unmarshal(new StringReader(getStringFromNode(metadataNode)));
+            if (!NO_DOM_SUPPORT.containsKey(pool)) {
+                try {
+                    return um.unmarshal(node);
+                } catch (UnsupportedOperationException ex) {
+                    LOGGER.log(Level.FINER, "DOM unmarshalling not supported by the pool, using a serialized copy.", ex);
+                    NO_DOM_SUPPORT.put(pool, Boolean.TRUE);
+                }
+            }
+            final ByteArrayOutputStream buffer = new ByteArrayOutputStream(8192);
+            final Transformer transformer = acquireTransformer(false);
+            try {
+                transformer.transform(new DOMSource(node), new StreamResult(buffer));
+            } finally {
+                recycle(transformer);
+            }
+            return um.unmarshal(new ByteArrayInputStream(buffer.toByteArray()));
         } catch (TransformerException e) {
             throw new JAXBException(e);
+        } finally {
+            pool.recycle(um);
         }
-        pool.recycle(um);
-        if (obj instanceof JAXBElement) {
-            obj = ((JAXBElement)obj).getValue();
-        }
-        return obj;
     }
 
     public static Node getNodeFromPath(final Path metadataFile) throws SAXException, IOException, ParserConfigurationException {
@@ -710,20 +736,11 @@ public class NodeUtilities {
     }
 
     public static Node getNodeFromStream(final InputStream stream) throws ParserConfigurationException, SAXException, IOException {
-        final DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
-        dbf.setNamespaceAware(true);
-        final DocumentBuilder docBuilder = dbf.newDocumentBuilder();
-        final Document document = docBuilder.parse(stream);
-        return document.getDocumentElement();
+        return parse(new InputSource(stream)).getDocumentElement();
     }
 
     public static Node getNodeFromReader(final Reader reader) throws ParserConfigurationException, SAXException, IOException {
-        final InputSource source = new InputSource(reader);
-        final DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
-        dbf.setNamespaceAware(true);
-        final DocumentBuilder docBuilder = dbf.newDocumentBuilder();
-        final Document document = docBuilder.parse(source);
-        return document.getDocumentElement();
+        return parse(new InputSource(reader)).getDocumentElement();
     }
 
     public static Document getDocumentFromPath(Path metadataFile) throws ParserConfigurationException, SAXException, IOException {
@@ -733,18 +750,11 @@ public class NodeUtilities {
     }
 
     public static Document getDocumentFromStream(InputStream metadataStream) throws ParserConfigurationException, SAXException, IOException {
-        final DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
-        dbf.setNamespaceAware(true);
-        final DocumentBuilder docBuilder = dbf.newDocumentBuilder();
-        return docBuilder.parse(metadataStream);
+        return parse(new InputSource(metadataStream));
     }
 
     public static Document getDocumentFromString(String xml) throws ParserConfigurationException, SAXException, IOException {
-        final DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
-        dbf.setNamespaceAware(true);
-        final DocumentBuilder docBuilder = dbf.newDocumentBuilder();
-        final InputSource source = new InputSource(new StringReader(xml));
-        return docBuilder.parse(source);
+        return parse(new InputSource(new StringReader(xml)));
     }
 
      /**
@@ -756,39 +766,105 @@ public class NodeUtilities {
      * @return {@link Node} that represents the metadata in w3c document format.
      */
     public static Node getNodeFromGeotkMetadata(final Object metadata, final MarshallerPool pool) throws JAXBException, ParserConfigurationException {
-        final DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
-        dbf.setNamespaceAware(true);
-        final DocumentBuilder docBuilder = dbf.newDocumentBuilder();
-        final Document document = docBuilder.newDocument();
-        final Marshaller marshaller = pool.acquireMarshaller();
-        final MarshallWarnings warnings = new MarshallWarnings();
-        marshaller.setProperty(XML.CONVERTER, warnings);
-        marshaller.setProperty(XML.TIMEZONE, TZ);
-//      marshaller.setProperty(LegacyNamespaces.APPLY_NAMESPACE_REPLACEMENTS, true);
-        marshaller.setProperty(XML.GML_VERSION, LegacyNamespaces.VERSION_3_2_1);
-        marshaller.marshal(metadata, document);
-        pool.recycle(marshaller);
-
-        return document.getDocumentElement();
+        return getNodeFromObject(metadata, pool);
     }
 
     public static void writerNode(Node n, Writer writer) throws TransformerConfigurationException, TransformerException {
-        TransformerFactory tf = TransformerFactory.newInstance();
-        Transformer transformer = tf.newTransformer();
-        transformer.setOutputProperty(OutputKeys.INDENT, "yes");
-        transformer.setOutputProperty(OutputKeys.ENCODING, "UTF-8");
-
-        StreamResult sr = new StreamResult(writer);
-        transformer.transform(new DOMSource(n), sr);
+        final Transformer transformer = acquireTransformer(true);
+        try {
+            transformer.transform(new DOMSource(n), new StreamResult(writer));
+        } finally {
+            recycle(transformer);
+        }
     }
 
     public static String getStringFromNode(final Node n) throws TransformerException  {
-        TransformerFactory tf = TransformerFactory.newInstance();
-        Transformer transformer = tf.newTransformer();
-        transformer.setOutputProperty(OutputKeys.INDENT, "yes");
-        StringWriter writer = new StringWriter();
-        transformer.transform(new DOMSource(n), new StreamResult(writer));
+        final StringWriter writer = new StringWriter();
+        writerNode(n, writer);
         String output = writer.getBuffer().toString().replaceAll("\n|\r", "");
         return output;
     }
+
+    /**
+     * Create a new empty namespace aware document.
+     */
+    public static Document newDocument() throws ParserConfigurationException {
+        final DocumentBuilder docBuilder = acquireDocumentBuilder();
+        try {
+            return docBuilder.newDocument();
+        } finally {
+            recycle(docBuilder);
+        }
+    }
+
+    private static Document parse(final InputSource source) throws ParserConfigurationException, SAXException, IOException {
+        final DocumentBuilder docBuilder = acquireDocumentBuilder();
+        try {
+            return docBuilder.parse(source);
+        } finally {
+            recycle(docBuilder);
+        }
+    }
+
+    /*
+     * The factories lookup (service loader scan) is costly, so they are created once.
+     * The factories are not thread safe, the builders and transformers they create are kept in small pools,
+     * in the same way as the JAXB marshallers in {@link MarshallerPool}.
+     */
+
+    private static final int POOL_SIZE = 32;
+
+    private static final DocumentBuilderFactory DOCUMENT_BUILDER_FACTORY = DocumentBuilderFactory.newInstance();
+    static {
+        DOCUMENT_BUILDER_FACTORY.setNamespaceAware(true);
+    }
+
+    private static final TransformerFactory TRANSFORMER_FACTORY = TransformerFactory.newInstance();
+
+    private static final BlockingQueue<DocumentBuilder> DOCUMENT_BUILDERS = new ArrayBlockingQueue<>(POOL_SIZE);
+
+    private static final BlockingQueue<Transformer> TRANSFORMERS = new ArrayBlockingQueue<>(POOL_SIZE);
+
+    /**
+     * The marshaller pools whose unmarshallers do not support DOM sources.
+     */
+    private static final Map<MarshallerPool, Boolean> NO_DOM_SUPPORT = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private static DocumentBuilder acquireDocumentBuilder() throws ParserConfigurationException {
+        final DocumentBuilder docBuilder = DOCUMENT_BUILDERS.poll();
+        if (docBuilder != null) {
+            return docBuilder;
+        }
+        synchronized (DOCUMENT_BUILDER_FACTORY) {
+            return DOCUMENT_BUILDER_FACTORY.newDocumentBuilder();
+        }
+    }
+
+    private static void recycle(final DocumentBuilder docBuilder) {
+        docBuilder.reset();
+        DOCUMENT_BUILDERS.offer(docBuilder);
+    }
+
+    /**
+     * @param indent {@code true} for an indented UTF-8 output.
+     */
+    private static Transformer acquireTransformer(final boolean indent) throws TransformerConfigurationException {
+        Transformer transformer = TRANSFORMERS.poll();
+        if (transformer == null) {
+            synchronized (TRANSFORMER_FACTORY) {
+                transformer = TRANSFORMER_FACTORY.newTransformer();
+            }
+        }
+        if (indent) {
+            transformer.setOutputProperty(OutputKeys.INDENT, "yes");
+            transformer.setOutputProperty(OutputKeys.ENCODING, "UTF-8");
+        }
+        return transformer;
+    }
+
+    private static void recycle(final Transformer transformer) {
+        transformer.reset();
+        transformer.clearParameters();
+        TRANSFORMERS.offer(transformer);
+    }
 }
@@ -0,0 +1,85 @@
+/*
+ *    Constellation - An open source and standard compliant SDI
+ *    http://www.constellation-sdi.org
+ *
+ * Copyright 2019 Geomatys.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.constellation.util;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.apache.sis.metadata.iso.DefaultMetadata;
+import org.apache.sis.metadata.iso.citation.DefaultCitation;
+import org.apache.sis.metadata.iso.extent.DefaultExtent;
+import org.apache.sis.metadata.iso.extent.DefaultGeographicBoundingBox;
+import org.apache.sis.metadata.iso.identification.DefaultDataIdentification;
+import org.apache.sis.util.SimpleInternationalString;
+import org.apache.sis.xml.MarshallerPool;
+import org.geotoolkit.ebrim.xml.EBRIMMarshallerPool;
+import org.junit.Test;
+import org.w3c.dom.Node;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class NodeUtilitiesTest {
+
+    @Test
+    public void concurrentRoundTripTest() throws Exception {
+        final MarshallerPool pool = EBRIMMarshallerPool.getInstance();
+        final List<String> results = IntStream.range(0, 200).parallel().mapToObj(i -> {
+            try {
+                final Node node = NodeUtilities.getNodeFromObject(createMetadata(i), pool);
+                final String xml = NodeUtilities.getStringFromNode(node);
+                final Node parsed = NodeUtilities.getNodeFromString(xml);
+                final DefaultMetadata meta = (DefaultMetadata) NodeUtilities.getMetadataFromNode(parsed, pool);
+                return meta.getFileIdentifier();
+            } catch (Exception ex) {
+                throw new IllegalStateException(ex);
+            }
+        }).collect(Collectors.toList());
+
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals("meta-" + i, results.get(i));
+        }
+    }
+
+    @Test
+    public void unmarshallNodeTest() throws Exception {
+        final MarshallerPool pool = EBRIMMarshallerPool.getInstance();
+        final Node node = NodeUtilities.getNodeFromObject(createMetadata(1), pool);
+        // twice, the second call may use the serialized fallback.
+        for (int i = 0; i < 2; i++) {
+            final Object obj = NodeUtilities.getMetadataFromNode(node, pool);
+            assertTrue(obj instanceof DefaultMetadata);
+            assertEquals("meta-1", ((DefaultMetadata) obj).getFileIdentifier());
+        }
+    }
+
+    static DefaultMetadata createMetadata(final int i) {
+        final DefaultMetadata meta = new DefaultMetadata();
+        meta.setFileIdentifier("meta-" + i);
+        final DefaultDataIdentification ident = new DefaultDataIdentification();
+        ident.setCitation(new DefaultCitation("title " + i));
+        ident.setAbstract(new SimpleInternationalString("abstract of the metadata " + i));
+        final DefaultExtent extent = new DefaultExtent();
+        extent.setGeographicElements(Collections.singleton(new DefaultGeographicBoundingBox(-10, 10 + i % 50, -5, 5)));
+        ident.setExtents(Collections.singleton(extent));
+        meta.setIdentificationInfo(Collections.singleton(ident));
+        return meta;
+    }
+}
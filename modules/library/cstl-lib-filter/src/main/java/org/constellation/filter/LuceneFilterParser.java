@@ -24,22 +24,35 @@ import org.geotoolkit.lucene.filter.SpatialQuery;
 import org.geotoolkit.temporal.object.TemporalUtilities;
 import org.opengis.filter.PropertyIsLike;
 
+import javax.xml.bind.JAXBElement;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
 import javax.xml.namespace.QName;
+import java.io.StringWriter;
 import java.text.DateFormat;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Calendar;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.TimeZone;
+import java.util.logging.Level;
+import org.constellation.configuration.AppProperty;
+import org.constellation.configuration.Application;
+import org.geotoolkit.csw.xml.QueryConstraint;
 import org.geotoolkit.index.LogicalFilterType;
 
 import static org.geotoolkit.ows.xml.OWSExceptionCode.INVALID_PARAMETER_VALUE;
 import static org.constellation.api.CommonConstants.QUERY_CONSTRAINT;
 import org.geotoolkit.ogc.xml.BinaryLogicOperator;
 import org.geotoolkit.ogc.xml.ComparisonOperator;
+import org.geotoolkit.ogc.xml.FilterMarshallerPool;
 import org.geotoolkit.ogc.xml.FilterXmlFactory;
 import org.geotoolkit.ogc.xml.ID;
 import org.geotoolkit.ogc.xml.LogicOperator;
@@ -56,6 +69,9 @@ import org.opengis.temporal.Instant;
 /**
  * A parser for filter 1.1.0 and CQL 2.0
  *
+ * The recently parsed constraints are kept in cache, so the clients sending the same filter repeatedly
+ * (paginated searches, harvesters) do not rebuild the lucene query and its spatial filter each time.
+ *
  * @author Guilhem Legal (Geomatys)
  */
 public class LuceneFilterParser extends AbstractFilterParser {
@@ -67,6 +83,69 @@ public class LuceneFilterParser extends AbstractFilterParser {
         LUCENE_DATE_FORMAT.setTimeZone(TimeZone.getTimeZone("UTC"));
     }
 
+    private static final QName FILTER_KEY_NAME = new QName("http://www.opengis.net/ogc", "Filter");
+
+    private final int maxCachedQueries = Application.getIntegerProperty(AppProperty.EXA_CSW_QUERY_CACHE_SIZE, 100);
+
+    /**
+     * Parsed queries by constraint, variables, prefixes and type names.
+     * The CQL constraints are identified by their text, the XML filters by their XML serialization.
+     */
+    private final Map<List<Object>, SpatialQuery> cachedQueries = Collections.synchronizedMap(new LinkedHashMap<List<Object>, SpatialQuery>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<List<Object>, SpatialQuery> eldest) {
+            return size() > maxCachedQueries;
+        }
+    });
+
+    /**
+     * {@inheritDoc}
+     *
+     * The returned query is a copy of the cached one, which can be modified (sort) by the caller.
+     */
+    @Override
+    public SpatialQuery getQuery(final QueryConstraint constraint, final Map<String, QName> variables, final Map<String, String> prefixs, final List<QName> typeNames) throws FilterParserException {
+        if (constraint == null || maxCachedQueries <= 0) {
+            return (SpatialQuery) super.getQuery(constraint, variables, prefixs, typeNames);
+        }
+        final List<Object> key = Arrays.asList(constraint.getCqlText(), getFilterKey(constraint.getFilter()),
+                                               variables != null ? new HashMap<>(variables) : null,
+                                               prefixs   != null ? new HashMap<>(prefixs)   : null,
+                                               typeNames != null ? new ArrayList<>(typeNames) : null);
+        SpatialQuery query = cachedQueries.get(key);
+        if (query == null) {
+            query = (SpatialQuery) super.getQuery(constraint, variables, prefixs, typeNames);
+            cachedQueries.put(key, query);
+        }
+        return copy(query);
+    }
+
+    /**
+     * Return the XML serialization of a filter, identical for two filters unmarshalled from the same content.
+     * The filter itself is returned if it can not be marshalled.
+     */
+    private static Object getFilterKey(final Object filter) {
+        if (filter == null) {
+            return null;
+        }
+        try {
+            final Marshaller marshaller = FilterMarshallerPool.getInstance().acquireMarshaller();
+            final StringWriter writer = new StringWriter();
+            marshaller.marshal(new JAXBElement<>(FILTER_KEY_NAME, (Class<Object>) filter.getClass(), filter), writer);
+            FilterMarshallerPool.getInstance().recycle(marshaller);
+            return writer.toString();
+        } catch (JAXBException ex) {
+            LOGGER.log(Level.FINER, "unable to marshall the filter for the query cache", ex);
+            return filter;
+        }
+    }
+
+    private static SpatialQuery copy(final SpatialQuery query) {
+        final SpatialQuery copy = new SpatialQuery(query.getQuery(), query.getSpatialFilter(), query.getLogicalOperator());
+        copy.setSubQueries(new ArrayList<>(query.getSubQueries()));
+        return copy;
+    }
+
     /**
      * {@inheritDoc}
      */
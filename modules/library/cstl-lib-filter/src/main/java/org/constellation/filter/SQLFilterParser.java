@@ -25,14 +25,14 @@ import org.opengis.filter.PropertyIsLike;
 import org.opengis.filter.expression.PropertyName;
 
 import javax.xml.namespace.QName;
-import java.text.DateFormat;
 import java.text.ParseException;
-import java.text.SimpleDateFormat;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
-import java.util.TimeZone;
 import static org.constellation.api.CommonConstants.QUERY_CONSTRAINT;
 import org.geotoolkit.index.LogicalFilterType;
 import org.geotoolkit.ogc.xml.BinaryLogicOperator;
@@ -55,6 +55,10 @@ import static org.geotoolkit.ows.xml.OWSExceptionCode.INVALID_PARAMETER_VALUE;
 /**
  * A parser for filter 1.1.0 and CQL 2.0
  *
+ * Each comparison becomes a semi-join {@code "accessionNumber" IN (SELECT "form" FROM "Storage"."TextValues" ...)}
+ * combined with the logical operators in a single WHERE clause. The values are not written in the query but
+ * bound as parameters ({@link SQLQuery#getParameters()}), so the statement can be prepared once for a filter shape.
+ *
  * @author Guilhem Legal
  */
 public class SQLFilterParser extends AbstractFilterParser {
@@ -69,15 +73,12 @@ public class SQLFilterParser extends AbstractFilterParser {
      */
     private Map<String, String> prefixs;
 
-    private int nbField;
+    /**
+     * The values bound to the parameters of the query being built, in the order of their placeholders.
+     */
+    private List<Object> parameters;
 
-    private boolean executeSelect;
-
-    private static final DateFormat DATE_FORMATTER;
-    static {
-        DATE_FORMATTER = new SimpleDateFormat("yyyy-MM-dd' 'HH:mm:ss");
-        DATE_FORMATTER.setTimeZone(TimeZone.getTimeZone("GMT+0"));
-    }
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss").withZone(ZoneOffset.UTC);
 
     /**
      * {@inheritDoc}
@@ -85,7 +86,7 @@ public class SQLFilterParser extends AbstractFilterParser {
     @Override
     protected SQLQuery getNullFilter(final List<QName> typeNames) {
         // TODO use typeNames
-        return new SQLQuery("Select \"identifier\" from \"Storage\".\"Records\" where \"recordSet\" != 'MDATA");
+        return new SQLQuery("SELECT \"identifier\" FROM \"Storage\".\"Records\" WHERE \"recordSet\" != 'MDATA'");
     }
 
      /**
@@ -97,7 +98,7 @@ public class SQLFilterParser extends AbstractFilterParser {
     protected SQLQuery getQuery(final XMLFilter filter, Map<String, QName> variables, Map<String, String> prefixs, final List<QName> typeNames) throws FilterParserException {
         this.variables    = variables;
         this.prefixs      = prefixs;
-        executeSelect     = true;
+        this.parameters   = new ArrayList<>();
         SQLQuery response = null;
         if (filter != null) {
             Object main = filter.getFilterObject();
@@ -108,7 +109,6 @@ public class SQLFilterParser extends AbstractFilterParser {
 
             // we treat directly comparison operator: PropertyIsLike, IsNull, IsBetween, ...
             } else if (main instanceof ComparisonOperator) {
-                nbField                          = 1;
                 response = new SQLQuery(treatComparisonOperator((ComparisonOperator)main));
 
             // we treat spatial constraint : BBOX, Beyond, Overlaps, ...
@@ -124,9 +124,8 @@ public class SQLFilterParser extends AbstractFilterParser {
             }
         }
         if (response != null) {
-            response.nbField = nbField - 1;
-            if (executeSelect)
-                response.createSelect();
+            response.setParameters(parameters);
+            response.createSelect();
         }
         // TODO use typeNames
         return response;
@@ -144,7 +143,6 @@ public class SQLFilterParser extends AbstractFilterParser {
         final StringBuilder queryBuilder = new StringBuilder();
         final String operator            = logicOps.getOperator();
         final List<Filter> filters       = new ArrayList<>();
-        nbField                          = 1;
 
         if (logicOps instanceof BinaryLogicOperator) {
             final BinaryLogicOperator binary = (BinaryLogicOperator) logicOps;
@@ -153,18 +151,8 @@ public class SQLFilterParser extends AbstractFilterParser {
             for (Object child : binary.getFilters()) {
 
                 if (child instanceof ComparisonOperator) {
-                    final SQLQuery query = new SQLQuery(treatComparisonOperator((ComparisonOperator) child));
-                    if (operator.equalsIgnoreCase("OR")) {
-                        query.nbField = nbField -1;
-                        query.createSelect();
-                        queryBuilder.append('(').append(query.getQuery());
-                        queryBuilder.append(") UNION ");
-                         executeSelect = false;
-                    } else {
-
-                        queryBuilder.append(query.getQuery());
-                        queryBuilder.append(" ").append(operator.toUpperCase()).append(" ");
-                    }
+                    queryBuilder.append('(').append(treatComparisonOperator((ComparisonOperator) child)).append(')');
+                    queryBuilder.append(" ").append(operator.toUpperCase()).append(" ");
                 }
 
                 // we treat logical Operators like AND, OR, ...
@@ -172,6 +160,7 @@ public class SQLFilterParser extends AbstractFilterParser {
 
                     boolean writeOperator = true;
 
+                    final int firstParameter = parameters.size();
                     final SQLQuery query   = treatLogicalOperator((LogicOperator)child);
                     final String subQuery  = query.getQuery();
                     final Filter subFilter = query.getSpatialFilter();
@@ -179,6 +168,10 @@ public class SQLFilterParser extends AbstractFilterParser {
                     //if the sub spatial query contains both term search and spatial search we create a subQuery
                     if ((subFilter != null && !subQuery.isEmpty()) || !query.getSubQueries().isEmpty()) {
 
+                        // the parameters of the sub query are not part of this query
+                        final List<Object> subParameters = parameters.subList(firstParameter, parameters.size());
+                        query.setParameters(new ArrayList<>(subParameters));
+                        subParameters.clear();
                         subQueries.add(query);
                         writeOperator = false;
                     } else {
@@ -186,15 +179,7 @@ public class SQLFilterParser extends AbstractFilterParser {
                         if (subQuery.isEmpty()) {
                             writeOperator = false;
                         } else  {
-                            if (operator.equalsIgnoreCase("OR")) {
-                                query.nbField = nbField -1;
-                                query.createSelect();
-                                queryBuilder.append('(').append(query.getQuery());
-                                queryBuilder.append(") UNION ");
-                                executeSelect = false;
-                            } else {
-                                queryBuilder.append(subQuery);
-                            }
+                            queryBuilder.append('(').append(subQuery).append(')');
                         }
                         if (subFilter != null)
                             filters.add(subFilter);
@@ -223,12 +208,8 @@ public class SQLFilterParser extends AbstractFilterParser {
                 }
             }
 
-            // we remove the last Operator and add a ') '
-            int pos;
-            if (operator.equalsIgnoreCase("OR"))
-                pos = queryBuilder.length()- 10;
-            else
-                pos = queryBuilder.length()- (operator.length() + 2);
+            // we remove the last Operator
+            final int pos = queryBuilder.length()- (operator.length() + 2);
 
             if (pos > 0)
               queryBuilder.delete(pos, queryBuilder.length());
@@ -259,7 +240,7 @@ public class SQLFilterParser extends AbstractFilterParser {
                   } else {*/
 
                 if (!subQuery.isEmpty()) {
-                    queryBuilder.append(subQuery);
+                    queryBuilder.append('(').append(subQuery).append(')');
                 }
                 if (subFilter != null) {
                     filters.add(sq.getSpatialFilter());
@@ -284,21 +265,22 @@ public class SQLFilterParser extends AbstractFilterParser {
      */
     @Override
     protected void addComparisonFilter(StringBuilder response, PropertyName propertyName, Object literalValue, String operator) throws FilterParserException {
-        response.append('v').append(nbField).append(".\"path\" = '").append(transformSyntax(propertyName.getPropertyName())).append("' AND ");
-        response.append('v').append(nbField).append(".\"value\" ").append(operator);
-        if (FilterParserUtils.isDateField(propertyName)) {
-            literalValue = extractDateValue(literalValue);
+        // the boundaries of a between are two conditions on the same property
+        if (response.length() > 0) {
+            response.append(" AND ");
         }
-        if (literalValue != null) {
-            literalValue = literalValue.toString();
+        response.append("\"accessionNumber\" IN (SELECT \"form\" FROM \"Storage\".\"TextValues\" WHERE \"path\" = ? AND \"value\" ");
+        parameters.add(transformSyntax(propertyName.getPropertyName()));
+        if ("IS NULL ".equals(operator)) {
+            response.append("IS NULL");
         } else {
-            literalValue = "null";
-        }
-        if (!"IS NULL ".equals(operator)) {
-            response.append("'").append(literalValue).append("' ");
+            if (FilterParserUtils.isDateField(propertyName)) {
+                literalValue = extractDateValue(literalValue);
+            }
+            response.append(operator).append(" ?");
+            parameters.add(literalValue != null ? literalValue.toString() : "null");
         }
-        response.append(" AND v").append(nbField).append(".\"form\"=\"accessionNumber\" ");
-        nbField++;
+        response.append(')');
     }
 
     /**
@@ -311,15 +293,13 @@ public class SQLFilterParser extends AbstractFilterParser {
      */
     protected String extractDateValue(final Object literal) throws FilterParserException {
         try {
-            synchronized (DATE_FORMATTER) {
-                final Date d;
-                if (literal instanceof Date) {
-                    d = (Date)literal;
-                } else {
-                    d = TemporalUtilities.parseDate(String.valueOf(literal));
-                }
-                return DATE_FORMATTER.format(d);
+            final Date d;
+            if (literal instanceof Date) {
+                d = (Date)literal;
+            } else {
+                d = TemporalUtilities.parseDate(String.valueOf(literal));
             }
+            return DATE_FORMATTER.format(Instant.ofEpochMilli(d.getTime()));
         } catch (ParseException ex) {
             throw new FilterParserException("The service was unable to parse the Date: " + literal, INVALID_PARAMETER_VALUE, QUERY_CONSTRAINT);
         }
@@ -34,28 +34,28 @@ public class SQLQuery implements SpatialQuery {
     
     private String query;
     
-    public int nbField;
-    
     private final Filter spatialFilter;
     
     private List<SQLQuery> subQueries;
+
+    /**
+     * The values of the {@code ?} placeholders of the query, in order.
+     */
+    private List<Object> parameters;
     
     public SQLQuery(String query) {
         this.query         = query;
         this.spatialFilter = null;
-        nbField            = 1;
     }
     
     public SQLQuery(Filter spatialFilter) {
         this.query         = "";
         this.spatialFilter = spatialFilter;
-        nbField            = 0;
     }
     
     public SQLQuery(String query, Filter spatialFilter) {
         this.query         = query;
         this.spatialFilter = spatialFilter;
-        nbField            = 0;
     }
 
     @Override
@@ -69,12 +69,7 @@ public class SQLQuery implements SpatialQuery {
     }
     
     public void createSelect() {
-        final StringBuilder select = new StringBuilder("SELECT distinct \"identifier\" FROM \"Storage\".\"Records\" ");
-        for (int i = 1; i <= nbField; i++) {
-            select.append(" , \"Storage\".\"TextValues\" v").append(i);
-        }
-        select.append(" WHERE ");
-        query = select.toString() + query;
+        query = "SELECT \"identifier\" FROM \"Storage\".\"Records\" WHERE " + query;
     }
 
     @Override
@@ -91,12 +86,27 @@ public class SQLQuery implements SpatialQuery {
     public void setSubQueries(List<SQLQuery> subQueries) {
         this.subQueries = subQueries;
     }
+
+    /**
+     * Return the values to bind to the query placeholders, in order.
+     */
+    public List<Object> getParameters() {
+        if (parameters == null)
+            parameters = new ArrayList<>();
+        return parameters;
+    }
+
+    public void setParameters(List<Object> parameters) {
+        this.parameters = parameters;
+    }
     
     @Override
     public String toString() {
         final StringBuilder s =new StringBuilder("[SQLquery]").append('\n');
         if (query != null && !query.isEmpty())
             s.append("query= ").append(query).append('\n');
+        if (parameters != null && !parameters.isEmpty())
+            s.append("parameters= ").append(parameters).append('\n');
         if (spatialFilter != null) {
             s.append("spatialFilter").append(spatialFilter).append('\n');
         }
@@ -2015,5 +2015,67 @@ public class LuceneFilterParserTest {
         pool.recycle(filterUnmarshaller);
     }
 
+    /**
+     * Test the cache of the parsed queries.
+     *
+     * @throws java.lang.Exception
+     */
+    @Test
+    public void cachedQueryTest() throws Exception {
+
+        final String cql = "Title LIKE '%VM%' AND BBOX(BoundingBox, 10, 20, 30, 40, 'EPSG:4326')";
+
+        SpatialQuery spaQuery = filterParser.getQuery(new QueryConstraintType(cql, "1.1.0"), null, null, null);
+        spaQuery.setSort("Title_sort", true, null);
+
+        // the same constraint returns a copy of the first query, without the sort
+        SpatialQuery cached = filterParser.getQuery(new QueryConstraintType(cql, "1.1.0"), null, null, null);
+
+        assertTrue(cached != spaQuery);
+        assertTrue(cached.getSpatialFilter() == spaQuery.getSpatialFilter());
+        assertTrue(cached.getSort() == null);
+        assertEquals(spaQuery.getQuery(), cached.getQuery());
+        assertEquals(spaQuery.getLogicalOperator(), cached.getLogicalOperator());
+
+        // an other type name is an other query
+        SpatialQuery typed = filterParser.getQuery(new QueryConstraintType(cql, "1.1.0"), null, null, Arrays.asList(METADATA_QNAME));
+
+        assertTrue(typed.getSpatialFilter() != spaQuery.getSpatialFilter());
+
+        // two XML filters unmarshalled separately from the same content are the same query
+        final Unmarshaller filterUnmarshaller = pool.acquireUnmarshaller();
+        final String xmlFilter = "<ogc:Filter xmlns:ogc=\"http://www.opengis.net/ogc\" xmlns:gml=\"http://www.opengis.net/gml\" xmlns:apiso=\"http://www.opengis.net/cat/csw/apiso/1.0\">" +
+                                 "    <ogc:And>"                                                                  +
+                                 "        <ogc:PropertyIsLike escapeChar=\"\\\" singleChar=\"?\" wildCard=\"*\">"   +
+                                 "            <ogc:PropertyName>apiso:Title</ogc:PropertyName>"                   +
+                                 "            <ogc:Literal>*VM*</ogc:Literal>"                                    +
+                                 "        </ogc:PropertyIsLike>"                                                  +
+                                 "        <ogc:BBOX>"                                                             +
+                                 "            <ogc:PropertyName>apiso:BoundingBox</ogc:PropertyName>"             +
+                                 "            <gml:Envelope srsName=\"EPSG:4326\">"                               +
+                                 "                <gml:lowerCorner>-20 -20</gml:lowerCorner>"                     +
+                                 "                <gml:upperCorner>20 20</gml:upperCorner>"                       +
+                                 "            </gml:Envelope>"                                                    +
+                                 "        </ogc:BBOX>"                                                            +
+                                 "    </ogc:And>"                                                                 +
+                                 "</ogc:Filter>";
+
+        FilterType filter = (FilterType) ((JAXBElement) filterUnmarshaller.unmarshal(new StringReader(xmlFilter))).getValue();
+        final SpatialQuery xmlQuery = filterParser.getQuery(new QueryConstraintType(filter, "1.1.0"), null, null, null);
+
+        filter = (FilterType) ((JAXBElement) filterUnmarshaller.unmarshal(new StringReader(xmlFilter))).getValue();
+        cached = filterParser.getQuery(new QueryConstraintType(filter, "1.1.0"), null, null, null);
+
+        assertTrue(cached != xmlQuery);
+        assertTrue(cached.getSpatialFilter() == xmlQuery.getSpatialFilter());
+        assertEquals(xmlQuery.getQuery(), cached.getQuery());
+
+        // an other literal is an other query
+        filter = (FilterType) ((JAXBElement) filterUnmarshaller.unmarshal(new StringReader(xmlFilter.replace("*VM*", "*MV*")))).getValue();
+        final SpatialQuery other = filterParser.getQuery(new QueryConstraintType(filter, "1.1.0"), null, null, null);
+        pool.recycle(filterUnmarshaller);
 
+        assertTrue(other.getSpatialFilter() != xmlQuery.getSpatialFilter());
+        assertEquals("(Title:(*MV*))", other.getQuery());
+    }
 }
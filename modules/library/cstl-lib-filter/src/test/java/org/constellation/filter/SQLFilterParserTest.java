@@ -33,6 +33,7 @@ import javax.xml.bind.JAXBElement;
 import javax.xml.bind.Unmarshaller;
 import javax.xml.namespace.QName;
 import java.io.StringReader;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -113,7 +114,8 @@ public class SQLFilterParserTest {
 
         assertTrue(spaQuery.getSpatialFilter() == null);
         assertEquals(spaQuery.getSubQueries().size(), 0);
-        assertEquals(spaQuery.getQuery(), "SELECT distinct \"identifier\" FROM \"Storage\".\"Records\"  , \"Storage\".\"TextValues\" v1 WHERE v1.\"path\" = 'Web Registry Service v0.9:ExtrinsicObject:mimeType' AND v1.\"value\" ='application/octet-stream'  AND v1.\"form\"=\"accessionNumber\" ");
+        assertEquals(spaQuery.getQuery(), "SELECT \"identifier\" FROM \"Storage\".\"Records\" WHERE \"accessionNumber\" IN (SELECT \"form\" FROM \"Storage\".\"TextValues\" WHERE \"path\" = ? AND \"value\" = ?)");
+        assertEquals(spaQuery.getParameters(), Arrays.asList("Web Registry Service v0.9:ExtrinsicObject:mimeType", "application/octet-stream"));
 
         /**
          * Test 2: a simple Filter propertyIsNull
@@ -137,7 +139,8 @@ public class SQLFilterParserTest {
 
         assertTrue(spaQuery.getSpatialFilter() == null);
         assertEquals(spaQuery.getSubQueries().size(), 0);
-        assertEquals(spaQuery.getQuery(), "SELECT distinct \"identifier\" FROM \"Storage\".\"Records\"  , \"Storage\".\"TextValues\" v1 WHERE v1.\"path\" = 'Ebrim v2.5:ExtrinsicObject:mimeType' AND v1.\"value\" IS NULL  AND v1.\"form\"=\"accessionNumber\" ");
+        assertEquals(spaQuery.getQuery(), "SELECT \"identifier\" FROM \"Storage\".\"Records\" WHERE \"accessionNumber\" IN (SELECT \"form\" FROM \"Storage\".\"TextValues\" WHERE \"path\" = ? AND \"value\" IS NULL)");
+        assertEquals(spaQuery.getParameters(), Arrays.asList("Ebrim v2.5:ExtrinsicObject:mimeType"));
 
         /**
          * Test 3: a simple Filter propertyIsLike
@@ -162,7 +165,8 @@ public class SQLFilterParserTest {
 
         assertTrue(spaQuery.getSpatialFilter() == null);
         assertEquals(spaQuery.getSubQueries().size(), 0);
-        assertEquals(spaQuery.getQuery(), "SELECT distinct \"identifier\" FROM \"Storage\".\"Records\"  , \"Storage\".\"TextValues\" v1 WHERE v1.\"path\" = 'Web Registry Service v1.0:ExtrinsicObject:mimeType' AND v1.\"value\" LIKE'%application%'  AND v1.\"form\"=\"accessionNumber\" ");
+        assertEquals(spaQuery.getQuery(), "SELECT \"identifier\" FROM \"Storage\".\"Records\" WHERE \"accessionNumber\" IN (SELECT \"form\" FROM \"Storage\".\"TextValues\" WHERE \"path\" = ? AND \"value\" LIKE ?)");
+        assertEquals(spaQuery.getParameters(), Arrays.asList("Web Registry Service v1.0:ExtrinsicObject:mimeType", "%application%"));
 
         pool.recycle(filterUnmarshaller);
     }
@@ -224,7 +228,8 @@ public class SQLFilterParserTest {
         
         assertTrue(spaQuery.getSpatialFilter() == null);
         assertEquals(spaQuery.getSubQueries().size(), 0);
-        assertEquals(spaQuery.getQuery(), "SELECT distinct \"identifier\" FROM \"Storage\".\"Records\"  , \"Storage\".\"TextValues\" v1 , \"Storage\".\"TextValues\" v2 , \"Storage\".\"TextValues\" v3 , \"Storage\".\"TextValues\" v4 WHERE v1.\"path\" = 'Ebrim v2.5:ExtrinsicObject:mimeType' AND v1.\"value\" ='application/octet-stream'  AND v1.\"form\"=\"accessionNumber\"  AND v2.\"path\" = 'Ebrim v2.5:ExtrinsicObject:home' AND v2.\"value\" ='http://demo.cubewerx.com/demo/cubeserv/cubeserv.cgi'  AND v2.\"form\"=\"accessionNumber\"  AND v3.\"path\" = 'Ebrim v2.5:ExtrinsicObject:minorVersion' AND v3.\"value\" ='0'  AND v3.\"form\"=\"accessionNumber\"  AND v4.\"path\" = 'Ebrim v2.5:ExtrinsicObject:majorVersion' AND v4.\"value\" ='1'  AND v4.\"form\"=\"accessionNumber\" ");
+        assertEquals(spaQuery.getQuery(), "SELECT \"identifier\" FROM \"Storage\".\"Records\" WHERE (\"accessionNumber\" IN (SELECT \"form\" FROM \"Storage\".\"TextValues\" WHERE \"path\" = ? AND \"value\" = ?)) AND (\"accessionNumber\" IN (SELECT \"form\" FROM \"Storage\".\"TextValues\" WHERE \"path\" = ? AND \"value\" = ?)) AND (\"accessionNumber\" IN (SELECT \"form\" FROM \"Storage\".\"TextValues\" WHERE \"path\" = ? AND \"value\" = ?)) AND (\"accessionNumber\" IN (SELECT \"form\" FROM \"Storage\".\"TextValues\" WHERE \"path\" = ? AND \"value\" = ?))");
+        assertEquals(spaQuery.getParameters(), Arrays.asList("Ebrim v2.5:ExtrinsicObject:mimeType", "application/octet-stream", "Ebrim v2.5:ExtrinsicObject:home", "http://demo.cubewerx.com/demo/cubeserv/cubeserv.cgi", "Ebrim v2.5:ExtrinsicObject:minorVersion", "0", "Ebrim v2.5:ExtrinsicObject:majorVersion", "1"));
         
         
         /**
@@ -271,7 +276,8 @@ public class SQLFilterParserTest {
         
         assertTrue(spaQuery.getSpatialFilter() == null);
         assertEquals(spaQuery.getSubQueries().size(), 0);
-        assertEquals(spaQuery.getQuery(), "(SELECT distinct \"identifier\" FROM \"Storage\".\"Records\"  , \"Storage\".\"TextValues\" v1 WHERE v1.\"path\" = 'Ebrim v2.5:Association:status' AND v1.\"value\" ='Approved'  AND v1.\"form\"=\"accessionNumber\" ) UNION (SELECT distinct \"identifier\" FROM \"Storage\".\"Records\"  , \"Storage\".\"TextValues\" v1 , \"Storage\".\"TextValues\" v2 , \"Storage\".\"TextValues\" v3 , \"Storage\".\"TextValues\" v4 WHERE v1.\"path\" = 'Ebrim v2.5:ExtrinsicObject:mimeType' AND v1.\"value\" ='application/octet-stream'  AND v1.\"form\"=\"accessionNumber\"  AND v2.\"path\" = 'Ebrim v2.5:ExtrinsicObject:home' AND v2.\"value\" ='http://demo.cubewerx.com/demo/cubeserv/cubeserv.cgi'  AND v2.\"form\"=\"accessionNumber\"  AND v3.\"path\" = 'Ebrim v2.5:ExtrinsicObject:minorVersion' AND v3.\"value\" ='0'  AND v3.\"form\"=\"accessionNumber\"  AND v4.\"path\" = 'Ebrim v2.5:ExtrinsicObject:majorVersion' AND v4.\"value\" ='1'  AND v4.\"form\"=\"accessionNumber\" ) ");
+        assertEquals(spaQuery.getQuery(), "SELECT \"identifier\" FROM \"Storage\".\"Records\" WHERE (\"accessionNumber\" IN (SELECT \"form\" FROM \"Storage\".\"TextValues\" WHERE \"path\" = ? AND \"value\" = ?)) OR ((\"accessionNumber\" IN (SELECT \"form\" FROM \"Storage\".\"TextValues\" WHERE \"path\" = ? AND \"value\" = ?)) AND (\"accessionNumber\" IN (SELECT \"form\" FROM \"Storage\".\"TextValues\" WHERE \"path\" = ? AND \"value\" = ?)) AND (\"accessionNumber\" IN (SELECT \"form\" FROM \"Storage\".\"TextValues\" WHERE \"path\" = ? AND \"value\" = ?)) AND (\"accessionNumber\" IN (SELECT \"form\" FROM \"Storage\".\"TextValues\" WHERE \"path\" = ? AND \"value\" = ?)))");
+        assertEquals(spaQuery.getParameters(), Arrays.asList("Ebrim v2.5:Association:status", "Approved", "Ebrim v2.5:ExtrinsicObject:mimeType", "application/octet-stream", "Ebrim v2.5:ExtrinsicObject:home", "http://demo.cubewerx.com/demo/cubeserv/cubeserv.cgi", "Ebrim v2.5:ExtrinsicObject:minorVersion", "0", "Ebrim v2.5:ExtrinsicObject:majorVersion", "1"));
         
         pool.recycle(filterUnmarshaller);
     }
@@ -324,7 +330,8 @@ public class SQLFilterParserTest {
 
         assertTrue(spaQuery.getSpatialFilter() == null);
         assertEquals(spaQuery.getSubQueries().size(), 0);
-        assertEquals(spaQuery.getQuery(), "SELECT distinct \"identifier\" FROM \"Storage\".\"Records\"  , \"Storage\".\"TextValues\" v1 WHERE v1.\"path\" = 'Ebrim v2.5:ExtrinsicObject:mimeType' AND v1.\"value\" !='application/octet-stream'  AND v1.\"form\"=\"accessionNumber\" ");
+        assertEquals(spaQuery.getQuery(), "SELECT \"identifier\" FROM \"Storage\".\"Records\" WHERE \"accessionNumber\" IN (SELECT \"form\" FROM \"Storage\".\"TextValues\" WHERE \"path\" = ? AND \"value\" != ?)");
+        assertEquals(spaQuery.getParameters(), Arrays.asList("Ebrim v2.5:ExtrinsicObject:mimeType", "application/octet-stream"));
 
 
         /**
@@ -353,7 +360,8 @@ public class SQLFilterParserTest {
 
         assertTrue(spaQuery.getSpatialFilter() == null);
         assertEquals(spaQuery.getSubQueries().size(), 0);
-        assertEquals(spaQuery.getQuery(), "SELECT distinct \"identifier\" FROM \"Storage\".\"Records\"  , \"Storage\".\"TextValues\" v1 WHERE v1.\"path\" = 'Ebrim v3.0:date' AND v1.\"value\" <='2007-06-02 00:00:00'  AND v1.\"form\"=\"accessionNumber\" ");
+        assertEquals(spaQuery.getQuery(), "SELECT \"identifier\" FROM \"Storage\".\"Records\" WHERE \"accessionNumber\" IN (SELECT \"form\" FROM \"Storage\".\"TextValues\" WHERE \"path\" = ? AND \"value\" <= ?)");
+        assertEquals(spaQuery.getParameters(), Arrays.asList("Ebrim v3.0:date", "2007-06-02 00:00:00"));
 
         /**
          * Test 3: a not Filter on PropertyIsGreaterThanOrEqualTo
@@ -381,7 +389,8 @@ public class SQLFilterParserTest {
 
         assertTrue(spaQuery.getSpatialFilter() == null);
         assertEquals(spaQuery.getSubQueries().size(), 0);
-        assertEquals(spaQuery.getQuery(), "SELECT distinct \"identifier\" FROM \"Storage\".\"Records\"  , \"Storage\".\"TextValues\" v1 WHERE v1.\"path\" = 'Ebrim v3.0:date' AND v1.\"value\" <'2007-06-02 00:00:00'  AND v1.\"form\"=\"accessionNumber\" ");
+        assertEquals(spaQuery.getQuery(), "SELECT \"identifier\" FROM \"Storage\".\"Records\" WHERE \"accessionNumber\" IN (SELECT \"form\" FROM \"Storage\".\"TextValues\" WHERE \"path\" = ? AND \"value\" < ?)");
+        assertEquals(spaQuery.getParameters(), Arrays.asList("Ebrim v3.0:date", "2007-06-02 00:00:00"));
 
         /**
          * Test 4: a not Filter on PropertyIsLessThanOrEqualTo
@@ -409,7 +418,8 @@ public class SQLFilterParserTest {
 
         assertTrue(spaQuery.getSpatialFilter() == null);
         assertEquals(spaQuery.getSubQueries().size(), 0);
-        assertEquals(spaQuery.getQuery(), "SELECT distinct \"identifier\" FROM \"Storage\".\"Records\"  , \"Storage\".\"TextValues\" v1 WHERE v1.\"path\" = 'Ebrim v3.0:date' AND v1.\"value\" >'2007-06-02 00:00:00'  AND v1.\"form\"=\"accessionNumber\" ");
+        assertEquals(spaQuery.getQuery(), "SELECT \"identifier\" FROM \"Storage\".\"Records\" WHERE \"accessionNumber\" IN (SELECT \"form\" FROM \"Storage\".\"TextValues\" WHERE \"path\" = ? AND \"value\" > ?)");
+        assertEquals(spaQuery.getParameters(), Arrays.asList("Ebrim v3.0:date", "2007-06-02 00:00:00"));
 
         /**
          * Test 5: a not Filter on PropertyIsLessThan
@@ -437,7 +447,8 @@ public class SQLFilterParserTest {
 
         assertTrue(spaQuery.getSpatialFilter() == null);
         assertEquals(spaQuery.getSubQueries().size(), 0);
-        assertEquals(spaQuery.getQuery(), "SELECT distinct \"identifier\" FROM \"Storage\".\"Records\"  , \"Storage\".\"TextValues\" v1 WHERE v1.\"path\" = 'Ebrim v3.0:date' AND v1.\"value\" >='2007-06-02 00:00:00'  AND v1.\"form\"=\"accessionNumber\" ");
+        assertEquals(spaQuery.getQuery(), "SELECT \"identifier\" FROM \"Storage\".\"Records\" WHERE \"accessionNumber\" IN (SELECT \"form\" FROM \"Storage\".\"TextValues\" WHERE \"path\" = ? AND \"value\" >= ?)");
+        assertEquals(spaQuery.getParameters(), Arrays.asList("Ebrim v3.0:date", "2007-06-02 00:00:00"));
 
         /**
          * Test 6: a not Filter on PropertyIsNotEqualTo
@@ -466,8 +477,8 @@ public class SQLFilterParserTest {
 
         assertTrue(spaQuery.getSpatialFilter() == null);
         assertEquals(spaQuery.getSubQueries().size(), 0);
-        assertEquals(spaQuery.getQuery(), "SELECT distinct \"identifier\" FROM \"Storage\".\"Records\"  , \"Storage\".\"TextValues\" v1 "
-                                        + "WHERE v1.\"path\" = 'Ebrim v2.5:ExtrinsicObject:mimeType' AND v1.\"value\" ='application/octet-stream'  AND v1.\"form\"=\"accessionNumber\" ");
+        assertEquals(spaQuery.getQuery(), "SELECT \"identifier\" FROM \"Storage\".\"Records\" WHERE \"accessionNumber\" IN (SELECT \"form\" FROM \"Storage\".\"TextValues\" WHERE \"path\" = ? AND \"value\" = ?)");
+        assertEquals(spaQuery.getParameters(), Arrays.asList("Ebrim v2.5:ExtrinsicObject:mimeType", "application/octet-stream"));
 
 
         pool.recycle(filterUnmarshaller);
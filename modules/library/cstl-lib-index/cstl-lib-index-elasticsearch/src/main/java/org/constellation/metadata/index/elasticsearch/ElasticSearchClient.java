@@ -10,6 +10,11 @@ import org.elasticsearch.action.admin.indices.delete.DeleteIndexResponse;
 import org.elasticsearch.action.admin.indices.exists.indices.IndicesExistsRequest;
 import org.elasticsearch.action.admin.indices.exists.indices.IndicesExistsResponse;
 import org.elasticsearch.action.delete.DeleteResponse;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkProcessor;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.index.IndexRequest;
 import org.elasticsearch.action.index.IndexResponse;
 import org.elasticsearch.client.Client;
 import org.elasticsearch.common.xcontent.XContentBuilder;
@@ -28,10 +33,13 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.NoSuchElementException;
 import java.util.Properties;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -48,6 +56,7 @@ import static org.constellation.metadata.index.elasticsearch.SpatialFilterBuilde
 import org.elasticsearch.ElasticsearchException;
 import org.elasticsearch.action.search.SearchRequestBuilder;
 import org.elasticsearch.action.search.SearchType;
+import org.elasticsearch.common.unit.ByteSizeValue;
 import org.elasticsearch.common.unit.TimeValue;
 import org.elasticsearch.index.query.QueryBuilder;
 import org.elasticsearch.search.sort.SortOrder;
@@ -61,6 +70,23 @@ public class ElasticSearchClient {
 
     private static final Logger LOGGER = Logger.getLogger("org.constellation.metadata.index.elasticsearch");
 
+    /**
+     * Number of hits retrieved at each scroll request.
+     */
+    private static final int SCROLL_PAGE_SIZE = 10000;
+
+    private static final TimeValue SCROLL_KEEP_ALIVE = new TimeValue(60000);
+
+    /**
+     * Maximum time in minutes to wait for the pending bulk requests.
+     */
+    private static final long BULK_CLOSE_TIMEOUT = 10;
+
+    /**
+     * The refresh interval of the indexes created without explicit setting.
+     */
+    private static final String DEFAULT_REFRESH_INTERVAL = "1s";
+
     private final Properties _configuration;
     
     private Node _server;
@@ -178,6 +204,143 @@ public class ElasticSearchClient {
         return response.getVersion() > 1;
     }
     
+    /**
+     * Start a bulk indexation, sending the index requests to the cluster by batch.
+     * A batch is sent when one of the action count or byte size limits is reached, and when the indexation is closed.
+     *
+     * @param indexName The index receiving the documents.
+     * @param bulkActions Maximum number of requests in a batch.
+     * @param bulkSize Maximum size of a batch in bytes.
+     * @param concurrentRequests Number of batch sent concurrently, 0 to send them synchronously.
+     * @param disableRefresh if {@code true} the periodic refresh of the index is disabled until the indexation is closed.
+     */
+    public BulkIndexation createBulkIndexation(final String indexName, final int bulkActions, final long bulkSize,
+            final int concurrentRequests, final boolean disableRefresh) {
+        return new BulkIndexation(indexName, bulkActions, bulkSize, concurrentRequests, disableRefresh);
+    }
+
+    /**
+     * Return the refresh interval explicitly set on an index, or {@code null} if the index use the default one.
+     */
+    public String getRefreshInterval(final String indexName) {
+        return getClient().admin().indices().prepareGetSettings(indexName).execute().actionGet()
+                .getSetting(indexName, "index.refresh_interval");
+    }
+
+    /**
+     * Set the periodic refresh interval of an index, {@code "-1"} to disable it.
+     */
+    public void setRefreshInterval(final String indexName, final String interval) {
+        getClient().admin().indices().prepareUpdateSettings(indexName)
+                .setSettings(Settings.settingsBuilder().put("index.refresh_interval", interval))
+                .execute().actionGet();
+    }
+
+    /**
+     * A bulk indexation, counting the documents rejected by the cluster.
+     * Disabling the index refresh speeds up a full indexation, the previous refresh interval is restored
+     * and the index refreshed when the indexation is closed.
+     */
+    public class BulkIndexation {
+
+        private final String indexName;
+
+        private final BulkProcessor processor;
+
+        /**
+         * The refresh interval to restore when closed, {@code null} if the refresh has not been disabled.
+         */
+        private final String previousRefreshInterval;
+
+        private final AtomicInteger failures = new AtomicInteger();
+
+        private BulkIndexation(final String indexName, final int bulkActions, final long bulkSize,
+                final int concurrentRequests, final boolean disableRefresh) {
+            this.indexName = indexName;
+            if (disableRefresh) {
+                // read before being disabled, the indexes created without explicit setting use the default interval.
+                final String previous = getRefreshInterval(indexName);
+                previousRefreshInterval = previous != null ? previous : DEFAULT_REFRESH_INTERVAL;
+                setRefreshInterval(indexName, "-1");
+            } else {
+                previousRefreshInterval = null;
+            }
+            processor = BulkProcessor.builder(getClient(), new BulkProcessor.Listener() {
+                    @Override
+                    public void beforeBulk(long executionId, BulkRequest request) {
+                        LOGGER.log(Level.FINER, "Sending bulk {0} of {1} requests", new Object[]{executionId, request.numberOfActions()});
+                    }
+
+                    @Override
+                    public void afterBulk(long executionId, BulkRequest request, BulkResponse response) {
+                        if (response.hasFailures()) {
+                            int failed = 0;
+                            for (BulkItemResponse item : response.getItems()) {
+                                if (item.isFailed()) {
+                                    failed++;
+                                }
+                            }
+                            failures.addAndGet(failed);
+                            LOGGER.log(Level.WARNING, "Errors in bulk {0}: {1}", new Object[]{executionId, response.buildFailureMessage()});
+                        }
+                    }
+
+                    @Override
+                    public void afterBulk(long executionId, BulkRequest request, Throwable failure) {
+                        failures.addAndGet(request.numberOfActions());
+                        LOGGER.log(Level.WARNING, "Bulk " + executionId + " failed", failure);
+                    }
+                })
+                .setBulkActions(bulkActions)
+                .setBulkSize(new ByteSizeValue(bulkSize))
+                .setConcurrentRequests(concurrentRequests)
+                .build();
+        }
+
+        /**
+         * Add a document to the indexation. Unlike {@link ElasticSearchClient#indexDoc(String, String, Map)}, the index is not refreshed.
+         */
+        public void indexDoc(final String id, final Map values) {
+            processor.add(new IndexRequest(indexName, "metadata", id).source(values));
+        }
+
+        /**
+         * Send the pending requests, wait for all the batch to complete, then restore the refresh interval
+         * and refresh the index.
+         *
+         * @return {@code false} if the timeout elapsed before all the batch completed.
+         */
+        public boolean close() {
+            boolean completed;
+            try {
+                completed = processor.awaitClose(BULK_CLOSE_TIMEOUT, TimeUnit.MINUTES);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                LOGGER.log(Level.WARNING, "Interrupted while waiting for the bulk requests", ex);
+                completed = false;
+            }
+            if (previousRefreshInterval != null) {
+                setRefreshInterval(indexName, previousRefreshInterval);
+            }
+            refresh(indexName);
+            return completed;
+        }
+
+        /**
+         * @return The number of documents rejected by the cluster, or lost in a failed batch.
+         */
+        public int getFailures() {
+            return failures.get();
+        }
+    }
+
+    /**
+     * Make the documents indexed since the last refresh visible to the searches.
+     */
+    public void refresh(final String indexName) {
+        getClient().admin().indices().prepareRefresh(indexName).execute().actionGet();
+    }
+
     public boolean indexDoc(final String indexName,   final String id,
                             final String SpatialType, final String CRSNameCode,
                             final int spaceDim,       final double ...coordinates) {
@@ -296,9 +459,43 @@ public class ElasticSearchClient {
     }
     
     public SearchHit[] search(final String index, final String queryJson, final QueryBuilder query, final XContentBuilder filter, final int start, final int limit, final String type,final Sort sort) throws IOException {
-        SearchRequestBuilder builder = client.prepareSearch(index)
-                                             .setSearchType(SearchType.DEFAULT);
-        
+        final SearchRequestBuilder builder = prepareSearch(index, queryJson, query, filter, start, type, sort);
+
+        if (limit < SCROLL_PAGE_SIZE) {
+            final SearchResponse response = builder.setSize(limit).execute().actionGet();
+            return response.getHits().getHits();
+        } else {
+            final List<SearchHit> results = new ArrayList<>();
+            try (SearchHitIterator it = new SearchHitIterator(builder, SCROLL_PAGE_SIZE, sort != null)) {
+                while (it.hasNext() && results.size() < limit) {
+                    results.add(it.next());
+                }
+            }
+            return results.toArray(new SearchHit[results.size()]);
+        }
+    }
+
+    /**
+     * Return an iterator over all the hits of a search, read page by page with a scroll.
+     * Only the current page is kept in memory. The iterator must be closed to release the scroll context.
+     *
+     * @param pageSize Number of hits retrieved at each request.
+     * @param fetchSource if {@code false} the hits will only contains their identifiers.
+     */
+    public SearchHitIterator searchIterator(final String index, final QueryBuilder query, final XContentBuilder filter, final Sort sort,
+            final int pageSize, final boolean fetchSource) throws IOException {
+        final SearchRequestBuilder builder = prepareSearch(index, null, query, filter, -1, null, sort);
+        if (!fetchSource) {
+            builder.setFetchSource(false);
+        }
+        return new SearchHitIterator(builder, pageSize, sort != null);
+    }
+
+    private SearchRequestBuilder prepareSearch(final String index, final String queryJson, final QueryBuilder query, final XContentBuilder filter,
+            final int start, final String type, final Sort sort) throws IOException {
+        SearchRequestBuilder builder = getClient().prepareSearch(index)
+                                                  .setSearchType(SearchType.DEFAULT);
+
         if (queryJson != null) {
             builder = builder.setQuery(queryJson);
         } else if (query != null) {
@@ -316,33 +513,70 @@ public class ElasticSearchClient {
         if (sort != null) {
             builder = builder.addSort(sort.getField(), SortOrder.valueOf(sort.getOrder()));
         }
-        
-        if (limit < 10000) {
-            final SearchResponse response = builder.setSize(limit).execute().actionGet();
-            return response.getHits().getHits();
-        } else {
-            List<SearchHit> results = new ArrayList<>();
-            
-            //Scroll until no hits are returned
-            builder.setScroll(new TimeValue(60000));
-            SearchResponse response = builder.setSize(10000).execute().actionGet();
-            
-            boolean more;
-            do {
-                for (SearchHit hit : response.getHits().getHits()) {
-                    results.add(hit);
-                }
-                
-                response = client.prepareSearchScroll(response.getScrollId()).setScroll(new TimeValue(60000)).execute().actionGet();
-                //Break condition: No hits are returned
-                more = response.getHits().getHits().length != 0;
-                
-            } while (more);
+        return builder;
+    }
 
-            return results.toArray(new SearchHit[results.size()]);
-        }   
+    /**
+     * Iterate over the hits of a search using a scroll context, one page at a time.
+     * When no sort is specified, the hits are returned in index order, which is the cheapest for the cluster.
+     */
+    public class SearchHitIterator implements Iterator<SearchHit>, AutoCloseable {
+
+        private SearchHit[] page;
+
+        private int position;
+
+        private String scrollId;
+
+        private SearchHitIterator(final SearchRequestBuilder builder, final int pageSize, final boolean sorted) {
+            if (!sorted) {
+                builder.addSort("_doc", SortOrder.ASC);
+            }
+            final SearchResponse response = builder.setScroll(SCROLL_KEEP_ALIVE).setSize(pageSize).execute().actionGet();
+            scrollId = response.getScrollId();
+            page     = response.getHits().getHits();
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (position < page.length) {
+                return true;
+            }
+            if (scrollId == null || page.length == 0) {
+                return false;
+            }
+            final SearchResponse response = getClient().prepareSearchScroll(scrollId).setScroll(SCROLL_KEEP_ALIVE).execute().actionGet();
+            scrollId = response.getScrollId();
+            page     = response.getHits().getHits();
+            position = 0;
+            if (page.length == 0) {
+                close();
+                return false;
+            }
+            return true;
+        }
+
+        @Override
+        public SearchHit next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return page[position++];
+        }
+
+        @Override
+        public void close() {
+            if (scrollId != null) {
+                try {
+                    getClient().prepareClearScroll().addScrollId(scrollId).execute().actionGet();
+                } catch (ElasticsearchException ex) {
+                    LOGGER.log(Level.FINER, "Error while clearing scroll context", ex);
+                }
+                scrollId = null;
+            }
+        }
     }
-    
+
     public SearchHit[] StringSearch(final String index, final String term, final String value, final int limit) throws IOException {
         return search(index, null, QueryBuilders.termQuery(term, value), null, -1, limit, null, null);
     }
@@ -355,6 +589,19 @@ public class ElasticSearchClient {
         return search(index, null, queryBuilder, filter, -1, limit, null, sort);
     }
     
+    /**
+     * Iterate over the identifiers of the documents matching a query string, without loading the documents.
+     *
+     * @see #searchIterator(String, QueryBuilder, XContentBuilder, Sort, int, boolean)
+     */
+    public SearchHitIterator searchIdentifiers(final String index, final String query, final XContentBuilder filter, final Sort sort, final int pageSize) throws IOException {
+        QueryBuilder queryBuilder = null;
+        if (query != null) {
+            queryBuilder = QueryBuilders.queryStringQuery(query);
+        }
+        return searchIterator(index, queryBuilder, filter, sort, pageSize, false);
+    }
+
     public SearchHit[] searchAll(final String index, final int limit) throws IOException {
         return search(index, null, QueryBuilders.matchAllQuery(), null, -1, limit, null, null);
     }
@@ -39,6 +39,11 @@ import org.geotoolkit.index.IndexingException;
  */
 public class ElasticSearchIndexSearcher implements IndexSearcher {
     
+    /**
+     * Number of identifiers retrieved at each request.
+     */
+    private static final int PAGE_SIZE = 1000;
+
     private final String indexName;
     
     protected final ElasticSearchClient client;
@@ -71,10 +76,11 @@ public class ElasticSearchIndexSearcher implements IndexSearcher {
     @Override
     public Set<String> doSearch(SpatialQuery spatialQuery) throws SearchingException {
         final Set<String> results = new LinkedHashSet<>();
-        try {
-            SearchHit[] resultHits = client.search(indexName, spatialQuery.getQuery(), (XContentBuilder) spatialQuery.getSpatialFilter(), (Sort)spatialQuery.getSort(), Integer.MAX_VALUE);
-            for (int i = 0; i < resultHits.length; i++) {
-                results.add(resultHits[i].getId());
+        // only the identifiers are kept, the hits are read page by page.
+        try (ElasticSearchClient.SearchHitIterator it = client.searchIdentifiers(indexName, spatialQuery.getQuery(),
+                (XContentBuilder) spatialQuery.getSpatialFilter(), (Sort) spatialQuery.getSort(), PAGE_SIZE)) {
+            while (it.hasNext()) {
+                results.add(it.next().getId());
             }
         } catch (IOException ex) {
             throw new SearchingException("Error while searching in elasticSearch", ex);
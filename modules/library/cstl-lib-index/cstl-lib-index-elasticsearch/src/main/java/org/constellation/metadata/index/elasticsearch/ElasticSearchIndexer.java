@@ -33,10 +33,13 @@ import java.util.logging.Logger;
 import org.apache.sis.util.NullArgumentException;
 import org.apache.sis.util.logging.Logging;
 import org.constellation.api.PathType;
+import org.constellation.configuration.AppProperty;
+import org.constellation.configuration.Application;
 import static org.constellation.metadata.CSWQueryable.DUBLIN_CORE_QUERYABLE;
 import static org.constellation.metadata.CSWQueryable.ISO_FC_QUERYABLE;
 import static org.constellation.metadata.CSWQueryable.ISO_QUERYABLE;
 import org.constellation.metadata.index.Indexer;
+import org.constellation.metadata.index.elasticsearch.ElasticSearchClient.BulkIndexation;
 import org.elasticsearch.ElasticsearchException;
 import org.geotoolkit.metadata.MetadataIoException;
 import org.geotoolkit.metadata.MetadataType;
@@ -71,6 +74,12 @@ public abstract class ElasticSearchIndexer<E> implements Indexer<E> {
 
     private List<String> numericFields = new ArrayList<>();
 
+    private final int bulkActions;
+
+    private final long bulkSize;
+
+    private final int bulkConcurrency;
+
     /**
      * A flag to stop the indexation going on
      */
@@ -90,6 +99,9 @@ public abstract class ElasticSearchIndexer<E> implements Indexer<E> {
         this.indexName           = indexName.toLowerCase();
         this.additionalQueryable = additionalQueryable;
         this.store              = store;
+        this.bulkActions         = Application.getIntegerProperty(AppProperty.ES_BULK_ACTIONS, 1000);
+        this.bulkSize            = Application.getLongProperty(AppProperty.ES_BULK_SIZE, 5) * 1024 * 1024;
+        this.bulkConcurrency     = Application.getIntegerProperty(AppProperty.ES_BULK_CONCURRENCY, 1);
         if (remoteES) {
             try {
                 this.client      = ElasticSearchClient.getClientInstance(host, clusterName);
@@ -143,22 +155,33 @@ public abstract class ElasticSearchIndexer<E> implements Indexer<E> {
 
         final long time     = System.currentTimeMillis();
         final int nbEntries = toIndex.size();
+        boolean stopped     = false;
         try {
             createMapping();
 
-            for (E entry : toIndex) {
-                if (!stopIndexing && !indexationToStop.contains(indexName)) {
-                    indexDocument(entry);
-                } else {
-                     LOGGER.info("Index creation stopped after " + (System.currentTimeMillis() - time) + " ms for service:" + indexName);
-                     stopIndexation(client, indexName);
-                     return;
+            final BulkIndexation bulk = openBulk(true);
+            try {
+                for (E entry : toIndex) {
+                    if (!stopIndexing && !indexationToStop.contains(indexName)) {
+                        indexDocument(bulk, entry);
+                    } else {
+                        stopped = true;
+                        break;
+                    }
                 }
+            } finally {
+                closeBulk(bulk);
             }
+            checkBulkFailures(bulk);
         } catch (IOException ex) {
             LOGGER.log(Level.SEVERE,"error while indexing: ", ex.getMessage());
             throw new IndexingException("IOException while indexing documents:" + ex.getMessage(), ex);
         }
+        if (stopped) {
+            LOGGER.info("Index creation stopped after " + (System.currentTimeMillis() - time) + " ms for service:" + indexName);
+            stopIndexation(client, indexName);
+            return;
+        }
         LOGGER.log(logLevel, "Index creation process in " + (System.currentTimeMillis() - time) + " ms\n" +
                 " documents indexed: " + nbEntries);
     }
@@ -169,55 +192,65 @@ public abstract class ElasticSearchIndexer<E> implements Indexer<E> {
 
         final long time  = System.currentTimeMillis();
         int nbEntries      = 0;
+        boolean stopped    = false;
         try {
             LOGGER.log(logLevel, "starting indexing...");
             createMapping();
 
-            if (store.getReader().useEntryIterator()) {
-                final Iterator<E> entries = (Iterator<E>) store.getReader().getEntryIterator();
-                while (entries.hasNext()) {
-                    if (!stopIndexing && !indexationToStop.contains(indexName)) {
+            final BulkIndexation bulk = openBulk(true);
+            try {
+                if (store.getReader().useEntryIterator()) {
+                    final Iterator<E> entries = (Iterator<E>) store.getReader().getEntryIterator();
+                    while (entries.hasNext()) {
+                        if (!stopIndexing && !indexationToStop.contains(indexName)) {
 
-                        final E entry = entries.next();
-                        indexDocument(entry);
-                        nbEntries++;
+                            final E entry = entries.next();
+                            indexDocument(bulk, entry);
+                            nbEntries++;
 
-                    } else {
-                         LOGGER.info("Index creation stopped after " + (System.currentTimeMillis() - time) + " ms for service:" + indexName);
-                         stopIndexation(client, indexName);
-                         return;
+                        } else {
+                             stopped = true;
+                             break;
+                        }
                     }
-                }
-                if (entries instanceof CloseableIterator) {
-                    ((CloseableIterator)entries).close();
-                }
-            } else {
-                final Iterator<String> identifiers = store.getIdentifierIterator();
-                while (identifiers.hasNext()) {
-                    final String identifier = identifiers.next();
-                    if (!stopIndexing && !indexationToStop.contains(indexName)) {
-                        try {
-                            final E entry = getEntry(identifier);
-                            indexDocument(entry);
-                            nbEntries++;
-                        } catch (IndexingException ex) {
-                            LOGGER.warning("Metadata IO exeption while indexing metadata: " + identifier + " " + ex.getMessage() + "\nmove to next metadata...");
+                    if (entries instanceof CloseableIterator) {
+                        ((CloseableIterator)entries).close();
+                    }
+                } else {
+                    final Iterator<String> identifiers = store.getIdentifierIterator();
+                    while (identifiers.hasNext()) {
+                        final String identifier = identifiers.next();
+                        if (!stopIndexing && !indexationToStop.contains(indexName)) {
+                            try {
+                                final E entry = getEntry(identifier);
+                                indexDocument(bulk, entry);
+                                nbEntries++;
+                            } catch (IndexingException ex) {
+                                LOGGER.warning("Metadata IO exeption while indexing metadata: " + identifier + " " + ex.getMessage() + "\nmove to next metadata...");
+                            }
+                        } else {
+                             stopped = true;
+                             break;
                         }
-                    } else {
-                         LOGGER.info("Index creation stopped after " + (System.currentTimeMillis() - time) + " ms for service:" + indexName);
-                         stopIndexation(client, indexName);
-                         return;
+                    }
+                    if (identifiers instanceof CloseableIterator) {
+                        ((CloseableIterator)identifiers).close();
                     }
                 }
-                if (identifiers instanceof CloseableIterator) {
-                    ((CloseableIterator)identifiers).close();
-                }
+            } finally {
+                closeBulk(bulk);
             }
+            checkBulkFailures(bulk);
 
         } catch (MetadataIoException | IOException ex) {
             LOGGER.log(Level.SEVERE,"error while indexing: ", ex.getMessage());
             throw new IndexingException("IOException while indexing documents:" + ex.getMessage(), ex);
         }
+        if (stopped) {
+            LOGGER.info("Index creation stopped after " + (System.currentTimeMillis() - time) + " ms for service:" + indexName);
+            stopIndexation(client, indexName);
+            return;
+        }
         LOGGER.log(logLevel, "Index creation process in " + (System.currentTimeMillis() - time) + " ms\n documents indexed: " + nbEntries + ".");
     }
 
@@ -239,13 +272,56 @@ public abstract class ElasticSearchIndexer<E> implements Indexer<E> {
         }
     }
 
-    /*
-    * TODO move to super class
-    */
     @Override
     public void indexDocuments(List<E> documents) {
-        for (E doc : documents) {
-            indexDocument(doc);
+        final BulkIndexation bulk = openBulk(false);
+        try {
+            for (E doc : documents) {
+                indexDocument(bulk, doc);
+            }
+        } finally {
+            closeBulk(bulk);
+        }
+        if (bulk.getFailures() > 0) {
+            LOGGER.log(Level.SEVERE, "{0} documents rejected by the bulk indexation of service: {1}", new Object[]{bulk.getFailures(), indexName});
+        }
+    }
+
+    private void indexDocument(final BulkIndexation bulk, final E metadata) {
+        try {
+            String id = getIdentifier(metadata);
+            bulk.indexDoc(id, createDocument(metadata));
+            LOGGER.log(Level.FINER, "Metadata: {0} added to bulk", id);
+
+        } catch (IndexingException ex) {
+            LOGGER.log(Level.WARNING, "Error while indexing single document", ex);
+        }
+    }
+
+    /**
+     * Open a bulk indexation on the index.
+     *
+     * @param rebuild if {@code true} the index refresh is disabled until the bulk is closed.
+     */
+    private BulkIndexation openBulk(final boolean rebuild) {
+        return client.createBulkIndexation(indexName, bulkActions, bulkSize, bulkConcurrency, rebuild);
+    }
+
+    /**
+     * Send the remaining documents of the bulk indexation, then refresh the index.
+     */
+    private void closeBulk(final BulkIndexation bulk) {
+        if (!bulk.close()) {
+            LOGGER.warning("Timeout while waiting for the bulk indexation of service:" + indexName);
+        }
+    }
+
+    /**
+     * Fail the index creation if some documents have been rejected by the cluster.
+     */
+    private void checkBulkFailures(final BulkIndexation bulk) throws IndexingException {
+        if (bulk.getFailures() > 0) {
+            throw new IndexingException(bulk.getFailures() + " documents rejected by the bulk indexation of service: " + indexName);
         }
     }
 
@@ -0,0 +1,144 @@
+/*
+ *    Constellation - An open source and standard compliant SDI
+ *    http://www.constellation-sdi.org
+ *
+ * Copyright 2019 Geomatys.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.constellation.metadata.index.elasticsearch;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import org.elasticsearch.index.query.QueryBuilders;
+import org.elasticsearch.search.SearchHit;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test the bulk indexation and the paged search against the embedded server node.
+ */
+public class ElasticSearchClientTest {
+
+    private static final String CLUSTER_NAME = "ElasticSearchClientTest";
+
+    private static final int NB_DOCS = 2500;
+
+    private static ElasticSearchClient client;
+
+    private static String indexName;
+
+    @BeforeClass
+    public static void setUpClass() throws Exception {
+        client    = ElasticSearchClient.getServerInstance(CLUSTER_NAME);
+        indexName = "bulk-test-" + UUID.randomUUID().toString();
+        client.prepareType(indexName, Collections.singletonMap("title", (Class) String.class));
+
+        client.setRefreshInterval(indexName, "5s");
+        final ElasticSearchClient.BulkIndexation bulk = client.createBulkIndexation(indexName, 500, 5 * 1024 * 1024, 1, true);
+        assertEquals("-1", client.getRefreshInterval(indexName));
+        for (int i = 0; i < NB_DOCS; i++) {
+            final Map values = new HashMap();
+            values.put("title", "document " + i);
+            values.put("title_sort", "document " + i);
+            bulk.indexDoc("doc-" + i, values);
+        }
+        assertTrue(bulk.close());
+        assertEquals(0, bulk.getFailures());
+    }
+
+    /**
+     * The refresh interval set before the bulk indexation is restored, not the default one.
+     */
+    @Test
+    public void restoreRefreshIntervalTest() throws Exception {
+        assertEquals("5s", client.getRefreshInterval(indexName));
+    }
+
+    /**
+     * The documents rejected by the cluster are counted.
+     */
+    @Test
+    public void bulkFailuresTest() throws Exception {
+        final String failIndex = "bulk-fail-test-" + UUID.randomUUID().toString();
+        client.prepareType(failIndex, Collections.singletonMap("value", (Class) Double.class));
+        try {
+            final ElasticSearchClient.BulkIndexation bulk = client.createBulkIndexation(failIndex, 10, 5 * 1024 * 1024, 0, false);
+            for (int i = 0; i < 20; i++) {
+                final Map values = new HashMap();
+                values.put("value", (i % 4 == 0) ? "not a number" : Double.toString(i));
+                bulk.indexDoc("doc-" + i, values);
+            }
+            assertTrue(bulk.close());
+            assertEquals(5, bulk.getFailures());
+            assertEquals(15, client.searchAll(failIndex, Integer.MAX_VALUE).length);
+        } finally {
+            client.deleteIndex(failIndex);
+        }
+    }
+
+    @AfterClass
+    public static void tearDownClass() throws Exception {
+        if (client != null) {
+            client.deleteIndex(indexName);
+            ElasticSearchClient.releaseServerInstance(CLUSTER_NAME);
+        }
+    }
+
+    @Test
+    public void searchIteratorTest() throws Exception {
+        final Set<String> ids = new HashSet<>();
+        try (ElasticSearchClient.SearchHitIterator it = client.searchIterator(indexName, QueryBuilders.matchAllQuery(), null, null, 100, false)) {
+            while (it.hasNext()) {
+                final SearchHit hit = it.next();
+                assertNull(hit.getSource());
+                ids.add(hit.getId());
+            }
+        }
+        assertEquals(NB_DOCS, ids.size());
+        assertTrue(ids.contains("doc-0"));
+        assertTrue(ids.contains("doc-" + (NB_DOCS - 1)));
+    }
+
+    @Test
+    public void searchLimitTest() throws Exception {
+        assertEquals(NB_DOCS, client.searchAll(indexName, Integer.MAX_VALUE).length);
+        assertEquals(10, client.searchAll(indexName, 10).length);
+    }
+
+    @Test
+    public void sortedSearchIteratorTest() throws Exception {
+        String previous = null;
+        int count = 0;
+        try (ElasticSearchClient.SearchHitIterator it = client.searchIterator(indexName, QueryBuilders.matchAllQuery(), null, new Sort("title_sort", "ASC"), 300, true)) {
+            while (it.hasNext()) {
+                final String title = (String) it.next().getSource().get("title_sort");
+                if (previous != null) {
+                    assertTrue(previous.compareTo(title) <= 0);
+                }
+                previous = title;
+                count++;
+            }
+        }
+        assertEquals(NB_DOCS, count);
+    }
+}
@@ -19,17 +19,51 @@
 package org.constellation.metadata.index.generic;
 
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.lucene.analysis.Analyzer;
+import org.constellation.configuration.AppProperty;
+import org.constellation.configuration.Application;
 import org.constellation.metadata.index.IndexSearcher;
 import org.geotoolkit.index.IndexingException;
+import org.geotoolkit.index.SearchingException;
+import org.geotoolkit.index.SpatialQuery;
 
 /**
+ * Lucene searcher keeping the identifiers matched by the recent queries, until the next refresh of the index.
  *
  * @author Guilhem Legal (Geomatys)
  */
 public class LuceneIndexSearcher extends org.geotoolkit.lucene.index.LuceneIndexSearcher implements IndexSearcher {
-    
+
+    private final int maxCachedResults = Application.getIntegerProperty(AppProperty.EXA_CSW_QUERY_CACHE_SIZE, 100);
+
+    private final int maxCachedIdentifiers = Application.getIntegerProperty(AppProperty.EXA_CSW_QUERY_CACHE_MAX_RESULT, 10000);
+
+    /**
+     * Matched identifiers by query, for the current generation of the index.
+     * The generation is incremented and the entries are cleared under the lock of this map.
+     */
+    private final Map<List<Object>, Set<String>> cachedResults = Collections.synchronizedMap(new LinkedHashMap<List<Object>, Set<String>>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<List<Object>, Set<String>> eldest) {
+            return size() > maxCachedResults;
+        }
+    });
+
+    /**
+     * Incremented at each refresh, the result of a search started on a previous generation is not cached.
+     */
+    private final AtomicLong generation = new AtomicLong();
+
     public LuceneIndexSearcher(final Path configDir, final String serviceID) throws IndexingException {
         super(configDir, serviceID);
     }
@@ -37,8 +71,75 @@ public class LuceneIndexSearcher extends org.geotoolkit.lucene.index.LuceneIndex
     public LuceneIndexSearcher(final Path configDir, final String serviceID, final Analyzer analyzer) throws IndexingException {
         super(configDir, serviceID, analyzer);
     }
-    
+
     public LuceneIndexSearcher(final Path configDir, final String serviceID, final Analyzer analyzer, final boolean envelopeOnly) throws IndexingException {
         super(configDir, serviceID, analyzer, envelopeOnly);
     }
+
+    /**
+     * {@inheritDoc}
+     *
+     * The identifiers of a query already executed on the current index are returned without searching again,
+     * if they are not more than {@link AppProperty#EXA_CSW_QUERY_CACHE_MAX_RESULT}.
+     */
+    @Override
+    public Set<String> doSearch(final SpatialQuery spatialQuery) throws SearchingException {
+        if (maxCachedResults <= 0) {
+            return super.doSearch(spatialQuery);
+        }
+        final List<Object> key = getKey(spatialQuery);
+        Set<String> results = cachedResults.get(key);
+        if (results == null) {
+            final long current = generation.get();
+            results = super.doSearch(spatialQuery);
+            if (results.size() <= maxCachedIdentifiers) {
+                synchronized (cachedResults) {
+                    if (current == generation.get()) {
+                        cachedResults.put(key, new LinkedHashSet<>(results));
+                    }
+                }
+            }
+            return results;
+        }
+        return new LinkedHashSet<>(results);
+    }
+
+    /**
+     * Return a key equal for the queries having the same text, spatial filter, logical operator, sort and sub-queries.
+     * The spatial filters returned by the cache of the filter parser are the same instances for the same constraint.
+     */
+    private static List<Object> getKey(final SpatialQuery query) {
+        if (query instanceof org.geotoolkit.lucene.filter.SpatialQuery) {
+            final org.geotoolkit.lucene.filter.SpatialQuery sq = (org.geotoolkit.lucene.filter.SpatialQuery) query;
+            final List<Object> subKeys = new ArrayList<>();
+            for (SpatialQuery sub : sq.getSubQueries()) {
+                subKeys.add(getKey(sub));
+            }
+            return Arrays.asList(sq.getQuery(), sq.getSpatialFilter(), sq.getLogicalOperator(), sq.getSort(), subKeys);
+        }
+        return Arrays.asList(query.getQuery(), query.getSpatialFilter(), query.getSort());
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * The cached results of the previous index are discarded.
+     */
+    @Override
+    public void refresh() throws IndexingException {
+        super.refresh();
+        // the fields are not yet initialized if called by the parent constructor
+        if (cachedResults != null) {
+            synchronized (cachedResults) {
+                generation.incrementAndGet();
+                cachedResults.clear();
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        cachedResults.clear();
+        super.destroy();
+    }
 }
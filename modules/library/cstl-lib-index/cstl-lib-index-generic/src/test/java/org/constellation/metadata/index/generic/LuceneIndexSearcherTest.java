@@ -0,0 +1,116 @@
+/*
+ *    Constellation - An open source and standard compliant SDI
+ *    http://www.constellation-sdi.org
+ *
+ * Copyright 2019 Geomatys.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.constellation.metadata.index.generic;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import javax.annotation.PostConstruct;
+import org.apache.lucene.search.Filter;
+import org.geotoolkit.index.LogicalFilterType;
+import org.geotoolkit.index.tree.manager.SQLRtreeManager;
+import org.geotoolkit.lucene.filter.SpatialQuery;
+import org.geotoolkit.nio.IOUtilities;
+import org.junit.AfterClass;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test the cache of the matched identifiers of the constellation lucene searcher.
+ */
+public class LuceneIndexSearcherTest extends AbstractGenericIndexTest {
+
+    private static final String NEW_RECORD = "42292_5p_19900609195600";
+
+    private static LuceneIndexSearcher indexSearcher;
+
+    private static GenericIndexer indexer;
+
+    private static Object newRecord;
+
+    private static final Path configDirectory  = Paths.get("LuceneIndexSearcherTest");
+
+    private static boolean configured = false;
+
+    @PostConstruct
+    public void setUpClass() throws Exception {
+
+        if (!configured) {
+            IOUtilities.deleteRecursively(configDirectory);
+            // the first record (meta1.xml) is indexed later
+            List<Object> object       = GenericindexTest.fillTestData();
+            newRecord                 = object.remove(0);
+            indexer                   = new GenericIndexer(object, null, configDirectory, "", true);
+            indexSearcher             = new LuceneIndexSearcher(configDirectory, "", null, true);
+            configured = true;
+        }
+
+    }
+
+    @AfterClass
+    public static void tearDownClass() throws Exception {
+        if (indexer != null) {
+            indexer.destroy();
+        }
+        if (indexSearcher != null) {
+            indexSearcher.destroy();
+        }
+        SQLRtreeManager.removeTree(indexer.getFileDirectory());
+        IOUtilities.deleteRecursively(configDirectory);
+    }
+
+    /**
+     * The results of a query are cached until the refresh following the indexation of a new record.
+     *
+     * @throws java.lang.Exception
+     */
+    @Test
+    public void refreshTest() throws Exception {
+        final Filter nullFilter = null;
+        final SpatialQuery titleQuery = new SpatialQuery("Title:\"90008411.ctd\"", nullFilter, LogicalFilterType.AND);
+        final SpatialQuery allQuery   = new SpatialQuery("metafile:doc", nullFilter, LogicalFilterType.AND);
+
+        assertTrue(indexSearcher.doSearch(titleQuery).isEmpty());
+        final Set<String> all = indexSearcher.doSearch(allQuery);
+        assertTrue(!all.isEmpty());
+        assertTrue(!all.contains(NEW_RECORD));
+
+        // the same query is answered from the cache, a returned set can be modified by the caller
+        final Set<String> cached = indexSearcher.doSearch(new SpatialQuery("metafile:doc", nullFilter, LogicalFilterType.AND));
+        assertEquals(all, cached);
+        cached.clear();
+        assertEquals(all, indexSearcher.doSearch(allQuery));
+
+        indexer.indexDocument(newRecord);
+        indexSearcher.refresh();
+
+        final Set<String> expectedResult = new LinkedHashSet<>();
+        expectedResult.add(NEW_RECORD);
+        assertEquals(expectedResult, indexSearcher.doSearch(titleQuery));
+
+        final Set<String> allAfter = indexSearcher.doSearch(allQuery);
+        assertEquals(all.size() + 1, allAfter.size());
+        assertTrue(allAfter.containsAll(all));
+        assertTrue(allAfter.contains(NEW_RECORD));
+    }
+}
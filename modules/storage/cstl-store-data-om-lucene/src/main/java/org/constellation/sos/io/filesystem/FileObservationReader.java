@@ -21,6 +21,7 @@ package org.constellation.sos.io.filesystem;
 
 
 import org.apache.sis.storage.DataStoreException;
+import org.apache.sis.util.collection.Cache;
 import org.apache.sis.util.logging.Logging;
 import org.apache.sis.xml.MarshallerPool;
 import org.constellation.dto.service.config.generic.Automatic;
@@ -45,6 +46,7 @@ import java.io.InputStream;
 import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -91,6 +93,13 @@ public class FileObservationReader implements ObservationReader {
 
     private static final String FILE_EXTENSION = ".xml";
 
+    /**
+     * Unmarshalled offerings, shared by all the readers and keyed by file path.
+     * An entry is used only if the file has not been modified since it was read.
+     * The cached objects are returned to the callers, they must not be modified.
+     */
+    private static final Cache<Path, CachedOffering> OFFERING_CACHE = new Cache<>(100, 1000, true);
+
     public FileObservationReader(final Automatic configuration, final Map<String, Object> properties) throws DataStoreException {
         this(configuration.getDataDirectory(), properties);
     }
@@ -164,17 +173,8 @@ public class FileObservationReader implements ObservationReader {
         if (Files.isDirectory(offeringVersionDir)) {
             final Path offeringFile = offeringVersionDir.resolve(offeringName + FILE_EXTENSION);
             if (Files.exists(offeringFile)) {
-                try (InputStream is = Files.newInputStream(offeringFile)) {
-                    final Unmarshaller unmarshaller = MARSHALLER_POOL.acquireUnmarshaller();
-                    Object obj = unmarshaller.unmarshal(is);
-                    MARSHALLER_POOL.recycle(unmarshaller);
-                    if (obj instanceof JAXBElement) {
-                        obj = ((JAXBElement)obj).getValue();
-                    }
-                    if (obj instanceof ObservationOffering) {
-                        return (ObservationOffering) obj;
-                    }
-                    throw new DataStoreException("The file " + offeringFile + " does not contains an offering Object.");
+                try {
+                    return readOffering(offeringFile);
                 } catch (JAXBException | IOException ex) {
                     throw new DataStoreException("Unable to unmarshall The file " + offeringFile, ex);
                 }
@@ -198,18 +198,8 @@ public class FileObservationReader implements ObservationReader {
                 try (DirectoryStream<Path> stream = Files.newDirectoryStream(offeringVersionDir)) {
                     for (Path offeringFile : stream) {
 
-                        try (InputStream is = Files.newInputStream(offeringFile)) {
-                            final Unmarshaller unmarshaller = MARSHALLER_POOL.acquireUnmarshaller();
-                            Object obj = unmarshaller.unmarshal(is);
-                            MARSHALLER_POOL.recycle(unmarshaller);
-                            if (obj instanceof JAXBElement) {
-                                obj = ((JAXBElement)obj).getValue();
-                            }
-                            if (obj instanceof ObservationOffering) {
-                                offerings.add((ObservationOffering) obj);
-                            } else {
-                                throw new DataStoreException("The file " + offeringFile + " does not contains an offering Object.");
-                            }
+                        try {
+                            offerings.add(readOffering(offeringFile));
                         } catch (JAXBException ex) {
                             String msg = ex.getMessage();
                             if (msg == null && ex.getCause() != null) {
@@ -234,6 +224,37 @@ public class FileObservationReader implements ObservationReader {
         return offerings;
     }
 
+    private static ObservationOffering readOffering(final Path offeringFile) throws DataStoreException, JAXBException, IOException {
+        final BasicFileAttributes attributes = Files.readAttributes(offeringFile, BasicFileAttributes.class);
+        final Path key = offeringFile.toAbsolutePath();
+        final CachedOffering cached = OFFERING_CACHE.peek(key);
+        if (cached != null && cached.isValid(attributes)) {
+            return cached.offering;
+        }
+        try (InputStream is = Files.newInputStream(offeringFile)) {
+            final Unmarshaller unmarshaller = MARSHALLER_POOL.acquireUnmarshaller();
+            Object obj = unmarshaller.unmarshal(is);
+            MARSHALLER_POOL.recycle(unmarshaller);
+            if (obj instanceof JAXBElement) {
+                obj = ((JAXBElement)obj).getValue();
+            }
+            if (obj instanceof ObservationOffering) {
+                final ObservationOffering offering = (ObservationOffering) obj;
+                OFFERING_CACHE.put(key, new CachedOffering(attributes, offering));
+                return offering;
+            }
+            throw new DataStoreException("The file " + offeringFile + " does not contains an offering Object.");
+        }
+    }
+
+    /**
+     * Remove the offering stored in the specified file from the cache.
+     * Called by the writer, the modification time may not change if the file is rewritten quickly.
+     */
+    static void removeFromCache(final Path offeringFile) {
+        OFFERING_CACHE.remove(offeringFile.toAbsolutePath());
+    }
+
     @Override
     public List<ObservationOffering> getObservationOfferings(String version, String sensorType) throws DataStoreException {
         // no filter yet
@@ -589,4 +610,21 @@ public class FileObservationReader implements ObservationReader {
     public Collection<SamplingFeature> getFeatureOfInterestForProcedure(String sensorID, String version) throws DataStoreException {
         throw new UnsupportedOperationException("Not supported yet.");
     }
+
+    private static final class CachedOffering {
+
+        private final long modified;
+        private final long size;
+        private final ObservationOffering offering;
+
+        private CachedOffering(final BasicFileAttributes attributes, final ObservationOffering offering) {
+            this.modified = attributes.lastModifiedTime().toMillis();
+            this.size     = attributes.size();
+            this.offering = offering;
+        }
+
+        private boolean isValid(final BasicFileAttributes attributes) {
+            return modified == attributes.lastModifiedTime().toMillis() && size == attributes.size();
+        }
+    }
 }
@@ -295,6 +295,7 @@ public class FileObservationWriter implements ObservationWriter {
 
         final Path offeringFile = offeringDirectory.resolve(offering.getId() + FILE_EXTENSION);
         writeObject(offeringFile, offering, "foi");
+        FileObservationReader.removeFromCache(offeringFile);
         return offering.getId();
     }
 
@@ -23,6 +23,7 @@ import org.constellation.business.IInternalSensorBusiness;
 import org.constellation.dto.InternalSensor;
 import org.constellation.repository.InternalSensorRepository;
 import org.constellation.repository.SensorRepository;
+import org.constellation.sos.io.internal.InternalSensorReader;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
@@ -67,6 +68,7 @@ public class InternalSensorBusiness implements IInternalSensorBusiness{
             metadata.setMetadata(metadataXML);
             intSensorRepository.update(metadata);
         }
+        InternalSensorReader.invalidate(sensorID);
     }
 
     @Override
@@ -89,6 +91,7 @@ public class InternalSensorBusiness implements IInternalSensorBusiness{
     public boolean delete(String sensorID) {
         InternalSensor metadata  = intSensorRepository.findBySensorId(sensorID);
         if (metadata != null) {
+            InternalSensorReader.invalidate(sensorID);
             return intSensorRepository.delete(metadata.getId()) > 0;
         }
         return false;
@@ -21,6 +21,7 @@ package org.constellation.sos.io.filesystem;
 
 // J2SE dependencies
 
+import org.apache.sis.util.collection.Cache;
 import org.apache.sis.util.logging.Logging;
 import org.apache.sis.xml.MarshallerPool;
 import org.apache.sis.storage.DataStoreException;
@@ -37,6 +38,7 @@ import java.io.InputStream;
 import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -63,6 +65,13 @@ public class FileSensorReader implements SensorReader {
      */
     private static final MarshallerPool MARSHALLER_POOL = SensorMLMarshallerPool.getInstance();
 
+    /**
+     * Unmarshalled sensors, shared by all the readers and keyed by file path.
+     * An entry is used only if the file has not been modified since it was read.
+     * The cached objects are returned to the callers, they must not be modified.
+     */
+    private static final Cache<Path, CachedSensor> CACHE = new Cache<>(100, 1000, true);
+
     /**
      * The directory where the data file are stored
      */
@@ -115,20 +124,16 @@ public class FileSensorReader implements SensorReader {
             sensorFile = dataDirectory.resolve(sensorIdTmp + ".xml");
         }
         if (Files.exists(sensorFile)){
-            try (InputStream is = Files.newInputStream(sensorFile)) {
-                final Unmarshaller unmarshaller = MARSHALLER_POOL.acquireUnmarshaller();
-                Object unmarshalled = unmarshaller.unmarshal(is);
-                MARSHALLER_POOL.recycle(unmarshaller);
-                if (unmarshalled instanceof JAXBElement) {
-                    unmarshalled = ((JAXBElement) unmarshalled).getValue();
-                }
-                if (unmarshalled instanceof AbstractSensorML) {
-                    return (AbstractSensorML) unmarshalled;
-                } else {
-                    throw new DataStoreException("The form unmarshalled is not a sensor");
+            try {
+                final BasicFileAttributes attributes = Files.readAttributes(sensorFile, BasicFileAttributes.class);
+                final Path key = sensorFile.toAbsolutePath();
+                final CachedSensor cached = CACHE.peek(key);
+                if (cached != null && cached.isValid(attributes)) {
+                    return cached.sensor;
                 }
-            } catch (JAXBException ex) {
-                throw new DataStoreException("JAXBException while unmarshalling the sensor", ex);
+                final AbstractSensorML sensor = unmarshallSensor(sensorFile);
+                CACHE.put(key, new CachedSensor(attributes, sensor));
+                return sensor;
             } catch (IOException ex) {
                 throw new DataStoreException("IOException while reading the sensor file", ex);
             }
@@ -139,6 +144,32 @@ public class FileSensorReader implements SensorReader {
         }
     }
 
+    private static AbstractSensorML unmarshallSensor(final Path sensorFile) throws DataStoreException, IOException {
+        try (InputStream is = Files.newInputStream(sensorFile)) {
+            final Unmarshaller unmarshaller = MARSHALLER_POOL.acquireUnmarshaller();
+            Object unmarshalled = unmarshaller.unmarshal(is);
+            MARSHALLER_POOL.recycle(unmarshaller);
+            if (unmarshalled instanceof JAXBElement) {
+                unmarshalled = ((JAXBElement) unmarshalled).getValue();
+            }
+            if (unmarshalled instanceof AbstractSensorML) {
+                return (AbstractSensorML) unmarshalled;
+            } else {
+                throw new DataStoreException("The form unmarshalled is not a sensor");
+            }
+        } catch (JAXBException ex) {
+            throw new DataStoreException("JAXBException while unmarshalling the sensor", ex);
+        }
+    }
+
+    /**
+     * Remove the sensor stored in the specified file from the cache.
+     * Called by the writer, the modification time may not change if the file is rewritten quickly.
+     */
+    static void removeFromCache(final Path sensorFile) {
+        CACHE.remove(sensorFile.toAbsolutePath());
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -184,11 +215,29 @@ public class FileSensorReader implements SensorReader {
 
     @Override
     public void removeFromCache(String sensorID) {
-        // do nothing no cache
+        removeFromCache(dataDirectory.resolve(sensorID + ".xml"));
+        removeFromCache(dataDirectory.resolve(sensorID.replace(":", "µ") + ".xml"));
     }
 
     @Override
     public int getSensorCount() throws DataStoreException{
         return getSensorNames().size();
     }
+
+    private static final class CachedSensor {
+
+        private final long modified;
+        private final long size;
+        private final AbstractSensorML sensor;
+
+        private CachedSensor(final BasicFileAttributes attributes, final AbstractSensorML sensor) {
+            this.modified = attributes.lastModifiedTime().toMillis();
+            this.size     = attributes.size();
+            this.sensor   = sensor;
+        }
+
+        private boolean isValid(final BasicFileAttributes attributes) {
+            return modified == attributes.lastModifiedTime().toMillis() && size == attributes.size();
+        }
+    }
 }
@@ -124,6 +124,8 @@ public class FileSensorWriter implements SensorWriter {
                 msg = ex.getCause().getMessage();
             }
             throw new DataStoreException("the service has throw a IO Exception:" + msg, ex);
+        } finally {
+            FileSensorReader.removeFromCache(currentFile);
         }
         return true;
     }
@@ -140,6 +142,7 @@ public class FileSensorWriter implements SensorWriter {
         if (Files.exists(currentFile)) {
             try {
                 Files.delete(currentFile);
+                FileSensorReader.removeFromCache(currentFile);
                 return true;
             } catch (IOException e) {
                 throw new DataStoreException("the service was unable to delete the file:" + fileName);
@@ -176,6 +179,8 @@ public class FileSensorWriter implements SensorWriter {
                 msg = ex.getCause().getMessage();
             }
             throw new DataStoreException("the service has throw a IO Exception:" + msg, ex);
+        } finally {
+            FileSensorReader.removeFromCache(currentFile);
         }
     }
 
@@ -36,6 +36,7 @@ import javax.xml.bind.JAXBException;
 import javax.xml.bind.Unmarshaller;
 import org.apache.sis.storage.DataStoreException;
 
+import org.apache.sis.util.collection.Cache;
 import org.apache.sis.util.logging.Logging;
 import org.apache.sis.xml.MarshallerPool;
 
@@ -61,6 +62,14 @@ public class InternalSensorReader implements SensorReader {
      */
     private static final MarshallerPool MARSHALLER_POOL = SensorMLMarshallerPool.getInstance();
 
+    /**
+     * Unmarshalled sensors, shared by all the readers and keyed by sensor identifier.
+     * An entry is used only if the stored XML is still the one it was unmarshalled from,
+     * comparing the XML is much cheaper than unmarshalling it again.
+     * The cached objects are returned to the callers, they must not be modified.
+     */
+    private static final Cache<String, CachedSensor> CACHE = new Cache<>(100, 1000, true);
+
     private final Map<String, List<String>> acceptedSensorMLFormats = new HashMap<>();
     
     @Autowired
@@ -97,6 +106,10 @@ public class InternalSensorReader implements SensorReader {
     public AbstractSensorML getSensor(final String sensorId) throws DataStoreException {
         final String xml = sensorBusiness.getSensorMetadata(sensorId);
         if (xml != null){
+            final CachedSensor cached = CACHE.peek(sensorId);
+            if (cached != null && cached.xml.equals(xml)) {
+                return cached.sensor;
+            }
             try {
                 final Unmarshaller unmarshaller = MARSHALLER_POOL.acquireUnmarshaller();
                 Object unmarshalled = unmarshaller.unmarshal(new StringReader(xml));
@@ -105,7 +118,9 @@ public class InternalSensorReader implements SensorReader {
                     unmarshalled = ((JAXBElement) unmarshalled).getValue();
                 }
                 if (unmarshalled instanceof AbstractSensorML) {
-                    return (AbstractSensorML) unmarshalled;
+                    final AbstractSensorML sensor = (AbstractSensorML) unmarshalled;
+                    CACHE.put(sensorId, new CachedSensor(xml, sensor));
+                    return sensor;
                 } else {
                     throw new DataStoreException("The form unmarshalled is not a sensor");
                 }
@@ -144,11 +159,32 @@ public class InternalSensorReader implements SensorReader {
 
     @Override
     public void removeFromCache(String sensorID) {
-        // do nothing no cache
+        CACHE.remove(sensorID);
+    }
+
+    /**
+     * Remove the specified sensor from the cache shared by the readers.
+     * Called by the sensor business when the stored metadata is updated or removed.
+     *
+     * @param sensorID The sensor identifier.
+     */
+    public static void invalidate(String sensorID) {
+        CACHE.remove(sensorID);
     }
 
     @Override
     public int getSensorCount() {
         return sensorBusiness.getInternalSensorCount();
     }
+
+    private static final class CachedSensor {
+
+        private final String xml;
+        private final AbstractSensorML sensor;
+
+        private CachedSensor(final String xml, final AbstractSensorML sensor) {
+            this.xml    = xml;
+            this.sensor = sensor;
+        }
+    }
 }
@@ -66,4 +66,10 @@ public interface CSWMetadataReader extends MetadataReader {
      */
     String[] executeEbrimSQLQuery(final String sqlQuery) throws MetadataIoException;
 
+    /**
+     * Execute a SQL query, binding the parameters to its placeholders in order,
+     * and return the result as a List of identifier;
+     */
+    String[] executeEbrimSQLQuery(final String sqlQuery, final List<Object> parameters) throws MetadataIoException;
+
 }
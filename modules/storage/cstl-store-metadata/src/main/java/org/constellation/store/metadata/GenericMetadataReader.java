@@ -203,6 +203,14 @@ public abstract class GenericMetadataReader extends GenericReader implements CSW
         throw new MetadataIoException("Not supported int this implementation.");
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String[] executeEbrimSQLQuery(final String sqlQuery, final List<Object> parameters) throws MetadataIoException {
+        throw new MetadataIoException("Not supported int this implementation.");
+    }
+
     /**
      * {@inheritDoc}
      */
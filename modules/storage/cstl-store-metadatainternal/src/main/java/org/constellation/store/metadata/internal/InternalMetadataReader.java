@@ -130,6 +130,14 @@ public class InternalMetadataReader extends DomMetadataReader {
         throw new MetadataIoException("Ebrim query are not supported int the FILESYSTEM mode.", OPERATION_NOT_SUPPORTED);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String[] executeEbrimSQLQuery(final String sqlQuery, final List<Object> parameters) throws MetadataIoException {
+        throw new MetadataIoException("Ebrim query are not supported int the FILESYSTEM mode.", OPERATION_NOT_SUPPORTED);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -725,6 +725,14 @@ public class NetCDFMetadataReader extends AbstractMetadataReader implements CSWM
         throw new MetadataIoException("Ebrim query are not supported int the FILESYSTEM mode.", OPERATION_NOT_SUPPORTED);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String[] executeEbrimSQLQuery(final String sqlQuery, final List<Object> parameters) throws MetadataIoException {
+        throw new MetadataIoException("Ebrim query are not supported int the FILESYSTEM mode.", OPERATION_NOT_SUPPORTED);
+    }
+
     /**
      * {@inheritDoc}
      */
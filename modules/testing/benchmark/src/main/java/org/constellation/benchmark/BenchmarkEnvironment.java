@@ -0,0 +1,168 @@
+/*
+ *    Constellation - An open source and standard compliant SDI
+ *    http://www.constellation-sdi.org
+ *
+ * Copyright 2019 Geomatys.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.constellation.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.logging.Logger;
+import javax.xml.namespace.QName;
+import org.apache.sis.util.logging.Logging;
+import org.constellation.api.ProviderType;
+import org.constellation.business.IDataBusiness;
+import org.constellation.business.ILayerBusiness;
+import org.constellation.business.IProviderBusiness;
+import org.constellation.business.IServiceBusiness;
+import org.constellation.configuration.ConfigDirectory;
+import org.constellation.dto.service.config.wxs.LayerContext;
+import org.constellation.exception.ConstellationException;
+import org.constellation.provider.DataProviderFactory;
+import org.constellation.provider.DataProviders;
+import org.constellation.provider.ProviderParameters;
+import org.constellation.provider.datastore.DataStoreProviderService;
+import org.constellation.test.utils.TestEnvironment;
+import org.constellation.util.Util;
+import org.geotoolkit.nio.IOUtilities;
+import org.opengis.parameter.ParameterValueGroup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.support.ClassPathXmlApplicationContext;
+
+/**
+ * Spring context and fixtures shared by the benchmarks of a JVM.
+ *
+ * The configuration is stored by the file system repositories in the benchmark directory
+ * ({@code benchmark-context.xml}), so the benchmarks do not need a database server and always start
+ * from an empty configuration. The data are copied from the test resources or generated in the
+ * benchmark directory.
+ */
+public final class BenchmarkEnvironment {
+
+    private static final Logger LOGGER = Logging.getLogger("org.constellation.benchmark");
+
+    public static final String GML_NAMESPACE = "http://www.opengis.net/gml";
+
+    private static final String SHAPEFILE_PROVIDER = "shapeSrc";
+
+    private static BenchmarkEnvironment INSTANCE;
+
+    private final ConfigurableApplicationContext context;
+
+    private final Path directory;
+
+    private final Set<String> shapefiles = new HashSet<>();
+
+    private BenchmarkEnvironment() {
+        directory = ConfigDirectory.setupTestEnvironement("benchmark");
+        context = new ClassPathXmlApplicationContext("classpath:/org/constellation/benchmark/benchmark-context.xml");
+    }
+
+    /**
+     * @return The environment of this JVM, created at the first call.
+     */
+    public static synchronized BenchmarkEnvironment get() throws ConstellationException {
+        if (INSTANCE == null) {
+            INSTANCE = new BenchmarkEnvironment();
+        }
+        return INSTANCE;
+    }
+
+    /**
+     * Close the Spring context and remove the benchmark directory.
+     */
+    public static synchronized void close() {
+        if (INSTANCE != null) {
+            INSTANCE.context.close();
+            ConfigDirectory.shutdownTestEnvironement("benchmark");
+            INSTANCE = null;
+        }
+    }
+
+    public <T> T getBean(final Class<T> type) {
+        return context.getBean(type);
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Register the test shapefiles and create a service publishing the specified ones.
+     *
+     * @param serviceType "wms" or "wfs".
+     * @param identifier the service identifier.
+     * @param layers the names of the shapefiles in the {@link #GML_NAMESPACE}.
+     * @return The service id.
+     */
+    public synchronized Integer createShapefileService(final String serviceType, final String identifier, final String... layers)
+            throws ConstellationException, IOException, URISyntaxException {
+        final IProviderBusiness providerBusiness = getBean(IProviderBusiness.class);
+        final IDataBusiness dataBusiness = getBean(IDataBusiness.class);
+        if (shapefiles.isEmpty()) {
+            final Path data = TestEnvironment.initWorkspaceData(directory.resolve("data"), TestEnvironment.TestResources.WMS111_SHAPEFILES);
+            final DataProviderFactory factory = DataProviders.getFactory("data-store");
+            final ParameterValueGroup source = factory.getProviderDescriptor().createValue();
+            source.parameter("id").setValue(SHAPEFILE_PROVIDER);
+            final ParameterValueGroup choice = ProviderParameters.getOrCreate(DataStoreProviderService.SOURCE_CONFIG_DESCRIPTOR, source);
+            final ParameterValueGroup config = choice.addGroup("ShapefileParametersFolder");
+            config.parameter("path").setValue(data.toUri());
+            providerBusiness.storeProvider(SHAPEFILE_PROVIDER, null, ProviderType.LAYER, "data-store", source);
+        }
+        for (String layer : layers) {
+            if (shapefiles.add(layer)) {
+                dataBusiness.create(new QName(GML_NAMESPACE, layer), SHAPEFILE_PROVIDER, "VECTOR", false, true, null, null);
+            }
+        }
+
+        final IServiceBusiness serviceBusiness = getBean(IServiceBusiness.class);
+        final ILayerBusiness layerBusiness = getBean(ILayerBusiness.class);
+        final Integer id = serviceBusiness.create(serviceType, identifier, new LayerContext(), null, null);
+        for (String layer : layers) {
+            layerBusiness.add(layer, GML_NAMESPACE, SHAPEFILE_PROVIDER, null, identifier, serviceType, null);
+        }
+        return id;
+    }
+
+    /**
+     * Write copies of an ISO 19115 test metadata, with the identifiers {@code bench-<i>}
+     * and the titles {@code Benchmark record <i>}.
+     *
+     * @param count number of metadata to generate.
+     * @return The directory containing the generated files.
+     */
+    public Path generateMetadata(final int count) throws IOException {
+        final String template;
+        try (InputStream in = Util.getResourceAsStream("org/constellation/xml/metadata/meta1.xml")) {
+            template = IOUtilities.toString(in);
+        }
+        final Path folder = directory.resolve("metadata-" + count);
+        Files.createDirectories(folder);
+        for (int i = 0; i < count; i++) {
+            final String xml = template.replace("42292_5p_19900609195600", "bench-" + i)
+                                       .replace("SeaDataNet geographic co-ordinate reference frames", "Benchmark record " + i);
+            Files.write(folder.resolve("bench-" + i + ".xml"), xml.getBytes(StandardCharsets.UTF_8));
+        }
+        LOGGER.info(count + " metadata generated in " + folder);
+        return folder;
+    }
+}
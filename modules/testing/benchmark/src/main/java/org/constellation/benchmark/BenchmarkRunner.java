@@ -0,0 +1,159 @@
+/*
+ *    Constellation - An open source and standard compliant SDI
+ *    http://www.constellation-sdi.org
+ *
+ * Copyright 2019 Geomatys.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.constellation.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Run the benchmarks with the GC profiler, write the results in JSON and compare them to a baseline.
+ *
+ * For each benchmark and parameter set, the score and the allocated bytes per operation
+ * ({@code gc.alloc.rate.norm}) are compared to the baseline. A degradation larger than the tolerance
+ * is a regression and the runner exits with the status 1. The benchmarks missing from the baseline
+ * are reported as new. The baseline is replaced by the results of the run when {@code benchmark.update}
+ * is set, on the reference machine.
+ *
+ * System properties:
+ * <ul>
+ *   <li>{@code benchmark.result}: JSON result file, {@code target/jmh-result.json} by default.</li>
+ *   <li>{@code benchmark.baseline}: JSON baseline file, the comparison is skipped if it does not exist.</li>
+ *   <li>{@code benchmark.tolerance}: accepted degradation in percent, 10 by default.</li>
+ *   <li>{@code benchmark.update}: if {@code true}, write the results in the baseline file instead of comparing them.</li>
+ * </ul>
+ * The first argument is the regular expression of the benchmarks to run.
+ */
+public final class BenchmarkRunner {
+
+    private static final String ALLOCATION = "·gc.alloc.rate.norm";
+
+    private BenchmarkRunner() {}
+
+    public static void main(String[] args) throws Exception {
+        final String include = args.length > 0 ? args[0] : ".*";
+        final Path result    = Paths.get(System.getProperty("benchmark.result", "target/jmh-result.json"));
+        final Path baseline  = Paths.get(System.getProperty("benchmark.baseline", "baseline/jmh-baseline.json"));
+        final double tolerance = Double.parseDouble(System.getProperty("benchmark.tolerance", "10"));
+
+        Files.createDirectories(result.toAbsolutePath().getParent());
+        final Options options = new OptionsBuilder()
+                .include(include)
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(result.toString())
+                .build();
+        new Runner(options).run();
+
+        if (Boolean.getBoolean("benchmark.update")) {
+            Files.createDirectories(baseline.toAbsolutePath().getParent());
+            Files.copy(result, baseline, StandardCopyOption.REPLACE_EXISTING);
+            System.out.println("Baseline " + baseline + " updated.");
+            return;
+        }
+        if (!Files.exists(baseline)) {
+            System.out.println("No baseline " + baseline + ", run with -Dbenchmark.update=true to create it.");
+            return;
+        }
+        final int regressions = compare(read(baseline), read(result), tolerance);
+        if (regressions > 0) {
+            System.out.println(regressions + " regression(s) above " + tolerance + " %.");
+            System.exit(1);
+        }
+        System.out.println("No regression above " + tolerance + " %.");
+    }
+
+    /**
+     * Read a JMH JSON result file.
+     *
+     * @return The results by benchmark, mode and parameters.
+     */
+    static Map<String, JsonNode> read(final Path file) throws IOException {
+        final Map<String, JsonNode> results = new LinkedHashMap<>();
+        for (JsonNode node : new ObjectMapper().readTree(file.toFile())) {
+            final StringBuilder key = new StringBuilder(node.path("benchmark").asText())
+                    .append(" [").append(node.path("mode").asText()).append(']');
+            final Map<String, String> params = new TreeMap<>();
+            final Iterator<Map.Entry<String, JsonNode>> it = node.path("params").fields();
+            while (it.hasNext()) {
+                final Map.Entry<String, JsonNode> param = it.next();
+                params.put(param.getKey(), param.getValue().asText());
+            }
+            if (!params.isEmpty()) {
+                key.append(' ').append(params);
+            }
+            results.put(key.toString(), node);
+        }
+        return results;
+    }
+
+    /**
+     * Print the comparison of the results to the baseline.
+     *
+     * @return The number of regressions.
+     */
+    static int compare(final Map<String, JsonNode> baseline, final Map<String, JsonNode> results, final double tolerance) {
+        int regressions = 0;
+        for (Map.Entry<String, JsonNode> entry : results.entrySet()) {
+            final JsonNode reference = baseline.get(entry.getKey());
+            if (reference == null) {
+                System.out.println("NEW         " + entry.getKey());
+                continue;
+            }
+            final JsonNode current = entry.getValue();
+            final boolean higherIsBetter = "thrpt".equals(current.path("mode").asText());
+            regressions += check(entry.getKey(), "score",
+                    reference.path("primaryMetric"), current.path("primaryMetric"), higherIsBetter, tolerance);
+            regressions += check(entry.getKey(), "allocation",
+                    reference.path("secondaryMetrics").path(ALLOCATION), current.path("secondaryMetrics").path(ALLOCATION), false, tolerance);
+        }
+        return regressions;
+    }
+
+    private static int check(final String name, final String metric, final JsonNode reference, final JsonNode current,
+            final boolean higherIsBetter, final double tolerance) {
+        if (reference.isMissingNode() || current.isMissingNode()) {
+            return 0;
+        }
+        final double before = reference.path("score").asDouble();
+        final double after  = current.path("score").asDouble();
+        if (before == 0) {
+            return 0;
+        }
+        final double change = (after - before) * 100 / before;
+        final double degradation = higherIsBetter ? -change : change;
+        final boolean regression = degradation > tolerance;
+        System.out.println(String.format("%-11s %s %s: %.3f -> %.3f %s (%+.1f %%)", regression ? "REGRESSION" : "OK",
+                name, metric, before, after, current.path("scoreUnit").asText(), change));
+        return regression ? 1 : 0;
+    }
+}
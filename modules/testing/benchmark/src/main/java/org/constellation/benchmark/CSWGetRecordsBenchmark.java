@@ -0,0 +1,116 @@
+/*
+ *    Constellation - An open source and standard compliant SDI
+ *    http://www.constellation-sdi.org
+ *
+ * Copyright 2019 Geomatys.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.constellation.benchmark;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import org.apache.sis.storage.DataStoreProvider;
+import org.constellation.business.IProviderBusiness;
+import org.constellation.business.IServiceBusiness;
+import org.constellation.dto.service.config.generic.Automatic;
+import org.constellation.metadata.core.CSWworker;
+import org.constellation.ws.MimeType;
+import org.geotoolkit.csw.xml.ElementSetType;
+import org.geotoolkit.csw.xml.ResultType;
+import org.geotoolkit.csw.xml.v202.ElementSetNameType;
+import org.geotoolkit.csw.xml.v202.GetRecordsType;
+import org.geotoolkit.csw.xml.v202.QueryConstraintType;
+import org.geotoolkit.csw.xml.v202.QueryType;
+import org.geotoolkit.storage.DataStores;
+import org.opengis.parameter.ParameterValueGroup;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import static org.geotoolkit.metadata.TypeNames.RECORD_202_QNAME;
+
+/**
+ * CSW 2.0.2 GetRecords with a CQL constraint on a file system catalog of generated ISO 19115 metadata.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CSWGetRecordsBenchmark {
+
+    /**
+     * Number of metadata in the catalog.
+     */
+    @Param({"100", "1000"})
+    public int records;
+
+    /**
+     * Full text filter on the title, matching 1 record out of 10.
+     */
+    @Param({"Title LIKE 'Benchmark record 1%'", "AnyText LIKE '%record 42%'"})
+    public String constraint;
+
+    private CSWworker worker;
+
+    private GetRecordsType request;
+
+    @Setup
+    public void setUp() throws Exception {
+        final BenchmarkEnvironment env = BenchmarkEnvironment.get();
+        final Path folder = env.generateMetadata(records);
+
+        final IProviderBusiness providerBusiness = env.getBean(IProviderBusiness.class);
+        final DataStoreProvider factory = DataStores.getProviderById("FilesystemMetadata");
+        final ParameterValueGroup params = factory.getOpenParameters().createValue();
+        params.parameter("folder").setValue(folder.toFile());
+        params.parameter("store-id").setValue("benchmark");
+        final Integer pr = providerBusiness.create("metadataSrc", IProviderBusiness.SPI_NAMES.METADATA_SPI_NAME, params);
+        providerBusiness.createOrUpdateData(pr, null, false);
+
+        final Automatic configuration = new Automatic();
+        configuration.putParameter("transactionSecurized", "false");
+        final IServiceBusiness serviceBusiness = env.getBean(IServiceBusiness.class);
+        serviceBusiness.create("csw", "default", configuration, null, null);
+        serviceBusiness.linkCSWAndProvider("default", "metadataSrc");
+        worker = new CSWworker("default");
+
+        final QueryType query = new QueryType(Arrays.asList(RECORD_202_QNAME), new ElementSetNameType(ElementSetType.FULL),
+                null, new QueryConstraintType(constraint, "1.0.0"));
+        request = new GetRecordsType("CSW", "2.0.2", ResultType.RESULTS, null, MimeType.APPLICATION_XML,
+                "http://www.opengis.net/cat/csw/2.0.2", 1, 10, query, null);
+    }
+
+    @TearDown
+    public void tearDown() {
+        worker.destroy();
+        BenchmarkEnvironment.close();
+    }
+
+    @Benchmark
+    public Object getRecords() throws Exception {
+        return worker.getRecords(request);
+    }
+}
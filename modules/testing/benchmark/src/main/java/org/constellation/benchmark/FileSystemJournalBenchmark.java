@@ -0,0 +1,169 @@
+/*
+ *    Constellation - An open source and standard compliant SDI
+ *    http://www.constellation-sdi.org
+ *
+ * Copyright 2019 Geomatys.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.constellation.benchmark;
+
+import com.examind.repository.filesystem.DataJournalCodec;
+import com.examind.repository.filesystem.FileSystemJournal;
+import static com.examind.repository.filesystem.FileSystemUtilities.getObjectFromPath;
+import static com.examind.repository.filesystem.FileSystemUtilities.writeObjectInPath;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+import org.apache.sis.xml.MarshallerPool;
+import org.constellation.dto.Data;
+import org.geotoolkit.nio.IOUtilities;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Startup time of the legacy XML storage of the file system repositories compared to the journal,
+ * and write throughput of the journal.
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+public class FileSystemJournalBenchmark {
+
+    /**
+     * Number of stored entities.
+     */
+    @Param({"10000"})
+    public int entities;
+
+    private Path root;
+
+    private Path legacyDir;
+
+    private Path journalDir;
+
+    private MarshallerPool pool;
+
+    private Map<Integer, Data> state;
+
+    private FileSystemJournal<Data> writeJournal;
+
+    private int next;
+
+    @Setup
+    public void setUp() throws Exception {
+        root = Files.createTempDirectory("fs-journal-bench");
+        legacyDir = Files.createDirectories(root.resolve("datas"));
+        pool = new MarshallerPool(JAXBContext.newInstance(Data.class), Collections.EMPTY_MAP);
+        IntStream.range(1, entities + 1).parallel().forEach(i -> writeObjectInPath(createData(i), legacyDir.resolve(i + ".xml"), pool));
+
+        journalDir = root.resolve("datas_journal");
+        try (FileSystemJournal<Data> journal = new FileSystemJournal<>(journalDir, new DataJournalCodec())) {
+            state = journal.importLegacy(legacyDir, this::read, Data::getId);
+        }
+        writeJournal = new FileSystemJournal<>(root.resolve("write_journal"), new DataJournalCodec());
+        writeJournal.compact(new HashMap<>(state));
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        writeJournal.close();
+        IOUtilities.deleteRecursively(root);
+    }
+
+    /**
+     * Previous startup : every entity read from its XML file.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 3)
+    @Measurement(iterations = 10)
+    public Map<Integer, Data> legacyLoad() throws Exception {
+        final Map<Integer, Data> legacy = new HashMap<>();
+        for (int i = 1; i <= entities; i++) {
+            final Data d = (Data) getObjectFromPath(legacyDir.resolve(i + ".xml"), pool);
+            legacy.put(d.getId(), d);
+        }
+        return legacy;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 3)
+    @Measurement(iterations = 10)
+    public Map<Integer, Data> journalLoad() {
+        try (FileSystemJournal<Data> journal = new FileSystemJournal<>(journalDir, new DataJournalCodec())) {
+            return journal.load();
+        }
+    }
+
+    /**
+     * Update of an entity, the journal being compacted when needed.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @Warmup(iterations = 5, time = 2)
+    @Measurement(iterations = 5, time = 2)
+    public void journalWrite() {
+        next = next % entities + 1;
+        final Data d = state.get(next);
+        d.setStatsState("COMPLETED");
+        writeJournal.put(next, d);
+        if (writeJournal.needCompaction()) {
+            writeJournal.compact(new HashMap<>(state));
+        }
+    }
+
+    private static Data createData(int i) {
+        final Data d = new Data();
+        d.setId(i);
+        d.setName("data-" + i);
+        d.setNamespace("http://examind.com/bench");
+        d.setProviderId(i % 100);
+        d.setDatasetId(i % 1000);
+        d.setType("VECTOR");
+        d.setIncluded(true);
+        d.setSensorable(false);
+        d.setHidden(false);
+        d.setRendered(false);
+        d.setDate(new Date());
+        d.setOwnerId(1);
+        return d;
+    }
+
+    private Data read(Path p) {
+        try {
+            return (Data) getObjectFromPath(p, pool);
+        } catch (JAXBException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
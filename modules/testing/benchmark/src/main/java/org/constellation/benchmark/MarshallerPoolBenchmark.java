@@ -0,0 +1,85 @@
+/*
+ *    Constellation - An open source and standard compliant SDI
+ *    http://www.constellation-sdi.org
+ *
+ * Copyright 2019 Geomatys.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.constellation.benchmark;
+
+import java.io.InputStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.concurrent.TimeUnit;
+import javax.xml.bind.Marshaller;
+import javax.xml.bind.Unmarshaller;
+import org.apache.sis.xml.MarshallerPool;
+import org.constellation.util.Util;
+import org.geotoolkit.ebrim.xml.EBRIMMarshallerPool;
+import org.geotoolkit.nio.IOUtilities;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Unmarshalling and marshalling of an ISO 19115 metadata through the CSW marshaller pool,
+ * including the acquisition and the recycling of the (un)marshaller.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MarshallerPoolBenchmark {
+
+    private MarshallerPool pool;
+
+    private String xml;
+
+    private Object metadata;
+
+    @Setup
+    public void setUp() throws Exception {
+        pool = EBRIMMarshallerPool.getInstance();
+        try (InputStream in = Util.getResourceAsStream("org/constellation/xml/metadata/meta1.xml")) {
+            xml = IOUtilities.toString(in);
+        }
+        metadata = unmarshal();
+    }
+
+    @Benchmark
+    public Object unmarshal() throws Exception {
+        final Unmarshaller u = pool.acquireUnmarshaller();
+        final Object result = u.unmarshal(new StringReader(xml));
+        pool.recycle(u);
+        return result;
+    }
+
+    @Benchmark
+    public String marshal() throws Exception {
+        final StringWriter writer = new StringWriter();
+        final Marshaller m = pool.acquireMarshaller();
+        m.marshal(metadata, writer);
+        pool.recycle(m);
+        return writer.toString();
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ *    Constellation - An open source and standard compliant SDI
+ *    http://www.constellation-sdi.org
+ *
+ * Copyright 2019 Geomatys.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.constellation.benchmark;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import javax.xml.bind.Unmarshaller;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+import org.apache.sis.metadata.iso.DefaultMetadata;
+import org.apache.sis.metadata.iso.citation.DefaultCitation;
+import org.apache.sis.metadata.iso.extent.DefaultExtent;
+import org.apache.sis.metadata.iso.extent.DefaultGeographicBoundingBox;
+import org.apache.sis.metadata.iso.identification.DefaultDataIdentification;
+import org.apache.sis.util.SimpleInternationalString;
+import org.apache.sis.xml.MarshallerPool;
+import org.constellation.util.NodeUtilities;
+import org.geotoolkit.ebrim.xml.EBRIMMarshallerPool;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.w3c.dom.Node;
+import org.xml.sax.InputSource;
+
+/**
+ * Parsing and unmarshalling of an ISO 19139 record with a new factory per call and a string round trip
+ * (previous behavior), compared to the pooled parsers and the direct node unmarshalling of {@link NodeUtilities}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NodeUtilitiesBenchmark {
+
+    private static final int CORPUS_SIZE = 100;
+
+    private MarshallerPool pool;
+
+    private final List<String> corpus = new ArrayList<>(CORPUS_SIZE);
+
+    private int index;
+
+    @Setup
+    public void setUp() throws Exception {
+        pool = EBRIMMarshallerPool.getInstance();
+        for (int i = 0; i < CORPUS_SIZE; i++) {
+            corpus.add(NodeUtilities.getStringFromNode(NodeUtilities.getNodeFromObject(createMetadata(i), pool)));
+        }
+    }
+
+    private String next() {
+        index = (index + 1) % CORPUS_SIZE;
+        return corpus.get(index);
+    }
+
+    @Benchmark
+    public Object legacy() throws Exception {
+        final DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
+        dbf.setNamespaceAware(true);
+        final Node node = dbf.newDocumentBuilder().parse(new InputSource(new StringReader(next()))).getDocumentElement();
+
+        final Transformer transformer = TransformerFactory.newInstance().newTransformer();
+        transformer.setOutputProperty(OutputKeys.INDENT, "yes");
+        final StringWriter writer = new StringWriter();
+        transformer.transform(new DOMSource(node), new StreamResult(writer));
+
+        final Unmarshaller um = pool.acquireUnmarshaller();
+        final Object result = um.unmarshal(new StringReader(writer.toString().replaceAll("\n|\r", "")));
+        pool.recycle(um);
+        return result;
+    }
+
+    @Benchmark
+    public Object pooled() throws Exception {
+        return NodeUtilities.getMetadataFromNode(NodeUtilities.getNodeFromString(next()), pool);
+    }
+
+    private static DefaultMetadata createMetadata(final int i) {
+        final DefaultMetadata meta = new DefaultMetadata();
+        meta.setFileIdentifier("meta-" + i);
+        final DefaultDataIdentification ident = new DefaultDataIdentification();
+        ident.setCitation(new DefaultCitation("title " + i));
+        ident.setAbstract(new SimpleInternationalString("abstract of the metadata " + i));
+        final DefaultExtent extent = new DefaultExtent();
+        extent.setGeographicElements(Collections.singleton(new DefaultGeographicBoundingBox(-10, 10 + i % 50, -5, 5)));
+        ident.setExtents(Collections.singleton(extent));
+        meta.setIdentificationInfo(Collections.singleton(ident));
+        return meta;
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ *    Constellation - An open source and standard compliant SDI
+ *    http://www.constellation-sdi.org
+ *
+ * Copyright 2019 Geomatys.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.constellation.benchmark;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.constellation.api.CommonConstants;
+import org.constellation.store.observation.db.OM2ObservationFilterReader;
+import org.constellation.util.Util;
+import org.geotoolkit.internal.sql.DefaultDataSource;
+import org.geotoolkit.internal.sql.DerbySqlScriptRunner;
+import org.geotoolkit.nio.IOUtilities;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import static org.constellation.api.CommonConstants.OBSERVATION_QNAME;
+
+/**
+ * SOS GetResult on an embedded Derby OM2 database, the test sensor {@code urn:ogc:object:sensor:GEOM:3}
+ * being filled with generated measures.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OM2GetResultsBenchmark {
+
+    private static final String PROCEDURE = "urn:ogc:object:sensor:GEOM:3";
+
+    private static final List<String> PHENOMENON = Arrays.asList("urn:ogc:def:phenomenon:GEOM:depth");
+
+    private static final int OBSERVATIONS = 100;
+
+    /**
+     * Total number of generated measures, split in {@value #OBSERVATIONS} observations.
+     */
+    @Param({"1000", "100000"})
+    public int measures;
+
+    private DefaultDataSource source;
+
+    private OM2ObservationFilterReader reader;
+
+    @Setup
+    public void setUp() throws Exception {
+        source = new DefaultDataSource("jdbc:derby:memory:BenchmarkOM2-" + measures + ";create=true");
+        try (Connection con = source.getConnection()) {
+            final DerbySqlScriptRunner sr = new DerbySqlScriptRunner(con);
+            String sql = IOUtilities.toString(Util.getResourceAsStream("org/constellation/om2/structure_observations.sql"));
+            sql = sql.replace("$SCHEMA", "");
+            sr.run(sql);
+            sr.run(Util.getResourceAsStream("org/constellation/sql/sos-data-om2.sql"));
+            generate(con);
+        }
+
+        final Map<String, Object> properties = new HashMap<>();
+        properties.put(CommonConstants.PHENOMENON_ID_BASE, "urn:ogc:def:phenomenon:GEOM:");
+        properties.put(CommonConstants.OBSERVATION_TEMPLATE_ID_BASE, "urn:ogc:object:observation:template:GEOM:");
+        properties.put(CommonConstants.OBSERVATION_ID_BASE, "urn:ogc:object:observation:GEOM:");
+        properties.put(CommonConstants.SENSOR_ID_BASE, "urn:ogc:object:sensor:GEOM:");
+        reader = new OM2ObservationFilterReader(source, false, "", properties);
+    }
+
+    /**
+     * Add {@value #OBSERVATIONS} observations of the depth to the test sensor, with one measure per minute.
+     */
+    private void generate(final Connection con) throws Exception {
+        final int perObservation = Math.max(1, measures / OBSERVATIONS);
+        final long start = Timestamp.valueOf("2010-01-01 00:00:00").getTime();
+        con.setAutoCommit(false);
+        try (PreparedStatement obs = con.prepareStatement("INSERT INTO \"om\".\"observations\" VALUES (?, ?, ?, ?, ?, ?, ?)");
+             PreparedStatement mes = con.prepareStatement("INSERT INTO \"mesures\".\"mesure3\" VALUES (?, ?, ?, ?)")) {
+            for (int o = 0; o < OBSERVATIONS; o++) {
+                final int oid = 10000 + o;
+                final long begin = start + o * perObservation * 60000L;
+                obs.setString(1, "urn:ogc:object:observation:GEOM:" + oid);
+                obs.setInt(2, oid);
+                obs.setTimestamp(3, new Timestamp(begin));
+                obs.setTimestamp(4, new Timestamp(begin + (perObservation - 1) * 60000L));
+                obs.setString(5, PHENOMENON.get(0));
+                obs.setString(6, PROCEDURE);
+                obs.setString(7, "station-001");
+                obs.executeUpdate();
+                for (int m = 0; m < perObservation; m++) {
+                    mes.setInt(1, oid);
+                    mes.setInt(2, m + 1);
+                    mes.setTimestamp(3, new Timestamp(begin + m * 60000L));
+                    mes.setDouble(4, (m % 500) / 10.0);
+                    mes.addBatch();
+                }
+                mes.executeBatch();
+            }
+            con.commit();
+        } finally {
+            con.setAutoCommit(true);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        source.shutdown();
+    }
+
+    /**
+     * Same sequence as the SOS worker, on a new filter for each request.
+     */
+    @Benchmark
+    public String getResults() throws Exception {
+        final OM2ObservationFilterReader filter = new OM2ObservationFilterReader(reader);
+        filter.initFilterGetResult(PROCEDURE, OBSERVATION_QNAME);
+        filter.setObservedProperties(PHENOMENON);
+        return filter.getResults();
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ *    Constellation - An open source and standard compliant SDI
+ *    http://www.constellation-sdi.org
+ *
+ * Copyright 2019 Geomatys.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.constellation.benchmark;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.constellation.monitoring.RequestMonitor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Overhead of the {@link RequestMonitor} on a simulated GetMap request, declaring the same phases
+ * as the WMS worker and ten database queries. The cost of the request itself is constant,
+ * the difference between the disabled and enabled monitor is the overhead.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class RequestMonitorBenchmark {
+
+    private static final String[] PHASES = {"layers", "styles", "data", "render", "encoding"};
+
+    private static final List<String> LAYERS = Arrays.asList("roads", "rivers");
+
+    /**
+     * Simulated work of a database query and of the rest of a phase, in JMH tokens.
+     */
+    private static final long QUERY_WORK = 2000;
+    private static final long PHASE_WORK = 16000;
+
+    @Param({"false", "true"})
+    public boolean enabled;
+
+    private RequestMonitor monitor;
+
+    @Setup
+    public void setUp() {
+        monitor = new RequestMonitor(enabled, 2000, 1, 100);
+    }
+
+    @Benchmark
+    public void getMap() {
+        monitor.start("wms", "default");
+        monitor.setOperation("GetMap");
+        monitor.setLayers(LAYERS);
+        for (String name : PHASES) {
+            try (RequestMonitor.Phase phase = monitor.phase(name)) {
+                for (int q = 0; q < 2; q++) {
+                    try (RequestMonitor.Phase db = monitor.phase("db")) {
+                        Blackhole.consumeCPU(QUERY_WORK);
+                    }
+                }
+                Blackhole.consumeCPU(PHASE_WORK);
+            }
+        }
+        monitor.end();
+    }
+}
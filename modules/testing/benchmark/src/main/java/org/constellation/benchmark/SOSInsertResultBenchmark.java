@@ -0,0 +1,160 @@
+/*
+ *    Constellation - An open source and standard compliant SDI
+ *    http://www.constellation-sdi.org
+ *
+ * Copyright 2019 Geomatys.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.constellation.benchmark;
+
+import java.io.InputStream;
+import java.sql.Connection;
+import java.sql.Timestamp;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+import javax.xml.bind.JAXBElement;
+import javax.xml.bind.Unmarshaller;
+import org.constellation.business.IProviderBusiness;
+import org.constellation.business.IServiceBusiness;
+import org.constellation.dto.service.config.sos.SOSConfiguration;
+import org.constellation.sos.core.SOSworker;
+import org.constellation.util.Util;
+import org.geotoolkit.internal.sql.DefaultDataSource;
+import org.geotoolkit.internal.sql.DerbySqlScriptRunner;
+import org.geotoolkit.nio.IOUtilities;
+import org.geotoolkit.observation.xml.v200.OMObservationType;
+import org.geotoolkit.sos.xml.InsertResultResponse;
+import org.geotoolkit.sos.xml.SOSMarshallerPool;
+import org.geotoolkit.sos.xml.v200.InsertResultTemplateResponseType;
+import org.geotoolkit.sos.xml.v200.InsertResultTemplateType;
+import org.geotoolkit.sos.xml.v200.InsertResultType;
+import org.geotoolkit.storage.DataStoreFactory;
+import org.geotoolkit.storage.DataStores;
+import org.geotoolkit.swe.xml.v200.DataArrayType;
+import org.geotoolkit.swe.xml.v200.DataArrayPropertyType;
+import org.opengis.parameter.ParameterValueGroup;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Sustained SOS 2.0.0 InsertResult on an embedded Derby OM2 database, for the test sensor
+ * {@code urn:ogc:object:sensor:GEOM:3}. Each insertion adds a new observation, so the database
+ * grows during the run like with a telemetry gateway.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SOSInsertResultBenchmark {
+
+    /**
+     * Number of measures in each InsertResult request.
+     */
+    @Param({"10", "10000"})
+    public int blocks;
+
+    private DefaultDataSource source;
+
+    private SOSworker worker;
+
+    private InsertResultType request;
+
+    @Setup
+    public void setUp() throws Exception {
+        final String url = "jdbc:derby:memory:BenchmarkSOS-" + blocks + ";create=true";
+        source = new DefaultDataSource(url);
+        try (Connection con = source.getConnection()) {
+            final DerbySqlScriptRunner sr = new DerbySqlScriptRunner(con);
+            String sql = IOUtilities.toString(Util.getResourceAsStream("org/constellation/om2/structure_observations.sql"));
+            sql = sql.replace("$SCHEMA", "");
+            sr.run(sql);
+            sr.run(Util.getResourceAsStream("org/constellation/sql/sos-data-om2.sql"));
+        }
+
+        final DataStoreFactory factory = DataStores.getFactoryById("observationSOSDatabase");
+        final ParameterValueGroup dbConfig = factory.getOpenParameters().createValue();
+        dbConfig.parameter("sgbdtype").setValue("derby");
+        dbConfig.parameter("derbyurl").setValue(url);
+        dbConfig.parameter("phenomenon-id-base").setValue("urn:ogc:def:phenomenon:GEOM:");
+        dbConfig.parameter("observation-template-id-base").setValue("urn:ogc:object:observation:template:GEOM:");
+        dbConfig.parameter("observation-id-base").setValue("urn:ogc:object:observation:GEOM:");
+        dbConfig.parameter("sensor-id-base").setValue("urn:ogc:object:sensor:GEOM:");
+        final BenchmarkEnvironment env = BenchmarkEnvironment.get();
+        env.getBean(IProviderBusiness.class).create("omSrc-" + blocks, dbConfig);
+
+        final SOSConfiguration configuration = new SOSConfiguration();
+        configuration.setProfile("transactional");
+        configuration.getParameters().put("transactionSecurized", "false");
+        final String identifier = "insert-" + blocks;
+        final IServiceBusiness serviceBusiness = env.getBean(IServiceBusiness.class);
+        serviceBusiness.create("sos", identifier, configuration, null, null);
+        serviceBusiness.linkSOSAndProvider(identifier, "omSrc-" + blocks);
+        worker = new SOSworker(identifier);
+        worker.setServiceUrl("http://localhost/examind/WS/");
+
+        // register the result template of the test sensor
+        final Unmarshaller unmarshaller = SOSMarshallerPool.getInstance().acquireUnmarshaller();
+        final OMObservationType template;
+        try (InputStream in = Util.getResourceAsStream("org/constellation/benchmark/observationTemplate.xml")) {
+            template = (OMObservationType) ((JAXBElement) unmarshaller.unmarshal(in)).getValue();
+        }
+        SOSMarshallerPool.getInstance().recycle(unmarshaller);
+        final DataArrayType array = ((DataArrayPropertyType) template.getResult()).getDataArray();
+        template.setResult(null);
+        final InsertResultTemplateResponseType response = (InsertResultTemplateResponseType) worker.insertResultTemplate(
+                new InsertResultTemplateType("2.0.0", "offering-3", template, array.getElementType().getValue(), array.getEncoding()));
+
+        request = new InsertResultType("2.0.0", response.getAcceptedTemplate(), generate());
+    }
+
+    /**
+     * Generate the text encoded values of the request, with one measure per minute.
+     */
+    private String generate() {
+        final SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.S");
+        format.setTimeZone(TimeZone.getTimeZone("UTC"));
+        final long start = Timestamp.valueOf("2015-01-01 00:00:00").getTime();
+        final StringBuilder values = new StringBuilder();
+        for (int i = 0; i < blocks; i++) {
+            values.append(format.format(new Date(start + i * 60000L))).append(',').append((i % 500) / 10.0).append("@@");
+        }
+        return values.toString();
+    }
+
+    @TearDown
+    public void tearDown() {
+        worker.destroy();
+        BenchmarkEnvironment.close();
+        source.shutdown();
+    }
+
+    @Benchmark
+    public InsertResultResponse insertResult() throws Exception {
+        return worker.insertResult(request);
+    }
+}
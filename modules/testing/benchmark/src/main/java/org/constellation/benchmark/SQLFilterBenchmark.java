@@ -0,0 +1,192 @@
+/*
+ *    Constellation - An open source and standard compliant SDI
+ *    http://www.constellation-sdi.org
+ *
+ * Copyright 2019 Geomatys.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.constellation.benchmark;
+
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import javax.xml.bind.JAXBElement;
+import javax.xml.bind.Unmarshaller;
+import javax.xml.namespace.QName;
+import org.constellation.filter.SQLFilterParser;
+import org.constellation.filter.SQLQuery;
+import org.geotoolkit.csw.xml.v202.QueryConstraintType;
+import org.geotoolkit.internal.sql.DefaultDataSource;
+import org.geotoolkit.ogc.xml.FilterMarshallerPool;
+import org.geotoolkit.ogc.xml.v110.FilterType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Ebrim SQL queries built by {@link SQLFilterParser} on a generated catalogue in an embedded Derby database.
+ * The {@code legacy} benchmark executes the former output (self-joins, UNION and inlined literals), the
+ * {@code prepared} benchmark binds the values of the current output on a statement prepared once.
+ * The filter value changes at each invocation, like the successive requests of the clients.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SQLFilterBenchmark {
+
+    private static final String EBRIM = "Ebrim v2.5:ExtrinsicObject:";
+
+    private static final int VERSIONS = 50;
+
+    private static final String FILTER =
+            "<ogc:Filter xmlns:ogc=\"http://www.opengis.net/ogc\" xmlns:rim=\"urn:oasis:names:tc:ebxml-regrep:rim:xsd:2.5\">"
+          + "  <ogc:Or>"
+          + "    <ogc:And>"
+          + "      <ogc:PropertyIsEqualTo><ogc:PropertyName>rim:ExtrinsicObject/@mimeType</ogc:PropertyName><ogc:Literal>application/xml</ogc:Literal></ogc:PropertyIsEqualTo>"
+          + "      <ogc:PropertyIsEqualTo><ogc:PropertyName>rim:ExtrinsicObject/@minorVersion</ogc:PropertyName><ogc:Literal>0</ogc:Literal></ogc:PropertyIsEqualTo>"
+          + "    </ogc:And>"
+          + "    <ogc:PropertyIsEqualTo><ogc:PropertyName>rim:ExtrinsicObject/@status</ogc:PropertyName><ogc:Literal>Withdrawn</ogc:Literal></ogc:PropertyIsEqualTo>"
+          + "  </ogc:Or>"
+          + "</ogc:Filter>";
+
+    /**
+     * The former output of the parser for {@link #FILTER}, with the minor version to search.
+     */
+    private static final String LEGACY =
+            "(SELECT distinct \"identifier\" FROM \"Storage\".\"Records\"  , \"Storage\".\"TextValues\" v1 "
+          + "WHERE v1.\"path\" = '" + EBRIM + "status' AND v1.\"value\" ='Withdrawn'  AND v1.\"form\"=\"accessionNumber\" ) UNION "
+          + "(SELECT distinct \"identifier\" FROM \"Storage\".\"Records\"  , \"Storage\".\"TextValues\" v1 , \"Storage\".\"TextValues\" v2 "
+          + "WHERE v1.\"path\" = '" + EBRIM + "mimeType' AND v1.\"value\" ='application/xml'  AND v1.\"form\"=\"accessionNumber\" "
+          + " AND v2.\"path\" = '" + EBRIM + "minorVersion' AND v2.\"value\" ='%s'  AND v2.\"form\"=\"accessionNumber\" ) ";
+
+    /**
+     * Number of records in the catalogue.
+     */
+    @Param({"1000", "50000"})
+    public int records;
+
+    private DefaultDataSource source;
+
+    private Connection connection;
+
+    private PreparedStatement statement;
+
+    private List<Object> parameters;
+
+    private int versionIndex;
+
+    private int invocation;
+
+    @Setup
+    public void setUp() throws Exception {
+        source = new DefaultDataSource("jdbc:derby:memory:BenchmarkEbrim-" + records + ";create=true");
+        connection = source.getConnection();
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("CREATE SCHEMA \"Storage\"");
+            stmt.execute("CREATE TABLE \"Storage\".\"Records\" (\"accessionNumber\" INTEGER PRIMARY KEY, \"identifier\" VARCHAR(64), \"recordSet\" VARCHAR(64))");
+            stmt.execute("CREATE TABLE \"Storage\".\"TextValues\" (\"form\" INTEGER, \"path\" VARCHAR(128), \"value\" VARCHAR(128))");
+            stmt.execute("CREATE INDEX \"TextValues_path_value\" ON \"Storage\".\"TextValues\" (\"path\", \"value\")");
+            stmt.execute("CREATE INDEX \"TextValues_form\" ON \"Storage\".\"TextValues\" (\"form\")");
+        }
+        connection.setAutoCommit(false);
+        try (PreparedStatement record = connection.prepareStatement("INSERT INTO \"Storage\".\"Records\" VALUES (?, ?, 'EBRIM')");
+             PreparedStatement value  = connection.prepareStatement("INSERT INTO \"Storage\".\"TextValues\" VALUES (?, ?, ?)")) {
+            for (int i = 0; i < records; i++) {
+                record.setInt(1, i);
+                record.setString(2, "urn:uuid:record-" + i);
+                record.addBatch();
+                addValue(value, i, "mimeType", i % 3 == 0 ? "application/xml" : "text/plain");
+                addValue(value, i, "minorVersion", Integer.toString(i % VERSIONS));
+                addValue(value, i, "majorVersion", Integer.toString(i % 7));
+                addValue(value, i, "status", i % 100 == 0 ? "Withdrawn" : "Approved");
+            }
+            record.executeBatch();
+            value.executeBatch();
+        }
+        connection.commit();
+        connection.setAutoCommit(true);
+
+        final Unmarshaller unmarshaller = FilterMarshallerPool.getInstance().acquireUnmarshaller();
+        final FilterType filter = (FilterType) ((JAXBElement) unmarshaller.unmarshal(new StringReader(FILTER))).getValue();
+        FilterMarshallerPool.getInstance().recycle(unmarshaller);
+        final Map<String, String> prefixs = new HashMap<>();
+        prefixs.put("rim", "urn:oasis:names:tc:ebxml-regrep:rim:xsd:2.5");
+        final SQLQuery query = (SQLQuery) new SQLFilterParser().getQuery(new QueryConstraintType(filter, "1.1.0"), new HashMap<String, QName>(), prefixs, null);
+        parameters   = new ArrayList<>(query.getParameters());
+        versionIndex = parameters.indexOf(EBRIM + "minorVersion") + 1;
+        statement    = connection.prepareStatement(query.getQuery());
+    }
+
+    private static void addValue(final PreparedStatement value, final int form, final String path, final String v) throws SQLException {
+        value.setInt(1, form);
+        value.setString(2, EBRIM + path);
+        value.setString(3, v);
+        value.addBatch();
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        statement.close();
+        connection.close();
+        source.shutdown();
+    }
+
+    @Benchmark
+    public int legacy() throws SQLException {
+        final String version = Integer.toString(invocation++ % VERSIONS);
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery(String.format(LEGACY, version))) {
+            return count(rs);
+        }
+    }
+
+    @Benchmark
+    public int prepared() throws SQLException {
+        parameters.set(versionIndex, Integer.toString(invocation++ % VERSIONS));
+        for (int i = 0; i < parameters.size(); i++) {
+            statement.setObject(i + 1, parameters.get(i));
+        }
+        try (ResultSet rs = statement.executeQuery()) {
+            return count(rs);
+        }
+    }
+
+    private static int count(final ResultSet rs) throws SQLException {
+        int count = 0;
+        while (rs.next()) {
+            count++;
+        }
+        return count;
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ *    Constellation - An open source and standard compliant SDI
+ *    http://www.constellation-sdi.org
+ *
+ * Copyright 2019 Geomatys.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.constellation.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.apache.sis.internal.system.DefaultFactories;
+import org.constellation.business.IStyleBusiness;
+import org.geotoolkit.style.MutableStyle;
+import org.geotoolkit.style.MutableStyleFactory;
+import org.opengis.style.Style;
+import org.opengis.style.StyleFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import static org.geotoolkit.style.StyleConstants.DEFAULT_POLYGON_SYMBOLIZER;
+
+/**
+ * Style lookup in the configuration repositories, done for each layer of a GetMap request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StyleBusinessBenchmark {
+
+    /**
+     * Number of styles in the "sld" provider.
+     */
+    @Param({"10", "1000"})
+    public int styles;
+
+    private IStyleBusiness styleBusiness;
+
+    private String styleName;
+
+    @Setup
+    public void setUp() throws Exception {
+        styleBusiness = BenchmarkEnvironment.get().getBean(IStyleBusiness.class);
+        final MutableStyleFactory SF = (MutableStyleFactory) DefaultFactories.forBuildin(StyleFactory.class);
+        for (int i = 0; i < styles; i++) {
+            final String name = "benchmark-" + i;
+            if (!styleBusiness.existsStyle("sld", name)) {
+                final MutableStyle style = SF.style(DEFAULT_POLYGON_SYMBOLIZER);
+                style.setName(name);
+                styleBusiness.createStyle("sld", style);
+            }
+        }
+        styleName = "benchmark-" + (styles / 2);
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkEnvironment.close();
+    }
+
+    @Benchmark
+    public Style getStyle() throws Exception {
+        return styleBusiness.getStyle("sld", styleName);
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ *    Constellation - An open source and standard compliant SDI
+ *    http://www.constellation-sdi.org
+ *
+ * Copyright 2019 Geomatys.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.constellation.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import org.apache.sis.metadata.MetadataStandard;
+import org.apache.sis.metadata.iso.DefaultMetadata;
+import org.apache.sis.metadata.iso.citation.DefaultCitation;
+import org.apache.sis.metadata.iso.citation.DefaultCitationDate;
+import org.apache.sis.metadata.iso.identification.DefaultDataIdentification;
+import org.apache.sis.metadata.iso.identification.DefaultKeywords;
+import org.apache.sis.metadata.iso.maintenance.DefaultScope;
+import org.apache.sis.metadata.iso.quality.DefaultConformanceResult;
+import org.apache.sis.metadata.iso.quality.DefaultDataQuality;
+import org.apache.sis.metadata.iso.quality.DefaultDomainConsistency;
+import org.apache.sis.util.iso.SimpleInternationalString;
+import org.constellation.dto.metadata.RootObj;
+import org.constellation.json.metadata.TemplateReader;
+import org.constellation.json.metadata.TemplateWriter;
+import org.constellation.util.Util;
+import org.opengis.metadata.citation.DateType;
+import org.opengis.metadata.maintenance.ScopeCode;
+import org.opengis.util.InternationalString;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Conversion of a corpus of ISO 19115 metadata to the JSON editing template {@code profile_default_raster},
+ * and back. Each record has many keywords and quality reports, like the harvested records.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TemplateMetadataBenchmark {
+
+    private static final int RECORDS = 20;
+
+    /**
+     * Number of keywords and of quality reports in each record.
+     */
+    @Param({"10", "200"})
+    public int size;
+
+    private RootObj template;
+
+    private TemplateWriter writer;
+
+    private TemplateReader reader;
+
+    private final List<DefaultMetadata> records = new ArrayList<>();
+
+    private final List<RootObj> filled = new ArrayList<>();
+
+    @Setup
+    public void setUp() throws Exception {
+        try (InputStream in = Util.getResourceAsStream("org/constellation/json/metadata/profile_default_raster.json")) {
+            template = new ObjectMapper().readValue(in, RootObj.class);
+        }
+        writer = new TemplateWriter(MetadataStandard.ISO_19115);
+        reader = new TemplateReader(MetadataStandard.ISO_19115);
+        for (int i = 0; i < RECORDS; i++) {
+            records.add(generate(i));
+        }
+        filled.addAll(write());
+    }
+
+    private DefaultMetadata generate(final int id) {
+        final DefaultMetadata metadata = new DefaultMetadata();
+        metadata.setFileIdentifier("metadata-" + id);
+        metadata.setLanguage(Locale.FRENCH);
+        metadata.setHierarchyLevels(Arrays.asList(ScopeCode.DATASET));
+
+        final List<DefaultKeywords> keywords = new ArrayList<>();
+        final List<DefaultDomainConsistency> reports = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            final DefaultKeywords kw = new DefaultKeywords();
+            kw.setKeywords(Arrays.<InternationalString>asList(new SimpleInternationalString("keyword-" + i),
+                                                             new SimpleInternationalString("theme-" + i)));
+            keywords.add(kw);
+
+            final DefaultCitation cit = new DefaultCitation("specification " + i);
+            cit.setDates(Arrays.asList(new DefaultCitationDate(new Date(11145603000L + i), DateType.CREATION)));
+            final DefaultDomainConsistency report = new DefaultDomainConsistency();
+            report.setResults(Arrays.asList(new DefaultConformanceResult(cit, "explanation " + i, i % 2 == 0)));
+            reports.add(report);
+        }
+        final DefaultDataIdentification dataIdent = new DefaultDataIdentification();
+        dataIdent.setDescriptiveKeywords(keywords);
+        metadata.setIdentificationInfo(Arrays.asList(dataIdent));
+
+        final DefaultDataQuality quality = new DefaultDataQuality(new DefaultScope(ScopeCode.DATASET));
+        quality.setReports(reports);
+        metadata.setDataQualityInfo(Arrays.asList(quality));
+        return metadata;
+    }
+
+    @Benchmark
+    public List<RootObj> write() throws Exception {
+        final List<RootObj> results = new ArrayList<>(records.size());
+        for (DefaultMetadata metadata : records) {
+            results.add(writer.writeTemplate(template, metadata, false, false));
+        }
+        return results;
+    }
+
+    @Benchmark
+    public List<Object> read() throws Exception {
+        final List<Object> results = new ArrayList<>(filled.size());
+        for (RootObj root : filled) {
+            results.add(reader.readTemplate(root, new DefaultMetadata()));
+        }
+        return results;
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ *    Constellation - An open source and standard compliant SDI
+ *    http://www.constellation-sdi.org
+ *
+ * Copyright 2019 Geomatys.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.constellation.benchmark;
+
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import javax.xml.namespace.QName;
+import org.constellation.wfs.core.DefaultWFSWorker;
+import org.constellation.wfs.ws.rs.FeatureSetWrapper;
+import org.geotoolkit.feature.xml.jaxp.JAXPStreamFeatureWriter;
+import org.geotoolkit.wfs.xml.ResultTypeType;
+import org.geotoolkit.wfs.xml.v110.GetFeatureType;
+import org.geotoolkit.wfs.xml.v110.QueryType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * WFS 1.1.0 GetFeature on the test shapefiles, including the GML 3.1.1 encoding of the response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WFSGetFeatureBenchmark {
+
+    private static final String[] LAYERS = {"BasicPolygons", "RoadSegments", "Streams"};
+
+    @Param({"BasicPolygons", "RoadSegments", "Streams"})
+    public String typeName;
+
+    private DefaultWFSWorker worker;
+
+    private GetFeatureType request;
+
+    private JAXPStreamFeatureWriter featureWriter;
+
+    @Setup
+    public void setUp() throws Exception {
+        BenchmarkEnvironment.get().createShapefileService("wfs", "default", LAYERS);
+        worker = new DefaultWFSWorker("default");
+        worker.setServiceUrl("http://localhost/examind/WS/");
+
+        final QueryType query = new QueryType(null, Arrays.asList(new QName(BenchmarkEnvironment.GML_NAMESPACE, typeName)), null);
+        request = new GetFeatureType("WFS", "1.1.0", null, Integer.MAX_VALUE, Arrays.asList(query),
+                ResultTypeType.RESULTS, "text/gml; subtype=\"gml/3.1.1\"");
+        featureWriter = new JAXPStreamFeatureWriter();
+    }
+
+    @TearDown
+    public void tearDown() {
+        worker.destroy();
+        BenchmarkEnvironment.close();
+    }
+
+    @Benchmark
+    public String getFeature() throws Exception {
+        final FeatureSetWrapper wrapper = (FeatureSetWrapper) worker.getFeature(request);
+        final StringWriter writer = new StringWriter();
+        featureWriter.write(wrapper.getFeatureSet().get(0), writer);
+        return writer.toString();
+    }
+}
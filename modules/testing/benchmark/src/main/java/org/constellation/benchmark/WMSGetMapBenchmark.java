@@ -0,0 +1,122 @@
+/*
+ *    Constellation - An open source and standard compliant SDI
+ *    http://www.constellation-sdi.org
+ *
+ * Copyright 2019 Geomatys.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.constellation.benchmark;
+
+import java.awt.Dimension;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.sis.geometry.GeneralEnvelope;
+import org.apache.sis.referencing.CommonCRS;
+import org.apache.sis.util.Version;
+import org.constellation.business.IServiceBusiness;
+import org.constellation.map.core.WMSWorker;
+import org.constellation.portrayal.CstlPortrayalService;
+import org.constellation.portrayal.PortrayalResponse;
+import org.constellation.ws.IWSEngine;
+import org.geotoolkit.display2d.service.DefaultPortrayalService;
+import org.geotoolkit.display2d.service.OutputDef;
+import org.geotoolkit.util.NamesExt;
+import org.geotoolkit.wms.xml.GetMap;
+import org.opengis.util.GenericName;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * WMS GetMap on the test shapefiles: request parsing, layer and style resolution, rendering and PNG encoding.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WMSGetMapBenchmark {
+
+    private static final String[] LAYERS = {"BasicPolygons", "Forests", "Lakes", "Streams", "RoadSegments", "Bridges"};
+
+    /**
+     * Number of layers drawn on the map.
+     */
+    @Param({"1", "6"})
+    public int layers;
+
+    @Param({"256", "1024"})
+    public int size;
+
+    private WMSWorker worker;
+
+    private GetMap request;
+
+    @Setup
+    public void setUp() throws Exception {
+        final BenchmarkEnvironment env = BenchmarkEnvironment.get();
+        final Integer id = env.createShapefileService("wms", "default", LAYERS);
+        env.getBean(IServiceBusiness.class).start(id);
+        worker = (WMSWorker) env.getBean(IWSEngine.class).getInstance("WMS", "default");
+
+        final List<GenericName> names = new ArrayList<>();
+        final List<String> styles = new ArrayList<>();
+        for (int i = 0; i < layers; i++) {
+            names.add(NamesExt.create(BenchmarkEnvironment.GML_NAMESPACE, LAYERS[i]));
+            styles.add("");
+        }
+        final GeneralEnvelope envelope = new GeneralEnvelope(CommonCRS.defaultGeographic());
+        envelope.setRange(0, -0.0025, 0.0025);
+        envelope.setRange(1, -0.0025, 0.0025);
+        request = new GetMap(envelope, new Version("1.3.0"), "image/png", names, styles, null, null,
+                Collections.emptyList(), new Dimension(size, size), null, true, 0, null, Collections.emptyMap());
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkEnvironment.close();
+    }
+
+    /**
+     * Same work as the portrayal message converter, the image being written in memory.
+     */
+    @Benchmark
+    public byte[] getMap() throws Exception {
+        final PortrayalResponse response = worker.getMap(request);
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final OutputDef output = response.getOutputDef() != null ? response.getOutputDef() : new OutputDef("image/png", out);
+        output.setOutput(out);
+        if (response.getBuffer() != null) {
+            return response.getBuffer();
+        } else if (response.getImage() != null) {
+            DefaultPortrayalService.writeImage(response.getImage(), output);
+        } else {
+            CstlPortrayalService.getInstance().portray(response.getSceneDef(), response.getViewDef(), response.getCanvasDef(), output);
+        }
+        return out.toByteArray();
+    }
+}
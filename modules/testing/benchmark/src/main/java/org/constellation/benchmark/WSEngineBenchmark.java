@@ -0,0 +1,162 @@
+/*
+ *    Constellation - An open source and standard compliant SDI
+ *    http://www.constellation-sdi.org
+ *
+ * Copyright 2019 Geomatys.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.constellation.benchmark;
+
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.constellation.admin.WSEngine;
+import org.constellation.ws.Worker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Worker dispatch throughput of the previous synchronized registry and of {@link WSEngine},
+ * with many request threads and a service being restarted in loop.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(32)
+@Fork(1)
+public class WSEngineBenchmark {
+
+    private static final String[] SPECIFICATIONS = {"wms", "wfs", "csw", "sos"};
+
+    private static final int SERVICES = 20;
+
+    /**
+     * Simulated duration of a worker destruction, in milliseconds.
+     */
+    private static final long DESTROY_TIME = 50;
+
+    private SynchronizedEngine legacy;
+
+    private WSEngine engine;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private Thread restarter;
+
+    @Setup
+    public void setUp() {
+        legacy = new SynchronizedEngine();
+        engine = new WSEngine();
+        for (String spec : SPECIFICATIONS) {
+            for (int i = 0; i < SERVICES; i++) {
+                legacy.addServiceInstance(spec, "service" + i, createWorker());
+                engine.addServiceInstance(spec, "service" + i, createWorker());
+            }
+        }
+        // a service restarted in loop, as done by the administration API
+        running.set(true);
+        restarter = new Thread(() -> {
+            while (running.get()) {
+                legacy.addServiceInstance("wms", "service0", createWorker());
+                engine.addServiceInstance("wms", "service0", createWorker());
+            }
+        });
+        restarter.start();
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        running.set(false);
+        restarter.join();
+    }
+
+    /**
+     * Index of the next service requested by a thread.
+     */
+    @State(Scope.Thread)
+    public static class Request {
+        int index;
+
+        String specification() {
+            return SPECIFICATIONS[index % SPECIFICATIONS.length];
+        }
+
+        String service() {
+            return "service" + (index++ % SERVICES);
+        }
+    }
+
+    @Benchmark
+    public Worker synchronizedDispatch(final Request request) {
+        return legacy.getInstance(request.specification(), request.service());
+    }
+
+    @Benchmark
+    public Worker concurrentDispatch(final Request request) {
+        return engine.getInstance(request.specification(), request.service());
+    }
+
+    /**
+     * Build a worker whose destruction takes {@link #DESTROY_TIME} milliseconds.
+     */
+    private static Worker createWorker() {
+        return (Worker) Proxy.newProxyInstance(WSEngineBenchmark.class.getClassLoader(), new Class[]{Worker.class}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "destroy":   Thread.sleep(DESTROY_TIME); return null;
+                case "isStarted": return true;
+                case "hashCode":  return System.identityHashCode(proxy);
+                case "equals":    return proxy == args[0];
+                default: return null;
+            }
+        });
+    }
+
+    /**
+     * The previous implementation of the registry, every access synchronized on the engine.
+     */
+    private static class SynchronizedEngine {
+
+        private final Map<String, Map<String, Worker>> workers = new HashMap<>();
+
+        public synchronized Worker getInstance(final String specification, final String serviceID) {
+            final Map<String, Worker> workersMap = workers.get(specification.toLowerCase());
+            if (workersMap != null) {
+                return workersMap.get(serviceID);
+            }
+            return null;
+        }
+
+        public synchronized void addServiceInstance(final String specification, final String serviceID, final Worker instance) {
+            final Map<String, Worker> workersMap = workers.computeIfAbsent(specification.toLowerCase(), k -> new HashMap<>());
+            final Worker oldWorker = workersMap.put(serviceID, instance);
+            if (oldWorker != null) {
+                oldWorker.destroy();
+            }
+        }
+    }
+}
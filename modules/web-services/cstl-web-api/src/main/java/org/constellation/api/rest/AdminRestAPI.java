@@ -29,6 +29,7 @@ import java.util.logging.Level;
 import javax.inject.Inject;
 import org.apache.commons.lang3.StringUtils;
 import org.constellation.business.IConfigurationBusiness;
+import org.constellation.monitoring.RequestMonitor;
 import org.constellation.repository.PropertyRepository;
 import org.constellation.dto.AcknowlegementType;
 import org.constellation.dto.SimpleValue;
@@ -160,6 +161,35 @@ public class AdminRestAPI extends AbstractRestAPI {
         return new ResponseEntity(NO_CONTENT);
     }
 
+    /**
+     * Get the durations of the service requests, by service, operation, layer and phase.
+     *
+     * @return the request statistics, in milliseconds.
+     */
+    @RequestMapping(value = "admin/metrics/requests", method = GET, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity getRequestMetrics() {
+        return new ResponseEntity(RequestMonitor.getInstance().getStatistics(), OK);
+    }
+
+    /**
+     * Get the traces of the last requests slower than the configured threshold.
+     *
+     * @return the slow requests, the most recent first.
+     */
+    @RequestMapping(value = "admin/metrics/slowrequests", method = GET, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity getSlowRequests() {
+        return new ResponseEntity(RequestMonitor.getInstance().getSlowRequests(), OK);
+    }
+
+    /**
+     * Reset the request statistics and the slow request traces.
+     */
+    @RequestMapping(value = "admin/metrics/requests", method = DELETE)
+    public ResponseEntity resetRequestMetrics() {
+        RequestMonitor.getInstance().reset();
+        return new ResponseEntity(NO_CONTENT);
+    }
+
     @RequestMapping(value = "admin/loggers", method = GET, produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity getLoggers() {
         final LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
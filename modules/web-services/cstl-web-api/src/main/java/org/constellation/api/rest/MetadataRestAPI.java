@@ -64,6 +64,7 @@ import org.constellation.dto.Sort;
 import org.constellation.dto.metadata.GroupStatBrief;
 import org.constellation.dto.metadata.MetadataBrief;
 import org.constellation.dto.metadata.MetadataLightBrief;
+import org.constellation.dto.metadata.MetadataStatistics;
 import org.constellation.dto.metadata.OwnerStatBrief;
 import org.constellation.dto.metadata.Profile;
 import org.constellation.dto.metadata.RootObj;
@@ -381,23 +382,21 @@ public class MetadataRestAPI extends AbstractRestAPI{
             }
         }
 
-        final Map<String,Integer> general = metadataBusiness.getStats(filterMap);
+        // all the counts are computed in one query
+        final MetadataStatistics stats = metadataBusiness.getStatistics(filterMap);
+        final Map<String,Integer> general = stats.getGeneral();
 
         //Get profiles distribution counts
         final List<Profile> profiles = new ArrayList<>();
-        final Map<String,Integer> profilesMap = metadataBusiness.getProfilesCount(filterMap);
-        if(profilesMap!=null){
-            for(final Map.Entry<String,Integer> entry : profilesMap.entrySet()){
-                profiles.add(new Profile(entry.getKey(),entry.getValue()));
-            }
+        for(final Map.Entry<String,Integer> entry : stats.getProfiles().entrySet()){
+            profiles.add(new Profile(entry.getKey(),entry.getValue()));
         }
         map.put("repartitionProfiles",profiles);
 
         //Get completion counts for metadata in 10 categories (10%, 20%, ... 100%)
-        final int[] completionArray = metadataBusiness.countInCompletionRange(filterMap);
-        map.put("completionPercents",completionArray);
+        map.put("completionPercents",stats.getCompletion());
 
-        final List<OwnerStatBrief> contributorsStatList = metadataBusiness.getOwnerStatBriefs(new HashMap<>(filterMap));
+        final List<OwnerStatBrief> contributorsStatList = new ArrayList<>(stats.getOwners().values());
         map.put("contributorsStatList",contributorsStatList);
 
         final List<GroupStatBrief> groupsStatList = metadataBusiness.getGroupStatBriefs(new HashMap<>(filterMap));
@@ -228,7 +228,8 @@ public class SensorRestAPI extends AbstractRestAPI {
         try {
             final Sensor sensor = sensorBusiness.getSensor(id);
             if (sensor != null) {
-                final Object sml = sensorBusiness.getSensorMetadata(id);
+                // the template modifies the object, the one returned by getSensorMetadata is shared by the sensor readers.
+                final Object sml = sensorBusiness.getSensorMetadataCopy(id);
                 if (sml != null) {
                     final Template template = templateResolver.getByName(sensor.getProfile());
                     template.read(metadataValues,sml,false);
@@ -18,6 +18,7 @@
  */
 package org.constellation.services.logger;
 
+import org.constellation.monitoring.RequestMonitor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
@@ -77,6 +78,7 @@ public class MDCFilter implements Filter {
     /**
      * Put ogc service type (wms, wmts ...) and service id in {@link MDC}. <br>
      * This information can be used afterward in logger configuration.
+     * The request is also traced by the {@link RequestMonitor}, including the response writing.
      */
     @Override
     public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain) throws IOException,
@@ -112,9 +114,11 @@ public class MDCFilter implements Filter {
 
                         MDC.put(ogcServiceLogKey, log);
                         MDC.put(servicePathKey, path);
+                        RequestMonitor.getInstance().start(serviceType, serviceName);
                         chain.doFilter(request, response);
                         return;
                     } finally {
+                        RequestMonitor.getInstance().end();
                         MDC.remove(OGC);
                         MDC.remove(ogcServiceLogKey);
 
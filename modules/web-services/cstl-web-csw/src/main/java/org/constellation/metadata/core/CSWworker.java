@@ -191,7 +191,7 @@ public class CSWworker extends AbstractWorker implements Refreshable {
     /**
      * A Database reader.
      */
-    private MetadataStore mdStore;
+    private MetadataStoreWrapper mdStore;
 
     /**
      * A index searcher to make quick search on the metadatas.
@@ -816,7 +816,7 @@ public class CSWworker extends AbstractWorker implements Refreshable {
            LOGGER.log(Level.INFO, "ebrim SQL query obtained:{0}", sqlQuery);
            try {
             // we try to execute the query
-            results = securityFilter.filterResults(userLogin, mdStore.executeEbrimSQLQuery(sqlQuery.getQuery()));
+            results = securityFilter.filterResults(userLogin, mdStore.executeEbrimSQLQuery(sqlQuery.getQuery(), sqlQuery.getParameters()));
            } catch (MetadataIoException ex) {
                CodeList execptionCode = ex.getExceptionCode();
                if (execptionCode == null) {
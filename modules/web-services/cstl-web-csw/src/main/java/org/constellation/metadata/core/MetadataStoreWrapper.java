@@ -182,6 +182,10 @@ public class MetadataStoreWrapper extends AbstractCstlMetadataStore {
         return wrapped.executeEbrimSQLQuery(sqlQuery);
     }
 
+    public String[] executeEbrimSQLQuery(String sqlQuery, List<Object> parameters) throws MetadataIoException {
+        return getReader().executeEbrimSQLQuery(sqlQuery, parameters);
+    }
+
     @Override
     public List<DomainValues> getFieldDomainofValues(String propertyNames) throws MetadataIoException {
         // we must get values from each identifiers in case of none published / hidden metadata
@@ -26,6 +26,7 @@ import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import org.apache.sis.util.logging.Logging;
+import org.constellation.monitoring.RequestMonitor;
 import org.constellation.portrayal.CstlPortrayalService;
 import org.constellation.portrayal.PortrayalResponse;
 import org.geotoolkit.display.PortrayalException;
@@ -75,6 +76,15 @@ public class PortrayalMessageConverter implements HttpMessageConverter<Portrayal
 
     @Override
     public void write(PortrayalResponse r, MediaType contentType, HttpOutputMessage outputMessage) throws IOException, HttpMessageNotWritableException {
+        if (r.getBuffer() != null && r.getImage() == null && r.getSceneDef() == null) {
+            // already encoded response (cached image)
+            try {
+                outputMessage.getBody().write(r.getBuffer());
+            } catch (IOException ex) {
+                LOGGER.log(Level.WARNING, "Error while Writing portrayal response:{0}", ex.getMessage());
+            }
+            return;
+        }
         try {
             final ByteArrayOutputStream out = new ByteArrayOutputStream();
 
@@ -93,7 +103,9 @@ public class PortrayalMessageConverter implements HttpMessageConverter<Portrayal
 
             BufferedImage img = r.getImage();
             if(img != null){
-                DefaultPortrayalService.writeImage(img, outdef);
+                try (RequestMonitor.Phase phase = RequestMonitor.getInstance().phase("encoding")) {
+                    DefaultPortrayalService.writeImage(img, outdef);
+                }
             } else {
                 final CanvasDef cdef = r.getCanvasDef();
                 final SceneDef sdef = r.getSceneDef();
@@ -101,7 +113,7 @@ public class PortrayalMessageConverter implements HttpMessageConverter<Portrayal
 
                 if(LOGGER.isLoggable(Level.FINE)){
                     final long before = System.nanoTime();
-                    try {
+                    try (RequestMonitor.Phase phase = RequestMonitor.getInstance().phase("render")) {
                         CstlPortrayalService.getInstance().portray(sdef, vdef, cdef, outdef);
                     } catch (PortrayalException ex) {
                         //should not happen normally since we asked to never fail.
@@ -111,7 +123,7 @@ public class PortrayalMessageConverter implements HttpMessageConverter<Portrayal
                     LOGGER.log(Level.FINE, "Portraying+Response ({0},Compression:{1}) time = {2} ms",
                             new Object[]{outdef.getMime(),outdef.getCompression(),Math.round( (after - before) / 1000000d)});
                 }else{
-                    try {
+                    try (RequestMonitor.Phase phase = RequestMonitor.getInstance().phase("render")) {
                         CstlPortrayalService.getInstance().portray(sdef, vdef, cdef, outdef);
                     } catch (PortrayalException ex) {
                         //should not happen normally since we asked to never fail.
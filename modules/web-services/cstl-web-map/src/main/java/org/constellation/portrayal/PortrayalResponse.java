@@ -59,6 +59,18 @@ public final class PortrayalResponse {
         this.image = image;
     }
 
+    /**
+     * Response already encoded, written as is.
+     */
+    public PortrayalResponse(byte[] buffer) {
+        this.canvasDef = null;
+        this.sceneDef = null;
+        this.viewDef = null;
+        this.outputDef = null;
+        this.image = null;
+        this.buffer = buffer;
+    }
+
     public void prepareNow() throws PortrayalException{
         image = CstlPortrayalService.getInstance().portray(sceneDef, viewDef, canvasDef);
     }
@@ -157,6 +157,7 @@ public abstract class LayerWorker extends AbstractWorker {
             protected ClusterMessage process(ClusterMessage event) throws Exception, MessageException, CstlServiceException, ConfigurationException {
                 refreshUpdateSequence();
                 clearCapabilitiesCache();
+                clearLayerCaches();
                 return null;
             }
 
@@ -533,6 +533,11 @@ public abstract class AbstractWorker implements Worker {
         }
     }
 
+    @Override
+    public void clearLayerCaches() {
+        // no layer cache by default
+    }
+
     @Override
     public void destroy() {
         clearCapabilitiesCache();
@@ -27,6 +27,7 @@ import org.constellation.api.ServiceDef;
 import org.constellation.api.ServiceDef.Specification;
 import org.constellation.admin.SpringHelper;
 import org.constellation.generic.database.GenericDatabaseMarshallerPool;
+import org.constellation.monitoring.RequestMonitor;
 import org.constellation.security.IncorrectCredentialsException;
 import org.constellation.security.SecurityManagerHolder;
 import org.constellation.security.UnknownAccountException;
@@ -181,6 +182,7 @@ public abstract class OGCWebService<W extends Worker> extends AbstractWebService
             if (worker.isPrintRequestParameter()) {
                 logParameters();
             }
+            RequestMonitor.getInstance().setOperation(getOperationName(objectRequest));
             return treatIncomingRequest(objectRequest, worker);
 
         // unbounded URL
@@ -190,6 +192,19 @@ public abstract class OGCWebService<W extends Worker> extends AbstractWebService
         }
     }
 
+    /**
+     * Return the operation name of a request, used by the request metrics.
+     *
+     * @param objectRequest the unmarshalled XML request, or {@code null} for a KVP request.
+     */
+    private String getOperationName(final Object objectRequest) {
+        if (objectRequest == null) {
+            return getSafeParameter("request");
+        }
+        final String name = objectRequest.getClass().getSimpleName();
+        return name.endsWith("Type") ? name.substring(0, name.length() - 4) : name;
+    }
+
     protected W getWorker(String serviceID) {
         if (serviceID != null && wsengine.serviceInstanceExist(serviceName, serviceID)) {
             W worker = (W) wsengine.getInstance(serviceName, serviceID);
@@ -301,9 +316,14 @@ public abstract class OGCWebService<W extends Worker> extends AbstractWebService
      * - if the version number is wrong.
      * - if the user have send a wrong request parameter
      *
+     * The request of an unsupported operation is recorded by the request metrics under an unknown operation.
+     *
      *  @param ex The exception to log
      */
     protected void logException(final CstlServiceException ex) {
+        if (ex.getExceptionCode().equals(OPERATION_NOT_SUPPORTED) || ex.getExceptionCode().equals(org.constellation.ws.ExceptionCode.OPERATION_NOT_SUPPORTED)) {
+            RequestMonitor.getInstance().clearOperation();
+        }
         if (!ex.getExceptionCode().equals(MISSING_PARAMETER_VALUE)    && !ex.getExceptionCode().equals(org.constellation.ws.ExceptionCode.MISSING_PARAMETER_VALUE) &&
             !ex.getExceptionCode().equals(VERSION_NEGOTIATION_FAILED) && !ex.getExceptionCode().equals(org.constellation.ws.ExceptionCode.VERSION_NEGOTIATION_FAILED) &&
             !ex.getExceptionCode().equals(INVALID_PARAMETER_VALUE)    && !ex.getExceptionCode().equals(org.constellation.ws.ExceptionCode.INVALID_PARAMETER_VALUE) &&
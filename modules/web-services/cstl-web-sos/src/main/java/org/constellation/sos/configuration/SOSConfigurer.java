@@ -36,6 +36,8 @@ import java.util.logging.Level;
 import javax.xml.bind.JAXBException;
 import org.apache.sis.storage.DataStoreException;
 import org.constellation.api.CommonConstants;
+import org.constellation.business.ClusterMessage;
+import org.constellation.business.IClusterBusiness;
 import org.constellation.business.ISensorBusiness;
 import org.constellation.dto.AcknowlegementType;
 import org.constellation.exception.ConfigurationException;
@@ -73,6 +75,12 @@ import org.opengis.temporal.TemporalGeometricPrimitive;
 import org.opengis.util.FactoryException;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import static org.constellation.business.ClusterMessageConstant.KEY_ACTION;
+import static org.constellation.business.ClusterMessageConstant.KEY_IDENTIFIER;
+import static org.constellation.business.ClusterMessageConstant.SRV_KEY_TYPE;
+import static org.constellation.business.ClusterMessageConstant.SRV_MESSAGE_TYPE_ID;
+import static org.constellation.business.ClusterMessageConstant.SRV_VALUE_ACTION_CLEAR_CACHE;
+
 /**
  * {@link OGCConfigurer} implementation for SOS service.
  *
@@ -87,6 +95,9 @@ public class SOSConfigurer extends OGCConfigurer implements ISOSConfigurer {
     @Autowired
     private ISensorBusiness sensorBusiness;
 
+    @Autowired
+    private IClusterBusiness clusterBusiness;
+
     @Override
     public Instance getInstance(final Integer id) throws ConfigurationException {
         final Instance instance = super.getInstance(id);
@@ -162,12 +173,15 @@ public class SOSConfigurer extends OGCConfigurer implements ISOSConfigurer {
             if (tree != null && tree.getParent() != null) {
                 final String parentID = tree.getParent().getIdentifier();
                 if (!"root".equals(parentID)) {
-                    final AbstractSensorML sml = (AbstractSensorML) sensorBusiness.getSensorMetadata(parentID);
-                    SOSUtils.removeComponent(sml, sensorID);
-                    sensorBusiness.updateSensorMetadata(parentID, sml);
+                    // the sensor readers share their cached objects, we modify a copy.
+                    final AbstractSensorML sml = (AbstractSensorML) sensorBusiness.getSensorMetadataCopy(parentID);
+                    if (sml != null) {
+                        SOSUtils.removeComponent(sml, sensorID);
+                        sensorBusiness.updateSensorMetadata(parentID, sml);
+                    }
                 }
             }
-
+            clearServiceCache(id);
             return new AcknowlegementType("Success", "The specified sensor have been removed in the SOS");
         } catch (DataStoreException ex) {
             throw new ConfigurationException(ex);
@@ -187,6 +201,7 @@ public class SOSConfigurer extends OGCConfigurer implements ISOSConfigurer {
                     return new AcknowlegementType("Error", "Unable to remove the sensor from SML datasource:" + sensor.getIdentifier());
                 }
             }
+            clearServiceCache(id);
             return new AcknowlegementType("Success", "The specified sensor have been removed in the SOS");
         } catch (DataStoreException ex) {
             throw new ConfigurationException(ex);
@@ -258,6 +273,7 @@ public class SOSConfigurer extends OGCConfigurer implements ISOSConfigurer {
             final Object objectFile = SOSUtils.unmarshallObservationFile(observationFile);
             if (objectFile instanceof AbstractObservation) {
                 writer.writeObservation((AbstractObservation)objectFile);
+                clearServiceCache(id);
             } else if (objectFile instanceof ObservationCollection) {
                 importObservations(id, (ObservationCollection)objectFile);
             } else {
@@ -274,6 +290,7 @@ public class SOSConfigurer extends OGCConfigurer implements ISOSConfigurer {
         try {
             final long start = System.currentTimeMillis();
             writer.writeObservations(collection.getMember());
+            clearServiceCache(id);
             LOGGER.log(Level.INFO, "observations imported in :{0} ms", (System.currentTimeMillis() - start));
             return new AcknowlegementType("Success", "The specified observations have been imported in the SOS");
         } catch (DataStoreException ex) {
@@ -287,6 +304,7 @@ public class SOSConfigurer extends OGCConfigurer implements ISOSConfigurer {
             final long start = System.currentTimeMillis();
             writer.writePhenomenons(phenomenons);
             writer.writeObservations(observations);
+            clearServiceCache(id);
             LOGGER.log(Level.INFO, "observations imported in :{0} ms", (System.currentTimeMillis() - start));
             return new AcknowlegementType("Success", "The specified observations have been imported in the SOS");
         } catch (DataStoreException ex) {
@@ -298,6 +316,7 @@ public class SOSConfigurer extends OGCConfigurer implements ISOSConfigurer {
         final ObservationWriter writer = getObservationWriter(id);
         try {
             writer.removeObservation(observationID);
+            clearServiceCache(id);
             return new AcknowlegementType("Success", "The specified observation have been removed from the SOS");
         } catch (DataStoreException ex) {
             throw new ConfigurationException(ex);
@@ -308,6 +327,7 @@ public class SOSConfigurer extends OGCConfigurer implements ISOSConfigurer {
         final ObservationWriter writer = getObservationWriter(id);
         try {
             writer.removeObservationForProcedure(procedureID);
+            clearServiceCache(id);
             return new AcknowlegementType("Success", "The specified observations have been removed from the SOS");
         } catch (DataStoreException ex) {
             throw new ConfigurationException(ex);
@@ -327,6 +347,7 @@ public class SOSConfigurer extends OGCConfigurer implements ISOSConfigurer {
         final ObservationWriter writer = getObservationWriter(id);
         try {
             writer.writeProcedure(sensorID, location, parent, type);
+            clearServiceCache(id);
             return new AcknowlegementType("Success", "The sensor have been recorded in the SOS");
         } catch (DataStoreException ex) {
             throw new ConfigurationException(ex);
@@ -337,6 +358,7 @@ public class SOSConfigurer extends OGCConfigurer implements ISOSConfigurer {
         final ObservationWriter writer = getObservationWriter(id);
         try {
             writer.recordProcedureLocation(sensorID, location);
+            clearServiceCache(id);
             return new AcknowlegementType("Success", "The sensor location have been updated in the SOS");
         } catch (DataStoreException ex) {
             throw new ConfigurationException(ex);
@@ -505,4 +527,18 @@ public class SOSConfigurer extends OGCConfigurer implements ISOSConfigurer {
         final DataProvider omProvider = getOMProvider(serviceID);
         return SOSUtils.getObservationStore(omProvider);
     }
+
+    /**
+     * Ask the service instances of the cluster to discard their caches (capabilities, feature of interest index)
+     * after a modification of the observation store.
+     *
+     * @param serviceID the service identifier.
+     */
+    private void clearServiceCache(final String serviceID) {
+        final ClusterMessage request = clusterBusiness.createRequest(SRV_MESSAGE_TYPE_ID, false);
+        request.put(KEY_ACTION, SRV_VALUE_ACTION_CLEAR_CACHE);
+        request.put(SRV_KEY_TYPE, "sos");
+        request.put(KEY_IDENTIFIER, serviceID);
+        clusterBusiness.publish(request);
+    }
 }
@@ -203,6 +203,73 @@ public class DatablockParser {
         return values;
     }
 
+    /**
+     * Parse text encoded result values in a single pass: count the blocks, verify the number of fields
+     * of each block and extract the first field of the first and last blocks (the sampling time bounds).
+     * Empty blocks are ignored, and trailing empty fields are not counted.
+     *
+     * @param brutValues The data block.
+     * @param encoding The encoding of the data block.
+     * @param nbField The expected number of fields in each block.
+     *
+     * @return The summary of the data block.
+     * @throws DataStoreException if a block does not have the expected number of fields.
+     */
+    public static TextBlockSummary parseTextBlock(final String brutValues, final TextBlock encoding, final int nbField) throws DataStoreException {
+        final String blockSeparator = encoding.getBlockSeparator();
+        final String tokenSeparator = encoding.getTokenSeparator();
+        final TextBlockSummary summary = new TextBlockSummary();
+        final int length = brutValues.length();
+        int blockStart = 0;
+        while (blockStart < length) {
+            int blockEnd = brutValues.indexOf(blockSeparator, blockStart);
+            if (blockEnd == -1) {
+                blockEnd = length;
+            }
+            if (blockEnd > blockStart) {
+                int nbToken    = 0;
+                int nbPart     = 0;
+                int tokenStart = blockStart;
+                int firstEnd   = -1;
+                while (tokenStart <= blockEnd) {
+                    int tokenEnd = brutValues.indexOf(tokenSeparator, tokenStart);
+                    if (tokenEnd == -1 || tokenEnd > blockEnd) {
+                        tokenEnd = blockEnd;
+                    }
+                    if (firstEnd == -1) {
+                        firstEnd = tokenEnd;
+                    }
+                    nbPart++;
+                    if (tokenEnd > tokenStart) {
+                        nbToken = nbPart;
+                    }
+                    tokenStart = tokenEnd + tokenSeparator.length();
+                }
+                if (nbToken != nbField) {
+                    throw new DataStoreException("The block " + (summary.nbBlock + 1) + " contains " + nbToken + " fields instead of " + nbField);
+                }
+                final String samplingTimeValue = brutValues.substring(blockStart, firstEnd);
+                if (summary.nbBlock == 0) {
+                    summary.begin = samplingTimeValue;
+                } else {
+                    summary.end = samplingTimeValue;
+                }
+                summary.nbBlock++;
+            }
+            blockStart = blockEnd + blockSeparator.length();
+        }
+        return summary;
+    }
+
+    /**
+     * The number of blocks and the sampling time bounds of text encoded result values.
+     */
+    public static class TextBlockSummary {
+        public int nbBlock = 0;
+        public String begin;
+        public String end;
+    }
+
     public static class Values {
         public StringBuilder values = new StringBuilder();
         public int nbBlock = 0;
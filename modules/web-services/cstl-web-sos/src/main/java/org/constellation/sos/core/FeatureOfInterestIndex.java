@@ -0,0 +1,341 @@
+/*
+ *    Constellation - An open source and standard compliant SDI
+ *    http://www.constellation-sdi.org
+ *
+ * Copyright 2019 Geomatys.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.constellation.sos.core;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.apache.sis.storage.DataStoreException;
+import org.apache.sis.util.logging.Logging;
+import org.geotoolkit.gml.xml.AbstractFeature;
+import org.geotoolkit.gml.xml.Envelope;
+import org.geotoolkit.observation.ObservationReader;
+import org.geotoolkit.sampling.xml.SamplingFeature;
+import org.geotoolkit.sos.xml.ObservationOffering;
+import org.locationtech.jts.index.strtree.STRtree;
+import org.opengis.geometry.primitive.Point;
+
+import static org.constellation.sos.ws.SOSUtils.BoundMatchEnvelope;
+import static org.constellation.sos.ws.SOSUtils.samplingPointMatchEnvelope;
+
+/**
+ * In memory index of the features of interest of an observation store, for one version of the service.
+ *
+ * It contains the identifiers of all the features of interest, and a STR-tree of the features
+ * of interest referenced by each offering, built from their position or their bounds.
+ * The features of interest inserted through the worker are added to the index, they are searched
+ * sequentially until the worker builds a new index.
+ */
+final class FeatureOfInterestIndex {
+
+    private static final Logger LOGGER = Logging.getLogger("org.constellation.sos.core");
+
+    private final Set<String> identifiers;
+
+    /**
+     * References of the features of interest by offering, in the order of the offerings.
+     */
+    private final STRtree tree = new STRtree();
+
+    /**
+     * References added after the construction of the tree.
+     */
+    private final List<Reference> added = new ArrayList<>();
+
+    /**
+     * Features of interest referenced by each offering.
+     */
+    private final Map<String, Set<String>> referenced = new HashMap<>();
+
+    /**
+     * Offerings of each procedure.
+     */
+    private final Map<String, Set<String>> offeringsByProcedure = new HashMap<>();
+
+    /**
+     * Features of interest referenced by an offering but not registered in the store, by offering.
+     */
+    private final Map<String, List<String>> unregistered = new HashMap<>();
+
+    private final Map<String, SamplingFeature> features = new LinkedHashMap<>();
+
+    private final long creationTime = System.currentTimeMillis();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private int order = 0;
+
+    FeatureOfInterestIndex(final ObservationReader reader, final String version) throws DataStoreException {
+        final Collection<String> names = reader.getFeatureOfInterestNames();
+        identifiers = new HashSet<>(names);
+        for (String id : names) {
+            final SamplingFeature feature = (SamplingFeature) reader.getFeatureOfInterest(id, version);
+            if (feature != null) {
+                features.put(id, feature);
+            }
+        }
+
+        for (ObservationOffering offering : reader.getObservationOfferings(version)) {
+            for (String procedure : offering.getProcedures()) {
+                offeringsByProcedure.computeIfAbsent(procedure, k -> new HashSet<>()).add(offering.getId());
+            }
+            for (String id : offering.getFeatureOfInterestIds()) {
+                SamplingFeature feature = features.get(id);
+                if (feature == null && !identifiers.contains(id)) {
+                    feature = (SamplingFeature) reader.getFeatureOfInterest(id, version);
+                }
+                if (feature == null) {
+                    unregistered.computeIfAbsent(offering.getId(), k -> new ArrayList<>()).add(id);
+                    continue;
+                }
+                final org.locationtech.jts.geom.Envelope bounds = getBounds(feature);
+                if (bounds != null && referenced.computeIfAbsent(offering.getId(), k -> new HashSet<>()).add(id)) {
+                    tree.insert(bounds, new Reference(order++, offering.getId(), feature, bounds));
+                }
+            }
+        }
+        tree.build();
+    }
+
+    /**
+     * Register a feature of interest found in the store, without any reference by an offering.
+     */
+    void register(final String identifier, final SamplingFeature feature) {
+        lock.writeLock().lock();
+        try {
+            identifiers.add(identifier);
+            if (feature != null) {
+                features.putIfAbsent(identifier, feature);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Add a feature of interest observed by a procedure, and its references by the offerings of the procedure.
+     * All the offerings are read if the procedure is unknown by the index.
+     *
+     * @param procedure the procedure identifier, or {@code null} if it is unknown.
+     */
+    void reference(final ObservationReader reader, final String version, final String identifier, final String procedure) throws DataStoreException {
+        final SamplingFeature feature = (SamplingFeature) reader.getFeatureOfInterest(identifier, version);
+        if (feature == null) {
+            return;
+        }
+        final Set<String> candidates;
+        lock.readLock().lock();
+        try {
+            final Set<String> offeringIds = offeringsByProcedure.get(procedure);
+            candidates = offeringIds != null ? new HashSet<>(offeringIds) : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+        final List<ObservationOffering> offerings = new ArrayList<>();
+        if (candidates == null) {
+            for (ObservationOffering offering : reader.getObservationOfferings(version)) {
+                if (offering.getFeatureOfInterestIds().contains(identifier)) {
+                    offerings.add(offering);
+                }
+            }
+        } else {
+            for (String offeringId : candidates) {
+                final ObservationOffering offering = reader.getObservationOffering(offeringId, version);
+                if (offering != null && offering.getFeatureOfInterestIds().contains(identifier)) {
+                    offerings.add(offering);
+                }
+            }
+        }
+        final org.locationtech.jts.geom.Envelope bounds = getBounds(feature);
+
+        lock.writeLock().lock();
+        try {
+            identifiers.add(identifier);
+            features.putIfAbsent(identifier, feature);
+            for (ObservationOffering offering : offerings) {
+                for (String offProcedure : offering.getProcedures()) {
+                    offeringsByProcedure.computeIfAbsent(offProcedure, k -> new HashSet<>()).add(offering.getId());
+                }
+                final List<String> missing = unregistered.get(offering.getId());
+                if (missing != null) {
+                    missing.removeIf(identifier::equals);
+                }
+                if (bounds != null && referenced.computeIfAbsent(offering.getId(), k -> new HashSet<>()).add(identifier)) {
+                    added.add(new Reference(order++, offering.getId(), feature, bounds));
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return {@code true} if the index has been built more than {@code delay} milliseconds ago.
+     */
+    boolean isOlderThan(final long delay) {
+        return System.currentTimeMillis() - creationTime > delay;
+    }
+
+    /**
+     * Return the bounds indexed for a feature of interest, with the same rules than
+     * {@link org.constellation.sos.ws.SOSUtils#samplingPointMatchEnvelope} and {@link org.constellation.sos.ws.SOSUtils#BoundMatchEnvelope}.
+     */
+    private static org.locationtech.jts.geom.Envelope getBounds(final SamplingFeature feature) {
+        if (feature.getGeometry() instanceof Point) {
+            final Point point = (Point) feature.getGeometry();
+            if (point.getDirectPosition() != null) {
+                final double x = point.getDirectPosition().getOrdinate(0);
+                final double y = point.getDirectPosition().getOrdinate(1);
+                return new org.locationtech.jts.geom.Envelope(x, x, y, y);
+            }
+            LOGGER.log(Level.WARNING, " the feature of interest does not have proper position");
+        } else if (feature instanceof AbstractFeature) {
+            final AbstractFeature af = (AbstractFeature) feature;
+            if (af.getBoundedBy() != null &&
+                af.getBoundedBy().getEnvelope() != null &&
+                af.getBoundedBy().getEnvelope().getLowerCorner() != null &&
+                af.getBoundedBy().getEnvelope().getUpperCorner() != null &&
+                af.getBoundedBy().getEnvelope().getLowerCorner().getCoordinate().length > 1 &&
+                af.getBoundedBy().getEnvelope().getUpperCorner().getCoordinate().length > 1) {
+                final Envelope env = af.getBoundedBy().getEnvelope();
+                return new org.locationtech.jts.geom.Envelope(env.getLowerCorner().getOrdinate(0), env.getUpperCorner().getOrdinate(0),
+                                                              env.getLowerCorner().getOrdinate(1), env.getUpperCorner().getOrdinate(1));
+            }
+            LOGGER.log(Level.WARNING, " the feature of interest (samplingCurve){0} does not have proper bounds", af.getId());
+        } else {
+            LOGGER.log(Level.WARNING, "unknow implementation:{0}", feature.getClass().getName());
+        }
+        return null;
+    }
+
+    /**
+     * @return {@code true} if the feature of interest is registered in the store.
+     */
+    boolean contains(final String identifier) {
+        lock.readLock().lock();
+        try {
+            return identifiers.contains(identifier);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return All the registered features of interest.
+     */
+    Collection<SamplingFeature> getFeatures() {
+        lock.readLock().lock();
+        try {
+            return new ArrayList<>(features.values());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @param offerings offering identifiers, or {@code null} for all the offerings.
+     * @return The features of interest referenced by the offerings but not registered in the store.
+     */
+    List<String> getUnregistered(final Collection<String> offerings) {
+        final List<String> results = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (Map.Entry<String, List<String>> entry : unregistered.entrySet()) {
+                if (offerings == null || offerings.contains(entry.getKey())) {
+                    results.addAll(entry.getValue());
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return results;
+    }
+
+    /**
+     * Return the features of interest of the offerings contained in the envelope.
+     * A feature of interest is returned once for each offering referencing it, in the order of the offerings.
+     *
+     * @param e the envelope, in the CRS of the features of interest.
+     * @param offerings offering identifiers, or {@code null} for all the offerings.
+     */
+    List<SamplingFeature> query(final Envelope e, final Collection<String> offerings) {
+        final org.locationtech.jts.geom.Envelope search = new org.locationtech.jts.geom.Envelope(
+                e.getLowerCorner().getOrdinate(0), e.getUpperCorner().getOrdinate(0),
+                e.getLowerCorner().getOrdinate(1), e.getUpperCorner().getOrdinate(1));
+        final List<Reference> candidates = new ArrayList<>();
+        for (Object candidate : tree.query(search)) {
+            candidates.add((Reference) candidate);
+        }
+        lock.readLock().lock();
+        try {
+            for (Reference ref : added) {
+                if (ref.bounds.intersects(search)) {
+                    candidates.add(ref);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        final List<Reference> matches = new ArrayList<>();
+        for (Reference ref : candidates) {
+            if (offerings != null && !offerings.contains(ref.offering)) {
+                continue;
+            }
+            final boolean match;
+            if (ref.feature.getGeometry() instanceof Point) {
+                match = samplingPointMatchEnvelope((Point) ref.feature.getGeometry(), e);
+            } else {
+                match = BoundMatchEnvelope((AbstractFeature) ref.feature, e);
+            }
+            if (match) {
+                matches.add(ref);
+            }
+        }
+        matches.sort(Comparator.comparingInt(r -> r.order));
+        final List<SamplingFeature> results = new ArrayList<>(matches.size());
+        for (Reference ref : matches) {
+            results.add(ref.feature);
+        }
+        return results;
+    }
+
+    private static final class Reference {
+        private final int order;
+        private final String offering;
+        private final SamplingFeature feature;
+        private final org.locationtech.jts.geom.Envelope bounds;
+
+        private Reference(final int order, final String offering, final SamplingFeature feature, final org.locationtech.jts.geom.Envelope bounds) {
+            this.order    = order;
+            this.offering = offering;
+            this.feature  = feature;
+            this.bounds   = bounds;
+        }
+    }
+}
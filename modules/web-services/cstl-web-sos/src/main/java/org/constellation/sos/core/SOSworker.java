@@ -27,13 +27,18 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.StringTokenizer;
-import java.util.Timer;
-import java.util.TimerTask;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 import java.util.logging.Level;
 import javax.inject.Named;
 import javax.xml.bind.JAXBElement;
@@ -42,6 +47,8 @@ import javax.xml.namespace.QName;
 import org.apache.sis.storage.DataStoreException;
 import org.apache.sis.xml.MarshallerPool;
 import org.constellation.api.ServiceDef;
+import org.constellation.configuration.AppProperty;
+import org.constellation.configuration.Application;
 import org.constellation.exception.ConstellationException;
 import org.constellation.api.CommonConstants;
 import static org.constellation.api.QueryConstants.SERVICE_PARAMETER_LC;
@@ -49,8 +56,10 @@ import org.constellation.exception.ConfigurationException;
 import org.constellation.dto.service.config.sos.SOSConfiguration;
 import org.constellation.dto.contact.Details;
 import org.constellation.security.SecurityManagerHolder;
+import org.constellation.sos.core.DatablockParser.TextBlockSummary;
 import org.constellation.sos.core.DatablockParser.Values;
 import static org.constellation.sos.core.DatablockParser.getResultValues;
+import static org.constellation.sos.core.DatablockParser.parseTextBlock;
 import static org.constellation.sos.core.Normalizer.normalizeDocument;
 import static org.constellation.sos.core.Normalizer.regroupObservation;
 import static org.constellation.sos.core.SOSConstants.ACCEPTED_OUTPUT_FORMATS;
@@ -74,13 +83,11 @@ import static org.constellation.sos.core.SOSConstants.SOS_FILTER_CAPABILITIES_V1
 import static org.constellation.sos.core.SOSConstants.SOS_FILTER_CAPABILITIES_V200;
 import static org.constellation.sos.core.SOSConstants.SUPPORTED_FOI_TYPES;
 import static org.constellation.sos.core.SOSConstants.SUPPORTED_OBS_TYPES;
-import static org.constellation.sos.ws.SOSUtils.BoundMatchEnvelope;
 import static org.constellation.sos.ws.SOSUtils.extractTimeBounds;
 import static org.constellation.sos.ws.SOSUtils.getCollectionBound;
 import static org.constellation.sos.ws.SOSUtils.getIDFromObject;
 import static org.constellation.sos.ws.SOSUtils.getSensorPosition;
 import static org.constellation.sos.ws.SOSUtils.isCompleteEnvelope3D;
-import static org.constellation.sos.ws.SOSUtils.samplingPointMatchEnvelope;
 import static org.constellation.api.CommonConstants.SENSORML_101_FORMAT_V100;
 import static org.constellation.api.CommonConstants.SENSORML_101_FORMAT_V200;
 import org.constellation.business.ISensorBusiness;
@@ -216,7 +223,6 @@ import org.opengis.filter.temporal.OverlappedBy;
 import org.opengis.filter.temporal.TContains;
 import org.opengis.filter.temporal.TEquals;
 import org.opengis.filter.temporal.TOverlaps;
-import org.opengis.geometry.primitive.Point;
 import org.opengis.observation.Measure;
 import org.opengis.observation.Measurement;
 import org.opengis.observation.Observation;
@@ -245,15 +251,25 @@ public class SOSworker extends AbstractWorker {
     public static final int TRANSACTIONAL = 1;
 
 
+    /**
+     * The maximum number of temporary GetObservation templates kept by the worker, the least recently used are evicted.
+     */
+    private static final int MAX_TEMPLATES = Application.getIntegerProperty(AppProperty.EXA_SOS_TEMPLATE_MAX, 1000);
+
     /**
      * A list of temporary ObservationTemplate
      */
-    private final Map<String, Observation> templates = new HashMap<>();
+    private final Map<String, Observation> templates = Collections.synchronizedMap(new TemplateMap<>(this::cancelTemplateDestruction));
 
     /**
-     * A list of temporary resultTemplate
+     * The scheduled destruction of the temporary ObservationTemplate, guarded by the templates lock.
      */
-    private final Map<String, ResultTemplate> resultTemplates = new HashMap<>();
+    private final Map<String, ScheduledFuture<?>> templateDestructions = new HashMap<>();
+
+    /**
+     * A list of resultTemplate, they are not evicted as the clients keep inserting results with them.
+     */
+    private final Map<String, ResultTemplate> resultTemplates = Collections.synchronizedMap(new HashMap<>());
 
     /**
      * The valid time for a getObservation template (in ms).
@@ -261,9 +277,31 @@ public class SOSworker extends AbstractWorker {
     private long templateValidTime;
 
     /**
-     * A list of schreduled Task (used in close method).
+     * Single thread destroying the temporary templates when their validity period pass
+     * and refreshing the observation filter after insertions (shutdown in destroy method).
+     */
+    private final ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, r -> {
+        final Thread t = new Thread(r, "sos-scheduler");
+        t.setDaemon(true);
+        return t;
+    });
+
+    /**
+     * Delay in milliseconds between an insertion and the refresh of the observation filter.
+     * The insertions done during this delay share the same refresh.
+     */
+    private static final long FILTER_REFRESH_DELAY = Application.getLongProperty(AppProperty.EXA_SOS_FILTER_REFRESH_DELAY, 1000L);
+
+    /**
+     * Validity in milliseconds of the feature of interest indexes.
+     */
+    private static final long FOI_INDEX_TTL = Application.getLongProperty(AppProperty.EXA_SOS_FOI_INDEX_TTL, 600000L);
+
+    /**
+     * Number of insertions, and number of insertions visible through the observation filter.
      */
-    private final List<Timer> schreduledTask = new ArrayList<>();
+    private final AtomicLong filterModifications = new AtomicLong();
+    private volatile long filterRefreshed = 0;
 
     /**
      * A list of supported SensorML version
@@ -280,6 +318,18 @@ public class SOSworker extends AbstractWorker {
      */
     private ObservationStore omStore;
 
+    /**
+     * Index of the features of interest by service version. The features of interest inserted through this worker
+     * are added to the indexes, the map is replaced when sensors are removed or when the service configurer
+     * modifies the store, and the indexes expire after {@link #FOI_INDEX_TTL} for the other modifications of the store.
+     */
+    private volatile Map<String, FeatureOfInterestIndex> foiIndexes = new ConcurrentHashMap<>();
+
+    /**
+     * Lock guarding the construction and the modification of the features of interest indexes.
+     */
+    private final Object foiIndexLock = new Object();
+
     /**
      * The sensorML provider
      */
@@ -331,6 +381,7 @@ public class SOSworker extends AbstractWorker {
     public SOSworker(final String id) {
         super(id, ServiceDef.Specification.SOS);
         isStarted = true;
+        scheduler.setRemoveOnCancelPolicy(true);
 
         // Database configuration
         try {
@@ -772,6 +823,7 @@ public class SOSworker extends AbstractWorker {
         final boolean result;
         try {
             sensorBusiness.removeSensorFromSOS(getId(), sensorId);
+            clearFeatureOfInterestIndex();
             result =  true; // TODO
         } catch (Exception ex) {
             throw new CstlServiceException(ex);
@@ -897,7 +949,7 @@ public class SOSworker extends AbstractWorker {
         try {
 
             // we clone the filter for this request
-            final ObservationFilter localOmFilter = omStore.cloneObservationFilter(omStore.getFilter());
+            final ObservationFilter localOmFilter = cloneObservationFilter();
 
             // we set the response format on the filter reader
             if (localOmFilter instanceof ObservationFilterReader) {
@@ -1019,9 +1071,8 @@ public class SOSworker extends AbstractWorker {
             if (!requestObservation.getFeatureIds().isEmpty()) {
 
                 //verify that the station is registred in the DB.
-                final Collection<String> fois = omStore.getReader().getFeatureOfInterestNames();
                 for (final String samplingFeatureName : requestObservation.getFeatureIds()) {
-                    if (!fois.contains(samplingFeatureName)) {
+                    if (!existFeatureOfInterest(samplingFeatureName, currentVersion)) {
                         throw new CstlServiceException("the feature of interest "+ samplingFeatureName + " is not registered",
                                                          INVALID_PARAMETER_VALUE, "featureOfInterest");
                     }
@@ -1036,40 +1087,24 @@ public class SOSworker extends AbstractWorker {
                     final Envelope e = getEnvelopeFromBBOX(currentVersion, (BBOX)requestObservation.getSpatialFilter());
 
                     if (e != null && e.isCompleteEnvelope2D() || isCompleteEnvelope3D(e)) {
-                        boolean add = false;
-                        final List<String> matchingFeatureOfInterest = new ArrayList<>();
                         if (localOmFilter.isBoundedObservation()) {
                             localOmFilter.setBoundingBox(e);
                         } else {
+                            // TODO for SOS 2.0 use observed area
+                            final List<String> offeringIds = new ArrayList<>();
                             for (ObservationOffering off : offerings) {
-
-                                for (String refStation : off.getFeatureOfInterestIds()) {
-                                    // TODO for SOS 2.0 use observed area
-                                    final org.geotoolkit.sampling.xml.SamplingFeature station = (org.geotoolkit.sampling.xml.SamplingFeature) omStore.getReader().getFeatureOfInterest(refStation, currentVersion);
-                                    if (station == null) {
-                                        throw new CstlServiceException("the feature of interest is not registered",
-                                                INVALID_PARAMETER_VALUE);
-                                    }
-                                    if (station.getGeometry() instanceof Point) {
-                                        if (samplingPointMatchEnvelope((Point)station.getGeometry(), e)) {
-                                            matchingFeatureOfInterest.add(getIDFromObject(station));
-                                            add = true;
-                                        } else {
-                                            LOGGER.log(Level.FINER, " the feature of interest {0} is not in the BBOX", getIDFromObject(station));
-                                        }
-
-                                    } else if (station instanceof AbstractFeature) {
-                                        final AbstractFeature sc = (AbstractFeature) station;
-                                        if (BoundMatchEnvelope(sc, e)) {
-                                            matchingFeatureOfInterest.add(sc.getId());
-                                            add = true;
-                                        }
-                                    } else {
-                                        LOGGER.log(Level.WARNING, "unknow implementation:{0}", station.getClass().getName());
-                                    }
-                                }
+                                offeringIds.add(off.getId());
+                            }
+                            final FeatureOfInterestIndex index = getFeatureOfInterestIndex(currentVersion);
+                            if (!index.getUnregistered(offeringIds).isEmpty()) {
+                                throw new CstlServiceException("the feature of interest is not registered",
+                                        INVALID_PARAMETER_VALUE);
                             }
-                            if (add) {
+                            final List<String> matchingFeatureOfInterest = new ArrayList<>();
+                            for (org.geotoolkit.sampling.xml.SamplingFeature station : index.query(e, offeringIds)) {
+                                matchingFeatureOfInterest.add(getIDFromObject(station));
+                            }
+                            if (!matchingFeatureOfInterest.isEmpty()) {
                                 localOmFilter.setFeatureOfInterest(matchingFeatureOfInterest);
                             // if there is no matching FOI we must return an empty result
                             } else {
@@ -1215,22 +1250,22 @@ public class SOSworker extends AbstractWorker {
                 final List<Observation> observations = new ArrayList<>();
                 for (Observation o : matchingResult) {
                     if (template) {
-                        final String temporaryTemplateId = o.getName().getCode() + '-' + getTemplateSuffix(o.getName().getCode());
-                        final AbstractObservation temporaryTemplate = ((AbstractObservation) o).getTemporaryTemplate(temporaryTemplateId, templateTime);
+                        final AbstractObservation temporaryTemplate;
+                        synchronized (templates) {
+                            final String temporaryTemplateId = o.getName().getCode() + '-' + getTemplateSuffix(o.getName().getCode());
+                            temporaryTemplate = ((AbstractObservation) o).getTemporaryTemplate(temporaryTemplateId, templateTime);
+
+                            // Remove the default templateTime
+                            if (!localOmFilter.isDefaultTemplateTime() && templateTime == null) {
+                                temporaryTemplate.emptySamplingTime();
+                            }
+                            templates.put(temporaryTemplateId, temporaryTemplate);
 
-                        // Remove the default templateTime
-                        if (!localOmFilter.isDefaultTemplateTime() && templateTime == null) {
-                            temporaryTemplate.emptySamplingTime();
+                            // we schedule the destruction of the template at the end of its validity period
+                            final Date d = new Date(System.currentTimeMillis() + templateValidTime);
+                            LOGGER.log(Level.INFO, "this template will be destroyed at:{0}", d.toString());
+                            scheduleTemplateDestruction(temporaryTemplateId);
                         }
-                        templates.put(temporaryTemplateId, temporaryTemplate);
-
-                        // we launch a timer which will destroy the template in one hours
-                        final Timer t = new Timer();
-                        //we get the date and time for now
-                        final Date d = new Date(System.currentTimeMillis() + templateValidTime);
-                        LOGGER.log(Level.INFO, "this template will be destroyed at:{0}", d.toString());
-                        t.schedule(new DestroyTemplateTask(temporaryTemplateId), d);
-                        schreduledTask.add(t);
 
                         observations.add(temporaryTemplate);
                     } else {
@@ -1275,6 +1310,70 @@ public class SOSworker extends AbstractWorker {
         return response;
     }
 
+    /**
+     * Return the index of the features of interest, built at the first call after a modification of the store
+     * or after the expiration of the previous index.
+     */
+    private FeatureOfInterestIndex getFeatureOfInterestIndex(final String version) throws DataStoreException {
+        FeatureOfInterestIndex index = foiIndexes.get(version);
+        if (index == null || index.isOlderThan(FOI_INDEX_TTL)) {
+            // only one thread builds the index, the others wait for it
+            synchronized (foiIndexLock) {
+                final Map<String, FeatureOfInterestIndex> indexes = foiIndexes;
+                index = indexes.get(version);
+                if (index == null || index.isOlderThan(FOI_INDEX_TTL)) {
+                    final long start = System.currentTimeMillis();
+                    index = new FeatureOfInterestIndex(omStore.getReader(), version);
+                    indexes.put(version, index);
+                    LOGGER.log(Level.FINE, "feature of interest index built in {0} ms", (System.currentTimeMillis() - start));
+                }
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Add a feature of interest inserted through this worker to the built indexes.
+     *
+     * @param identifier the feature of interest identifier, can be {@code null}.
+     * @param procedure the procedure observing the feature of interest, or {@code null} if it is unknown.
+     */
+    private void addToFeatureOfInterestIndex(final String identifier, final String procedure) throws DataStoreException {
+        if (identifier == null) {
+            return;
+        }
+        synchronized (foiIndexLock) {
+            for (Map.Entry<String, FeatureOfInterestIndex> entry : foiIndexes.entrySet()) {
+                entry.getValue().reference(omStore.getReader(), entry.getKey(), identifier, procedure);
+            }
+        }
+    }
+
+    /**
+     * Discard the index of the features of interest after a modification of the store.
+     */
+    private void clearFeatureOfInterestIndex() {
+        foiIndexes = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Verify that a feature of interest is registered. The store is queried only if the feature of interest
+     * is not in the index, in case it has been added by an other component.
+     */
+    private boolean existFeatureOfInterest(final String identifier, final String version) throws DataStoreException {
+        final FeatureOfInterestIndex index = getFeatureOfInterestIndex(version);
+        if (index.contains(identifier)) {
+            return true;
+        }
+        final Object feature = omStore.getReader().getFeatureOfInterest(identifier, version);
+        if (feature != null) {
+            index.register(identifier, feature instanceof org.geotoolkit.sampling.xml.SamplingFeature ?
+                    (org.geotoolkit.sampling.xml.SamplingFeature) feature : null);
+            return true;
+        }
+        return false;
+    }
+
     private Envelope getEnvelopeFromBBOX(final String version, final BBOX bbox) {
         return buildEnvelope(version, null, bbox.getMinX(), bbox.getMinY(), bbox.getMaxX(), bbox.getMaxY(), bbox.getSRS());
     }
@@ -1304,7 +1403,7 @@ public class SOSworker extends AbstractWorker {
 
         try {
             // we clone the filter for this request
-            final ObservationFilter localOmFilter = omStore.cloneObservationFilter(omStore.getFilter());
+            final ObservationFilter localOmFilter = cloneObservationFilter();
 
             if (observationTemplateID != null) {
                 final Observation template = templates.get(observationTemplateID);
@@ -1374,28 +1473,15 @@ public class SOSworker extends AbstractWorker {
                         if (localOmFilter.isBoundedObservation()) {
                             localOmFilter.setBoundingBox(e);
                         } else {
-                            for (String refStation : offering.getFeatureOfInterestIds()) {
-                                // TODO for SOS 2.0 use observed area
-                                final org.geotoolkit.sampling.xml.SamplingFeature station = (org.geotoolkit.sampling.xml.SamplingFeature) omStore.getReader().getFeatureOfInterest(refStation, currentVersion);
-                                if (station == null) {
-                                    throw new CstlServiceException("the feature of interest is not registered",
-                                            INVALID_PARAMETER_VALUE);
-                                }
-                                if (station.getGeometry() instanceof Point) {
-                                    if (samplingPointMatchEnvelope((Point)station.getGeometry(), e)) {
-                                        fois.add(getIDFromObject(station));
-                                    } else {
-                                        LOGGER.log(Level.FINER, " the feature of interest {0} is not in the BBOX", getIDFromObject(station));
-                                    }
-
-                                } else if (station instanceof AbstractFeature) {
-                                    final AbstractFeature sc = (AbstractFeature) station;
-                                    if (BoundMatchEnvelope(sc, e)) {
-                                        fois.add(sc.getId());
-                                    }
-                                } else {
-                                    LOGGER.log(Level.WARNING, "unknow implementation:{0}", station.getClass().getName());
-                                }
+                            // TODO for SOS 2.0 use observed area
+                            final List<String> offeringIds = Arrays.asList(offering.getId());
+                            final FeatureOfInterestIndex index = getFeatureOfInterestIndex(currentVersion);
+                            if (!index.getUnregistered(offeringIds).isEmpty()) {
+                                throw new CstlServiceException("the feature of interest is not registered",
+                                        INVALID_PARAMETER_VALUE);
+                            }
+                            for (org.geotoolkit.sampling.xml.SamplingFeature station : index.query(e, offeringIds)) {
+                                fois.add(getIDFromObject(station));
                             }
                         }
 
@@ -1508,7 +1594,7 @@ public class SOSworker extends AbstractWorker {
         AbstractFeature result = null;
         try {
             // we clone the filter for this request
-            final ObservationFilter localOmFilter = omStore.cloneObservationFilter(omStore.getFilter());
+            final ObservationFilter localOmFilter = cloneObservationFilter();
             localOmFilter.initFilterGetFeatureOfInterest();
 
             // filtering on time
@@ -1654,8 +1740,7 @@ public class SOSworker extends AbstractWorker {
             // request for all foi
             } else if (!filter) {
                 final List<FeatureProperty> features = new ArrayList<>();
-                for (String foid : omStore.getReader().getFeatureOfInterestNames()) {
-                    final SamplingFeature feature = omStore.getReader().getFeatureOfInterest(foid, currentVersion);
+                for (SamplingFeature feature : getFeatureOfInterestIndex(currentVersion).getFeatures()) {
                     features.add(buildFeatureProperty(currentVersion, feature));
                 }
                 final FeatureCollection collection = buildFeatureCollection(currentVersion, "feature-collection-1", null, null, features);
@@ -1685,7 +1770,7 @@ public class SOSworker extends AbstractWorker {
 
         final TemporalPrimitive result;
         try {
-            if (omStore.getReader().getFeatureOfInterestNames().contains(fid)) {
+            if (existFeatureOfInterest(fid, currentVersion)) {
                 result = omStore.getReader().getFeatureOfInterestTime(fid, currentVersion);
             } else {
                 throw new CstlServiceException("there is not such samplingFeature on the server", INVALID_PARAMETER_VALUE);
@@ -1752,21 +1837,20 @@ public class SOSworker extends AbstractWorker {
         }
         final DataRecord structure =  (DataRecord) template.getResultStructure();
         int count = 0;
+        final Period samplingTime;
         if (encoding instanceof TextBlock) {
 
-            final TextBlock textEnc = ((TextBlock)encoding);
-            final String separator  = textEnc.getBlockSeparator();
-            count = values.split(separator).length;
-
-            // verify the structure
-            final StringTokenizer tokenizer = new StringTokenizer(values, textEnc.getBlockSeparator());
-            while (tokenizer.hasMoreTokens()) {
-                final String block = tokenizer.nextToken();
-                final int nbToken = block.split(textEnc.getTokenSeparator()).length;
-                if (nbToken != structure.getField().size()) {
-                    throw new CstlServiceException("ResultValues is empty", INVALID_PARAMETER_VALUE, "resultValues");
-                }
+            // count the blocks, verify the structure and extract the time bounds in one pass
+            final TextBlockSummary summary;
+            try {
+                summary = parseTextBlock(values, (TextBlock) encoding, structure.getField().size());
+            } catch (DataStoreException ex) {
+                throw new CstlServiceException("ResultValues does not match the result structure: " + ex.getMessage(), INVALID_PARAMETER_VALUE, "resultValues");
             }
+            count = summary.nbBlock;
+            samplingTime = buildTimePeriod(currentVersion, null, summary.begin, summary.end);
+        } else {
+            samplingTime = extractTimeBounds(currentVersion, values, encoding);
         }
         final DataArrayProperty array = buildDataArrayProperty(currentVersion,
                                                null,
@@ -1778,9 +1862,9 @@ public class SOSworker extends AbstractWorker {
         try {
             obs.setName(null); //omStore.getReader().getNewObservationId());
             obs.setResult(array);
-            obs.setSamplingTimePeriod(extractTimeBounds(currentVersion, values, encoding));
+            obs.setSamplingTimePeriod(samplingTime);
             omStore.getWriter().writeObservation(obs);
-            omStore.getFilter().refresh();
+            requestFilterRefresh();
         } catch (DataStoreException ex) {
             throw new CstlServiceException(ex);
         }
@@ -1806,7 +1890,7 @@ public class SOSworker extends AbstractWorker {
                 throw new CstlServiceException("offering parameter is invalid.", INVALID_PARAMETER_VALUE, "offering");
             }
             // we clone the filter for this request
-            final ObservationFilter localOmFilter = omStore.cloneObservationFilter(omStore.getFilter());
+            final ObservationFilter localOmFilter = cloneObservationFilter();
 
             localOmFilter.initFilterObservation(RESULT_TEMPLATE, OBSERVATION_QNAME);
             localOmFilter.setProcedure(offering.getProcedures(), Arrays.asList(offering));
@@ -1859,34 +1943,12 @@ public class SOSworker extends AbstractWorker {
         final Envelope e = getEnvelopeFromBBOX(currentVersion, bbox);
         if (e != null && e.isCompleteEnvelope2D()) {
 
-            final List<SamplingFeature> matchingFeatureOfInterest = new ArrayList<>();
-            final List<ObservationOffering> offerings             = omStore.getReader().getObservationOfferings(currentVersion);
-            for (ObservationOffering off : offerings) {
-                // TODO for SOS 2.0 use observed area
-                for (String refStation : off.getFeatureOfInterestIds()) {
-                    final org.geotoolkit.sampling.xml.SamplingFeature station = (org.geotoolkit.sampling.xml.SamplingFeature) omStore.getReader().getFeatureOfInterest(refStation, currentVersion);
-                    if (station == null) {
-                        LOGGER.log(Level.WARNING, "the feature of interest is not registered:{0}", refStation);
-                        continue;
-                    }
-                    if (station.getGeometry() instanceof Point) {
-                        if (samplingPointMatchEnvelope((Point)station.getGeometry(), e)) {
-                            matchingFeatureOfInterest.add(station);
-                        } else {
-                            LOGGER.log(Level.FINER, " the feature of interest {0} is not in the BBOX", getIDFromObject(station));
-                        }
-                    } else if (station instanceof AbstractFeature) {
-                        if (BoundMatchEnvelope((AbstractFeature) station, e)) {
-                            matchingFeatureOfInterest.add(station);
-                        } else {
-                            LOGGER.log(Level.FINER, " the feature of interest {0} is not in the BBOX", getIDFromObject(station));
-                        }
-                    } else {
-                        LOGGER.log(Level.WARNING, "unknow implementation:{0}", station.getClass().getName());
-                    }
-                }
+            // TODO for SOS 2.0 use observed area
+            final FeatureOfInterestIndex index = getFeatureOfInterestIndex(currentVersion);
+            for (String refStation : index.getUnregistered(null)) {
+                LOGGER.log(Level.WARNING, "the feature of interest is not registered:{0}", refStation);
             }
-            return matchingFeatureOfInterest;
+            return new ArrayList<>(index.query(e, null));
         } else {
             throw new CstlServiceException("the envelope is not build correctly", INVALID_PARAMETER_VALUE);
         }
@@ -2014,6 +2076,7 @@ public class SOSworker extends AbstractWorker {
                 omStore.getWriter().recordProcedureLocation(id, position);
 
                 assignedOffering = addSensorToOffering(id, temp, currentVersion);
+                addToFeatureOfInterestIndex(temp.getFeatureOfInterest(), id);
             } else {
                 LOGGER.warning("unable to record Sensor template and location in O&M datasource: no O&M writer");
             }
@@ -2050,6 +2113,7 @@ public class SOSworker extends AbstractWorker {
         verifyBaseRequest(request, true, false);
         final String currentVersion = request.getVersion().toString();
         final List<String> ids = new ArrayList<>();
+        final Map<String, String> observedFois = new LinkedHashMap<>();
 
         try {
 
@@ -2132,10 +2196,18 @@ public class SOSworker extends AbstractWorker {
                 }
 
                ids.add(id);
+               if (obs.getFeatureOfInterest() != null || obs.getPropertyFeatureOfInterest() != null) {
+                   final String procedure = obs.getProcedure() instanceof org.geotoolkit.observation.xml.Process ?
+                           ((org.geotoolkit.observation.xml.Process) obs.getProcedure()).getHref() : sensorId;
+                   observedFois.put(SOSUtils.extractFOID(obs), procedure);
+               }
             }
 
             LOGGER.log(Level.INFO, "insertObservation processed in {0} ms", (System.currentTimeMillis() - start));
-            omStore.getFilter().refresh();
+            requestFilterRefresh();
+            for (Map.Entry<String, String> entry : observedFois.entrySet()) {
+                addToFeatureOfInterestIndex(entry.getKey(), entry.getValue());
+            }
 
         } catch (DataStoreException ex) {
             throw new CstlServiceException(ex);
@@ -2465,19 +2537,104 @@ public class SOSworker extends AbstractWorker {
                                             acceptedSensorMLFormats.get(version)));
     }
 
+    /**
+     * Mark the observation filter as outdated after an insertion, and schedule its refresh
+     * if no refresh is already pending.
+     */
+    private void requestFilterRefresh() {
+        if (filterModifications.getAndIncrement() == filterRefreshed) {
+            try {
+                scheduler.schedule(() -> {
+                    try {
+                        refreshFilter();
+                    } catch (DataStoreException ex) {
+                        LOGGER.log(Level.WARNING, "Error while refreshing the observation filter", ex);
+                    }
+                }, FILTER_REFRESH_DELAY, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException ex) {
+                LOGGER.finer("the worker has been destroyed, no filter refresh");
+            }
+        }
+    }
+
+    /**
+     * Refresh the observation filter if insertions have been done since the last refresh.
+     */
+    private void refreshFilter() throws DataStoreException {
+        if (filterRefreshed != filterModifications.get()) {
+            synchronized (filterModifications) {
+                final long modifications = filterModifications.get();
+                if (filterRefreshed != modifications) {
+                    omStore.getFilter().refresh();
+                    filterRefreshed = modifications;
+                }
+            }
+        }
+    }
+
+    /**
+     * Return a copy of the observation filter for a request, refreshed if needed so the request sees the previous insertions.
+     */
+    private ObservationFilter cloneObservationFilter() throws DataStoreException {
+        refreshFilter();
+        return omStore.cloneObservationFilter(omStore.getFilter());
+    }
+
+    /**
+     * Schedule the removal of a temporary template when its validity period pass.
+     * Must be called with the templates lock.
+     */
+    private void scheduleTemplateDestruction(final String templateId) {
+        try {
+            templateDestructions.put(templateId, scheduler.schedule(() -> {
+                synchronized (templates) {
+                    templateDestructions.remove(templateId);
+                    templates.remove(templateId);
+                }
+                LOGGER.log(Level.INFO, "template:{0} destroyed", templateId);
+            }, templateValidTime, TimeUnit.MILLISECONDS));
+        } catch (RejectedExecutionException ex) {
+            // the worker has been destroyed
+            templates.remove(templateId);
+        }
+    }
+
+    /**
+     * Cancel the scheduled removal of an evicted temporary template, so the task does not keep it in the queue.
+     * Called with the templates lock.
+     */
+    private void cancelTemplateDestruction(final String templateId) {
+        final ScheduledFuture<?> destruction = templateDestructions.remove(templateId);
+        if (destruction != null) {
+            destruction.cancel(false);
+        }
+    }
+
     /**
      * Destroy and free the resource used by the worker.
      */
     @Override
     public void destroy() {
         super.destroy();
-        schreduledTask.stream().forEach((t) -> {
-            t.cancel();
-        });
+        scheduler.shutdownNow();
+        synchronized (templates) {
+            templateDestructions.clear();
+            templates.clear();
+        }
+        resultTemplates.clear();
         startError = "The service has been shutdown";
         isStarted = false;
     }
 
+    /**
+     * Discard the feature of interest index, the observation store has been modified by the service configurer.
+     */
+    @Override
+    public void clearLayerCaches() {
+        super.clearLayerCaches();
+        clearFeatureOfInterestIndex();
+    }
+
    /**
      * {@inheritDoc}
      */
@@ -2495,31 +2652,28 @@ public class SOSworker extends AbstractWorker {
     }
 
     /**
-     * A task destroying a observation template when the template validity period pass.
+     * A map of temporary GetObservation templates in access order, evicting the least recently used template when full.
      */
-    class DestroyTemplateTask extends TimerTask {
+    private static final class TemplateMap<T> extends LinkedHashMap<String, T> {
 
         /**
-         * The identifier of the temporary template.
+         * Action to perform on the identifier of an evicted template.
          */
-        private final String templateId;
+        private final Consumer<String> onEviction;
 
-        /**
-         * Build a new Timer which will destroy the temporaryTemplate
-         *
-         * @param templateId The identifier of the temporary template.
-         */
-        public DestroyTemplateTask(final String templateId) {
-            this.templateId  = templateId;
+        private TemplateMap(final Consumer<String> onEviction) {
+            super(16, 0.75f, true);
+            this.onEviction = onEviction;
         }
 
-        /**
-         * This method is launch when the timer expire.
-         */
         @Override
-        public void run() {
-            templates.remove(templateId);
-            LOGGER.log(Level.INFO, "template:{0} destroyed", templateId);
+        protected boolean removeEldestEntry(final Map.Entry<String, T> eldest) {
+            if (size() > MAX_TEMPLATES) {
+                LOGGER.log(Level.INFO, "template:{0} evicted", eldest.getKey());
+                onEviction.accept(eldest.getKey());
+                return true;
+            }
+            return false;
         }
     }
 }
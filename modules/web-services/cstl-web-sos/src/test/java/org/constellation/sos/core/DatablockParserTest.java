@@ -0,0 +1,155 @@
+/*
+ *    Constellation - An open source and standard compliant SDI
+ *    http://www.constellation-sdi.org
+ *
+ * Copyright 2019 Geomatys.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.constellation.sos.core;
+
+import java.util.StringTokenizer;
+import org.apache.sis.storage.DataStoreException;
+import org.constellation.sos.core.DatablockParser.TextBlockSummary;
+import org.constellation.sos.ws.SOSUtils;
+import org.geotoolkit.sos.xml.SOSXmlFactory;
+import org.geotoolkit.swe.xml.TextBlock;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Single pass parsing of the text encoded result values, compared with the previous
+ * implementation of InsertResult (split, tokenizer and {@link SOSUtils#extractTimeBounds}).
+ */
+public class DatablockParserTest {
+
+    private static final String VERSION = "2.0.0";
+
+    private static TextBlock encoding(final String tokenSeparator, final String blockSeparator) {
+        return SOSXmlFactory.buildTextBlock(VERSION, "encoding-1", tokenSeparator, blockSeparator, ".");
+    }
+
+    @Test
+    public void separatorsTest() throws Exception {
+        final TextBlock enc = encoding(",", "@@");
+        final String values = "2007-05-01T12:59:00,6.56,12.0@@2007-05-01T13:59:00,6.56,13.0@@2007-05-01T14:59:00,6.56,14.0@@";
+        final TextBlockSummary summary = DatablockParser.parseTextBlock(values, enc, 3);
+        assertEquals(3, summary.nbBlock);
+        assertEquals("2007-05-01T12:59:00", summary.begin);
+        assertEquals("2007-05-01T14:59:00", summary.end);
+        assertSameAsLegacy(values, enc, 3, summary);
+
+        // multi-characters token separator, line break block separator
+        final TextBlock enc2 = encoding("::", "\n");
+        final String values2 = "2007-05-01T12:59:00::6.56\n2007-05-01T13:59:00::6.57\n";
+        final TextBlockSummary summary2 = DatablockParser.parseTextBlock(values2, enc2, 2);
+        assertEquals(2, summary2.nbBlock);
+        assertEquals("2007-05-01T12:59:00", summary2.begin);
+        assertEquals("2007-05-01T13:59:00", summary2.end);
+        assertSameAsLegacy(values2, enc2, 2, summary2);
+    }
+
+    @Test
+    public void singleFieldAndBlockTest() throws Exception {
+        final TextBlock enc = encoding(",", "@@");
+
+        // blocks made of the sampling time only
+        String values = "2007-05-01T12:59:00@@2007-05-01T13:59:00@@2007-05-01T14:59:00";
+        TextBlockSummary summary = DatablockParser.parseTextBlock(values, enc, 1);
+        assertEquals(3, summary.nbBlock);
+        assertEquals("2007-05-01T12:59:00", summary.begin);
+        assertEquals("2007-05-01T14:59:00", summary.end);
+        assertSameAsLegacy(values, enc, 1, summary);
+
+        // a single block has no end bound
+        values = "2007-05-01T12:59:00,6.56@@";
+        summary = DatablockParser.parseTextBlock(values, enc, 2);
+        assertEquals(1, summary.nbBlock);
+        assertEquals("2007-05-01T12:59:00", summary.begin);
+        assertNull(summary.end);
+        assertSameAsLegacy(values, enc, 2, summary);
+    }
+
+    @Test
+    public void emptyValuesTest() throws Exception {
+        final TextBlock enc = encoding(",", "@@");
+
+        // trailing empty values are not counted, as String.split did
+        String values = "2007-05-01T12:59:00,6.56,@@2007-05-01T13:59:00,6.57,,@@";
+        TextBlockSummary summary = DatablockParser.parseTextBlock(values, enc, 2);
+        assertEquals(2, summary.nbBlock);
+        assertSameAsLegacy(values, enc, 2, summary);
+
+        // an empty value inside a block is counted
+        values = "2007-05-01T12:59:00,,12.0@@2007-05-01T13:59:00,6.57,13.0";
+        summary = DatablockParser.parseTextBlock(values, enc, 3);
+        assertEquals(2, summary.nbBlock);
+        assertEquals("2007-05-01T13:59:00", summary.end);
+        assertSameAsLegacy(values, enc, 3, summary);
+
+        // empty blocks are ignored
+        values = "2007-05-01T12:59:00,6.56@@@@2007-05-01T13:59:00,6.57";
+        summary = DatablockParser.parseTextBlock(values, enc, 2);
+        assertEquals(2, summary.nbBlock);
+        assertEquals("2007-05-01T13:59:00", summary.end);
+
+        summary = DatablockParser.parseTextBlock("", enc, 2);
+        assertEquals(0, summary.nbBlock);
+        assertNull(summary.begin);
+    }
+
+    @Test
+    public void wrongFieldCountTest() throws Exception {
+        final TextBlock enc = encoding(",", "@@");
+        final String[] invalids = {
+            "2007-05-01T12:59:00,6.56@@2007-05-01T13:59:00,6.57,13.0",
+            "2007-05-01T12:59:00,6.56,12.0@@2007-05-01T13:59:00",
+            "2007-05-01T12:59:00,6.56,12.0@@2007-05-01T13:59:00,,"
+        };
+        for (String values : invalids) {
+            boolean exLaunched = false;
+            try {
+                DatablockParser.parseTextBlock(values, enc, 3);
+            } catch (DataStoreException ex) {
+                exLaunched = true;
+                assertTrue(ex.getMessage().contains("instead of 3"));
+            }
+            assertTrue(values, exLaunched);
+            assertTrue(values, !legacyMatchStructure(values, enc, 3));
+        }
+    }
+
+    /**
+     * Compare the summary with the block count, the structure check and the time bounds computed as before.
+     */
+    private static void assertSameAsLegacy(final String values, final TextBlock enc, final int nbField, final TextBlockSummary summary) {
+        assertEquals(values.split(enc.getBlockSeparator()).length, summary.nbBlock);
+        assertTrue(legacyMatchStructure(values, enc, nbField));
+        assertEquals(SOSUtils.extractTimeBounds(VERSION, values, enc),
+                     SOSXmlFactory.buildTimePeriod(VERSION, null, summary.begin, summary.end));
+    }
+
+    private static boolean legacyMatchStructure(final String values, final TextBlock enc, final int nbField) {
+        final StringTokenizer tokenizer = new StringTokenizer(values, enc.getBlockSeparator());
+        while (tokenizer.hasMoreTokens()) {
+            final String block = tokenizer.nextToken();
+            if (block.split(enc.getTokenSeparator()).length != nbField) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
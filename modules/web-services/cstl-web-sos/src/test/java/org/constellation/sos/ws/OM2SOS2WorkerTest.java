@@ -29,6 +29,7 @@ import org.constellation.util.Util;
 import org.geotoolkit.internal.sql.DefaultDataSource;
 import org.geotoolkit.internal.sql.DerbySqlScriptRunner;
 import org.junit.AfterClass;
+import org.junit.Assert;
 import org.junit.BeforeClass;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -37,10 +38,17 @@ import javax.annotation.PostConstruct;
 import javax.xml.bind.Marshaller;
 import java.io.File;
 import java.sql.Connection;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.logging.Level;
 import org.apache.sis.util.logging.Logging;
 import org.constellation.test.utils.SpringTestRunner;
+import org.geotoolkit.gml.xml.AbstractFeature;
+import org.geotoolkit.gml.xml.v321.FeatureCollectionType;
 import org.geotoolkit.nio.IOUtilities;
+import org.geotoolkit.samplingspatial.xml.v200.SFSpatialSamplingFeatureType;
+import org.geotoolkit.sos.xml.v200.GetFeatureOfInterestType;
 import org.geotoolkit.storage.DataStoreFactory;
 import org.geotoolkit.storage.DataStores;
 
@@ -316,6 +324,40 @@ public class OM2SOS2WorkerTest extends SOS2WorkerTest {
         super.GetFeatureOfInterestObservedPropertiesTest();
     }
 
+    /**
+     * A feature of interest removed from the store is not returned anymore once the service caches are cleared,
+     * as requested by the configurer after each modification of the observation store.
+     *
+     * @throws java.lang.Exception
+     */
+    @Test
+    @Order(order=16)
+    public void GetFeatureOfInterestAfterDeleteTest() throws Exception {
+        final GetFeatureOfInterestType request = new GetFeatureOfInterestType("2.0.0", "SOS", new ArrayList<String>());
+        List<String> ids = getFeatureIds(worker.getFeatureOfInterest(request));
+        Assert.assertTrue(ids.contains("station-005"));
+        final int nbFeatures = ids.size();
+
+        try (Connection con = ds.getConnection(); Statement stmt = con.createStatement()) {
+            stmt.executeUpdate("DELETE FROM \"om\".\"sampling_features\" WHERE \"id\"='station-005'");
+        }
+        worker.clearLayerCaches();
+
+        ids = getFeatureIds(worker.getFeatureOfInterest(request));
+        Assert.assertFalse(ids.contains("station-005"));
+        Assert.assertEquals(nbFeatures - 1, ids.size());
+    }
+
+    private static List<String> getFeatureIds(final AbstractFeature result) {
+        Assert.assertTrue(result instanceof FeatureCollectionType);
+        final FeatureCollectionType collection = (FeatureCollectionType) result;
+        final List<String> ids = new ArrayList<>();
+        for (int i = 0; i < collection.getFeatureMember().size(); i++) {
+            ids.add(((SFSpatialSamplingFeatureType) collection.getFeatureMember().get(i).getAbstractFeature()).getId());
+        }
+        return ids;
+    }
+
     /**
      * Tests the destroy method
      *
@@ -323,7 +365,7 @@ public class OM2SOS2WorkerTest extends SOS2WorkerTest {
      */
     @Test
     @Override
-    @Order(order=16)
+    @Order(order=17)
     public void destroyTest() throws Exception {
         super.destroyTest();
     }
@@ -31,14 +31,18 @@ import javax.sql.DataSource;
 import java.io.IOException;
 import java.sql.SQLException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.annotation.PostConstruct;
 
 import static org.apache.commons.lang3.StringUtils.isBlank;
+import org.constellation.configuration.AppProperty;
+import org.constellation.configuration.Application;
 import org.constellation.dto.thesaurus.Thesaurus;
 import org.constellation.repository.ThesaurusRepository;
 import org.constellation.thesaurus.api.IThesaurusBusiness;
 import org.constellation.thesaurus.api.ThesaurusException;
 import org.constellation.thesaurus.io.sql.ThesaurusDatabaseWriter;
+import org.constellation.thesaurus.io.sql.ThesaurusIndex;
 import org.geotoolkit.thw.model.ISOLanguageCode;
 import org.geotoolkit.thw.model.WriteableThesaurus;
 import org.springframework.transaction.annotation.Transactional;
@@ -63,6 +67,31 @@ public class ThesaurusBusiness implements IThesaurusBusiness {
     @Autowired
     private ThesaurusRepository thesaurusRepository;
 
+    /**
+     * In-memory thesaurus indexes, by database schema.
+     */
+    private final Map<String, ThesaurusIndex> indexes = new ConcurrentHashMap<>();
+
+    /**
+     * Load the in-memory index of all the registered thesaurus.
+     */
+    @PostConstruct
+    public void init() {
+        if (!Application.getBooleanProperty(AppProperty.EXA_THESAURUS_INDEX, true)) {
+            LOGGER.info("Thesaurus index disabled, the searches will be performed in database.");
+            return;
+        }
+        for (Thesaurus th : thesaurusRepository.getAll()) {
+            final ThesaurusIndex index = new ThesaurusIndex(dataSource, th.getSchemaName());
+            try {
+                index.load();
+                indexes.put(th.getSchemaName(), index);
+            } catch (SQLException | RuntimeException ex) {
+                LOGGER.warn("Unable to load the index for thesaurus " + th.getUri() + ", the searches will be performed in database.", ex);
+            }
+        }
+    }
+
     /**
      * Return all loaded thesaurus.
      * @return Map where key is thesaurus URI and value Thesaurus DTO object
@@ -90,7 +119,9 @@ public class ThesaurusBusiness implements IThesaurusBusiness {
     public ThesaurusDatabaseWriter createThesaurusWriter(String thesaurusURI) throws ThesaurusException {
         final Thesaurus th = thesaurusRepository.getByUri(thesaurusURI);
         if (th != null) {
-            return new ThesaurusDatabaseWriter(dataSource, th.getSchemaName(), false);
+            final ThesaurusDatabaseWriter writer = new ThesaurusDatabaseWriter(dataSource, th.getSchemaName(), false);
+            writer.setIndex(indexes.get(th.getSchemaName()));
+            return writer;
         }
         throw new ThesaurusException("Unknown thesaurus URI : " + thesaurusURI);
     }
@@ -151,6 +182,12 @@ public class ThesaurusBusiness implements IThesaurusBusiness {
         try {
             thesaurusW.store();
             thesaurusRepository.create(thesaurus);
+            if (Application.getBooleanProperty(AppProperty.EXA_THESAURUS_INDEX, true)) {
+                // the new thesaurus is empty, no need to load its index.
+                final ThesaurusIndex index = new ThesaurusIndex(dataSource, thesaurus.getSchemaName());
+                indexes.put(thesaurus.getSchemaName(), index);
+                thesaurusW.setIndex(index);
+            }
             return thesaurusW;
         } catch (SQLException ex) {
             throw new ThesaurusException("SQL exception while storing new thesaurus", ex);
@@ -167,6 +204,7 @@ public class ThesaurusBusiness implements IThesaurusBusiness {
             thesaurus.delete();
             final Thesaurus th = thesaurusRepository.getByUri(thesaurusURI);
             thesaurusRepository.delete(th.getId());
+            indexes.remove(th.getSchemaName());
         } catch (SQLException e) {
             throw new ThesaurusException(e.getMessage(), e);
         }
@@ -27,8 +27,11 @@ import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import javax.sql.DataSource;
@@ -36,6 +39,8 @@ import org.apache.sis.util.logging.Logging;
 import org.constellation.dto.thesaurus.ConceptBrief;
 import org.constellation.dto.thesaurus.ConceptNode;
 import org.constellation.dto.thesaurus.FullConcept;
+import org.constellation.thesaurus.io.sql.ThesaurusIndex.IndexedConcept;
+import org.constellation.thesaurus.io.sql.ThesaurusIndex.Term;
 
 import org.geotoolkit.skos.xml.Concept;
 import org.geotoolkit.skos.xml.RDF;
@@ -121,6 +126,11 @@ public class ThesaurusDatabase implements Thesaurus, AutoCloseable {
     
     protected final boolean derby;
 
+    /**
+     * In-memory index of the thesaurus, used instead of the database for the searches when set.
+     */
+    protected ThesaurusIndex index;
+
     public ThesaurusDatabase(final DataSource datasource, final String schema, final boolean derby) {
         this.datasource    = datasource;
         this.derby         = derby;
@@ -308,6 +318,9 @@ public class ThesaurusDatabase implements Thesaurus, AutoCloseable {
      */
     @Override
     public List<ScoredConcept> search(final String brutTerm, final ISOLanguageCode language) {
+        if (index != null) {
+            return searchIndex(brutTerm, language);
+        }
         final List<ScoredConcept> matchingConcept = new ArrayList<>();
         final String languageFilter               = getLanguageFilter(language, false);
 
@@ -430,6 +443,15 @@ public class ThesaurusDatabase implements Thesaurus, AutoCloseable {
     @Override
     public List<Concept> search(final String brutTerm, final int searchMode, final boolean geometric, final List<String> themes, final ISOLanguageCode language) {
         final List<Concept> matchingConcept = new ArrayList<>();
+        if (index != null && !geometric) {
+            for (String uric : getConceptUris(searchIndex(brutTerm, searchMode, themes, language))) {
+                final Concept concept = buildConcept(index.get(uric), null);
+                if (concept != null && !matchingConcept.contains(concept)) {
+                    matchingConcept.add(concept);
+                }
+            }
+            return matchingConcept;
+        }
 
         final StringBuilder themeFilter = new StringBuilder();
         if (themes != null && !themes.isEmpty()) {
@@ -583,6 +605,12 @@ public class ThesaurusDatabase implements Thesaurus, AutoCloseable {
     @Override
     public List<String> searchLabels(final String brutTerm, final int searchMode, final List<String> themes, final ISOLanguageCode language) {
         final List<String> results = new ArrayList<>();
+        if (index != null) {
+            for (Term t : searchIndex(brutTerm, searchMode, themes, language)) {
+                results.add(t.label);
+            }
+            return results;
+        }
 
         final StringBuilder themeFilter = new StringBuilder();
         if (themes != null && !themes.isEmpty()) {
@@ -673,6 +701,79 @@ public class ThesaurusDatabase implements Thesaurus, AutoCloseable {
         return results;
     }
 
+    /**
+     * Search the term in the thesaurus index, with the same steps as {@link #search(String, ISOLanguageCode) }.
+     */
+    private List<ScoredConcept> searchIndex(final String term, final ISOLanguageCode language) {
+        final List<ScoredConcept> matchingConcept = new ArrayList<>();
+        final String lang = getLanguageCode(language);
+
+        // full matching => score 1.0, case insensitive => 0.9, mispelled => 0.8, partial => 0.7
+        final double[] scores = {1.0, 0.9, 0.8, 0.7};
+        for (int i = 0; i < scores.length; i++) {
+            final List<Term> terms;
+            switch (i) {
+                case 0:  terms = index.findEquals(term, false, lang); break;
+                case 1:  terms = index.findEquals(term, true, lang); break;
+                case 2:  terms = index.findSimilar(term, lang); break;
+                default: terms = index.findContaining(term, lang); break;
+            }
+            if (!terms.isEmpty()) {
+                for (String uric : getConceptUris(terms)) {
+                    matchingConcept.add(new ScoredConcept(uric, this, scores[i], language));
+                }
+                return matchingConcept;
+            }
+        }
+        return matchingConcept;
+    }
+
+    /**
+     * Search the term in the thesaurus index, with the same steps as {@link #searchLabels(String, int, List, ISOLanguageCode) }.
+     *
+     * As for the ILIKE operator, the wildcard searches are case insensitive. They also ignore the diacritics.
+     */
+    private List<Term> searchIndex(final String term, final int searchMode, final List<String> themes, final ISOLanguageCode language) {
+        final String lang = getLanguageCode(language);
+        if (searchMode == NO_WILD_CHAR || searchMode == AUTO_SEARCH) {
+            final List<Term> results = ThesaurusIndex.filterThemes(index.findEquals(term, false, lang), themes);
+            if (!results.isEmpty() || searchMode == NO_WILD_CHAR) {
+                return results;
+            }
+        }
+        if (searchMode == PREFIX_REGEX || searchMode == AUTO_SEARCH) {
+            final List<Term> results = ThesaurusIndex.filterThemes(index.findEndingWith(term, lang), themes);
+            if (!results.isEmpty() || searchMode == PREFIX_REGEX) {
+                return results;
+            }
+        }
+        if (searchMode == SUFFIX_REGEX || searchMode == AUTO_SEARCH) {
+            final List<Term> results = ThesaurusIndex.filterThemes(index.findStartingWith(term, lang), themes);
+            if (!results.isEmpty() || searchMode == SUFFIX_REGEX) {
+                return results;
+            }
+        }
+        if (searchMode == PREFIX_SUFFIX_REGEX || searchMode == AUTO_SEARCH) {
+            return ThesaurusIndex.filterThemes(index.findContaining(term, lang), themes);
+        }
+        return new ArrayList<>();
+    }
+
+    private static Set<String> getConceptUris(final List<Term> terms) {
+        final Set<String> uris = new LinkedHashSet<>();
+        for (Term t : terms) {
+            uris.add(removePrefix(t.uri));
+        }
+        return uris;
+    }
+
+    private static String getLanguageCode(final ISOLanguageCode language) {
+        if (language != null) {
+            return language.getTwoLetterCode().toLowerCase();
+        }
+        return null;
+    }
+
     /**
      * Close the connection to the database and clear the cache.
      */
@@ -682,6 +783,9 @@ public class ThesaurusDatabase implements Thesaurus, AutoCloseable {
 
     @Override
     public Concept getConcept(final String uriConcept) {
+        if (index != null) {
+            return buildConcept(index.get(uriConcept), null);
+        }
         Concept c = null;
         try (Connection con = datasource.getConnection()) {
             c = readConcept(uriConcept, false, con, null);
@@ -693,6 +797,9 @@ public class ThesaurusDatabase implements Thesaurus, AutoCloseable {
 
     @Override
     public Concept getConcept(final String uriConcept, final ISOLanguageCode language) {
+        if (index != null) {
+            return buildConcept(index.get(uriConcept), language);
+        }
         Concept c = null;
         try (Connection con = datasource.getConnection()) {
             c = readConcept(uriConcept, false, con, language);
@@ -733,93 +840,143 @@ public class ThesaurusDatabase implements Thesaurus, AutoCloseable {
 
             final List<Tuple> tuples = getConceptTuples(uriConcept, strict, con);
 
-            boolean found = false;
-            for (Tuple tuple : tuples) {
-                found = true;
-                final String predicat = tuple.predicat;
-                final String objet    = tuple.object;
-                if (CREATOR_PREDICATE.equals(predicat)) {
-                    concept.setCreator(objet);
-                } else if (DATE_PREDICATE.equals(predicat)) {
-                    concept.setDate(objet);
-                } else if (EXTERNAL_ID_PREDICATE.equals(predicat)) {
-                    concept.setExternalID(objet);
-                } else if (DESCRIPTION_PREDICATE.equals(predicat)) {
-                    concept.setDescription(objet);
-                } else if (LANGUAGE_PREDICATE.equals(predicat)) {
-                    if (concept.getLanguage() == null || !concept.getLanguage().contains(objet)) {
-                        concept.addLanguage(objet);
-                    }
-                } else if (RIGHTS_PREDICATE.equals(predicat)) {
-                    concept.setRights(objet);
-                } else if (TITLE_PREDICATE.equals(predicat)) {
-                    concept.setTitle(objet);
-                } else if (SUBJECT_PREDICATE.equals(predicat)) {
-                    concept.setSubject(objet);
-                } else if (CONTRIBUTOR_PREDICATE.equals(predicat)) {
-                    concept.setContributor(objet);
-                } else if (HAS_VERSION_PREDICATE.equals(predicat)) {
-                    concept.setHasVersion(objet);
-                } else if (ISSUED_PREDICATE.equals(predicat)) {
-                    concept.setIssued(objet);
-                } else if (MODIFIED_PREDICATE.equals(predicat)) {
-                    concept.setModified(objet);
-                } else if (TYPE_PREDICATE.equals(predicat)) {
-                    final Concept c = new Concept();
-                    c.setResource(objet);
-                    concept.setType(c);
-                } else if (VALUE_PREDICATE.equals(predicat)) {
-                    concept.setValue(objet);
-                } else if (BROADER_PREDICATE.equals(predicat)) {
-                    final Concept c = new Concept();
-                    c.setResource(objet);
-                    concept.addBroader(c);
-                } else if (CHANGE_NOTE_PREDICATE.equals(predicat)) {
-                    concept.setChangeNote(objet);
-                } else if (NARROWER_PREDICATE.equals(predicat)) {
-                    final Concept c = new Concept();
-                    c.setResource(objet);
-                    concept.addNarrower(c);
-                } else if (NARROWER_TRANS_PREDICATE.equals(predicat)) {
-                    final Concept c = new Concept();
-                    c.setResource(objet);
-                    concept.addNarrowerTransitive(c);
-                } else if (RELATED_PREDICATE.equals(predicat)) {
-                    final Concept c = new Concept();
-                    c.setResource(objet);
-                    concept.addRelated(c);
-                } else if (NAME_PREDICATE.equals(predicat)) {
-                    concept.setName(objet);
-                } else if (HIERARCHY_ROOT_PREDICATE.equals(predicat)) {
-                    final boolean value = Boolean.parseBoolean(objet);
-                    concept.setHierarchyRoot(value);
-                } else if (HIERARCHY_ROOT_TY_PREDICATE.equals(predicat)) {
-                    final Concept c = new Concept();
-                    c.setResource(objet);
-                    concept.setHierarchyRootType(c);
-                } else if (HAS_TOP_CONCEPT_PREDICATE.equals(predicat)) {
-                    final Concept c = new Concept();
-                    c.setResource(objet);
-                    concept.addHasTopConcept(c);
+            if (!tuples.isEmpty()) {
+                fillProperties(concept, tuples);
+                return concept;
+            } else {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Build a concept from its indexed rows, in the same way as {@link #readConcept(String, boolean, Connection, ISOLanguageCode) }.
+     *
+     * @param indexed the concept data from the thesaurus index (can be {@code null}).
+     * @param language if not {@code null} only the terms in this language are set.
+     *
+     * @return the concept or {@code null} if the concept has no property.
+     */
+    protected Concept buildConcept(final IndexedConcept indexed, final ISOLanguageCode language) {
+        if (indexed == null || indexed.properties.isEmpty()) {
+            return null;
+        }
+        final Concept concept = new Concept(removePrefix(indexed.uri));
+
+        concept.setPrefLabel(getMultiLingualTerm(indexed.completionTerms,     PREF_LABEL_TYPE,       language));
+        concept.setAltLabel(getMultiLingualTerm(indexed.completionTerms,      ALT_LABEL_TYPE,        language));
+        concept.setLabel(getMultiLingualTerm(indexed.completionTerms,         LABEL_TYPE,            language));
+        concept.setDefinition(getMultiLingualTerm(indexed.localisationTerms,  DEFINITION_LABEL_TYPE, language));
+        concept.setScopeNote(getMultiLingualTerm(indexed.localisationTerms,   SCOPE_NOTE_TYPE,       language));
+        concept.setHistoryNote(getMultiLingualTerm(indexed.localisationTerms, HISTORY_NOTE_TYPE,     language));
+        concept.setExample(getMultiLingualTerm(indexed.localisationTerms,     EXAMPLE_TYPE,          language));
+
+        final String theme = indexed.getTheme();
+        if (theme != null && !theme.equals(schema)){
+            final Concept tconcept = new Concept();
+            tconcept.setResource(theme);
+            concept.addInScheme(tconcept);
+        }
+
+        final List<Tuple> tuples = new ArrayList<>();
+        for (Tuple tuple : indexed.properties) {
+            tuples.add(new Tuple(removePrefix(tuple.predicat), removePrefix(tuple.object)));
+        }
+        fillProperties(concept, tuples);
+        return concept;
+    }
+
+    private static List<Value> getMultiLingualTerm(final List<Term> terms, final String termType, final ISOLanguageCode language) {
+        final List<Value> response = new ArrayList<>();
+        for (Term term : terms) {
+            if (termType.equals(term.type)) {
+                if (language == null || language.getTwoLetterCode().toLowerCase().equals(term.language)) {
+                    response.add(new Value(term.label, term.language));
                 }
             }
+        }
+        return response;
+    }
 
-            /*
-             * Set concept type (always concept)
-             */
-            if (concept.getType() == null) {
+    private void fillProperties(final Concept concept, final List<Tuple> tuples) {
+        for (Tuple tuple : tuples) {
+            final String predicat = tuple.predicat;
+            final String objet    = tuple.object;
+            if (CREATOR_PREDICATE.equals(predicat)) {
+                concept.setCreator(objet);
+            } else if (DATE_PREDICATE.equals(predicat)) {
+                concept.setDate(objet);
+            } else if (EXTERNAL_ID_PREDICATE.equals(predicat)) {
+                concept.setExternalID(objet);
+            } else if (DESCRIPTION_PREDICATE.equals(predicat)) {
+                concept.setDescription(objet);
+            } else if (LANGUAGE_PREDICATE.equals(predicat)) {
+                if (concept.getLanguage() == null || !concept.getLanguage().contains(objet)) {
+                    concept.addLanguage(objet);
+                }
+            } else if (RIGHTS_PREDICATE.equals(predicat)) {
+                concept.setRights(objet);
+            } else if (TITLE_PREDICATE.equals(predicat)) {
+                concept.setTitle(objet);
+            } else if (SUBJECT_PREDICATE.equals(predicat)) {
+                concept.setSubject(objet);
+            } else if (CONTRIBUTOR_PREDICATE.equals(predicat)) {
+                concept.setContributor(objet);
+            } else if (HAS_VERSION_PREDICATE.equals(predicat)) {
+                concept.setHasVersion(objet);
+            } else if (ISSUED_PREDICATE.equals(predicat)) {
+                concept.setIssued(objet);
+            } else if (MODIFIED_PREDICATE.equals(predicat)) {
+                concept.setModified(objet);
+            } else if (TYPE_PREDICATE.equals(predicat)) {
                 final Concept c = new Concept();
-                c.setResource(CONCEPT_TYPE);
+                c.setResource(objet);
                 concept.setType(c);
+            } else if (VALUE_PREDICATE.equals(predicat)) {
+                concept.setValue(objet);
+            } else if (BROADER_PREDICATE.equals(predicat)) {
+                final Concept c = new Concept();
+                c.setResource(objet);
+                concept.addBroader(c);
+            } else if (CHANGE_NOTE_PREDICATE.equals(predicat)) {
+                concept.setChangeNote(objet);
+            } else if (NARROWER_PREDICATE.equals(predicat)) {
+                final Concept c = new Concept();
+                c.setResource(objet);
+                concept.addNarrower(c);
+            } else if (NARROWER_TRANS_PREDICATE.equals(predicat)) {
+                final Concept c = new Concept();
+                c.setResource(objet);
+                concept.addNarrowerTransitive(c);
+            } else if (RELATED_PREDICATE.equals(predicat)) {
+                final Concept c = new Concept();
+                c.setResource(objet);
+                concept.addRelated(c);
+            } else if (NAME_PREDICATE.equals(predicat)) {
+                concept.setName(objet);
+            } else if (HIERARCHY_ROOT_PREDICATE.equals(predicat)) {
+                final boolean value = Boolean.parseBoolean(objet);
+                concept.setHierarchyRoot(value);
+            } else if (HIERARCHY_ROOT_TY_PREDICATE.equals(predicat)) {
+                final Concept c = new Concept();
+                c.setResource(objet);
+                concept.setHierarchyRootType(c);
+            } else if (HAS_TOP_CONCEPT_PREDICATE.equals(predicat)) {
+                final Concept c = new Concept();
+                c.setResource(objet);
+                concept.addHasTopConcept(c);
             }
+        }
 
-            if (found) {
-                return concept;
-            } else {
-                return null;
-            }
+        /*
+         * Set concept type (always concept)
+         */
+        if (concept.getType() == null) {
+            final Concept c = new Concept();
+            c.setResource(CONCEPT_TYPE);
+            concept.setType(c);
         }
-        return null;
     }
 
     @Override
@@ -1170,6 +1327,26 @@ public class ThesaurusDatabase implements Thesaurus, AutoCloseable {
      * @return the children {@link ConceptNode} list.
      */
     public List<ConceptNode> getConceptNarrowers(String conceptUri) {
+        if (index != null) {
+            final Map<String, ConceptNode> conceptMap = new LinkedHashMap<>();
+            final IndexedConcept indexed = index.get(conceptUri);
+            if (indexed != null) {
+                for (String objectUri : indexed.getObjects(NARROWER_PREDICATE)) {
+                    if (!conceptMap.containsKey(objectUri)) {
+                        final ConceptNode conceptNode = new ConceptNode(objectUri);
+                        final IndexedConcept narrower = index.get(objectUri);
+                        if (narrower != null) {
+                            for (Term term : narrower.completionTerms) {
+                                readCompletionTerm(term, conceptNode);
+                            }
+                            conceptNode.setNarrowerCount(narrower.getObjects(NARROWER_PREDICATE).length);
+                        }
+                        conceptMap.put(objectUri, conceptNode);
+                    }
+                }
+            }
+            return Lists.newArrayList(conceptMap.values());
+        }
 
         String countNarrowers = "SELECT count(*) FROM \"" + schema + "\".propriete_concept" +
                 " WHERE uri_concept = pc.objet AND predicat = '" + NARROWER_PREDICATE + "'";
@@ -1215,6 +1392,45 @@ public class ThesaurusDatabase implements Thesaurus, AutoCloseable {
      * @return the {@link FullConcept} instance.
      */
     public FullConcept getFullConcept(String conceptUri) {
+        if (index != null) {
+            final IndexedConcept indexed = index.get(conceptUri);
+            if (indexed == null || indexed.properties.isEmpty()) {
+                return null;
+            }
+            final FullConcept fullConcept = new FullConcept(conceptUri);
+            for (Term term : indexed.completionTerms) {
+                readCompletionTerm(term, fullConcept);
+                readLocalisationTerm(term, fullConcept);
+            }
+            for (Term term : indexed.localisationTerms) {
+                readCompletionTerm(term, fullConcept);
+                readLocalisationTerm(term, fullConcept);
+            }
+            fullConcept.setTopConcept(!index.getReferers(indexed.uri, HAS_TOP_CONCEPT_PREDICATE).isEmpty());
+
+            final Map<String, ConceptBrief> conceptMap = new HashMap<>();
+            for (Tuple tuple : indexed.properties) {
+                ConceptBrief conceptBrief = conceptMap.get(tuple.object);
+                if (conceptBrief == null) {
+                    conceptBrief = new ConceptBrief(tuple.object);
+                    final IndexedConcept related = index.get(tuple.object);
+                    if (related != null) {
+                        for (Term term : related.completionTerms) {
+                            readCompletionTerm(term, conceptBrief);
+                        }
+                    }
+                    conceptMap.put(tuple.object, conceptBrief);
+                }
+                if (BROADER_PREDICATE.equals(tuple.predicat) && !fullConcept.getBroaders().contains(conceptBrief)) {
+                    fullConcept.getBroaders().add(conceptBrief);
+                } else if (NARROWER_PREDICATE.equals(tuple.predicat) && !fullConcept.getNarrowers().contains(conceptBrief)) {
+                    fullConcept.getNarrowers().add(conceptBrief);
+                } else if (RELATED_PREDICATE.equals(tuple.predicat) && !fullConcept.getRelated().contains(conceptBrief)) {
+                    fullConcept.getRelated().add(conceptBrief);
+                }
+            }
+            return fullConcept;
+        }
 
         String selectTerms = "SELECT tc.label, tc.type_terme, tc.langage_iso" +
                 " FROM \"" + schema + "\".terme_completion AS tc" +
@@ -1307,6 +1523,20 @@ public class ThesaurusDatabase implements Thesaurus, AutoCloseable {
         return schema;
     }
 
+    /**
+     * @return the in-memory index of this thesaurus, or {@code null} if the searches are made in the database.
+     */
+    public ThesaurusIndex getIndex() {
+        return index;
+    }
+
+    /**
+     * @param index the in-memory index of this thesaurus, {@code null} to search in the database.
+     */
+    public void setIndex(final ThesaurusIndex index) {
+        this.index = index;
+    }
+
     @Override
     public ISOLanguageCode getDefaultLanguage() {
         return defaultLanguage;
@@ -1317,7 +1547,7 @@ public class ThesaurusDatabase implements Thesaurus, AutoCloseable {
         this.defaultLanguage = lang;
     }
 
-    private static class Tuple {
+    static class Tuple {
         public String predicat;
         public String object;
 
@@ -1333,10 +1563,14 @@ public class ThesaurusDatabase implements Thesaurus, AutoCloseable {
     // -------------------------------------------------------------------------
 
     private static void readCompletionTerm(ResultSet source, ConceptBrief destination) throws SQLException {
-        final String termValue = source.getString("label");
-        final String termType  = source.getString("type_terme");
-        final String termLang  = source.getString("langage_iso");
+        readCompletionTerm(source.getString("label"), source.getString("type_terme"), source.getString("langage_iso"), destination);
+    }
+
+    private static void readCompletionTerm(Term source, ConceptBrief destination) {
+        readCompletionTerm(source.label, source.type, source.language, destination);
+    }
 
+    private static void readCompletionTerm(String termValue, String termType, String termLang, ConceptBrief destination) {
         if (ALT_LABEL_TYPE.equals(termType)) {
             destination.addAltLabel(termLang, termValue);
         } else if (PREF_LABEL_TYPE.equals(termType)) {
@@ -1346,10 +1580,14 @@ public class ThesaurusDatabase implements Thesaurus, AutoCloseable {
     }
 
     private static void readLocalisationTerm(ResultSet source, FullConcept destination) throws SQLException {
-        final String termValue = source.getString("label");
-        final String termType = source.getString("type_terme");
-        final String termLang = source.getString("langage_iso");
+        readLocalisationTerm(source.getString("label"), source.getString("type_terme"), source.getString("langage_iso"), destination);
+    }
+
+    private static void readLocalisationTerm(Term source, FullConcept destination) {
+        readLocalisationTerm(source.label, source.type, source.language, destination);
+    }
 
+    private static void readLocalisationTerm(String termValue, String termType, String termLang, FullConcept destination) {
         if (DEFINITION_LABEL_TYPE.equals(termType)) {
             destination.getDefinition().put(termLang, termValue);
         }
@@ -282,10 +282,24 @@ public class ThesaurusDatabaseWriter extends ThesaurusDatabase implements Writea
 
     @Override
     public String writeConcept(final Concept concept) throws SQLException {
+        final String uriConcept;
         if (getConcept(concept.getAbout()) == null) {
-            return insertConcept(concept);
+            uriConcept = insertConcept(concept);
         } else {
-            return updateConcept(concept);
+            uriConcept = updateConcept(concept);
+        }
+        reindex(Arrays.asList(uriConcept));
+        return uriConcept;
+    }
+
+    /**
+     * Update the in-memory index of the thesaurus (if any) after a modification of the specified concepts.
+     *
+     * @param uris the modified concepts uri.
+     */
+    private void reindex(final List<String> uris) {
+        if (index != null) {
+            index.reload(uris);
         }
     }
 
@@ -394,6 +408,7 @@ public class ThesaurusDatabaseWriter extends ThesaurusDatabase implements Writea
             
             deleteReference(uriConcept, c);
         }
+        reindex(Arrays.asList(uriConcept));
     }
 
     @Override
@@ -480,6 +495,9 @@ public class ThesaurusDatabaseWriter extends ThesaurusDatabase implements Writea
 
         String insertLocalTerm = "INSERT INTO \"" + schema + "\".terme_localisation VALUES (?, ?, ?, ?, ?)";
 
+        final List<String> modified = new ArrayList<>();
+        modified.add(fullConcept.getUri());
+
         try (Connection con = datasource.getConnection();
              PreparedStatement relationStmt = con.prepareStatement(insertRelation);
              PreparedStatement complTermStmt = con.prepareStatement(insertComplTerm);
@@ -516,6 +534,7 @@ public class ThesaurusDatabaseWriter extends ThesaurusDatabase implements Writea
 
                 // Top concept.
                 for (Concept concept : hierarchyRoots) {
+                    modified.add(concept.getAbout());
                     relationStmt.setString(1, concept.getAbout());
                     relationStmt.setString(2, HAS_TOP_CONCEPT_PREDICATE);
                     relationStmt.setString(3, fullConcept.getUri());
@@ -525,6 +544,7 @@ public class ThesaurusDatabaseWriter extends ThesaurusDatabase implements Writea
             } else {
                 // Broaders.
                 for (ConceptBrief conceptBrief : fullConcept.getBroaders()) {
+                    modified.add(conceptBrief.getUri());
                     relationStmt.setString(1, fullConcept.getUri());
                     relationStmt.setString(2, BROADER_PREDICATE);
                     relationStmt.setString(3, conceptBrief.getUri());
@@ -539,6 +559,7 @@ public class ThesaurusDatabaseWriter extends ThesaurusDatabase implements Writea
 
             // Narrowers.
             for (ConceptBrief conceptBrief : fullConcept.getNarrowers()) {
+                modified.add(conceptBrief.getUri());
                 relationStmt.setString(1, fullConcept.getUri());
                 relationStmt.setString(2, NARROWER_PREDICATE);
                 relationStmt.setString(3, conceptBrief.getUri());
@@ -552,6 +573,7 @@ public class ThesaurusDatabaseWriter extends ThesaurusDatabase implements Writea
 
             // Related.
             for (ConceptBrief conceptBrief : fullConcept.getRelated()) {
+                modified.add(conceptBrief.getUri());
                 relationStmt.setString(1, fullConcept.getUri());
                 relationStmt.setString(2, RELATED_PREDICATE);
                 relationStmt.setString(3, conceptBrief.getUri());
@@ -607,6 +629,7 @@ public class ThesaurusDatabaseWriter extends ThesaurusDatabase implements Writea
         } catch (SQLException ex) {
             throw new RuntimeException("SQL exception in insertConcept()", ex);
         }
+        reindex(modified);
     }
 
     @Override
@@ -622,6 +645,9 @@ public class ThesaurusDatabaseWriter extends ThesaurusDatabase implements Writea
                     insertConcept(c);
                 }
             }
+            if (index != null) {
+                index.load();
+            }
         }
     }
 
@@ -705,6 +731,9 @@ public class ThesaurusDatabaseWriter extends ThesaurusDatabase implements Writea
             // should never happen
             LOGGER.log(Level.WARNING, "IOException while deleting thesaurus", ex);
         }
+        if (index != null) {
+            index.clear();
+        }
     }
 
     @Override
@@ -712,6 +741,9 @@ public class ThesaurusDatabaseWriter extends ThesaurusDatabase implements Writea
         deleteAllTermForLanguage(language);
         deleteLanguage(language);
         this.languages.remove(language);
+        if (index != null) {
+            index.load();
+        }
     }
 
     @Override
@@ -0,0 +1,705 @@
+/*
+ *    Constellation - An open source and standard compliant SDI
+ *    http://www.constellation-sdi.org
+ *
+ * Copyright 2015 Geomatys.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.constellation.thesaurus.io.sql;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+import javax.sql.DataSource;
+import org.apache.sis.util.logging.Logging;
+
+import static org.constellation.thesaurus.io.sql.ThesaurusDatabase.removePrefix;
+
+/**
+ * In-memory image of a thesaurus schema, used to answer the label searches and the
+ * concept navigation requests without any database round trip.
+ *
+ * The index holds, for each concept, its completion terms, its localisation terms and
+ * its properties (including the broader / narrower hierarchy). The labels are indexed
+ * by language in a generalized suffix array over their normalized form (lower case, no
+ * diacritics), which allows prefix, suffix, infix and edit-distance-1 lookups with
+ * a binary search.
+ *
+ * The concept data is updated incrementally with {@link #reload(Collection)} when the
+ * thesaurus is modified. The label arrays are then rebuilt lazily from memory on the
+ * next search.
+ */
+public class ThesaurusIndex {
+
+    private static final Logger LOGGER = Logging.getLogger("org.constellation.thesaurus.io");
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{InCombiningDiacriticalMarks}+");
+
+    /**
+     * Key used for the label index merging all the languages.
+     */
+    private static final String ALL_LANGUAGES = "*";
+
+    private final DataSource datasource;
+
+    private final String schema;
+
+    /**
+     * Indexed concepts, by the uri stored in the database.
+     */
+    private final Map<String, IndexedConcept> concepts = new ConcurrentHashMap<>();
+
+    /**
+     * Concepts uri without their "prefix::" part, to the uri stored in the database.
+     */
+    private final Map<String, String> aliases = new ConcurrentHashMap<>();
+
+    /**
+     * For each object uri, the concepts having a property pointing to it.
+     */
+    private final Map<String, Set<String>> referencedBy = new ConcurrentHashMap<>();
+
+    /**
+     * Label indexes by language code. Reset to {@code null} on each concept modification.
+     */
+    private volatile Map<String, LabelIndex> labels;
+
+    public ThesaurusIndex(final DataSource datasource, final String schema) {
+        this.datasource = datasource;
+        this.schema     = schema;
+    }
+
+    public String getSchema() {
+        return schema;
+    }
+
+    /**
+     * (Re)load the whole thesaurus from the database.
+     *
+     * @throws SQLException if the thesaurus tables can not be read.
+     */
+    public synchronized void load() throws SQLException {
+        final long start = System.currentTimeMillis();
+        final Map<String, IndexedConcept> loaded = new HashMap<>();
+        try (Connection c = datasource.getConnection()) {
+            readConcepts(c, null, loaded);
+        }
+        concepts.clear();
+        aliases.clear();
+        referencedBy.clear();
+        for (IndexedConcept concept : loaded.values()) {
+            put(concept);
+        }
+        labels = null;
+        LOGGER.log(Level.INFO, "Thesaurus index for {0} loaded ({1} concepts) in {2} ms",
+                new Object[]{schema, concepts.size(), System.currentTimeMillis() - start});
+    }
+
+    /**
+     * Reload from the database the specified concepts, and the concepts linked to them.
+     *
+     * @param uris the uris of the modified concepts.
+     */
+    public synchronized void reload(final Collection<String> uris) {
+        final Set<String> toReload = new LinkedHashSet<>();
+        for (String uri : uris) {
+            if (uri == null) continue;
+            final IndexedConcept previous = get(uri);
+            toReload.add(uri);
+            if (previous != null) {
+                toReload.add(previous.uri);
+                for (ThesaurusDatabase.Tuple tuple : previous.properties) {
+                    toReload.add(tuple.object);
+                }
+            }
+            final Set<String> referers = referencedBy.get(uri);
+            if (referers != null) {
+                toReload.addAll(referers);
+            }
+        }
+        final Map<String, IndexedConcept> loaded = new HashMap<>();
+        try (Connection c = datasource.getConnection()) {
+            readConcepts(c, toReload, loaded);
+
+            // the concepts newly linked to the reloaded ones have been modified too (symmetric relations)
+            final Set<String> linked = new LinkedHashSet<>();
+            for (IndexedConcept concept : loaded.values()) {
+                for (ThesaurusDatabase.Tuple tuple : concept.properties) {
+                    if (!toReload.contains(tuple.object)) {
+                        linked.add(tuple.object);
+                    }
+                }
+            }
+            readConcepts(c, linked, loaded);
+            toReload.addAll(linked);
+        } catch (SQLException ex) {
+            LOGGER.log(Level.WARNING, "Unable to reload concepts in thesaurus index " + schema + ", performing a full reload.", ex);
+            try {
+                load();
+            } catch (SQLException e) {
+                LOGGER.log(Level.WARNING, "Unable to reload thesaurus index " + schema, e);
+            }
+            return;
+        }
+        for (String uri : toReload) {
+            remove(uri);
+        }
+        for (IndexedConcept concept : loaded.values()) {
+            put(concept);
+        }
+        labels = null;
+    }
+
+    /**
+     * Remove all the concepts from the index.
+     */
+    public synchronized void clear() {
+        concepts.clear();
+        aliases.clear();
+        referencedBy.clear();
+        labels = null;
+    }
+
+    /**
+     * Return the indexed concept for the specified uri, with or without its "prefix::" part.
+     *
+     * @param uri a concept uri.
+     * @return the indexed concept or {@code null}.
+     */
+    public IndexedConcept get(final String uri) {
+        if (uri == null) return null;
+        IndexedConcept concept = concepts.get(uri);
+        if (concept == null) {
+            final String alias = aliases.get(uri);
+            if (alias != null) {
+                concept = concepts.get(alias);
+            }
+        }
+        return concept;
+    }
+
+    public Collection<IndexedConcept> getConcepts() {
+        return Collections.unmodifiableCollection(concepts.values());
+    }
+
+    /**
+     * Return the concepts having a property of the specified predicate pointing to the specified uri.
+     *
+     * @param objectUri the object uri.
+     * @param predicate the property predicate.
+     */
+    public List<IndexedConcept> getReferers(final String objectUri, final String predicate) {
+        final List<IndexedConcept> results = new ArrayList<>();
+        final Set<String> referers = referencedBy.get(objectUri);
+        if (referers != null) {
+            for (String referer : referers) {
+                final IndexedConcept concept = concepts.get(referer);
+                if (concept != null && concept.hasProperty(predicate, objectUri)) {
+                    results.add(concept);
+                }
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Search the terms whose label is exactly the specified one.
+     */
+    public List<Term> findEquals(final String label, final boolean ignoreCase, final String language) {
+        final List<Term> results = new ArrayList<>();
+        for (Term t : findStartingWith(label, language)) {
+            if (ignoreCase ? t.label.equalsIgnoreCase(label) : t.label.equals(label)) {
+                results.add(t);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Search the terms whose normalized label starts with the normalized specified one.
+     */
+    public List<Term> findStartingWith(final String term, final String language) {
+        final String key = normalize(term);
+        return getLabels(language).find(key, (label, offset) -> offset == 0);
+    }
+
+    /**
+     * Search the terms whose normalized label ends with the normalized specified one.
+     */
+    public List<Term> findEndingWith(final String term, final String language) {
+        final String key = normalize(term);
+        return getLabels(language).find(key, (label, offset) -> offset + key.length() == label.length());
+    }
+
+    /**
+     * Search the terms whose normalized label contains the normalized specified one.
+     */
+    public List<Term> findContaining(final String term, final String language) {
+        final String key = normalize(term);
+        return getLabels(language).find(key, (label, offset) -> true);
+    }
+
+    /**
+     * Search the terms whose normalized label is at an edit distance of at most 1 from the normalized specified one.
+     *
+     * A matching label always starts with the first half of the searched term, or ends with its second half,
+     * depending on the side where the edit is. The candidates are selected this way before the distance check.
+     */
+    public List<Term> findSimilar(final String term, final String language) {
+        final String key = normalize(term);
+        if (key.length() < 2) {
+            return findEquals(term, true, language);
+        }
+        final int half = key.length() / 2;
+        final String head = key.substring(0, half);
+        final String tail = key.substring(half);
+        final LabelIndex index = getLabels(language);
+        final Set<Term> candidates = new LinkedHashSet<>();
+        candidates.addAll(index.find(head, (label, offset) -> offset == 0));
+        candidates.addAll(index.find(tail, (label, offset) -> offset + tail.length() == label.length()));
+        final List<Term> results = new ArrayList<>();
+        for (Term t : candidates) {
+            if (withinOneEdit(t.key, key)) {
+                results.add(t);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Filter the terms on their theme (thesaurus origin).
+     *
+     * @param terms the terms to filter.
+     * @param themes the accepted themes, or {@code null} to accept all.
+     */
+    public static List<Term> filterThemes(final List<Term> terms, final List<String> themes) {
+        if (themes == null || themes.isEmpty()) {
+            return terms;
+        }
+        final List<Term> results = new ArrayList<>();
+        for (Term t : terms) {
+            if (themes.contains(t.theme)) {
+                results.add(t);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Build the normalized form of a label : lower case, without diacritics.
+     */
+    static String normalize(final String label) {
+        final String decomposed = Normalizer.normalize(label, Normalizer.Form.NFD);
+        return DIACRITICS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    static boolean withinOneEdit(final String a, final String b) {
+        final int la = a.length();
+        final int lb = b.length();
+        if (Math.abs(la - lb) > 1) {
+            return false;
+        }
+        if (la == lb) {
+            int diff = 0;
+            for (int i = 0; i < la; i++) {
+                if (a.charAt(i) != b.charAt(i) && ++diff > 1) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        final String shorter = la < lb ? a : b;
+        final String longer  = la < lb ? b : a;
+        int i = 0, j = 0;
+        boolean skipped = false;
+        while (i < shorter.length() && j < longer.length()) {
+            if (shorter.charAt(i) != longer.charAt(j)) {
+                if (skipped) {
+                    return false;
+                }
+                skipped = true;
+                j++;
+            } else {
+                i++;
+                j++;
+            }
+        }
+        return true;
+    }
+
+    private LabelIndex getLabels(final String language) {
+        Map<String, LabelIndex> current = labels;
+        if (current == null) {
+            current = buildLabels();
+        }
+        final LabelIndex index = current.get(language != null ? language : ALL_LANGUAGES);
+        return index != null ? index : LabelIndex.EMPTY;
+    }
+
+    private synchronized Map<String, LabelIndex> buildLabels() {
+        if (labels != null) {
+            return labels;
+        }
+        final Map<String, List<Term>> byLanguage = new HashMap<>();
+        final List<Term> all = new ArrayList<>();
+        for (IndexedConcept concept : concepts.values()) {
+            for (Term t : concept.completionTerms) {
+                byLanguage.computeIfAbsent(t.language, k -> new ArrayList<>()).add(t);
+                all.add(t);
+            }
+        }
+        final Map<String, LabelIndex> result = new HashMap<>();
+        for (Map.Entry<String, List<Term>> entry : byLanguage.entrySet()) {
+            result.put(entry.getKey(), new LabelIndex(entry.getValue()));
+        }
+        result.put(ALL_LANGUAGES, new LabelIndex(all));
+        labels = result;
+        return result;
+    }
+
+    private void put(final IndexedConcept concept) {
+        concepts.put(concept.uri, concept);
+        final String alias = removePrefix(concept.uri);
+        if (!alias.equals(concept.uri)) {
+            aliases.put(alias, concept.uri);
+        }
+        for (ThesaurusDatabase.Tuple tuple : concept.properties) {
+            referencedBy.computeIfAbsent(tuple.object, k -> ConcurrentHashMap.newKeySet()).add(concept.uri);
+        }
+    }
+
+    private void remove(final String uri) {
+        final IndexedConcept previous = concepts.remove(uri);
+        if (previous != null) {
+            aliases.remove(removePrefix(uri), uri);
+            for (ThesaurusDatabase.Tuple tuple : previous.properties) {
+                final Set<String> referers = referencedBy.get(tuple.object);
+                if (referers != null) {
+                    referers.remove(uri);
+                    if (referers.isEmpty()) {
+                        referencedBy.remove(tuple.object);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Read the concepts rows from the three thesaurus tables.
+     *
+     * @param c A database connection.
+     * @param uris The concepts to read, or {@code null} to read all of them.
+     * @param result The map to fill.
+     */
+    private void readConcepts(final Connection c, final Set<String> uris, final Map<String, IndexedConcept> result) throws SQLException {
+        final String filter;
+        if (uris == null) {
+            filter = "";
+        } else if (uris.isEmpty()) {
+            return;
+        } else {
+            final StringBuilder sb = new StringBuilder(" WHERE \"uri_concept\" IN (");
+            for (int i = 0; i < uris.size(); i++) {
+                sb.append("?,");
+            }
+            sb.setCharAt(sb.length() - 1, ')');
+            filter = sb.toString();
+        }
+
+        final String completion   = "SELECT \"uri_concept\", \"label\", \"langage_iso\", \"type_terme\", \"thesaurus_origine\" FROM \"" + schema + "\".\"terme_completion\"" + filter;
+        final String localisation = "SELECT \"uri_concept\", \"label\", \"langage_iso\", \"type_terme\", \"thesaurus_origine\" FROM \"" + schema + "\".\"terme_localisation\"" + filter;
+        final String properties   = "SELECT \"uri_concept\", \"predicat\", \"objet\" FROM \"" + schema + "\".\"" + ThesaurusDatabase.TABLE_NAME + "\"" + filter;
+
+        final Map<String, List<Term>> completionTerms = new HashMap<>();
+        final Map<String, List<Term>> localisationTerms = new HashMap<>();
+        final Map<String, List<ThesaurusDatabase.Tuple>> tuples = new HashMap<>();
+
+        try (PreparedStatement stmt = prepare(c, completion, uris);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                final String uri = rs.getString(1);
+                completionTerms.computeIfAbsent(uri, k -> new ArrayList<>())
+                               .add(new Term(uri, rs.getString(2), rs.getString(3), rs.getString(4), rs.getString(5)));
+            }
+        }
+        try (PreparedStatement stmt = prepare(c, localisation, uris);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                final String uri = rs.getString(1);
+                localisationTerms.computeIfAbsent(uri, k -> new ArrayList<>())
+                                 .add(new Term(uri, rs.getString(2), rs.getString(3), rs.getString(4), rs.getString(5)));
+            }
+        }
+        try (PreparedStatement stmt = prepare(c, properties, uris);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                tuples.computeIfAbsent(rs.getString(1), k -> new ArrayList<>())
+                      .add(new ThesaurusDatabase.Tuple(rs.getString(2), rs.getString(3)));
+            }
+        }
+
+        final Set<String> allUris = new HashSet<>(completionTerms.keySet());
+        allUris.addAll(localisationTerms.keySet());
+        allUris.addAll(tuples.keySet());
+        for (String uri : allUris) {
+            result.put(uri, new IndexedConcept(uri,
+                    completionTerms.getOrDefault(uri, Collections.emptyList()),
+                    localisationTerms.getOrDefault(uri, Collections.emptyList()),
+                    tuples.getOrDefault(uri, Collections.emptyList())));
+        }
+    }
+
+    private static PreparedStatement prepare(final Connection c, final String sql, final Set<String> uris) throws SQLException {
+        final PreparedStatement stmt = c.prepareStatement(sql);
+        if (uris != null) {
+            int i = 1;
+            for (String uri : uris) {
+                stmt.setString(i++, uri);
+            }
+        }
+        return stmt;
+    }
+
+    /**
+     * A thesaurus term (label, definition, note...) of a concept.
+     */
+    public static final class Term {
+        public final String uri;
+        public final String label;
+        public final String language;
+        public final String type;
+        public final String theme;
+
+        /**
+         * normalized label.
+         */
+        final String key;
+
+        Term(final String uri, final String label, final String language, final String type, final String theme) {
+            this.uri      = uri;
+            this.label    = label;
+            this.language = language;
+            this.type     = type;
+            this.theme    = theme;
+            this.key      = label != null ? normalize(label) : "";
+        }
+    }
+
+    /**
+     * All the database rows of a concept.
+     */
+    public static final class IndexedConcept {
+        public final String uri;
+        public final List<Term> completionTerms;
+        public final List<Term> localisationTerms;
+        final List<ThesaurusDatabase.Tuple> properties;
+
+        IndexedConcept(final String uri, final List<Term> completionTerms, final List<Term> localisationTerms,
+                final List<ThesaurusDatabase.Tuple> properties) {
+            this.uri               = uri;
+            this.completionTerms   = Collections.unmodifiableList(completionTerms);
+            this.localisationTerms = Collections.unmodifiableList(localisationTerms);
+            this.properties        = Collections.unmodifiableList(properties);
+        }
+
+        /**
+         * Return the objects of the properties having the specified predicate.
+         */
+        public String[] getObjects(final String predicate) {
+            final List<String> results = new ArrayList<>();
+            for (ThesaurusDatabase.Tuple tuple : properties) {
+                if (predicate.equals(tuple.predicat)) {
+                    results.add(tuple.object);
+                }
+            }
+            return results.toArray(new String[results.size()]);
+        }
+
+        boolean hasProperty(final String predicate, final String object) {
+            for (ThesaurusDatabase.Tuple tuple : properties) {
+                if (predicate.equals(tuple.predicat) && object.equals(tuple.object)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Return the theme of the concept (origin thesaurus of its first completion term).
+         */
+        public String getTheme() {
+            return completionTerms.isEmpty() ? null : completionTerms.get(0).theme;
+        }
+    }
+
+    @FunctionalInterface
+    private interface SuffixFilter {
+        boolean accept(String label, int offset);
+    }
+
+    /**
+     * Generalized suffix array over the normalized labels of a set of terms.
+     * Each entry is a (term, offset) pair, sorted on the suffix of the term key starting at the offset.
+     */
+    private static final class LabelIndex {
+
+        private static final LabelIndex EMPTY = new LabelIndex(Collections.<Term>emptyList());
+
+        private static final int SORT_RUN = 16;
+
+        private final Term[] terms;
+        private final int[] suffixTerm;
+        private final int[] suffixOffset;
+
+        LabelIndex(final List<Term> source) {
+            terms = source.toArray(new Term[source.size()]);
+            int count = 0;
+            for (Term t : terms) {
+                count += t.key.length() + 1;
+            }
+            final long[] suffixes = new long[count];
+            int n = 0;
+            for (int i = 0; i < terms.length; i++) {
+                for (int off = 0; off <= terms[i].key.length(); off++) {
+                    suffixes[n++] = ((long) i << 32) | off;
+                }
+            }
+            sort(suffixes);
+            suffixTerm   = new int[count];
+            suffixOffset = new int[count];
+            for (int i = 0; i < count; i++) {
+                suffixTerm[i]   = (int) (suffixes[i] >>> 32);
+                suffixOffset[i] = (int) suffixes[i];
+            }
+        }
+
+        /**
+         * Compare the suffixes encoded as (term index &lt;&lt; 32 | offset).
+         */
+        private int compareSuffixes(final long a, final long b) {
+            final String ka = terms[(int) (a >>> 32)].key;
+            final String kb = terms[(int) (b >>> 32)].key;
+            int ia = (int) a;
+            int ib = (int) b;
+            while (ia < ka.length() && ib < kb.length()) {
+                final int c = ka.charAt(ia++) - kb.charAt(ib++);
+                if (c != 0) return c;
+            }
+            return (ka.length() - ia) - (kb.length() - ib);
+        }
+
+        /**
+         * Sort the encoded suffixes in place, without boxing them: insertion sort of small runs,
+         * then bottom-up merges through a single buffer of the same size.
+         */
+        private void sort(final long[] suffixes) {
+            final int n = suffixes.length;
+            for (int lo = 0; lo < n; lo += SORT_RUN) {
+                final int hi = Math.min(lo + SORT_RUN, n);
+                for (int i = lo + 1; i < hi; i++) {
+                    final long v = suffixes[i];
+                    int j = i - 1;
+                    while (j >= lo && compareSuffixes(suffixes[j], v) > 0) {
+                        suffixes[j + 1] = suffixes[j];
+                        j--;
+                    }
+                    suffixes[j + 1] = v;
+                }
+            }
+            if (n <= SORT_RUN) {
+                return;
+            }
+            long[] src = suffixes;
+            long[] dst = new long[n];
+            for (int width = SORT_RUN; width < n; width *= 2) {
+                for (int lo = 0; lo < n; lo += 2 * width) {
+                    final int mid = Math.min(lo + width, n);
+                    final int hi  = Math.min(lo + 2 * width, n);
+                    int i = lo, j = mid, k = lo;
+                    while (i < mid && j < hi) {
+                        dst[k++] = compareSuffixes(src[i], src[j]) <= 0 ? src[i++] : src[j++];
+                    }
+                    System.arraycopy(src, i, dst, k, mid - i);
+                    System.arraycopy(src, j, dst, k + mid - i, hi - j);
+                }
+                final long[] swap = src;
+                src = dst;
+                dst = swap;
+            }
+            if (src != suffixes) {
+                System.arraycopy(src, 0, suffixes, 0, n);
+            }
+        }
+
+        /**
+         * Compare the suffix at the specified position with the query, considering only the query length.
+         */
+        private int compare(final int position, final String query) {
+            final String key = terms[suffixTerm[position]].key;
+            int i = suffixOffset[position];
+            for (int j = 0; j < query.length(); j++, i++) {
+                if (i >= key.length()) {
+                    return -1;
+                }
+                final int c = key.charAt(i) - query.charAt(j);
+                if (c != 0) return c;
+            }
+            return 0;
+        }
+
+        private int lowerBound(final String query, final boolean strict) {
+            int low = 0, high = suffixTerm.length;
+            while (low < high) {
+                final int mid = (low + high) >>> 1;
+                final int c = compare(mid, query);
+                if (c < 0 || (strict && c == 0)) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        List<Term> find(final String query, final SuffixFilter filter) {
+            final int from = lowerBound(query, false);
+            final int to   = lowerBound(query, true);
+            final Set<Term> results = new LinkedHashSet<>();
+            for (int i = from; i < to; i++) {
+                final Term t = terms[suffixTerm[i]];
+                if (filter.accept(t.key, suffixOffset[i])) {
+                    results.add(t);
+                }
+            }
+            return new ArrayList<>(results);
+        }
+    }
+}
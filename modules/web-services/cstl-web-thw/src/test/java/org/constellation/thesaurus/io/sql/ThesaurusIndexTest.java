@@ -0,0 +1,138 @@
+/*
+ *    Constellation - An open source and standard compliant SDI
+ *    http://www.constellation-sdi.org
+ *
+ * Copyright 2019 Geomatys.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.constellation.thesaurus.io.sql;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.apache.derby.jdbc.EmbeddedDataSource;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Label lookups of the in-memory thesaurus index, on an embedded Derby thesaurus.
+ */
+public class ThesaurusIndexTest {
+
+    private static EmbeddedDataSource datasource;
+
+    private static ThesaurusIndex index;
+
+    @BeforeClass
+    public static void setUpClass() throws Exception {
+        datasource = new EmbeddedDataSource();
+        datasource.setDatabaseName("memory:ThesaurusIndexTest");
+        datasource.setCreateDatabase("create");
+        try (Connection c = datasource.getConnection();
+             Statement stmt = c.createStatement()) {
+            stmt.execute("CREATE SCHEMA \"th\"");
+            for (String table : Arrays.asList("terme_completion", "terme_localisation")) {
+                stmt.execute("CREATE TABLE \"th\".\"" + table + "\" (\"uri_concept\" VARCHAR(128), \"label\" VARCHAR(128), "
+                           + "\"langage_iso\" VARCHAR(8), \"type_terme\" VARCHAR(16), \"thesaurus_origine\" VARCHAR(64))");
+            }
+            stmt.execute("CREATE TABLE \"th\".\"propriete_concept\" (\"uri_concept\" VARCHAR(128), \"predicat\" VARCHAR(128), \"objet\" VARCHAR(128))");
+            try (PreparedStatement insert = c.prepareStatement("INSERT INTO \"th\".\"terme_completion\" VALUES (?, ?, ?, 'prefLabel', 'GEMET')")) {
+                addTerm(insert, "c1", "Océan", "fr");
+                addTerm(insert, "c2", "Océanographie", "fr");
+                addTerm(insert, "c3", "Géographie", "fr");
+                addTerm(insert, "c4", "Ocean", "en");
+                addTerm(insert, "c5", "Oceanography", "en");
+                addTerm(insert, "c6", "Geography", "en");
+                addTerm(insert, "c7", "Banana", "en");
+                // many labels sharing suffixes, to go through the merges of the sort
+                for (int i = 0; i < 100; i++) {
+                    addTerm(insert, "n" + i, "station " + i, "en");
+                }
+                insert.executeBatch();
+            }
+        }
+        index = new ThesaurusIndex(datasource, "th");
+        index.load();
+    }
+
+    private static void addTerm(final PreparedStatement insert, final String uri, final String label, final String language) throws SQLException {
+        insert.setString(1, uri);
+        insert.setString(2, label);
+        insert.setString(3, language);
+        insert.addBatch();
+    }
+
+    @AfterClass
+    public static void tearDownClass() throws Exception {
+        datasource.setShutdownDatabase("shutdown");
+        try {
+            datasource.getConnection().close();
+        } catch (SQLException ex) {
+            // expected on shutdown
+        }
+    }
+
+    private static List<String> uris(final List<ThesaurusIndex.Term> terms) {
+        final List<String> uris = new ArrayList<>();
+        for (ThesaurusIndex.Term t : terms) {
+            uris.add(t.uri);
+        }
+        Collections.sort(uris);
+        return uris;
+    }
+
+    @Test
+    public void testStartingWith() {
+        assertEquals(Arrays.asList("c1", "c2"), uris(index.findStartingWith("ocean", "fr")));
+        assertEquals(Arrays.asList("c1", "c2", "c4", "c5"), uris(index.findStartingWith("OCÉAN", null)));
+        assertTrue(index.findStartingWith("graphie", "fr").isEmpty());
+    }
+
+    @Test
+    public void testEndingWith() {
+        assertEquals(Arrays.asList("c2", "c3"), uris(index.findEndingWith("graphie", "fr")));
+        assertEquals(Arrays.asList("c5", "c6"), uris(index.findEndingWith("graphy", "en")));
+        assertEquals(Arrays.asList("c7"), uris(index.findEndingWith("ana", "en")));
+    }
+
+    @Test
+    public void testContaining() {
+        assertEquals(Arrays.asList("c2", "c3", "c5", "c6"), uris(index.findContaining("ograph", null)));
+        assertEquals(Arrays.asList("c7"), uris(index.findContaining("nan", null)));
+        assertEquals(11, index.findContaining("station 1", "en").size());
+        assertEquals(100, index.findContaining("station", "en").size());
+        assertTrue(index.findContaining("xyz", null).isEmpty());
+    }
+
+    @Test
+    public void testEqualsAndSimilar() {
+        assertEquals(Arrays.asList("c1"), uris(index.findEquals("Océan", false, "fr")));
+        assertTrue(index.findEquals("océan", false, "fr").isEmpty());
+        assertEquals(Arrays.asList("c1"), uris(index.findEquals("océan", true, "fr")));
+
+        assertEquals(Arrays.asList("c4"), uris(index.findSimilar("Ocan", "en")));
+        assertEquals(Arrays.asList("c6"), uris(index.findSimilar("Geogrephy", "en")));
+        assertEquals(Arrays.asList("c7"), uris(index.findSimilar("Banan", "en")));
+        assertTrue(index.findSimilar("Geografy", "en").isEmpty());
+    }
+}
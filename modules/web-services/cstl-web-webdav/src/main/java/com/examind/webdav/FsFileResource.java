@@ -28,23 +28,29 @@ import com.bradmcevoy.http.PropFindableResource;
 import com.bradmcevoy.http.PropPatchableResource;
 import com.bradmcevoy.http.Range;
 import com.bradmcevoy.http.Request;
+import com.bradmcevoy.http.ServletResponse;
 import com.bradmcevoy.http.exceptions.NotFoundException;
 import com.bradmcevoy.http.webdav.PropPatchHandler.Fields;
 import com.bradmcevoy.io.ReadingException;
 import com.bradmcevoy.io.WritingException;
-import org.apache.commons.io.IOUtils;
+import org.apache.sis.util.collection.Cache;
 import org.apache.tika.Tika;
 import org.constellation.dto.service.config.webdav.WebdavContext;
 
-import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.Map;
 import java.util.logging.Level;
+import javax.servlet.http.HttpServletResponse;
 
 
 /**
@@ -52,6 +58,22 @@ import java.util.logging.Level;
  */
 public class FsFileResource extends FsResource implements CopyableResource, DeletableResource, GetableResource, MoveableResource, PropFindableResource, PropPatchableResource {
 
+    /**
+     * Tika facade, thread safe. Building a new one for each request would reload the Tika configuration.
+     */
+    private static final Tika TIKA = new Tika();
+
+    /**
+     * Detected mime types, by file path, modification date and size.
+     * The entries of a modified file are never hit again and are released by the cache.
+     */
+    private static final Cache<String, String> MIME_TYPES = new Cache<>(100, 1000, true);
+
+    /**
+     * Size of the buffer used to send the file content.
+     */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
     /**
      *
      * @param host - the requested host. E.g. www.mycompany.com
@@ -73,8 +95,8 @@ public class FsFileResource extends FsResource implements CopyableResource, Dele
 
     @Override
     public String getContentType(String preferredList) {
-        try (InputStream stream = Files.newInputStream(file)) {
-            final String mime = new Tika().detect(stream, file.getFileName().toString());
+        try {
+            final String mime = getMimeType();
             final String s = ContentTypeUtils.findAcceptableContentType(mime, preferredList);
             LOGGER.log(Level.FINER, "getContentType: preferred: {} mime: {} selected: {}", new Object[]{preferredList, mime, s});
             return s;
@@ -83,30 +105,121 @@ public class FsFileResource extends FsResource implements CopyableResource, Dele
         }
     }
 
+    /**
+     * Return the mime type of the file, detected by Tika only on the first request
+     * after a modification of the file.
+     */
+    private String getMimeType() throws IOException {
+        final BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        final String key = file.toAbsolutePath().toString() + '|' + attributes.lastModifiedTime().toMillis() + '|' + attributes.size();
+        String mime = MIME_TYPES.peek(key);
+        if (mime == null) {
+            try (InputStream stream = Files.newInputStream(file)) {
+                mime = TIKA.detect(stream, file.getFileName().toString());
+            }
+            MIME_TYPES.put(key, mime);
+        }
+        return mime;
+    }
+
     @Override
     public String checkRedirect(Request arg0) {
         return null;
     }
 
+    /**
+     * Send the file content, or the requested part of the file.
+     *
+     * For multi-range requests, milton calls this method once per range and writes the part boundaries itself.
+     * The range is read with positioned reads in a single buffer, without reading the bytes before the range.
+     * An unsatisfiable range is answered by a 416 status, with the file length in the {@code Content-Range} header.
+     */
     @Override
     public void sendContent(OutputStream out, Range range, Map<String, String> params, String contentType) throws IOException, NotFoundException {
-        try  (InputStream in = Files.newInputStream(file)){
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final long size = channel.size();
             if (range != null) {
                 LOGGER.log(Level.FINE, "sendContent: ranged content: {0}", file.toAbsolutePath().toString());
-                throw new IOException("not Supported");
-                //PartialEntity.writeRange(in, range, out);
             } else {
                 LOGGER.log(Level.FINE, "sendContent: send whole file {0}", file.toAbsolutePath().toString());
-                IOUtils.copy(in, out);
+            }
+            final long[] positions = getPositions(range, size);
+            if (positions == null) {
+                rejectRange(size);
+                return;
+            }
+
+            final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            long position  = positions[0];
+            long remaining = positions[1] - positions[0] + 1;
+            while (remaining > 0) {
+                buffer.clear();
+                if (remaining < buffer.capacity()) {
+                    buffer.limit((int) remaining);
+                }
+                final int read = channel.read(buffer, position);
+                if (read < 0) {
+                    // the file has been truncated while sending, the announced length can not be honoured
+                    throw new IOException("Unexpected end of file " + file.getFileName() + " at position " + position
+                            + ", " + remaining + " bytes missing");
+                }
+                out.write(buffer.array(), 0, read);
+                position  += read;
+                remaining -= read;
             }
             out.flush();
-        } catch (FileNotFoundException e) {
+        } catch (NoSuchFileException e) {
             throw new NotFoundException("Couldnt locate content");
         } catch (ReadingException | WritingException e) {
             throw new IOException(e);
         }
     }
 
+    /**
+     * Return the first and the last positions to send from a file of the specified size,
+     * or {@code null} if the range is not satisfiable.
+     *
+     * @param range The requested range, or {@code null} for the whole file.
+     */
+    static long[] getPositions(final Range range, final long size) {
+        if (range == null) {
+            return new long[]{0, size - 1};
+        }
+        long start  = 0;
+        long finish = size - 1;
+        final Long rangeStart  = range.getStart();
+        final Long rangeFinish = range.getFinish();
+        if (rangeStart == null) {
+            // suffix range: the last bytes of the file
+            if (rangeFinish != null) {
+                start = Math.max(0, size - rangeFinish);
+            }
+        } else {
+            start = rangeStart;
+            if (rangeFinish != null) {
+                finish = Math.min(rangeFinish, size - 1);
+            }
+        }
+        if (start > finish) {
+            return null;
+        }
+        return new long[]{start, finish};
+    }
+
+    /**
+     * Replace the partial content response prepared by milton by a 416 (Range Not Satisfiable) response.
+     * Nothing has been written in the response body yet.
+     */
+    private static void rejectRange(final long size) throws IOException {
+        final HttpServletResponse response = ServletResponse.getResponse();
+        if (response == null) {
+            throw new IOException("Requested range not satisfiable for a file of " + size + " bytes");
+        }
+        response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+        response.setHeader("Content-Range", "bytes */" + size);
+        response.setContentLength(0);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -29,48 +29,71 @@ import org.apache.sis.util.logging.Logging;
 
 import java.nio.file.Path;
 import java.util.Date;
-import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
- *
+ * In memory lock table, safe for concurrent use by all the webdav requests.
+ * The expired locks are swept by the lock requests, at most once per sweep period, so the
+ * table needs no thread of its own.
  */
 public class FsMemoryLockManager implements LockManager {
 
     private static final Logger LOGGER = Logging.getLogger("org.constellation.webdav");
+
+    /**
+     * Minimal delay between two sweeps of the expired locks, in milliseconds.
+     */
+    private static final long SWEEP_PERIOD = 60000;
+
     /**
      * maps current locks by the file associated with the resource
      */
-    Map<Path, CurrentLock> locksByFile;
-    Map<String, CurrentLock> locksByToken;
+    final Map<Path, CurrentLock> locksByFile;
+    final Map<String, CurrentLock> locksByToken;
+
+    /**
+     * Time of the next sweep of the expired locks.
+     */
+    private final AtomicLong nextSweep;
 
     public FsMemoryLockManager() {
-        locksByFile = new HashMap<Path, CurrentLock>();
-        locksByToken = new HashMap<String, CurrentLock>();
+        locksByFile = new ConcurrentHashMap<>();
+        locksByToken = new ConcurrentHashMap<>();
+        nextSweep = new AtomicLong(System.currentTimeMillis() + SWEEP_PERIOD);
     }
 
     @Override
-    public synchronized LockResult lock( LockTimeout timeout, LockInfo lockInfo, LockableResource r ) {
-        FsResource resource = (FsResource) r;
-        LockToken currentLock = currentLock( resource );
-        if( currentLock != null ) {
-            return LockResult.failed( LockResult.FailureReason.ALREADY_LOCKED );
+    public LockResult lock( LockTimeout timeout, LockInfo lockInfo, LockableResource r ) {
+        final long now = System.currentTimeMillis();
+        final long next = nextSweep.get();
+        // only one of the concurrent requests does the sweep
+        if( now >= next && nextSweep.compareAndSet( next, now + SWEEP_PERIOD ) ) {
+            removeExpiredLocks();
         }
-
+        FsResource resource = (FsResource) r;
         LockToken newToken = new LockToken( UUID.randomUUID().toString(), lockInfo, timeout );
         CurrentLock newLock = new CurrentLock( resource.getFile(), newToken, lockInfo.lockedByUser );
-        locksByFile.put( resource.getFile(), newLock );
+
+        // atomic test-and-set on the file, an expired lock is replaced.
+        CurrentLock current = locksByFile.compute( resource.getFile(), (file, existing) ->
+                (existing == null || existing.token.isExpired()) ? newLock : existing );
+        if( current != newLock ) {
+            return LockResult.failed( LockResult.FailureReason.ALREADY_LOCKED );
+        }
         locksByToken.put( newToken.tokenId, newLock );
         return LockResult.success( newToken );
     }
 
     @Override
-    public synchronized LockResult refresh( String tokenId, LockableResource resource ) {
+    public LockResult refresh( String tokenId, LockableResource resource ) {
         CurrentLock curLock = locksByToken.get( tokenId );
-        if( curLock == null ) {
+        if( curLock == null || curLock.token.isExpired() ) {
             LOGGER.finer("can't refresh because no lock");
             return LockResult.failed( LockResult.FailureReason.PRECONDITION_FAILED );
         } else {
@@ -80,47 +103,56 @@ public class FsMemoryLockManager implements LockManager {
     }
 
     @Override
-    public synchronized void unlock( String tokenId, LockableResource r ) throws NotAuthorizedException {
+    public void unlock( String tokenId, LockableResource r ) throws NotAuthorizedException {
         FsResource resource = (FsResource) r;
-        LockToken lockToken = currentLock( resource );
-        if( lockToken == null ) {
+        CurrentLock curLock = currentLock( resource );
+        if( curLock == null ) {
             LOGGER.finer("not locked");
             return;
         }
-        if( lockToken.tokenId.equals( tokenId ) ) {
-            removeLock( lockToken );
+        if( curLock.token.tokenId.equals( tokenId ) ) {
+            removeLock( curLock );
         } else {
             throw new NotAuthorizedException( resource );
         }
     }
 
-    private LockToken currentLock( FsResource resource ) {
+    private CurrentLock currentLock( FsResource resource ) {
         CurrentLock curLock = locksByFile.get( resource.getFile() );
         if( curLock == null ) return null;
-        LockToken token = curLock.token;
-        if( token.isExpired() ) {
-            removeLock( token );
+        if( curLock.token.isExpired() ) {
+            removeLock( curLock );
             return null;
         } else {
-            return token;
+            return curLock;
         }
     }
 
-    private void removeLock( LockToken token ) {
-        LOGGER.log(Level.FINER, "removeLock: {0}", token.tokenId);
-        CurrentLock currentLock = locksByToken.get( token.tokenId );
-        if( currentLock != null ) {
-            locksByFile.remove( currentLock.file );
-            locksByToken.remove( currentLock.token.tokenId );
-        } else {
-            LOGGER.log(Level.WARNING, "couldnt find lock: {0}", token.tokenId);
+    private void removeLock( CurrentLock lock ) {
+        LOGGER.log(Level.FINER, "removeLock: {0}", lock.token.tokenId);
+        // only remove the file entry if it has not been replaced by a new lock in the meantime.
+        locksByFile.remove( lock.file, lock );
+        locksByToken.remove( lock.token.tokenId, lock );
+    }
+
+    /**
+     * Remove all the expired locks from the table.
+     */
+    void removeExpiredLocks() {
+        final Iterator<CurrentLock> it = locksByToken.values().iterator();
+        while (it.hasNext()) {
+            final CurrentLock lock = it.next();
+            if (lock.token.isExpired()) {
+                it.remove();
+                locksByFile.remove( lock.file, lock );
+            }
         }
     }
 
     @Override
     public LockToken getCurrentToken( LockableResource r ) {
         FsResource resource = (FsResource) r;
-        CurrentLock lock = locksByFile.get( resource.getFile() );
+        CurrentLock lock = currentLock( resource );
         if( lock == null ) return null;
         LockToken token = new LockToken();
         token.info = new LockInfo( LockInfo.LockScope.EXCLUSIVE, LockInfo.LockType.WRITE, lock.lockedByUser, LockInfo.LockDepth.ZERO );
@@ -130,7 +162,7 @@ public class FsMemoryLockManager implements LockManager {
         return token;
     }
 
-    class CurrentLock {
+    static class CurrentLock {
 
         final Path file;
         final LockToken token;
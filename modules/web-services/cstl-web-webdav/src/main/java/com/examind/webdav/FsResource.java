@@ -43,7 +43,7 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
-import java.nio.file.attribute.FileTime;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.Date;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -55,6 +55,11 @@ public abstract class FsResource implements Resource, MoveableResource, Copyable
 
     protected static final Logger LOGGER = Logging.getLogger("org.constellation.webdav");
 
+    /**
+     * Lock table shared by all the resources, a lock must be visible from the following requests.
+     */
+    private static final LockManager LOCK_MANAGER = new FsMemoryLockManager();
+
     protected Path file;
     protected final String host;
     protected String ssoPrefix;
@@ -74,7 +79,7 @@ public abstract class FsResource implements Resource, MoveableResource, Copyable
         this.maxAgeSecond    = context.getMaxAgeSeconds();
         this.isDigestAllowed = context.isDigestAllowed();
         this.ssoPrefix       = context.getSsoPrefix();
-        this.lockManager     = new FsMemoryLockManager();
+        this.lockManager     = LOCK_MANAGER;
         this.securityManager = new NullSecurityManager();
     }
 
@@ -82,12 +87,15 @@ public abstract class FsResource implements Resource, MoveableResource, Copyable
         return file;
     }
 
+    /**
+     * Used by milton as the resource ETag, for the conditional requests (If-None-Match, If-Range).
+     */
     @Override
     public String getUniqueId() {
         String id;
         try {
-            FileTime lastModifiedTime = Files.getLastModifiedTime(file);
-            id = lastModifiedTime + "_" + Files.size(file) + "_" + file.toAbsolutePath().toString();
+            final BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            id = attributes.lastModifiedTime() + "_" + attributes.size() + "_" + file.toAbsolutePath().toString();
         } catch (IOException e) {
             id = file.toAbsolutePath().toString();
         }
@@ -124,6 +132,9 @@ public abstract class FsResource implements Resource, MoveableResource, Copyable
         return securityManager.getRealm(host);
     }
 
+    /**
+     * Used by milton for the Last-Modified header and the If-Modified-Since conditional requests.
+     */
     @Override
     public Date getModifiedDate() {
         try {
@@ -0,0 +1,114 @@
+/*
+ *    Constellation - An open source and standard compliant SDI
+ *    http://www.constellation-sdi.org
+ *
+ * Copyright 2019 Geomatys.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.examind.webdav;
+
+import com.bradmcevoy.http.Range;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import org.constellation.dto.service.config.webdav.WebdavContext;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+/**
+ * Test the ranged sends of the webdav file resources.
+ */
+public class FsFileResourceTest {
+
+    private static Path file;
+
+    private static byte[] content;
+
+    @BeforeClass
+    public static void setUpClass() throws Exception {
+        content = new byte[100];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) i;
+        }
+        file = Files.createTempFile("webdav", ".bin");
+        Files.write(file, content);
+    }
+
+    @AfterClass
+    public static void tearDownClass() throws Exception {
+        Files.deleteIfExists(file);
+    }
+
+    private static byte[] send(final Range range) throws Exception {
+        final FsFileResource resource = new FsFileResource("localhost", file, new WebdavContext());
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        resource.sendContent(out, range, Collections.emptyMap(), "application/octet-stream");
+        return out.toByteArray();
+    }
+
+    @Test
+    public void wholeFileTest() throws Exception {
+        assertArrayEquals(content, send(null));
+    }
+
+    @Test
+    public void singleRangeTest() throws Exception {
+        assertArrayEquals(new long[]{10, 19}, FsFileResource.getPositions(new Range(10L, 19L), 100));
+        assertArrayEquals(Arrays.copyOfRange(content, 10, 20), send(new Range(10L, 19L)));
+
+        // open range and range beyond the end of the file
+        assertArrayEquals(Arrays.copyOfRange(content, 90, 100), send(new Range(90L, null)));
+        assertArrayEquals(Arrays.copyOfRange(content, 95, 100), send(new Range(95L, 500L)));
+    }
+
+    @Test
+    public void suffixRangeTest() throws Exception {
+        assertArrayEquals(new long[]{75, 99}, FsFileResource.getPositions(new Range(null, 25L), 100));
+        assertArrayEquals(Arrays.copyOfRange(content, 75, 100), send(new Range(null, 25L)));
+
+        // suffix longer than the file
+        assertArrayEquals(content, send(new Range(null, 500L)));
+    }
+
+    @Test
+    public void unsatisfiableRangeTest() throws Exception {
+        assertNull(FsFileResource.getPositions(new Range(100L, null), 100));
+        assertNull(FsFileResource.getPositions(new Range(150L, 200L), 100));
+        assertNull(FsFileResource.getPositions(new Range(null, 0L), 100));
+        assertNull(FsFileResource.getPositions(new Range(0L, 10L), 0));
+
+        // outside of a servlet request, the 416 response can not be written
+        try {
+            send(new Range(100L, null));
+            fail("an unsatisfiable range must not be sent");
+        } catch (IOException ex) {
+            // expected
+        }
+    }
+
+    @Test
+    public void emptyFileTest() throws Exception {
+        assertEquals(-1, FsFileResource.getPositions(null, 0)[1]);
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ *    Constellation - An open source and standard compliant SDI
+ *    http://www.constellation-sdi.org
+ *
+ * Copyright 2019 Geomatys.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.examind.webdav;
+
+import com.bradmcevoy.http.LockInfo;
+import com.bradmcevoy.http.LockResult;
+import com.bradmcevoy.http.LockTimeout;
+import com.bradmcevoy.http.LockToken;
+import com.bradmcevoy.http.exceptions.NotAuthorizedException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Date;
+import org.constellation.dto.service.config.webdav.WebdavContext;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Test the webdav lock table.
+ */
+public class FsMemoryLockManagerTest {
+
+    private static FsFileResource resource(final String name) {
+        final Path file = Paths.get("webdav-lock-test").resolve(name);
+        return new FsFileResource("localhost", file, new WebdavContext());
+    }
+
+    private static LockInfo info(final String user) {
+        return new LockInfo(LockInfo.LockScope.EXCLUSIVE, LockInfo.LockType.WRITE, user, LockInfo.LockDepth.ZERO);
+    }
+
+    private static void expire(final LockToken token) {
+        token.setFrom(new Date(System.currentTimeMillis() - 3600000));
+    }
+
+    @Test
+    public void lockUnlockTest() throws Exception {
+        final FsMemoryLockManager manager = new FsMemoryLockManager();
+        final FsFileResource file = resource("a.txt");
+
+        final LockResult first = manager.lock(new LockTimeout(60L), info("user1"), file);
+        assertTrue(first.isSuccessful());
+        final String tokenId = first.getLockToken().tokenId;
+
+        // the lock is seen by another resource instance of the same file
+        final LockToken current = manager.getCurrentToken(resource("a.txt"));
+        assertNotNull(current);
+        assertEquals(tokenId, current.tokenId);
+        assertEquals("user1", current.info.lockedByUser);
+
+        final LockResult second = manager.lock(new LockTimeout(60L), info("user2"), resource("a.txt"));
+        assertFalse(second.isSuccessful());
+        assertEquals(LockResult.FailureReason.ALREADY_LOCKED, second.getFailureReason());
+
+        // an other file is not locked
+        assertTrue(manager.lock(new LockTimeout(60L), info("user2"), resource("b.txt")).isSuccessful());
+
+        try {
+            manager.unlock("wrong token", file);
+            fail("only the lock owner can unlock");
+        } catch (NotAuthorizedException ex) {
+            // expected
+        }
+        manager.unlock(tokenId, file);
+        assertNull(manager.getCurrentToken(file));
+        assertTrue(manager.lock(new LockTimeout(60L), info("user2"), file).isSuccessful());
+    }
+
+    @Test
+    public void expiredLockTest() throws Exception {
+        final FsMemoryLockManager manager = new FsMemoryLockManager();
+        final FsFileResource file = resource("c.txt");
+
+        final LockResult first = manager.lock(new LockTimeout(60L), info("user1"), file);
+        assertTrue(first.isSuccessful());
+        expire(first.getLockToken());
+
+        // an expired lock is not reported, can not be refreshed and is replaced by a new lock
+        assertNull(manager.getCurrentToken(file));
+        assertFalse(manager.refresh(first.getLockToken().tokenId, file).isSuccessful());
+        final LockResult second = manager.lock(new LockTimeout(60L), info("user2"), file);
+        assertTrue(second.isSuccessful());
+        assertTrue(manager.refresh(second.getLockToken().tokenId, file).isSuccessful());
+        assertFalse(manager.locksByToken.containsKey(first.getLockToken().tokenId));
+    }
+
+    @Test
+    public void removeExpiredLocksTest() throws Exception {
+        final FsMemoryLockManager manager = new FsMemoryLockManager();
+        final LockResult expired = manager.lock(new LockTimeout(60L), info("user1"), resource("d.txt"));
+        final LockResult valid   = manager.lock(new LockTimeout(60L), info("user1"), resource("e.txt"));
+        expire(expired.getLockToken());
+
+        manager.removeExpiredLocks();
+        assertEquals(1, manager.locksByFile.size());
+        assertEquals(1, manager.locksByToken.size());
+        assertTrue(manager.locksByToken.containsKey(valid.getLockToken().tokenId));
+    }
+}
@@ -35,6 +35,7 @@ import org.apache.sis.storage.DataStoreException;
 import org.apache.sis.xml.MarshallerPool;
 
 import org.constellation.api.ServiceDef;
+import org.constellation.configuration.ConfigDirectory;
 import org.constellation.exception.ConstellationException;
 import org.constellation.dto.service.config.wxs.AttributionType;
 import org.constellation.exception.ConfigurationException;
@@ -47,6 +48,7 @@ import org.constellation.dto.portrayal.WMSPortrayal;
 import org.constellation.dto.contact.Details;
 import org.constellation.map.featureinfo.FeatureInfoFormat;
 import org.constellation.map.featureinfo.FeatureInfoUtilities;
+import org.constellation.monitoring.RequestMonitor;
 import org.constellation.portrayal.PortrayalUtil;
 import org.constellation.portrayal.PortrayalResponse;
 import org.constellation.provider.CoverageData;
@@ -61,6 +63,7 @@ import org.geotoolkit.data.query.QueryBuilder;
 import org.geotoolkit.display.PortrayalException;
 import org.geotoolkit.display2d.ext.legend.LegendTemplate;
 import org.geotoolkit.display2d.service.CanvasDef;
+import org.geotoolkit.display2d.service.DefaultPortrayalService;
 import org.geotoolkit.display2d.service.OutputDef;
 import org.geotoolkit.display2d.service.SceneDef;
 import org.geotoolkit.display2d.service.ViewDef;
@@ -122,13 +125,16 @@ import javax.measure.Unit;
 import javax.xml.bind.JAXBException;
 import java.awt.*;
 import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
 import java.io.FileNotFoundException;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
+import java.nio.file.Path;
 import java.util.AbstractMap;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
@@ -140,6 +146,9 @@ import java.util.Map;
 import java.util.Set;
 import java.util.SortedSet;
 import java.util.TimeZone;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.logging.Level;
 import java.util.stream.Collectors;
 import javax.xml.namespace.QName;
@@ -154,11 +163,21 @@ import static org.constellation.map.core.WMSConstant.EXCEPTION_111_INIMAGE;
 import static org.constellation.map.core.WMSConstant.EXCEPTION_130_BLANK;
 import static org.constellation.map.core.WMSConstant.EXCEPTION_130_INIMAGE;
 import static org.constellation.map.core.WMSConstant.KEY_BBOX;
+import static org.constellation.map.core.WMSConstant.KEY_BGCOLOR;
+import static org.constellation.map.core.WMSConstant.KEY_CRS_V111;
+import static org.constellation.map.core.WMSConstant.KEY_CRS_V130;
 import static org.constellation.map.core.WMSConstant.KEY_ELEVATION;
+import static org.constellation.map.core.WMSConstant.KEY_EXCEPTIONS;
 import static org.constellation.map.core.WMSConstant.KEY_EXTRA_PARAMETERS;
+import static org.constellation.map.core.WMSConstant.KEY_FORMAT;
+import static org.constellation.map.core.WMSConstant.KEY_HEIGHT;
 import static org.constellation.map.core.WMSConstant.KEY_LAYER;
 import static org.constellation.map.core.WMSConstant.KEY_LAYERS;
+import static org.constellation.map.core.WMSConstant.KEY_STYLES;
 import static org.constellation.map.core.WMSConstant.KEY_TIME;
+import static org.constellation.map.core.WMSConstant.KEY_TRANSPARENT;
+import static org.constellation.map.core.WMSConstant.KEY_WIDTH;
+import static org.constellation.map.core.WMSConstant.KEY_WMTVER;
 import org.geotoolkit.util.NamesExt;
 import static org.geotoolkit.ows.xml.OWSExceptionCode.CURRENT_UPDATE_SEQUENCE;
 import static org.geotoolkit.ows.xml.OWSExceptionCode.INVALID_PARAMETER_VALUE;
@@ -230,6 +249,31 @@ public class DefaultWMSWorker extends LayerWorker implements WMSWorker {
     private final List<String> GFI_MIME_TYPES = new ArrayList<>();
 
     private WMSPortrayal mapPortrayal;
+
+    /**
+     * Cache of the rendered tiles, {@code null} if no layer uses it.
+     */
+    private final RenderCache renderCache;
+
+    /**
+     * Names of the layers rendered through the tile cache, or a set containing "*" for all the layers.
+     */
+    private final Set<String> renderCacheLayers = new HashSet<>();
+
+    /**
+     * Cache of the legend images and of the legend sizes written in the capabilities.
+     */
+    private final LegendCache legendCache;
+
+    /**
+     * Compute the legends of the layer styles in background, at start and after each cache invalidation.
+     */
+    private final ExecutorService legendExecutor = Executors.newSingleThreadExecutor(r -> {
+        final Thread t = new Thread(r, "WMS legends");
+        t.setDaemon(true);
+        return t;
+    });
+
     public DefaultWMSWorker(final String id) {
         super(id, ServiceDef.Specification.WMS);
 
@@ -252,7 +296,11 @@ public class DefaultWMSWorker extends LayerWorker implements WMSWorker {
             LOGGER.log(Level.WARNING, null, ex);
         }
 
+        renderCache = createRenderCache(id);
+        legendCache = new LegendCache(getLegendCacheSize() * 1024L * 1024L);
+
         if (isStarted) {
+            precomputeStyleLegends();
             LOGGER.log(Level.INFO, "WMS worker {0} running", id);
         }
     }
@@ -646,10 +694,9 @@ public class DefaultWMSWorker extends LayerWorker implements WMSWorker {
             if (stylesName != null && !stylesName.isEmpty()) {
                 // For each styles defined for the layer, get the dimension of the getLegendGraphic response.
                 for (DataReference styleName : stylesName) {
-                    final MutableStyle ms = getStyle(styleName);
                     String legendUrlPng2 =  legendUrlPng+"&STYLE="+ Util.getLayerId(styleName).tip().toString();
                     String legendUrlGif2 =  legendUrlGif+"&STYLE="+ Util.getLayerId(styleName).tip().toString();
-                    final org.geotoolkit.wms.xml.Style style = convertMutableStyleToWmsStyle(queryVersion, ms, layer, legendUrlPng2, legendUrlGif2);
+                    final org.geotoolkit.wms.xml.Style style = convertMutableStyleToWmsStyle(queryVersion, styleName, layer, legendUrlPng2, legendUrlGif2);
                     styles.add(style);
                 }
             }
@@ -934,41 +981,92 @@ public class DefaultWMSWorker extends LayerWorker implements WMSWorker {
 
 
     /**
+     * Build the WMS style of a layer, with its legend urls and sizes.
+     * The legend size and the style name are taken from the legend cache when available,
+     * otherwise the style is resolved and its legend size computed.
      *
      * @param currentVersion
-     * @param ms
+     * @param styleRef
      * @param layerDetails
      * @param legendUrlPng
      * @param legendUrlGif
      * @return
+     * @throws CstlServiceException if the style can not be resolved.
      */
-    private org.geotoolkit.wms.xml.Style convertMutableStyleToWmsStyle(final String currentVersion, final MutableStyle ms, final Data layerDetails,
-            final String legendUrlPng, final String legendUrlGif)
+    private org.geotoolkit.wms.xml.Style convertMutableStyleToWmsStyle(final String currentVersion, final DataReference styleRef, final Data layerDetails,
+            final String legendUrlPng, final String legendUrlGif) throws CstlServiceException
     {
         if (!(layerDetails instanceof GeoData)) {
             return null;
         }
-        AbstractOnlineResource or = createOnlineResource(currentVersion, legendUrlPng);
-        final LegendTemplate lt = mapPortrayal.getDefaultLegendTemplate();
-        final Dimension dimension;
-        try {
-            dimension = DefaultLegendService.legendPreferredSize(lt, ((GeoData)layerDetails).getMapLayer(ms, null));
-        } catch (ConstellationStoreException ex) {
-            LOGGER.log(Level.INFO, ex.getLocalizedMessage(), ex);
+        final LegendCache.StyleLegend legend = getStyleLegend(styleRef, (GeoData) layerDetails);
+        if (legend == null) {
             return null;
         }
 
-        final AbstractLegendURL legendURL1 = createLegendURL(currentVersion, MimeType.IMAGE_PNG, or, dimension.width, dimension.height);
+        AbstractOnlineResource or = createOnlineResource(currentVersion, legendUrlPng);
+        final AbstractLegendURL legendURL1 = createLegendURL(currentVersion, MimeType.IMAGE_PNG, or, legend.dimension.width, legend.dimension.height);
 
         or = createOnlineResource(currentVersion, legendUrlGif);
-        final AbstractLegendURL legendURL2 = createLegendURL(currentVersion, MimeType.IMAGE_GIF, or, dimension.width, dimension.height);
+        final AbstractLegendURL legendURL2 = createLegendURL(currentVersion, MimeType.IMAGE_GIF, or, legend.dimension.width, legend.dimension.height);
 
-        String styleName = ms.getName();
-        if (styleName != null && !styleName.isEmpty() && styleName.startsWith("${")) {
-            final DataReference dataRef = new DataReference(styleName);
-            styleName = Util.getLayerId(dataRef).tip().toString();
+        return createStyle(currentVersion, legend.styleName, legend.styleName, null, legendURL1, legendURL2);
+    }
+
+    /**
+     * Return the name and preferred legend size of a layer style, from the cache or computed.
+     *
+     * @return The style legend, or {@code null} if the layer can not be portrayed.
+     * @throws CstlServiceException if the style can not be resolved.
+     */
+    private LegendCache.StyleLegend getStyleLegend(final DataReference styleRef, final GeoData layerDetails) throws CstlServiceException {
+        final String layerName = layerDetails.getName().toString();
+        LegendCache.StyleLegend legend = legendCache.getStyleLegend(layerName, styleRef.getReference());
+        if (legend == null) {
+            final long cacheGeneration = legendCache.getGeneration();
+            final MutableStyle ms = getStyle(styleRef);
+            final LegendTemplate lt = mapPortrayal.getDefaultLegendTemplate();
+            final Dimension dimension;
+            try {
+                dimension = DefaultLegendService.legendPreferredSize(lt, layerDetails.getMapLayer(ms, null));
+            } catch (ConstellationStoreException ex) {
+                LOGGER.log(Level.INFO, ex.getLocalizedMessage(), ex);
+                return null;
+            }
+            String styleName = ms.getName();
+            if (styleName != null && !styleName.isEmpty() && styleName.startsWith("${")) {
+                final DataReference dataRef = new DataReference(styleName);
+                styleName = Util.getLayerId(dataRef).tip().toString();
+            }
+            legend = new LegendCache.StyleLegend(styleName, dimension);
+            legendCache.putStyleLegend(cacheGeneration, layerName, styleRef.getReference(), legend);
         }
-        return createStyle(currentVersion, styleName, styleName, null, legendURL1, legendURL2);
+        return legend;
+    }
+
+    /**
+     * Compute in background the legend of each style of the service layers, so the capabilities
+     * documents do not have to portray them.
+     */
+    private void precomputeStyleLegends() {
+        legendExecutor.submit(() -> {
+            for (Layer configLayer : getConfigurationLayers(null)) {
+                final List<DataReference> styleRefs = configLayer.getStyles();
+                if (styleRefs == null || styleRefs.isEmpty()) {
+                    continue;
+                }
+                try {
+                    final Data layer = getLayerReference(configLayer);
+                    if (layer instanceof GeoData) {
+                        for (DataReference styleRef : styleRefs) {
+                            getStyleLegend(styleRef, (GeoData) layer);
+                        }
+                    }
+                } catch (CstlServiceException | RuntimeException ex) {
+                    LOGGER.log(Level.FINE, ex, () -> "Unable to compute the legends of the layer " + configLayer.getIdentifier());
+                }
+            }
+        });
     }
 
     /**
@@ -1126,6 +1224,15 @@ public class DefaultWMSWorker extends LayerWorker implements WMSWorker {
         }
         final GeoData layer = (GeoData) data;
 
+        final String legendKey = getLegendCacheKey(getLegend, layerName, layerConf);
+        final long cacheGeneration = legendCache.getGeneration();
+        if (legendKey != null) {
+            final byte[] cached = legendCache.getLegend(legendKey);
+            if (cached != null) {
+                return new PortrayalResponse(cached);
+            }
+        }
+
         final Integer width  = getLegend.getWidth();
         final Integer height = getLegend.getHeight();
 
@@ -1212,6 +1319,20 @@ public class DefaultWMSWorker extends LayerWorker implements WMSWorker {
             throw new CstlServiceException("The requested layer \""+ layerName +"\" does not support "
                     + "GetLegendGraphic request", NO_APPLICABLE_CODE, KEY_LAYER.toLowerCase());
         }
+        if (legendKey != null) {
+            final String format = getLegend.getFormat() != null ? getLegend.getFormat() : MimeType.IMAGE_PNG;
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            final OutputDef odef = mapPortrayal.getOutputDef(format);
+            odef.setOutput(out);
+            try {
+                DefaultPortrayalService.writeImage(image, odef);
+            } catch (PortrayalException ex) {
+                throw new CstlServiceException(ex);
+            }
+            final byte[] encoded = out.toByteArray();
+            legendCache.putLegend(cacheGeneration, legendKey, encoded);
+            return new PortrayalResponse(encoded);
+        }
         return new PortrayalResponse(image);
     }
 
@@ -1257,14 +1378,16 @@ public class DefaultWMSWorker extends LayerWorker implements WMSWorker {
                 throw new CstlServiceException("Too many layers requested, limit is "+layerLimit);
             }
         }
+        final RequestMonitor monitor = RequestMonitor.getInstance();
         final List<Data> layerRefs;
         final List<Layer> layerConfig;
-        try{
+        try (RequestMonitor.Phase phase = monitor.phase("layers")) {
             layerRefs = getLayerReferences(userLogin, layerNames);
             layerConfig = getConfigurationLayers(userLogin, layerNames);
         } catch (CstlServiceException ex) {
             return handleExceptions(getMap, errorInImage, errorBlank, ex, LAYER_NOT_DEFINED,  KEY_LAYERS.toLowerCase());
         }
+        monitor.setLayers(layerNames);
         for (Data layer : layerRefs) {
             if (!layer.isQueryable(ServiceDef.Query.WMS_ALL)) {
                 throw new CstlServiceException("You are not allowed to request the layer \""+
@@ -1277,11 +1400,28 @@ public class DefaultWMSWorker extends LayerWorker implements WMSWorker {
         final StyledLayerDescriptor sld = getMap.getSld();
 
         List<MutableStyle> styles;
-        try {
+        try (RequestMonitor.Phase phase = monitor.phase("styles")) {
             styles = getStyles(layerConfig, sld, styleNames, userLogin);
         } catch (CstlServiceException ex) {
             return handleExceptions(getMap, errorInImage, errorBlank, ex, STYLE_NOT_DEFINED, null);
         }
+
+        //       -- look for the tile in the render cache
+        final RenderCache.MetaTile tile = getCacheableTile(getMap, layerNames);
+        final String tileKeyPrefix;
+        final long cacheGeneration;
+        if (tile != null) {
+            tileKeyPrefix = getRenderCacheKey(getMap, userLogin);
+            cacheGeneration = renderCache.getGeneration();
+            final byte[] cached = renderCache.get(tile.tileKey(tileKeyPrefix, tile.col, tile.row));
+            if (cached != null) {
+                return new PortrayalResponse(cached);
+            }
+        } else {
+            tileKeyPrefix = null;
+            cacheGeneration = 0;
+        }
+
         //       -- create the rendering parameter Map
         final Map<String, Object> params = new HashMap<>();
         params.put(KEY_EXTRA_PARAMETERS, getMap.getParameters());
@@ -1298,7 +1438,7 @@ public class DefaultWMSWorker extends LayerWorker implements WMSWorker {
             sdef.getHints().putAll(hints);
         }
 
-        try {
+        try (RequestMonitor.Phase phase = monitor.phase("data")) {
             final MapContext context = PortrayalUtil.createContext(layerRefs, styles, params);
             //apply layercontext filters
             applyLayerFiltersAndDims(context, userLogin);
@@ -1335,9 +1475,17 @@ public class DefaultWMSWorker extends LayerWorker implements WMSWorker {
             throw new CstlServiceException(ex, NO_APPLICABLE_CODE);
         }
 
+        if (tile != null) {
+            try (RequestMonitor.Phase phase = monitor.phase("render")) {
+                return renderMetaTile(getMap, tile, tileKeyPrefix, cacheGeneration, sdef, refEnv, background);
+            } catch (PortrayalException | TransformException | FactoryException ex) {
+                return handleExceptions(getMap, errorInImage, errorBlank, ex, NO_APPLICABLE_CODE, null);
+            }
+        }
+
         final PortrayalResponse response = new PortrayalResponse(cdef, sdef, vdef, odef);
         if(!mapPortrayal.isCoverageWriter()){
-            try {
+            try (RequestMonitor.Phase phase = monitor.phase("render")) {
                 response.prepareNow();
             } catch (PortrayalException ex) {
                 return handleExceptions(getMap, errorInImage, errorBlank, ex, NO_APPLICABLE_CODE, null);
@@ -1347,6 +1495,220 @@ public class DefaultWMSWorker extends LayerWorker implements WMSWorker {
         return response;
     }
 
+    /**
+     * Create the tile cache from the service custom parameters :
+     * <ul>
+     *   <li>{@code renderCache.layers} : comma separated names of the cached layers, or "*" for all the layers.</li>
+     *   <li>{@code renderCache.metatile} : number of tiles on each side of a rendered metatile (default 4).</li>
+     *   <li>{@code renderCache.memory} : memory cache size in MB (default 64).</li>
+     *   <li>{@code renderCache.disk} : disk cache size in MB (default 0, no disk cache).</li>
+     * </ul>
+     *
+     * @return The render cache, or {@code null} if no layer is cached.
+     */
+    private RenderCache createRenderCache(final String id) {
+        final String layers = getProperty("renderCache.layers");
+        if (layers == null || layers.trim().isEmpty()) {
+            return null;
+        }
+        for (String layer : layers.split(",")) {
+            if (!layer.trim().isEmpty()) {
+                renderCacheLayers.add(layer.trim());
+            }
+        }
+        try {
+            final int metaSize    = getIntProperty("renderCache.metatile", 4);
+            final long memorySize = getIntProperty("renderCache.memory", 64) * 1024L * 1024L;
+            final long diskSize   = getIntProperty("renderCache.disk", 0) * 1024L * 1024L;
+            final Path directory  = diskSize > 0 ? ConfigDirectory.getInstanceDirectory("wms", id).resolve("render-cache") : null;
+            LOGGER.log(Level.INFO, "WMS worker {0} render cache enabled for layers {1}", new Object[]{id, renderCacheLayers});
+            return new RenderCache(metaSize, memorySize, directory, diskSize);
+        } catch (NumberFormatException ex) {
+            LOGGER.log(Level.WARNING, "Invalid render cache parameter, the cache is disabled : " + ex.getMessage(), ex);
+            return null;
+        }
+    }
+
+    private int getIntProperty(final String key, final int defaultValue) {
+        final String value = getProperty(key);
+        return (value == null || value.trim().isEmpty()) ? defaultValue : Integer.parseInt(value.trim());
+    }
+
+    /**
+     * Return the tile position of the request if it can be served from the render cache.
+     * The cached requests are the ones without SLD nor azimuth, on cached layers, in a CRS
+     * with east/north axes, and with a bounding box aligned on a grid.
+     *
+     * @return The tile position, or {@code null} if the request must be rendered directly.
+     */
+    private RenderCache.MetaTile getCacheableTile(final GetMap getMap, final List<GenericName> layerNames) {
+        if (renderCache == null || mapPortrayal.isCoverageWriter() || getMap.getSld() != null || getMap.getAzimuth() != 0) {
+            return null;
+        }
+        if (!renderCacheLayers.contains("*")) {
+            for (GenericName layerName : layerNames) {
+                if (!renderCacheLayers.contains(layerName.tip().toString())) {
+                    return null;
+                }
+            }
+        }
+        final Dimension size = getMap.getSize();
+        if (size == null || size.width <= 0 || size.height <= 0 || size.width > 1024 || size.height > 1024) {
+            return null;
+        }
+        final Envelope bbox = getMap.getEnvelope2D();
+        final CoordinateReferenceSystem crs = bbox.getCoordinateReferenceSystem();
+        if (crs == null
+                || !AxisDirection.EAST.equals(crs.getCoordinateSystem().getAxis(0).getDirection())
+                || !AxisDirection.NORTH.equals(crs.getCoordinateSystem().getAxis(1).getDirection())) {
+            return null;
+        }
+        return renderCache.getMetaTile(bbox);
+    }
+
+    /**
+     * Build the part of the tile cache key common to all the tiles of a grid : layers, styles, CRS,
+     * image parameters, dimensions, vendor parameters and user (the layer filters may depend on it).
+     */
+    private String getRenderCacheKey(final GetMap getMap, final String userLogin) {
+        final StringBuilder sb = new StringBuilder();
+        sb.append(getMap.getLayers()).append('|')
+          .append(getMap.getStyles()).append('|')
+          .append(IdentifiedObjects.getIdentifierOrName(getMap.getEnvelope2D().getCoordinateReferenceSystem())).append('|')
+          .append(getMap.getSize().width).append('x').append(getMap.getSize().height).append('|')
+          .append(getMap.getFormat()).append('|')
+          .append(getMap.getTransparent()).append('|')
+          .append(getMap.getBackground()).append('|')
+          .append(getMap.getTime()).append('|')
+          .append(getMap.getElevation()).append('|')
+          .append(userLogin);
+        final Object parameters = getMap.getParameters();
+        if (parameters instanceof Map) {
+            final Map<String, String> extras = new TreeMap<>();
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) parameters).entrySet()) {
+                final String key = String.valueOf(entry.getKey()).toUpperCase(Locale.ROOT);
+                if (!RENDER_CACHE_STANDARD_KEYS.contains(key)) {
+                    final Object value = entry.getValue();
+                    extras.put(key, value instanceof Object[] ? Arrays.toString((Object[]) value) : String.valueOf(value));
+                }
+            }
+            sb.append('|').append(extras);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Request parameters already part of the render cache key, or specific to a tile.
+     */
+    private static final Set<String> RENDER_CACHE_STANDARD_KEYS = new HashSet<>(Arrays.asList(
+            "SERVICE", "REQUEST", "VERSION", KEY_WMTVER, KEY_LAYERS, KEY_STYLES, KEY_CRS_V111, KEY_CRS_V130, KEY_BBOX,
+            KEY_WIDTH, KEY_HEIGHT, KEY_FORMAT, KEY_TRANSPARENT, KEY_BGCOLOR, KEY_TIME, KEY_ELEVATION, KEY_EXCEPTIONS));
+
+    /**
+     * Render the metatile containing the requested tile, cut it and store the encoded tiles in the render cache.
+     * The concurrent requests on the same metatile wait for the first rendering and read its result from the cache.
+     *
+     * @return The requested tile.
+     */
+    private PortrayalResponse renderMetaTile(final GetMap getMap, final RenderCache.MetaTile tile, final String keyPrefix, final long generation,
+            final SceneDef sdef, final Envelope refEnv, final Color background) throws PortrayalException, TransformException, FactoryException {
+
+        final String tileKey = tile.tileKey(keyPrefix, tile.col, tile.row);
+        final String metaKey = tile.metaTileKey(keyPrefix);
+        final Object lock = renderCache.getRenderLock(metaKey);
+        synchronized (lock) {
+            try {
+                byte[] result = renderCache.get(tileKey);
+                if (result != null) {
+                    return new PortrayalResponse(result);
+                }
+                final int metaSize = tile.metaSize;
+                final Dimension tileSize = getMap.getSize();
+                final GeneralEnvelope metaEnv = new GeneralEnvelope(refEnv);
+                metaEnv.setRange(0, tile.getMinX(), tile.getMaxX());
+                metaEnv.setRange(1, tile.getMinY(), tile.getMaxY());
+
+                final ViewDef vdef = new ViewDef(metaEnv, 0);
+                vdef.setLongitudeFirst();
+                final CanvasDef cdef = new CanvasDef(new Dimension(tileSize.width * metaSize, tileSize.height * metaSize), background);
+                final BufferedImage image = CstlPortrayalService.getInstance().portray(sdef, vdef, cdef);
+
+                for (int i = 0; i < metaSize; i++) {
+                    for (int j = 0; j < metaSize; j++) {
+                        // image rows go down, grid rows go up
+                        final BufferedImage sub = image.getSubimage(i * tileSize.width, (metaSize - 1 - j) * tileSize.height, tileSize.width, tileSize.height);
+                        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+                        final OutputDef odef = mapPortrayal.getOutputDef(getMap.getFormat());
+                        odef.setOutput(out);
+                        DefaultPortrayalService.writeImage(sub, odef);
+                        final byte[] encoded = out.toByteArray();
+                        final long col = tile.firstCol + i;
+                        final long row = tile.firstRow + j;
+                        renderCache.put(generation, tile.tileKey(keyPrefix, col, row), encoded);
+                        if (col == tile.col && row == tile.row) {
+                            result = encoded;
+                        }
+                    }
+                }
+                return new PortrayalResponse(result);
+            } finally {
+                renderCache.releaseRenderLock(metaKey, lock);
+            }
+        }
+    }
+
+    /**
+     * Return the legend cache size in MB, from the {@code legendCache.memory} service parameter (default 16).
+     */
+    private int getLegendCacheSize() {
+        try {
+            return getIntProperty("legendCache.memory", 16);
+        } catch (NumberFormatException ex) {
+            LOGGER.log(Level.WARNING, "Invalid legend cache size : " + ex.getMessage(), ex);
+            return 16;
+        }
+    }
+
+    /**
+     * Build the legend cache key of a GetLegendGraphic request : layer, style, rule, scale, format and size.
+     * The legend template is the default one of the service, constant for the worker life.
+     *
+     * @return The cache key, or {@code null} if the legend uses a SLD and can not be cached.
+     */
+    private static String getLegendCacheKey(final GetLegendGraphic getLegend, final String layerName, final Layer layerConf) {
+        if (getLegend.getSld() != null && !getLegend.getSld().isEmpty()) {
+            return null;
+        }
+        String style = getLegend.getStyle();
+        if (style == null || style.isEmpty()) {
+            final List<DataReference> defaultStyleRefs = layerConf != null ? layerConf.getStyles() : null;
+            style = (defaultStyleRefs != null && !defaultStyleRefs.isEmpty()) ? "default:" + defaultStyleRefs.get(0).getReference() : "";
+        }
+        return layerName + '|' + style + '|' + getLegend.getRule() + '|' + getLegend.getScale() + '|'
+                + getLegend.getFormat() + '|' + getLegend.getWidth() + 'x' + getLegend.getHeight();
+    }
+
+    /**
+     * Remove the rendered tiles and legends, the data or the styles of the layers have changed.
+     */
+    @Override
+    public void clearLayerCaches() {
+        super.clearLayerCaches();
+        if (renderCache != null) {
+            renderCache.clear();
+        }
+        legendCache.clear();
+        if (isStarted) {
+            precomputeStyleLegends();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        super.destroy();
+        legendExecutor.shutdownNow();
+    }
+
     /**
      * Build request view envelope from request parameters and requested layers.
      * Limitation : generate an envelope only with TIME and ELEVATION dimensions, all layers default values
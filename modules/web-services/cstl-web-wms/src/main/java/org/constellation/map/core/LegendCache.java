@@ -0,0 +1,123 @@
+/*
+ *    Constellation - An open source and standard compliant SDI
+ *    http://www.constellation-sdi.org
+ *
+ * Copyright 2019 Geomatys.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.constellation.map.core;
+
+import java.awt.Dimension;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache of the legends of a WMS service :
+ * <ul>
+ *   <li>the encoded GetLegendGraphic responses, in a LRU map bounded in bytes.</li>
+ *   <li>the legend size and name of each layer style, used to write the capabilities.</li>
+ * </ul>
+ *
+ * The legends only depend on the styles, the cache is cleared when a style or a layer change.
+ */
+public class LegendCache {
+
+    private final long maxMemory;
+
+    private final LinkedHashMap<String, byte[]> legends = new LinkedHashMap<>(64, 0.75f, true);
+
+    private final Map<String, StyleLegend> styleLegends = new ConcurrentHashMap<>();
+
+    private long memorySize;
+
+    /**
+     * Incremented at each {@link #clear()}, to ignore the legends computed before the invalidation.
+     */
+    private long generation;
+
+    /**
+     * @param maxMemory Maximum size in bytes of the encoded legends.
+     */
+    public LegendCache(final long maxMemory) {
+        this.maxMemory = maxMemory;
+    }
+
+    public synchronized long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * @return The encoded legend, or {@code null} if not in the cache.
+     */
+    public synchronized byte[] getLegend(final String key) {
+        return legends.get(key);
+    }
+
+    /**
+     * Store an encoded legend, unless the cache has been cleared since the specified generation.
+     */
+    public synchronized void putLegend(final long fromGeneration, final String key, final byte[] data) {
+        if (fromGeneration != generation || data.length > maxMemory) {
+            return;
+        }
+        final byte[] previous = legends.put(key, data);
+        memorySize += data.length - (previous != null ? previous.length : 0);
+        final Iterator<byte[]> it = legends.values().iterator();
+        while (memorySize > maxMemory && it.hasNext()) {
+            memorySize -= it.next().length;
+            it.remove();
+        }
+    }
+
+    /**
+     * @return The legend description of a layer style, or {@code null} if not in the cache.
+     */
+    public StyleLegend getStyleLegend(final String layerName, final String styleKey) {
+        return styleLegends.get(layerName + '|' + styleKey);
+    }
+
+    public synchronized void putStyleLegend(final long fromGeneration, final String layerName, final String styleKey, final StyleLegend legend) {
+        if (fromGeneration == generation) {
+            styleLegends.put(layerName + '|' + styleKey, legend);
+        }
+    }
+
+    /**
+     * Remove all the legends.
+     */
+    public synchronized void clear() {
+        generation++;
+        legends.clear();
+        memorySize = 0;
+        styleLegends.clear();
+    }
+
+    /**
+     * Name and preferred legend size of a layer style, as written in the capabilities.
+     */
+    public static final class StyleLegend {
+
+        public final String styleName;
+
+        public final Dimension dimension;
+
+        public StyleLegend(final String styleName, final Dimension dimension) {
+            this.styleName = styleName;
+            this.dimension = new Dimension(dimension);
+        }
+    }
+}
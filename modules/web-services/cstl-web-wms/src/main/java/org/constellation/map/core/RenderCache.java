@@ -0,0 +1,377 @@
+/*
+ *    Constellation - An open source and standard compliant SDI
+ *    http://www.constellation-sdi.org
+ *
+ * Copyright 2019 Geomatys.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.constellation.map.core;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.apache.sis.util.logging.Logging;
+import org.opengis.geometry.Envelope;
+
+/**
+ * Cache of the encoded tiles returned by the GetMap requests aligned on a regular grid.
+ *
+ * The grid is deduced from the request : a request of {@code width x height} pixels is a tile if its
+ * bounding box corners are integer multiples of its spans, starting from the CRS origin. This matches
+ * the WMS tiles requested by the web clients (Leaflet, OpenLayers) on the usual grids (EPSG:3857, EPSG:4326).
+ * The tiles are rendered by groups of {@code metaSize x metaSize} (metatiles), then cut and stored.
+ *
+ * The tiles are kept in memory in a LRU map bounded in bytes, and in an optional disk directory also bounded in bytes.
+ * Each generation of the cache is stored in its own sub-directory : a {@link #clear()} switches to a new one and the
+ * previous one is removed in background. The disk content of a previous run is removed the same way at creation,
+ * the data or styles may have changed meanwhile.
+ */
+public class RenderCache {
+
+    private static final Logger LOGGER = Logging.getLogger("org.constellation.map.core");
+
+    /**
+     * Tolerance, in tile unit, used to decide if a bounding box is aligned on the grid.
+     */
+    private static final double ALIGNMENT_TOLERANCE = 1e-4;
+
+    /**
+     * Remove the directories of the previous generations.
+     */
+    private static final ExecutorService CLEANER = Executors.newSingleThreadExecutor(r -> {
+        final Thread t = new Thread(r, "Render cache cleaner");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final int metaSize;
+
+    private final long maxMemory;
+
+    private final long maxDisk;
+
+    private final Path directory;
+
+    private final LinkedHashMap<String, byte[]> memory = new LinkedHashMap<>(256, 0.75f, true);
+
+    private final LinkedHashMap<String, Long> disk = new LinkedHashMap<>(256, 0.75f, true);
+
+    private final Map<String, Object> renderLocks = new ConcurrentHashMap<>();
+
+    /**
+     * Directory of the current generation, or {@code null} for a memory only cache.
+     */
+    private Path generationDirectory;
+
+    private long memorySize;
+
+    private long diskSize;
+
+    /**
+     * Incremented at each {@link #clear()}, to ignore the tiles rendered before the invalidation.
+     */
+    private long generation;
+
+    /**
+     * @param metaSize Number of tiles on each side of a metatile.
+     * @param maxMemory Maximum size in bytes of the tiles kept in memory.
+     * @param directory The disk cache directory, or {@code null} for a memory only cache.
+     * @param maxDisk Maximum size in bytes of the tiles stored on disk.
+     */
+    public RenderCache(final int metaSize, final long maxMemory, final Path directory, final long maxDisk) {
+        this.metaSize  = Math.max(1, metaSize);
+        this.maxMemory = maxMemory;
+        this.directory = directory;
+        this.maxDisk   = maxDisk;
+        if (directory != null) {
+            if (Files.isDirectory(directory)) {
+                try (Stream<Path> files = Files.list(directory)) {
+                    final List<Path> previous = files.collect(Collectors.toList());
+                    previous.forEach(RenderCache::removeInBackground);
+                } catch (IOException ex) {
+                    LOGGER.log(Level.WARNING, "Unable to clear the render cache directory " + directory, ex);
+                }
+            }
+            generationDirectory = newGenerationDirectory();
+        }
+    }
+
+    public int getMetaSize() {
+        return metaSize;
+    }
+
+    /**
+     * Return the tile position of the specified bounding box, or {@code null} if it is not aligned on a grid.
+     *
+     * @param bbox The 2D requested bounding box, with the horizontal axis first.
+     */
+    public MetaTile getMetaTile(final Envelope bbox) {
+        final double spanX = bbox.getSpan(0);
+        final double spanY = bbox.getSpan(1);
+        if (!(spanX > 0) || !(spanY > 0)) {
+            return null;
+        }
+        final double col = bbox.getMinimum(0) / spanX;
+        final double row = bbox.getMinimum(1) / spanY;
+        if (Math.abs(col - Math.rint(col)) > ALIGNMENT_TOLERANCE || Math.abs(row - Math.rint(row)) > ALIGNMENT_TOLERANCE) {
+            return null;
+        }
+        return new MetaTile(spanX, spanY, (long) Math.rint(col), (long) Math.rint(row), metaSize);
+    }
+
+    /**
+     * Return the generation of the cache content. It must be read before rendering, and given back
+     * to {@link #put(long, String, byte[])}.
+     */
+    public synchronized long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Return the lock to hold while rendering the specified metatile, so the concurrent requests
+     * for the tiles of a same metatile wait for a single rendering.
+     */
+    public Object getRenderLock(final String metaTileKey) {
+        return renderLocks.computeIfAbsent(metaTileKey, k -> new Object());
+    }
+
+    /**
+     * Release the lock obtained by {@link #getRenderLock(String)}. The lock is removed only if it is still
+     * the registered one, a lock registered since by another rendering of the same metatile is kept.
+     */
+    public void releaseRenderLock(final String metaTileKey, final Object lock) {
+        renderLocks.remove(metaTileKey, lock);
+    }
+
+    /**
+     * @return The encoded tile, or {@code null} if not in the cache.
+     */
+    public byte[] get(final String key) {
+        final Path file;
+        synchronized (this) {
+            final byte[] cached = memory.get(key);
+            if (cached != null) {
+                return cached;
+            }
+            if (directory == null || !disk.containsKey(key)) {
+                return null;
+            }
+            file = getFile(key);
+        }
+        try {
+            final byte[] data = Files.readAllBytes(file);
+            synchronized (this) {
+                putInMemory(key, data);
+            }
+            return data;
+        } catch (IOException ex) {
+            LOGGER.log(Level.FINE, "Unable to read cached tile " + file, ex);
+            synchronized (this) {
+                disk.remove(key);
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Store an encoded tile, unless the cache has been cleared since the specified generation.
+     */
+    public void put(final long fromGeneration, final String key, final byte[] data) {
+        final Path file;
+        synchronized (this) {
+            if (fromGeneration != generation) {
+                return;
+            }
+            putInMemory(key, data);
+            file = directory != null && data.length <= maxDisk ? getFile(key) : null;
+        }
+        if (file != null) {
+            try {
+                Files.createDirectories(file.getParent());
+                Files.write(file, data);
+            } catch (IOException ex) {
+                LOGGER.log(Level.FINE, "Unable to write cached tile " + file, ex);
+                return;
+            }
+            synchronized (this) {
+                if (fromGeneration != generation) {
+                    // written in a directory already removed or being removed
+                    removeInBackground(file.getParent().getParent());
+                    return;
+                }
+                final Long previous = disk.put(key, (long) data.length);
+                diskSize += data.length - (previous != null ? previous : 0);
+                final Iterator<Map.Entry<String, Long>> it = disk.entrySet().iterator();
+                while (diskSize > maxDisk && it.hasNext()) {
+                    final Map.Entry<String, Long> eldest = it.next();
+                    it.remove();
+                    diskSize -= eldest.getValue();
+                    deleteFile(getFile(eldest.getKey()));
+                }
+            }
+        }
+    }
+
+    /**
+     * Remove all the tiles. The files of the previous generation are removed in background.
+     */
+    public synchronized void clear() {
+        generation++;
+        memory.clear();
+        memorySize = 0;
+        disk.clear();
+        diskSize = 0;
+        if (directory != null) {
+            removeInBackground(generationDirectory);
+            generationDirectory = newGenerationDirectory();
+        }
+    }
+
+    synchronized long getMemorySize() {
+        return memorySize;
+    }
+
+    private void putInMemory(final String key, final byte[] data) {
+        if (data.length > maxMemory) {
+            return;
+        }
+        final byte[] previous = memory.put(key, data);
+        memorySize += data.length - (previous != null ? previous.length : 0);
+        final Iterator<byte[]> it = memory.values().iterator();
+        while (memorySize > maxMemory && it.hasNext()) {
+            memorySize -= it.next().length;
+            it.remove();
+        }
+    }
+
+    private Path getFile(final String key) {
+        final String hash = hash(key);
+        return generationDirectory.resolve(hash.substring(0, 2)).resolve(hash);
+    }
+
+    private Path newGenerationDirectory() {
+        return directory.resolve(UUID.randomUUID().toString());
+    }
+
+    private static void removeInBackground(final Path path) {
+        CLEANER.execute(() -> {
+            if (Files.exists(path)) {
+                try (Stream<Path> files = Files.walk(path)) {
+                    files.sorted(Comparator.reverseOrder()).forEach(RenderCache::deleteFile);
+                } catch (IOException ex) {
+                    LOGGER.log(Level.WARNING, "Unable to clear the render cache directory " + path, ex);
+                }
+            }
+        });
+    }
+
+    private static void deleteFile(final Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ex) {
+            LOGGER.log(Level.FINE, "Unable to remove cached tile " + file, ex);
+        }
+    }
+
+    private static String hash(final String key) {
+        try {
+            final byte[] digest = MessageDigest.getInstance("SHA-1").digest(key.getBytes(StandardCharsets.UTF_8));
+            final StringBuilder sb = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return sb.toString();
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * Position of a tile in its grid and in its metatile.
+     */
+    public static final class MetaTile {
+
+        public final double spanX;
+        public final double spanY;
+
+        /**
+         * Index of the requested tile, the rows going up from the CRS origin.
+         */
+        public final long col;
+        public final long row;
+
+        /**
+         * Index of the lower left tile of the metatile.
+         */
+        public final long firstCol;
+        public final long firstRow;
+
+        public final int metaSize;
+
+        private MetaTile(double spanX, double spanY, long col, long row, int metaSize) {
+            this.spanX    = spanX;
+            this.spanY    = spanY;
+            this.col      = col;
+            this.row      = row;
+            this.metaSize = metaSize;
+            this.firstCol = Math.floorDiv(col, metaSize) * metaSize;
+            this.firstRow = Math.floorDiv(row, metaSize) * metaSize;
+        }
+
+        public double getMinX() {
+            return firstCol * spanX;
+        }
+
+        public double getMinY() {
+            return firstRow * spanY;
+        }
+
+        public double getMaxX() {
+            return (firstCol + metaSize) * spanX;
+        }
+
+        public double getMaxY() {
+            return (firstRow + metaSize) * spanY;
+        }
+
+        /**
+         * Return the key of the tile at the specified index, prefixed by the request parameters.
+         */
+        public String tileKey(final String prefix, final long c, final long r) {
+            return prefix + '|' + String.format(Locale.ROOT, "%.10e|%.10e", spanX, spanY) + '|' + c + '|' + r;
+        }
+
+        public String metaTileKey(final String prefix) {
+            return tileKey(prefix, firstCol, firstRow) + "|meta";
+        }
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ *    Constellation - An open source and standard compliant SDI
+ *    http://www.constellation-sdi.org
+ *
+ * Copyright 2019 Geomatys.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.constellation.map.core;
+
+import java.awt.Dimension;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import org.junit.Test;
+
+public class LegendCacheTest {
+
+    @Test
+    public void legendHitAndClearTest() {
+        final LegendCache cache = new LegendCache(1024);
+        final byte[] data = new byte[]{1, 2, 3};
+        assertNull(cache.getLegend("layer1|style1|image/png"));
+
+        cache.putLegend(cache.getGeneration(), "layer1|style1|image/png", data);
+        assertArrayEquals(data, cache.getLegend("layer1|style1|image/png"));
+        assertNull(cache.getLegend("layer1|style2|image/png"));
+
+        cache.clear();
+        assertNull(cache.getLegend("layer1|style1|image/png"));
+    }
+
+    /**
+     * A legend computed before an invalidation must not be stored.
+     */
+    @Test
+    public void staleGenerationTest() {
+        final LegendCache cache = new LegendCache(1024);
+        final long generation = cache.getGeneration();
+        cache.clear();
+        cache.putLegend(generation, "layer1", new byte[10]);
+        cache.putStyleLegend(generation, "layer1", "style1", new LegendCache.StyleLegend("style1", new Dimension(20, 10)));
+        assertNull(cache.getLegend("layer1"));
+        assertNull(cache.getStyleLegend("layer1", "style1"));
+    }
+
+    @Test
+    public void memoryBoundTest() {
+        final LegendCache cache = new LegendCache(100);
+        final long generation = cache.getGeneration();
+        cache.putLegend(generation, "a", new byte[40]);
+        cache.putLegend(generation, "b", new byte[40]);
+        // "a" becomes the most recently used entry
+        assertNotNull(cache.getLegend("a"));
+        cache.putLegend(generation, "c", new byte[40]);
+        assertNotNull(cache.getLegend("a"));
+        assertNull(cache.getLegend("b"));
+        assertNotNull(cache.getLegend("c"));
+
+        // larger than the whole cache
+        cache.putLegend(generation, "d", new byte[101]);
+        assertNull(cache.getLegend("d"));
+    }
+
+    @Test
+    public void styleLegendTest() {
+        final LegendCache cache = new LegendCache(1024);
+        cache.putStyleLegend(cache.getGeneration(), "layer1", "${providerStyleType|sld|style1}", new LegendCache.StyleLegend("style1", new Dimension(20, 10)));
+
+        final LegendCache.StyleLegend legend = cache.getStyleLegend("layer1", "${providerStyleType|sld|style1}");
+        assertNotNull(legend);
+        assertEquals("style1", legend.styleName);
+        assertEquals(new Dimension(20, 10), legend.dimension);
+        assertNull(cache.getStyleLegend("layer2", "${providerStyleType|sld|style1}"));
+
+        cache.clear();
+        assertNull(cache.getStyleLegend("layer1", "${providerStyleType|sld|style1}"));
+    }
+}
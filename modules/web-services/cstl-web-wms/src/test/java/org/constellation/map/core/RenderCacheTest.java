@@ -0,0 +1,137 @@
+/*
+ *    Constellation - An open source and standard compliant SDI
+ *    http://www.constellation-sdi.org
+ *
+ * Copyright 2019 Geomatys.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.constellation.map.core;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.apache.sis.geometry.GeneralEnvelope;
+import org.apache.sis.referencing.CommonCRS;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import org.junit.Test;
+
+public class RenderCacheTest {
+
+    private static GeneralEnvelope bbox(double minX, double minY, double maxX, double maxY) {
+        final GeneralEnvelope env = new GeneralEnvelope(CommonCRS.defaultGeographic());
+        env.setRange(0, minX, maxX);
+        env.setRange(1, minY, maxY);
+        return env;
+    }
+
+    @Test
+    public void metaTileTest() {
+        final RenderCache cache = new RenderCache(4, 1024, null, 0);
+
+        // web mercator tile z=3, x=5, y=2 (TMS row 5)
+        final double span = 40075016.68557849 / 8;
+        final double minX = -20037508.342789244 + 5 * span;
+        final double minY = -20037508.342789244 + 5 * span;
+        final RenderCache.MetaTile tile = cache.getMetaTile(bbox(minX, minY, minX + span, minY + span));
+        assertNotNull(tile);
+        assertEquals(1, tile.col);
+        assertEquals(1, tile.row);
+        assertEquals(0, tile.firstCol);
+        assertEquals(0, tile.firstRow);
+        assertEquals(0, tile.getMinX(), 1e-6);
+        assertEquals(4 * span, tile.getMaxY(), 1e-6);
+
+        final RenderCache.MetaTile negative = cache.getMetaTile(bbox(-90, -45, -45, 0));
+        assertNotNull(negative);
+        assertEquals(-2, negative.col);
+        assertEquals(-1, negative.row);
+        assertEquals(-4, negative.firstCol);
+        assertEquals(-4, negative.firstRow);
+
+        // not aligned
+        assertNull(cache.getMetaTile(bbox(-10, 0, 35, 45)));
+        assertNull(cache.getMetaTile(bbox(0, 0, 0, 45)));
+    }
+
+    @Test
+    public void renderLockTest() {
+        final RenderCache cache = new RenderCache(4, 1024, null, 0);
+        final Object first = cache.getRenderLock("meta");
+        assertSame(first, cache.getRenderLock("meta"));
+        cache.releaseRenderLock("meta", first);
+
+        // a late release of a previous lock does not remove the current one
+        final Object second = cache.getRenderLock("meta");
+        assertNotSame(first, second);
+        cache.releaseRenderLock("meta", first);
+        assertSame(second, cache.getRenderLock("meta"));
+    }
+
+    @Test
+    public void memoryBoundTest() {
+        final RenderCache cache = new RenderCache(4, 100, null, 0);
+        final long gen = cache.getGeneration();
+        cache.put(gen, "a", new byte[40]);
+        cache.put(gen, "b", new byte[40]);
+        assertNotNull(cache.get("a"));
+        cache.put(gen, "c", new byte[40]);
+
+        // "b" is the least recently used
+        assertNull(cache.get("b"));
+        assertNotNull(cache.get("a"));
+        assertNotNull(cache.get("c"));
+        assertEquals(80, cache.getMemorySize());
+
+        cache.clear();
+        assertNull(cache.get("a"));
+        assertEquals(0, cache.getMemorySize());
+
+        // tile rendered before the invalidation
+        cache.put(gen, "d", new byte[10]);
+        assertNull(cache.get("d"));
+    }
+
+    @Test
+    public void diskTest() throws Exception {
+        final Path dir = Files.createTempDirectory("render-cache");
+        final RenderCache cache = new RenderCache(4, 10, dir, 100);
+        final long gen = cache.getGeneration();
+        final byte[] data = new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12};
+        cache.put(gen, "a", data);
+
+        // too large for the memory, read from the disk
+        assertArrayEquals(data, cache.get("a"));
+
+        cache.clear();
+        assertNull(cache.get("a"));
+
+        // the previous generation is removed in background
+        long remaining = Files.walk(dir).filter(Files::isRegularFile).count();
+        for (int i = 0; remaining > 0 && i < 100; i++) {
+            Thread.sleep(100);
+            remaining = Files.walk(dir).filter(Files::isRegularFile).count();
+        }
+        assertEquals(0, remaining);
+
+        // the new generation is usable
+        final long next = cache.getGeneration();
+        cache.put(next, "b", data);
+        assertArrayEquals(data, cache.get("b"));
+    }
+}